@@ -14,6 +14,7 @@
 #include <google/protobuf/wire_format.h>
 // @@protoc_insertion_point(includes)
 #include <google/protobuf/port_def.inc>
+extern PROTOBUF_INTERNAL_EXPORT_Coordination_2eproto ::PROTOBUF_NAMESPACE_ID::internal::SCCInfo<1> scc_info_DrillbitEndpoint_Coordination_2eproto;
 extern PROTOBUF_INTERNAL_EXPORT_UserBitShared_2eproto ::PROTOBUF_NAMESPACE_ID::internal::SCCInfo<0> scc_info_QueryId_UserBitShared_2eproto;
 extern PROTOBUF_INTERNAL_EXPORT_UserBitShared_2eproto ::PROTOBUF_NAMESPACE_ID::internal::SCCInfo<1> scc_info_RecordBatchDef_UserBitShared_2eproto;
 namespace exec {
@@ -95,10 +96,11 @@ static void InitDefaultsscc_info_FragmentRecordBatch_BitData_2eproto() {
   ::exec::bit::data::FragmentRecordBatch::InitAsDefaultInstance();
 }
 
-::PROTOBUF_NAMESPACE_ID::internal::SCCInfo<2> scc_info_FragmentRecordBatch_BitData_2eproto =
-    {{ATOMIC_VAR_INIT(::PROTOBUF_NAMESPACE_ID::internal::SCCInfoBase::kUninitialized), 2, 0, InitDefaultsscc_info_FragmentRecordBatch_BitData_2eproto}, {
+::PROTOBUF_NAMESPACE_ID::internal::SCCInfo<3> scc_info_FragmentRecordBatch_BitData_2eproto =
+    {{ATOMIC_VAR_INIT(::PROTOBUF_NAMESPACE_ID::internal::SCCInfoBase::kUninitialized), 3, 0, InitDefaultsscc_info_FragmentRecordBatch_BitData_2eproto}, {
       &scc_info_QueryId_UserBitShared_2eproto.base,
-      &scc_info_RecordBatchDef_UserBitShared_2eproto.base,}};
+      &scc_info_RecordBatchDef_UserBitShared_2eproto.base,
+      &scc_info_DrillbitEndpoint_Coordination_2eproto.base,}};
 
 static void InitDefaultsscc_info_RuntimeFilterBDef_BitData_2eproto() {
   GOOGLE_PROTOBUF_VERIFY_VERSION;
@@ -127,8 +129,10 @@ const ::PROTOBUF_NAMESPACE_ID::uint32 TableStruct_BitData_2eproto::offsets[] PRO
   ~0u,  // no _weak_field_map_
   PROTOBUF_FIELD_OFFSET(::exec::bit::data::BitClientHandshake, rpc_version_),
   PROTOBUF_FIELD_OFFSET(::exec::bit::data::BitClientHandshake, channel_),
-  0,
+  PROTOBUF_FIELD_OFFSET(::exec::bit::data::BitClientHandshake, compression_codec_),
   1,
+  2,
+  0,
   PROTOBUF_FIELD_OFFSET(::exec::bit::data::BitServerHandshake, _has_bits_),
   PROTOBUF_FIELD_OFFSET(::exec::bit::data::BitServerHandshake, _internal_metadata_),
   ~0u,  // no _extensions_
@@ -136,8 +140,12 @@ const ::PROTOBUF_NAMESPACE_ID::uint32 TableStruct_BitData_2eproto::offsets[] PRO
   ~0u,  // no _weak_field_map_
   PROTOBUF_FIELD_OFFSET(::exec::bit::data::BitServerHandshake, rpc_version_),
   PROTOBUF_FIELD_OFFSET(::exec::bit::data::BitServerHandshake, authenticationmechanisms_),
-  0,
+  PROTOBUF_FIELD_OFFSET(::exec::bit::data::BitServerHandshake, compression_codec_),
+  PROTOBUF_FIELD_OFFSET(::exec::bit::data::BitServerHandshake, coalesced_batches_),
+  1,
   ~0u,
+  0,
+  2,
   PROTOBUF_FIELD_OFFSET(::exec::bit::data::FragmentRecordBatch, _has_bits_),
   PROTOBUF_FIELD_OFFSET(::exec::bit::data::FragmentRecordBatch, _internal_metadata_),
   ~0u,  // no _extensions_
@@ -150,13 +158,21 @@ const ::PROTOBUF_NAMESPACE_ID::uint32 TableStruct_BitData_2eproto::offsets[] PRO
   PROTOBUF_FIELD_OFFSET(::exec::bit::data::FragmentRecordBatch, sending_minor_fragment_id_),
   PROTOBUF_FIELD_OFFSET(::exec::bit::data::FragmentRecordBatch, def_),
   PROTOBUF_FIELD_OFFSET(::exec::bit::data::FragmentRecordBatch, islastbatch_),
+  PROTOBUF_FIELD_OFFSET(::exec::bit::data::FragmentRecordBatch, uncompressed_body_length_),
+  PROTOBUF_FIELD_OFFSET(::exec::bit::data::FragmentRecordBatch, coalesced_batch_),
+  PROTOBUF_FIELD_OFFSET(::exec::bit::data::FragmentRecordBatch, relay_),
+  PROTOBUF_FIELD_OFFSET(::exec::bit::data::FragmentRecordBatch, relay_endpoint_),
   0,
-  2,
-  ~0u,
   3,
+  ~0u,
   4,
-  1,
   5,
+  1,
+  6,
+  7,
+  ~0u,
+  ~0u,
+  2,
   PROTOBUF_FIELD_OFFSET(::exec::bit::data::RuntimeFilterBDef, _has_bits_),
   PROTOBUF_FIELD_OFFSET(::exec::bit::data::RuntimeFilterBDef, _internal_metadata_),
   ~0u,  // no _extensions_
@@ -184,14 +200,16 @@ const ::PROTOBUF_NAMESPACE_ID::uint32 TableStruct_BitData_2eproto::offsets[] PRO
   ~0u,  // no _oneof_case_
   ~0u,  // no _weak_field_map_
   PROTOBUF_FIELD_OFFSET(::exec::bit::data::AckWithCredit, allowed_credit_),
+  PROTOBUF_FIELD_OFFSET(::exec::bit::data::AckWithCredit, allowed_bytes_),
   0,
+  1,
 };
 static const ::PROTOBUF_NAMESPACE_ID::internal::MigrationSchema schemas[] PROTOBUF_SECTION_VARIABLE(protodesc_cold) = {
-  { 0, 7, sizeof(::exec::bit::data::BitClientHandshake)},
-  { 9, 16, sizeof(::exec::bit::data::BitServerHandshake)},
-  { 18, 30, sizeof(::exec::bit::data::FragmentRecordBatch)},
-  { 37, 50, sizeof(::exec::bit::data::RuntimeFilterBDef)},
-  { 58, 64, sizeof(::exec::bit::data::AckWithCredit)},
+  { 0, 8, sizeof(::exec::bit::data::BitClientHandshake)},
+  { 11, 20, sizeof(::exec::bit::data::BitServerHandshake)},
+  { 24, 40, sizeof(::exec::bit::data::FragmentRecordBatch)},
+  { 51, 64, sizeof(::exec::bit::data::RuntimeFilterBDef)},
+  { 72, 79, sizeof(::exec::bit::data::AckWithCredit)},
 };
 
 static ::PROTOBUF_NAMESPACE_ID::Message const * const file_default_instances[] = {
@@ -205,29 +223,37 @@ static ::PROTOBUF_NAMESPACE_ID::Message const * const file_default_instances[] =
 const char descriptor_table_protodef_BitData_2eproto[] PROTOBUF_SECTION_VARIABLE(protodesc_cold) =
   "\n\rBitData.proto\022\rexec.bit.data\032\025Executio"
   "nProtos.proto\032\022Coordination.proto\032\023UserB"
-  "itShared.proto\"]\n\022BitClientHandshake\022\023\n\013"
+  "itShared.proto\"x\n\022BitClientHandshake\022\023\n\013"
   "rpc_version\030\001 \001(\005\0222\n\007channel\030\002 \001(\0162\027.exe"
-  "c.shared.RpcChannel:\010BIT_DATA\"K\n\022BitServ"
-  "erHandshake\022\023\n\013rpc_version\030\001 \001(\005\022 \n\030auth"
-  "enticationMechanisms\030\002 \003(\t\"\214\002\n\023FragmentR"
-  "ecordBatch\022&\n\010query_id\030\001 \001(\0132\024.exec.shar"
-  "ed.QueryId\022#\n\033receiving_major_fragment_i"
-  "d\030\002 \001(\005\022#\n\033receiving_minor_fragment_id\030\003"
-  " \003(\005\022!\n\031sending_major_fragment_id\030\004 \001(\005\022"
-  "!\n\031sending_minor_fragment_id\030\005 \001(\005\022(\n\003de"
-  "f\030\006 \001(\0132\033.exec.shared.RecordBatchDef\022\023\n\013"
-  "isLastBatch\030\007 \001(\010\"\350\001\n\021RuntimeFilterBDef\022"
-  "&\n\010query_id\030\001 \001(\0132\024.exec.shared.QueryId\022"
-  "\031\n\021major_fragment_id\030\002 \001(\005\022\031\n\021minor_frag"
-  "ment_id\030\003 \001(\005\022\022\n\nto_foreman\030\004 \001(\010\022\"\n\032blo"
-  "om_filter_size_in_bytes\030\005 \003(\005\022\024\n\014probe_f"
-  "ields\030\006 \003(\t\022\020\n\010hj_op_id\030\007 \001(\005\022\025\n\rrf_iden"
-  "tifier\030\010 \001(\003\"\'\n\rAckWithCredit\022\026\n\016allowed"
-  "_credit\030\001 \001(\005*\210\001\n\007RpcType\022\r\n\tHANDSHAKE\020\000"
-  "\022\007\n\003ACK\020\001\022\013\n\007GOODBYE\020\002\022\024\n\020REQ_RECORD_BAT"
-  "CH\020\003\022\020\n\014SASL_MESSAGE\020\004\022\026\n\022REQ_RUNTIME_FI"
-  "LTER\020\005\022\030\n\024DATA_ACK_WITH_CREDIT\020\006B(\n\033org."
-  "apache.drill.exec.protoB\007BitDataH\001"
+  "c.shared.RpcChannel:\010BIT_DATA\022\031\n\021compres"
+  "sion_codec\030\003 \001(\t\"\201\001\n\022BitServerHandshake\022"
+  "\023\n\013rpc_version\030\001 \001(\005\022 \n\030authenticationMe"
+  "chanisms\030\002 \003(\t\022\031\n\021compression_codec\030\003 \001("
+  "\t\022\031\n\021coalesced_batches\030\004 \001(\010\"\316\003\n\023Fragmen"
+  "tRecordBatch\022&\n\010query_id\030\001 \001(\0132\024.exec.sh"
+  "ared.QueryId\022#\n\033receiving_major_fragment"
+  "_id\030\002 \001(\005\022#\n\033receiving_minor_fragment_id"
+  "\030\003 \003(\005\022!\n\031sending_major_fragment_id\030\004 \001("
+  "\005\022!\n\031sending_minor_fragment_id\030\005 \001(\005\022(\n\003"
+  "def\030\006 \001(\0132\033.exec.shared.RecordBatchDef\022\023"
+  "\n\013isLastBatch\030\007 \001(\010\022 \n\030uncompressed_body"
+  "_length\030\010 \001(\005\022;\n\017coalesced_batch\030\t \003(\0132\""
+  ".exec.bit.data.FragmentRecordBatch\0221\n\005re"
+  "lay\030\n \003(\0132\".exec.bit.data.FragmentRecord"
+  "Batch\022.\n\016relay_endpoint\030\013 \001(\0132\026.exec.Dri"
+  "llbitEndpoint\"\350\001\n\021RuntimeFilterBDef\022&\n\010q"
+  "uery_id\030\001 \001(\0132\024.exec.shared.QueryId\022\031\n\021m"
+  "ajor_fragment_id\030\002 \001(\005\022\031\n\021minor_fragment"
+  "_id\030\003 \001(\005\022\022\n\nto_foreman\030\004 \001(\010\022\"\n\032bloom_f"
+  "ilter_size_in_bytes\030\005 \003(\005\022\024\n\014probe_field"
+  "s\030\006 \003(\t\022\020\n\010hj_op_id\030\007 \001(\005\022\025\n\rrf_identifi"
+  "er\030\010 \001(\003\">\n\rAckWithCredit\022\026\n\016allowed_cre"
+  "dit\030\001 \001(\005\022\025\n\rallowed_bytes\030\002 \001(\003*\210\001\n\007Rpc"
+  "Type\022\r\n\tHANDSHAKE\020\000\022\007\n\003ACK\020\001\022\013\n\007GOODBYE\020"
+  "\002\022\024\n\020REQ_RECORD_BATCH\020\003\022\020\n\014SASL_MESSAGE\020"
+  "\004\022\026\n\022REQ_RUNTIME_FILTER\020\005\022\030\n\024DATA_ACK_WI"
+  "TH_CREDIT\020\006B(\n\033org.apache.drill.exec.pro"
+  "toB\007BitDataH\001"
   ;
 static const ::PROTOBUF_NAMESPACE_ID::internal::DescriptorTable*const descriptor_table_BitData_2eproto_deps[3] = {
   &::descriptor_table_Coordination_2eproto,
@@ -244,7 +270,7 @@ static ::PROTOBUF_NAMESPACE_ID::internal::SCCInfoBase*const descriptor_table_Bit
 static ::PROTOBUF_NAMESPACE_ID::internal::once_flag descriptor_table_BitData_2eproto_once;
 static bool descriptor_table_BitData_2eproto_initialized = false;
 const ::PROTOBUF_NAMESPACE_ID::internal::DescriptorTable descriptor_table_BitData_2eproto = {
-  &descriptor_table_BitData_2eproto_initialized, descriptor_table_protodef_BitData_2eproto, "BitData.proto", 994,
+  &descriptor_table_BitData_2eproto_initialized, descriptor_table_protodef_BitData_2eproto, "BitData.proto", 1293,
   &descriptor_table_BitData_2eproto_once, descriptor_table_BitData_2eproto_sccs, descriptor_table_BitData_2eproto_deps, 5, 3,
   schemas, file_default_instances, TableStruct_BitData_2eproto::offsets,
   file_level_metadata_BitData_2eproto, 5, file_level_enum_descriptors_BitData_2eproto, file_level_service_descriptors_BitData_2eproto,
@@ -283,10 +309,13 @@ class BitClientHandshake::_Internal {
  public:
   using HasBits = decltype(std::declval<BitClientHandshake>()._has_bits_);
   static void set_has_rpc_version(HasBits* has_bits) {
-    (*has_bits)[0] |= 1u;
+    (*has_bits)[0] |= 2u;
   }
   static void set_has_channel(HasBits* has_bits) {
-    (*has_bits)[0] |= 2u;
+    (*has_bits)[0] |= 4u;
+  }
+  static void set_has_compression_codec(HasBits* has_bits) {
+    (*has_bits)[0] |= 1u;
   }
 };
 
@@ -300,6 +329,10 @@ BitClientHandshake::BitClientHandshake(const BitClientHandshake& from)
       _internal_metadata_(nullptr),
       _has_bits_(from._has_bits_) {
   _internal_metadata_.MergeFrom(from._internal_metadata_);
+  compression_codec_.UnsafeSetDefault(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited());
+  if (from._internal_has_compression_codec()) {
+    compression_codec_.AssignWithDefault(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited(), from.compression_codec_);
+  }
   ::memcpy(&rpc_version_, &from.rpc_version_,
     static_cast<size_t>(reinterpret_cast<char*>(&channel_) -
     reinterpret_cast<char*>(&rpc_version_)) + sizeof(channel_));
@@ -307,6 +340,8 @@ BitClientHandshake::BitClientHandshake(const BitClientHandshake& from)
 }
 
 void BitClientHandshake::SharedCtor() {
+  ::PROTOBUF_NAMESPACE_ID::internal::InitSCC(&scc_info_BitClientHandshake_BitData_2eproto.base);
+  compression_codec_.UnsafeSetDefault(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited());
   rpc_version_ = 0;
   channel_ = 1;
 }
@@ -317,6 +352,7 @@ BitClientHandshake::~BitClientHandshake() {
 }
 
 void BitClientHandshake::SharedDtor() {
+  compression_codec_.DestroyNoArena(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited());
 }
 
 void BitClientHandshake::SetCachedSize(int size) const {
@@ -335,7 +371,10 @@ void BitClientHandshake::Clear() {
   (void) cached_has_bits;
 
   cached_has_bits = _has_bits_[0];
-  if (cached_has_bits & 0x00000003u) {
+  if (cached_has_bits & 0x00000001u) {
+    compression_codec_.ClearNonDefaultToEmptyNoArena();
+  }
+  if (cached_has_bits & 0x00000006u) {
     rpc_version_ = 0;
     channel_ = 1;
   }
@@ -371,6 +410,17 @@ const char* BitClientHandshake::_InternalParse(const char* ptr, ::PROTOBUF_NAMES
           }
         } else goto handle_unusual;
         continue;
+      // optional string compression_codec = 3;
+      case 3:
+        if (PROTOBUF_PREDICT_TRUE(static_cast<::PROTOBUF_NAMESPACE_ID::uint8>(tag) == 26)) {
+          auto str = _internal_mutable_compression_codec();
+          ptr = ::PROTOBUF_NAMESPACE_ID::internal::InlineGreedyStringParser(str, ptr, ctx);
+          #ifndef NDEBUG
+          ::PROTOBUF_NAMESPACE_ID::internal::VerifyUTF8(str, "exec.bit.data.BitClientHandshake.compression_codec");
+          #endif  // !NDEBUG
+          CHK_(ptr);
+        } else goto handle_unusual;
+        continue;
       default: {
       handle_unusual:
         if ((tag & 7) == 4 || tag == 0) {
@@ -400,18 +450,28 @@ failure:
 
   cached_has_bits = _has_bits_[0];
   // optional int32 rpc_version = 1;
-  if (cached_has_bits & 0x00000001u) {
+  if (cached_has_bits & 0x00000002u) {
     target = stream->EnsureSpace(target);
     target = ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::WriteInt32ToArray(1, this->_internal_rpc_version(), target);
   }
 
   // optional .exec.shared.RpcChannel channel = 2 [default = BIT_DATA];
-  if (cached_has_bits & 0x00000002u) {
+  if (cached_has_bits & 0x00000004u) {
     target = stream->EnsureSpace(target);
     target = ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::WriteEnumToArray(
       2, this->_internal_channel(), target);
   }
 
+  // optional string compression_codec = 3;
+  if (cached_has_bits & 0x00000001u) {
+    ::PROTOBUF_NAMESPACE_ID::internal::WireFormat::VerifyUTF8StringNamedField(
+      this->_internal_compression_codec().data(), static_cast<int>(this->_internal_compression_codec().length()),
+      ::PROTOBUF_NAMESPACE_ID::internal::WireFormat::SERIALIZE,
+      "exec.bit.data.BitClientHandshake.compression_codec");
+    target = stream->WriteStringMaybeAliased(
+        3, this->_internal_compression_codec(), target);
+  }
+
   if (PROTOBUF_PREDICT_FALSE(_internal_metadata_.have_unknown_fields())) {
     target = ::PROTOBUF_NAMESPACE_ID::internal::WireFormat::InternalSerializeUnknownFieldsToArray(
         _internal_metadata_.unknown_fields(), target, stream);
@@ -429,16 +489,23 @@ size_t BitClientHandshake::ByteSizeLong() const {
   (void) cached_has_bits;
 
   cached_has_bits = _has_bits_[0];
-  if (cached_has_bits & 0x00000003u) {
-    // optional int32 rpc_version = 1;
+  if (cached_has_bits & 0x00000007u) {
+    // optional string compression_codec = 3;
     if (cached_has_bits & 0x00000001u) {
+      total_size += 1 +
+        ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::StringSize(
+          this->_internal_compression_codec());
+    }
+
+    // optional int32 rpc_version = 1;
+    if (cached_has_bits & 0x00000002u) {
       total_size += 1 +
         ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::Int32Size(
           this->_internal_rpc_version());
     }
 
     // optional .exec.shared.RpcChannel channel = 2 [default = BIT_DATA];
-    if (cached_has_bits & 0x00000002u) {
+    if (cached_has_bits & 0x00000004u) {
       total_size += 1 +
         ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::EnumSize(this->_internal_channel());
     }
@@ -476,11 +543,15 @@ void BitClientHandshake::MergeFrom(const BitClientHandshake& from) {
   (void) cached_has_bits;
 
   cached_has_bits = from._has_bits_[0];
-  if (cached_has_bits & 0x00000003u) {
+  if (cached_has_bits & 0x00000007u) {
     if (cached_has_bits & 0x00000001u) {
-      rpc_version_ = from.rpc_version_;
+      _has_bits_[0] |= 0x00000001u;
+      compression_codec_.AssignWithDefault(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited(), from.compression_codec_);
     }
     if (cached_has_bits & 0x00000002u) {
+      rpc_version_ = from.rpc_version_;
+    }
+    if (cached_has_bits & 0x00000004u) {
       channel_ = from.channel_;
     }
     _has_bits_[0] |= cached_has_bits;
@@ -509,6 +580,8 @@ void BitClientHandshake::InternalSwap(BitClientHandshake* other) {
   using std::swap;
   _internal_metadata_.Swap(&other->_internal_metadata_);
   swap(_has_bits_[0], other->_has_bits_[0]);
+  compression_codec_.Swap(&other->compression_codec_, &::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited(),
+    GetArenaNoVirtual());
   swap(rpc_version_, other->rpc_version_);
   swap(channel_, other->channel_);
 }
@@ -526,8 +599,14 @@ class BitServerHandshake::_Internal {
  public:
   using HasBits = decltype(std::declval<BitServerHandshake>()._has_bits_);
   static void set_has_rpc_version(HasBits* has_bits) {
+    (*has_bits)[0] |= 2u;
+  }
+  static void set_has_compression_codec(HasBits* has_bits) {
     (*has_bits)[0] |= 1u;
   }
+  static void set_has_coalesced_batches(HasBits* has_bits) {
+    (*has_bits)[0] |= 4u;
+  }
 };
 
 BitServerHandshake::BitServerHandshake()
@@ -541,13 +620,22 @@ BitServerHandshake::BitServerHandshake(const BitServerHandshake& from)
       _has_bits_(from._has_bits_),
       authenticationmechanisms_(from.authenticationmechanisms_) {
   _internal_metadata_.MergeFrom(from._internal_metadata_);
-  rpc_version_ = from.rpc_version_;
+  compression_codec_.UnsafeSetDefault(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited());
+  if (from._internal_has_compression_codec()) {
+    compression_codec_.AssignWithDefault(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited(), from.compression_codec_);
+  }
+  ::memcpy(&rpc_version_, &from.rpc_version_,
+    static_cast<size_t>(reinterpret_cast<char*>(&coalesced_batches_) -
+    reinterpret_cast<char*>(&rpc_version_)) + sizeof(coalesced_batches_));
   // @@protoc_insertion_point(copy_constructor:exec.bit.data.BitServerHandshake)
 }
 
 void BitServerHandshake::SharedCtor() {
   ::PROTOBUF_NAMESPACE_ID::internal::InitSCC(&scc_info_BitServerHandshake_BitData_2eproto.base);
-  rpc_version_ = 0;
+  compression_codec_.UnsafeSetDefault(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited());
+  ::memset(&rpc_version_, 0, static_cast<size_t>(
+      reinterpret_cast<char*>(&coalesced_batches_) -
+      reinterpret_cast<char*>(&rpc_version_)) + sizeof(coalesced_batches_));
 }
 
 BitServerHandshake::~BitServerHandshake() {
@@ -556,6 +644,7 @@ BitServerHandshake::~BitServerHandshake() {
 }
 
 void BitServerHandshake::SharedDtor() {
+  compression_codec_.DestroyNoArena(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited());
 }
 
 void BitServerHandshake::SetCachedSize(int size) const {
@@ -574,7 +663,15 @@ void BitServerHandshake::Clear() {
   (void) cached_has_bits;
 
   authenticationmechanisms_.Clear();
-  rpc_version_ = 0;
+  cached_has_bits = _has_bits_[0];
+  if (cached_has_bits & 0x00000001u) {
+    compression_codec_.ClearNonDefaultToEmptyNoArena();
+  }
+  if (cached_has_bits & 0x00000006u) {
+    ::memset(&rpc_version_, 0, static_cast<size_t>(
+        reinterpret_cast<char*>(&coalesced_batches_) -
+        reinterpret_cast<char*>(&rpc_version_)) + sizeof(coalesced_batches_));
+  }
   _has_bits_.Clear();
   _internal_metadata_.Clear();
 }
@@ -611,6 +708,25 @@ const char* BitServerHandshake::_InternalParse(const char* ptr, ::PROTOBUF_NAMES
           } while (::PROTOBUF_NAMESPACE_ID::internal::ExpectTag<18>(ptr));
         } else goto handle_unusual;
         continue;
+      // optional string compression_codec = 3;
+      case 3:
+        if (PROTOBUF_PREDICT_TRUE(static_cast<::PROTOBUF_NAMESPACE_ID::uint8>(tag) == 26)) {
+          auto str = _internal_mutable_compression_codec();
+          ptr = ::PROTOBUF_NAMESPACE_ID::internal::InlineGreedyStringParser(str, ptr, ctx);
+          #ifndef NDEBUG
+          ::PROTOBUF_NAMESPACE_ID::internal::VerifyUTF8(str, "exec.bit.data.BitServerHandshake.compression_codec");
+          #endif  // !NDEBUG
+          CHK_(ptr);
+        } else goto handle_unusual;
+        continue;
+      // optional bool coalesced_batches = 4;
+      case 4:
+        if (PROTOBUF_PREDICT_TRUE(static_cast<::PROTOBUF_NAMESPACE_ID::uint8>(tag) == 32)) {
+          _Internal::set_has_coalesced_batches(&has_bits);
+          coalesced_batches_ = ::PROTOBUF_NAMESPACE_ID::internal::ReadVarint(&ptr);
+          CHK_(ptr);
+        } else goto handle_unusual;
+        continue;
       default: {
       handle_unusual:
         if ((tag & 7) == 4 || tag == 0) {
@@ -640,7 +756,7 @@ failure:
 
   cached_has_bits = _has_bits_[0];
   // optional int32 rpc_version = 1;
-  if (cached_has_bits & 0x00000001u) {
+  if (cached_has_bits & 0x00000002u) {
     target = stream->EnsureSpace(target);
     target = ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::WriteInt32ToArray(1, this->_internal_rpc_version(), target);
   }
@@ -655,6 +771,22 @@ failure:
     target = stream->WriteString(2, s, target);
   }
 
+  // optional string compression_codec = 3;
+  if (cached_has_bits & 0x00000001u) {
+    ::PROTOBUF_NAMESPACE_ID::internal::WireFormat::VerifyUTF8StringNamedField(
+      this->_internal_compression_codec().data(), static_cast<int>(this->_internal_compression_codec().length()),
+      ::PROTOBUF_NAMESPACE_ID::internal::WireFormat::SERIALIZE,
+      "exec.bit.data.BitServerHandshake.compression_codec");
+    target = stream->WriteStringMaybeAliased(
+        3, this->_internal_compression_codec(), target);
+  }
+
+  // optional bool coalesced_batches = 4;
+  if (cached_has_bits & 0x00000004u) {
+    target = stream->EnsureSpace(target);
+    target = ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::WriteBoolToArray(4, this->_internal_coalesced_batches(), target);
+  }
+
   if (PROTOBUF_PREDICT_FALSE(_internal_metadata_.have_unknown_fields())) {
     target = ::PROTOBUF_NAMESPACE_ID::internal::WireFormat::InternalSerializeUnknownFieldsToArray(
         _internal_metadata_.unknown_fields(), target, stream);
@@ -679,14 +811,28 @@ size_t BitServerHandshake::ByteSizeLong() const {
       authenticationmechanisms_.Get(i));
   }
 
-  // optional int32 rpc_version = 1;
   cached_has_bits = _has_bits_[0];
-  if (cached_has_bits & 0x00000001u) {
-    total_size += 1 +
-      ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::Int32Size(
-        this->_internal_rpc_version());
-  }
+  if (cached_has_bits & 0x00000007u) {
+    // optional string compression_codec = 3;
+    if (cached_has_bits & 0x00000001u) {
+      total_size += 1 +
+        ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::StringSize(
+          this->_internal_compression_codec());
+    }
+
+    // optional int32 rpc_version = 1;
+    if (cached_has_bits & 0x00000002u) {
+      total_size += 1 +
+        ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::Int32Size(
+          this->_internal_rpc_version());
+    }
 
+    // optional bool coalesced_batches = 4;
+    if (cached_has_bits & 0x00000004u) {
+      total_size += 1 + 1;
+    }
+
+  }
   if (PROTOBUF_PREDICT_FALSE(_internal_metadata_.have_unknown_fields())) {
     return ::PROTOBUF_NAMESPACE_ID::internal::ComputeUnknownFieldsSize(
         _internal_metadata_, total_size, &_cached_size_);
@@ -719,8 +865,19 @@ void BitServerHandshake::MergeFrom(const BitServerHandshake& from) {
   (void) cached_has_bits;
 
   authenticationmechanisms_.MergeFrom(from.authenticationmechanisms_);
-  if (from._internal_has_rpc_version()) {
-    _internal_set_rpc_version(from._internal_rpc_version());
+  cached_has_bits = from._has_bits_[0];
+  if (cached_has_bits & 0x00000007u) {
+    if (cached_has_bits & 0x00000001u) {
+      _has_bits_[0] |= 0x00000001u;
+      compression_codec_.AssignWithDefault(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited(), from.compression_codec_);
+    }
+    if (cached_has_bits & 0x00000002u) {
+      rpc_version_ = from.rpc_version_;
+    }
+    if (cached_has_bits & 0x00000004u) {
+      coalesced_batches_ = from.coalesced_batches_;
+    }
+    _has_bits_[0] |= cached_has_bits;
   }
 }
 
@@ -747,7 +904,10 @@ void BitServerHandshake::InternalSwap(BitServerHandshake* other) {
   _internal_metadata_.Swap(&other->_internal_metadata_);
   swap(_has_bits_[0], other->_has_bits_[0]);
   authenticationmechanisms_.InternalSwap(&other->authenticationmechanisms_);
+  compression_codec_.Swap(&other->compression_codec_, &::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited(),
+    GetArenaNoVirtual());
   swap(rpc_version_, other->rpc_version_);
+  swap(coalesced_batches_, other->coalesced_batches_);
 }
 
 ::PROTOBUF_NAMESPACE_ID::Metadata BitServerHandshake::GetMetadata() const {
@@ -762,6 +922,8 @@ void FragmentRecordBatch::InitAsDefaultInstance() {
       ::exec::shared::QueryId::internal_default_instance());
   ::exec::bit::data::_FragmentRecordBatch_default_instance_._instance.get_mutable()->def_ = const_cast< ::exec::shared::RecordBatchDef*>(
       ::exec::shared::RecordBatchDef::internal_default_instance());
+  ::exec::bit::data::_FragmentRecordBatch_default_instance_._instance.get_mutable()->relay_endpoint_ = const_cast< ::exec::DrillbitEndpoint*>(
+      ::exec::DrillbitEndpoint::internal_default_instance());
 }
 class FragmentRecordBatch::_Internal {
  public:
@@ -771,20 +933,27 @@ class FragmentRecordBatch::_Internal {
     (*has_bits)[0] |= 1u;
   }
   static void set_has_receiving_major_fragment_id(HasBits* has_bits) {
-    (*has_bits)[0] |= 4u;
+    (*has_bits)[0] |= 8u;
   }
   static void set_has_sending_major_fragment_id(HasBits* has_bits) {
-    (*has_bits)[0] |= 8u;
+    (*has_bits)[0] |= 16u;
   }
   static void set_has_sending_minor_fragment_id(HasBits* has_bits) {
-    (*has_bits)[0] |= 16u;
+    (*has_bits)[0] |= 32u;
   }
   static const ::exec::shared::RecordBatchDef& def(const FragmentRecordBatch* msg);
   static void set_has_def(HasBits* has_bits) {
     (*has_bits)[0] |= 2u;
   }
   static void set_has_islastbatch(HasBits* has_bits) {
-    (*has_bits)[0] |= 32u;
+    (*has_bits)[0] |= 64u;
+  }
+  static void set_has_uncompressed_body_length(HasBits* has_bits) {
+    (*has_bits)[0] |= 128u;
+  }
+  static const ::exec::DrillbitEndpoint& relay_endpoint(const FragmentRecordBatch* msg);
+  static void set_has_relay_endpoint(HasBits* has_bits) {
+    (*has_bits)[0] |= 4u;
   }
 };
 
@@ -796,6 +965,10 @@ const ::exec::shared::RecordBatchDef&
 FragmentRecordBatch::_Internal::def(const FragmentRecordBatch* msg) {
   return *msg->def_;
 }
+const ::exec::DrillbitEndpoint&
+FragmentRecordBatch::_Internal::relay_endpoint(const FragmentRecordBatch* msg) {
+  return *msg->relay_endpoint_;
+}
 void FragmentRecordBatch::clear_query_id() {
   if (query_id_ != nullptr) query_id_->Clear();
   _has_bits_[0] &= ~0x00000001u;
@@ -804,6 +977,10 @@ void FragmentRecordBatch::clear_def() {
   if (def_ != nullptr) def_->Clear();
   _has_bits_[0] &= ~0x00000002u;
 }
+void FragmentRecordBatch::clear_relay_endpoint() {
+  if (relay_endpoint_ != nullptr) relay_endpoint_->Clear();
+  _has_bits_[0] &= ~0x00000004u;
+}
 FragmentRecordBatch::FragmentRecordBatch()
   : ::PROTOBUF_NAMESPACE_ID::Message(), _internal_metadata_(nullptr) {
   SharedCtor();
@@ -813,7 +990,9 @@ FragmentRecordBatch::FragmentRecordBatch(const FragmentRecordBatch& from)
   : ::PROTOBUF_NAMESPACE_ID::Message(),
       _internal_metadata_(nullptr),
       _has_bits_(from._has_bits_),
-      receiving_minor_fragment_id_(from.receiving_minor_fragment_id_) {
+      receiving_minor_fragment_id_(from.receiving_minor_fragment_id_),
+      coalesced_batch_(from.coalesced_batch_),
+      relay_(from.relay_) {
   _internal_metadata_.MergeFrom(from._internal_metadata_);
   if (from._internal_has_query_id()) {
     query_id_ = new ::exec::shared::QueryId(*from.query_id_);
@@ -825,17 +1004,22 @@ FragmentRecordBatch::FragmentRecordBatch(const FragmentRecordBatch& from)
   } else {
     def_ = nullptr;
   }
+  if (from._internal_has_relay_endpoint()) {
+    relay_endpoint_ = new ::exec::DrillbitEndpoint(*from.relay_endpoint_);
+  } else {
+    relay_endpoint_ = nullptr;
+  }
   ::memcpy(&receiving_major_fragment_id_, &from.receiving_major_fragment_id_,
-    static_cast<size_t>(reinterpret_cast<char*>(&islastbatch_) -
-    reinterpret_cast<char*>(&receiving_major_fragment_id_)) + sizeof(islastbatch_));
+    static_cast<size_t>(reinterpret_cast<char*>(&uncompressed_body_length_) -
+    reinterpret_cast<char*>(&receiving_major_fragment_id_)) + sizeof(uncompressed_body_length_));
   // @@protoc_insertion_point(copy_constructor:exec.bit.data.FragmentRecordBatch)
 }
 
 void FragmentRecordBatch::SharedCtor() {
   ::PROTOBUF_NAMESPACE_ID::internal::InitSCC(&scc_info_FragmentRecordBatch_BitData_2eproto.base);
   ::memset(&query_id_, 0, static_cast<size_t>(
-      reinterpret_cast<char*>(&islastbatch_) -
-      reinterpret_cast<char*>(&query_id_)) + sizeof(islastbatch_));
+      reinterpret_cast<char*>(&uncompressed_body_length_) -
+      reinterpret_cast<char*>(&query_id_)) + sizeof(uncompressed_body_length_));
 }
 
 FragmentRecordBatch::~FragmentRecordBatch() {
@@ -846,6 +1030,7 @@ FragmentRecordBatch::~FragmentRecordBatch() {
 void FragmentRecordBatch::SharedDtor() {
   if (this != internal_default_instance()) delete query_id_;
   if (this != internal_default_instance()) delete def_;
+  if (this != internal_default_instance()) delete relay_endpoint_;
 }
 
 void FragmentRecordBatch::SetCachedSize(int size) const {
@@ -864,8 +1049,10 @@ void FragmentRecordBatch::Clear() {
   (void) cached_has_bits;
 
   receiving_minor_fragment_id_.Clear();
+  coalesced_batch_.Clear();
+  relay_.Clear();
   cached_has_bits = _has_bits_[0];
-  if (cached_has_bits & 0x00000003u) {
+  if (cached_has_bits & 0x00000007u) {
     if (cached_has_bits & 0x00000001u) {
       GOOGLE_DCHECK(query_id_ != nullptr);
       query_id_->Clear();
@@ -874,11 +1061,15 @@ void FragmentRecordBatch::Clear() {
       GOOGLE_DCHECK(def_ != nullptr);
       def_->Clear();
     }
+    if (cached_has_bits & 0x00000004u) {
+      GOOGLE_DCHECK(relay_endpoint_ != nullptr);
+      relay_endpoint_->Clear();
+    }
   }
-  if (cached_has_bits & 0x0000003cu) {
+  if (cached_has_bits & 0x000000f8u) {
     ::memset(&receiving_major_fragment_id_, 0, static_cast<size_t>(
-        reinterpret_cast<char*>(&islastbatch_) -
-        reinterpret_cast<char*>(&receiving_major_fragment_id_)) + sizeof(islastbatch_));
+        reinterpret_cast<char*>(&uncompressed_body_length_) -
+        reinterpret_cast<char*>(&receiving_major_fragment_id_)) + sizeof(uncompressed_body_length_));
   }
   _has_bits_.Clear();
   _internal_metadata_.Clear();
@@ -953,6 +1144,45 @@ const char* FragmentRecordBatch::_InternalParse(const char* ptr, ::PROTOBUF_NAME
           CHK_(ptr);
         } else goto handle_unusual;
         continue;
+      // optional int32 uncompressed_body_length = 8;
+      case 8:
+        if (PROTOBUF_PREDICT_TRUE(static_cast<::PROTOBUF_NAMESPACE_ID::uint8>(tag) == 64)) {
+          _Internal::set_has_uncompressed_body_length(&has_bits);
+          uncompressed_body_length_ = ::PROTOBUF_NAMESPACE_ID::internal::ReadVarint(&ptr);
+          CHK_(ptr);
+        } else goto handle_unusual;
+        continue;
+      // repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;
+      case 9:
+        if (PROTOBUF_PREDICT_TRUE(static_cast<::PROTOBUF_NAMESPACE_ID::uint8>(tag) == 74)) {
+          ptr -= 1;
+          do {
+            ptr += 1;
+            ptr = ctx->ParseMessage(_internal_add_coalesced_batch(), ptr);
+            CHK_(ptr);
+            if (!ctx->DataAvailable(ptr)) break;
+          } while (::PROTOBUF_NAMESPACE_ID::internal::ExpectTag<74>(ptr));
+        } else goto handle_unusual;
+        continue;
+      // repeated .exec.bit.data.FragmentRecordBatch relay = 10;
+      case 10:
+        if (PROTOBUF_PREDICT_TRUE(static_cast<::PROTOBUF_NAMESPACE_ID::uint8>(tag) == 82)) {
+          ptr -= 1;
+          do {
+            ptr += 1;
+            ptr = ctx->ParseMessage(_internal_add_relay(), ptr);
+            CHK_(ptr);
+            if (!ctx->DataAvailable(ptr)) break;
+          } while (::PROTOBUF_NAMESPACE_ID::internal::ExpectTag<82>(ptr));
+        } else goto handle_unusual;
+        continue;
+      // optional .exec.DrillbitEndpoint relay_endpoint = 11;
+      case 11:
+        if (PROTOBUF_PREDICT_TRUE(static_cast<::PROTOBUF_NAMESPACE_ID::uint8>(tag) == 90)) {
+          ptr = ctx->ParseMessage(_internal_mutable_relay_endpoint(), ptr);
+          CHK_(ptr);
+        } else goto handle_unusual;
+        continue;
       default: {
       handle_unusual:
         if ((tag & 7) == 4 || tag == 0) {
@@ -990,7 +1220,7 @@ failure:
   }
 
   // optional int32 receiving_major_fragment_id = 2;
-  if (cached_has_bits & 0x00000004u) {
+  if (cached_has_bits & 0x00000008u) {
     target = stream->EnsureSpace(target);
     target = ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::WriteInt32ToArray(2, this->_internal_receiving_major_fragment_id(), target);
   }
@@ -1002,13 +1232,13 @@ failure:
   }
 
   // optional int32 sending_major_fragment_id = 4;
-  if (cached_has_bits & 0x00000008u) {
+  if (cached_has_bits & 0x00000010u) {
     target = stream->EnsureSpace(target);
     target = ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::WriteInt32ToArray(4, this->_internal_sending_major_fragment_id(), target);
   }
 
   // optional int32 sending_minor_fragment_id = 5;
-  if (cached_has_bits & 0x00000010u) {
+  if (cached_has_bits & 0x00000020u) {
     target = stream->EnsureSpace(target);
     target = ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::WriteInt32ToArray(5, this->_internal_sending_minor_fragment_id(), target);
   }
@@ -1022,11 +1252,41 @@ failure:
   }
 
   // optional bool isLastBatch = 7;
-  if (cached_has_bits & 0x00000020u) {
+  if (cached_has_bits & 0x00000040u) {
     target = stream->EnsureSpace(target);
     target = ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::WriteBoolToArray(7, this->_internal_islastbatch(), target);
   }
 
+  // optional int32 uncompressed_body_length = 8;
+  if (cached_has_bits & 0x00000080u) {
+    target = stream->EnsureSpace(target);
+    target = ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::WriteInt32ToArray(8, this->_internal_uncompressed_body_length(), target);
+  }
+
+  // repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;
+  for (unsigned int i = 0,
+      n = static_cast<unsigned int>(this->_internal_coalesced_batch_size()); i < n; i++) {
+    target = stream->EnsureSpace(target);
+    target = ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::
+      InternalWriteMessage(9, this->_internal_coalesced_batch(i), target, stream);
+  }
+
+  // repeated .exec.bit.data.FragmentRecordBatch relay = 10;
+  for (unsigned int i = 0,
+      n = static_cast<unsigned int>(this->_internal_relay_size()); i < n; i++) {
+    target = stream->EnsureSpace(target);
+    target = ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::
+      InternalWriteMessage(10, this->_internal_relay(i), target, stream);
+  }
+
+  // optional .exec.DrillbitEndpoint relay_endpoint = 11;
+  if (cached_has_bits & 0x00000004u) {
+    target = stream->EnsureSpace(target);
+    target = ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::
+      InternalWriteMessage(
+        11, _Internal::relay_endpoint(this), target, stream);
+  }
+
   if (PROTOBUF_PREDICT_FALSE(_internal_metadata_.have_unknown_fields())) {
     target = ::PROTOBUF_NAMESPACE_ID::internal::WireFormat::InternalSerializeUnknownFieldsToArray(
         _internal_metadata_.unknown_fields(), target, stream);
@@ -1052,8 +1312,22 @@ size_t FragmentRecordBatch::ByteSizeLong() const {
     total_size += data_size;
   }
 
+  // repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;
+  total_size += 1UL * this->_internal_coalesced_batch_size();
+  for (const auto& msg : this->coalesced_batch_) {
+    total_size +=
+      ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::MessageSize(msg);
+  }
+
+  // repeated .exec.bit.data.FragmentRecordBatch relay = 10;
+  total_size += 1UL * this->_internal_relay_size();
+  for (const auto& msg : this->relay_) {
+    total_size +=
+      ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::MessageSize(msg);
+  }
+
   cached_has_bits = _has_bits_[0];
-  if (cached_has_bits & 0x0000003fu) {
+  if (cached_has_bits & 0x000000ffu) {
     // optional .exec.shared.QueryId query_id = 1;
     if (cached_has_bits & 0x00000001u) {
       total_size += 1 +
@@ -1068,32 +1342,46 @@ size_t FragmentRecordBatch::ByteSizeLong() const {
           *def_);
     }
 
-    // optional int32 receiving_major_fragment_id = 2;
+    // optional .exec.DrillbitEndpoint relay_endpoint = 11;
     if (cached_has_bits & 0x00000004u) {
+      total_size += 1 +
+        ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::MessageSize(
+          *relay_endpoint_);
+    }
+
+    // optional int32 receiving_major_fragment_id = 2;
+    if (cached_has_bits & 0x00000008u) {
       total_size += 1 +
         ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::Int32Size(
           this->_internal_receiving_major_fragment_id());
     }
 
     // optional int32 sending_major_fragment_id = 4;
-    if (cached_has_bits & 0x00000008u) {
+    if (cached_has_bits & 0x00000010u) {
       total_size += 1 +
         ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::Int32Size(
           this->_internal_sending_major_fragment_id());
     }
 
     // optional int32 sending_minor_fragment_id = 5;
-    if (cached_has_bits & 0x00000010u) {
+    if (cached_has_bits & 0x00000020u) {
       total_size += 1 +
         ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::Int32Size(
           this->_internal_sending_minor_fragment_id());
     }
 
     // optional bool isLastBatch = 7;
-    if (cached_has_bits & 0x00000020u) {
+    if (cached_has_bits & 0x00000040u) {
       total_size += 1 + 1;
     }
 
+    // optional int32 uncompressed_body_length = 8;
+    if (cached_has_bits & 0x00000080u) {
+      total_size += 1 +
+        ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::Int32Size(
+          this->_internal_uncompressed_body_length());
+    }
+
   }
   if (PROTOBUF_PREDICT_FALSE(_internal_metadata_.have_unknown_fields())) {
     return ::PROTOBUF_NAMESPACE_ID::internal::ComputeUnknownFieldsSize(
@@ -1127,8 +1415,10 @@ void FragmentRecordBatch::MergeFrom(const FragmentRecordBatch& from) {
   (void) cached_has_bits;
 
   receiving_minor_fragment_id_.MergeFrom(from.receiving_minor_fragment_id_);
+  coalesced_batch_.MergeFrom(from.coalesced_batch_);
+  relay_.MergeFrom(from.relay_);
   cached_has_bits = from._has_bits_[0];
-  if (cached_has_bits & 0x0000003fu) {
+  if (cached_has_bits & 0x000000ffu) {
     if (cached_has_bits & 0x00000001u) {
       _internal_mutable_query_id()->::exec::shared::QueryId::MergeFrom(from._internal_query_id());
     }
@@ -1136,17 +1426,23 @@ void FragmentRecordBatch::MergeFrom(const FragmentRecordBatch& from) {
       _internal_mutable_def()->::exec::shared::RecordBatchDef::MergeFrom(from._internal_def());
     }
     if (cached_has_bits & 0x00000004u) {
-      receiving_major_fragment_id_ = from.receiving_major_fragment_id_;
+      _internal_mutable_relay_endpoint()->::exec::DrillbitEndpoint::MergeFrom(from._internal_relay_endpoint());
     }
     if (cached_has_bits & 0x00000008u) {
-      sending_major_fragment_id_ = from.sending_major_fragment_id_;
+      receiving_major_fragment_id_ = from.receiving_major_fragment_id_;
     }
     if (cached_has_bits & 0x00000010u) {
-      sending_minor_fragment_id_ = from.sending_minor_fragment_id_;
+      sending_major_fragment_id_ = from.sending_major_fragment_id_;
     }
     if (cached_has_bits & 0x00000020u) {
+      sending_minor_fragment_id_ = from.sending_minor_fragment_id_;
+    }
+    if (cached_has_bits & 0x00000040u) {
       islastbatch_ = from.islastbatch_;
     }
+    if (cached_has_bits & 0x00000080u) {
+      uncompressed_body_length_ = from.uncompressed_body_length_;
+    }
     _has_bits_[0] |= cached_has_bits;
   }
 }
@@ -1174,12 +1470,16 @@ void FragmentRecordBatch::InternalSwap(FragmentRecordBatch* other) {
   _internal_metadata_.Swap(&other->_internal_metadata_);
   swap(_has_bits_[0], other->_has_bits_[0]);
   receiving_minor_fragment_id_.InternalSwap(&other->receiving_minor_fragment_id_);
+  coalesced_batch_.InternalSwap(&other->coalesced_batch_);
+  relay_.InternalSwap(&other->relay_);
   swap(query_id_, other->query_id_);
   swap(def_, other->def_);
+  swap(relay_endpoint_, other->relay_endpoint_);
   swap(receiving_major_fragment_id_, other->receiving_major_fragment_id_);
   swap(sending_major_fragment_id_, other->sending_major_fragment_id_);
   swap(sending_minor_fragment_id_, other->sending_minor_fragment_id_);
   swap(islastbatch_, other->islastbatch_);
+  swap(uncompressed_body_length_, other->uncompressed_body_length_);
 }
 
 ::PROTOBUF_NAMESPACE_ID::Metadata FragmentRecordBatch::GetMetadata() const {
@@ -1643,6 +1943,9 @@ class AckWithCredit::_Internal {
   static void set_has_allowed_credit(HasBits* has_bits) {
     (*has_bits)[0] |= 1u;
   }
+  static void set_has_allowed_bytes(HasBits* has_bits) {
+    (*has_bits)[0] |= 2u;
+  }
 };
 
 AckWithCredit::AckWithCredit()
@@ -1655,12 +1958,16 @@ AckWithCredit::AckWithCredit(const AckWithCredit& from)
       _internal_metadata_(nullptr),
       _has_bits_(from._has_bits_) {
   _internal_metadata_.MergeFrom(from._internal_metadata_);
-  allowed_credit_ = from.allowed_credit_;
+  ::memcpy(&allowed_credit_, &from.allowed_credit_,
+    static_cast<size_t>(reinterpret_cast<char*>(&allowed_bytes_) -
+    reinterpret_cast<char*>(&allowed_credit_)) + sizeof(allowed_bytes_));
   // @@protoc_insertion_point(copy_constructor:exec.bit.data.AckWithCredit)
 }
 
 void AckWithCredit::SharedCtor() {
-  allowed_credit_ = 0;
+  ::memset(&allowed_credit_, 0, static_cast<size_t>(
+      reinterpret_cast<char*>(&allowed_bytes_) -
+      reinterpret_cast<char*>(&allowed_credit_)) + sizeof(allowed_bytes_));
 }
 
 AckWithCredit::~AckWithCredit() {
@@ -1686,7 +1993,12 @@ void AckWithCredit::Clear() {
   // Prevent compiler warnings about cached_has_bits being unused
   (void) cached_has_bits;
 
-  allowed_credit_ = 0;
+  cached_has_bits = _has_bits_[0];
+  if (cached_has_bits & 0x00000003u) {
+    ::memset(&allowed_credit_, 0, static_cast<size_t>(
+        reinterpret_cast<char*>(&allowed_bytes_) -
+        reinterpret_cast<char*>(&allowed_credit_)) + sizeof(allowed_bytes_));
+  }
   _has_bits_.Clear();
   _internal_metadata_.Clear();
 }
@@ -1707,6 +2019,14 @@ const char* AckWithCredit::_InternalParse(const char* ptr, ::PROTOBUF_NAMESPACE_
           CHK_(ptr);
         } else goto handle_unusual;
         continue;
+      // optional int64 allowed_bytes = 2;
+      case 2:
+        if (PROTOBUF_PREDICT_TRUE(static_cast<::PROTOBUF_NAMESPACE_ID::uint8>(tag) == 16)) {
+          _Internal::set_has_allowed_bytes(&has_bits);
+          allowed_bytes_ = ::PROTOBUF_NAMESPACE_ID::internal::ReadVarint(&ptr);
+          CHK_(ptr);
+        } else goto handle_unusual;
+        continue;
       default: {
       handle_unusual:
         if ((tag & 7) == 4 || tag == 0) {
@@ -1741,6 +2061,12 @@ failure:
     target = ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::WriteInt32ToArray(1, this->_internal_allowed_credit(), target);
   }
 
+  // optional int64 allowed_bytes = 2;
+  if (cached_has_bits & 0x00000002u) {
+    target = stream->EnsureSpace(target);
+    target = ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::WriteInt64ToArray(2, this->_internal_allowed_bytes(), target);
+  }
+
   if (PROTOBUF_PREDICT_FALSE(_internal_metadata_.have_unknown_fields())) {
     target = ::PROTOBUF_NAMESPACE_ID::internal::WireFormat::InternalSerializeUnknownFieldsToArray(
         _internal_metadata_.unknown_fields(), target, stream);
@@ -1757,14 +2083,23 @@ size_t AckWithCredit::ByteSizeLong() const {
   // Prevent compiler warnings about cached_has_bits being unused
   (void) cached_has_bits;
 
-  // optional int32 allowed_credit = 1;
   cached_has_bits = _has_bits_[0];
-  if (cached_has_bits & 0x00000001u) {
-    total_size += 1 +
-      ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::Int32Size(
-        this->_internal_allowed_credit());
-  }
+  if (cached_has_bits & 0x00000003u) {
+    // optional int32 allowed_credit = 1;
+    if (cached_has_bits & 0x00000001u) {
+      total_size += 1 +
+        ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::Int32Size(
+          this->_internal_allowed_credit());
+    }
+
+    // optional int64 allowed_bytes = 2;
+    if (cached_has_bits & 0x00000002u) {
+      total_size += 1 +
+        ::PROTOBUF_NAMESPACE_ID::internal::WireFormatLite::Int64Size(
+          this->_internal_allowed_bytes());
+    }
 
+  }
   if (PROTOBUF_PREDICT_FALSE(_internal_metadata_.have_unknown_fields())) {
     return ::PROTOBUF_NAMESPACE_ID::internal::ComputeUnknownFieldsSize(
         _internal_metadata_, total_size, &_cached_size_);
@@ -1796,8 +2131,15 @@ void AckWithCredit::MergeFrom(const AckWithCredit& from) {
   ::PROTOBUF_NAMESPACE_ID::uint32 cached_has_bits = 0;
   (void) cached_has_bits;
 
-  if (from._internal_has_allowed_credit()) {
-    _internal_set_allowed_credit(from._internal_allowed_credit());
+  cached_has_bits = from._has_bits_[0];
+  if (cached_has_bits & 0x00000003u) {
+    if (cached_has_bits & 0x00000001u) {
+      allowed_credit_ = from.allowed_credit_;
+    }
+    if (cached_has_bits & 0x00000002u) {
+      allowed_bytes_ = from.allowed_bytes_;
+    }
+    _has_bits_[0] |= cached_has_bits;
   }
 }
 
@@ -1824,6 +2166,7 @@ void AckWithCredit::InternalSwap(AckWithCredit* other) {
   _internal_metadata_.Swap(&other->_internal_metadata_);
   swap(_has_bits_[0], other->_has_bits_[0]);
   swap(allowed_credit_, other->allowed_credit_);
+  swap(allowed_bytes_, other->allowed_bytes_);
 }
 
 ::PROTOBUF_NAMESPACE_ID::Metadata AckWithCredit::GetMetadata() const {
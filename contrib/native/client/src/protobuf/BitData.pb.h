@@ -233,9 +233,30 @@ class BitClientHandshake :
   // accessors -------------------------------------------------------
 
   enum : int {
+    kCompressionCodecFieldNumber = 3,
     kRpcVersionFieldNumber = 1,
     kChannelFieldNumber = 2,
   };
+  // optional string compression_codec = 3;
+  bool has_compression_codec() const;
+  private:
+  bool _internal_has_compression_codec() const;
+  public:
+  void clear_compression_codec();
+  const std::string& compression_codec() const;
+  void set_compression_codec(const std::string& value);
+  void set_compression_codec(std::string&& value);
+  void set_compression_codec(const char* value);
+  void set_compression_codec(const char* value, size_t size);
+  std::string* mutable_compression_codec();
+  std::string* release_compression_codec();
+  void set_allocated_compression_codec(std::string* compression_codec);
+  private:
+  const std::string& _internal_compression_codec() const;
+  void _internal_set_compression_codec(const std::string& value);
+  std::string* _internal_mutable_compression_codec();
+  public:
+
   // optional int32 rpc_version = 1;
   bool has_rpc_version() const;
   private:
@@ -269,6 +290,7 @@ class BitClientHandshake :
   ::PROTOBUF_NAMESPACE_ID::internal::InternalMetadataWithArena _internal_metadata_;
   ::PROTOBUF_NAMESPACE_ID::internal::HasBits<1> _has_bits_;
   mutable ::PROTOBUF_NAMESPACE_ID::internal::CachedSize _cached_size_;
+  ::PROTOBUF_NAMESPACE_ID::internal::ArenaStringPtr compression_codec_;
   ::PROTOBUF_NAMESPACE_ID::int32 rpc_version_;
   int channel_;
   friend struct ::TableStruct_BitData_2eproto;
@@ -389,7 +411,9 @@ class BitServerHandshake :
 
   enum : int {
     kAuthenticationMechanismsFieldNumber = 2,
+    kCompressionCodecFieldNumber = 3,
     kRpcVersionFieldNumber = 1,
+    kCoalescedBatchesFieldNumber = 4,
   };
   // repeated string authenticationMechanisms = 2;
   int authenticationmechanisms_size() const;
@@ -415,6 +439,26 @@ class BitServerHandshake :
   std::string* _internal_add_authenticationmechanisms();
   public:
 
+  // optional string compression_codec = 3;
+  bool has_compression_codec() const;
+  private:
+  bool _internal_has_compression_codec() const;
+  public:
+  void clear_compression_codec();
+  const std::string& compression_codec() const;
+  void set_compression_codec(const std::string& value);
+  void set_compression_codec(std::string&& value);
+  void set_compression_codec(const char* value);
+  void set_compression_codec(const char* value, size_t size);
+  std::string* mutable_compression_codec();
+  std::string* release_compression_codec();
+  void set_allocated_compression_codec(std::string* compression_codec);
+  private:
+  const std::string& _internal_compression_codec() const;
+  void _internal_set_compression_codec(const std::string& value);
+  std::string* _internal_mutable_compression_codec();
+  public:
+
   // optional int32 rpc_version = 1;
   bool has_rpc_version() const;
   private:
@@ -428,6 +472,19 @@ class BitServerHandshake :
   void _internal_set_rpc_version(::PROTOBUF_NAMESPACE_ID::int32 value);
   public:
 
+  // optional bool coalesced_batches = 4;
+  bool has_coalesced_batches() const;
+  private:
+  bool _internal_has_coalesced_batches() const;
+  public:
+  void clear_coalesced_batches();
+  bool coalesced_batches() const;
+  void set_coalesced_batches(bool value);
+  private:
+  bool _internal_coalesced_batches() const;
+  void _internal_set_coalesced_batches(bool value);
+  public:
+
   // @@protoc_insertion_point(class_scope:exec.bit.data.BitServerHandshake)
  private:
   class _Internal;
@@ -436,7 +493,9 @@ class BitServerHandshake :
   ::PROTOBUF_NAMESPACE_ID::internal::HasBits<1> _has_bits_;
   mutable ::PROTOBUF_NAMESPACE_ID::internal::CachedSize _cached_size_;
   ::PROTOBUF_NAMESPACE_ID::RepeatedPtrField<std::string> authenticationmechanisms_;
+  ::PROTOBUF_NAMESPACE_ID::internal::ArenaStringPtr compression_codec_;
   ::PROTOBUF_NAMESPACE_ID::int32 rpc_version_;
+  bool coalesced_batches_;
   friend struct ::TableStruct_BitData_2eproto;
 };
 // -------------------------------------------------------------------
@@ -555,12 +614,16 @@ class FragmentRecordBatch :
 
   enum : int {
     kReceivingMinorFragmentIdFieldNumber = 3,
+    kCoalescedBatchFieldNumber = 9,
+    kRelayFieldNumber = 10,
     kQueryIdFieldNumber = 1,
     kDefFieldNumber = 6,
+    kRelayEndpointFieldNumber = 11,
     kReceivingMajorFragmentIdFieldNumber = 2,
     kSendingMajorFragmentIdFieldNumber = 4,
     kSendingMinorFragmentIdFieldNumber = 5,
     kIsLastBatchFieldNumber = 7,
+    kUncompressedBodyLengthFieldNumber = 8,
   };
   // repeated int32 receiving_minor_fragment_id = 3;
   int receiving_minor_fragment_id_size() const;
@@ -584,6 +647,42 @@ class FragmentRecordBatch :
   ::PROTOBUF_NAMESPACE_ID::RepeatedField< ::PROTOBUF_NAMESPACE_ID::int32 >*
       mutable_receiving_minor_fragment_id();
 
+  // repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;
+  int coalesced_batch_size() const;
+  private:
+  int _internal_coalesced_batch_size() const;
+  public:
+  void clear_coalesced_batch();
+  ::exec::bit::data::FragmentRecordBatch* mutable_coalesced_batch(int index);
+  ::PROTOBUF_NAMESPACE_ID::RepeatedPtrField< ::exec::bit::data::FragmentRecordBatch >*
+      mutable_coalesced_batch();
+  private:
+  const ::exec::bit::data::FragmentRecordBatch& _internal_coalesced_batch(int index) const;
+  ::exec::bit::data::FragmentRecordBatch* _internal_add_coalesced_batch();
+  public:
+  const ::exec::bit::data::FragmentRecordBatch& coalesced_batch(int index) const;
+  ::exec::bit::data::FragmentRecordBatch* add_coalesced_batch();
+  const ::PROTOBUF_NAMESPACE_ID::RepeatedPtrField< ::exec::bit::data::FragmentRecordBatch >&
+      coalesced_batch() const;
+
+  // repeated .exec.bit.data.FragmentRecordBatch relay = 10;
+  int relay_size() const;
+  private:
+  int _internal_relay_size() const;
+  public:
+  void clear_relay();
+  ::exec::bit::data::FragmentRecordBatch* mutable_relay(int index);
+  ::PROTOBUF_NAMESPACE_ID::RepeatedPtrField< ::exec::bit::data::FragmentRecordBatch >*
+      mutable_relay();
+  private:
+  const ::exec::bit::data::FragmentRecordBatch& _internal_relay(int index) const;
+  ::exec::bit::data::FragmentRecordBatch* _internal_add_relay();
+  public:
+  const ::exec::bit::data::FragmentRecordBatch& relay(int index) const;
+  ::exec::bit::data::FragmentRecordBatch* add_relay();
+  const ::PROTOBUF_NAMESPACE_ID::RepeatedPtrField< ::exec::bit::data::FragmentRecordBatch >&
+      relay() const;
+
   // optional .exec.shared.QueryId query_id = 1;
   bool has_query_id() const;
   private:
@@ -614,6 +713,21 @@ class FragmentRecordBatch :
   ::exec::shared::RecordBatchDef* _internal_mutable_def();
   public:
 
+  // optional .exec.DrillbitEndpoint relay_endpoint = 11;
+  bool has_relay_endpoint() const;
+  private:
+  bool _internal_has_relay_endpoint() const;
+  public:
+  void clear_relay_endpoint();
+  const ::exec::DrillbitEndpoint& relay_endpoint() const;
+  ::exec::DrillbitEndpoint* release_relay_endpoint();
+  ::exec::DrillbitEndpoint* mutable_relay_endpoint();
+  void set_allocated_relay_endpoint(::exec::DrillbitEndpoint* relay_endpoint);
+  private:
+  const ::exec::DrillbitEndpoint& _internal_relay_endpoint() const;
+  ::exec::DrillbitEndpoint* _internal_mutable_relay_endpoint();
+  public:
+
   // optional int32 receiving_major_fragment_id = 2;
   bool has_receiving_major_fragment_id() const;
   private:
@@ -666,6 +780,19 @@ class FragmentRecordBatch :
   void _internal_set_islastbatch(bool value);
   public:
 
+  // optional int32 uncompressed_body_length = 8;
+  bool has_uncompressed_body_length() const;
+  private:
+  bool _internal_has_uncompressed_body_length() const;
+  public:
+  void clear_uncompressed_body_length();
+  ::PROTOBUF_NAMESPACE_ID::int32 uncompressed_body_length() const;
+  void set_uncompressed_body_length(::PROTOBUF_NAMESPACE_ID::int32 value);
+  private:
+  ::PROTOBUF_NAMESPACE_ID::int32 _internal_uncompressed_body_length() const;
+  void _internal_set_uncompressed_body_length(::PROTOBUF_NAMESPACE_ID::int32 value);
+  public:
+
   // @@protoc_insertion_point(class_scope:exec.bit.data.FragmentRecordBatch)
  private:
   class _Internal;
@@ -674,12 +801,16 @@ class FragmentRecordBatch :
   ::PROTOBUF_NAMESPACE_ID::internal::HasBits<1> _has_bits_;
   mutable ::PROTOBUF_NAMESPACE_ID::internal::CachedSize _cached_size_;
   ::PROTOBUF_NAMESPACE_ID::RepeatedField< ::PROTOBUF_NAMESPACE_ID::int32 > receiving_minor_fragment_id_;
+  ::PROTOBUF_NAMESPACE_ID::RepeatedPtrField< ::exec::bit::data::FragmentRecordBatch > coalesced_batch_;
+  ::PROTOBUF_NAMESPACE_ID::RepeatedPtrField< ::exec::bit::data::FragmentRecordBatch > relay_;
   ::exec::shared::QueryId* query_id_;
   ::exec::shared::RecordBatchDef* def_;
+  ::exec::DrillbitEndpoint* relay_endpoint_;
   ::PROTOBUF_NAMESPACE_ID::int32 receiving_major_fragment_id_;
   ::PROTOBUF_NAMESPACE_ID::int32 sending_major_fragment_id_;
   ::PROTOBUF_NAMESPACE_ID::int32 sending_minor_fragment_id_;
   bool islastbatch_;
+  ::PROTOBUF_NAMESPACE_ID::int32 uncompressed_body_length_;
   friend struct ::TableStruct_BitData_2eproto;
 };
 // -------------------------------------------------------------------
@@ -1065,6 +1196,7 @@ class AckWithCredit :
 
   enum : int {
     kAllowedCreditFieldNumber = 1,
+    kAllowedBytesFieldNumber = 2,
   };
   // optional int32 allowed_credit = 1;
   bool has_allowed_credit() const;
@@ -1079,6 +1211,19 @@ class AckWithCredit :
   void _internal_set_allowed_credit(::PROTOBUF_NAMESPACE_ID::int32 value);
   public:
 
+  // optional int64 allowed_bytes = 2;
+  bool has_allowed_bytes() const;
+  private:
+  bool _internal_has_allowed_bytes() const;
+  public:
+  void clear_allowed_bytes();
+  ::PROTOBUF_NAMESPACE_ID::int64 allowed_bytes() const;
+  void set_allowed_bytes(::PROTOBUF_NAMESPACE_ID::int64 value);
+  private:
+  ::PROTOBUF_NAMESPACE_ID::int64 _internal_allowed_bytes() const;
+  void _internal_set_allowed_bytes(::PROTOBUF_NAMESPACE_ID::int64 value);
+  public:
+
   // @@protoc_insertion_point(class_scope:exec.bit.data.AckWithCredit)
  private:
   class _Internal;
@@ -1087,6 +1232,7 @@ class AckWithCredit :
   ::PROTOBUF_NAMESPACE_ID::internal::HasBits<1> _has_bits_;
   mutable ::PROTOBUF_NAMESPACE_ID::internal::CachedSize _cached_size_;
   ::PROTOBUF_NAMESPACE_ID::int32 allowed_credit_;
+  ::PROTOBUF_NAMESPACE_ID::int64 allowed_bytes_;
   friend struct ::TableStruct_BitData_2eproto;
 };
 // ===================================================================
@@ -1102,7 +1248,7 @@ class AckWithCredit :
 
 // optional int32 rpc_version = 1;
 inline bool BitClientHandshake::_internal_has_rpc_version() const {
-  bool value = (_has_bits_[0] & 0x00000001u) != 0;
+  bool value = (_has_bits_[0] & 0x00000002u) != 0;
   return value;
 }
 inline bool BitClientHandshake::has_rpc_version() const {
@@ -1110,7 +1256,7 @@ inline bool BitClientHandshake::has_rpc_version() const {
 }
 inline void BitClientHandshake::clear_rpc_version() {
   rpc_version_ = 0;
-  _has_bits_[0] &= ~0x00000001u;
+  _has_bits_[0] &= ~0x00000002u;
 }
 inline ::PROTOBUF_NAMESPACE_ID::int32 BitClientHandshake::_internal_rpc_version() const {
   return rpc_version_;
@@ -1120,7 +1266,7 @@ inline ::PROTOBUF_NAMESPACE_ID::int32 BitClientHandshake::rpc_version() const {
   return _internal_rpc_version();
 }
 inline void BitClientHandshake::_internal_set_rpc_version(::PROTOBUF_NAMESPACE_ID::int32 value) {
-  _has_bits_[0] |= 0x00000001u;
+  _has_bits_[0] |= 0x00000002u;
   rpc_version_ = value;
 }
 inline void BitClientHandshake::set_rpc_version(::PROTOBUF_NAMESPACE_ID::int32 value) {
@@ -1130,7 +1276,7 @@ inline void BitClientHandshake::set_rpc_version(::PROTOBUF_NAMESPACE_ID::int32 v
 
 // optional .exec.shared.RpcChannel channel = 2 [default = BIT_DATA];
 inline bool BitClientHandshake::_internal_has_channel() const {
-  bool value = (_has_bits_[0] & 0x00000002u) != 0;
+  bool value = (_has_bits_[0] & 0x00000004u) != 0;
   return value;
 }
 inline bool BitClientHandshake::has_channel() const {
@@ -1138,7 +1284,7 @@ inline bool BitClientHandshake::has_channel() const {
 }
 inline void BitClientHandshake::clear_channel() {
   channel_ = 1;
-  _has_bits_[0] &= ~0x00000002u;
+  _has_bits_[0] &= ~0x00000004u;
 }
 inline ::exec::shared::RpcChannel BitClientHandshake::_internal_channel() const {
   return static_cast< ::exec::shared::RpcChannel >(channel_);
@@ -1149,7 +1295,7 @@ inline ::exec::shared::RpcChannel BitClientHandshake::channel() const {
 }
 inline void BitClientHandshake::_internal_set_channel(::exec::shared::RpcChannel value) {
   assert(::exec::shared::RpcChannel_IsValid(value));
-  _has_bits_[0] |= 0x00000002u;
+  _has_bits_[0] |= 0x00000004u;
   channel_ = value;
 }
 inline void BitClientHandshake::set_channel(::exec::shared::RpcChannel value) {
@@ -1157,13 +1303,84 @@ inline void BitClientHandshake::set_channel(::exec::shared::RpcChannel value) {
   // @@protoc_insertion_point(field_set:exec.bit.data.BitClientHandshake.channel)
 }
 
+// optional string compression_codec = 3;
+inline bool BitClientHandshake::_internal_has_compression_codec() const {
+  bool value = (_has_bits_[0] & 0x00000001u) != 0;
+  return value;
+}
+inline bool BitClientHandshake::has_compression_codec() const {
+  return _internal_has_compression_codec();
+}
+inline void BitClientHandshake::clear_compression_codec() {
+  compression_codec_.ClearToEmptyNoArena(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited());
+  _has_bits_[0] &= ~0x00000001u;
+}
+inline const std::string& BitClientHandshake::compression_codec() const {
+  // @@protoc_insertion_point(field_get:exec.bit.data.BitClientHandshake.compression_codec)
+  return _internal_compression_codec();
+}
+inline void BitClientHandshake::set_compression_codec(const std::string& value) {
+  _internal_set_compression_codec(value);
+  // @@protoc_insertion_point(field_set:exec.bit.data.BitClientHandshake.compression_codec)
+}
+inline std::string* BitClientHandshake::mutable_compression_codec() {
+  // @@protoc_insertion_point(field_mutable:exec.bit.data.BitClientHandshake.compression_codec)
+  return _internal_mutable_compression_codec();
+}
+inline const std::string& BitClientHandshake::_internal_compression_codec() const {
+  return compression_codec_.GetNoArena();
+}
+inline void BitClientHandshake::_internal_set_compression_codec(const std::string& value) {
+  _has_bits_[0] |= 0x00000001u;
+  compression_codec_.SetNoArena(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited(), value);
+}
+inline void BitClientHandshake::set_compression_codec(std::string&& value) {
+  _has_bits_[0] |= 0x00000001u;
+  compression_codec_.SetNoArena(
+    &::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited(), ::std::move(value));
+  // @@protoc_insertion_point(field_set_rvalue:exec.bit.data.BitClientHandshake.compression_codec)
+}
+inline void BitClientHandshake::set_compression_codec(const char* value) {
+  GOOGLE_DCHECK(value != nullptr);
+  _has_bits_[0] |= 0x00000001u;
+  compression_codec_.SetNoArena(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited(), ::std::string(value));
+  // @@protoc_insertion_point(field_set_char:exec.bit.data.BitClientHandshake.compression_codec)
+}
+inline void BitClientHandshake::set_compression_codec(const char* value, size_t size) {
+  _has_bits_[0] |= 0x00000001u;
+  compression_codec_.SetNoArena(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited(),
+      ::std::string(reinterpret_cast<const char*>(value), size));
+  // @@protoc_insertion_point(field_set_pointer:exec.bit.data.BitClientHandshake.compression_codec)
+}
+inline std::string* BitClientHandshake::_internal_mutable_compression_codec() {
+  _has_bits_[0] |= 0x00000001u;
+  return compression_codec_.MutableNoArena(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited());
+}
+inline std::string* BitClientHandshake::release_compression_codec() {
+  // @@protoc_insertion_point(field_release:exec.bit.data.BitClientHandshake.compression_codec)
+  if (!_internal_has_compression_codec()) {
+    return nullptr;
+  }
+  _has_bits_[0] &= ~0x00000001u;
+  return compression_codec_.ReleaseNonDefaultNoArena(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited());
+}
+inline void BitClientHandshake::set_allocated_compression_codec(std::string* compression_codec) {
+  if (compression_codec != nullptr) {
+    _has_bits_[0] |= 0x00000001u;
+  } else {
+    _has_bits_[0] &= ~0x00000001u;
+  }
+  compression_codec_.SetAllocatedNoArena(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited(), compression_codec);
+  // @@protoc_insertion_point(field_set_allocated:exec.bit.data.BitClientHandshake.compression_codec)
+}
+
 // -------------------------------------------------------------------
 
 // BitServerHandshake
 
 // optional int32 rpc_version = 1;
 inline bool BitServerHandshake::_internal_has_rpc_version() const {
-  bool value = (_has_bits_[0] & 0x00000001u) != 0;
+  bool value = (_has_bits_[0] & 0x00000002u) != 0;
   return value;
 }
 inline bool BitServerHandshake::has_rpc_version() const {
@@ -1171,7 +1388,7 @@ inline bool BitServerHandshake::has_rpc_version() const {
 }
 inline void BitServerHandshake::clear_rpc_version() {
   rpc_version_ = 0;
-  _has_bits_[0] &= ~0x00000001u;
+  _has_bits_[0] &= ~0x00000002u;
 }
 inline ::PROTOBUF_NAMESPACE_ID::int32 BitServerHandshake::_internal_rpc_version() const {
   return rpc_version_;
@@ -1181,7 +1398,7 @@ inline ::PROTOBUF_NAMESPACE_ID::int32 BitServerHandshake::rpc_version() const {
   return _internal_rpc_version();
 }
 inline void BitServerHandshake::_internal_set_rpc_version(::PROTOBUF_NAMESPACE_ID::int32 value) {
-  _has_bits_[0] |= 0x00000001u;
+  _has_bits_[0] |= 0x00000002u;
   rpc_version_ = value;
 }
 inline void BitServerHandshake::set_rpc_version(::PROTOBUF_NAMESPACE_ID::int32 value) {
@@ -1263,6 +1480,105 @@ BitServerHandshake::mutable_authenticationmechanisms() {
   return &authenticationmechanisms_;
 }
 
+// optional string compression_codec = 3;
+inline bool BitServerHandshake::_internal_has_compression_codec() const {
+  bool value = (_has_bits_[0] & 0x00000001u) != 0;
+  return value;
+}
+inline bool BitServerHandshake::has_compression_codec() const {
+  return _internal_has_compression_codec();
+}
+inline void BitServerHandshake::clear_compression_codec() {
+  compression_codec_.ClearToEmptyNoArena(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited());
+  _has_bits_[0] &= ~0x00000001u;
+}
+inline const std::string& BitServerHandshake::compression_codec() const {
+  // @@protoc_insertion_point(field_get:exec.bit.data.BitServerHandshake.compression_codec)
+  return _internal_compression_codec();
+}
+inline void BitServerHandshake::set_compression_codec(const std::string& value) {
+  _internal_set_compression_codec(value);
+  // @@protoc_insertion_point(field_set:exec.bit.data.BitServerHandshake.compression_codec)
+}
+inline std::string* BitServerHandshake::mutable_compression_codec() {
+  // @@protoc_insertion_point(field_mutable:exec.bit.data.BitServerHandshake.compression_codec)
+  return _internal_mutable_compression_codec();
+}
+inline const std::string& BitServerHandshake::_internal_compression_codec() const {
+  return compression_codec_.GetNoArena();
+}
+inline void BitServerHandshake::_internal_set_compression_codec(const std::string& value) {
+  _has_bits_[0] |= 0x00000001u;
+  compression_codec_.SetNoArena(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited(), value);
+}
+inline void BitServerHandshake::set_compression_codec(std::string&& value) {
+  _has_bits_[0] |= 0x00000001u;
+  compression_codec_.SetNoArena(
+    &::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited(), ::std::move(value));
+  // @@protoc_insertion_point(field_set_rvalue:exec.bit.data.BitServerHandshake.compression_codec)
+}
+inline void BitServerHandshake::set_compression_codec(const char* value) {
+  GOOGLE_DCHECK(value != nullptr);
+  _has_bits_[0] |= 0x00000001u;
+  compression_codec_.SetNoArena(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited(), ::std::string(value));
+  // @@protoc_insertion_point(field_set_char:exec.bit.data.BitServerHandshake.compression_codec)
+}
+inline void BitServerHandshake::set_compression_codec(const char* value, size_t size) {
+  _has_bits_[0] |= 0x00000001u;
+  compression_codec_.SetNoArena(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited(),
+      ::std::string(reinterpret_cast<const char*>(value), size));
+  // @@protoc_insertion_point(field_set_pointer:exec.bit.data.BitServerHandshake.compression_codec)
+}
+inline std::string* BitServerHandshake::_internal_mutable_compression_codec() {
+  _has_bits_[0] |= 0x00000001u;
+  return compression_codec_.MutableNoArena(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited());
+}
+inline std::string* BitServerHandshake::release_compression_codec() {
+  // @@protoc_insertion_point(field_release:exec.bit.data.BitServerHandshake.compression_codec)
+  if (!_internal_has_compression_codec()) {
+    return nullptr;
+  }
+  _has_bits_[0] &= ~0x00000001u;
+  return compression_codec_.ReleaseNonDefaultNoArena(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited());
+}
+inline void BitServerHandshake::set_allocated_compression_codec(std::string* compression_codec) {
+  if (compression_codec != nullptr) {
+    _has_bits_[0] |= 0x00000001u;
+  } else {
+    _has_bits_[0] &= ~0x00000001u;
+  }
+  compression_codec_.SetAllocatedNoArena(&::PROTOBUF_NAMESPACE_ID::internal::GetEmptyStringAlreadyInited(), compression_codec);
+  // @@protoc_insertion_point(field_set_allocated:exec.bit.data.BitServerHandshake.compression_codec)
+}
+
+// optional bool coalesced_batches = 4;
+inline bool BitServerHandshake::_internal_has_coalesced_batches() const {
+  bool value = (_has_bits_[0] & 0x00000004u) != 0;
+  return value;
+}
+inline bool BitServerHandshake::has_coalesced_batches() const {
+  return _internal_has_coalesced_batches();
+}
+inline void BitServerHandshake::clear_coalesced_batches() {
+  coalesced_batches_ = false;
+  _has_bits_[0] &= ~0x00000004u;
+}
+inline bool BitServerHandshake::_internal_coalesced_batches() const {
+  return coalesced_batches_;
+}
+inline bool BitServerHandshake::coalesced_batches() const {
+  // @@protoc_insertion_point(field_get:exec.bit.data.BitServerHandshake.coalesced_batches)
+  return _internal_coalesced_batches();
+}
+inline void BitServerHandshake::_internal_set_coalesced_batches(bool value) {
+  _has_bits_[0] |= 0x00000004u;
+  coalesced_batches_ = value;
+}
+inline void BitServerHandshake::set_coalesced_batches(bool value) {
+  _internal_set_coalesced_batches(value);
+  // @@protoc_insertion_point(field_set:exec.bit.data.BitServerHandshake.coalesced_batches)
+}
+
 // -------------------------------------------------------------------
 
 // FragmentRecordBatch
@@ -1325,7 +1641,7 @@ inline void FragmentRecordBatch::set_allocated_query_id(::exec::shared::QueryId*
 
 // optional int32 receiving_major_fragment_id = 2;
 inline bool FragmentRecordBatch::_internal_has_receiving_major_fragment_id() const {
-  bool value = (_has_bits_[0] & 0x00000004u) != 0;
+  bool value = (_has_bits_[0] & 0x00000008u) != 0;
   return value;
 }
 inline bool FragmentRecordBatch::has_receiving_major_fragment_id() const {
@@ -1333,7 +1649,7 @@ inline bool FragmentRecordBatch::has_receiving_major_fragment_id() const {
 }
 inline void FragmentRecordBatch::clear_receiving_major_fragment_id() {
   receiving_major_fragment_id_ = 0;
-  _has_bits_[0] &= ~0x00000004u;
+  _has_bits_[0] &= ~0x00000008u;
 }
 inline ::PROTOBUF_NAMESPACE_ID::int32 FragmentRecordBatch::_internal_receiving_major_fragment_id() const {
   return receiving_major_fragment_id_;
@@ -1343,7 +1659,7 @@ inline ::PROTOBUF_NAMESPACE_ID::int32 FragmentRecordBatch::receiving_major_fragm
   return _internal_receiving_major_fragment_id();
 }
 inline void FragmentRecordBatch::_internal_set_receiving_major_fragment_id(::PROTOBUF_NAMESPACE_ID::int32 value) {
-  _has_bits_[0] |= 0x00000004u;
+  _has_bits_[0] |= 0x00000008u;
   receiving_major_fragment_id_ = value;
 }
 inline void FragmentRecordBatch::set_receiving_major_fragment_id(::PROTOBUF_NAMESPACE_ID::int32 value) {
@@ -1400,7 +1716,7 @@ FragmentRecordBatch::mutable_receiving_minor_fragment_id() {
 
 // optional int32 sending_major_fragment_id = 4;
 inline bool FragmentRecordBatch::_internal_has_sending_major_fragment_id() const {
-  bool value = (_has_bits_[0] & 0x00000008u) != 0;
+  bool value = (_has_bits_[0] & 0x00000010u) != 0;
   return value;
 }
 inline bool FragmentRecordBatch::has_sending_major_fragment_id() const {
@@ -1408,7 +1724,7 @@ inline bool FragmentRecordBatch::has_sending_major_fragment_id() const {
 }
 inline void FragmentRecordBatch::clear_sending_major_fragment_id() {
   sending_major_fragment_id_ = 0;
-  _has_bits_[0] &= ~0x00000008u;
+  _has_bits_[0] &= ~0x00000010u;
 }
 inline ::PROTOBUF_NAMESPACE_ID::int32 FragmentRecordBatch::_internal_sending_major_fragment_id() const {
   return sending_major_fragment_id_;
@@ -1418,7 +1734,7 @@ inline ::PROTOBUF_NAMESPACE_ID::int32 FragmentRecordBatch::sending_major_fragmen
   return _internal_sending_major_fragment_id();
 }
 inline void FragmentRecordBatch::_internal_set_sending_major_fragment_id(::PROTOBUF_NAMESPACE_ID::int32 value) {
-  _has_bits_[0] |= 0x00000008u;
+  _has_bits_[0] |= 0x00000010u;
   sending_major_fragment_id_ = value;
 }
 inline void FragmentRecordBatch::set_sending_major_fragment_id(::PROTOBUF_NAMESPACE_ID::int32 value) {
@@ -1428,7 +1744,7 @@ inline void FragmentRecordBatch::set_sending_major_fragment_id(::PROTOBUF_NAMESP
 
 // optional int32 sending_minor_fragment_id = 5;
 inline bool FragmentRecordBatch::_internal_has_sending_minor_fragment_id() const {
-  bool value = (_has_bits_[0] & 0x00000010u) != 0;
+  bool value = (_has_bits_[0] & 0x00000020u) != 0;
   return value;
 }
 inline bool FragmentRecordBatch::has_sending_minor_fragment_id() const {
@@ -1436,7 +1752,7 @@ inline bool FragmentRecordBatch::has_sending_minor_fragment_id() const {
 }
 inline void FragmentRecordBatch::clear_sending_minor_fragment_id() {
   sending_minor_fragment_id_ = 0;
-  _has_bits_[0] &= ~0x00000010u;
+  _has_bits_[0] &= ~0x00000020u;
 }
 inline ::PROTOBUF_NAMESPACE_ID::int32 FragmentRecordBatch::_internal_sending_minor_fragment_id() const {
   return sending_minor_fragment_id_;
@@ -1446,7 +1762,7 @@ inline ::PROTOBUF_NAMESPACE_ID::int32 FragmentRecordBatch::sending_minor_fragmen
   return _internal_sending_minor_fragment_id();
 }
 inline void FragmentRecordBatch::_internal_set_sending_minor_fragment_id(::PROTOBUF_NAMESPACE_ID::int32 value) {
-  _has_bits_[0] |= 0x00000010u;
+  _has_bits_[0] |= 0x00000020u;
   sending_minor_fragment_id_ = value;
 }
 inline void FragmentRecordBatch::set_sending_minor_fragment_id(::PROTOBUF_NAMESPACE_ID::int32 value) {
@@ -1512,7 +1828,7 @@ inline void FragmentRecordBatch::set_allocated_def(::exec::shared::RecordBatchDe
 
 // optional bool isLastBatch = 7;
 inline bool FragmentRecordBatch::_internal_has_islastbatch() const {
-  bool value = (_has_bits_[0] & 0x00000020u) != 0;
+  bool value = (_has_bits_[0] & 0x00000040u) != 0;
   return value;
 }
 inline bool FragmentRecordBatch::has_islastbatch() const {
@@ -1520,7 +1836,7 @@ inline bool FragmentRecordBatch::has_islastbatch() const {
 }
 inline void FragmentRecordBatch::clear_islastbatch() {
   islastbatch_ = false;
-  _has_bits_[0] &= ~0x00000020u;
+  _has_bits_[0] &= ~0x00000040u;
 }
 inline bool FragmentRecordBatch::_internal_islastbatch() const {
   return islastbatch_;
@@ -1530,7 +1846,7 @@ inline bool FragmentRecordBatch::islastbatch() const {
   return _internal_islastbatch();
 }
 inline void FragmentRecordBatch::_internal_set_islastbatch(bool value) {
-  _has_bits_[0] |= 0x00000020u;
+  _has_bits_[0] |= 0x00000040u;
   islastbatch_ = value;
 }
 inline void FragmentRecordBatch::set_islastbatch(bool value) {
@@ -1538,6 +1854,168 @@ inline void FragmentRecordBatch::set_islastbatch(bool value) {
   // @@protoc_insertion_point(field_set:exec.bit.data.FragmentRecordBatch.isLastBatch)
 }
 
+// optional int32 uncompressed_body_length = 8;
+inline bool FragmentRecordBatch::_internal_has_uncompressed_body_length() const {
+  bool value = (_has_bits_[0] & 0x00000080u) != 0;
+  return value;
+}
+inline bool FragmentRecordBatch::has_uncompressed_body_length() const {
+  return _internal_has_uncompressed_body_length();
+}
+inline void FragmentRecordBatch::clear_uncompressed_body_length() {
+  uncompressed_body_length_ = 0;
+  _has_bits_[0] &= ~0x00000080u;
+}
+inline ::PROTOBUF_NAMESPACE_ID::int32 FragmentRecordBatch::_internal_uncompressed_body_length() const {
+  return uncompressed_body_length_;
+}
+inline ::PROTOBUF_NAMESPACE_ID::int32 FragmentRecordBatch::uncompressed_body_length() const {
+  // @@protoc_insertion_point(field_get:exec.bit.data.FragmentRecordBatch.uncompressed_body_length)
+  return _internal_uncompressed_body_length();
+}
+inline void FragmentRecordBatch::_internal_set_uncompressed_body_length(::PROTOBUF_NAMESPACE_ID::int32 value) {
+  _has_bits_[0] |= 0x00000080u;
+  uncompressed_body_length_ = value;
+}
+inline void FragmentRecordBatch::set_uncompressed_body_length(::PROTOBUF_NAMESPACE_ID::int32 value) {
+  _internal_set_uncompressed_body_length(value);
+  // @@protoc_insertion_point(field_set:exec.bit.data.FragmentRecordBatch.uncompressed_body_length)
+}
+
+// repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;
+inline int FragmentRecordBatch::_internal_coalesced_batch_size() const {
+  return coalesced_batch_.size();
+}
+inline int FragmentRecordBatch::coalesced_batch_size() const {
+  return _internal_coalesced_batch_size();
+}
+inline void FragmentRecordBatch::clear_coalesced_batch() {
+  coalesced_batch_.Clear();
+}
+inline ::exec::bit::data::FragmentRecordBatch* FragmentRecordBatch::mutable_coalesced_batch(int index) {
+  // @@protoc_insertion_point(field_mutable:exec.bit.data.FragmentRecordBatch.coalesced_batch)
+  return coalesced_batch_.Mutable(index);
+}
+inline ::PROTOBUF_NAMESPACE_ID::RepeatedPtrField< ::exec::bit::data::FragmentRecordBatch >*
+FragmentRecordBatch::mutable_coalesced_batch() {
+  // @@protoc_insertion_point(field_mutable_list:exec.bit.data.FragmentRecordBatch.coalesced_batch)
+  return &coalesced_batch_;
+}
+inline const ::exec::bit::data::FragmentRecordBatch& FragmentRecordBatch::_internal_coalesced_batch(int index) const {
+  return coalesced_batch_.Get(index);
+}
+inline const ::exec::bit::data::FragmentRecordBatch& FragmentRecordBatch::coalesced_batch(int index) const {
+  // @@protoc_insertion_point(field_get:exec.bit.data.FragmentRecordBatch.coalesced_batch)
+  return _internal_coalesced_batch(index);
+}
+inline ::exec::bit::data::FragmentRecordBatch* FragmentRecordBatch::_internal_add_coalesced_batch() {
+  return coalesced_batch_.Add();
+}
+inline ::exec::bit::data::FragmentRecordBatch* FragmentRecordBatch::add_coalesced_batch() {
+  // @@protoc_insertion_point(field_add:exec.bit.data.FragmentRecordBatch.coalesced_batch)
+  return _internal_add_coalesced_batch();
+}
+inline const ::PROTOBUF_NAMESPACE_ID::RepeatedPtrField< ::exec::bit::data::FragmentRecordBatch >&
+FragmentRecordBatch::coalesced_batch() const {
+  // @@protoc_insertion_point(field_list:exec.bit.data.FragmentRecordBatch.coalesced_batch)
+  return coalesced_batch_;
+}
+
+// repeated .exec.bit.data.FragmentRecordBatch relay = 10;
+inline int FragmentRecordBatch::_internal_relay_size() const {
+  return relay_.size();
+}
+inline int FragmentRecordBatch::relay_size() const {
+  return _internal_relay_size();
+}
+inline void FragmentRecordBatch::clear_relay() {
+  relay_.Clear();
+}
+inline ::exec::bit::data::FragmentRecordBatch* FragmentRecordBatch::mutable_relay(int index) {
+  // @@protoc_insertion_point(field_mutable:exec.bit.data.FragmentRecordBatch.relay)
+  return relay_.Mutable(index);
+}
+inline ::PROTOBUF_NAMESPACE_ID::RepeatedPtrField< ::exec::bit::data::FragmentRecordBatch >*
+FragmentRecordBatch::mutable_relay() {
+  // @@protoc_insertion_point(field_mutable_list:exec.bit.data.FragmentRecordBatch.relay)
+  return &relay_;
+}
+inline const ::exec::bit::data::FragmentRecordBatch& FragmentRecordBatch::_internal_relay(int index) const {
+  return relay_.Get(index);
+}
+inline const ::exec::bit::data::FragmentRecordBatch& FragmentRecordBatch::relay(int index) const {
+  // @@protoc_insertion_point(field_get:exec.bit.data.FragmentRecordBatch.relay)
+  return _internal_relay(index);
+}
+inline ::exec::bit::data::FragmentRecordBatch* FragmentRecordBatch::_internal_add_relay() {
+  return relay_.Add();
+}
+inline ::exec::bit::data::FragmentRecordBatch* FragmentRecordBatch::add_relay() {
+  // @@protoc_insertion_point(field_add:exec.bit.data.FragmentRecordBatch.relay)
+  return _internal_add_relay();
+}
+inline const ::PROTOBUF_NAMESPACE_ID::RepeatedPtrField< ::exec::bit::data::FragmentRecordBatch >&
+FragmentRecordBatch::relay() const {
+  // @@protoc_insertion_point(field_list:exec.bit.data.FragmentRecordBatch.relay)
+  return relay_;
+}
+
+// optional .exec.DrillbitEndpoint relay_endpoint = 11;
+inline bool FragmentRecordBatch::_internal_has_relay_endpoint() const {
+  bool value = (_has_bits_[0] & 0x00000004u) != 0;
+  PROTOBUF_ASSUME(!value || relay_endpoint_ != nullptr);
+  return value;
+}
+inline bool FragmentRecordBatch::has_relay_endpoint() const {
+  return _internal_has_relay_endpoint();
+}
+inline const ::exec::DrillbitEndpoint& FragmentRecordBatch::_internal_relay_endpoint() const {
+  const ::exec::DrillbitEndpoint* p = relay_endpoint_;
+  return p != nullptr ? *p : *reinterpret_cast<const ::exec::DrillbitEndpoint*>(
+      &::exec::_DrillbitEndpoint_default_instance_);
+}
+inline const ::exec::DrillbitEndpoint& FragmentRecordBatch::relay_endpoint() const {
+  // @@protoc_insertion_point(field_get:exec.bit.data.FragmentRecordBatch.relay_endpoint)
+  return _internal_relay_endpoint();
+}
+inline ::exec::DrillbitEndpoint* FragmentRecordBatch::release_relay_endpoint() {
+  // @@protoc_insertion_point(field_release:exec.bit.data.FragmentRecordBatch.relay_endpoint)
+  _has_bits_[0] &= ~0x00000004u;
+  ::exec::DrillbitEndpoint* temp = relay_endpoint_;
+  relay_endpoint_ = nullptr;
+  return temp;
+}
+inline ::exec::DrillbitEndpoint* FragmentRecordBatch::_internal_mutable_relay_endpoint() {
+  _has_bits_[0] |= 0x00000004u;
+  if (relay_endpoint_ == nullptr) {
+    auto* p = CreateMaybeMessage<::exec::DrillbitEndpoint>(GetArenaNoVirtual());
+    relay_endpoint_ = p;
+  }
+  return relay_endpoint_;
+}
+inline ::exec::DrillbitEndpoint* FragmentRecordBatch::mutable_relay_endpoint() {
+  // @@protoc_insertion_point(field_mutable:exec.bit.data.FragmentRecordBatch.relay_endpoint)
+  return _internal_mutable_relay_endpoint();
+}
+inline void FragmentRecordBatch::set_allocated_relay_endpoint(::exec::DrillbitEndpoint* relay_endpoint) {
+  ::PROTOBUF_NAMESPACE_ID::Arena* message_arena = GetArenaNoVirtual();
+  if (message_arena == nullptr) {
+    delete reinterpret_cast< ::PROTOBUF_NAMESPACE_ID::MessageLite*>(relay_endpoint_);
+  }
+  if (relay_endpoint) {
+    ::PROTOBUF_NAMESPACE_ID::Arena* submessage_arena = nullptr;
+    if (message_arena != submessage_arena) {
+      relay_endpoint = ::PROTOBUF_NAMESPACE_ID::internal::GetOwnedMessage(
+          message_arena, relay_endpoint, submessage_arena);
+    }
+    _has_bits_[0] |= 0x00000004u;
+  } else {
+    _has_bits_[0] &= ~0x00000004u;
+  }
+  relay_endpoint_ = relay_endpoint;
+  // @@protoc_insertion_point(field_set_allocated:exec.bit.data.FragmentRecordBatch.relay_endpoint)
+}
+
 // -------------------------------------------------------------------
 
 // RuntimeFilterBDef
@@ -1891,6 +2369,34 @@ inline void AckWithCredit::set_allowed_credit(::PROTOBUF_NAMESPACE_ID::int32 val
   // @@protoc_insertion_point(field_set:exec.bit.data.AckWithCredit.allowed_credit)
 }
 
+// optional int64 allowed_bytes = 2;
+inline bool AckWithCredit::_internal_has_allowed_bytes() const {
+  bool value = (_has_bits_[0] & 0x00000002u) != 0;
+  return value;
+}
+inline bool AckWithCredit::has_allowed_bytes() const {
+  return _internal_has_allowed_bytes();
+}
+inline void AckWithCredit::clear_allowed_bytes() {
+  allowed_bytes_ = PROTOBUF_LONGLONG(0);
+  _has_bits_[0] &= ~0x00000002u;
+}
+inline ::PROTOBUF_NAMESPACE_ID::int64 AckWithCredit::_internal_allowed_bytes() const {
+  return allowed_bytes_;
+}
+inline ::PROTOBUF_NAMESPACE_ID::int64 AckWithCredit::allowed_bytes() const {
+  // @@protoc_insertion_point(field_get:exec.bit.data.AckWithCredit.allowed_bytes)
+  return _internal_allowed_bytes();
+}
+inline void AckWithCredit::_internal_set_allowed_bytes(::PROTOBUF_NAMESPACE_ID::int64 value) {
+  _has_bits_[0] |= 0x00000002u;
+  allowed_bytes_ = value;
+}
+inline void AckWithCredit::set_allowed_bytes(::PROTOBUF_NAMESPACE_ID::int64 value) {
+  _internal_set_allowed_bytes(value);
+  // @@protoc_insertion_point(field_set:exec.bit.data.AckWithCredit.allowed_bytes)
+}
+
 #ifdef __GNUC__
   #pragma GCC diagnostic pop
 #endif  // __GNUC__
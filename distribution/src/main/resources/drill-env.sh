@@ -70,6 +70,12 @@
 
 #export DRILLBIT_CODE_CACHE_SIZE=${DRILLBIT_CODE_CACHE_SIZE:-"1G"}
 
+# Use the native epoll transport (Linux only) for the user, control and data
+# channels instead of the Java NIO one. Drill falls back to NIO if the native
+# library cannot be loaded. Default is false.
+
+#export DRILL_ENABLE_EPOLL=${DRILL_ENABLE_EPOLL:-"false"}
+
 # Provide a customized host name for when the default mechanism is not accurate
 
 #export DRILL_HOST_NAME=`hostname`
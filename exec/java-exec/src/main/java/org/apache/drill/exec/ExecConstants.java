@@ -59,12 +59,16 @@ public final class ExecConstants {
   public static final String INITIAL_BIT_PORT = "drill.exec.rpc.bit.server.port";
   public static final String INITIAL_DATA_PORT = "drill.exec.rpc.bit.server.dataport";
   public static final String BIT_RPC_TIMEOUT = "drill.exec.rpc.bit.timeout";
+  public static final String BIT_DATA_COMPRESSION_CODEC = "drill.exec.rpc.bit.data.compression.codec";
+  public static final String BIT_DATA_COMPRESSION_THRESHOLD = "drill.exec.rpc.bit.data.compression.threshold";
+  public static final String BIT_DATA_PRIORITY_LANE = "drill.exec.rpc.bit.data.priority_lane";
   public static final String INITIAL_USER_PORT = "drill.exec.rpc.user.server.port";
   public static final String USER_RPC_TIMEOUT = "drill.exec.rpc.user.timeout";
   public static final String METRICS_CONTEXT_NAME = "drill.exec.metrics.context";
   public static final String USE_IP_ADDRESS = "drill.exec.rpc.use.ip";
   public static final String CLIENT_RPC_THREADS = "drill.exec.rpc.user.client.threads";
   public static final String BIT_SERVER_RPC_THREADS = "drill.exec.rpc.bit.server.threads";
+  public static final String BIT_CONTROL_RPC_THREADS = "drill.exec.rpc.bit.control.threads";
   public static final String USER_SERVER_RPC_THREADS = "drill.exec.rpc.user.server.threads";
   public static final String FRAG_RUNNER_RPC_TIMEOUT = "drill.exec.rpc.fragrunner.timeout";
   public static final PositiveLongValidator FRAG_RUNNER_RPC_TIMEOUT_VALIDATOR = new PositiveLongValidator(FRAG_RUNNER_RPC_TIMEOUT, Long.MAX_VALUE, null);
@@ -77,6 +81,11 @@ public final class ExecConstants {
   public static final String INCOMING_BUFFER_SIZE = "drill.exec.buffer.size";
   public static final String SPOOLING_BUFFER_DELETE = "drill.exec.buffer.spooling.delete";
   public static final String SPOOLING_BUFFER_MEMORY = "drill.exec.buffer.spooling.size";
+  /** spool the incoming batches to memory-mapped segment files of the temporary directories */
+  public static final String SPOOLING_BUFFER_MAPPED = "drill.exec.buffer.spooling.mapped";
+  public static final String SPOOLING_BUFFER_SEGMENT_SIZE = "drill.exec.buffer.spooling.segment_size";
+  /** fraction of the spooling buffer memory to start spooling at */
+  public static final String SPOOLING_BUFFER_START_FRACTION = "drill.exec.buffer.spooling.start_fraction";
   public static final String UNLIMITED_BUFFER_MAX_MEMORY_SIZE = "drill.exec.buffer.unlimited_receiver.max_size";
   public static final String BATCH_PURGE_THRESHOLD = "drill.exec.sort.purge.threshold";
 
@@ -85,6 +94,12 @@ public final class ExecConstants {
 
   public static final String SPILL_FILESYSTEM = "drill.exec.spill.fs";
   public static final String SPILL_DIRS = "drill.exec.spill.directories";
+  public static final String SPILL_ASYNC_IO_KEY = "exec.spill.async_io.enable";
+  public static final BooleanValidator SPILL_ASYNC_IO = new BooleanValidator(SPILL_ASYNC_IO_KEY,
+      new OptionDescription("Enables the spilling operators (External Sort, Hash Aggregate and Hash Join) to write their spill files in the background, and to read them ahead, through two buffers per open spill file. Default is false. (Since Drill 1.19)"));
+  public static final String SPILL_ASYNC_IO_BUFFER_SIZE_KEY = "exec.spill.async_io.buffer_size";
+  public static final LongValidator SPILL_ASYNC_IO_BUFFER_SIZE = new RangeLongValidator(SPILL_ASYNC_IO_BUFFER_SIZE_KEY, 64 * 1024, 16 * 1024 * 1024,
+      new OptionDescription("Sets the size of each of the two buffers of an open spill file, when the spill I/O is asynchronous. The buffers count against the memory of the operator. Default is 262144. (Since Drill 1.19)"));
 
   public static final String OUTPUT_BATCH_SIZE = "drill.exec.memory.operator.output_batch_size";
   // Output Batch Size in Bytes. We have a small lower bound so we can test with unit tests without the
@@ -118,12 +133,32 @@ public final class ExecConstants {
   public static final String EXTERNAL_SORT_DISABLE_MANAGED = "drill.exec.sort.external.disable_managed";
   @Deprecated
   public static final BooleanValidator EXTERNAL_SORT_DISABLE_MANAGED_OPTION = new BooleanValidator("exec.sort.disable_managed", null);
+  public static final String EXTERNAL_SORT_NORMALIZED_KEYS_KEY = "exec.sort.normalized_keys.enable";
+  public static final BooleanValidator EXTERNAL_SORT_NORMALIZED_KEYS = new BooleanValidator(EXTERNAL_SORT_NORMALIZED_KEYS_KEY,
+      new OptionDescription("Enables sorting by a normalized prefix of the leading sort keys in the External Sort (batch sort, in-memory merge and merge of the spilled runs), falling back to full comparisons only on prefix ties. Default is false. (Since Drill 1.19)"));
+  public static final String MERGING_RECEIVER_NORMALIZED_KEYS_KEY = "exec.merging_receiver.normalized_keys.enable";
+  public static final BooleanValidator MERGING_RECEIVER_NORMALIZED_KEYS = new BooleanValidator(MERGING_RECEIVER_NORMALIZED_KEYS_KEY,
+      new OptionDescription("Enables merging the sorted streams of the Merging Receiver by a normalized prefix of the leading sort keys of their current records, falling back to full comparisons only on prefix ties. Default is false. (Since Drill 1.19)"));
+  public static final String EXTERNAL_SORT_SPILL_COMPRESSION_KEY = "exec.sort.spill_compression";
+  public static final EnumeratedStringValidator EXTERNAL_SORT_SPILL_COMPRESSION = new EnumeratedStringValidator(EXTERNAL_SORT_SPILL_COMPRESSION_KEY,
+      new OptionDescription("Sets the codec the External Sort compresses its spill files with. Default is NONE. This option also accepts SNAPPY, GZIP and ZSTD as values. (Since Drill 1.19)"),
+      "NONE", "SNAPPY", "GZIP", "ZSTD");
 
   // Hash Join Options
   public static final String HASHJOIN_HASHTABLE_CALC_TYPE_KEY = "exec.hashjoin.hash_table_calc_type";
   public static final EnumeratedStringValidator HASHJOIN_HASHTABLE_CALC_TYPE = new EnumeratedStringValidator(HASHJOIN_HASHTABLE_CALC_TYPE_KEY,
       new OptionDescription("Sets the Hash Join Memory Calculator type. Default is LEAN. This option also accepts CONSERVATIVE as a value."),
       "LEAN", "CONSERVATIVE");
+  public static final String HASHJOIN_HASHTABLE_TYPE_KEY = "exec.hashjoin.hash_table_type";
+  public static final EnumeratedStringValidator HASHJOIN_HASHTABLE_TYPE = new EnumeratedStringValidator(HASHJOIN_HASHTABLE_TYPE_KEY,
+      new OptionDescription("Sets the Hash Join hash table organization. Default is CHAINED. This option also accepts OPEN_ADDRESSING as a value. (Since Drill 1.19)"),
+      "CHAINED", "OPEN_ADDRESSING");
+  public static final String HASHJOIN_BATCH_PROBE_KEY = "exec.hashjoin.enable.batch_probe";
+  public static final BooleanValidator HASHJOIN_BATCH_PROBE = new BooleanValidator(HASHJOIN_BATCH_PROBE_KEY,
+      new OptionDescription("Enables the Hash Join to probe the hash table one incoming batch at a time: all the hash values, then all the bucket lookups, then all the key comparisons. Default is false. (Since Drill 1.19)"));
+  public static final String HASHJOIN_RADIX_CLUSTER_BYTES_KEY = "exec.hashjoin.radix_cluster_bytes";
+  public static final LongValidator HASHJOIN_RADIX_CLUSTER_BYTES = new RangeLongValidator(HASHJOIN_RADIX_CLUSTER_BYTES_KEY, 0, Integer.MAX_VALUE,
+      new OptionDescription("When above 0, the Hash Join puts (and, with batch probe, probes) the rows of each batch clustered by hash bits, such that each cluster touches about this many bytes of hash table buckets. Set to about the CPU cache size. Default is 0 (disabled). (Since Drill 1.19)"));
   public static final String HASHJOIN_SAFETY_FACTOR_KEY = "exec.hashjoin.safety_factor";
   public static final DoubleValidator HASHJOIN_SAFETY_FACTOR = new RangeDoubleValidator(HASHJOIN_SAFETY_FACTOR_KEY, 1.0, Double.MAX_VALUE,
       new OptionDescription("Sets the Hash Join Memory Calculation Safety; multiplies the internal size estimate. Default is 1.0"));
@@ -145,6 +180,10 @@ public final class ExecConstants {
   public static final String HASHJOIN_MAX_MEMORY_KEY = "drill.exec.hashjoin.mem_limit";
   public static final LongValidator HASHJOIN_MAX_MEMORY_VALIDATOR = new RangeLongValidator(HASHJOIN_MAX_MEMORY_KEY, 0L, Long.MAX_VALUE,
       new OptionDescription("Enforces the maximum memory limit for the Hash Join operator (if non-zero); used for testing purposes. Default is 0 (disabled)."));
+  public static final String HASHJOIN_SPILL_COMPRESSION_KEY = "exec.hashjoin.spill_compression";
+  public static final EnumeratedStringValidator HASHJOIN_SPILL_COMPRESSION = new EnumeratedStringValidator(HASHJOIN_SPILL_COMPRESSION_KEY,
+      new OptionDescription("Sets the codec the Hash Join compresses its spill files with. Default is NONE. This option also accepts SNAPPY, GZIP and ZSTD as values. (Since Drill 1.19)"),
+      "NONE", "SNAPPY", "GZIP", "ZSTD");
   public static final String HASHJOIN_SPILL_DIRS = "drill.exec.hashjoin.spill.directories";
   public static final String HASHJOIN_SPILL_FILESYSTEM = "drill.exec.hashjoin.spill.fs";
   public static final String HASHJOIN_FALLBACK_ENABLED_KEY = "drill.exec.hashjoin.fallback.enabled";
@@ -161,6 +200,21 @@ public final class ExecConstants {
   public static final String HASHJOIN_RUNTIME_FILTER_MAX_WAITING_TIME_KEY = "exec.hashjoin.runtime_filter.max.waiting.time";
   public static final PositiveLongValidator HASHJOIN_RUNTIME_FILTER_MAX_WAITING_TIME = new PositiveLongValidator(HASHJOIN_RUNTIME_FILTER_MAX_WAITING_TIME_KEY, Character.MAX_VALUE, null);
 
+  // Top-N Options
+  public static final String TOPN_ENABLE_THRESHOLD_FILTER_KEY = "exec.topn.enable.threshold_filter";
+  public static final BooleanValidator TOPN_ENABLE_THRESHOLD_FILTER = new BooleanValidator(TOPN_ENABLE_THRESHOLD_FILTER_KEY,
+      new OptionDescription("Enables a Top-N, whose first sort key is an INT, BIGINT or TIMESTAMP column read by a Parquet scan in the same fragment, to share its current boundary with the scan, which then skips the row groups that can not enter the Top-N. Default is false. (Since Drill 1.19)"));
+
+  // Exchange Options
+  public static final String EXCHANGE_LOCAL_ENABLE_KEY = "exec.exchange.local.enable";
+  public static final BooleanValidator EXCHANGE_LOCAL_ENABLE = new BooleanValidator(EXCHANGE_LOCAL_ENABLE_KEY,
+      new OptionDescription("Enables senders to hand record batches to the receiving fragments running on the same Drillbit directly, rather than through the data server over a loopback connection. Default is false. (Since Drill 1.19)"));
+
+  // Nested Loop Join Options
+  public static final String NLJ_MAX_MEMORY_KEY = "exec.nljoin.mem_limit";
+  public static final LongValidator NLJ_MAX_MEMORY_VALIDATOR = new RangeLongValidator(NLJ_MAX_MEMORY_KEY, 0, Long.MAX_VALUE,
+      new OptionDescription("Enforces the value set as the memory the Nested Loop Join sizes its blocks for, in place of its memory allocation; used for testing purposes. Default is 0 (disabled). Replaces exec.nljoin.block_memory: every Nested Loop Join is now a buffered operator, so it takes a share of the query memory like the Sort, Hash Aggregate and Hash Join do, which leaves less memory to those in the same query. (Since Drill 1.19)"));
+
 
   // Hash Aggregate Options
   public static final String HASHAGG_NUM_PARTITIONS_KEY = "exec.hashagg.num_partitions";
@@ -182,6 +236,32 @@ public final class ExecConstants {
   public static final BooleanValidator HASHAGG_USE_MEMORY_PREDICTION_VALIDATOR = new BooleanValidator(HASHAGG_USE_MEMORY_PREDICTION_KEY,
       new OptionDescription("Enables Hash Aggregates to use memory predictions to proactively spill early. Default is true."));
 
+  public static final String HASHAGG_HASHTABLE_TYPE_KEY = "exec.hashagg.hash_table_type";
+  public static final EnumeratedStringValidator HASHAGG_HASHTABLE_TYPE = new EnumeratedStringValidator(HASHAGG_HASHTABLE_TYPE_KEY,
+      new OptionDescription("Sets the Hash Aggregate hash table organization. Default is CHAINED. This option also accepts OPEN_ADDRESSING as a value. (Since Drill 1.19)"),
+      "CHAINED", "OPEN_ADDRESSING");
+  // Adaptive bypass of the 1st phase: once enough rows were seen and the groups to rows ratio is above
+  // the threshold, the 1st phase stops looking up the groups and passes each row downstream as its own group
+  public static final String HASHAGG_ADAPTIVE_BYPASS_KEY = "exec.hashagg.adaptive_bypass.enable";
+  public static final BooleanValidator HASHAGG_ADAPTIVE_BYPASS_VALIDATOR = new BooleanValidator(HASHAGG_ADAPTIVE_BYPASS_KEY,
+      new OptionDescription("Enables the 1st phase of a two phase Hash Aggregate to stop aggregating, and pass the rows to the 2nd phase, when it does not reduce the number of rows enough. Default is false. (Since Drill 1.19)"));
+  public static final String HASHAGG_ADAPTIVE_BYPASS_MIN_ROWS_KEY = "exec.hashagg.adaptive_bypass.min_rows";
+  public static final LongValidator HASHAGG_ADAPTIVE_BYPASS_MIN_ROWS_VALIDATOR = new RangeLongValidator(HASHAGG_ADAPTIVE_BYPASS_MIN_ROWS_KEY, 1, Integer.MAX_VALUE,
+      new OptionDescription("Sets the number of input rows the 1st phase of a Hash Aggregate aggregates before deciding whether to bypass the aggregation. Default is 100000. (Since Drill 1.19)"));
+  public static final String HASHAGG_ADAPTIVE_BYPASS_RATIO_KEY = "exec.hashagg.adaptive_bypass.ratio";
+  public static final DoubleValidator HASHAGG_ADAPTIVE_BYPASS_RATIO_VALIDATOR = new RangeDoubleValidator(HASHAGG_ADAPTIVE_BYPASS_RATIO_KEY, 0.0, 1.0,
+      new OptionDescription("Sets the ratio of groups to input rows above which the 1st phase of a Hash Aggregate bypasses the aggregation. Default is 0.9. (Since Drill 1.19)"));
+  public static final String HASHAGG_DIRECT_INDEX_KEY = "exec.hashagg.direct_index.enable";
+  public static final BooleanValidator HASHAGG_DIRECT_INDEX_VALIDATOR = new BooleanValidator(HASHAGG_DIRECT_INDEX_KEY,
+      new OptionDescription("Enables looking up the groups of a Hash Aggregate on a single INT or BIGINT key directly by the key value, as long as the key values fall within a small range. Default is false. (Since Drill 1.19)"));
+  public static final String HASHAGG_DIRECT_INDEX_MAX_RANGE_KEY = "exec.hashagg.direct_index.max_range";
+  public static final LongValidator HASHAGG_DIRECT_INDEX_MAX_RANGE_VALIDATOR = new RangeLongValidator(HASHAGG_DIRECT_INDEX_MAX_RANGE_KEY, 1, 1 << 24,
+      new OptionDescription("Sets the largest range (max - min + 1) of key values a Hash Aggregate looks up directly by value. Default is 65536. (Since Drill 1.19)"));
+  public static final String HASHAGG_SPILL_COMPRESSION_KEY = "exec.hashagg.spill_compression";
+  public static final EnumeratedStringValidator HASHAGG_SPILL_COMPRESSION = new EnumeratedStringValidator(HASHAGG_SPILL_COMPRESSION_KEY,
+      new OptionDescription("Sets the codec the Hash Aggregate compresses its spill files with. Default is NONE. This option also accepts SNAPPY, GZIP and ZSTD as values. (Since Drill 1.19)"),
+      "NONE", "SNAPPY", "GZIP", "ZSTD");
+
   public static final String HASHAGG_SPILL_DIRS = "drill.exec.hashagg.spill.directories";
   public static final String HASHAGG_SPILL_FILESYSTEM = "drill.exec.hashagg.spill.fs";
   public static final String HASHAGG_FALLBACK_ENABLED_KEY = "drill.exec.hashagg.fallback.enabled";
@@ -193,6 +273,21 @@ public final class ExecConstants {
   public static final LongValidator PARTITIONER_MEMORY_REDUCTION_THRESHOLD_VALIDATOR =
       new RangeLongValidator(PARTITIONER_MEMORY_REDUCTION_THRESHOLD_KEY, 0, Integer.MAX_VALUE,
       new OptionDescription("Linearly reduces partition sender buffer row count after this number of receivers. Default is 0 (disabled). (Since Drill 1.18)"));
+  public static final String PARTITIONER_OUTGOING_MEMORY_KEY = "exec.partition.outgoing_memory";
+  public static final LongValidator PARTITIONER_OUTGOING_MEMORY_VALIDATOR =
+      new RangeLongValidator(PARTITIONER_OUTGOING_MEMORY_KEY, 0, Long.MAX_VALUE,
+      new OptionDescription("Memory, in bytes, for the outgoing batches of a partition sender: the row count of the batches is reduced to fit it, given the width of the rows and the number of receivers. 0 disables it. (Since Drill 1.19)"));
+  public static final String PARTITIONER_COALESCE_BYTES_KEY = "exec.partition.coalesce_bytes";
+  public static final LongValidator PARTITIONER_COALESCE_BYTES_VALIDATOR =
+      new RangeLongValidator(PARTITIONER_COALESCE_BYTES_KEY, 0, Integer.MAX_VALUE,
+      new OptionDescription("Maximum size, in bytes, of a message of a partition sender coalescing the batches to the receivers on the same Drillbit. 0 sends each batch in its own message, as do the Drillbits sending to older ones. (Since Drill 1.19)"));
+  public static final String PARTITIONER_COLUMN_SCATTER_KEY = "exec.partition.column_scatter";
+  public static final BooleanValidator PARTITIONER_COLUMN_SCATTER_VALIDATOR = new BooleanValidator(PARTITIONER_COLUMN_SCATTER_KEY,
+      new OptionDescription("Partition senders evaluate the partition of the rows of an incoming batch once, then copy each column to the outgoing batches in parallel, on a pool shared by the Drillbit, of drill.exec.partition.column_scatter_threads threads. Replaces the partitioner threads. (Since Drill 1.19)"));
+  public static final String BROADCAST_RELAY_FANOUT_KEY = "exec.broadcast.relay_fanout";
+  public static final LongValidator BROADCAST_RELAY_FANOUT_VALIDATOR =
+      new RangeLongValidator(BROADCAST_RELAY_FANOUT_KEY, 0, 1024,
+      new OptionDescription("Number of Drillbits a broadcast sender sends its batches to, each one relaying them to as many other Drillbits, down a tree spanning the receiving Drillbits. 0 sends the batches to every receiving Drillbit. (Since Drill 1.19)"));
 
   public static final String SSL_PROVIDER = "drill.exec.ssl.provider"; // valid values are "JDK", "OPENSSL" // default JDK
   public static final String SSL_PROTOCOL = "drill.exec.ssl.protocol"; // valid values are SSL, SSLV2, SSLV3, TLS, TLSV1, TLSv1.1, TLSv1.2(default)
@@ -309,6 +404,8 @@ public final class ExecConstants {
   public static final String SCAN_THREADPOOL_SIZE = "drill.exec.scan.threadpool_size";
   // The size of the thread pool used by a scan to decode the data. Used by Parquet
   public static final String SCAN_DECODE_THREADPOOL_SIZE = "drill.exec.scan.decode_threadpool_size";
+  // The number of threads of the pool the partition senders scatter their columns on, 0 for as many as cores
+  public static final String PARTITIONER_COLUMN_SCATTER_THREADS = "drill.exec.partition.column_scatter_threads";
 
   /**
    * Currently if a query is cancelled, but one of the fragments reports the status as FAILED instead of CANCELLED or
@@ -368,6 +465,18 @@ public final class ExecConstants {
   public static final OptionValidator PARQUET_WRITER_USE_PRIMITIVE_TYPES_FOR_DECIMALS_VALIDATOR = new BooleanValidator(PARQUET_WRITER_USE_PRIMITIVE_TYPES_FOR_DECIMALS,
       new OptionDescription("Instructs the Parquet writer to convert decimal to primitive types whenever possible."));
 
+  public static final String PARQUET_WRITER_BLOOM_FILTER_COLUMNS = "store.parquet.writer.bloom_filter_columns";
+  public static final StringValidator PARQUET_WRITER_BLOOM_FILTER_COLUMNS_VALIDATOR = new StringValidator(PARQUET_WRITER_BLOOM_FILTER_COLUMNS,
+      new OptionDescription("Comma separated names of the top level columns for which the Parquet writer writes bloom filters, " +
+          "used to prune the row groups on equality predicates. A column whose pages are all dictionary encoded gets none. " +
+          "Default is empty, i.e. no bloom filter. (Since Drill 1.19)"));
+
+  public static final String PARQUET_WRITER_BLOOM_FILTER_MAX_BYTES = "store.parquet.writer.bloom_filter_max_bytes";
+  public static final OptionValidator PARQUET_WRITER_BLOOM_FILTER_MAX_BYTES_VALIDATOR = new RangeLongValidator(PARQUET_WRITER_BLOOM_FILTER_MAX_BYTES,
+      32, 128 * 1024 * 1024,
+      new OptionDescription("Size in bytes of the bloom filters of a row group written by the Parquet writer, for each column. " +
+          "Default is 1048576. (Since Drill 1.19)"));
+
   public static final String PARQUET_WRITER_LOGICAL_TYPE_FOR_DECIMALS = "store.parquet.writer.logical_type_for_decimals";
   public static final OptionValidator PARQUET_WRITER_LOGICAL_TYPE_FOR_DECIMALS_VALIDATOR = new EnumeratedStringValidator(PARQUET_WRITER_LOGICAL_TYPE_FOR_DECIMALS,
       new OptionDescription("Parquet writer logical type for decimal; supported types \'fixed_len_byte_array\' and \'binary\'"),
@@ -413,6 +522,30 @@ public final class ExecConstants {
   public static final OptionValidator PARQUET_PAGEREADER_ENFORCETOTALSIZE_VALIDATOR = new BooleanValidator(PARQUET_PAGEREADER_ENFORCETOTALSIZE,
       new OptionDescription("Instructs the Parquet reader to read no more than the advertised page size."));
 
+  public static final String PARQUET_BLOOM_FILTER_KEY = "store.parquet.reader.bloom_filter";
+  public static final BooleanValidator PARQUET_BLOOM_FILTER = new BooleanValidator(PARQUET_BLOOM_FILTER_KEY,
+      new OptionDescription("Enables the run-time pruning of the Parquet row groups whose bloom filters hold none of the values the equality predicates of the filter compare their columns to. Default is true. (Since Drill 1.19)"));
+
+  public static final String PARQUET_LATE_MATERIALIZATION_KEY = "store.parquet.reader.late_materialization";
+  public static final BooleanValidator PARQUET_LATE_MATERIALIZATION = new BooleanValidator(PARQUET_LATE_MATERIALIZATION_KEY,
+      new OptionDescription("Enables the late materialization of the Parquet row groups matching the filter only partly: the flat reader decodes the filter columns first, then skips the data pages of the other columns where no row matches the filter. Default is false. (Since Drill 1.19)"));
+
+  public static final String PARQUET_NESTED_BATCH_READER_KEY = "store.parquet.reader.nested_batch_reader";
+  public static final BooleanValidator PARQUET_NESTED_BATCH_READER = new BooleanValidator(PARQUET_NESTED_BATCH_READER_KEY,
+      new OptionDescription("Enables the Parquet reader of nested data to read the MAP, LIST and DICT columns a page at a time, decoding their levels in bulk into the vectors, instead of a record at a time. Projections with types it does not support are still read a record at a time. Default is false. (Since Drill 1.19)"));
+
+  public static final String PARQUET_VECTORED_READ_KEY = "store.parquet.reader.vectored_read";
+  public static final BooleanValidator PARQUET_VECTORED_READ = new BooleanValidator(PARQUET_VECTORED_READ_KEY,
+      new OptionDescription("Enables the flat Parquet reader to read all the projected column chunks of a row group up front, merging the chunks that lie close to each other into fewer, larger reads issued in parallel. Meant for object stores, where each read is a round trip; the chunks are held in memory until the row group is read. Default is false. (Since Drill 1.19)"));
+
+  public static final String PARQUET_VECTORED_READ_MAX_GAP_KEY = "store.parquet.reader.vectored_read_max_gap";
+  public static final LongValidator PARQUET_VECTORED_READ_MAX_GAP = new RangeLongValidator(PARQUET_VECTORED_READ_MAX_GAP_KEY, 0, Integer.MAX_VALUE,
+      new OptionDescription("The largest gap (in bytes) between two column chunks that are still merged into one read when store.parquet.reader.vectored_read is true; the bytes of the gap are read and dropped. Default is 1048576. (Since Drill 1.19)"));
+
+  public static final String PARQUET_PAGE_INDEX_FILTER_KEY = "store.parquet.reader.page_index_filter";
+  public static final BooleanValidator PARQUET_PAGE_INDEX_FILTER = new BooleanValidator(PARQUET_PAGE_INDEX_FILTER_KEY,
+      new OptionDescription("Enables the flat Parquet reader to skip, within the row groups left by the run-time pruning, the data pages which according to the column indexes of the file hold no row matching the filter. Default is false. (Since Drill 1.19)"));
+
   public static final String PARQUET_COLUMNREADER_ASYNC = "store.parquet.reader.columnreader.async";
   public static final OptionValidator PARQUET_COLUMNREADER_ASYNC_VALIDATOR = new BooleanValidator(PARQUET_COLUMNREADER_ASYNC,
       new OptionDescription("Turn on parallel decoding of column data from Parquet to the in memory format. This increases CPU usage and is most useful for compressed fixed width data. With increasing concurrency, this option may cause queries to run slower and should be turned on only for performance critical queries."));
@@ -1216,6 +1349,13 @@ public final class ExecConstants {
           "the sender to send out its data more rapidly, but you should know that it has a risk to OOM when the system is solving parallel " +
           "large queries until we have a more accurate resource manager."));
 
+  public static final String ENABLE_BYTE_CREDIT_BASED_FC = "exec.enable_byte_credit_fc";
+  public static final BooleanValidator ENABLE_BYTE_CREDIT_BASED_FC_VALIDATOR = new BooleanValidator(
+      ENABLE_BYTE_CREDIT_BASED_FC, new OptionDescription("Enables byte based credit flow control on the receivers of the exchanges: " +
+      "each sender is allowed a share of the bytes the receiver can queue, given the memory left to the receiving fragment, and the " +
+      "acks are held back while the queued batches use it all. Bounds the memory of the batches queued behind a slow consumer. " +
+      "Default is false. (Since Drill 1.19)"));
+
   public static final String ENABLE_REST_VERBOSE_ERRORS_KEY = "drill.exec.http.rest.errors.verbose";
   public static final OptionValidator ENABLE_REST_VERBOSE_ERRORS = new BooleanValidator(ENABLE_REST_VERBOSE_ERRORS_KEY,
       new OptionDescription("Toggles verbose output of executable error messages in rest response"));
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.disk;
+
+import io.netty.buffer.DrillBuf;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.proto.BitData;
+import org.apache.drill.exec.record.RawFragmentBatch;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import org.apache.drill.shaded.guava.com.google.common.base.Stopwatch;
+
+/**
+ * Spool writing the batches to a single file of a Hadoop file system, synced
+ * after each batch: the header, delimited, then the length and the bytes of
+ * the body. Each batch is read back through a new stream.
+ */
+public class FileSystemSpool implements Spool {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(FileSystemSpool.class);
+
+  private final FileSystem fs;
+  private final Path path;
+  private final boolean deleteOnClose;
+  private final FSDataOutputStream outputStream;
+
+  public FileSystemSpool(FileSystem fs, Path path, boolean deleteOnClose) throws IOException {
+    this.fs = fs;
+    this.path = path;
+    this.deleteOnClose = deleteOnClose;
+    this.outputStream = fs.create(path);
+  }
+
+  @Override
+  public long write(RawFragmentBatch batch) throws IOException {
+    Stopwatch watch = Stopwatch.createStarted();
+    long start = outputStream.getPos();
+    batch.getHeader().writeDelimitedTo(outputStream);
+    DrillBuf buf = batch.getBody();
+    int bodyLength = buf == null ? 0 : buf.capacity();
+    outputStream.writeInt(bodyLength);
+    if (bodyLength > 0) {
+      buf.getBytes(0, outputStream, bodyLength);
+    }
+    outputStream.hsync();
+    long t = watch.elapsed(TimeUnit.MICROSECONDS);
+    logger.debug("Took {} us to spool {} to disk at position {}", t, bodyLength, start);
+    return start;
+  }
+
+  @Override
+  public RawFragmentBatch read(long position, BufferAllocator allocator) throws IOException {
+    int duration = 0;
+    while (true) {
+
+      // Sometimes, the file isn't quite done writing when we attempt to read it. As such, we need to wait and retry.
+      try {
+        Thread.sleep(duration);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while reading a spooled batch", e);
+      }
+
+      try (FSDataInputStream stream = fs.open(path)) {
+        stream.seek(position);
+        Stopwatch watch = Stopwatch.createStarted();
+        BitData.FragmentRecordBatch header = BitData.FragmentRecordBatch.parseDelimitedFrom(stream);
+        if (header == null) {
+          throw new EOFException();
+        }
+        int bodyLength = stream.readInt();
+        try (DrillBuf buf = allocator.buffer(bodyLength)) {
+          buf.writeBytes(stream, bodyLength);
+          RawFragmentBatch batch = new RawFragmentBatch(header, buf, null);
+          long t = watch.elapsed(TimeUnit.MICROSECONDS);
+          logger.debug("Took {} us to read {} from disk", t, bodyLength);
+          return batch;
+        }
+      } catch (EOFException e) {
+        logger.warn("EOF reading from file {} at pos {}. Current file size: {}", path, position,
+            fs.getFileStatus(path).getLen());
+        duration = Math.max(1, duration * 2);
+        if (duration >= 60000) {
+          throw e;
+        }
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    outputStream.close();
+    if (deleteOnClose) {
+      fs.delete(path, false);
+      logger.debug("Deleted file {}", path);
+    }
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.disk;
+
+import io.netty.buffer.DrillBuf;
+import io.netty.util.internal.PlatformDependent;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.proto.BitData;
+import org.apache.drill.exec.record.RawFragmentBatch;
+
+/**
+ * Spool appending the batches to memory-mapped segment files of the local file
+ * system, preallocated to a fixed size (or to the size of a larger batch).
+ * Each batch is written as the length and the bytes of its header, then the
+ * length and the bytes of its body. The bodies are copied between direct memory
+ * and the mapped segments, never through the heap, and the batches are written
+ * without a sync: the spool only outlives the memory of the receiver, not the
+ * Drillbit.
+ * <p>
+ * A batch is positioned by the index of its segment (high 32 bits) and its
+ * offset in the segment. Once a batch is read, the segments before its own are
+ * unmapped and deleted.
+ */
+public class MappedSpool implements Spool {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(MappedSpool.class);
+
+  private final String pathPrefix;
+  private final int segmentSize;
+  private final boolean deleteOnClose;
+
+  // the mapped segments, null once read past, and their files
+  private final List<MappedByteBuffer> segments = new ArrayList<>();
+  private final List<Path> files = new ArrayList<>();
+  // the number of segments read past
+  private int released;
+  // the segment written, and the offset to write the next batch at
+  private MappedByteBuffer current;
+  private int writeOffset;
+
+  /**
+   * @param pathPrefix path of the segment files, suffixed by their index
+   * @param segmentSize size of the segment files
+   * @param deleteOnClose whether the segment files are deleted, once read past or closed
+   */
+  public MappedSpool(String pathPrefix, int segmentSize, boolean deleteOnClose) {
+    this.pathPrefix = pathPrefix;
+    this.segmentSize = segmentSize;
+    this.deleteOnClose = deleteOnClose;
+  }
+
+  @Override
+  public long write(RawFragmentBatch batch) throws IOException {
+    byte[] header = batch.getHeader().toByteArray();
+    DrillBuf body = batch.getBody();
+    int bodyLength = body == null ? 0 : body.capacity();
+    long length = 2L * Integer.BYTES + header.length + bodyLength;
+    if (current == null || current.capacity() - writeOffset < length) {
+      addSegment(Math.max(segmentSize, length));
+    }
+    ByteBuffer out = current.duplicate();
+    out.position(writeOffset);
+    out.putInt(header.length);
+    out.put(header);
+    out.putInt(bodyLength);
+    if (bodyLength > 0) {
+      out.limit(out.position() + bodyLength);
+      body.getBytes(0, out);
+    }
+    long position = ((long) (segments.size() - 1) << 32) | writeOffset;
+    writeOffset += length;
+    return position;
+  }
+
+  @Override
+  public RawFragmentBatch read(long position, BufferAllocator allocator) throws IOException {
+    int index = (int) (position >>> 32);
+    ByteBuffer in = getSegment(index).duplicate();
+    in.position((int) position);
+    int headerLength = in.getInt();
+    ByteBuffer headerBytes = in.slice();
+    headerBytes.limit(headerLength);
+    BitData.FragmentRecordBatch header = BitData.FragmentRecordBatch.parseFrom(headerBytes);
+    in.position(in.position() + headerLength);
+    int bodyLength = in.getInt();
+    in.limit(in.position() + bodyLength);
+    try (DrillBuf body = allocator.buffer(bodyLength)) {
+      body.setBytes(0, in);
+      body.writerIndex(bodyLength);
+      return new RawFragmentBatch(header, body, null);
+    }
+  }
+
+  private void addSegment(long size) throws IOException {
+    if (size > Integer.MAX_VALUE) {
+      throw new IOException(String.format("Batch of %d bytes too large to spool", size));
+    }
+    Path file = Paths.get(pathPrefix + "." + files.size());
+    Files.createDirectories(file.getParent());
+    MappedByteBuffer segment;
+    try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+      raf.setLength(size);
+      // the mapping stays valid once the channel is closed
+      segment = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+    synchronized (this) {
+      segments.add(segment);
+      files.add(file);
+    }
+    current = segment;
+    writeOffset = 0;
+    logger.debug("Mapped spool segment {} of {} bytes", file, size);
+  }
+
+  private synchronized MappedByteBuffer getSegment(int index) {
+    // the batches are read in order: the segments before are read past
+    for (; released < index; released++) {
+      release(released);
+    }
+    return segments.get(index);
+  }
+
+  private void release(int index) {
+    // unmapped now rather than once collected, so that the file is freed on delete
+    MappedByteBuffer segment = segments.set(index, null);
+    if (segment != null) {
+      PlatformDependent.freeDirectBuffer(segment);
+    }
+    if (deleteOnClose) {
+      try {
+        Files.deleteIfExists(files.get(index));
+      } catch (IOException e) {
+        logger.warn("Failed to delete spool segment {}", files.get(index), e);
+      }
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    // no more written to once unmapped
+    current = null;
+    for (; released < segments.size(); released++) {
+      release(released);
+    }
+  }
+}
@@ -19,11 +19,35 @@ package org.apache.drill.exec.disk;
 
 import java.io.IOException;
 
-import org.apache.drill.exec.record.RecordBatch;
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.record.RawFragmentBatch;
 
-public interface Spool {
-  static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(Spool.class);
+/**
+ * Spool of the incoming record batches a receiver can not keep in memory: the
+ * batches are appended by a spooling thread, and read back by the receiver in
+ * the order they were written.
+ */
+public interface Spool extends AutoCloseable {
+
+  /**
+   * Appends a batch to the spool. Does not release its body.
+   *
+   * @param batch the batch to write
+   * @return the position of the batch, to read it back
+   */
+  long write(RawFragmentBatch batch) throws IOException;
+
+  /**
+   * Reads back a batch, into a body allocated by the given allocator. As the
+   * batches are read in the order they were written, the spool may free the
+   * space of the batches before it.
+   *
+   * @param position the position of the batch, as returned when written
+   * @param allocator the allocator of the body
+   * @return the batch, without a sender to ack
+   */
+  RawFragmentBatch read(long position, BufferAllocator allocator) throws IOException;
 
-  public void write(RecordBatch batch) throws IOException;
-  public void read(RecordBatch batch) throws IOException;
+  @Override
+  void close() throws IOException;
 }
@@ -17,6 +17,9 @@
  */
 package org.apache.drill.exec.ops;
 
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
 import org.apache.drill.exec.proto.BitData;
 import org.apache.drill.exec.record.FragmentWritableBatch;
 import org.apache.drill.exec.rpc.RpcOutcomeListener;
@@ -51,6 +54,34 @@ public class AccountingDataTunnel {
     tunnel.sendRuntimeFilter(statusHandler, batch);
   }
 
+  /**
+   * Sets the stats of the compression of the batches a sender sent through its tunnels,
+   * if any were compressed.
+   *
+   * @param stats stats of the sender
+   * @param tunnels tunnels of the sender, one per receiving Drillbit
+   * @param compressedBytes metric of the bytes of the compressed bodies
+   * @param ratio metric of the ratio of the lengths of the bodies before and after compression
+   * @param timeMs metric of the time spent to compress
+   */
+  public static void setCompressionStats(OperatorStats stats, Collection<AccountingDataTunnel> tunnels,
+      MetricDef compressedBytes, MetricDef ratio, MetricDef timeMs) {
+    long inputBytes = 0;
+    long outputBytes = 0;
+    long nanos = 0;
+    for (AccountingDataTunnel tunnel : tunnels) {
+      inputBytes += tunnel.tunnel.getCompressionInputBytes();
+      outputBytes += tunnel.tunnel.getCompressionOutputBytes();
+      nanos += tunnel.tunnel.getCompressionNanos();
+    }
+    if (outputBytes == 0) {
+      return;
+    }
+    stats.setLongStat(compressedBytes, outputBytes);
+    stats.setDoubleStat(ratio, (double) inputBytes / outputBytes);
+    stats.setLongStat(timeMs, TimeUnit.NANOSECONDS.toMillis(nanos));
+  }
+
   /**
    * See {@link DataTunnel#setTestInjectionControls(ControlsInjector, ExecutionControls, Logger)}.
    */
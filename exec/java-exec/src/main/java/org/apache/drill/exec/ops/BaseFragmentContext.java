@@ -19,12 +19,15 @@ package org.apache.drill.exec.ops;
 
 import io.netty.buffer.DrillBuf;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.drill.common.exceptions.UserException;
 import org.apache.drill.exec.exception.ClassTransformationException;
 import org.apache.drill.exec.expr.ClassGenerator;
 import org.apache.drill.exec.expr.CodeGenerator;
 import org.apache.drill.exec.expr.fn.FunctionImplementationRegistry;
+import org.apache.drill.exec.physical.impl.TopN.TopNThreshold;
 import org.apache.drill.exec.physical.impl.common.CodeGenMemberInjector;
 import org.apache.drill.exec.proto.UserBitShared;
 import org.slf4j.Logger;
@@ -38,6 +41,7 @@ public abstract class BaseFragmentContext implements FragmentContext {
   private static final Logger logger = LoggerFactory.getLogger(BaseFragmentContext.class);
 
   private final FunctionImplementationRegistry funcRegistry;
+  private final Map<Integer, TopNThreshold> topNThresholds = new ConcurrentHashMap<>();
 
   public BaseFragmentContext(final FunctionImplementationRegistry funcRegistry) {
     this.funcRegistry = funcRegistry;
@@ -127,4 +131,9 @@ public abstract class BaseFragmentContext implements FragmentContext {
   public BufferManager getManagedBufferManager() {
     return getBufferManager();
   }
+
+  @Override
+  public TopNThreshold getTopNThreshold(int scanOperatorId) {
+    return topNThresholds.computeIfAbsent(scanOperatorId, id -> new TopNThreshold());
+  }
 }
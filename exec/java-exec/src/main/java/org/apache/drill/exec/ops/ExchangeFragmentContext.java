@@ -17,6 +17,8 @@
  */
 package org.apache.drill.exec.ops;
 
+import java.util.concurrent.ForkJoinPool;
+
 import org.apache.drill.exec.proto.CoordinationProtos;
 import org.apache.drill.exec.rpc.control.Controller;
 import org.apache.drill.exec.work.batch.IncomingBuffers;
@@ -34,4 +36,9 @@ public interface ExchangeFragmentContext extends FragmentContext {
   Controller getController();
 
   IncomingBuffers getBuffers();
+
+  /**
+   * @return the pool of the Drillbit the partition senders scatter the columns of their batches on
+   */
+  ForkJoinPool getColumnScatterPool();
 }
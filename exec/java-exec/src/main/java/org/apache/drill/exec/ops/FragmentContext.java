@@ -32,6 +32,7 @@ import org.apache.drill.exec.expr.fn.FunctionLookupContext;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.ops.QueryContext.SqlStatementType;
 import org.apache.drill.exec.physical.base.PhysicalOperator;
+import org.apache.drill.exec.physical.impl.TopN.TopNThreshold;
 import org.apache.drill.exec.proto.ExecProtos;
 import org.apache.drill.exec.proto.UserBitShared.QueryId;
 import org.apache.drill.exec.record.RecordBatch;
@@ -191,6 +192,15 @@ public interface FragmentContext extends UdfUtilities, AutoCloseable {
    */
   RuntimeFilterWritable getRuntimeFilter(long rfIdentifier, long maxWaitTime, TimeUnit timeUnit);
 
+  /**
+   * Get the Top-N threshold published for the given scan of this MinorFragment; it is shared
+   * by the Top-N operator that updates it and the scan that uses it, and is created on first use.
+   *
+   * @param scanOperatorId the operator id of the scan
+   * @return the threshold
+   */
+  TopNThreshold getTopNThreshold(int scanOperatorId);
+
   /**
    * Get instance of Metastore registry to obtain Metastore instance if needed.
    *
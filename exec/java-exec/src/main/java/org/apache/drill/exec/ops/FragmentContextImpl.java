@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -341,6 +342,11 @@ public class FragmentContextImpl extends BaseFragmentContext implements Executor
     return context.getController();
   }
 
+  @Override
+  public ForkJoinPool getColumnScatterPool() {
+    return context.getColumnScatterPool();
+  }
+
   @Override
   public OperatorCreatorRegistry getOperatorCreatorRegistry() {
     return context.getOperatorCreatorRegistry();
@@ -479,7 +485,8 @@ public class FragmentContextImpl extends BaseFragmentContext implements Executor
   public AccountingDataTunnel getDataTunnel(final DrillbitEndpoint endpoint) {
     AccountingDataTunnel tunnel = tunnels.get(endpoint);
     if (tunnel == null) {
-      tunnel = new AccountingDataTunnel(context.getDataConnectionsPool().getTunnel(endpoint), sendingAccountor, dataTunnelStatusHandler);
+      tunnel = new AccountingDataTunnel(context.getDataConnectionsPool().getTunnel(endpoint,
+          getOptions().getOption(ExecConstants.EXCHANGE_LOCAL_ENABLE)), sendingAccountor, dataTunnelStatusHandler);
       tunnels.put(endpoint, tunnel);
     }
     return tunnel;
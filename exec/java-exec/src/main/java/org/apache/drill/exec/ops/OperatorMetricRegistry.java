@@ -26,6 +26,7 @@ import org.apache.drill.exec.physical.config.HashPartitionSender;
 import org.apache.drill.exec.physical.config.LateralJoinPOP;
 import org.apache.drill.exec.physical.config.MergeJoinPOP;
 import org.apache.drill.exec.physical.config.MergingReceiverPOP;
+import org.apache.drill.exec.physical.config.NestedLoopJoinPOP;
 import org.apache.drill.exec.physical.config.RuntimeFilterPOP;
 import org.apache.drill.exec.physical.config.Screen;
 import org.apache.drill.exec.physical.config.SingleSender;
@@ -39,6 +40,7 @@ import org.apache.drill.exec.physical.impl.broadcastsender.BroadcastSenderRootEx
 import org.apache.drill.exec.physical.impl.filter.RuntimeFilterRecordBatch;
 import org.apache.drill.exec.physical.impl.flatten.FlattenRecordBatch;
 import org.apache.drill.exec.physical.impl.join.HashJoinBatch;
+import org.apache.drill.exec.physical.impl.join.NestedLoopJoinBatch;
 import org.apache.drill.exec.physical.impl.mergereceiver.MergingRecordBatch;
 import org.apache.drill.exec.physical.impl.partitionsender.PartitionSenderRootExec;
 import org.apache.drill.exec.physical.impl.unnest.UnnestRecordBatch;
@@ -70,6 +72,7 @@ public class OperatorMetricRegistry {
     register(UnorderedReceiver.OPERATOR_TYPE, UnorderedReceiverBatch.Metric.class);
     register(HashAggregate.OPERATOR_TYPE, HashAggTemplate.Metric.class);
     register(HashJoinPOP.OPERATOR_TYPE, HashJoinBatch.Metric.class);
+    register(NestedLoopJoinPOP.OPERATOR_TYPE, NestedLoopJoinBatch.Metric.class);
     register(ExternalSort.OPERATOR_TYPE, ExternalSortBatch.Metric.class);
     register(ParquetRowGroupScan.OPERATOR_TYPE, ParquetRecordReader.Metric.class);
     register(FlattenPOP.OPERATOR_TYPE, FlattenRecordBatch.Metric.class);
@@ -23,6 +23,7 @@ import com.fasterxml.jackson.annotation.JsonTypeName;
 import org.apache.drill.shaded.guava.com.google.common.base.Preconditions;
 import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.exec.ops.QueryContext;
 import org.apache.drill.exec.physical.base.AbstractJoinPop;
 import org.apache.drill.exec.physical.base.PhysicalOperator;
 
@@ -46,11 +47,23 @@ public class NestedLoopJoinPOP extends AbstractJoinPop {
   @Override
   public PhysicalOperator getNewWithChildren(List<PhysicalOperator> children) {
     Preconditions.checkArgument(children.size() == 2, "Nested loop join should have two physical operators");
-    return new NestedLoopJoinPOP(children.get(0), children.get(1), joinType, condition);
+    NestedLoopJoinPOP newNestedLoopJoin = new NestedLoopJoinPOP(children.get(0), children.get(1), joinType, condition);
+    newNestedLoopJoin.setMaxAllocation(getMaxAllocation());
+    return newNestedLoopJoin;
   }
 
   @Override
   public String getOperatorType() {
     return OPERATOR_TYPE;
   }
+
+  /**
+   * The Nested Loop Join spills the right side past the block its memory allows
+   * @return true
+   * @param queryContext
+   */
+  @Override
+  public boolean isBufferedOperator(QueryContext queryContext) {
+    return true;
+  }
 }
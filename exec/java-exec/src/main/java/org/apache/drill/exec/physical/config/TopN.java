@@ -24,6 +24,7 @@ import org.apache.drill.exec.physical.base.PhysicalOperator;
 import org.apache.drill.exec.physical.base.PhysicalVisitor;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 
@@ -34,10 +35,21 @@ public class TopN extends Sort {
 
   private final int limit;
 
+  // The scan (and its column) that the first sort key is read from, to share the Top-N threshold with
+  private final Integer thresholdScanId;
+  private final String thresholdColumn;
+
+  public TopN(PhysicalOperator child, List<Ordering> orderings, boolean reverse, int limit) {
+    this(child, orderings, reverse, limit, null, null);
+  }
+
   @JsonCreator
-  public TopN(@JsonProperty("child") PhysicalOperator child, @JsonProperty("orderings") List<Ordering> orderings, @JsonProperty("reverse") boolean reverse, @JsonProperty("limit") int limit) {
+  public TopN(@JsonProperty("child") PhysicalOperator child, @JsonProperty("orderings") List<Ordering> orderings, @JsonProperty("reverse") boolean reverse, @JsonProperty("limit") int limit,
+              @JsonProperty("thresholdScanId") Integer thresholdScanId, @JsonProperty("thresholdColumn") String thresholdColumn) {
     super(child, orderings, reverse);
     this.limit = limit;
+    this.thresholdScanId = thresholdScanId;
+    this.thresholdColumn = thresholdColumn;
   }
 
   @Override
@@ -54,6 +66,23 @@ public class TopN extends Sort {
     return limit;
   }
 
+  /**
+   * @return The operator id of the scan (in the same fragment) that the first sort key is read
+   * from, or null if the Top-N threshold is not shared with a scan.
+   */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public Integer getThresholdScanId() {
+    return thresholdScanId;
+  }
+
+  /**
+   * @return The name of the first sort key column in the scan identified by {@link #getThresholdScanId()}.
+   */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public String getThresholdColumn() {
+    return thresholdColumn;
+  }
+
   @Override
   public <T, X, E extends Throwable> T accept(PhysicalVisitor<T, X, E> physicalVisitor, X value) throws E{
     return physicalVisitor.visitSort(this, value);
@@ -61,7 +90,7 @@ public class TopN extends Sort {
 
   @Override
   protected PhysicalOperator getNewWithChild(PhysicalOperator child) {
-    return new TopN(child, orderings, reverse, limit);
+    return new TopN(child, orderings, reverse, limit, thresholdScanId, thresholdColumn);
   }
 
   @Override
@@ -17,6 +17,7 @@
  */
 package org.apache.drill.exec.physical.impl;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.drill.exec.exception.OutOfMemoryException;
@@ -56,7 +57,10 @@ public class SingleSenderCreator implements RootCreator<SingleSender>{
     private volatile boolean done = false;
 
     public enum Metric implements MetricDef {
-      BYTES_SENT;
+      BYTES_SENT,
+      COMPRESSED_BYTES,
+      COMPRESSION_RATIO,
+      COMPRESSION_TIME_MS;
 
       @Override
       public int metricId() {
@@ -131,6 +135,14 @@ public class SingleSenderCreator implements RootCreator<SingleSender>{
       stats.addLongStat(Metric.BYTES_SENT, writableBatch.getByteCount());
     }
 
+    @Override
+    public void close() throws Exception {
+      super.close();
+      // all the batches were sent
+      AccountingDataTunnel.setCompressionStats(stats, Collections.singletonList(tunnel),
+          Metric.COMPRESSED_BYTES, Metric.COMPRESSION_RATIO, Metric.COMPRESSION_TIME_MS);
+    }
+
     @Override
     public void receivingFragmentFinished(FragmentHandle handle) {
       done = true;
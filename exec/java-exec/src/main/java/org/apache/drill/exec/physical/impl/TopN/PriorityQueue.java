@@ -59,6 +59,13 @@ public interface PriorityQueue {
 
   SelectionVector4 getSv4();
 
+  /**
+   * Retrieves the index (in the hyper batch) of the record at the root of the heap, i.e. the last of the
+   * records currently kept; any record which does not sort before it can not enter the priority queue.
+   * @return The SV4 index of the root record, or -1 if the priority queue does not yet hold limit records.
+   */
+  int getThresholdIndex();
+
   /**
    * Retrieves the selection vector used to select the elements in the priority queue from the hyper batch
    * provided by the {@link #getHyperBatch()} method. <b>Note:</b> this should be called after {@link #generate()}.
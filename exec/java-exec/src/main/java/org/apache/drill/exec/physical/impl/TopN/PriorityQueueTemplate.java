@@ -168,6 +168,11 @@ public abstract class PriorityQueueTemplate implements PriorityQueue {
     return heapSv4;
   }
 
+  @Override
+  public int getThresholdIndex() {
+    return heapSv4 != null && queueSize == limit ? heapSv4.get(0) : -1;
+  }
+
   @Override
   public SelectionVector4 getFinalSv4() {
     return finalSv4;
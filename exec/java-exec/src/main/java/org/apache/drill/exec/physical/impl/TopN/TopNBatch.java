@@ -27,7 +27,9 @@ import org.apache.drill.common.exceptions.UserException;
 import org.apache.drill.common.expression.ErrorCollector;
 import org.apache.drill.common.expression.ErrorCollectorImpl;
 import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.SchemaPath;
 import org.apache.drill.common.logical.data.Order.Ordering;
+import org.apache.drill.common.types.TypeProtos.MinorType;
 import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.compile.CodeCompiler;
 import org.apache.drill.exec.compile.sig.MappingSet;
@@ -55,6 +57,7 @@ import org.apache.drill.exec.record.HyperVectorWrapper;
 import org.apache.drill.exec.record.RecordBatch;
 import org.apache.drill.exec.record.SchemaUtil;
 import org.apache.drill.exec.record.SimpleRecordBatch;
+import org.apache.drill.exec.record.TypedFieldId;
 import org.apache.drill.exec.record.VectorAccessible;
 import org.apache.drill.exec.record.VectorContainer;
 import org.apache.drill.exec.record.VectorWrapper;
@@ -62,6 +65,8 @@ import org.apache.drill.exec.record.WritableBatch;
 import org.apache.drill.exec.record.selection.SelectionVector2;
 import org.apache.drill.exec.record.selection.SelectionVector4;
 import org.apache.drill.exec.server.options.OptionSet;
+import org.apache.drill.exec.vector.NullableTimeStampVector;
+import org.apache.drill.exec.vector.TimeStampVector;
 import org.apache.drill.exec.vector.ValueVector;
 import org.apache.drill.exec.vector.complex.AbstractContainerVector;
 
@@ -108,6 +113,8 @@ public class TopNBatch extends AbstractRecordBatch<TopN> {
   private IterOutcome lastKnownOutcome = OK;
   private boolean firstBatchForSchema = true;
   private boolean hasOutputRecords;
+  private final TopNThreshold threshold; // shared with the scan of the first sort key, or null
+  private boolean thresholdInitialized;
 
   public TopNBatch(TopN popConfig, FragmentContext context, RecordBatch incoming) throws OutOfMemoryException {
     super(popConfig, context);
@@ -116,6 +123,7 @@ public class TopNBatch extends AbstractRecordBatch<TopN> {
     DrillConfig drillConfig = context.getConfig();
     batchPurgeThreshold = drillConfig.getInt(ExecConstants.BATCH_PURGE_THRESHOLD);
     codegenDump = drillConfig.getBoolean(CodeCompiler.ENABLE_SAVE_CODE_FOR_DEBUG_TOPN);
+    threshold = popConfig.getThresholdScanId() == null ? null : context.getTopNThreshold(popConfig.getThresholdScanId());
   }
 
   @Override
@@ -273,6 +281,9 @@ public class TopNBatch extends AbstractRecordBatch<TopN> {
               schema.getSelectionVectorMode() == SelectionVectorMode.TWO_BYTE);
           }
           priorityQueue.add(batch);
+          if (threshold != null) {
+            publishThreshold();
+          }
           // Based on static threshold of number of batches, perform purge operation to release the memory for
           // RecordBatches which are of no use or doesn't fall under TopN category
           if (countSincePurge > config.getLimit() && batchCount > batchPurgeThreshold) {
@@ -317,6 +328,43 @@ public class TopNBatch extends AbstractRecordBatch<TopN> {
     return getFinalOutcome();
   }
 
+  /**
+   * Shares the first sort key of the last record kept by the (full) priority queue with the scan
+   * that this key is read from, so the scan can skip the records which can not enter the Top-N.
+   * See {@link TopNThreshold}.
+   */
+  private void publishThreshold() {
+    int index = priorityQueue.getThresholdIndex();
+    if (index < 0) {
+      return;
+    }
+    VectorContainer hyperBatch = priorityQueue.getHyperBatch();
+    Ordering ordering = config.getOrderings().get(0);
+    TypedFieldId fieldId = ordering.getExpr() instanceof SchemaPath ?
+        hyperBatch.getValueVectorId((SchemaPath) ordering.getExpr()) : null;
+    if (fieldId == null) {
+      return;
+    }
+    ValueVector vector = hyperBatch.getValueAccessorById(ValueVector.class, fieldId.getFieldIds()).getValueVectors()[index >>> 16];
+    int recordIndex = index & 0xFFFF;
+    MinorType type = vector.getField().getType().getMinorType();
+    if (!TopNThreshold.isSupported(type) || vector.getAccessor().isNull(recordIndex)) {
+      return;
+    }
+    if (!thresholdInitialized) {
+      boolean descending = ordering.getDirection() == Direction.DESCENDING;
+      threshold.init(config.getThresholdColumn(), type, descending, descending == ordering.nullsSortHigh());
+      thresholdInitialized = true;
+    }
+    if (vector instanceof TimeStampVector) {
+      threshold.setBound(((TimeStampVector) vector).getAccessor().get(recordIndex));
+    } else if (vector instanceof NullableTimeStampVector) {
+      threshold.setBound(((NullableTimeStampVector) vector).getAccessor().get(recordIndex));
+    } else {
+      threshold.setBound(((Number) vector.getAccessor().getObject(recordIndex)).longValue());
+    }
+  }
+
   /**
    * When PriorityQueue is built up then it stores the list of limit number of
    * record indexes (in heapSv4) which falls under TopN category. But it also
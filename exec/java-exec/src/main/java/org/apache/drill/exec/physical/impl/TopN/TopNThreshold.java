@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.TopN;
+
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+/**
+ * The current boundary (the key of the last record kept) of a full Top-N priority queue, shared
+ * with the scan that the first sort key is read from (in the same minor fragment). A record whose
+ * key is strictly worse than the boundary can not enter the Top-N, so the scan may skip a whole
+ * Parquet row group once its min/max statistics show that none of its records can.
+ * <p>
+ * Only INT, BIGINT and TIMESTAMP keys are supported. The boundary only gets better over time, and
+ * is written by the Top-N and read by the scan (possibly from another thread).
+ */
+public class TopNThreshold {
+
+  private volatile String column;
+  private volatile MinorType type;
+  private volatile boolean descending;
+  private volatile boolean nullsBetter; // true if nulls sort before any value (i.e. nulls could enter the Top-N)
+  private volatile Long bound;
+
+  /**
+   * @return true if Top-N thresholds are supported for keys of the given type.
+   */
+  public static boolean isSupported(MinorType type) {
+    return type == MinorType.INT || type == MinorType.BIGINT || type == MinorType.TIMESTAMP;
+  }
+
+  /**
+   * Sets the (scan) column, type and sort order of the key; called by the Top-N before the first
+   * {@link #setBound(long)}.
+   */
+  public void init(String column, MinorType type, boolean descending, boolean nullsBetter) {
+    this.column = column;
+    this.type = type;
+    this.descending = descending;
+    this.nullsBetter = nullsBetter;
+  }
+
+  public void setBound(long bound) {
+    this.bound = bound;
+  }
+
+  public Long getBound() {
+    return bound;
+  }
+
+  /**
+   * @return true if, according to its column statistics, no record of the given row group can
+   * enter the Top-N.
+   */
+  public boolean canSkip(BlockMetaData rowGroup) {
+    Long current = bound;
+    if (current == null) {
+      return false;
+    }
+    for (ColumnChunkMetaData columnChunk : rowGroup.getColumns()) {
+      if (columnChunk.getPath().size() == 1 && columnChunk.getPath().toDotString().equalsIgnoreCase(column)) {
+        return canSkip(columnChunk, current);
+      }
+    }
+    return false;
+  }
+
+  private boolean canSkip(ColumnChunkMetaData columnChunk, long current) {
+    if (!isCompatible(columnChunk.getPrimitiveType().getPrimitiveTypeName(), columnChunk.getPrimitiveType().getOriginalType())) {
+      return false;
+    }
+    Statistics<?> stats = columnChunk.getStatistics();
+    if (stats == null || stats.isEmpty()) {
+      return false;
+    }
+    if (nullsBetter && (!stats.isNumNullsSet() || stats.getNumNulls() > 0)) {
+      return false;
+    }
+    if (!stats.hasNonNullValue()) {
+      return stats.isNumNullsSet(); // only nulls, which can not enter
+    }
+    long edge = ((Number) (descending ? stats.genericGetMax() : stats.genericGetMin())).longValue();
+    return descending ? edge < current : edge > current;
+  }
+
+  // The Parquet column statistics must hold the same values as the Drill vectors
+  private boolean isCompatible(PrimitiveTypeName primitiveType, OriginalType originalType) {
+    switch (type) {
+      case INT:
+      case BIGINT:
+        return (primitiveType == PrimitiveTypeName.INT32 || primitiveType == PrimitiveTypeName.INT64) &&
+            (originalType == null || originalType == OriginalType.INT_8 || originalType == OriginalType.INT_16 ||
+             originalType == OriginalType.INT_32 || originalType == OriginalType.INT_64);
+      case TIMESTAMP:
+        return primitiveType == PrimitiveTypeName.INT64 && originalType == OriginalType.TIMESTAMP_MILLIS;
+      default:
+        return false;
+    }
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.aggregate;
+
+import java.util.Arrays;
+
+import org.apache.drill.exec.record.RecordBatch;
+import org.apache.drill.exec.record.TypedFieldId;
+import org.apache.drill.exec.vector.BigIntVector;
+import org.apache.drill.exec.vector.IntVector;
+import org.apache.drill.exec.vector.NullableBigIntVector;
+import org.apache.drill.exec.vector.NullableIntVector;
+import org.apache.drill.exec.vector.ValueVector;
+import org.apache.drill.shaded.guava.com.google.common.annotations.VisibleForTesting;
+
+/**
+ * A direct-indexed front for the hash tables of a Hash Aggregate that groups by a single
+ * INT or BIGINT column. The group of each key value seen so far is kept in an array indexed
+ * by (value - min), so a row of an already known group is aggregated without computing a hash
+ * code or comparing any keys. New groups are still inserted into the hash tables (which keep
+ * the keys for the output), and are then recorded here.
+ * <p>
+ * The array grows to cover the key values as they arrive. Once the values span more than
+ * the configured range the index gives up, and all the rows go through the hash tables.
+ * <p>
+ * Each slot holds the partition (high 32 bits) and the hash table index (low 32 bits) of its
+ * group, or -1 when the group is unknown.
+ */
+public class DirectKeyIndex {
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private final TypedFieldId keyFieldId;
+  private final int maxRange;
+
+  private IntVector.Accessor intKeys;
+  private NullableIntVector.Accessor nullableIntKeys;
+  private BigIntVector.Accessor bigIntKeys;
+  private NullableBigIntVector.Accessor nullableBigIntKeys;
+
+  private long minKey; // set by the first non-null key
+  private boolean hasKeys; // whether a non-null key was seen
+  private long[] slots; // the last slot is for the null key
+  private boolean disabled;
+
+  public DirectKeyIndex(TypedFieldId keyFieldId, int maxRange) {
+    this.keyFieldId = keyFieldId;
+    this.maxRange = maxRange;
+  }
+
+  /**
+   * Looks up the key vector in the (new or changed) incoming batch.
+   */
+  public void setup(RecordBatch incoming) {
+    setup(incoming.getValueAccessorById(ValueVector.class, keyFieldId.getFieldIds()).getValueVector());
+  }
+
+  @VisibleForTesting
+  public void setup(ValueVector vector) {
+    intKeys = null;
+    nullableIntKeys = null;
+    bigIntKeys = null;
+    nullableBigIntKeys = null;
+    if (vector instanceof IntVector) {
+      intKeys = ((IntVector) vector).getAccessor();
+    } else if (vector instanceof NullableIntVector) {
+      nullableIntKeys = ((NullableIntVector) vector).getAccessor();
+    } else if (vector instanceof BigIntVector) {
+      bigIntKeys = ((BigIntVector) vector).getAccessor();
+    } else if (vector instanceof NullableBigIntVector) {
+      nullableBigIntKeys = ((NullableBigIntVector) vector).getAccessor();
+    } else {
+      disabled = true; // not expected; fall back to the hash tables
+    }
+  }
+
+  /**
+   * @return The slot of the key at the given (vector) index of the incoming batch, or -1
+   * if the key can not be indexed directly.
+   */
+  public int slotOf(int incomingRowIdx) {
+    if (disabled) {
+      return -1;
+    }
+    long key;
+    if (intKeys != null) {
+      key = intKeys.get(incomingRowIdx);
+    } else if (bigIntKeys != null) {
+      key = bigIntKeys.get(incomingRowIdx);
+    } else if (nullableIntKeys != null) {
+      if (nullableIntKeys.isNull(incomingRowIdx)) {
+        return nullSlot();
+      }
+      key = nullableIntKeys.get(incomingRowIdx);
+    } else {
+      if (nullableBigIntKeys.isNull(incomingRowIdx)) {
+        return nullSlot();
+      }
+      key = nullableBigIntKeys.get(incomingRowIdx);
+    }
+
+    if (slots == null) {
+      slots = newSlots(Math.min(INITIAL_CAPACITY, maxRange));
+    }
+    if (!hasKeys) {
+      // the slots may be there already, for the null key
+      minKey = key;
+      hasKeys = true;
+    }
+    long offset = key - minKey;
+    if (offset < 0 || offset >= slots.length - 1) {
+      if (!cover(key)) {
+        return -1;
+      }
+      offset = key - minKey;
+    }
+    return (int) offset;
+  }
+
+  /**
+   * @return The group (partition and hash table index) of the given slot, or -1 if unknown.
+   */
+  public long get(int slot) {
+    return slots[slot];
+  }
+
+  public void set(int slot, int partition, int htIdx) {
+    slots[slot] = ((long) partition << 32) | (htIdx & 0xFFFFFFFFL);
+  }
+
+  /**
+   * Forgets all the groups; called when any partition of the Hash Aggregate is reinitialized
+   * (e.g. after being spilled or returned early).
+   */
+  public void clear() {
+    if (slots != null) {
+      Arrays.fill(slots, -1);
+    }
+  }
+
+  private int nullSlot() {
+    if (slots == null) {
+      // the range of the keys starts at the first non-null one
+      slots = newSlots(Math.min(INITIAL_CAPACITY, maxRange));
+    }
+    return slots.length - 1;
+  }
+
+  // Grow (and shift) the slots to also cover the given key; returns false if the key values
+  // span too large a range (and then stops indexing altogether)
+  private boolean cover(long key) {
+    int capacity = slots.length - 1;
+    long min = Math.min(minKey, key);
+    long max = Math.max(minKey + capacity - 1, key);
+    long range = max - min + 1;
+    if (range <= 0 || range > maxRange) {
+      disabled = true;
+      slots = null;
+      return false;
+    }
+    int newCapacity = capacity;
+    while (newCapacity < range) {
+      newCapacity <<= 1;
+    }
+    newCapacity = (int) Math.min(newCapacity, maxRange);
+    // keep some room below the smallest key when growing downwards
+    long newMin = key < minKey ? max - newCapacity + 1 : minKey;
+    long[] newSlots = newSlots(newCapacity);
+    System.arraycopy(slots, 0, newSlots, (int) (minKey - newMin), capacity);
+    newSlots[newCapacity] = slots[capacity];
+    slots = newSlots;
+    minKey = newMin;
+    return true;
+  }
+
+  private static long[] newSlots(int capacity) {
+    long[] slots = new long[capacity + 1];
+    Arrays.fill(slots, -1);
+    return slots;
+  }
+}
@@ -50,6 +50,7 @@ import org.apache.drill.exec.expr.ClassGenerator;
 import org.apache.drill.exec.expr.CodeGenerator;
 import org.apache.drill.exec.expr.ExpressionTreeMaterializer;
 import org.apache.drill.exec.expr.TypeHelper;
+import org.apache.drill.exec.expr.ValueVectorReadExpression;
 import org.apache.drill.exec.expr.ValueVectorWriteExpression;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.physical.config.HashAggregate;
@@ -86,6 +87,7 @@ public class HashAggBatch extends AbstractRecordBatch<HashAggregate> {
   private LogicalExpression[] aggrExprs;
   private TypedFieldId[] groupByOutFieldIds;
   private TypedFieldId[] aggrOutFieldIds;      // field ids for the outgoing batch
+  private TypedFieldId directKeyFieldId;       // the incoming key column, when it can be indexed directly
   private final List<Comparator> comparators;
   private BatchSchema incomingSchema;
   private boolean wasKilled;
@@ -383,6 +385,8 @@ public class HashAggBatch extends AbstractRecordBatch<HashAggregate> {
     groupByOutFieldIds = new TypedFieldId[numGroupByExprs];
     aggrOutFieldIds = new TypedFieldId[numAggrExprs];
 
+    directKeyFieldId = null;
+
     ErrorCollector collector = new ErrorCollectorImpl();
 
     for (int i = 0; i < numGroupByExprs; i++) {
@@ -392,6 +396,9 @@ public class HashAggBatch extends AbstractRecordBatch<HashAggregate> {
       if (expr == null) {
         continue;
       }
+      if (numGroupByExprs == 1 && isDirectKey(expr)) {
+        directKeyFieldId = ((ValueVectorReadExpression) expr).getFieldId();
+      }
 
       final MaterializedField outputField = MaterializedField.create(ne.getRef().getAsNamePart().getName(), expr.getMajorType());
       ValueVector vv = TypeHelper.getNewVector(outputField, oContext.getAllocator());
@@ -468,7 +475,9 @@ public class HashAggBatch extends AbstractRecordBatch<HashAggregate> {
     HashTableConfig htConfig =
         // TODO - fix the validator on this option
         new HashTableConfig((int)context.getOptions().getOption(ExecConstants.MIN_HASH_TABLE_SIZE),
-            HashTable.DEFAULT_LOAD_FACTOR, getKeyExpressions(), null /* no probe exprs */, comparators);
+            HashTable.DEFAULT_LOAD_FACTOR, getKeyExpressions(), null /* no probe exprs */, comparators)
+            .withTableType(HashTable.TableType.valueOf(
+                context.getOptions().getString(ExecConstants.HASHAGG_HASHTABLE_TYPE_KEY).toUpperCase()));
 
     agg.setup(popConfig, htConfig, context, oContext, incoming, this,
         aggrExprs,
@@ -480,6 +489,36 @@ public class HashAggBatch extends AbstractRecordBatch<HashAggregate> {
     return agg;
   }
 
+  /**
+   * A group-by key can be looked up directly by its value (see {@link DirectKeyIndex}) when it
+   * is a plain INT or BIGINT column of a batch without a four byte selection vector.
+   */
+  private boolean isDirectKey(LogicalExpression expr) {
+    if (!(expr instanceof ValueVectorReadExpression) ||
+        incoming.getSchema().getSelectionVectorMode() == SelectionVectorMode.FOUR_BYTE) {
+      return false;
+    }
+    TypedFieldId fieldId = ((ValueVectorReadExpression) expr).getFieldId();
+    if (fieldId.isHyperReader() || fieldId.getFieldIds().length != 1) {
+      return false;
+    }
+    TypeProtos.MajorType type = expr.getMajorType();
+    return (type.getMinorType() == TypeProtos.MinorType.INT || type.getMinorType() == TypeProtos.MinorType.BIGINT) &&
+        (type.getMode() == TypeProtos.DataMode.REQUIRED || type.getMode() == TypeProtos.DataMode.OPTIONAL);
+  }
+
+  /**
+   * @return A new index to look up the groups directly by the key value, or null if disabled or
+   * the keys do not qualify (i.e. not a single INT or BIGINT column).
+   */
+  public DirectKeyIndex createDirectKeyIndex() {
+    if (directKeyFieldId == null || !context.getOptions().getOption(ExecConstants.HASHAGG_DIRECT_INDEX_VALIDATOR)) {
+      return null;
+    }
+    int maxRange = (int) context.getOptions().getOption(ExecConstants.HASHAGG_DIRECT_INDEX_MAX_RANGE_VALIDATOR);
+    return new DirectKeyIndex(directKeyFieldId, maxRange);
+  }
+
   protected List<NamedExpression> getKeyExpressions() {
     return popConfig.getGroupByExprs();
   }
@@ -120,6 +120,18 @@ public abstract class HashAggTemplate implements HashAggregator {
   private long minBatchesPerPartition; // for tuning - num partitions and spill decision
   private long plannedBatches; // account for planned, but not yet allocated batches
 
+  // Adaptive bypass (1st phase only) - when too few rows share a group, stop looking up the groups
+  // and pass each row downstream as its own group (the 2nd phase does the actual aggregation)
+  private boolean bypassEnabled;
+  private long bypassMinRows; // rows to aggregate before deciding
+  private double bypassRatio; // bypass when groups / rows is at least this ratio
+  private boolean bypass; // true once the 1st phase stopped aggregating
+  private long bypassInputRows; // rows aggregated before the bypass
+  private long bypassGroups; // groups created before the bypass
+
+  // When grouping by a single INT or BIGINT column - find the known groups directly by the key value
+  private DirectKeyIndex directKeys;
+
   private int underlyingIndex;
   private int currentIndex;
   private IterOutcome outcome;
@@ -184,7 +196,10 @@ public abstract class HashAggTemplate implements HashAggregator {
     OUTPUT_BATCH_COUNT,
     AVG_OUTPUT_BATCH_BYTES,
     AVG_OUTPUT_ROW_BYTES,
-    OUTPUT_RECORD_COUNT;
+    OUTPUT_RECORD_COUNT,
+    ADAPTIVE_BYPASS,  // 1st phase: 1 - stopped aggregating, and passed the rows downstream
+    REDUCTION_RATIO_PERCENT, // 1st phase: groups per 100 input rows (as seen by the adaptive bypass)
+    SPILL_COMPRESSED_MB; // Number of MB actually written to disk (after compression, if the spill files are compressed)
 
     @Override
     public int metricId() {
@@ -323,6 +338,10 @@ public abstract class HashAggTemplate implements HashAggregator {
     this.useMemoryPrediction = context.getOptions().getOption(ExecConstants.HASHAGG_USE_MEMORY_PREDICTION_VALIDATOR);
     this.phase = hashAggrConfig.getAggPhase();
     canSpill = phase.hasTwo(); // single phase can not spill
+    bypassEnabled = phase.is1st() && context.getOptions().getOption(ExecConstants.HASHAGG_ADAPTIVE_BYPASS_VALIDATOR);
+    bypassMinRows = context.getOptions().getOption(ExecConstants.HASHAGG_ADAPTIVE_BYPASS_MIN_ROWS_VALIDATOR);
+    bypassRatio = context.getOptions().getOption(ExecConstants.HASHAGG_ADAPTIVE_BYPASS_RATIO_VALIDATOR);
+    directKeys = outgoing.createDirectKeyIndex();
 
     // Typically for testing - force a spill after a partition has more than so many batches
     minBatchesPerPartition = context.getOptions().getOption(ExecConstants.HASHAGG_MIN_BATCHES_PER_PARTITION_VALIDATOR);
@@ -363,7 +382,7 @@ public abstract class HashAggTemplate implements HashAggregator {
       }
     }
 
-    spillSet = new SpillSet(context, hashAggrConfig);
+    spillSet = new SpillSet(oContext, hashAggrConfig);
     baseHashTable =
         new ChainedHashTable(htConfig, context, allocator, incoming, null /* no incoming probe */, outgoing);
     this.groupByOutFieldIds = groupByOutFieldIds; // retain these for delayedSetup, and to allow recreating hash tables (after a spill)
@@ -494,6 +513,7 @@ public abstract class HashAggTemplate implements HashAggregator {
     baseHashTable.updateIncoming(newIncoming, null); // after a spill - a new incoming
     incoming = newIncoming;
     currentBatchRecordCount = newIncoming.getRecordCount(); // first batch in this spill file
+    directKeys = null; // the spilled batches are not indexed directly
     nextPartitionToReturn = 0;
     for (int i = 0; i < spilledState.getNumPartitions(); i++) {
       htables[i].updateIncoming(newIncoming.getContainer(), null);
@@ -584,6 +604,7 @@ public abstract class HashAggTemplate implements HashAggregator {
       if (schema == null && incoming.getRecordCount() > 0) {
         schema = incoming.getSchema();
         currentBatchRecordCount = incoming.getRecordCount(); // initialize for first non empty batch
+        if (directKeys != null) { directKeys.setup(incoming); }
         // Calculate the number of partitions based on actual incoming data
         delayedSetup();
         // Update the record batch manager since this is the first batch with data; we need to
@@ -618,6 +639,10 @@ public abstract class HashAggTemplate implements HashAggregator {
         logger.debug("Processed {} records", underlyingIndex);
       }
 
+      if (bypassEnabled && !bypass) {
+        checkAdaptiveBypass();
+      }
+
       // Cleanup the previous batch since we are done processing it.
       VectorAccessibleUtilities.clear(incoming);
 
@@ -672,6 +697,7 @@ public abstract class HashAggTemplate implements HashAggregator {
           outgoing.getRecordBatchMemoryManager().update(incoming);
 
           currentBatchRecordCount = incoming.getRecordCount(); // size of next batch
+          if (directKeys != null) { directKeys.setup(incoming); }
 
           resetIndex(); // initialize index (a new batch needs to be processed)
 
@@ -833,6 +859,8 @@ public abstract class HashAggTemplate implements HashAggregator {
     if (phase.is2nd() && spillSet.getWriteBytes() > 0) {
       stats.setLongStat(Metric.SPILL_MB, // update stats - total MB spilled
           (int) Math.round(spillSet.getWriteBytes() / 1024.0D / 1024.0));
+      stats.setLongStat(Metric.SPILL_COMPRESSED_MB,
+          (int) Math.round(spillSet.getCompressedWriteBytes() / 1024.0D / 1024.0));
     }
     // clean (and deallocate) each partition
     for (int i = 0; i < spilledState.getNumPartitions(); i++) {
@@ -890,6 +918,7 @@ public abstract class HashAggTemplate implements HashAggregator {
     batchHolders[part] = new ArrayList<BatchHolder>(); // First BatchHolder is created when the first put request is received.
 
     outBatchIndex[part] = 0;
+    if (directKeys != null) { directKeys.clear(); } // the partition's groups are gone
     // in case the reserve memory was used, try to restore
     restoreReservedMemory();
   }
@@ -1135,6 +1164,8 @@ public abstract class HashAggTemplate implements HashAggregator {
           if (phase.is2nd() && spillSet.getWriteBytes() > 0) {
             stats.setLongStat(Metric.SPILL_MB, // update stats - total MB spilled
                 (int) Math.round(spillSet.getWriteBytes() / 1024.0D / 1024.0));
+            stats.setLongStat(Metric.SPILL_COMPRESSED_MB,
+                (int) Math.round(spillSet.getCompressedWriteBytes() / 1024.0D / 1024.0));
           }
           return AggIterOutcome.AGG_NONE;  // then return NONE
         }
@@ -1289,12 +1320,29 @@ public abstract class HashAggTemplate implements HashAggregator {
     assert incomingRowIdx >= 0;
     assert !earlyOutput;
 
+    // A known group can be found directly by the key value - just aggregate
+    int directSlot = -1;
+    if (directKeys != null && !bypass) {
+      directSlot = directKeys.slotOf(incomingRowIdx);
+      long group = directSlot < 0 ? -1 : directKeys.get(directSlot);
+      if (group >= 0) {
+        int groupIdx = (int) group;
+        BatchHolder bh = batchHolders[(int) (group >>> 32)].get((groupIdx >>> 16) & BATCH_MASK);
+        if (bh.updateAggrValues(incomingRowIdx, groupIdx & BATCH_MASK)) {
+          numGroupedRecords++;
+        }
+        if (bypassEnabled) { bypassInputRows++; }
+        return;
+      }
+    }
+
     // The hash code is computed once, then its lower bits are used to determine the
     // partition to use, and the higher bits determine the location in the hash table.
     int hashCode;
     try {
       // htables[0].updateBatches();
-      hashCode = htables[0].getBuildHashCode(incomingRowIdx);
+      // (when bypassing no hash code is needed, and all the rows go to partition 0)
+      hashCode = bypass ? 0 : htables[0].getBuildHashCode(incomingRowIdx);
     } catch (SchemaChangeException e) {
       throw new UnsupportedOperationException("Unexpected schema change", e);
     }
@@ -1325,7 +1373,9 @@ public abstract class HashAggTemplate implements HashAggregator {
     // ==========================================
     try {
 
-      putStatus = htables[currentPartition].put(incomingRowIdx, htIdxHolder, hashCode, getTargetBatchCount());
+      putStatus = bypass ?
+        htables[currentPartition].append(incomingRowIdx, htIdxHolder, hashCode, getTargetBatchCount()) :
+        htables[currentPartition].put(incomingRowIdx, htIdxHolder, hashCode, getTargetBatchCount());
 
     } catch (RetryAfterSpillException re) {
       if (!canSpill) { throw new OutOfMemoryException(getOOMErrorMsg("Can not spill")); }
@@ -1345,6 +1395,11 @@ public abstract class HashAggTemplate implements HashAggregator {
     } catch (SchemaChangeException e) {
         throw new UnsupportedOperationException("Unexpected schema change", e);
     }
+    if (bypassEnabled && !bypass) {
+      bypassInputRows++;
+      if (putStatus != HashTable.PutStatus.KEY_PRESENT) { bypassGroups++; }
+    }
+    if (directSlot >= 0) { directKeys.set(directSlot, currentPartition, htIdxHolder.value); }
     long allocatedBeforeAggCol = allocator.getAllocatedMemory();
     boolean needToCheckIfSpillIsNeeded = allocatedBeforeAggCol > allocatedBeforeHTput;
 
@@ -1400,6 +1455,16 @@ public abstract class HashAggTemplate implements HashAggregator {
       numGroupedRecords++;
     }
 
+    // When bypassing, return each batch downstream as soon as it is full (this also returns any
+    // groups that partition 0 had from before the bypass)
+    if (bypass) {
+      if (putStatus == HashTable.PutStatus.KEY_ADDED_LAST || batchHolders[currentPartition].size() > 1) {
+        earlyOutput = true;
+        earlyPartition = currentPartition;
+      }
+      return;
+    }
+
     // ===================================================================================
     // If the last batch just became full, or other "memory growing" events happened, then
     // this is the time to check the memory limits !!
@@ -1412,6 +1477,22 @@ public abstract class HashAggTemplate implements HashAggregator {
     }
   }
 
+  /**
+   * Decide whether the 1st phase should stop aggregating (i.e. bypass): once enough rows were
+   * aggregated, check how many groups were created per input row. When almost every row creates
+   * its own group, the 1st phase only costs memory (and early returns) without reducing the rows.
+   */
+  private void checkAdaptiveBypass() {
+    if (bypassInputRows < bypassMinRows) { return; }
+    double ratio = (double) bypassGroups / bypassInputRows;
+    stats.setLongStat(Metric.REDUCTION_RATIO_PERCENT, Math.round(100 * ratio));
+    if (ratio >= bypassRatio) {
+      bypass = true;
+      stats.setLongStat(Metric.ADAPTIVE_BYPASS, 1);
+      logger.debug("1st phase: {} groups for {} rows (ratio {}); bypassing the aggregation", bypassGroups, bypassInputRows, ratio);
+    }
+  }
+
   private void spillIfNeeded(int currentPartition) { spillIfNeeded(currentPartition, false);}
   private void doSpill(int currentPartition) { spillIfNeeded(currentPartition, true);}
   /**
@@ -17,8 +17,12 @@
  */
 package org.apache.drill.exec.physical.impl.broadcastsender;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.exception.OutOfMemoryException;
 import org.apache.drill.exec.ops.AccountingDataTunnel;
 import org.apache.drill.exec.ops.MetricDef;
@@ -26,6 +30,7 @@ import org.apache.drill.exec.ops.RootFragmentContext;
 import org.apache.drill.exec.physical.MinorFragmentEndpoint;
 import org.apache.drill.exec.physical.config.BroadcastSender;
 import org.apache.drill.exec.physical.impl.BaseRootExec;
+import org.apache.drill.exec.proto.BitData.FragmentRecordBatch;
 import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
 import org.apache.drill.exec.proto.ExecProtos;
 import org.apache.drill.exec.record.FragmentWritableBatch;
@@ -38,19 +43,31 @@ import org.apache.drill.shaded.guava.com.google.common.collect.ArrayListMultimap
  * Broadcast Sender broadcasts incoming batches to all receivers (one or more).
  * This is useful in cases such as broadcast join where sending the entire table to join
  * to all nodes is cheaper than merging and computing all the joins in the same node.
+ * <p>
+ * Each batch is sent once per receiving Drillbit, whose fragments share it. With a relay
+ * fan-out (exec.broadcast.relay_fanout), the batches are sent to that many Drillbits only,
+ * each one relaying them to the Drillbits of its subtree: the sender then writes its
+ * batches fanout times instead of once per Drillbit.
  */
 public class BroadcastSenderRootExec extends BaseRootExec {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(BroadcastSenderRootExec.class);
   private final BroadcastSender config;
   private final int[][] receivingMinorFragments;
   private final AccountingDataTunnel[] tunnels;
+  // the batches relayed by the receiving Drillbit of each tunnel
+  private final List<List<FragmentRecordBatch>> relays;
+  private final int relayedDrillbits;
   private final ExecProtos.FragmentHandle handle;
   private volatile boolean ok;
   private final RecordBatch incoming;
 
   public enum Metric implements MetricDef {
     N_RECEIVERS,
-    BYTES_SENT;
+    BYTES_SENT,
+    COMPRESSED_BYTES,
+    COMPRESSION_RATIO,
+    COMPRESSION_TIME_MS,
+    RELAYED_DRILLBITS;
     @Override
     public int metricId() {
       return ordinal();
@@ -72,22 +89,60 @@ public class BroadcastSenderRootExec extends BaseRootExec {
       dests.put(destination.getEndpoint(), destination.getId());
     }
 
-    int destCount = dests.keySet().size();
-    int i = 0;
+    List<DrillbitEndpoint> endpoints = new ArrayList<>(dests.keySet());
+    int fanout = (int) context.getOptions().getLong(ExecConstants.BROADCAST_RELAY_FANOUT_KEY);
+    int destCount = fanout > 0 ? Math.min(fanout, endpoints.size()) : endpoints.size();
 
     this.tunnels = new AccountingDataTunnel[destCount];
     this.receivingMinorFragments = new int[destCount][];
-    for(final DrillbitEndpoint ep : dests.keySet()){
-      List<Integer> minorsList= dests.get(ep);
-      int[] minorsArray = new int[minorsList.size()];
-      int x = 0;
-      for(Integer m : minorsList){
-        minorsArray[x++] = m;
-      }
-      receivingMinorFragments[i] = minorsArray;
+    this.relays = new ArrayList<>(destCount);
+    // the Drillbits are split in destCount subtrees, the first Drillbit of each one
+    // receiving the batches from the sender
+    int start = 0;
+    for (int i = 0; i < destCount; i++) {
+      int end = start + (endpoints.size() - start) / (destCount - i);
+      DrillbitEndpoint ep = endpoints.get(start);
+      receivingMinorFragments[i] = toArray(dests.get(ep));
       tunnels[i] = context.getDataTunnel(ep);
-      i++;
+      relays.add(getRelays(dests, endpoints.subList(start + 1, end), fanout));
+      start = end;
     }
+    this.relayedDrillbits = endpoints.size() - destCount;
+  }
+
+  /**
+   * Builds the relays of a Drillbit, for the Drillbits of its subtree: the first Drillbit
+   * of each of the (at most fanout) subtrees of the subtree receives the relayed batches,
+   * and relays them in turn.
+   */
+  private static List<FragmentRecordBatch> getRelays(ArrayListMultimap<DrillbitEndpoint, Integer> dests,
+      List<DrillbitEndpoint> subtree, int fanout) {
+    if (subtree.isEmpty()) {
+      return Collections.emptyList();
+    }
+    int childCount = Math.min(fanout, subtree.size());
+    List<FragmentRecordBatch> relays = new ArrayList<>(childCount);
+    int start = 0;
+    for (int i = 0; i < childCount; i++) {
+      int end = start + (subtree.size() - start) / (childCount - i);
+      DrillbitEndpoint ep = subtree.get(start);
+      relays.add(FragmentRecordBatch.newBuilder()
+          .setRelayEndpoint(ep)
+          .addAllReceivingMinorFragmentId(dests.get(ep))
+          .addAllRelay(getRelays(dests, subtree.subList(start + 1, end), fanout))
+          .build());
+      start = end;
+    }
+    return relays;
+  }
+
+  private static int[] toArray(List<Integer> minorsList) {
+    int[] minorsArray = new int[minorsList.size()];
+    int x = 0;
+    for (Integer m : minorsList) {
+      minorsArray[x++] = m;
+    }
+    return minorsArray;
   }
 
   @Override
@@ -102,7 +157,7 @@ public class BroadcastSenderRootExec extends BaseRootExec {
               handle.getMajorFragmentId(),
               handle.getMinorFragmentId(),
               config.getOppositeMajorFragmentId(),
-              receivingMinorFragments[i]);
+              receivingMinorFragments[i]).withRelays(relays.get(i));
           stats.startWait();
           try {
             tunnels[i].sendRecordBatch(b2);
@@ -126,7 +181,7 @@ public class BroadcastSenderRootExec extends BaseRootExec {
               handle.getMinorFragmentId(),
               config.getOppositeMajorFragmentId(),
               receivingMinorFragments[i],
-              writableBatch);
+              writableBatch).withRelays(relays.get(i));
           updateStats(batch);
           stats.startWait();
           try {
@@ -146,6 +201,15 @@ public class BroadcastSenderRootExec extends BaseRootExec {
 
   public void updateStats(FragmentWritableBatch writableBatch) {
     stats.setLongStat(Metric.N_RECEIVERS, tunnels.length);
+    stats.setLongStat(Metric.RELAYED_DRILLBITS, relayedDrillbits);
     stats.addLongStat(Metric.BYTES_SENT, writableBatch.getByteCount());
   }
+
+  @Override
+  public void close() throws Exception {
+    super.close();
+    // all the batches were sent
+    AccountingDataTunnel.setCompressionStats(stats, Arrays.asList(tunnels),
+        Metric.COMPRESSED_BYTES, Metric.COMPRESSION_RATIO, Metric.COMPRESSION_TIME_MS);
+  }
 }
@@ -31,6 +31,7 @@ import org.apache.drill.common.exceptions.UserException;
 import org.apache.drill.common.types.TypeProtos.DataMode;
 import org.apache.drill.common.types.TypeProtos.MajorType;
 import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.cache.VectorSerializer;
 import org.apache.drill.exec.exception.ClassTransformationException;
 import org.apache.drill.exec.exception.OutOfMemoryException;
@@ -131,6 +132,7 @@ public class HashPartition implements HashJoinMemoryCalculator.PartitionStat {
   private long numInMemoryRecords;
   private boolean updatedRecordsPerBatch;
   private final boolean semiJoin;
+  private final RadixClustering radixClustering; // null when disabled
 
   public HashPartition(FragmentContext context, BufferAllocator allocator, ChainedHashTable baseHashTable,
                        RecordBatch buildBatch, RecordBatch probeBatch, boolean semiJoin,
@@ -144,6 +146,8 @@ public class HashPartition implements HashJoinMemoryCalculator.PartitionStat {
     this.cycleNum = cycleNum;
     this.numPartitions = numPartitions;
     this.semiJoin = semiJoin;
+    long clusterBytes = context.getOptions().getLong(ExecConstants.HASHJOIN_RADIX_CLUSTER_BYTES_KEY);
+    this.radixClustering = clusterBytes > 0 ? new RadixClustering(clusterBytes) : null;
 
     try {
       this.hashTable = baseHashTable.createAndSetupHashTable(null);
@@ -386,6 +390,17 @@ public class HashPartition implements HashJoinMemoryCalculator.PartitionStat {
     return hashTable.probeForKey(recordsProcessed, hashCode);
   }
 
+  /**
+   * Probe the given range of rows; with radix clustering, the rows (and their hash codes) may be
+   * reordered within that range first. The results follow the (new) order of the rows.
+   */
+  public void probeForKeys(int[] probeIndexes, int[] hashCodes, int[] results, int offset, int length) throws SchemaChangeException {
+    if (radixClustering != null) {
+      radixClustering.sort(probeIndexes, hashCodes, offset, length, hashTable.numBuckets(), radixClustering.numClusters(hashTable));
+    }
+    hashTable.probeForKeys(probeIndexes, hashCodes, results, offset, length);
+  }
+
   public Pair<Integer, Boolean> getStartIndex(int probeIndex) {
     /* The current probe record has a key that matches. Get the index
      * of the first row in the build side that matches the current key
@@ -515,6 +530,9 @@ public class HashPartition implements HashJoinMemoryCalculator.PartitionStat {
     if (isSpilled) { return; } // no building for spilled partitions
     containers = new ArrayList<>();
     hashTable.updateInitialCapacity((int) getNumInMemoryRecords());
+    // With radix clustering, the rows of each batch are put in the order of their clusters
+    int[] clusteredRows = null;
+    int[] clusteredHashCodes = null;
     for (int curr = 0; curr < partitionBatchesCount; curr++) {
       VectorContainer nextBatch = tmpBatchesList.get(curr);
       final int currentRecordCount = nextBatch.getRecordCount();
@@ -532,8 +550,24 @@ public class HashPartition implements HashJoinMemoryCalculator.PartitionStat {
 
       IntVector HV_vector = (IntVector) nextBatch.getLast();
 
-      for (int recInd = 0; recInd < currentRecordCount; recInd++) {
-        int hashCode = HV_vector.getAccessor().get(recInd);
+      // the clusters follow the buckets of the table as it is now: it may have been resized
+      int numBuckets = hashTable.numBuckets();
+      int numClusters = radixClustering == null ? 1 : radixClustering.numClusters(hashTable);
+      if (numClusters > 1) {
+        if (clusteredRows == null || clusteredRows.length < currentRecordCount) {
+          clusteredRows = new int[currentRecordCount];
+          clusteredHashCodes = new int[currentRecordCount];
+        }
+        for (int recInd = 0; recInd < currentRecordCount; recInd++) {
+          clusteredRows[recInd] = recInd;
+          clusteredHashCodes[recInd] = HV_vector.getAccessor().get(recInd);
+        }
+        radixClustering.sort(clusteredRows, clusteredHashCodes, 0, currentRecordCount, numBuckets, numClusters);
+      }
+
+      for (int i = 0; i < currentRecordCount; i++) {
+        int recInd = numClusters > 1 ? clusteredRows[i] : i;
+        int hashCode = numClusters > 1 ? clusteredHashCodes[i] : HV_vector.getAccessor().get(recInd);
         try {
           hashTable.put(recInd, htIndex, hashCode, BATCH_SIZE);
         } catch (RetryAfterSpillException RE) {
@@ -544,6 +578,27 @@ public class HashPartition implements HashJoinMemoryCalculator.PartitionStat {
          * later when we probe and find a match.
          */
         if (! semiJoin) { hjHelper.setCurrentIndex(htIndex.value, curr /* buildBatchIndex */, recInd); }
+
+        // the table was resized (more rows than the initial capacity): cluster the rest of the
+        // batch by its new buckets
+        if (radixClustering != null && hashTable.numBuckets() != numBuckets) {
+          numBuckets = hashTable.numBuckets();
+          int newNumClusters = radixClustering.numClusters(hashTable);
+          if (numClusters <= 1 && newNumClusters > 1) {
+            if (clusteredRows == null || clusteredRows.length < currentRecordCount) {
+              clusteredRows = new int[currentRecordCount];
+              clusteredHashCodes = new int[currentRecordCount];
+            }
+            for (int j = i + 1; j < currentRecordCount; j++) {
+              clusteredRows[j] = j;
+              clusteredHashCodes[j] = HV_vector.getAccessor().get(j);
+            }
+          }
+          if (newNumClusters > 1) {
+            radixClustering.sort(clusteredRows, clusteredHashCodes, i + 1, currentRecordCount - i - 1, numBuckets, newNumClusters);
+          }
+          numClusters = newNumClusters;
+        }
       }
 
       containers.add(nextBatch);
@@ -43,6 +43,17 @@ public interface HashTable {
 
   enum PutStatus {KEY_PRESENT, KEY_ADDED, NEW_BATCH_ADDED, KEY_ADDED_LAST, PUT_FAILED;}
 
+  /**
+   * The way the buckets of the hash table are organized.
+   * <ul>
+   * <li>CHAINED - an array of chain heads; collisions are chained through per-entry links
+   * kept in the {@link HashTableTemplate.BatchHolder}s.</li>
+   * <li>OPEN_ADDRESSING - a single off-heap array of (hash value, index) slots with linear
+   * probing; see {@link OpenAddressingBuckets}.</li>
+   * </ul>
+   */
+  enum TableType {CHAINED, OPEN_ADDRESSING}
+
   /**
    * The batch size used for internal batch holders
    */
@@ -89,6 +100,14 @@ public interface HashTable {
 
   PutStatus put(int incomingRowIdx, IndexPointer htIdxHolder, int hashCode, int batchSize) throws SchemaChangeException, RetryAfterSpillException;
 
+  /**
+   * Like {@link #put}, but always adds the key(s) as a new entry, without looking for a matching key. The entry
+   * is only placed in the {@link HashTableTemplate.BatchHolder}s and not in any bucket, so later calls to
+   * {@link #put} or {@link #probeForKey} are not expected to find it, and it is not counted by {@link #size()}.
+   * Used when the caller does not need the keys to be grouped (e.g. a bypassed 1st phase Hash Aggregate).
+   */
+  PutStatus append(int incomingRowIdx, IndexPointer htIdxHolder, int hashCode, int batchSize) throws SchemaChangeException, RetryAfterSpillException;
+
   /**
    * @param incomingRowIdx The index of the key in the probe batch.
    * @param hashCode The hashCode of the key.
@@ -98,8 +117,30 @@ public interface HashTable {
    */
   int probeForKey(int incomingRowIdx, int hashCode) throws SchemaChangeException;
 
+  /**
+   * Probes a whole run of keys at once: first the bucket of every key is looked up, and only then
+   * are the keys compared. This keeps the (cache missing) bucket lookups apart from the key
+   * comparisons, so that the lookups of consecutive keys can overlap.
+   *
+   * @param incomingRowIdxs The indexes of the keys in the probe batch.
+   * @param hashCodes The hashCodes of the keys.
+   * @param results Receives, for each key, the same value {@link #probeForKey} would return.
+   * @param offset The position of the first key in the above arrays.
+   * @param length The number of keys to probe.
+   * @throws SchemaChangeException
+   */
+  void probeForKeys(int[] incomingRowIdxs, int[] hashCodes, int[] results, int offset, int length) throws SchemaChangeException;
+
   void getStats(HashTableStats stats);
 
+  /**
+   * @return The current number of buckets (a power of 2). The bucket of a key is selected by the
+   * low bits of its hash code.
+   */
+  int numBuckets();
+
+  TableType getTableType();
+
   int size();
 
   boolean isEmpty();
@@ -36,6 +36,7 @@ public class HashTableConfig  {
   private final List<NamedExpression> keyExprsProbe;
   private final List<Comparator> comparators;
   private final int joinControl;
+  private final HashTable.TableType tableType;
 
   public HashTableConfig(
       int initialCapacity,
@@ -77,6 +78,18 @@ public class HashTableConfig  {
                          @JsonProperty("comparators") List<Comparator> comparators,
                          @JsonProperty("joinControl") int joinControl
   ) {
+    this(initialCapacity, initialSizeIsFinal, loadFactor, keyExprsBuild, keyExprsProbe, comparators, joinControl,
+      HashTable.TableType.CHAINED);
+  }
+
+  private HashTableConfig(int initialCapacity,
+                          boolean initialSizeIsFinal,
+                          float loadFactor,
+                          List<NamedExpression> keyExprsBuild,
+                          List<NamedExpression> keyExprsProbe,
+                          List<Comparator> comparators,
+                          int joinControl,
+                          HashTable.TableType tableType) {
     this.initialCapacity = initialCapacity;
     this.initialSizeIsFinal = initialSizeIsFinal;
     this.loadFactor = loadFactor;
@@ -84,6 +97,7 @@ public class HashTableConfig  {
     this.keyExprsProbe = keyExprsProbe;
     this.comparators = comparators;
     this.joinControl = joinControl;
+    this.tableType = tableType;
   }
 
   public HashTableConfig withInitialCapacity(int initialCapacity) {
@@ -93,7 +107,20 @@ public class HashTableConfig  {
       keyExprsBuild,
       keyExprsProbe,
       comparators,
-      JoinControl.DEFAULT
+      JoinControl.DEFAULT,
+      tableType
+    );
+  }
+
+  public HashTableConfig withTableType(HashTable.TableType tableType) {
+    return new HashTableConfig(initialCapacity,
+      initialSizeIsFinal,
+      loadFactor,
+      keyExprsBuild,
+      keyExprsProbe,
+      comparators,
+      joinControl,
+      tableType
     );
   }
 
@@ -124,4 +151,8 @@ public class HashTableConfig  {
   public int getJoinControl() {
     return joinControl;
   }
+
+  public HashTable.TableType getTableType() {
+    return tableType;
+  }
 }
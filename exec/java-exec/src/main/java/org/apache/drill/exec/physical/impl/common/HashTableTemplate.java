@@ -67,6 +67,11 @@ public abstract class HashTableTemplate implements HashTable {
   // the offset/position (in the startIndices) of the beginning of the hash chain.
   private IntVector startIndices;
 
+  // With TableType.OPEN_ADDRESSING the startIndices (and the per-entry links and hash values in the
+  // BatchHolders) are replaced by a single directory of (hash value, global index) slots
+  private boolean openAddressing;
+  private OpenAddressingBuckets openBuckets;
+
   // Array of batch holders..each batch holder can hold up to BATCH_SIZE entries
   private ArrayList<BatchHolder> batchHolders;
 
@@ -176,8 +181,11 @@ public abstract class HashTableTemplate implements HashTable {
           }
         }
 
-        links = allocMetadataVector(newBatchHolderSize, EMPTY_SLOT);
-        hashValues = allocMetadataVector(newBatchHolderSize, 0);
+        // the open addressing directory keeps the hash values next to the indices, and needs no links
+        if (!openAddressing) {
+          links = allocMetadataVector(newBatchHolderSize, EMPTY_SLOT);
+          hashValues = allocMetadataVector(newBatchHolderSize, 0);
+        }
         success = true;
       } finally {
         if (!success) {
@@ -257,8 +265,10 @@ public abstract class HashTableTemplate implements HashTable {
 
       // since this is the last entry in the hash chain, the links array at position currentIdx
       // will point to a null (empty) slot
-      links.getMutator().set(currentIdxWithinBatch, EMPTY_SLOT);
-      hashValues.getMutator().set(currentIdxWithinBatch, hashValue);
+      if (!openAddressing) {
+        links.getMutator().set(currentIdxWithinBatch, EMPTY_SLOT);
+        hashValues.getMutator().set(currentIdxWithinBatch, hashValue);
+      }
 
       maxOccupiedIdx = Math.max(maxOccupiedIdx, currentIdxWithinBatch);
 
@@ -452,8 +462,10 @@ public abstract class HashTableTemplate implements HashTable {
 
     public long getActualSize() {
       Set<AllocationManager.BufferLedger> ledgers = Sets.newHashSet();
-      links.collectLedgers(ledgers);
-      hashValues.collectLedgers(ledgers);
+      if (links != null) {
+        links.collectLedgers(ledgers);
+        hashValues.collectLedgers(ledgers);
+      }
 
       long size = 0L;
 
@@ -487,6 +499,10 @@ public abstract class HashTableTemplate implements HashTable {
       throw new IllegalArgumentException("The initial capacity must be less than maximum capacity allowed");
     }
 
+    if (htConfig.getTableType() == TableType.OPEN_ADDRESSING && loadf >= 1) {
+      throw new IllegalArgumentException("Load factor of an open addressing hash table must be less than 1");
+    }
+
     if (htConfig.getKeyExprsBuild() == null || htConfig.getKeyExprsBuild().size() == 0) {
       throw new IllegalArgumentException("Hash table must have at least 1 key expression");
     }
@@ -500,11 +516,12 @@ public abstract class HashTableTemplate implements HashTable {
     this.context = context;
     this.cg = cg;
     this.allocationTracker = new HashTableAllocationTracker(htConfig);
+    this.openAddressing = htConfig.getTableType() == TableType.OPEN_ADDRESSING;
 
     // round up the initial capacity to nearest highest power of 2
     tableSize = roundUpToPowerOf2(initialCap);
-    if (tableSize > MAXIMUM_CAPACITY) {
-      tableSize = MAXIMUM_CAPACITY;
+    if (tableSize > maximumCapacity()) {
+      tableSize = maximumCapacity();
     }
     originalTableSize = tableSize; // retain original size
 
@@ -512,7 +529,7 @@ public abstract class HashTableTemplate implements HashTable {
 
     dummyIntField = MaterializedField.create("dummy", Types.required(MinorType.INT));
 
-    startIndices = allocMetadataVector(tableSize, EMPTY_SLOT);
+    allocBuckets(tableSize);
 
     // Create the first batch holder
     batchHolders = new ArrayList<BatchHolder>();
@@ -545,10 +562,19 @@ public abstract class HashTableTemplate implements HashTable {
     }
   }
 
+  @Override
   public int numBuckets() {
+    if (openAddressing) {
+      return openBuckets.capacity();
+    }
     return startIndices.getAccessor().getValueCount();
   }
 
+  @Override
+  public TableType getTableType() {
+    return openAddressing ? TableType.OPEN_ADDRESSING : TableType.CHAINED;
+  }
+
   public int numResizing() {
     return numResizing;
   }
@@ -593,11 +619,31 @@ public abstract class HashTableTemplate implements HashTable {
       currentIndexSize = 0;
       totalIndexSize = 0;
     }
-    startIndices.clear();
+    clearBuckets();
     // currentIdxHolder = null; // keep IndexPointer in case HT is reused
     numEntries = 0;
   }
 
+  private int maximumCapacity() {
+    return openAddressing ? OpenAddressingBuckets.MAXIMUM_CAPACITY : MAXIMUM_CAPACITY;
+  }
+
+  private void allocBuckets(int numBuckets) {
+    if (openAddressing) {
+      openBuckets = new OpenAddressingBuckets(allocator, numBuckets);
+    } else {
+      startIndices = allocMetadataVector(numBuckets, EMPTY_SLOT);
+    }
+  }
+
+  private void clearBuckets() {
+    if (openAddressing) {
+      openBuckets.close();
+    } else {
+      startIndices.clear();
+    }
+  }
+
   private int getBucketIndex(int hash, int numBuckets) {
     return hash & (numBuckets - 1);
   }
@@ -668,6 +714,9 @@ public abstract class HashTableTemplate implements HashTable {
    */
   @Override
   public PutStatus put(int incomingRowIdx, IndexPointer htIdxHolder, int hashCode, int targetBatchRowCount) throws SchemaChangeException, RetryAfterSpillException {
+    if (openAddressing) {
+      return putOpenAddressing(incomingRowIdx, htIdxHolder, hashCode, targetBatchRowCount);
+    }
 
     int bucketIndex = getBucketIndex(hashCode, numBuckets());
     int startIdx = startIndices.getAccessor().get(bucketIndex);
@@ -740,6 +789,93 @@ public abstract class HashTableTemplate implements HashTable {
         PutStatus.KEY_ADDED;     // otherwise
   }
 
+  @Override
+  public PutStatus append(int incomingRowIdx, IndexPointer htIdxHolder, int hashCode, int targetBatchRowCount) throws SchemaChangeException, RetryAfterSpillException {
+    int currentIdx = freeIndex++;
+    boolean addedBatch = false;
+    try {  // ADD A BATCH
+      addedBatch = addBatchIfNeeded(currentIdx, targetBatchRowCount);
+      if (addedBatch) {
+        // If we just added the batch, update the current index to point to beginning of new batch.
+        currentIdx = (batchHolders.size() - 1) * BATCH_SIZE;
+        freeIndex = currentIdx + 1;
+      }
+    } catch (OutOfMemoryException OOME) {
+      retryAfterOOM( currentIdx < totalIndexSize);
+    }
+
+    try { // INSERT ENTRY (not linked into any bucket)
+      BatchHolder bh = batchHolders.get((currentIdx >>> 16) & BATCH_MASK);
+      bh.insertEntry(incomingRowIdx, currentIdx, hashCode, null, EMPTY_SLOT);
+    } catch (OutOfMemoryException OOME) { retryAfterOOM( addedBatch ); }
+
+    htIdxHolder.value = currentIdx;
+    return  addedBatch ? PutStatus.NEW_BATCH_ADDED :
+        (freeIndex + 1 > currentIndexSize) ?
+        PutStatus.KEY_ADDED_LAST : // the last key in the batch
+        PutStatus.KEY_ADDED;     // otherwise
+  }
+
+  /**
+   * The open addressing flavor of {@link #put}: walk the probe sequence starting at the slot
+   * selected by the hash code, comparing the key(s) only for slots holding the same hash value.
+   * A new entry is placed into the batch holders exactly as for the chained table, and its index
+   * is stored in the first empty slot of the probe sequence.
+   */
+  private PutStatus putOpenAddressing(int incomingRowIdx, IndexPointer htIdxHolder, int hashCode, int targetBatchRowCount) throws SchemaChangeException, RetryAfterSpillException {
+    int slot = openBuckets.firstSlot(hashCode);
+    for ( int currentIndex = openBuckets.getIndex(slot);
+          currentIndex != EMPTY_SLOT;
+          currentIndex = openBuckets.getIndex(slot)) {
+      if (openBuckets.getHash(slot) == hashCode &&
+          batchHolders.get((currentIndex >>> 16) & BATCH_MASK).isKeyMatch(incomingRowIdx, currentIndex, false)) {
+        htIdxHolder.value = currentIndex;
+        return PutStatus.KEY_PRESENT;
+      }
+      slot = openBuckets.nextSlot(slot);
+    }
+
+    // no match was found, so insert a new entry
+    int currentIdx = freeIndex++;
+    boolean addedBatch = false;
+    try {  // ADD A BATCH
+      addedBatch = addBatchIfNeeded(currentIdx, targetBatchRowCount);
+      if (addedBatch) {
+        // If we just added the batch, update the current index to point to beginning of new batch.
+        currentIdx = (batchHolders.size() - 1) * BATCH_SIZE;
+        freeIndex = currentIdx + 1;
+      }
+    } catch (OutOfMemoryException OOME) {
+      retryAfterOOM( currentIdx < totalIndexSize);
+    }
+
+    try { // INSERT ENTRY
+      BatchHolder bh = batchHolders.get((currentIdx >>> 16) & BATCH_MASK);
+      bh.insertEntry(incomingRowIdx, currentIdx, hashCode, null, EMPTY_SLOT);
+    } catch (OutOfMemoryException OOME) { retryAfterOOM( addedBatch ); }
+
+    openBuckets.set(slot, hashCode, currentIdx);
+    numEntries++;
+
+    try {  // RESIZE HT
+      resizeAndRehashIfNeeded();
+    } catch (OutOfMemoryException OOME) {
+      numEntries--; // undo - insert entry
+      openBuckets.unset(slot); // the end of the probe sequence, so nothing else depends on it
+      retryAfterOOM( addedBatch );
+    }
+
+    if (EXTRA_DEBUG) {
+      logger.debug("No match was found for incomingRowIdx = {}; inserting new entry at currentIdx = {}.", incomingRowIdx, currentIdx);
+    }
+
+    htIdxHolder.value = currentIdx;
+    return  addedBatch ? PutStatus.NEW_BATCH_ADDED :
+        (freeIndex + 1 > currentIndexSize) ?
+        PutStatus.KEY_ADDED_LAST : // the last key in the batch
+        PutStatus.KEY_ADDED;     // otherwise
+  }
+
   /**
    * Return -1 if Probe-side key is not found in the (build-side) hash table.
    * Otherwise, return the global index of the key
@@ -750,15 +886,47 @@ public abstract class HashTableTemplate implements HashTable {
    * @return -1 if key is not found, else return the global index of the key
    * @throws SchemaChangeException
    */
-   @Override
+  @Override
   public int probeForKey(int incomingRowIdx, int hashCode) throws SchemaChangeException {
-    int bucketIndex = getBucketIndex(hashCode, numBuckets());
-     int startIdx = startIndices.getAccessor().get(bucketIndex);
-     BatchHolder lastEntryBatch = null;
+    if (openAddressing) {
+      int slot = openBuckets.firstSlot(hashCode);
+      return probeOpenAddressing(incomingRowIdx, hashCode, slot, openBuckets.getIndex(slot));
+    }
+    return probeChain(incomingRowIdx, startIndices.getAccessor().get(getBucketIndex(hashCode, numBuckets())));
+  }
+
+  @Override
+  public void probeForKeys(int[] incomingRowIdxs, int[] hashCodes, int[] results, int offset, int length) throws SchemaChangeException {
+    final int end = offset + length;
+    // First pass: look up the bucket of every key (the head of its chain, or the index in its first slot)
+    if (openAddressing) {
+      for (int i = offset; i < end; i++) {
+        results[i] = openBuckets.getIndex(openBuckets.firstSlot(hashCodes[i]));
+      }
+    } else {
+      final int numBuckets = numBuckets();
+      for (int i = offset; i < end; i++) {
+        results[i] = startIndices.getAccessor().get(getBucketIndex(hashCodes[i], numBuckets));
+      }
+    }
+    // Second pass: compare the keys, skipping the keys whose bucket is empty
+    for (int i = offset; i < end; i++) {
+      if (results[i] == EMPTY_SLOT) {
+        continue;
+      }
+      results[i] = openAddressing ?
+        probeOpenAddressing(incomingRowIdxs[i], hashCodes[i], openBuckets.firstSlot(hashCodes[i]), results[i]) :
+        probeChain(incomingRowIdxs[i], results[i]);
+    }
+  }
+
+  // Walk the hash chain that starts at the given index, returns -1 if the probe-side key is not found
+  private int probeChain(int incomingRowIdx, int startIdx) throws SchemaChangeException {
+    BatchHolder lastEntryBatch = null;
 
-     for ( int currentIndex = startIdx;
-           currentIndex != EMPTY_SLOT;
-           currentIndex = lastEntryBatch.nextLinkInHashChain(currentIndex)) {
+    for ( int currentIndex = startIdx;
+          currentIndex != EMPTY_SLOT;
+          currentIndex = lastEntryBatch.nextLinkInHashChain(currentIndex)) {
       lastEntryBatch = batchHolders.get((currentIndex >>> 16) & BATCH_MASK);
       if (lastEntryBatch.isKeyMatch(incomingRowIdx, currentIndex, true /* isProbe */)) {
         return currentIndex;
@@ -767,6 +935,20 @@ public abstract class HashTableTemplate implements HashTable {
     return -1;
   }
 
+  // Walk the probe sequence that starts at the given slot (holding the given index), returns -1
+  // if the probe-side key is not found
+  private int probeOpenAddressing(int incomingRowIdx, int hashCode, int slot, int currentIndex) throws SchemaChangeException {
+    while (currentIndex != EMPTY_SLOT) {
+      if (openBuckets.getHash(slot) == hashCode &&
+          batchHolders.get((currentIndex >>> 16) & BATCH_MASK).isKeyMatch(incomingRowIdx, currentIndex, true /* isProbe */)) {
+        return currentIndex;
+      }
+      slot = openBuckets.nextSlot(slot);
+      currentIndex = openBuckets.getIndex(slot);
+    }
+    return -1;
+  }
+
   // Add a new BatchHolder to the list of batch holders if needed. This is based on the supplied
   // currentIdx; since each BatchHolder can hold up to BATCH_SIZE entries, if the currentIdx exceeds
   // the capacity, we will add a new BatchHolder. Return true if a new batch was added.
@@ -813,6 +995,11 @@ public abstract class HashTableTemplate implements HashTable {
       logger.debug("Hash table numEntries = {}, threshold = {}; resizing the table...", numEntries, threshold);
     }
 
+    if (openAddressing) {
+      resizeOpenAddressing();
+      return;
+    }
+
     // If the table size is already MAXIMUM_CAPACITY, don't resize
     // the table, but set the threshold to Integer.MAX_VALUE such that
     // future attempts to resize will return immediately.
@@ -866,6 +1053,33 @@ public abstract class HashTableTemplate implements HashTable {
     numResizing++;
   }
 
+  // The open addressing directory can not hold more entries than slots, so once it reached its
+  // maximum capacity an OOM is raised (to trigger a spill) instead of letting it fill up.
+  private void resizeOpenAddressing() {
+    if (tableSize == OpenAddressingBuckets.MAXIMUM_CAPACITY) {
+      throw new OutOfMemoryException("Open addressing hash table reached its maximum capacity");
+    }
+
+    int newTableSize = 2 * tableSize;
+
+    // both the old and the new directories are needed while rehashing
+    if ((long) OpenAddressingBuckets.SLOT_WIDTH * newTableSize
+        >= allocator.getLimit() - allocator.getAllocatedMemory()) {
+      throw new OutOfMemoryException("Resize Hash Table");
+    }
+
+    long t0 = System.currentTimeMillis();
+
+    OpenAddressingBuckets newBuckets = openBuckets.rehash(allocator, newTableSize);
+    openBuckets.close();
+    openBuckets = newBuckets;
+    tableSize = newTableSize;
+    threshold = (int) Math.ceil(tableSize * htConfig.getLoadFactor());
+
+    resizingTime += System.currentTimeMillis() - t0;
+    numResizing++;
+  }
+
   /**
    *  Resize up the Hash Table if needed (to hold newNum entries)
    */
@@ -873,12 +1087,12 @@ public abstract class HashTableTemplate implements HashTable {
     assert numEntries == 0;
     if ( newNum < threshold )  { return; } // no need to resize
 
-    while ( tableSize * 2 < MAXIMUM_CAPACITY && newNum > threshold ) {
+    while ( tableSize * 2 < maximumCapacity() && newNum > threshold ) {
       tableSize *= 2;
       threshold = (int) Math.ceil(tableSize * htConfig.getLoadFactor());
     }
-    startIndices.clear();
-    startIndices = allocMetadataVector(tableSize, EMPTY_SLOT);
+    clearBuckets();
+    allocBuckets(tableSize);
   }
 
 
@@ -896,7 +1110,9 @@ public abstract class HashTableTemplate implements HashTable {
     prevIndexSize = 0;
     currentIndexSize = 0;
     totalIndexSize = 0;
-    startIndices = allocMetadataVector(originalTableSize, EMPTY_SLOT);
+    tableSize = originalTableSize;
+    threshold = (int) Math.ceil(tableSize * htConfig.getLoadFactor());
+    allocBuckets(tableSize);
   }
 
   @Override
@@ -957,13 +1173,16 @@ public abstract class HashTableTemplate implements HashTable {
 
   @Override
   public long getActualSize() {
-    Set<AllocationManager.BufferLedger> ledgers = Sets.newHashSet();
-    startIndices.collectLedgers(ledgers);
-
     long size = 0L;
 
-    for (AllocationManager.BufferLedger ledger: ledgers) {
-      size += ledger.getAccountedSize();
+    if (openAddressing) {
+      size += openBuckets.getActualSize();
+    } else {
+      Set<AllocationManager.BufferLedger> ledgers = Sets.newHashSet();
+      startIndices.collectLedgers(ledgers);
+      for (AllocationManager.BufferLedger ledger: ledgers) {
+        size += ledger.getAccountedSize();
+      }
     }
 
     for (BatchHolder batchHolder: batchHolders) {
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.common;
+
+import java.util.Arrays;
+
+/**
+ * Tournament tree of losers, merging k sorted streams. Each inner node holds the
+ * stream which lost the match played there, and the root the overall winner: the
+ * stream whose head (current record) sorts first. Once the head of the winner
+ * changes, a single path from its leaf to the root is replayed, with one
+ * comparison per level: log2(k) comparisons per record, where a binary heap
+ * takes about twice as many.
+ * <p>
+ * Streams tie in the order of their index. Optionally, the tree holds a
+ * normalized key prefix of the head of each stream, which is compared first:
+ * the streams are then compared only when their prefixes are equal, and not
+ * at all if the prefixes are exact.
+ * <p>
+ * Public, as used by the generated mergers.
+ */
+public final class LoserTree {
+
+  /**
+   * Compares the heads of two streams.
+   */
+  public interface StreamComparator {
+
+    /**
+     * @return a negative value if the head of the left stream sorts first, a
+     *         positive value if the head of the right one does, 0 if they tie
+     */
+    int compareStreams(int leftStream, int rightStream);
+  }
+
+  // the stream winning every match while the tree is built
+  private static final int NONE = -1;
+
+  private final int streamCount;
+  private final StreamComparator comparator;
+  // losers[0] is the winner, losers[n] the loser of inner node n
+  private final int[] losers;
+  private final boolean[] exhausted;
+  // the prefixes of the stream heads, null if not compared
+  private final long[] prefixes;
+  private final boolean exactPrefixes;
+
+  public LoserTree(int streamCount, StreamComparator comparator) {
+    this(streamCount, comparator, false, false);
+  }
+
+  /**
+   * @param streamCount the number of streams
+   * @param comparator compares the heads of the streams
+   * @param prefixed true if the heads are compared by their prefixes first,
+   *        set with {@link #setPrefix(int, long)}
+   * @param exactPrefixes true if equal prefixes mean equal heads
+   */
+  public LoserTree(int streamCount, StreamComparator comparator, boolean prefixed, boolean exactPrefixes) {
+    this.streamCount = streamCount;
+    this.comparator = comparator;
+    this.losers = new int[Math.max(1, streamCount)];
+    this.exhausted = new boolean[streamCount];
+    this.prefixes = prefixed ? new long[streamCount] : null;
+    this.exactPrefixes = exactPrefixes;
+    Arrays.fill(losers, NONE);
+  }
+
+  /**
+   * Plays all the matches, once the head of each stream is known or the
+   * stream is marked exhausted.
+   */
+  public void build() {
+    Arrays.fill(losers, NONE);
+    for (int stream = streamCount - 1; stream >= 0; stream--) {
+      replay(stream);
+    }
+  }
+
+  /**
+   * @return the stream whose head sorts first, -1 if all the streams are exhausted
+   */
+  public int getWinner() {
+    int winner = losers[0];
+    return winner == NONE || exhausted[winner] ? NONE : winner;
+  }
+
+  /**
+   * @return true if all the streams are exhausted
+   */
+  public boolean isEmpty() {
+    return getWinner() == NONE;
+  }
+
+  /**
+   * Sets the (unsigned, left aligned) prefix of the head of a stream.
+   */
+  public void setPrefix(int stream, long prefix) {
+    prefixes[stream] = prefix;
+  }
+
+  /**
+   * Marks a stream as having no more records: it loses every match.
+   */
+  public void setExhausted(int stream) {
+    exhausted[stream] = true;
+  }
+
+  /**
+   * Replays the matches of the winner, once its head has changed (or it is
+   * exhausted).
+   */
+  public void replayWinner() {
+    replay(losers[0]);
+  }
+
+  private void replay(int stream) {
+    int winner = stream;
+    // while the tree is built, the sentinel wins its way up to the root
+    for (int node = (stream + streamCount) >>> 1; node > 0 && winner != NONE; node >>>= 1) {
+      int loser = losers[node];
+      if (loser == NONE || beats(loser, winner)) {
+        losers[node] = winner;
+        winner = loser;
+      }
+    }
+    losers[0] = winner;
+  }
+
+  private boolean beats(int stream, int other) {
+    if (exhausted[stream]) {
+      return false;
+    }
+    if (exhausted[other]) {
+      return true;
+    }
+    int result = compare(stream, other);
+    return result < 0 || result == 0 && stream < other;
+  }
+
+  private int compare(int stream, int other) {
+    if (prefixes != null) {
+      int result = Long.compareUnsigned(prefixes[stream], prefixes[other]);
+      if (result != 0 || exactPrefixes) {
+        return result;
+      }
+    }
+    return comparator.compareStreams(stream, other);
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.common;
+
+import io.netty.buffer.DrillBuf;
+import org.apache.drill.exec.memory.BufferAllocator;
+
+/**
+ * The bucket directory of an {@link HashTable.TableType#OPEN_ADDRESSING open addressing}
+ * {@link HashTableTemplate}.
+ * <p>
+ * Each slot takes {@link #SLOT_WIDTH} bytes of a single off-heap buffer: the full 32 bit hash
+ * value of the entry, followed by its composite index (the index of the
+ * {@link HashTableTemplate.BatchHolder} in the high 16 bits, the row within that holder in the
+ * low 16 bits). A lookup therefore reads the hash and the index from the same cache line, and
+ * only touches the key vectors of a batch holder when the full hash values are equal.
+ * <p>
+ * Collisions are resolved by linear probing. Entries are never removed one at a time; the hash
+ * table only clears or resets as a whole, so no tombstones are needed. The only exception is
+ * {@link #unset(int)}, which undoes the very last insert (the end of its probe sequence) after
+ * an OOM.
+ */
+public class OpenAddressingBuckets implements AutoCloseable {
+
+  /**
+   * Bytes per slot: the hash value followed by the composite index.
+   */
+  public static final int SLOT_WIDTH = 8;
+
+  /**
+   * The maximum number of slots; keeps the directory within a single buffer.
+   */
+  public static final int MAXIMUM_CAPACITY = 1 << 27;
+
+  public static final int EMPTY_SLOT = -1;
+
+  private static final int HASH_OFFSET = 0;
+  private static final int INDEX_OFFSET = 4;
+
+  private final int capacity;
+  private final int mask;
+  private DrillBuf slots;
+
+  /**
+   * @param allocator The allocator charged for the directory.
+   * @param capacity The number of slots; must be a power of two.
+   */
+  public OpenAddressingBuckets(BufferAllocator allocator, int capacity) {
+    if (Integer.bitCount(capacity) != 1 || capacity > MAXIMUM_CAPACITY) {
+      throw new IllegalArgumentException(
+        String.format("The capacity must be a power of 2 not larger than %d, got %d", MAXIMUM_CAPACITY, capacity));
+    }
+    this.capacity = capacity;
+    this.mask = capacity - 1;
+    slots = allocator.buffer(capacity * SLOT_WIDTH);
+    for (int i = 0; i < capacity; i++) {
+      slots.setLong(i * SLOT_WIDTH, -1L); // both the hash and the index are set to EMPTY_SLOT
+    }
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  /**
+   * @return The slot where the probe sequence for the given hash value starts.
+   */
+  public int firstSlot(int hash) {
+    return hash & mask;
+  }
+
+  /**
+   * @return The slot following the given one in a probe sequence.
+   */
+  public int nextSlot(int slot) {
+    return (slot + 1) & mask;
+  }
+
+  /**
+   * @return The composite index stored in the given slot, or {@link #EMPTY_SLOT}.
+   */
+  public int getIndex(int slot) {
+    return slots.getInt(slot * SLOT_WIDTH + INDEX_OFFSET);
+  }
+
+  public int getHash(int slot) {
+    return slots.getInt(slot * SLOT_WIDTH + HASH_OFFSET);
+  }
+
+  public void set(int slot, int hash, int index) {
+    slots.setInt(slot * SLOT_WIDTH + HASH_OFFSET, hash);
+    slots.setInt(slot * SLOT_WIDTH + INDEX_OFFSET, index);
+  }
+
+  public void unset(int slot) {
+    slots.setLong(slot * SLOT_WIDTH, -1L);
+  }
+
+  /**
+   * Copies all the occupied slots into a new directory with the given number of slots.
+   * This directory is left unchanged; the caller closes it once the copy succeeded.
+   *
+   * @param allocator The allocator charged for the new directory.
+   * @param newCapacity The number of slots of the new directory; must be a power of two.
+   * @return The new directory.
+   */
+  public OpenAddressingBuckets rehash(BufferAllocator allocator, int newCapacity) {
+    OpenAddressingBuckets newBuckets = new OpenAddressingBuckets(allocator, newCapacity);
+    for (int i = 0; i < capacity; i++) {
+      int index = getIndex(i);
+      if (index == EMPTY_SLOT) {
+        continue;
+      }
+      int hash = getHash(i);
+      int slot = newBuckets.firstSlot(hash);
+      while (newBuckets.getIndex(slot) != EMPTY_SLOT) {
+        slot = newBuckets.nextSlot(slot);
+      }
+      newBuckets.set(slot, hash, index);
+    }
+    return newBuckets;
+  }
+
+  /**
+   * @return The direct memory accounted to this directory.
+   */
+  public long getActualSize() {
+    return slots == null ? 0 : slots.getActualMemoryConsumed();
+  }
+
+  @Override
+  public void close() {
+    if (slots != null) {
+      slots.release();
+      slots = null;
+    }
+  }
+}
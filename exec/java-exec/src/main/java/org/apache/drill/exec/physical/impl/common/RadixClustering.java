@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.common;
+
+import java.util.Arrays;
+
+/**
+ * Radix clustering of the rows put into (or probed against) a {@link HashTable}.
+ * <p>
+ * The rows are (stably) reordered by the high bits of the bucket index that their hash code
+ * selects, so that a run of consecutive puts or probes only touches a range of buckets small
+ * enough to stay in the CPU cache. These are hash bits that the {@link HashPartition}s do not use:
+ * the partition bits were already shifted out of the hash code given to the hash table.
+ * <p>
+ * The rows are clustered a batch at a time, not across the batches of the build side: the hash
+ * table binds its generated code to one incoming batch at a time, and switching it to another
+ * batch sets up all its batch holders again, which putting the rows cluster by cluster across
+ * the batches would do (clusters times batches) times. The clusters are taken from the buckets
+ * of the table as they are when the rows are put or probed, the table being possibly resized
+ * in between.
+ */
+public class RadixClustering {
+
+  /**
+   * The maximum number of clusters; with more clusters too few rows (of a batch) would fall
+   * into each cluster to make up for the reordering.
+   */
+  public static final int MAX_CLUSTERS = 256;
+
+  private static final int CHAINED_BUCKET_WIDTH = 4; // an int per bucket (see startIndices)
+
+  private final long clusterBytes;
+  private final int[] clusterOffsets = new int[MAX_CLUSTERS + 1];
+  private int[] tmpRows = new int[0];
+  private int[] tmpHashCodes = new int[0];
+
+  /**
+   * @param clusterBytes The target size of the buckets covered by each cluster.
+   */
+  public RadixClustering(long clusterBytes) {
+    this.clusterBytes = clusterBytes;
+  }
+
+  /**
+   * @return The number of clusters (a power of 2) needed so that the buckets of each cluster of
+   * the given hash table take about the target size; 1 when no clustering is needed.
+   */
+  public int numClusters(HashTable hashTable) {
+    int numBuckets = hashTable.numBuckets();
+    int bucketWidth = hashTable.getTableType() == HashTable.TableType.OPEN_ADDRESSING ?
+      OpenAddressingBuckets.SLOT_WIDTH : CHAINED_BUCKET_WIDTH;
+    long bucketsSize = (long) numBuckets * bucketWidth;
+    int numClusters = 1;
+    while (numClusters < MAX_CLUSTERS && numClusters < numBuckets && bucketsSize / numClusters > clusterBytes) {
+      numClusters <<= 1;
+    }
+    return numClusters;
+  }
+
+  /**
+   * Reorders the given range of rows (and, accordingly, their hash codes) by their cluster.
+   * The order of the rows within each cluster is kept.
+   *
+   * @param rows The rows (e.g. the indexes within the incoming batch).
+   * @param hashCodes The hash codes of the rows, as given to the hash table.
+   * @param offset The position of the first row in the above arrays.
+   * @param length The number of rows to reorder.
+   * @param numBuckets The number of buckets of the hash table (a power of 2).
+   * @param numClusters The number of clusters (a power of 2), see {@link #numClusters}.
+   */
+  public void sort(int[] rows, int[] hashCodes, int offset, int length, int numBuckets, int numClusters) {
+    if (numClusters <= 1 || length <= 1) {
+      return;
+    }
+    if (tmpRows.length < length) {
+      tmpRows = new int[length];
+      tmpHashCodes = new int[length];
+    }
+    // the cluster is made of the highest bits of the bucket index
+    final int shift = Integer.numberOfTrailingZeros(numBuckets) - Integer.numberOfTrailingZeros(numClusters);
+    final int mask = numClusters - 1;
+    final int end = offset + length;
+
+    Arrays.fill(clusterOffsets, 0, numClusters + 1, 0);
+    for (int i = offset; i < end; i++) {
+      clusterOffsets[((hashCodes[i] >>> shift) & mask) + 1]++;
+    }
+    for (int cluster = 0; cluster < numClusters; cluster++) {
+      clusterOffsets[cluster + 1] += clusterOffsets[cluster];
+    }
+    for (int i = offset; i < end; i++) {
+      int position = clusterOffsets[(hashCodes[i] >>> shift) & mask]++;
+      tmpRows[position] = rows[i];
+      tmpHashCodes[position] = hashCodes[i];
+    }
+    System.arraycopy(tmpRows, 0, rows, offset, length);
+    System.arraycopy(tmpHashCodes, 0, hashCodes, offset, length);
+  }
+}
@@ -338,7 +338,8 @@ public class HashJoinBatch extends AbstractBinaryRecordBatch<HashJoinPOP>
     LEFT_INPUT_BATCH_COUNT, LEFT_AVG_INPUT_BATCH_BYTES, LEFT_AVG_INPUT_ROW_BYTES,
     LEFT_INPUT_RECORD_COUNT, RIGHT_INPUT_BATCH_COUNT, RIGHT_AVG_INPUT_BATCH_BYTES,
     RIGHT_AVG_INPUT_ROW_BYTES, RIGHT_INPUT_RECORD_COUNT, OUTPUT_BATCH_COUNT,
-    AVG_OUTPUT_BATCH_BYTES, AVG_OUTPUT_ROW_BYTES, OUTPUT_RECORD_COUNT;
+    AVG_OUTPUT_BATCH_BYTES, AVG_OUTPUT_ROW_BYTES, OUTPUT_RECORD_COUNT,
+    SPILL_COMPRESSED_MB; // Number of MB actually written to disk (after compression, if the spill files are compressed)
 
     // duplicate for hash ag
 
@@ -782,7 +783,9 @@ public class HashJoinBatch extends AbstractBinaryRecordBatch<HashJoinPOP>
     HashTableConfig htConfig = new HashTableConfig(
         (int) context.getOptions().getOption(ExecConstants.MIN_HASH_TABLE_SIZE),
         true, HashTable.DEFAULT_LOAD_FACTOR, rightExpr, leftExpr, comparators,
-        joinControl.asInt());
+        joinControl.asInt())
+        .withTableType(HashTable.TableType.valueOf(
+            context.getOptions().getString(ExecConstants.HASHJOIN_HASHTABLE_TYPE_KEY).toUpperCase()));
 
     // Create the chained hash table
     baseHashTable = new ChainedHashTable(htConfig, context, allocator,
@@ -1364,7 +1367,7 @@ public class HashJoinBatch extends AbstractBinaryRecordBatch<HashJoinPOP>
 
     logger.info("Memory limit {} bytes",
         FileUtils.byteCountToDisplaySize(allocator.getLimit()));
-    spillSet = new SpillSet(context, popConfig);
+    spillSet = new SpillSet(oContext, popConfig);
 
     // Create empty partitions (in the ctor - covers the case where right side
     // is empty)
@@ -1405,6 +1408,8 @@ public class HashJoinBatch extends AbstractBinaryRecordBatch<HashJoinPOP>
     if (spillSet.getWriteBytes() > 0) {
       stats.setLongStat(Metric.SPILL_MB, // update stats - total MB spilled
           (int) Math.round(spillSet.getWriteBytes() / 1024.0D / 1024.0));
+      stats.setLongStat(Metric.SPILL_COMPRESSED_MB,
+          (int) Math.round(spillSet.getCompressedWriteBytes() / 1024.0D / 1024.0));
     }
     // clean (and deallocate) each partition, and delete its spill file
     for (HashPartition partn : partitions) {
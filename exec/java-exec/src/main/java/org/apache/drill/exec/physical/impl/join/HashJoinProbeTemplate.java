@@ -18,8 +18,10 @@
 package org.apache.drill.exec.physical.impl.join;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import com.carrotsearch.hppc.IntArrayList;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.exception.SchemaChangeException;
 import org.apache.drill.exec.physical.impl.common.HashPartition;
 import org.apache.drill.exec.planner.common.JoinControl;
@@ -91,6 +93,18 @@ public class HashJoinProbeTemplate implements HashJoinProbe {
   private int targetOutputRecords;
   private boolean semiJoin;
 
+  // In batch probe mode the whole probe batch is hashed and probed (one partition at a time)
+  // before any of its rows is projected; the per row results are kept in the arrays below
+  private boolean batchProbe;
+  private boolean batchProbed; // was the current probe batch already probed ?
+  private int[] probeHashCodes; // the hash code of each probe row (partition bits removed)
+  private int[] probePartitions; // the partition of each probe row
+  private int[] probeResults; // the result of probeForKey() for each probe row
+  private int[] sortedRowIdxs; // the probe rows grouped by partition, and their hash codes and results
+  private int[] sortedHashCodes;
+  private int[] sortedResults;
+  private int[] partitionOffsets; // where each partition starts in the above sorted arrays
+
   @Override
   public void setTargetOutputCount(int targetOutputRecords) {
     this.targetOutputRecords = targetOutputRecords;
@@ -134,6 +148,8 @@ public class HashJoinProbeTemplate implements HashJoinProbe {
     this.numPartitions = numPartitions;
     this.numberOfBuildSideColumns = semiJoin ? 0 : rightHVColPosition; // position (0 based) of added column == #columns
     this.semiJoin = semiJoin;
+    this.batchProbe = outgoing.getContext().getOptions().getBoolean(ExecConstants.HASHJOIN_BATCH_PROBE_KEY);
+    this.batchProbed = false;
 
     partitionMask = numPartitions - 1; // e.g. 32 --> 0x1F
     bitsInMask = Integer.bitCount(partitionMask); // e.g. 0x1F -> 5
@@ -231,6 +247,60 @@ public class HashJoinProbeTemplate implements HashJoinProbe {
     }
   }
 
+  /**
+   * Hash and probe all the rows of the current probe batch. The rows are grouped by their
+   * partition, then each (non spilled) partition probes all of its rows with a single
+   * {@link HashPartition#probeForKeys} call.
+   */
+  private void probeBatch() throws SchemaChangeException {
+    if (probeResults == null || probeResults.length < recordsToProcess) {
+      probeHashCodes = new int[recordsToProcess];
+      probePartitions = new int[recordsToProcess];
+      probeResults = new int[recordsToProcess];
+      sortedRowIdxs = new int[recordsToProcess];
+      sortedHashCodes = new int[recordsToProcess];
+      sortedResults = new int[recordsToProcess];
+    }
+    if (partitionOffsets == null || partitionOffsets.length < numPartitions + 1) {
+      partitionOffsets = new int[numPartitions + 1];
+    }
+    Arrays.fill(partitionOffsets, 0);
+
+    for (int row = 0; row < recordsToProcess; row++) {
+      int hashCode = (cycleNum == 0) ?
+        partitions[0].getProbeHashCode(row)
+        : read_left_HV_vector.getAccessor().get(row);
+      int currBuildPart = hashCode & partitionMask;
+      probePartitions[row] = currBuildPart;
+      probeHashCodes[row] = hashCode >>> bitsInMask;
+      partitionOffsets[currBuildPart + 1]++;
+    }
+    for (int part = 0; part < numPartitions; part++) {
+      partitionOffsets[part + 1] += partitionOffsets[part];
+    }
+
+    // group the rows by partition; afterwards partitionOffsets[part] is where part+1 starts
+    for (int row = 0; row < recordsToProcess; row++) {
+      int position = partitionOffsets[probePartitions[row]]++;
+      sortedRowIdxs[position] = row;
+      sortedHashCodes[position] = probeHashCodes[row];
+    }
+
+    int start = 0;
+    for (int part = 0; part < numPartitions; part++) {
+      int end = partitionOffsets[part];
+      // rows of spilled inner partitions are not probed; they go to their outer partition
+      if (end > start && !outgoingJoinBatch.isSpilledInner(part)) {
+        partitions[part].probeForKeys(sortedRowIdxs, sortedHashCodes, sortedResults, start, end - start);
+        for (int position = start; position < end; position++) {
+          probeResults[sortedRowIdxs[position]] = sortedResults[position];
+        }
+      }
+      start = end;
+    }
+    batchProbed = true;
+  }
+
   private void executeProbePhase() throws SchemaChangeException {
 
     while (outputRecords < targetOutputRecords && probeState != ProbeState.DONE && probeState != ProbeState.PROJECT_RIGHT) {
@@ -278,6 +348,7 @@ public class HashJoinProbeTemplate implements HashJoinProbe {
             setTargetOutputCount(outgoingJoinBatch.getBatchMemoryManager().getCurrentOutgoingMaxRowCount()); // calculated by update()
             recordsToProcess = probeBatch.getRecordCount();
             recordsProcessed = 0;
+            batchProbed = false;
             // If we received an empty batch do nothing
             if (recordsToProcess == 0) {
               continue;
@@ -294,11 +365,21 @@ public class HashJoinProbeTemplate implements HashJoinProbe {
       // Check if we need to drain the next row in the probe side
       if (getNextRecord) {
         if (!buildSideIsEmpty) {
-          int hashCode = (cycleNum == 0) ?
-            partitions[0].getProbeHashCode(recordsProcessed)
-            : read_left_HV_vector.getAccessor().get(recordsProcessed);
-          int currBuildPart = hashCode & partitionMask;
-          hashCode >>>= bitsInMask;
+          int hashCode;
+          int currBuildPart;
+          if (batchProbe) {
+            if (!batchProbed) {
+              probeBatch();
+            }
+            hashCode = probeHashCodes[recordsProcessed];
+            currBuildPart = probePartitions[recordsProcessed];
+          } else {
+            hashCode = (cycleNum == 0) ?
+              partitions[0].getProbeHashCode(recordsProcessed)
+              : read_left_HV_vector.getAccessor().get(recordsProcessed);
+            currBuildPart = hashCode & partitionMask;
+            hashCode >>>= bitsInMask;
+          }
 
           // Set and keep the current partition (may be used again on subsequent probe calls as
           // inner rows of duplicate key are processed)
@@ -314,7 +395,8 @@ public class HashJoinProbeTemplate implements HashJoinProbe {
             continue; // on to the next outer record
           }
 
-          probeIndex = currPartition.probeForKey(recordsProcessed, hashCode);
+          probeIndex = batchProbe ? probeResults[recordsProcessed]
+            : currPartition.probeForKey(recordsProcessed, hashCode);
 
         }
 
@@ -22,8 +22,10 @@ import org.apache.drill.exec.compile.TemplateClassDefinition;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.record.ExpandableHyperContainer;
 import org.apache.drill.exec.record.RecordBatch;
+import org.apache.drill.exec.record.VectorAccessible;
 import org.apache.drill.exec.record.VectorContainer;
 
+import java.util.BitSet;
 import java.util.LinkedList;
 
 /**
@@ -33,10 +35,11 @@ public interface NestedLoopJoin {
   public static TemplateClassDefinition<NestedLoopJoin> TEMPLATE_DEFINITION =
       new TemplateClassDefinition<>(NestedLoopJoin.class, NestedLoopJoinTemplate.class);
 
-  public void setupNestedLoopJoin(FragmentContext context, RecordBatch left,
-                                  ExpandableHyperContainer rightContainer,
-                                  LinkedList<Integer> rightCounts,
-                                  NestedLoopJoinBatch outgoing);
+  public void setupNestedLoopJoin(FragmentContext context, RecordBatch left, NestedLoopJoinBatch outgoing);
+
+  // Set up the left batch and the right batches (the whole right side, or a block of it) to join
+  void setupJoinStep(FragmentContext context, VectorAccessible leftBatch, BitSet leftMatched,
+                     ExpandableHyperContainer rightContainer, LinkedList<Integer> rightCounts, boolean lastRightBlock);
 
   void setTargetOutputCount(int targetOutputCount);
 
@@ -50,5 +53,5 @@ public interface NestedLoopJoin {
   public void emitRight(int batchIndex, int recordIndexWithinBatch, int outIndex);
 
   // Setup the input/output value vector references
-  public void doSetup(FragmentContext context, VectorContainer rightContainer, RecordBatch leftBatch, RecordBatch outgoing);
+  public void doSetup(FragmentContext context, VectorContainer rightContainer, VectorAccessible leftBatch, RecordBatch outgoing);
 }
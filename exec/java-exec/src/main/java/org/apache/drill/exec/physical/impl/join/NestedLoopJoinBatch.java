@@ -17,8 +17,13 @@
  */
 package org.apache.drill.exec.physical.impl.join;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.drill.shaded.guava.com.google.common.collect.ImmutableMap;
@@ -26,12 +31,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.drill.common.exceptions.DrillRuntimeException;
+import org.apache.drill.common.exceptions.UserException;
 import org.apache.drill.common.expression.ErrorCollector;
 import org.apache.drill.common.expression.ErrorCollectorImpl;
 import org.apache.drill.common.expression.LogicalExpression;
 import org.apache.drill.common.types.TypeProtos;
 import org.apache.drill.common.types.Types;
 import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.cache.VectorSerializer;
 import org.apache.drill.exec.compile.sig.GeneratorMapping;
 import org.apache.drill.exec.compile.sig.MappingSet;
 import org.apache.drill.exec.exception.OutOfMemoryException;
@@ -41,9 +48,11 @@ import org.apache.drill.exec.expr.CodeGenerator;
 import org.apache.drill.exec.expr.BatchReference;
 import org.apache.drill.exec.expr.ExpressionTreeMaterializer;
 import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.ops.MetricDef;
 import org.apache.drill.exec.physical.config.NestedLoopJoinPOP;
 import org.apache.drill.exec.physical.impl.filter.ReturnValueExpression;
 import org.apache.drill.exec.physical.impl.sort.RecordBatchData;
+import org.apache.drill.exec.physical.impl.spill.SpillSet;
 import org.apache.drill.exec.record.AbstractBinaryRecordBatch;
 import org.apache.drill.exec.record.BatchSchema;
 import org.apache.drill.exec.record.ExpandableHyperContainer;
@@ -51,6 +60,7 @@ import org.apache.drill.exec.record.MaterializedField;
 import org.apache.drill.exec.record.RecordBatch;
 import org.apache.drill.exec.record.TypedFieldId;
 import org.apache.drill.exec.record.VectorAccessible;
+import org.apache.drill.exec.record.VectorContainer;
 import org.apache.drill.exec.record.VectorAccessibleUtilities;
 import org.apache.drill.exec.record.VectorWrapper;
 import org.apache.drill.exec.util.record.RecordBatchStats;
@@ -91,6 +101,56 @@ public class NestedLoopJoinBatch extends AbstractBinaryRecordBatch<NestedLoopJoi
   // Record count of the individual batches in the right hyper container
   private final LinkedList<Integer> rightCounts = new LinkedList<>();
 
+  // Memory of a block of the right side and of the left side, half and a quarter of the memory of the
+  // operator. Past the first block, the right side is spilled and the blocks of the left side are joined
+  // with the right side a block at a time.
+  private final long rightBlockMemory;
+  private final long leftBlockMemory;
+
+  // Memory of the right batches in the right hyper container
+  private long rightContainerMemory;
+
+  // Spilled part of the right side, a block after the other
+  private SpillSet spillSet;
+  private String spillFile;
+  private VectorSerializer.Writer spillWriter;
+
+  // Number of batches in each spilled block of the right side, and the memory of the last one
+  private final List<Integer> spilledBlocks = new ArrayList<>();
+  private long lastSpilledBlockMemory;
+
+  // The spilled block of the right side being joined (1 based), 0 while joining the first (in memory) block
+  private int currentBlock;
+  private int leftBlockCount;
+  private InputStream spillStream;
+  private VectorSerializer.Reader spillReader;
+
+  // The current spilled block of the right side, read back in memory
+  private final ExpandableHyperContainer blockContainer = new ExpandableHyperContainer();
+  private final LinkedList<Integer> blockCounts = new LinkedList<>();
+
+  // The left batches joined with each block of the right side when it is spilled, the records of each
+  // one matched by an earlier block of the right side, and the left batch being joined
+  private final List<RecordBatchData> leftBlock = new ArrayList<>();
+  private final List<BitSet> leftBlockMatched = new ArrayList<>();
+  private int currentLeft;
+
+  public enum Metric implements MetricDef {
+    // same as AbstractBinaryRecordBatch.Metric
+    LEFT_INPUT_BATCH_COUNT, LEFT_AVG_INPUT_BATCH_BYTES, LEFT_AVG_INPUT_ROW_BYTES,
+    LEFT_INPUT_RECORD_COUNT, RIGHT_INPUT_BATCH_COUNT, RIGHT_AVG_INPUT_BATCH_BYTES,
+    RIGHT_AVG_INPUT_ROW_BYTES, RIGHT_INPUT_RECORD_COUNT, OUTPUT_BATCH_COUNT,
+    AVG_OUTPUT_BATCH_BYTES, AVG_OUTPUT_ROW_BYTES, OUTPUT_RECORD_COUNT,
+    SPILLED_BLOCKS, // number of blocks of the right side spilled to disk
+    SPILL_MB, // Number of MB of the right side spilled to disk, read back once per left block
+    LEFT_BLOCKS; // number of blocks of the left side joined with the spilled right side
+
+    @Override
+    public int metricId() {
+      return ordinal();
+    }
+  }
+
 
   // Generator mapping for the right side
   private static final GeneratorMapping EMIT_RIGHT =
@@ -135,6 +195,12 @@ public class NestedLoopJoinBatch extends AbstractBinaryRecordBatch<NestedLoopJoi
     // get the output batch size from config.
     int configuredBatchSize = (int) context.getOptions().getOption(ExecConstants.OUTPUT_BATCH_SIZE_VALIDATOR);
     batchMemoryManager = new JoinBatchMemoryManager(configuredBatchSize, left, right, new HashSet<>());
+    long memory = context.getOptions().getOption(ExecConstants.NLJ_MAX_MEMORY_VALIDATOR);
+    if (memory == 0) {
+      memory = oContext.getAllocator().getLimit();
+    }
+    rightBlockMemory = memory / 2;
+    leftBlockMemory = memory / 4;
 
     RecordBatchStats.printConfiguredBatchSize(getRecordBatchStatsContext(),
       configuredBatchSize);
@@ -183,7 +249,14 @@ public class NestedLoopJoinBatch extends AbstractBinaryRecordBatch<NestedLoopJoi
           default:
         }
       }
-      nljWorker.setupNestedLoopJoin(context, left, rightContainer, rightCounts, this);
+      finishSpilling();
+      nljWorker.setupNestedLoopJoin(context, left, this);
+      if (spilledBlocks.isEmpty()) {
+        nljWorker.setupJoinStep(context, left, null, rightContainer, rightCounts, true);
+      } else {
+        // the worker is left without records if the left side is empty
+        nextLeftBlock(0);
+      }
       state = BatchState.NOT_FIRST;
     }
 
@@ -402,6 +475,12 @@ public class NestedLoopJoinBatch extends AbstractBinaryRecordBatch<NestedLoopJoi
   }
 
   private void addBatchToHyperContainer(RecordBatch inputBatch) {
+    long batchMemory = getBatchMemory(inputBatch);
+    if (spillWriter != null || (!rightCounts.isEmpty() && rightContainerMemory + batchMemory > rightBlockMemory)) {
+      spillBatch(inputBatch, batchMemory);
+      return;
+    }
+    rightContainerMemory += batchMemory;
     final RecordBatchData batchCopy = new RecordBatchData(inputBatch, oContext.getAllocator());
     boolean success = false;
     try {
@@ -415,6 +494,198 @@ public class NestedLoopJoinBatch extends AbstractBinaryRecordBatch<NestedLoopJoi
     }
   }
 
+  private static long getBatchMemory(VectorAccessible batch) {
+    long memory = 0;
+    for (VectorWrapper<?> w : batch) {
+      memory += w.getValueVector().getBufferSize();
+    }
+    return memory;
+  }
+
+  /**
+   * Writes a right batch that does not fit in the first block to the spill file; the
+   * batches are grouped in blocks of about the block memory.
+   */
+  private void spillBatch(RecordBatch inputBatch, long batchMemory) {
+    if (inputBatch.getRecordCount() == 0) {
+      VectorAccessibleUtilities.clear(inputBatch);
+      return;
+    }
+    if (spillWriter == null) {
+      spillSet = new SpillSet(oContext, popConfig);
+      spillFile = spillSet.getNextSpillFile();
+      try {
+        spillWriter = spillSet.writer(spillFile);
+      } catch (IOException e) {
+        throw UserException.resourceError(e)
+            .message("Nested Loop Join failed to open spill file: " + spillFile)
+            .build(logger);
+      }
+    }
+    if (spilledBlocks.isEmpty() || lastSpilledBlockMemory + batchMemory > rightBlockMemory) {
+      spilledBlocks.add(0);
+      lastSpilledBlockMemory = 0;
+    }
+    int lastBlock = spilledBlocks.size() - 1;
+    spilledBlocks.set(lastBlock, spilledBlocks.get(lastBlock) + 1);
+    lastSpilledBlockMemory += batchMemory;
+    try {
+      // writing releases the vectors of the batch
+      spillWriter.write(inputBatch);
+    } catch (IOException e) {
+      throw UserException.dataWriteError(e)
+          .message("Nested Loop Join failed to write to spill file: " + spillFile)
+          .build(logger);
+    }
+  }
+
+  private void finishSpilling() {
+    if (spillWriter == null) {
+      return;
+    }
+    try {
+      spillSet.close(spillWriter);
+    } catch (IOException e) {
+      throw UserException.resourceError(e)
+          .message("Nested Loop Join failed to close spill file: " + spillFile)
+          .build(logger);
+    } finally {
+      spillWriter = null;
+    }
+    stats.setLongStat(Metric.SPILLED_BLOCKS, spilledBlocks.size());
+    stats.setLongStat(Metric.SPILL_MB, (long) Math.ceil(spillSet.getWriteBytes() / (1024.0 * 1024.0)));
+    logger.debug("Spilled {} blocks of the right side to {}", spilledBlocks.size(), spillFile);
+  }
+
+  /**
+   * @return true if the right side is spilled, and joined with the left side a block at a time
+   */
+  public boolean isRightSpilled() {
+    return !spilledBlocks.isEmpty();
+  }
+
+  /**
+   * Called by the worker, when the right side is spilled, once a left batch of the left block
+   * was joined with the current block of the right side. Sets the worker up with the next
+   * batch of the left block; after the last one, with the next spilled block of the right
+   * side, read back; after the last block, with the next left block and the first (in
+   * memory) block of the right side. The spilled blocks are so read once per left block.
+   *
+   * @param outputIndex number of records in the output batch
+   * @return true if there is more to join, false if the whole left side was joined
+   */
+  public boolean nextJoinStep(int outputIndex) {
+    if (++currentLeft < leftBlock.size()) {
+      setupJoinStep();
+      return true;
+    }
+    currentLeft = 0;
+    blockContainer.clear();
+    blockCounts.clear();
+    if (currentBlock < spilledBlocks.size()) {
+      readSpilledBlock();
+      setupJoinStep();
+      return true;
+    }
+    closeSpillStream();
+    currentBlock = 0;
+    return nextLeftBlock(outputIndex);
+  }
+
+  /**
+   * Reads the left batches of the next left block, up to the left block memory, and sets
+   * the worker up with the first of them and the first block of the right side. The left
+   * batch after the block is kept by the left input.
+   *
+   * @param outputIndex number of records in the output batch
+   * @return false if there are no more left batches
+   */
+  private boolean nextLeftBlock(int outputIndex) {
+    clearLeftBlock();
+    long memory = 0;
+    while (memory < leftBlockMemory && hasMore(leftUpstream)) {
+      if (left.getRecordCount() > 0) {
+        memory += getBatchMemory(left);
+        leftBlock.add(new RecordBatchData(left, oContext.getAllocator()));
+        leftBlockMatched.add(new BitSet());
+      } else {
+        VectorAccessibleUtilities.clear(left);
+      }
+      nextLeft(outputIndex);
+    }
+    if (leftBlock.isEmpty()) {
+      return false;
+    }
+    stats.setLongStat(Metric.LEFT_BLOCKS, ++leftBlockCount);
+    setupJoinStep();
+    return true;
+  }
+
+  private void nextLeft(int outputIndex) {
+    leftUpstream = next(LEFT_INPUT, left);
+    switch (leftUpstream) {
+      case OK_NEW_SCHEMA:
+        throw new DrillRuntimeException("Nested loop join does not handle schema change. Schema change" +
+            " found on the left side of NLJ.");
+      case OK:
+        batchMemoryManager.update(left, LEFT_INDEX, outputIndex);
+        nljWorker.setTargetOutputCount(batchMemoryManager.getCurrentOutgoingMaxRowCount()); // calculated by update()
+        RecordBatchStats.logRecordBatchStats(RecordBatchIOType.INPUT_LEFT,
+          batchMemoryManager.getRecordBatchSizer(LEFT_INDEX), getRecordBatchStatsContext());
+        break;
+      default:
+    }
+  }
+
+  private void readSpilledBlock() {
+    try {
+      if (spillStream == null) {
+        spillStream = spillSet.openForInput(spillFile);
+        spillReader = VectorSerializer.reader(oContext.getAllocator(), spillStream);
+      }
+      for (int i = spilledBlocks.get(currentBlock); i > 0; i--) {
+        VectorContainer batch = spillReader.read();
+        blockCounts.addLast(batch.getRecordCount());
+        blockContainer.addBatch(batch);
+      }
+    } catch (IOException e) {
+      throw UserException.dataReadError(e)
+          .message("Nested Loop Join failed to read spill file: " + spillFile)
+          .build(logger);
+    }
+    currentBlock++;
+  }
+
+  private void setupJoinStep() {
+    boolean inMemory = currentBlock == 0;
+    nljWorker.setupJoinStep(context, leftBlock.get(currentLeft).getContainer(), leftBlockMatched.get(currentLeft),
+        inMemory ? rightContainer : blockContainer, inMemory ? rightCounts : blockCounts,
+        currentBlock == spilledBlocks.size());
+  }
+
+  private void clearLeftBlock() {
+    for (RecordBatchData batch : leftBlock) {
+      batch.clear();
+    }
+    leftBlock.clear();
+    leftBlockMatched.clear();
+    currentLeft = 0;
+  }
+
+  private void closeSpillStream() {
+    if (spillStream == null) {
+      return;
+    }
+    try {
+      spillSet.tallyReadBytes(spillSet.getPosition(spillStream));
+      spillStream.close();
+    } catch (IOException e) {
+      logger.warn("Unable to close spill file " + spillFile, e);
+    }
+    spillStream = null;
+    spillReader = null;
+  }
+
   @Override
   public void close() {
     updateBatchMemoryManagerStats();
@@ -440,6 +711,21 @@ public class NestedLoopJoinBatch extends AbstractBinaryRecordBatch<NestedLoopJoi
 
     rightContainer.clear();
     rightCounts.clear();
+    blockContainer.clear();
+    blockCounts.clear();
+    clearLeftBlock();
+    if (spillSet != null) {
+      if (spillWriter != null) {
+        try {
+          spillWriter.close();
+        } catch (IOException e) {
+          logger.warn("Unable to close spill file " + spillFile, e);
+        }
+        spillWriter = null;
+      }
+      closeSpillStream();
+      spillSet.close();
+    }
     super.close();
   }
 
@@ -22,11 +22,13 @@ import org.apache.drill.common.exceptions.DrillRuntimeException;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.record.ExpandableHyperContainer;
 import org.apache.drill.exec.record.RecordBatch;
+import org.apache.drill.exec.record.VectorAccessible;
 import org.apache.drill.exec.record.VectorContainer;
 import org.apache.drill.exec.record.VectorWrapper;
 import org.apache.drill.exec.util.record.RecordBatchStats;
 import org.apache.drill.exec.util.record.RecordBatchStats.RecordBatchIOType;
 import javax.inject.Named;
+import java.util.BitSet;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -38,7 +40,7 @@ import static org.apache.drill.exec.record.JoinBatchMemoryManager.LEFT_INDEX;
  */
 public abstract class NestedLoopJoinTemplate implements NestedLoopJoin {
 
-  // Current left input batch being processed
+  // Left input batch
   private RecordBatch left;
 
   // Record count of the left batch currently being processed
@@ -47,6 +49,13 @@ public abstract class NestedLoopJoinTemplate implements NestedLoopJoin {
   // List of record counts per batch in the hyper container
   private List<Integer> rightCounts;
 
+  // Whether the hyper container holds the last (or the only) block of the right side
+  private boolean lastRightBlock;
+
+  // Records of the left batch that matched a record in an earlier block of the right side, applicable during left join,
+  // null when the right side is joined at once
+  private BitSet leftMatched;
+
   // Output batch
   private NestedLoopJoinBatch outgoing;
 
@@ -56,26 +65,46 @@ public abstract class NestedLoopJoinTemplate implements NestedLoopJoin {
   private int targetOutputRecords;
 
   /**
-   * Method initializes necessary state and invokes the doSetup() to set the
-   * input and output value vector references.
+   * Method initializes necessary state. The worker is then set up with the
+   * batches to join by {@link #setupJoinStep}.
    *
    * @param context Fragment context
-   * @param left Current left input batch being processed
-   * @param rightContainer Hyper container
-   * @param rightCounts Counts for each right container
+   * @param left Left input batch
    * @param outgoing Output batch
    */
   @Override
   public void setupNestedLoopJoin(FragmentContext context,
                                   RecordBatch left,
-                                  ExpandableHyperContainer rightContainer,
-                                  LinkedList<Integer> rightCounts,
                                   NestedLoopJoinBatch outgoing) {
     this.left = left;
-    this.leftRecordCount = left.getRecordCount();
-    this.rightCounts = rightCounts;
     this.outgoing = outgoing;
-    doSetup(context, rightContainer, left, outgoing);
+  }
+
+  /**
+   * Sets up the worker to join a left batch with the right side, or a block of it, and
+   * invokes the doSetup() to set the input and output value vector references.
+   *
+   * @param context Fragment context
+   * @param leftBatch the left input batch, or a batch of the left block
+   * @param leftMatched records of the left batch matched by an earlier block of the right side,
+   * null when the right side is joined at once
+   * @param rightContainer Hyper container with the batches of the right side, or of the block
+   * @param rightCounts Counts for each right container
+   * @param lastRightBlock whether this is the whole right side, or its last block
+   */
+  @Override
+  public void setupJoinStep(FragmentContext context,
+                            VectorAccessible leftBatch,
+                            BitSet leftMatched,
+                            ExpandableHyperContainer rightContainer,
+                            LinkedList<Integer> rightCounts,
+                            boolean lastRightBlock) {
+    this.leftRecordCount = leftBatch.getRecordCount();
+    this.leftMatched = leftMatched;
+    this.rightCounts = rightCounts;
+    this.lastRightBlock = lastRightBlock;
+    tracker.reset();
+    doSetup(context, rightContainer, leftBatch, outgoing);
   }
 
   @Override
@@ -98,8 +127,13 @@ public abstract class NestedLoopJoinTemplate implements NestedLoopJoin {
       if (outputIndex >= targetOutputRecords) {
         break;
       }
-      // reset state and get next left batch
-      resetAndGetNextLeft(outputIndex);
+      if (!outgoing.isRightSpilled()) {
+        // reset state and get next left batch
+        resetAndGetNextLeft(outputIndex);
+      } else if (!outgoing.nextJoinStep(outputIndex)) {
+        // the whole left side was joined with every block of the right side
+        leftRecordCount = 0;
+      }
     }
     return outputIndex;
   }
@@ -109,6 +143,10 @@ public abstract class NestedLoopJoinTemplate implements NestedLoopJoin {
    * from the list of right batches. Match is checked by calling {@link #doEval(int, int, int)} method.
    * If matching record is found both left and right records are written into output batch,
    * otherwise if join type is LEFT, than only left record is written, right batch record values will be null.
+   * When the right side is joined a block at a time, left records without a match are written with the last block.
+   * <p>
+   * The join condition is evaluated one left record and one right record at a time. Evaluating it over a tile of
+   * right records in one generated call is out of scope: the generated code has no loop to put the tile in.
    *
    * @param joinType join type (INNER or LEFT)
    * @param outputIndex index to start emitting records at
@@ -151,16 +189,21 @@ public abstract class NestedLoopJoinTemplate implements NestedLoopJoin {
       }
       nextRightBatchToProcess = 0;
       if (joinType == JoinRelType.LEFT && !rightRecordMatched) {
-        // project records from the left side only, records from right will be null
-        emitLeft(nextLeftRecordToProcess, outputIndex);
-        outputIndex++;
-        if (outputIndex >= targetOutputRecords) {
-          nextLeftRecordToProcess++;
-
-          // no more space left in the batch, stop processing
-          break;
+        if (lastRightBlock && (leftMatched == null || !leftMatched.get(nextLeftRecordToProcess))) {
+          // project records from the left side only, records from right will be null
+          emitLeft(nextLeftRecordToProcess, outputIndex);
+          outputIndex++;
+          if (outputIndex >= targetOutputRecords) {
+            nextLeftRecordToProcess++;
+
+            // no more space left in the batch, stop processing
+            break;
+          }
         }
       } else {
+        if (joinType == JoinRelType.LEFT && !lastRightBlock) {
+          leftMatched.set(nextLeftRecordToProcess);
+        }
         // reset match indicator if matching record was found
         rightRecordMatched = false;
       }
@@ -205,7 +248,7 @@ public abstract class NestedLoopJoinTemplate implements NestedLoopJoin {
   @Override
   public abstract void doSetup(@Named("context") FragmentContext context,
                                @Named("rightContainer") VectorContainer rightContainer,
-                               @Named("leftBatch") RecordBatch leftBatch,
+                               @Named("leftBatch") VectorAccessible leftBatch,
                                @Named("outgoing") RecordBatch outgoing);
 
   @Override
@@ -20,9 +20,7 @@ package org.apache.drill.exec.physical.impl.mergereceiver;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.List;
-import java.util.PriorityQueue;
 
 import org.apache.calcite.rel.RelFieldCollation.Direction;
 import org.apache.drill.common.exceptions.UserException;
@@ -30,6 +28,7 @@ import org.apache.drill.common.expression.ErrorCollector;
 import org.apache.drill.common.expression.ErrorCollectorImpl;
 import org.apache.drill.common.expression.LogicalExpression;
 import org.apache.drill.common.logical.data.Order.Ordering;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.compile.sig.GeneratorMapping;
 import org.apache.drill.exec.compile.sig.MappingSet;
 import org.apache.drill.exec.exception.OutOfMemoryException;
@@ -45,6 +44,8 @@ import org.apache.drill.exec.ops.MetricDef;
 import org.apache.drill.exec.ops.QueryCancelledException;
 import org.apache.drill.exec.physical.MinorFragmentEndpoint;
 import org.apache.drill.exec.physical.config.MergingReceiverPOP;
+import org.apache.drill.exec.physical.impl.common.LoserTree;
+import org.apache.drill.exec.physical.impl.xsort.SortKeyNormalizer;
 import org.apache.drill.exec.proto.BitControl.FinishedReceiver;
 import org.apache.drill.exec.proto.BitData;
 import org.apache.drill.exec.proto.ExecProtos.FragmentHandle;
@@ -103,7 +104,12 @@ public class MergingRecordBatch extends AbstractRecordBatch<MergingReceiverPOP>
   private int senderCount;
   private RawFragmentBatch[] incomingBatches;
   private int[] batchOffsets;
-  private PriorityQueue <Node> pqueue;
+  // merges the senders' streams, whose current records are in nodes
+  private LoserTree mergeTree;
+  private Node[] nodes;
+  // the vectors of the sort keys of each incoming batch, if the keys are normalized
+  private SortKeyNormalizer normalizer;
+  private SortKeyNormalizer.KeyVectors[][] keyVectors;
   private RawFragmentBatch[] tempBatchHolder;
   private final long[] inputCounts;
   private final long[] outputCounts;
@@ -305,7 +311,7 @@ public class MergingRecordBatch extends AbstractRecordBatch<MergingReceiverPOP>
         // initialize the incoming batchLoaders
         final UserBitShared.RecordBatchDef rbd = batch.getHeader().getDef();
         // TODO:  Clean:  DRILL-2933:  That load(...) no longer throws
-        batchLoaders[i].load(rbd, batch.getBody());
+        batchLoaders[i].load(rbd, batch.getBuffers());
         batch.release();
         ++batchOffsets[i];
         ++i;
@@ -334,48 +340,42 @@ public class MergingRecordBatch extends AbstractRecordBatch<MergingReceiverPOP>
       // generate code for merge operations (copy and compare)
       merger = createMerger();
 
-      // allocate the priority queue with the generated comparator
-      this.pqueue = new PriorityQueue<>(fragProviders.length, new Comparator<Node>() {
-        @Override
-        public int compare(final Node node1, final Node node2) {
-          final int leftIndex = (node1.batchId << 16) + node1.valueIndex;
-          final int rightIndex = (node2.batchId << 16) + node2.valueIndex;
-          try {
-            return merger.doEval(leftIndex, rightIndex);
-          } catch (SchemaChangeException e) {
-            throw new UnsupportedOperationException(e);
-          }
-        }
-      });
+      // create the merge tree with the generated comparator
+      createMergeTree();
 
-      // populate the priority queue with initial values
+      // populate the merge tree with initial values
       for (int b = 0; b < senderCount; ++b) {
         while (batchLoaders[b] != null && batchLoaders[b].getRecordCount() == 0) {
           final RawFragmentBatch batch = getNext(b);
           incomingBatches[b] = batch;
           if (batch != null) {
-            batchLoaders[b].load(batch.getHeader().getDef(), batch.getBody());
+            batchLoaders[b].load(batch.getHeader().getDef(), batch.getBuffers());
           } else {
             batchLoaders[b].clear();
             batchLoaders[b] = null;
             checkContinue();
           }
         }
+        nodes[b] = new Node(b, 0);
         if (batchLoaders[b] != null) {
-          pqueue.add(new Node(b, 0));
+          setHead(b, 0);
+        } else {
+          mergeTree.setExhausted(b);
         }
       }
+      mergeTree.build();
 
       hasRun = true;
       // finished lazy initialization
     }
 
     while (outgoingBatchHasSpace) {
-      // poll next value from pq and copy to outgoing batch
-      final Node node = pqueue.poll();
-      if (node == null) {
+      // copy the current value of the winning stream to outgoing batch
+      final int winner = mergeTree.getWinner();
+      if (winner < 0) {
         break;
       }
+      final Node node = nodes[winner];
       outgoingBatchHasSpace = copyRecordToOutgoingBatch(node);
 
       if (node.valueIndex == batchLoaders[node.batchId].getRecordCount() - 1) {
@@ -396,6 +396,8 @@ public class MergingRecordBatch extends AbstractRecordBatch<MergingReceiverPOP>
         incomingBatches[node.batchId] = nextBatch;
 
         if (nextBatch == null) {
+          mergeTree.setExhausted(node.batchId);
+          mergeTree.replayWinner();
           // batch is empty
           boolean allBatchesEmpty = true;
 
@@ -412,32 +414,33 @@ public class MergingRecordBatch extends AbstractRecordBatch<MergingReceiverPOP>
             break;
           }
 
-          // this batch is empty; since the pqueue no longer references this batch, it will be
+          // this batch is empty; since the merge tree no longer plays this batch, it will be
           // ignored in subsequent iterations.
           continue;
         }
 
         final UserBitShared.RecordBatchDef rbd = incomingBatches[node.batchId].getHeader().getDef();
         // TODO:  Clean:  DRILL-2933:  That load(...) no longer throws
-        batchLoaders[node.batchId].load(rbd, incomingBatches[node.batchId].getBody());
+        batchLoaders[node.batchId].load(rbd, incomingBatches[node.batchId].getBuffers());
         incomingBatches[node.batchId].release();
         batchOffsets[node.batchId] = 0;
 
-        // add front value from batch[x] to priority queue
+        // replay front value from batch[x] in the merge tree
         if (batchLoaders[node.batchId].getRecordCount() != 0) {
-          node.valueIndex = 0;
-          pqueue.add(node);
+          setHead(node.batchId, 0);
+        } else {
+          mergeTree.setExhausted(node.batchId);
         }
       } else {
-        node.valueIndex++;
-        pqueue.add(node);
+        setHead(node.batchId, node.valueIndex + 1);
       }
+      mergeTree.replayWinner();
     }
 
     // set the value counts in the outgoing vectors
     container.setValueCount(outgoingPosition);
 
-    if (pqueue.isEmpty()) {
+    if (mergeTree.isEmpty()) {
       state = BatchState.DONE;
     }
 
@@ -614,6 +617,51 @@ public class MergingRecordBatch extends AbstractRecordBatch<MergingReceiverPOP>
     }
   }
 
+  /**
+   * Creates the tree merging the senders' streams, comparing their current
+   * records with the generated comparator, after their normalized key prefixes
+   * if enabled.
+   */
+  private void createMergeTree() {
+    nodes = new Node[senderCount];
+    if (context.getOptions().getOption(ExecConstants.MERGING_RECEIVER_NORMALIZED_KEYS)) {
+      normalizer = SortKeyNormalizer.create(popConfig.getOrderings(), batchLoaders[0],
+          context.getFunctionRegistry(), 64);
+    }
+    final LoserTree.StreamComparator comparator = (leftStream, rightStream) -> {
+      final int leftIndex = (leftStream << 16) + nodes[leftStream].valueIndex;
+      final int rightIndex = (rightStream << 16) + nodes[rightStream].valueIndex;
+      try {
+        return merger.doEval(leftIndex, rightIndex);
+      } catch (SchemaChangeException e) {
+        throw new UnsupportedOperationException(e);
+      }
+    };
+    if (normalizer == null) {
+      mergeTree = new LoserTree(senderCount, comparator);
+    } else {
+      keyVectors = new SortKeyNormalizer.KeyVectors[senderCount][];
+      mergeTree = new LoserTree(senderCount, comparator, true, normalizer.isExact());
+    }
+  }
+
+  /**
+   * Sets the current record of a sender's stream, and its prefix if the keys are normalized.
+   *
+   * @param batchId the sender's stream
+   * @param valueIndex the index of the record in the stream's incoming batch
+   */
+  private void setHead(final int batchId, final int valueIndex) {
+    nodes[batchId].valueIndex = valueIndex;
+    if (normalizer != null) {
+      // a new incoming batch has been loaded
+      if (valueIndex == 0) {
+        keyVectors[batchId] = normalizer.bind(batchLoaders[batchId], 0);
+      }
+      mergeTree.setPrefix(batchId, normalizer.encode(keyVectors[batchId], valueIndex));
+    }
+  }
+
   /**
    * Creates a generate class which implements the copy and compare methods.
    *
@@ -720,8 +768,8 @@ public class MergingRecordBatch extends AbstractRecordBatch<MergingReceiverPOP>
   }
 
   /**
-   * A Node contains a reference to a single value in a specific incoming batch.  It is used
-   * as a wrapper for the priority queue.
+   * A Node contains a reference to a single value in a specific incoming batch: the current
+   * value of a sender's stream in the merge tree.
    */
   public class Node {
     public int batchId;      // incoming batch
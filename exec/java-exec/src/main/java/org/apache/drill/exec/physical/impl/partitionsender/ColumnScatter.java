@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.partitionsender;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Scatters the columns of the incoming batches of the partition senders to
+ * their outgoing batches in parallel, when exec.partition.column_scatter is
+ * enabled. The columns are scattered on the work-stealing pool of the Drillbit
+ * (sized by drill.exec.partition.column_scatter_threads), shared by all its
+ * fragments, and by the fragment thread itself.
+ * <p>
+ * Public, as called by the generated partitioners.
+ */
+public final class ColumnScatter {
+
+  /**
+   * Below this number of rows, the columns are scattered in the fragment
+   * thread: handing them to the pool would cost more than copying them.
+   */
+  private static final int MIN_PARALLEL_ROWS = 64;
+
+  /**
+   * Partitioner scattering its columns.
+   */
+  public interface Target {
+
+    /**
+     * Copies the values of a column of the incoming batch to the outgoing
+     * batches. Called concurrently for different columns.
+     *
+     * @param column index of the column in the schema
+     */
+    void scatterColumn(int column);
+  }
+
+  private ColumnScatter() { }
+
+  /**
+   * Scatters all the columns, and returns once they all are.
+   *
+   * @param pool the pool to scatter the columns on
+   * @param target the partitioner scattering the columns
+   * @param columnCount number of columns
+   * @param rowCount number of rows to scatter
+   * @param columnNanos time spent on each column, added to
+   */
+  public static void scatter(ForkJoinPool pool, Target target, int columnCount, int rowCount,
+                             long[] columnNanos) {
+    if (columnCount == 1 || rowCount < MIN_PARALLEL_ROWS) {
+      for (int column = 0; column < columnCount; column++) {
+        scatterColumn(target, column, columnNanos);
+      }
+      return;
+    }
+    List<ForkJoinTask<?>> tasks = new ArrayList<>(columnCount - 1);
+    try {
+      for (int column = 1; column < columnCount; column++) {
+        final int c = column;
+        tasks.add(pool.submit(() -> scatterColumn(target, c, columnNanos)));
+      }
+      scatterColumn(target, 0, columnNanos);
+    } finally {
+      // the outgoing batches must not be flushed or cleared under running tasks
+      for (ForkJoinTask<?> task : tasks) {
+        task.quietlyJoin();
+      }
+    }
+    for (ForkJoinTask<?> task : tasks) {
+      // rethrows the failure of the task, if any
+      task.join();
+    }
+  }
+
+  private static void scatterColumn(Target target, int column, long[] columnNanos) {
+    long start = System.nanoTime();
+    target.scatterColumn(column);
+    columnNanos[column] += System.nanoTime() - start;
+  }
+}
@@ -17,7 +17,13 @@
  */
 package org.apache.drill.exec.physical.impl.partitionsender;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerArray;
@@ -41,6 +47,7 @@ import org.apache.drill.exec.physical.MinorFragmentEndpoint;
 import org.apache.drill.exec.physical.config.HashPartitionSender;
 import org.apache.drill.exec.physical.impl.BaseRootExec;
 import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
 import org.apache.drill.exec.proto.ExecProtos.FragmentHandle;
 import org.apache.drill.exec.record.AbstractRecordBatch;
 import org.apache.drill.exec.record.BatchSchema;
@@ -94,7 +101,13 @@ public class PartitionSenderRootExec extends BaseRootExec {
     N_RECEIVERS,
     BYTES_SENT,
     SENDING_THREADS_COUNT,
-    COST;
+    COST,
+    COMPRESSED_BYTES,
+    COMPRESSION_RATIO,
+    COMPRESSION_TIME_MS,
+    MESSAGES_SENT,
+    COLUMN_SCATTER_TIME_MS,
+    SLOWEST_COLUMN_SCATTER_TIME_MS;
 
     @Override
     public int metricId() {
@@ -136,7 +149,10 @@ public class PartitionSenderRootExec extends BaseRootExec {
       }
     }
     final int imposedThreads = optMgr.getOption(PlannerSettings.PARTITION_SENDER_SET_THREADS.getOptionName()).num_val.intValue();
-    if (imposedThreads > 0 ) {
+    if (optMgr.getBoolean(ExecConstants.PARTITIONER_COLUMN_SCATTER_KEY)) {
+      // a single partitioner, scattering the columns in parallel
+      this.numberPartitions = 1;
+    } else if (imposedThreads > 0 ) {
       this.numberPartitions = imposedThreads;
     } else {
       this.numberPartitions = Math.min(tmpParts, optMgr.getOption(PlannerSettings.PARTITION_SENDER_MAX_THREADS.getOptionName()).num_val.intValue());
@@ -324,12 +340,23 @@ public class PartitionSenderRootExec extends BaseRootExec {
       updateAggregateStats();
       partitioner.clear();
     }
+    updateCompressionStats();
 
     if (closeIncoming) {
       ((CloseableRecordBatch) incoming).close();
     }
   }
 
+  // the tunnels are shared by the destinations on the same Drillbit
+  private void updateCompressionStats() {
+    Set<AccountingDataTunnel> tunnels = new HashSet<>();
+    for (MinorFragmentEndpoint destination : popConfig.getDestinations()) {
+      tunnels.add(context.getDataTunnel(destination.getEndpoint()));
+    }
+    AccountingDataTunnel.setCompressionStats(stats, tunnels,
+        Metric.COMPRESSED_BYTES, Metric.COMPRESSION_RATIO, Metric.COMPRESSION_TIME_MS);
+  }
+
   private void sendEmptyBatch(boolean isLast) {
     BatchSchema schema = incoming.getSchema();
     if (schema == null) {
@@ -339,8 +366,8 @@ public class PartitionSenderRootExec extends BaseRootExec {
     }
 
     FragmentHandle handle = context.getHandle();
+    Map<DrillbitEndpoint, List<FragmentWritableBatch>> batchesByEndpoint = new LinkedHashMap<>();
     for (MinorFragmentEndpoint destination : popConfig.getDestinations()) {
-      AccountingDataTunnel tunnel = context.getDataTunnel(destination.getEndpoint());
       FragmentWritableBatch writableBatch = FragmentWritableBatch.getEmptyBatchWithSchema(
           isLast,
           handle.getQueryId(),
@@ -349,11 +376,23 @@ public class PartitionSenderRootExec extends BaseRootExec {
           operator.getOppositeMajorFragmentId(),
           destination.getId(),
           schema);
-      stats.startWait();
-      try {
-        tunnel.sendRecordBatch(writableBatch);
-      } finally {
-        stats.stopWait();
+      batchesByEndpoint.computeIfAbsent(destination.getEndpoint(), e -> new ArrayList<>()).add(writableBatch);
+    }
+    // the empty batches to the same Drillbit are sent in a single message, unless coalescing is disabled
+    boolean coalesce = context.getOptions().getLong(ExecConstants.PARTITIONER_COALESCE_BYTES_KEY) > 0;
+    for (Map.Entry<DrillbitEndpoint, List<FragmentWritableBatch>> entry : batchesByEndpoint.entrySet()) {
+      AccountingDataTunnel tunnel = context.getDataTunnel(entry.getKey());
+      List<FragmentWritableBatch> messages = coalesce
+          ? Collections.singletonList(FragmentWritableBatch.coalesce(entry.getValue()))
+          : entry.getValue();
+      for (FragmentWritableBatch message : messages) {
+        stats.startWait();
+        try {
+          tunnel.sendRecordBatch(message);
+        } finally {
+          stats.stopWait();
+        }
+        stats.addLongStat(Metric.MESSAGES_SENT, 1);
       }
     }
     stats.addLongStat(Metric.BATCHES_SENT, 1);
@@ -18,8 +18,15 @@
 package org.apache.drill.exec.physical.impl.partitionsender;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Named;
 
@@ -39,11 +46,13 @@ import org.apache.drill.exec.physical.MinorFragmentEndpoint;
 import org.apache.drill.exec.physical.config.HashPartitionSender;
 import org.apache.drill.exec.physical.impl.common.CodeGenMemberInjector;
 import org.apache.drill.exec.physical.impl.partitionsender.PartitionSenderRootExec.Metric;
+import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
 import org.apache.drill.exec.proto.ExecProtos.FragmentHandle;
 import org.apache.drill.exec.record.BatchSchema;
 import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
 import org.apache.drill.exec.record.FragmentWritableBatch;
 import org.apache.drill.exec.record.RecordBatch;
+import org.apache.drill.exec.record.RecordBatchSizer;
 import org.apache.drill.exec.record.TypedFieldId;
 import org.apache.drill.exec.record.VectorAccessible;
 import org.apache.drill.exec.record.VectorContainer;
@@ -51,16 +60,18 @@ import org.apache.drill.exec.record.VectorWrapper;
 import org.apache.drill.exec.record.WritableBatch;
 import org.apache.drill.exec.record.selection.SelectionVector2;
 import org.apache.drill.exec.record.selection.SelectionVector4;
+import org.apache.drill.exec.vector.ValueVector;
 import org.apache.drill.shaded.guava.com.google.common.collect.Lists;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public abstract class PartitionerTemplate implements Partitioner {
+public abstract class PartitionerTemplate implements Partitioner, ColumnScatter.Target {
   static final Logger logger = LoggerFactory.getLogger(PartitionerTemplate.class);
 
   // Always keep the recordCount as (2^x) - 1 to better utilize the memory
   // allocation in ValueVectors
   private static final int DEFAULT_RECORD_BATCH_SIZE = (1 << 10) - 1;
+  private static final int MIN_RECORD_BATCH_SIZE = (1 << 7) - 1;
 
   private SelectionVector2 sv2;
   private SelectionVector4 sv4;
@@ -71,8 +82,31 @@ public abstract class PartitionerTemplate implements Partitioner {
   private int start;
   private int end;
   private final List<OutgoingRecordBatch> outgoingBatches = Lists.newArrayList();
+  // the outgoing batches bound to each Drillbit, sent in the same messages
+  private final Map<DrillbitEndpoint, List<OutgoingRecordBatch>> outgoingBatchGroups = new HashMap<>();
 
   private int outgoingRecordBatchSize = DEFAULT_RECORD_BATCH_SIZE;
+  private int destinationCount;
+  private long outgoingMemory;
+  private boolean outgoingBatchesSized;
+  private long coalesceBytes;
+
+  // exec.partition.column_scatter: the partitions of the rows are evaluated
+  // first, then the columns are copied in parallel
+  private boolean columnScatter;
+  private ForkJoinPool columnScatterPool;
+  // for each row being scattered: its index in the incoming vectors, the index
+  // of its outgoing batch (-1 if not sent by this partitioner), and its index
+  // in its outgoing batch
+  private int[] rowIndexes;
+  private int[] partitionIds;
+  private int[] outIndexes;
+  private int scatterFrom;
+  private int scatterTo;
+  private ValueVector[] incomingVectors;
+  private long[] columnNanos;
+  private long scatterNanos;
+  private long slowestColumnNanos;
 
   @Override
   public List<? extends PartitionOutgoingBatch> getOutgoingBatches() {
@@ -127,7 +161,7 @@ public abstract class PartitionerTemplate implements Partitioner {
     //       reduced send buffer size from 1024 to 256 rows
     //
     // See  DRILL-7675, DRILL-7686.
-    int destinationCount = popConfig.getDestinations().size();
+    destinationCount = popConfig.getDestinations().size();
     int reductionCutoff = oContext.getFragmentContext().getOptions().getInt(
         ExecConstants.PARTITIONER_MEMORY_REDUCTION_THRESHOLD_KEY);
     if (reductionCutoff > 0 && destinationCount >= reductionCutoff) {
@@ -145,14 +179,27 @@ public abstract class PartitionerTemplate implements Partitioner {
       // Always keep the recordCount as (2^x) - 1 to better utilize the memory allocation in ValueVectors
       outgoingRecordBatchSize = (DEFAULT_RECORD_BATCH_SIZE + 1)/2 - 1;
     }
+    outgoingMemory = oContext.getFragmentContext().getOptions().getLong(
+        ExecConstants.PARTITIONER_OUTGOING_MEMORY_KEY);
+    sizeOutgoingBatches(incoming);
+    coalesceBytes = oContext.getFragmentContext().getOptions().getLong(
+        ExecConstants.PARTITIONER_COALESCE_BYTES_KEY);
+    columnScatter = oContext.getFragmentContext().getOptions().getBoolean(
+        ExecConstants.PARTITIONER_COLUMN_SCATTER_KEY);
+    if (columnScatter) {
+      columnScatterPool = context.getColumnScatterPool();
+    }
 
     int fieldId = 0;
     for (MinorFragmentEndpoint destination : popConfig.getDestinations()) {
       // create outgoingBatches only for subset of Destination Points
       if (fieldId >= start && fieldId < end) {
         logger.debug("start: {}, count: {}, fieldId: {}", start, end, fieldId);
-        outgoingBatches.add(newOutgoingRecordBatch(stats, popConfig,
-          context.getDataTunnel(destination.getEndpoint()), context, oContext.getAllocator(), destination.getId()));
+        OutgoingRecordBatch outgoingBatch = newOutgoingRecordBatch(stats, popConfig,
+          context.getDataTunnel(destination.getEndpoint()), context, oContext.getAllocator(), destination.getId());
+        outgoingBatch.group = outgoingBatchGroups.computeIfAbsent(destination.getEndpoint(), e -> new ArrayList<>());
+        outgoingBatch.group.add(outgoingBatch);
+        outgoingBatches.add(outgoingBatch);
       }
       fieldId++;
     }
@@ -179,6 +226,32 @@ public abstract class PartitionerTemplate implements Partitioner {
     }
   }
 
+  /**
+   * Reduces the row count of the outgoing batches for all of them to fit in
+   * exec.partition.outgoing_memory, given the width of the rows of the first
+   * incoming batch with rows. Smaller batches mean more batches, but the
+   * batches to the same Drillbit are sent in the same messages.
+   */
+  private void sizeOutgoingBatches(RecordBatch incoming) {
+    if (outgoingBatchesSized || outgoingMemory == 0 || incoming.getRecordCount() == 0) {
+      return;
+    }
+    outgoingBatchesSized = true;
+    int rowWidth = new RecordBatchSizer(incoming).getNetRowWidth();
+    if (rowWidth == 0) {
+      return;
+    }
+    long rowCount = outgoingMemory / ((long) destinationCount * rowWidth);
+    if (rowCount >= outgoingRecordBatchSize) {
+      return;
+    }
+    int reducedBatchSize = Integer.highestOneBit((int) Math.max(rowCount + 1, MIN_RECORD_BATCH_SIZE + 1)) - 1;
+    logger.debug("{} is set to {}: {} receivers, rows of {} bytes, reduced send buffer size from {} to {} rows",
+        ExecConstants.PARTITIONER_OUTGOING_MEMORY_KEY, outgoingMemory, destinationCount, rowWidth,
+        outgoingRecordBatchSize, reducedBatchSize);
+    outgoingRecordBatchSize = reducedBatchSize;
+  }
+
   /**
    * Shim method to be overridden in plain-old Java mode by the subclass to instantiate the
    * generated inner class. Byte-code manipulation appears to fix up the byte codes
@@ -210,22 +283,79 @@ public abstract class PartitionerTemplate implements Partitioner {
    */
   @Override
   public void flushOutgoingBatches(boolean isLastBatch, boolean schemaChanged) throws IOException {
-    for (OutgoingRecordBatch batch : outgoingBatches) {
-      logger.debug("Attempting to flush all outgoing batches");
+    logger.debug("Attempting to flush all outgoing batches");
+    for (List<OutgoingRecordBatch> group : outgoingBatchGroups.values()) {
       if (isLastBatch) {
-        batch.setIsLast();
+        for (OutgoingRecordBatch batch : group) {
+          batch.setIsLast();
+        }
       }
-      batch.flush(schemaChanged);
-      if (schemaChanged) {
+      sendBatches(group, schemaChanged);
+    }
+    if (schemaChanged) {
+      for (OutgoingRecordBatch batch : outgoingBatches) {
         batch.resetBatch();
         batch.initializeBatch();
       }
     }
   }
 
+  /**
+   * Sends outgoing batches bound to the same Drillbit, coalesced into messages
+   * of at most exec.partition.coalesce_bytes (or a single batch, if larger),
+   * and makes them ready for the next rows. The tunnel splits the messages
+   * again for the Drillbits which do not take coalesced batches. The batches with nothing to send
+   * are skipped.
+   *
+   * @param batches the outgoing batches, all bound to the same Drillbit
+   * @param schemaChanged true if the batches are flushed for a schema change
+   */
+  private void sendBatches(List<OutgoingRecordBatch> batches, boolean schemaChanged) throws IOException {
+    AccountingDataTunnel tunnel = batches.get(0).tunnel;
+    List<OutgoingRecordBatch> sent = new ArrayList<>(batches.size());
+    List<FragmentWritableBatch> message = new ArrayList<>(batches.size());
+    long messageBytes = 0;
+    for (OutgoingRecordBatch batch : batches) {
+      FragmentWritableBatch writableBatch = batch.getFlushBatch();
+      if (writableBatch == null) {
+        continue;
+      }
+      if (!message.isEmpty() && messageBytes + writableBatch.getByteCount() > coalesceBytes) {
+        send(tunnel, message);
+        message.clear();
+        messageBytes = 0;
+      }
+      message.add(writableBatch);
+      messageBytes += writableBatch.getByteCount();
+      sent.add(batch);
+    }
+    if (!message.isEmpty()) {
+      send(tunnel, message);
+    }
+    for (OutgoingRecordBatch batch : sent) {
+      batch.resetAfterFlush(schemaChanged);
+    }
+  }
+
+  private void send(AccountingDataTunnel tunnel, List<FragmentWritableBatch> batches) {
+    stats.addLongStat(Metric.MESSAGES_SENT, 1);
+    stats.startWait();
+    try {
+      tunnel.sendRecordBatch(FragmentWritableBatch.coalesce(batches));
+    } finally {
+      stats.stopWait();
+    }
+  }
+
   @Override
   public void partitionBatch(RecordBatch incoming) throws IOException {
+    sizeOutgoingBatches(incoming);
     SelectionVectorMode svMode = incoming.getSchema().getSelectionVectorMode();
+    // the vectors of hyper batches are not scattered a column at a time
+    if (columnScatter && svMode != SelectionVectorMode.FOUR_BYTE) {
+      scatterBatch(incoming, svMode == SelectionVectorMode.TWO_BYTE);
+      return;
+    }
 
     // Keeping the for loop inside the case to avoid case evaluation for each record.
     switch(svMode) {
@@ -254,6 +384,103 @@ public abstract class PartitionerTemplate implements Partitioner {
     }
   }
 
+  /**
+   * Partitions the incoming batch a column at a time: evaluates the partitions
+   * of the rows up to the first one filling its outgoing batch, copies each
+   * column of these rows in parallel, sends the full batch, and so on to the
+   * last row.
+   *
+   * @param incoming the incoming batch
+   * @param hasSv2 true if the rows are selected by a selection vector
+   */
+  private void scatterBatch(RecordBatch incoming, boolean hasSv2) throws IOException {
+    int recordCount = incoming.getRecordCount();
+    if (rowIndexes == null || rowIndexes.length < recordCount) {
+      rowIndexes = new int[recordCount];
+      partitionIds = new int[recordCount];
+      outIndexes = new int[recordCount];
+    }
+    int columnCount = incoming.getSchema().getFieldCount();
+    if (incomingVectors == null || incomingVectors.length != columnCount) {
+      incomingVectors = new ValueVector[columnCount];
+      columnNanos = new long[columnCount];
+    }
+    int column = 0;
+    for (VectorWrapper<?> w : incoming) {
+      incomingVectors[column++] = w.getValueVector();
+    }
+    Arrays.fill(columnNanos, 0);
+
+    int from = 0;
+    while (from < recordCount) {
+      int to = from;
+      OutgoingRecordBatch fullBatch = null;
+      while (to < recordCount && fullBatch == null) {
+        int svIndex = hasSv2 ? sv2.getIndex(to) : to;
+        int index;
+        try {
+          index = doEval(svIndex);
+        } catch (SchemaChangeException e) {
+          throw new UnsupportedOperationException(e);
+        }
+        rowIndexes[to] = svIndex;
+        if (index >= start && index < end) {
+          OutgoingRecordBatch outgoingBatch = outgoingBatches.get(index - start);
+          partitionIds[to] = index - start;
+          outIndexes[to] = outgoingBatch.recordCount++;
+          outgoingBatch.totalRecords++;
+          if (outgoingBatch.recordCount >= outgoingRecordBatchSize) {
+            fullBatch = outgoingBatch;
+          }
+        } else {
+          partitionIds[to] = -1;
+        }
+        to++;
+      }
+      scatterFrom = from;
+      scatterTo = to;
+      ColumnScatter.scatter(columnScatterPool, this, columnCount, to - from, columnNanos);
+      if (fullBatch != null) {
+        fullBatch.flushFull();
+      }
+      from = to;
+    }
+    updateScatterStats();
+  }
+
+  @Override
+  public void scatterColumn(int column) {
+    ValueVector from = incomingVectors[column];
+    for (int row = scatterFrom; row < scatterTo; row++) {
+      int partitionId = partitionIds[row];
+      if (partitionId >= 0) {
+        outgoingBatches.get(partitionId).vectors[column].copyEntry(outIndexes[row], from, rowIndexes[row]);
+      }
+    }
+  }
+
+  /**
+   * Adds the time spent on the columns of the last batch to the metrics: the
+   * time of all the columns, and the time of the slowest one, which is all the
+   * time the batch took if the columns were scattered on as many threads. The
+   * stats are cleared for each batch, so the milliseconds are added as they
+   * accumulate.
+   */
+  private void updateScatterStats() {
+    long totalNanos = 0;
+    long maxNanos = 0;
+    for (long nanos : columnNanos) {
+      totalNanos += nanos;
+      maxNanos = Math.max(maxNanos, nanos);
+    }
+    stats.addLongStat(Metric.COLUMN_SCATTER_TIME_MS, TimeUnit.NANOSECONDS.toMillis(scatterNanos + totalNanos)
+        - TimeUnit.NANOSECONDS.toMillis(scatterNanos));
+    stats.addLongStat(Metric.SLOWEST_COLUMN_SCATTER_TIME_MS, TimeUnit.NANOSECONDS.toMillis(slowestColumnNanos + maxNanos)
+        - TimeUnit.NANOSECONDS.toMillis(slowestColumnNanos));
+    scatterNanos += totalNanos;
+    slowestColumnNanos += maxNanos;
+  }
+
   /**
    * Helper method to copy data based on partition
    * @param svIndex
@@ -294,10 +521,16 @@ public abstract class PartitionerTemplate implements Partitioner {
     private final HashPartitionSender operator;
     private final FragmentContext context;
     private final VectorContainer vectorContainer;
+    // the vectors of vectorContainer, in the order of the schema
+    private ValueVector[] vectors;
     private final int oppositeMinorFragmentId;
     private final OperatorStats stats;
+    // the outgoing batches bound to the same Drillbit, this one included
+    private List<OutgoingRecordBatch> group;
 
     private boolean isLast;
+    // whether the batch last flushed was the last one
+    private boolean isLastSent;
     private boolean dropAll;
     private int recordCount;
     private int totalRecords;
@@ -320,9 +553,28 @@ public abstract class PartitionerTemplate implements Partitioner {
       }
       recordCount++;
       totalRecords++;
-      if (recordCount == outgoingRecordBatchSize) {
+      if (recordCount >= outgoingRecordBatchSize) {
+        flushFull();
+      }
+    }
+
+    /**
+     * Sends this full batch, in the same message as the batches to the same
+     * Drillbit that are at least half full, if coalescing the batches.
+     */
+    private void flushFull() throws IOException {
+      if (coalesceBytes == 0 || group.size() == 1) {
         flush(false);
+        return;
+      }
+      List<OutgoingRecordBatch> batches = new ArrayList<>(group.size());
+      batches.add(this);
+      for (OutgoingRecordBatch batch : group) {
+        if (batch != this && batch.recordCount > outgoingRecordBatchSize / 2) {
+          batches.add(batch);
+        }
       }
+      sendBatches(batches, false);
     }
 
     @Override
@@ -340,6 +592,13 @@ public abstract class PartitionerTemplate implements Partitioner {
                           @Named("outIndex") int outIndex) throws SchemaChangeException { };
 
     public void flush(boolean schemaChanged) throws IOException {
+      sendBatches(Collections.singletonList(this), schemaChanged);
+    }
+
+    /**
+     * @return the batch to send, null if there is nothing to send
+     */
+    private FragmentWritableBatch getFlushBatch() {
       if (dropAll) {
         // If we are in dropAll mode, we still want to copy the data, because we
         // can't stop copying a single outgoing
@@ -353,7 +612,7 @@ public abstract class PartitionerTemplate implements Partitioner {
 
         // Reset the count to 0 and use existing buffers for exhausting input where receiver of this batch is terminated
         recordCount = 0;
-        return;
+        return null;
       }
       final FragmentHandle handle = context.getHandle();
 
@@ -364,16 +623,16 @@ public abstract class PartitionerTemplate implements Partitioner {
       //      sender has acknowledged the terminate request. After sending the last batch, all further batches are
       //      dropped.
       //   3. Partitioner thread is interrupted due to cancellation of fragment.
-      final boolean isLastBatch = isLast || Thread.currentThread().isInterrupted();
+      isLastSent = isLast || Thread.currentThread().isInterrupted();
 
       // if the batch is not the last batch and the current recordCount is zero, then no need to send any RecordBatches
-      if (!isLastBatch && recordCount == 0) {
-        return;
+      if (!isLastSent && recordCount == 0) {
+        return null;
       }
 
       vectorContainer.setValueCount(recordCount);
 
-      FragmentWritableBatch writableBatch = new FragmentWritableBatch(isLastBatch,
+      FragmentWritableBatch writableBatch = new FragmentWritableBatch(isLastSent,
           handle.getQueryId(),
           handle.getMajorFragmentId(),
           handle.getMinorFragmentId(),
@@ -382,18 +641,15 @@ public abstract class PartitionerTemplate implements Partitioner {
           getWritableBatch());
 
       updateStats(writableBatch);
-      stats.startWait();
-      try {
-        tunnel.sendRecordBatch(writableBatch);
-      } finally {
-        stats.stopWait();
-      }
+      return writableBatch;
+    }
 
+    private void resetAfterFlush(boolean schemaChanged) {
       // If the current batch is the last batch, then set a flag to ignore any
       // requests to flush the data
       // This is possible when the receiver is terminated, but we still get data
       // from input operator
-      if (isLastBatch) {
+      if (isLastSent) {
         dropAll = true;
       }
 
@@ -424,6 +680,11 @@ public abstract class PartitionerTemplate implements Partitioner {
     public void initializeBatch() {
       vectorContainer.buildFrom(incoming.getSchema());
       allocateOutgoingRecordBatch();
+      vectors = new ValueVector[vectorContainer.getNumberOfColumns()];
+      int column = 0;
+      for (VectorWrapper<?> w : vectorContainer) {
+        vectors[column++] = w.getValueVector();
+      }
       try {
         doSetup(incoming, vectorContainer);
       } catch (SchemaChangeException e) {
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.spill;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.shaded.guava.com.google.common.util.concurrent.Uninterruptibles;
+
+import io.netty.buffer.DrillBuf;
+
+/**
+ * Double buffered spill channel: the operator fills one buffer while the other one
+ * is written to the underlying channel by a background thread. At most one write
+ * is in flight, so a writer that outruns the disk waits for the previous buffer.
+ * <p>
+ * Both buffers are allocated from the operator allocator, so they count against
+ * the memory of the operator.
+ */
+class AsyncSpillChannel implements WritableByteChannel {
+
+  private final WritableByteChannel out;
+  private final ExecutorService executor;
+  private DrillBuf fillBuffer;
+  private DrillBuf writeBuffer;
+  private Future<?> pending;
+  private boolean open = true;
+
+  AsyncSpillChannel(WritableByteChannel out, BufferAllocator allocator, ExecutorService executor, int bufferSize) {
+    this.out = out;
+    this.executor = executor;
+    fillBuffer = allocator.buffer(bufferSize);
+    try {
+      writeBuffer = allocator.buffer(bufferSize);
+    } catch (RuntimeException e) {
+      fillBuffer.release();
+      throw e;
+    }
+  }
+
+  /**
+   * @return the underlying channel
+   */
+  WritableByteChannel getTarget() {
+    return out;
+  }
+
+  @Override
+  public int write(ByteBuffer src) throws IOException {
+    int written = src.remaining();
+    while (src.hasRemaining()) {
+      int length = Math.min(src.remaining(), fillBuffer.writableBytes());
+      ByteBuffer slice = src.duplicate();
+      slice.limit(slice.position() + length);
+      fillBuffer.writeBytes(slice);
+      src.position(src.position() + length);
+      if (!fillBuffer.isWritable()) {
+        writeAsync();
+      }
+    }
+    return written;
+  }
+
+  private void writeAsync() throws IOException {
+    awaitPending();
+    DrillBuf buffer = fillBuffer;
+    fillBuffer = writeBuffer;
+    writeBuffer = buffer;
+    fillBuffer.clear();
+    pending = executor.submit(() -> {
+      writeFully(buffer);
+      return null;
+    });
+  }
+
+  private void writeFully(DrillBuf buffer) throws IOException {
+    ByteBuffer nioBuffer = buffer.nioBuffer(0, buffer.writerIndex());
+    while (nioBuffer.hasRemaining()) {
+      out.write(nioBuffer);
+    }
+  }
+
+  // Waits (even if interrupted) for the write in flight, as its buffer
+  // may not be reused or released before
+  private void awaitPending() throws IOException {
+    if (pending == null) {
+      return;
+    }
+    try {
+      Uninterruptibles.getUninterruptibly(pending);
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+    } finally {
+      pending = null;
+    }
+  }
+
+  @Override
+  public boolean isOpen() {
+    return open;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!open) {
+      return;
+    }
+    open = false;
+    try {
+      awaitPending();
+      writeFully(fillBuffer);
+    } finally {
+      fillBuffer.release();
+      writeBuffer.release();
+      out.close();
+    }
+  }
+}
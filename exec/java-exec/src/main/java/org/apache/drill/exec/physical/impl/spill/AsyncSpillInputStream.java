@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.spill;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.shaded.guava.com.google.common.util.concurrent.Uninterruptibles;
+
+import io.netty.buffer.DrillBuf;
+
+/**
+ * Reads a spill file ahead: while the operator consumes one buffer, a background
+ * thread fills the other one with the next bytes of the file. So the next batch of
+ * a spilled run (or partition) is usually read by the time the operator gets to it.
+ * <p>
+ * Both buffers are allocated from the operator allocator, so they count against
+ * the memory of the operator.
+ */
+class AsyncSpillInputStream extends InputStream {
+
+  private static final int TRANSFER_SIZE = 64 * 1024;
+
+  private final InputStream in;
+  private final ExecutorService executor;
+  private final byte[] transfer = new byte[TRANSFER_SIZE];
+  private DrillBuf readBuffer;
+  private DrillBuf fillBuffer;
+  private Future<Boolean> pending;
+  private boolean closed;
+
+  AsyncSpillInputStream(InputStream in, BufferAllocator allocator, ExecutorService executor, int bufferSize) {
+    this.in = in;
+    this.executor = executor;
+    readBuffer = allocator.buffer(bufferSize);
+    try {
+      fillBuffer = allocator.buffer(bufferSize);
+    } catch (RuntimeException e) {
+      readBuffer.release();
+      throw e;
+    }
+    readBuffer.clear();
+    readAhead();
+  }
+
+  /**
+   * @return the underlying stream; its position includes the bytes read ahead
+   */
+  InputStream getSource() {
+    return in;
+  }
+
+  private void readAhead() {
+    DrillBuf buffer = fillBuffer;
+    buffer.clear();
+    pending = executor.submit(() -> fill(buffer));
+  }
+
+  // Fills the buffer; returns false if the end of the file was reached
+  private boolean fill(DrillBuf buffer) throws IOException {
+    while (buffer.isWritable()) {
+      int length = in.read(transfer, 0, Math.min(TRANSFER_SIZE, buffer.writableBytes()));
+      if (length < 0) {
+        return false;
+      }
+      buffer.writeBytes(transfer, 0, length);
+    }
+    return true;
+  }
+
+  // Makes the buffer read ahead the one to read; returns false at the end of the file
+  private boolean nextBuffer() throws IOException {
+    if (pending == null) {
+      return false;
+    }
+    boolean more;
+    try {
+      more = Uninterruptibles.getUninterruptibly(pending);
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+    } finally {
+      pending = null;
+    }
+    DrillBuf buffer = readBuffer;
+    readBuffer = fillBuffer;
+    fillBuffer = buffer;
+    if (more) {
+      readAhead();
+    }
+    return readBuffer.isReadable();
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!readBuffer.isReadable() && !nextBuffer()) {
+      return -1;
+    }
+    return readBuffer.readByte() & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    int read = 0;
+    while (read < len) {
+      if (!readBuffer.isReadable() && !nextBuffer()) {
+        return read == 0 ? -1 : read;
+      }
+      int length = Math.min(len - read, readBuffer.readableBytes());
+      readBuffer.readBytes(b, off + read, length);
+      read += length;
+    }
+    return read;
+  }
+
+  @Override
+  public int available() {
+    return readBuffer.readableBytes();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      if (pending != null) {
+        // the buffer being filled may not be released before the read is done
+        Uninterruptibles.getUninterruptibly(pending);
+      }
+    } catch (ExecutionException e) {
+      // the file is closed anyway
+    } finally {
+      pending = null;
+      readBuffer.release();
+      fillBuffer.release();
+      in.close();
+    }
+  }
+}
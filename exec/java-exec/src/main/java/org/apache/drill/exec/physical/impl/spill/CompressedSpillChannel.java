@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.spill;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.hadoop.CodecFactory.BytesCompressor;
+
+/**
+ * Compresses the bytes written to a spill file, a block at a time. Each block is
+ * written as its uncompressed length, its compressed length (both 4 byte ints) and
+ * then the compressed bytes; see {@link CompressedSpillInputStream}.
+ * <p>
+ * Owns its compressor, released on close.
+ */
+class CompressedSpillChannel implements WritableByteChannel {
+
+  static final int BLOCK_SIZE = 256 * 1024;
+  static final int HEADER_SIZE = 8;
+
+  private final WritableByteChannel out;
+  private final BytesCompressor compressor;
+  private final SpillSet spillSet;
+  private final byte[] block = new byte[BLOCK_SIZE];
+  private final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+  private int blockLength;
+  private boolean open = true;
+
+  CompressedSpillChannel(WritableByteChannel out, BytesCompressor compressor, SpillSet spillSet) {
+    this.out = out;
+    this.compressor = compressor;
+    this.spillSet = spillSet;
+  }
+
+  /**
+   * @return the underlying channel (of the compressed bytes)
+   */
+  WritableByteChannel getTarget() {
+    return out;
+  }
+
+  @Override
+  public int write(ByteBuffer src) throws IOException {
+    int written = src.remaining();
+    while (src.hasRemaining()) {
+      int length = Math.min(src.remaining(), BLOCK_SIZE - blockLength);
+      src.get(block, blockLength, length);
+      blockLength += length;
+      if (blockLength == BLOCK_SIZE) {
+        writeBlock();
+      }
+    }
+    return written;
+  }
+
+  private void writeBlock() throws IOException {
+    if (blockLength == 0) {
+      return;
+    }
+    byte[] compressed = compressor.compress(BytesInput.from(block, 0, blockLength)).toByteArray();
+    header.clear();
+    header.putInt(blockLength).putInt(compressed.length);
+    header.flip();
+    writeFully(header);
+    writeFully(ByteBuffer.wrap(compressed));
+    spillSet.tallyCompressedWriteBytes(HEADER_SIZE + compressed.length);
+    blockLength = 0;
+  }
+
+  private void writeFully(ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      out.write(buffer);
+    }
+  }
+
+  @Override
+  public boolean isOpen() {
+    return open;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!open) {
+      return;
+    }
+    open = false;
+    try {
+      writeBlock();
+    } finally {
+      compressor.release();
+      out.close();
+    }
+  }
+}
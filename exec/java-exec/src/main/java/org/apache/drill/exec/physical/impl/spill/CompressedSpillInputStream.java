@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.spill;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.hadoop.CodecFactory.BytesDecompressor;
+
+/**
+ * Reads the (uncompressed) bytes of a spill file written through a
+ * {@link CompressedSpillChannel}, a block at a time. Owns its decompressor,
+ * released on close.
+ */
+class CompressedSpillInputStream extends InputStream {
+
+  private final InputStream in;
+  private final DataInputStream dataIn;
+  private final BytesDecompressor decompressor;
+  private boolean closed;
+  private byte[] compressed = new byte[0];
+  private byte[] block = new byte[0];
+  private int blockLength;
+  private int position;
+
+  CompressedSpillInputStream(InputStream in, BytesDecompressor decompressor) {
+    this.in = in;
+    this.dataIn = new DataInputStream(in);
+    this.decompressor = decompressor;
+  }
+
+  /**
+   * @return the underlying stream (of the compressed bytes)
+   */
+  InputStream getSource() {
+    return in;
+  }
+
+  // Reads the next block; returns false at the end of the file
+  private boolean nextBlock() throws IOException {
+    int uncompressedLength;
+    try {
+      uncompressedLength = dataIn.readInt();
+    } catch (EOFException e) {
+      return false;
+    }
+    int compressedLength = dataIn.readInt();
+    if (compressed.length < compressedLength) {
+      compressed = new byte[compressedLength];
+    }
+    dataIn.readFully(compressed, 0, compressedLength);
+    block = decompressor.decompress(BytesInput.from(compressed, 0, compressedLength), uncompressedLength).toByteArray();
+    blockLength = uncompressedLength;
+    position = 0;
+    return true;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (position == blockLength && !nextBlock()) {
+      return -1;
+    }
+    return block[position++] & 0xFF;
+  }
+
+  /**
+   * Reads across blocks until len bytes or the end of the file; some readers
+   * (e.g. {@link io.netty.buffer.ByteBuf#writeBytes(InputStream, int)}) read
+   * a vector buffer with a single call.
+   */
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    int read = 0;
+    while (read < len) {
+      if (position == blockLength && !nextBlock()) {
+        return read == 0 ? -1 : read;
+      }
+      int length = Math.min(len - read, blockLength - position);
+      System.arraycopy(block, position, b, off + read, length);
+      position += length;
+      read += length;
+    }
+    return read;
+  }
+
+  @Override
+  public int available() {
+    return blockLength - position;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      decompressor.release();
+    } finally {
+      in.close();
+    }
+  }
+}
@@ -30,15 +30,21 @@ import java.nio.file.StandardOpenOption;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.drill.common.config.DrillConfig;
 import org.apache.drill.common.exceptions.UserException;
 import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.cache.VectorSerializer;
+import org.apache.drill.exec.exception.OutOfMemoryException;
+import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.ops.OperatorContext;
 import org.apache.drill.exec.physical.base.PhysicalOperator;
 import org.apache.drill.exec.physical.config.HashAggregate;
 import org.apache.drill.exec.physical.config.HashJoinPOP;
+import org.apache.drill.exec.physical.config.NestedLoopJoinPOP;
 import org.apache.drill.exec.physical.config.Sort;
 import org.apache.drill.exec.proto.ExecProtos.FragmentHandle;
 import org.apache.drill.exec.proto.helper.QueryIdHelper;
@@ -47,6 +53,8 @@ import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.CodecFactory;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 
 import org.apache.drill.shaded.guava.com.google.common.base.Joiner;
 import org.apache.drill.shaded.guava.com.google.common.collect.Iterators;
@@ -412,8 +420,56 @@ public class SpillSet {
 
   private long writeBytes;
 
+  /**
+   * Codec the spill files are compressed with, set per operator type;
+   * {@link CompressionCodecName#UNCOMPRESSED} when not compressed.
+   */
+
+  private CompressionCodecName codecName = CompressionCodecName.UNCOMPRESSED;
+
+  private SpillCodecFactory codecFactory;
+
+  /**
+   * Tallied by the compressing channels, which run on the async writer threads
+   * when async I/O is enabled.
+   */
+
+  private final AtomicLong compressedWriteBytes = new AtomicLong();
+
+  /**
+   * When set, spill files are written and read through double buffers
+   * (allocated from this allocator) by threads of this executor.
+   */
+
+  private BufferAllocator asyncAllocator;
+
+  private ExecutorService asyncExecutor;
+
+  private int asyncBufferSize;
+
+  public SpillSet(OperatorContext context, PhysicalOperator popConfig) {
+    this(context.getFragmentContext(), popConfig);
+
+    if (context.getFragmentContext().getOptions().getOption(ExecConstants.SPILL_ASYNC_IO)) {
+      setAsyncIo(context.getAllocator(), context.getExecutor(),
+          (int) context.getFragmentContext().getOptions().getOption(ExecConstants.SPILL_ASYNC_IO_BUFFER_SIZE));
+    }
+  }
+
   public SpillSet(FragmentContext context, PhysicalOperator popConfig) {
     this(context.getConfig(), context.getHandle(), popConfig);
+
+    String compression;
+    if (popConfig instanceof Sort) {
+      compression = context.getOptions().getOption(ExecConstants.EXTERNAL_SORT_SPILL_COMPRESSION);
+    } else if (popConfig instanceof HashAggregate) {
+      compression = context.getOptions().getOption(ExecConstants.HASHAGG_SPILL_COMPRESSION);
+    } else if (popConfig instanceof HashJoinPOP) {
+      compression = context.getOptions().getOption(ExecConstants.HASHJOIN_SPILL_COMPRESSION);
+    } else {
+      compression = null;
+    }
+    setCompression(compression);
   }
 
   public SpillSet(DrillConfig config, FragmentHandle handle, PhysicalOperator popConfig) {
@@ -438,6 +494,10 @@ public class SpillSet {
       operName = "HashJoin";
       spillFs = config.getString(ExecConstants.HASHJOIN_SPILL_FILESYSTEM);
       dirList = config.getStringList(ExecConstants.HASHJOIN_SPILL_DIRS);
+    } else if (popConfig instanceof NestedLoopJoinPOP) {
+      operName = "NestedLoopJoin";
+      spillFs = config.getString(ExecConstants.SPILL_FILESYSTEM);
+      dirList = config.getStringList(ExecConstants.SPILL_DIRS);
     } else {
         // just use the common ones
         operName = "Unknown";
@@ -511,12 +571,74 @@ public class SpillSet {
 
   public int getFileCount() { return fileCount; }
 
+  /**
+   * Sets the codec of the spill files written (and read) from now on.
+   *
+   * @param compression name of the codec (NONE, SNAPPY, GZIP or ZSTD);
+   * null or NONE to not compress
+   */
+
+  public void setCompression(String compression) {
+    if (compression == null || compression.equalsIgnoreCase("NONE")) {
+      codecName = CompressionCodecName.UNCOMPRESSED;
+    } else {
+      codecName = CompressionCodecName.valueOf(compression.toUpperCase());
+      if (codecFactory == null) {
+        codecFactory = new SpillCodecFactory();
+      }
+    }
+  }
+
+  /**
+   * Writes and reads the spill files opened from now on asynchronously: the writes
+   * are done by a background thread while the operator fills the next buffer, and
+   * reads are done ahead of the operator.
+   *
+   * @param allocator allocator (of the operator) for the two buffers of each open
+   * spill file
+   * @param executor executor of the background reads and writes; null to do the
+   * I/O in the operator thread
+   * @param bufferSize size of each buffer
+   */
+
+  public void setAsyncIo(BufferAllocator allocator, ExecutorService executor, int bufferSize) {
+    asyncAllocator = allocator;
+    asyncExecutor = executor;
+    asyncBufferSize = bufferSize;
+  }
+
+  public boolean isCompressed() {
+    return codecName != CompressionCodecName.UNCOMPRESSED;
+  }
+
   public InputStream openForInput(String fileName) throws IOException {
-    return fileManager.openForInput(fileName);
+    InputStream in = fileManager.openForInput(fileName);
+    if (isCompressed()) {
+      in = new CompressedSpillInputStream(in, codecFactory.newDecompressor(codecName));
+    }
+    if (asyncExecutor != null) {
+      try {
+        in = new AsyncSpillInputStream(in, asyncAllocator, asyncExecutor, asyncBufferSize);
+      } catch (OutOfMemoryException e) {
+        logger.debug("No memory for the read ahead buffers of {}; reading synchronously", fileName);
+      }
+    }
+    return in;
   }
 
   public WritableByteChannel openForOutput(String fileName) throws IOException {
-    return fileManager.createForWrite(fileName);
+    WritableByteChannel channel = fileManager.createForWrite(fileName);
+    if (isCompressed()) {
+      channel = new CompressedSpillChannel(channel, codecFactory.newCompressor(codecName), this);
+    }
+    if (asyncExecutor != null) {
+      try {
+        channel = new AsyncSpillChannel(channel, asyncAllocator, asyncExecutor, asyncBufferSize);
+      } catch (OutOfMemoryException e) {
+        logger.debug("No memory for the write buffers of {}; writing synchronously", fileName);
+      }
+    }
+    return channel;
   }
 
   public void delete(String fileName) throws IOException {
@@ -526,6 +648,15 @@ public class SpillSet {
   public long getWriteBytes() { return writeBytes; }
   public long getReadBytes() { return readBytes; }
 
+  /**
+   * @return the bytes written to the spill files after compression;
+   * the same as {@link #getWriteBytes()} when not compressed
+   */
+
+  public long getCompressedWriteBytes() {
+    return isCompressed() ? compressedWriteBytes.get() : writeBytes;
+  }
+
   public void close() {
     for (String path : currSpillDirs) {
       try {
@@ -536,13 +667,29 @@ public class SpillSet {
       }
       currSpillDirs.clear(); // in case close() is called again
     }
+    if (codecFactory != null) {
+      codecFactory.release();
+      codecFactory = null;
+    }
   }
 
   public long getPosition(InputStream inputStream) {
+    if (inputStream instanceof AsyncSpillInputStream) {
+      inputStream = ((AsyncSpillInputStream) inputStream).getSource();
+    }
+    if (inputStream instanceof CompressedSpillInputStream) {
+      inputStream = ((CompressedSpillInputStream) inputStream).getSource();
+    }
     return fileManager.getReadBytes(inputStream);
   }
 
   public long getPosition(WritableByteChannel channel) {
+    if (channel instanceof AsyncSpillChannel) {
+      channel = ((AsyncSpillChannel) channel).getTarget();
+    }
+    if (channel instanceof CompressedSpillChannel) {
+      channel = ((CompressedSpillChannel) channel).getTarget();
+    }
     return fileManager.getWriteBytes(channel);
   }
 
@@ -554,6 +701,10 @@ public class SpillSet {
     writeBytes += writeLength;
   }
 
+  void tallyCompressedWriteBytes(long writeLength) {
+    compressedWriteBytes.addAndGet(writeLength);
+  }
+
   public VectorSerializer.Writer writer(String fileName) throws IOException {
     return VectorSerializer.writer(openForOutput(fileName));
   }
@@ -562,4 +713,25 @@ public class SpillSet {
     tallyWriteBytes(writer.getBytesWritten());
     writer.close();
   }
+
+  /**
+   * Creates a compressor (decompressor) per spill file: the ones the codec factory
+   * caches per codec are not thread-safe, while the files may be written (read)
+   * concurrently by the async I/O threads. Each is released when its file is closed.
+   */
+
+  private static class SpillCodecFactory extends CodecFactory {
+
+    SpillCodecFactory() {
+      super(new Configuration(), CompressedSpillChannel.BLOCK_SIZE);
+    }
+
+    BytesCompressor newCompressor(CompressionCodecName codecName) {
+      return createCompressor(codecName);
+    }
+
+    BytesDecompressor newDecompressor(CompressionCodecName codecName) {
+      return createDecompressor(codecName);
+    }
+  }
 }
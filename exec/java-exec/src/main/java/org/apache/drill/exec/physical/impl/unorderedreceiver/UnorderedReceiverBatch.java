@@ -202,7 +202,7 @@ public class UnorderedReceiverBatch implements CloseableRecordBatch {
       }
 
       RecordBatchDef rbd = batch.getHeader().getDef();
-      boolean schemaChanged = batchLoader.load(rbd, batch.getBody());
+      boolean schemaChanged = batchLoader.load(rbd, batch.getBuffers());
       // TODO:  Clean:  DRILL-2933:  That load(...) no longer throws
       // SchemaChangeException, so check/clean catch clause below.
       stats.addLongStat(Metric.BYTES_RECEIVED, batch.getByteCount());
@@ -39,6 +39,14 @@ public abstract class MSortTemplate implements MSorter, IndexedSortable {
 
   private SelectionVector4 vector4;
   private SelectionVector4 aux;
+  private SortKeyNormalizer normalizer;
+
+  /**
+   * The normalized key prefixes of the records in vector4 (and aux), by position;
+   * null when the keys are not normalized.
+   */
+  private DrillBuf keys;
+  private DrillBuf auxKeys;
   @SuppressWarnings("unused")
   private long compares;
 
@@ -54,6 +62,11 @@ public abstract class MSortTemplate implements MSorter, IndexedSortable {
    */
   private int desiredRecordBatchCount;
 
+  @Override
+  public void setKeyNormalizer(SortKeyNormalizer normalizer) {
+    this.normalizer = normalizer;
+  }
+
   @Override
   public void setup(FragmentContext context, BufferAllocator allocator, SelectionVector4 vector4,
                     VectorContainer hyperBatch, int outputBatchSize, int desiredBatchSize) throws SchemaChangeException{
@@ -89,6 +102,25 @@ public abstract class MSortTemplate implements MSorter, IndexedSortable {
     desiredRecordBatchCount = Math.min(outputBatchSize, desiredBatchSize);
     desiredRecordBatchCount = Math.min(desiredRecordBatchCount, totalCount);
     aux = new SelectionVector4(drillBuf, totalCount, desiredRecordBatchCount);
+
+    if (normalizer != null) {
+      encodeKeys(allocator, hyperBatch, totalCount);
+    }
+  }
+
+  private void encodeKeys(BufferAllocator allocator, VectorContainer hyperBatch, int totalCount) {
+    keys = allocator.buffer(8 * totalCount);
+    auxKeys = allocator.buffer(8 * totalCount);
+    int batch = -1;
+    SortKeyNormalizer.KeyVectors[] keyVectors = null;
+    for (int i = 0; i < totalCount; i++) {
+      int index = vector4.get(i);
+      if (index >>> 16 != batch) {
+        batch = index >>> 16;
+        keyVectors = normalizer.bind(hyperBatch, batch);
+      }
+      keys.setLong(i * 8, normalizer.encode(keyVectors, index & 0xFFFF));
+    }
   }
 
   /**
@@ -104,6 +136,18 @@ public abstract class MSortTemplate implements MSorter, IndexedSortable {
     return BaseAllocator.nextPowerOfTwo(recordCount * 4);
   }
 
+  /**
+   * As {@link #memoryNeeded(int)}, with the normalized key prefixes (two buffers of
+   * 8 bytes per record) if the keys are normalized.
+   */
+  public static long memoryNeeded(int recordCount, boolean normalizedKeys) {
+    long needed = memoryNeeded(recordCount);
+    if (normalizedKeys) {
+      needed += 2 * BaseAllocator.nextPowerOfTwo(recordCount * 8);
+    }
+    return needed;
+  }
+
   /**
    * Given two regions within the selection vector 4 (a left and a right), merge
    * the two regions to produce a combined output region in the auxiliary
@@ -115,16 +159,16 @@ public abstract class MSortTemplate implements MSorter, IndexedSortable {
     int o = outStart;
     while (l < rightStart && r < rightEnd) {
       if (compare(l, r) <= 0) {
-        aux.set(o++, vector4.get(l++));
+        moveToAux(l++, o++);
       } else {
-        aux.set(o++, vector4.get(r++));
+        moveToAux(r++, o++);
       }
     }
     while (l < rightStart) {
-      aux.set(o++, vector4.get(l++));
+      moveToAux(l++, o++);
     }
     while (r < rightEnd) {
-      aux.set(o++, vector4.get(r++));
+      moveToAux(r++, o++);
     }
     assert o == outStart + (rightEnd - leftStart);
     return o;
@@ -177,14 +221,25 @@ public abstract class MSortTemplate implements MSorter, IndexedSortable {
       vector4.clear();
       vector4 = tmp.createNewWrapperCurrent(desiredRecordBatchCount);
       tmp.clear();
+      DrillBuf tmpKeys = auxKeys;
+      auxKeys = keys;
+      keys = tmpKeys;
       runStarts = newRunStarts;
     }
     aux.clear();
+    releaseKeys();
   }
 
   private void copyRun(int start, int end) {
     for (int i = start; i < end; i++) {
-      aux.set(i, vector4.get(i));
+      moveToAux(i, i);
+    }
+  }
+
+  private void moveToAux(int from, int to) {
+    aux.set(to, vector4.get(from));
+    if (keys != null) {
+      auxKeys.setLong(to * 8, keys.getLong(from * 8));
     }
   }
 
@@ -193,10 +248,21 @@ public abstract class MSortTemplate implements MSorter, IndexedSortable {
     int tmp = vector4.get(sv0);
     vector4.set(sv0, vector4.get(sv1));
     vector4.set(sv1, tmp);
+    if (keys != null) {
+      long tmpKey = keys.getLong(sv0 * 8);
+      keys.setLong(sv0 * 8, keys.getLong(sv1 * 8));
+      keys.setLong(sv1 * 8, tmpKey);
+    }
   }
 
   @Override
   public int compare(int leftIndex, int rightIndex) {
+    if (keys != null) {
+      int result = Long.compareUnsigned(keys.getLong(leftIndex * 8), keys.getLong(rightIndex * 8));
+      if (result != 0 || normalizer.isExact()) {
+        return result;
+      }
+    }
     int sv1 = vector4.get(leftIndex);
     int sv2 = vector4.get(rightIndex);
     compares++;
@@ -217,6 +283,18 @@ public abstract class MSortTemplate implements MSorter, IndexedSortable {
       aux.clear();
       aux = null;
     }
+    releaseKeys();
+  }
+
+  private void releaseKeys() {
+    if (keys != null) {
+      keys.release();
+      keys = null;
+    }
+    if (auxKeys != null) {
+      auxKeys.release();
+      auxKeys = null;
+    }
   }
 
   public abstract void doSetup(@Named("context") FragmentContext context,
@@ -36,6 +36,11 @@ public interface MSorter {
                     SelectionVector4 vector4, VectorContainer hyperBatch,
                     int outputBatchSize, int desiredBatchSize)
                         throws SchemaChangeException;
+  /**
+   * Compares the records by their normalized key prefixes first (see {@link SortKeyNormalizer});
+   * must be called before {@link #setup}.
+   */
+  void setKeyNormalizer(SortKeyNormalizer normalizer);
   void sort();
   SelectionVector4 getSV4();
   void clear();
@@ -32,6 +32,12 @@ public interface PriorityQueueCopier extends AutoCloseable {
   void setup(BufferAllocator allocator, VectorAccessible hyperBatch,
       List<BatchGroup> batchGroups, VectorAccessible outgoing) throws SchemaChangeException;
 
+  /**
+   * Compares the heads of the batch groups by their normalized key prefixes first
+   * (see {@link SortKeyNormalizer}); must be called before {@link #setup}.
+   */
+  void setKeyNormalizer(SortKeyNormalizer normalizer);
+
   int next(int targetRecordCount);
 
   @Override
@@ -24,19 +24,30 @@ import javax.inject.Named;
 
 import org.apache.drill.exec.exception.SchemaChangeException;
 import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.physical.impl.common.LoserTree;
 import org.apache.drill.exec.record.VectorAccessible;
 import org.apache.drill.exec.record.VectorAccessibleUtilities;
-import org.apache.drill.exec.record.selection.SelectionVector4;
 
-import io.netty.buffer.DrillBuf;
-
-public abstract class PriorityQueueCopierTemplate implements PriorityQueueCopier {
-  private SelectionVector4 vector4;
+/**
+ * Merges the sorted batch groups with a tournament tree of losers (see
+ * {@link LoserTree}), comparing the normalized key prefixes of the heads of
+ * the groups first, if the keys are normalized.
+ */
+public abstract class PriorityQueueCopierTemplate implements PriorityQueueCopier, LoserTree.StreamComparator {
   private List<BatchGroup> batchGroups;
   private VectorAccessible hyperBatch;
   private VectorAccessible outgoing;
-  private int size;
-  private int queueSize;
+  private SortKeyNormalizer normalizer;
+  // the (batch << 16) + index of the head of each batch group
+  private int[] heads;
+  // the vectors of the sort keys of the current batch of each batch group
+  private SortKeyNormalizer.KeyVectors[][] keyVectors;
+  private LoserTree tree;
+
+  @Override
+  public void setKeyNormalizer(SortKeyNormalizer normalizer) {
+    this.normalizer = normalizer;
+  }
 
   @Override
   public void setup(BufferAllocator allocator, VectorAccessible hyperBatch, List<BatchGroup> batchGroups,
@@ -44,45 +55,36 @@ public abstract class PriorityQueueCopierTemplate implements PriorityQueueCopier
     this.hyperBatch = hyperBatch;
     this.batchGroups = batchGroups;
     this.outgoing = outgoing;
-    this.size = batchGroups.size();
+    int size = batchGroups.size();
 
-    final DrillBuf drillBuf = allocator.buffer(4 * size);
-    vector4 = new SelectionVector4(drillBuf, size, Character.MAX_VALUE);
+    heads = new int[size];
+    keyVectors = normalizer == null ? null : new SortKeyNormalizer.KeyVectors[size][];
+    tree = normalizer == null ? new LoserTree(size, this)
+        : new LoserTree(size, this, true, normalizer.isExact());
     doSetup(hyperBatch, outgoing);
 
-    queueSize = 0;
     for (int i = 0; i < size; i++) {
-      int index = batchGroups.get(i).getNextIndex();
-      vector4.set(i, i, index);
-      if (index > -1) {
-        siftUp();
-        queueSize++;
-      }
+      setHead(i, batchGroups.get(i).getNextIndex());
     }
+    tree.build();
   }
 
   @Override
   public int next(int targetRecordCount) {
     try {
      for (int outgoingIndex = 0; outgoingIndex < targetRecordCount; outgoingIndex++) {
-        if (queueSize == 0) {
+        int batch = tree.getWinner();
+        if (batch < 0) {
           return 0;
         }
-        int compoundIndex = vector4.get(0);
-        int batch = compoundIndex >>> 16;
         assert batch < batchGroups.size() : String.format("batch: %d batchGroups: %d", batch, batchGroups.size());
-        doCopy(compoundIndex, outgoingIndex);
-        int nextIndex = batchGroups.get(batch).getNextIndex();
-        if (nextIndex < 0) {
-          vector4.set(0, vector4.get(--queueSize));
-        } else {
-          vector4.set(0, batch, nextIndex);
-        }
-        if (queueSize == 0) {
+        doCopy(heads[batch], outgoingIndex);
+        setHead(batch, batchGroups.get(batch).getNextIndex());
+        tree.replayWinner();
+        if (tree.isEmpty()) {
           VectorAccessibleUtilities.setValueCount(outgoing, ++outgoingIndex);
           return outgoingIndex;
         }
-        siftDown();
       }
       VectorAccessibleUtilities.setValueCount(outgoing, targetRecordCount);
       return targetRecordCount;
@@ -91,60 +93,43 @@ public abstract class PriorityQueueCopierTemplate implements PriorityQueueCopier
     }
   }
 
+  /**
+   * Sets the head of a batch group, and its prefix if the keys are normalized.
+   *
+   * @param batch the batch group
+   * @param index the index of its head in its current batch, -1 if none
+   */
+  private void setHead(int batch, int index) {
+    if (index < 0) {
+      tree.setExhausted(batch);
+      return;
+    }
+    heads[batch] = (batch << 16) + index;
+    if (normalizer != null) {
+      // a spilled run returns index 0 for the first record of each batch it reads
+      if (keyVectors[batch] == null || index == 0) {
+        keyVectors[batch] = normalizer.bind(hyperBatch, batch);
+      }
+      tree.setPrefix(batch, normalizer.encode(keyVectors[batch], index));
+    }
+  }
+
   @Override
   public void close() throws IOException {
-    vector4.clear();
     VectorAccessibleUtilities.clear(outgoing);
     VectorAccessibleUtilities.clear(hyperBatch);
     BatchGroup.closeAll(batchGroups);
   }
 
-  private void siftUp() throws SchemaChangeException {
-    int p = queueSize;
-    while (p > 0) {
-      if (compare(p, (p - 1) / 2) < 0) {
-        swap(p, (p - 1) / 2);
-        p = (p - 1) / 2;
-      } else {
-        break;
-      }
-    }
-  }
-
-  private void siftDown() throws SchemaChangeException {
-    int p = 0;
-    int next;
-    while (p * 2 + 1 < queueSize) { // While the current node has at least one child
-      if (p * 2 + 2 >= queueSize) { // if current node has only one child, then we only look at it
-        next = p * 2 + 1;
-      } else {
-        if (compare(p * 2 + 1, p * 2 + 2) <= 0) {//if current node has two children, we must first determine which one has higher priority
-          next = p * 2 + 1;
-        } else {
-          next = p * 2 + 2;
-        }
-      }
-      if (compare(p, next) > 0) { // compare current node to highest priority child and swap if necessary
-        swap(p, next);
-        p = next;
-      } else {
-        break;
-      }
+  @Override
+  public int compareStreams(int leftStream, int rightStream) {
+    try {
+      return doEval(heads[leftStream], heads[rightStream]);
+    } catch (SchemaChangeException e) {
+      throw new IllegalStateException(e);
     }
   }
 
-  public void swap(int sv0, int sv1) {
-    int tmp = vector4.get(sv0);
-    vector4.set(sv0, vector4.get(sv1));
-    vector4.set(sv1, tmp);
-  }
-
-  public int compare(int leftIndex, int rightIndex) throws SchemaChangeException {
-    int sv1 = vector4.get(leftIndex);
-    int sv2 = vector4.get(rightIndex);
-    return doEval(sv1, sv2);
-  }
-
   public abstract void doSetup(@Named("incoming") VectorAccessible incoming,
                                @Named("outgoing") VectorAccessible outgoing)
                        throws SchemaChangeException;
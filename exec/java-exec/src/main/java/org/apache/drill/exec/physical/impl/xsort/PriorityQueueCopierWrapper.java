@@ -23,6 +23,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.drill.common.exceptions.UserException;
 import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.compile.sig.GeneratorMapping;
 import org.apache.drill.exec.compile.sig.MappingSet;
 import org.apache.drill.exec.exception.SchemaChangeException;
@@ -31,6 +32,7 @@ import org.apache.drill.exec.expr.CodeGenerator;
 import org.apache.drill.exec.expr.TypeHelper;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.ops.OperatorContext;
+import org.apache.drill.exec.physical.config.Sort;
 import org.apache.drill.exec.physical.impl.xsort.SortImpl.SortResults;
 import org.apache.drill.exec.record.BatchSchema;
 import org.apache.drill.exec.record.MaterializedField;
@@ -96,7 +98,17 @@ public class PriorityQueueCopierWrapper extends BaseSortWrapper {
     g.setMappingSet(COPIER_MAPPING_SET);
     CopyUtil.generateCopies(g, batch, true);
     g.setMappingSet(MAIN_MAPPING);
-    return getInstance(cg, logger);
+    PriorityQueueCopier queueCopier = getInstance(cg, logger);
+
+    if (context.getFragmentContext().getOptions().getOption(ExecConstants.EXTERNAL_SORT_NORMALIZED_KEYS)) {
+      Sort popConfig = context.getOperatorDefn();
+      SortKeyNormalizer normalizer = SortKeyNormalizer.create(popConfig.getOrderings(), batch,
+          context.getFragmentContext().getFunctionRegistry(), 64);
+      if (normalizer != null) {
+        queueCopier.setKeyNormalizer(normalizer);
+      }
+    }
+    return queueCopier;
   }
 
   /**
@@ -27,6 +27,12 @@ public interface SingleBatchSorter {
   public void setup(FragmentContext context, SelectionVector2 vector2, VectorAccessible incoming) throws SchemaChangeException;
   public void sort(SelectionVector2 vector2) throws SchemaChangeException;
 
+  /**
+   * Sorts the batches by their normalized key prefixes first (see {@link SortKeyNormalizer}),
+   * which must fit in 48 bits.
+   */
+  public void setKeyNormalizer(SortKeyNormalizer normalizer);
+
   public static TemplateClassDefinition<SingleBatchSorter> TEMPLATE_DEFINITION =
       new TemplateClassDefinition<SingleBatchSorter>(SingleBatchSorter.class, SingleBatchSorterTemplate.class);
 }
@@ -36,11 +36,24 @@ public abstract class SingleBatchSorterTemplate implements SingleBatchSorter, In
   static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(SingleBatchSorterTemplate.class);
 
   private SelectionVector2 vector2;
+  private VectorAccessible incoming;
+  private SortKeyNormalizer normalizer;
+
+  // the (normalized key prefix, record index) pairs, reused across batches
+  private long[] keys;
+  private long[] scratch;
+
+  @Override
+  public void setKeyNormalizer(SortKeyNormalizer normalizer) {
+    Preconditions.checkArgument(normalizer.getPrefixBits() <= 48);
+    this.normalizer = normalizer;
+  }
 
   @Override
   public void setup(FragmentContext context, SelectionVector2 vector2, VectorAccessible incoming) throws SchemaChangeException{
     Preconditions.checkNotNull(vector2);
     this.vector2 = vector2;
+    this.incoming = incoming;
     try {
       doSetup(context, incoming, null);
     } catch (IllegalStateException e) {
@@ -53,11 +66,47 @@ public abstract class SingleBatchSorterTemplate implements SingleBatchSorter, In
     QuickSort qs = new QuickSort();
     Stopwatch watch = Stopwatch.createStarted();
     if (vector2.getCount() > 0) {
-      qs.sort(this, 0, vector2.getCount());
+      if (normalizer != null) {
+        sortByKeyPrefix(qs, vector2.getCount());
+      } else {
+        qs.sort(this, 0, vector2.getCount());
+      }
     }
     logger.debug("Took {} us to sort {} records", watch.elapsed(TimeUnit.MICROSECONDS), vector2.getCount());
   }
 
+  /**
+   * Radix sorts the records by their normalized key prefixes (packed with the record index
+   * in the low 16 bits), then sorts each run of equal prefixes with full comparisons.
+   */
+  private void sortByKeyPrefix(QuickSort qs, int count) {
+    if (keys == null || keys.length < count) {
+      keys = new long[count];
+      scratch = new long[count];
+    }
+    SortKeyNormalizer.KeyVectors[] keyVectors = normalizer.bind(incoming, 0);
+    for (int i = 0; i < count; i++) {
+      char index = vector2.getIndex(i);
+      keys[i] = normalizer.encode(keyVectors, index) | index;
+    }
+    long[] sorted = SortKeyNormalizer.radixSort(keys, scratch, count, normalizer.getPrefixBits());
+    for (int i = 0; i < count; i++) {
+      vector2.setIndex(i, (char) sorted[i]);
+    }
+    if (normalizer.isExact()) {
+      return;
+    }
+    int start = 0;
+    for (int i = 1; i <= count; i++) {
+      if (i == count || (sorted[i] >>> 16) != (sorted[start] >>> 16)) {
+        if (i - start > 1) {
+          qs.sort(this, start, i);
+        }
+        start = i;
+      }
+    }
+  }
+
   @Override
   public void swap(int sv0, int sv1) {
     char tmp = vector2.getIndex(sv0);
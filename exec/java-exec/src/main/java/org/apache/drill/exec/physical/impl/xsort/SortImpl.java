@@ -20,6 +20,7 @@ package org.apache.drill.exec.physical.impl.xsort;
 import java.io.IOException;
 import java.util.List;
 
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.expr.TypeHelper;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.ops.OperatorContext;
@@ -474,7 +475,8 @@ public class SortImpl {
 
     // Do we have enough memory for MSorter (the in-memory sorter)?
 
-    if (! memManager.hasMemoryMergeCapacity(allocator.getAllocatedMemory(), MSortTemplate.memoryNeeded(metrics.getInputRowCount()))) {
+    boolean normalizedKeys = context.getFragmentContext().getOptions().getOption(ExecConstants.EXTERNAL_SORT_NORMALIZED_KEYS);
+    if (! memManager.hasMemoryMergeCapacity(allocator.getAllocatedMemory(), MSortTemplate.memoryNeeded(metrics.getInputRowCount(), normalizedKeys))) {
       return false; }
 
     // Make sure we don't exceed the maximum number of batches SV4 can address.
@@ -573,6 +575,7 @@ public class SortImpl {
 
   public void close() {
     metrics.updateWriteBytes(spilledRuns.getWriteBytes());
+    metrics.updateCompressedWriteBytes(spilledRuns.getCompressedWriteBytes());
     RuntimeException ex = null;
     try {
       spilledRuns.close();
@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.xsort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.calcite.rel.RelFieldCollation.Direction;
+import org.apache.drill.common.expression.ErrorCollector;
+import org.apache.drill.common.expression.ErrorCollectorImpl;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.logical.data.Order.Ordering;
+import org.apache.drill.common.types.TypeProtos.DataMode;
+import org.apache.drill.common.types.TypeProtos.MajorType;
+import org.apache.drill.exec.expr.ExpressionTreeMaterializer;
+import org.apache.drill.exec.expr.ValueVectorReadExpression;
+import org.apache.drill.exec.expr.fn.FunctionLookupContext;
+import org.apache.drill.exec.record.TypedFieldId;
+import org.apache.drill.exec.record.VectorAccessible;
+import org.apache.drill.exec.record.VectorWrapper;
+import org.apache.drill.exec.vector.BaseDataValueVector;
+import org.apache.drill.exec.vector.BitVector;
+import org.apache.drill.exec.vector.NullableVector;
+import org.apache.drill.exec.vector.UInt1Vector;
+import org.apache.drill.exec.vector.UInt4Vector;
+import org.apache.drill.exec.vector.ValueVector;
+import org.apache.drill.exec.vector.VariableWidthVector;
+
+import io.netty.buffer.DrillBuf;
+
+/**
+ * Encodes the leading sort keys of a record into a normalized key prefix: an unsigned
+ * 64 bit value (left aligned) such that a record whose prefix is smaller also sorts first.
+ * Comparing two prefixes replaces the (generated) comparison of each sort key, which is
+ * then only needed for records whose prefixes are equal.
+ * <p>
+ * Each key adds a null bit (if nullable) and then its value, with the sign bit flipped
+ * for integers and floats, and all the bits inverted for a descending key. Fixed width
+ * keys take 1 (BIT), 32 or 64 bits; VARCHAR and VARBINARY keys take their first 8 bytes
+ * and end the prefix. The last key that fits is truncated to the remaining bits. When all
+ * the sort keys are fully encoded the prefix is exact, and equal prefixes mean equal keys.
+ * <p>
+ * Only sort keys that are plain (top level) columns are encoded; the prefix stops at the
+ * first key that is not, or is of another type.
+ */
+public class SortKeyNormalizer {
+
+  private static final int PREFIX_BYTES = 8;
+
+  /**
+   * A sort key included in the prefix.
+   */
+  private static class KeyField {
+    private final TypedFieldId fieldId;
+    private final MajorType type;
+    private final boolean descending;
+    private final boolean nullsHigh;
+    private final int valueBits;  // the bits of the full (normalized) value
+    private final int takenBits;  // the bits of the value kept in the prefix
+
+    private KeyField(TypedFieldId fieldId, boolean descending, boolean nullsHigh, int valueBits, int takenBits) {
+      this.fieldId = fieldId;
+      this.type = fieldId.getFinalType();
+      this.descending = descending;
+      this.nullsHigh = nullsHigh;
+      this.valueBits = valueBits;
+      this.takenBits = takenBits;
+    }
+
+    private boolean isNullable() {
+      return type.getMode() == DataMode.OPTIONAL;
+    }
+
+    private int getBits() {
+      return takenBits + (isNullable() ? 1 : 0);
+    }
+  }
+
+  /**
+   * The vectors of a sort key within one batch.
+   */
+  public static class KeyVectors {
+    private final DrillBuf values;
+    private final BitVector.Accessor bits;
+    private final UInt4Vector.Accessor offsets;
+    private final UInt1Vector.Accessor isSet; // null for a required key
+
+    private KeyVectors(ValueVector vector) {
+      ValueVector valuesVector = vector;
+      if (vector instanceof NullableVector) {
+        isSet = ((UInt1Vector) ((NullableVector) vector).getBitsVector()).getAccessor();
+        valuesVector = ((NullableVector) vector).getValuesVector();
+      } else {
+        isSet = null;
+      }
+      bits = valuesVector instanceof BitVector ? ((BitVector) valuesVector).getAccessor() : null;
+      offsets = valuesVector instanceof VariableWidthVector ? ((VariableWidthVector) valuesVector).getOffsetVector().getAccessor() : null;
+      values = ((BaseDataValueVector) valuesVector).getBuffer();
+    }
+  }
+
+  private final KeyField[] keys;
+  private final int prefixBits;
+  private final boolean exact;
+
+  private SortKeyNormalizer(KeyField[] keys, int prefixBits, boolean exact) {
+    this.keys = keys;
+    this.prefixBits = prefixBits;
+    this.exact = exact;
+  }
+
+  /**
+   * Creates the normalizer of the given sort orderings over the given batch.
+   *
+   * @param maxBits the number of bits (up to 64) available for the prefix
+   * @return the normalizer, or null if the first sort key can not be encoded
+   */
+  public static SortKeyNormalizer create(List<Ordering> orderings, VectorAccessible batch,
+                                         FunctionLookupContext functionLookup, int maxBits) {
+    List<KeyField> keys = new ArrayList<>();
+    int bits = 0;
+    boolean exact = true;
+    for (Ordering ordering : orderings) {
+      ErrorCollector collector = new ErrorCollectorImpl();
+      LogicalExpression expr = ExpressionTreeMaterializer.materialize(ordering.getExpr(), batch, collector, functionLookup);
+      if (collector.hasErrors() || !(expr instanceof ValueVectorReadExpression)) {
+        exact = false;
+        break;
+      }
+      TypedFieldId fieldId = ((ValueVectorReadExpression) expr).getFieldId();
+      int valueBits = fieldId.getFieldIds().length == 1 ? valueBits(fieldId.getFinalType()) : 0;
+      if (valueBits == 0) {
+        exact = false;
+        break;
+      }
+      int nullBits = fieldId.getFinalType().getMode() == DataMode.OPTIONAL ? 1 : 0;
+      int available = maxBits - bits - nullBits;
+      if (available <= 0) {
+        exact = false;
+        break;
+      }
+      int takenBits = Math.min(valueBits, available);
+      KeyField key = new KeyField(fieldId, ordering.getDirection() == Direction.DESCENDING,
+          ordering.nullsSortHigh(), valueBits, takenBits);
+      keys.add(key);
+      bits += key.getBits();
+      if (takenBits < valueBits || isVariableWidth(fieldId.getFinalType())) {
+        exact = false;
+        break;
+      }
+    }
+    if (keys.isEmpty()) {
+      return null;
+    }
+    return new SortKeyNormalizer(keys.toArray(new KeyField[0]), bits, exact && keys.size() == orderings.size());
+  }
+
+  // The number of bits of a normalized value of the given type, or 0 if not supported
+  private static int valueBits(MajorType type) {
+    if (type.getMode() == DataMode.REPEATED) {
+      return 0;
+    }
+    switch (type.getMinorType()) {
+      case BIT:
+        return 1;
+      case INT:
+      case TIME:
+      case FLOAT4:
+        return 32;
+      case BIGINT:
+      case DATE:
+      case TIMESTAMP:
+      case FLOAT8:
+      case VARCHAR:
+      case VARBINARY:
+        return 64;
+      default:
+        return 0;
+    }
+  }
+
+  private static boolean isVariableWidth(MajorType type) {
+    switch (type.getMinorType()) {
+      case VARCHAR:
+      case VARBINARY:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * @return the number of (leading) bits of the prefix which hold the encoded keys
+   */
+  public int getPrefixBits() {
+    return prefixBits;
+  }
+
+  /**
+   * @return true if equal prefixes mean that all the sort keys are equal
+   */
+  public boolean isExact() {
+    return exact;
+  }
+
+  /**
+   * Looks up the vectors of the sort keys within the given batch (or within the given
+   * batch of a hyper batch).
+   */
+  public KeyVectors[] bind(VectorAccessible batch, int batchIndex) {
+    KeyVectors[] vectors = new KeyVectors[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      VectorWrapper<?> wrapper = batch.getValueAccessorById(ValueVector.class, keys[i].fieldId.getFieldIds());
+      vectors[i] = new KeyVectors(wrapper.isHyper() ? wrapper.getValueVectors()[batchIndex] : wrapper.getValueVector());
+    }
+    return vectors;
+  }
+
+  /**
+   * @return the (left aligned) prefix of the record at the given index of the bound batch
+   */
+  public long encode(KeyVectors[] vectors, int index) {
+    long prefix = 0;
+    for (int i = 0; i < keys.length; i++) {
+      KeyField key = keys[i];
+      KeyVectors keyVectors = vectors[i];
+      long bits;
+      if (key.isNullable()) {
+        boolean isNull = keyVectors.isSet.get(index) == 0;
+        long nullBit = isNull == key.nullsHigh ? 1 : 0;
+        long value = isNull ? 0 : normalize(key, keyVectors, index) >>> (key.valueBits - key.takenBits);
+        bits = (nullBit << key.takenBits) | value;
+      } else {
+        bits = normalize(key, keyVectors, index) >>> (key.valueBits - key.takenBits);
+      }
+      int keyBits = key.getBits();
+      if (key.descending) {
+        bits = keyBits == 64 ? ~bits : ~bits & ((1L << keyBits) - 1);
+      }
+      prefix = keyBits == 64 ? bits : (prefix << keyBits) | bits;
+    }
+    return prefixBits == 64 ? prefix : prefix << (64 - prefixBits);
+  }
+
+  // The unsigned value (right aligned in valueBits) of a non null key, in ascending order
+  private static long normalize(KeyField key, KeyVectors vectors, int index) {
+    switch (key.type.getMinorType()) {
+      case BIT:
+        return vectors.bits.get(index);
+      case INT:
+      case TIME:
+        return (vectors.values.getInt(index * 4) ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+      case BIGINT:
+      case DATE:
+      case TIMESTAMP:
+        return vectors.values.getLong(index * 8) ^ Long.MIN_VALUE;
+      case FLOAT4: {
+        // -0.0 equals 0.0 and all NaNs are equal (and greater than any other value)
+        int bits = Float.floatToIntBits(vectors.values.getFloat(index * 4) + 0.0f);
+        return (bits < 0 ? ~bits : bits ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+      }
+      case FLOAT8: {
+        long bits = Double.doubleToLongBits(vectors.values.getDouble(index * 8) + 0.0);
+        return bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+      }
+      default: {
+        // the first bytes (compared unsigned), padded with zeros
+        int start = vectors.offsets.get(index);
+        int length = vectors.offsets.get(index + 1) - start;
+        long value = 0;
+        for (int i = 0; i < PREFIX_BYTES; i++) {
+          value = (value << 8) | (i < length ? vectors.values.getByte(start + i) & 0xFF : 0);
+        }
+        return value;
+      }
+    }
+  }
+
+  /**
+   * Sorts the given (unsigned) values by their leading bits with a least significant
+   * digit radix sort, a byte at a time.
+   *
+   * @param values the values to sort
+   * @param scratch an array (at least as long as the values) used by the sort
+   * @param count the number of values to sort
+   * @param bits the number of leading bits to sort by
+   * @return the array (either values or scratch) which holds the sorted values
+   */
+  public static long[] radixSort(long[] values, long[] scratch, int count, int bits) {
+    long[] from = values;
+    if (count < 2) {
+      return from;
+    }
+    int[] counts = new int[256];
+    long[] to = scratch;
+    int bytes = (bits + 7) / 8;
+    for (int shift = 64 - 8 * bytes; shift < 64; shift += 8) {
+      Arrays.fill(counts, 0);
+      for (int i = 0; i < count; i++) {
+        counts[(int) (from[i] >>> shift) & 0xFF]++;
+      }
+      if (counts[(int) (from[0] >>> shift) & 0xFF] == count) {
+        continue; // all the values share this byte
+      }
+      int offset = 0;
+      for (int b = 0; b < 256; b++) {
+        int bucketCount = counts[b];
+        counts[b] = offset;
+        offset += bucketCount;
+      }
+      for (int i = 0; i < count; i++) {
+        long value = from[i];
+        to[counts[(int) (value >>> shift) & 0xFF]++] = value;
+      }
+      long[] tmp = from;
+      from = to;
+      to = tmp;
+    }
+    return from;
+  }
+}
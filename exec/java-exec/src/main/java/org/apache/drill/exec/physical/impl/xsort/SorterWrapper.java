@@ -18,10 +18,12 @@
 package org.apache.drill.exec.physical.impl.xsort;
 
 import org.apache.drill.common.exceptions.UserException;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.exception.SchemaChangeException;
 import org.apache.drill.exec.expr.ClassGenerator;
 import org.apache.drill.exec.expr.CodeGenerator;
 import org.apache.drill.exec.ops.OperatorContext;
+import org.apache.drill.exec.physical.config.Sort;
 import org.apache.drill.exec.record.VectorAccessible;
 import org.apache.drill.exec.record.VectorContainer;
 import org.apache.drill.exec.record.selection.SelectionVector2;
@@ -83,6 +85,17 @@ public class SorterWrapper extends BaseSortWrapper {
 //    cg.saveCodeForDebugging(true);
 
     generateComparisons(g, batch, logger);
-    return getInstance(cg, logger);
+    SingleBatchSorter sorter = getInstance(cg, logger);
+
+    // the record index takes the low 16 bits of each sorted key
+    if (context.getFragmentContext().getOptions().getOption(ExecConstants.EXTERNAL_SORT_NORMALIZED_KEYS)) {
+      Sort popConfig = context.getOperatorDefn();
+      SortKeyNormalizer normalizer = SortKeyNormalizer.create(popConfig.getOrderings(), batch,
+          context.getFragmentContext().getFunctionRegistry(), 48);
+      if (normalizer != null) {
+        sorter.setKeyNormalizer(normalizer);
+      }
+    }
+    return sorter;
   }
 }
@@ -73,6 +73,7 @@ public class SpilledRuns {
   public int size() { return spilledRuns.size(); }
   public boolean hasSpilled() { return spillSet.hasSpilled(); }
   public long getWriteBytes() { return spillSet.getWriteBytes(); }
+  public long getCompressedWriteBytes() { return spillSet.getCompressedWriteBytes(); }
 
   public static List<BatchGroup> prepareSpillBatches(LinkedList<? extends BatchGroup> source, int spillCount) {
     List<BatchGroup> batchesToSpill = Lists.newArrayList();
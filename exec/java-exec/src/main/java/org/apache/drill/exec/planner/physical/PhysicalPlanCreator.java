@@ -54,6 +54,13 @@ public class PhysicalPlanCreator {
     return context;
   }
 
+  /**
+   * @return The operator id assigned to the given Prel (of the plan being converted).
+   */
+  public int getOperatorId(Prel prel) {
+    return opIdMap.get(prel).getAsSingleInt();
+  }
+
   public PhysicalOperator addMetadata(Prel originalPrel, PhysicalOperator op){
     op.setOperatorId(opIdMap.get(originalPrel).getAsSingleInt());
     op.setCost(getPrelCostEstimates(originalPrel, op));
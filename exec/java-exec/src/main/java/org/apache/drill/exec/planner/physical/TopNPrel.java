@@ -21,17 +21,22 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.List;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.drill.shaded.guava.com.google.common.collect.Lists;
 import org.apache.calcite.rel.RelCollations;
 import org.apache.calcite.rel.RelFieldCollation;
+import org.apache.calcite.rel.type.RelDataTypeField;
+import org.apache.calcite.rex.RexInputRef;
 import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.physical.base.PhysicalOperator;
 import org.apache.drill.exec.physical.config.TopN;
 import org.apache.drill.exec.planner.common.OrderedRel;
 import org.apache.drill.exec.planner.cost.DrillCostBase;
 import org.apache.drill.exec.planner.cost.DrillCostBase.DrillCostFactory;
 import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
+import org.apache.drill.exec.store.parquet.AbstractParquetGroupScan;
 import org.apache.calcite.rel.RelCollation;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.RelWriter;
@@ -63,10 +68,61 @@ public class TopNPrel extends SinglePrel implements OrderedRel,Prel {
 
     PhysicalOperator childPOP = child.getPhysicalOperator(creator);
 
-    TopN topN = new TopN(childPOP, PrelUtil.getOrdering(this.collation, getInput().getRowType()), false, this.limit);
+    Integer thresholdScanId = null;
+    String thresholdColumn = null;
+    if (creator.getContext().getOptions().getOption(ExecConstants.TOPN_ENABLE_THRESHOLD_FILTER)) {
+      Pair<ScanPrel, String> scanColumn = findThresholdScanColumn();
+      if (scanColumn != null) {
+        thresholdScanId = creator.getOperatorId(scanColumn.getLeft());
+        thresholdColumn = scanColumn.getRight();
+      }
+    }
+
+    TopN topN = new TopN(childPOP, PrelUtil.getOrdering(this.collation, getInput().getRowType()), false, this.limit,
+        thresholdScanId, thresholdColumn);
     return creator.addMetadata(this, topN);
   }
 
+  /**
+   * Finds the Parquet scan (and its column) that the first sort key is read from, when only
+   * filters and plain column projections separate the scan from this Top-N (i.e. they are in
+   * the same fragment). Such a scan may skip the rows that can not enter the Top-N.
+   *
+   * @return The scan and the column name, or null if there is no such scan
+   */
+  private Pair<ScanPrel, String> findThresholdScanColumn() {
+    if (collation.getFieldCollations().isEmpty()) {
+      return null;
+    }
+    int fieldIndex = collation.getFieldCollations().get(0).getFieldIndex();
+    RelNode input = getInput();
+    while (true) {
+      if (input instanceof FilterPrel || input instanceof SelectionVectorRemoverPrel || input instanceof RuntimeFilterPrel) {
+        input = input.getInput(0);
+      } else if (input instanceof ProjectPrel) {
+        RexNode expr = ((ProjectPrel) input).getProjects().get(fieldIndex);
+        if (!(expr instanceof RexInputRef)) {
+          return null;
+        }
+        fieldIndex = ((RexInputRef) expr).getIndex();
+        input = input.getInput(0);
+      } else if (input instanceof ScanPrel && ((ScanPrel) input).getGroupScan() instanceof AbstractParquetGroupScan) {
+        RelDataTypeField field = input.getRowType().getFieldList().get(fieldIndex);
+        switch (field.getType().getSqlTypeName()) {
+          case INTEGER:
+          case BIGINT:
+          case TIMESTAMP:
+          case ANY: // the actual type is checked at execution
+            return Pair.of((ScanPrel) input, field.getName());
+          default:
+            return null;
+        }
+      } else {
+        return null;
+      }
+    }
+  }
+
   @Override
   public RelCollation getCollation() {
     return collation;
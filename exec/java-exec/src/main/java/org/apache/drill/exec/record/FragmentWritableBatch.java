@@ -19,6 +19,10 @@ package org.apache.drill.exec.record;
 
 import io.netty.buffer.ByteBuf;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.apache.drill.exec.proto.BitData.FragmentRecordBatch;
 import org.apache.drill.exec.proto.UserBitShared.QueryId;
 import org.apache.drill.exec.proto.UserBitShared.RecordBatchDef;
@@ -29,6 +33,8 @@ public class FragmentWritableBatch {
 
   private final ByteBuf[] buffers;
   private final FragmentRecordBatch header;
+  // the batches coalesced into this one, null if not coalesced
+  private final List<FragmentWritableBatch> coalescedBatches;
 
   public FragmentWritableBatch(boolean isLast, QueryId queryId,
       int sendMajorFragmentId, int sendMinorFragmentId,
@@ -52,6 +58,7 @@ public class FragmentWritableBatch {
       int receiveMajorFragmentId, int[] receiveMinorFragmentId,
       RecordBatchDef def, ByteBuf... buffers) {
     this.buffers = buffers;
+    this.coalescedBatches = null;
     FragmentRecordBatch.Builder builder = FragmentRecordBatch.newBuilder()
         .setIsLastBatch(isLast)
         .setDef(def)
@@ -67,6 +74,72 @@ public class FragmentWritableBatch {
     this.header = builder.build();
   }
 
+  private FragmentWritableBatch(FragmentRecordBatch header, List<FragmentWritableBatch> coalescedBatches,
+      ByteBuf... buffers) {
+    this.header = header;
+    this.coalescedBatches = coalescedBatches;
+    this.buffers = buffers;
+  }
+
+  /**
+   * Coalesces batches bound to fragments on the same Drillbit into a single message: the
+   * header of the first batch carries the headers of the others, and the bodies of all the
+   * batches follow each other in the same order.
+   *
+   * @param batches the batches, at least one
+   * @return the batch to send
+   */
+  public static FragmentWritableBatch coalesce(List<FragmentWritableBatch> batches) {
+    final FragmentWritableBatch first = batches.get(0);
+    if (batches.size() == 1) {
+      return first;
+    }
+    final FragmentRecordBatch.Builder header = first.getHeader().toBuilder();
+    final List<ByteBuf> buffers = new ArrayList<>();
+    Collections.addAll(buffers, first.getBuffers());
+    for (FragmentWritableBatch batch : batches.subList(1, batches.size())) {
+      header.addCoalescedBatch(batch.getHeader());
+      Collections.addAll(buffers, batch.getBuffers());
+    }
+    return new FragmentWritableBatch(header.build(), new ArrayList<>(batches), buffers.toArray(new ByteBuf[0]));
+  }
+
+  /**
+   * Attaches to the batch the batches its receiving Drillbit relays to other Drillbits,
+   * each one naming its Drillbit, receiving fragments and own relays.
+   *
+   * @param relays the headers of the relayed batches
+   * @return the batch to send
+   */
+  public FragmentWritableBatch withRelays(List<FragmentRecordBatch> relays) {
+    if (relays.isEmpty()) {
+      return this;
+    }
+    return new FragmentWritableBatch(header.toBuilder().addAllRelay(relays).build(), null, buffers);
+  }
+
+  /**
+   * Builds the batch relayed by a receiving Drillbit: the received batch, with the same
+   * body, bound to the fragments of the relay.
+   *
+   * @param header the header of the received batch
+   * @param relay one of the relays of the received batch
+   * @param buffers the body of the received batch, uncompressed
+   * @return the batch to send to the Drillbit of the relay
+   */
+  public static FragmentWritableBatch relay(FragmentRecordBatch header, FragmentRecordBatch relay,
+      ByteBuf... buffers) {
+    FragmentRecordBatch relayed = header.toBuilder()
+        .clearUncompressedBodyLength()
+        .clearCoalescedBatch()
+        .clearReceivingMinorFragmentId()
+        .addAllReceivingMinorFragmentId(relay.getReceivingMinorFragmentIdList())
+        .clearRelay()
+        .addAllRelay(relay.getRelayList())
+        .build();
+    return new FragmentWritableBatch(relayed, null, buffers);
+  }
+
   public static FragmentWritableBatch getEmptyLast(QueryId queryId,
       int sendMajorFragmentId, int sendMinorFragmentId,
       int receiveMajorFragmentId, int receiveMinorFragmentId) {
@@ -107,6 +180,16 @@ public class FragmentWritableBatch {
         new int[] { receiveMinorFragmentId }, def.build());
   }
 
+  /**
+   * Returns the batches coalesced into this one, to be sent one per message to the Drillbits
+   * which do not take coalesced batches. They share the buffers of this batch.
+   *
+   * @return the coalesced batches, or this batch alone if not coalesced
+   */
+  public List<FragmentWritableBatch> getCoalescedBatches() {
+    return coalescedBatches == null ? Collections.singletonList(this) : coalescedBatches;
+  }
+
   public ByteBuf[] getBuffers() {
     return buffers;
   }
@@ -19,44 +19,88 @@ package org.apache.drill.exec.record;
 
 import io.netty.buffer.DrillBuf;
 
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.proto.BitData.FragmentRecordBatch;
 import org.apache.drill.exec.rpc.data.AckSender;
 
 public class RawFragmentBatch {
   //private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(RawFragmentBatch.class);
 
+  private static final DrillBuf[] NO_BUFFERS = new DrillBuf[0];
+
   private final FragmentRecordBatch header;
-  private final DrillBuf body;
   private final AckSender sender;
   private final AtomicBoolean ackSent = new AtomicBoolean(false);
+  private final BufferAllocator allocator;
+  private final long byteCount;
+
+  // the body, in one buffer or (handed by a fragment of the same Drillbit) in the buffers of its vectors
+  private DrillBuf[] buffers;
 
   public RawFragmentBatch(FragmentRecordBatch header, DrillBuf body, AckSender sender) {
+    this(header, body == null ? NO_BUFFERS : new DrillBuf[] {body}, null, sender);
+  }
+
+  /**
+   * @param buffers the body of the batch, in one or more buffers
+   * @param allocator the allocator to gather the buffers with, when the body is asked for in
+   *          one buffer; may be null if there is at most one buffer
+   */
+  public RawFragmentBatch(FragmentRecordBatch header, DrillBuf[] buffers, BufferAllocator allocator,
+      AckSender sender) {
     this.header = header;
     this.sender = sender;
-    this.body = body;
-    if (body != null) {
-      body.retain(1);
+    this.buffers = buffers;
+    this.allocator = allocator;
+    long bytes = 0;
+    for (DrillBuf buffer : buffers) {
+      buffer.retain(1);
+      bytes += buffer.readableBytes();
     }
+    this.byteCount = bytes;
   }
 
   public FragmentRecordBatch getHeader() {
     return header;
   }
 
-  public DrillBuf getBody() {
-    return body;
+  /**
+   * Returns the body in one buffer, gathering the buffers of a body handed in more than one
+   * (once, the batch holding the gathered buffer from then on). The receivers load the batch
+   * from {@link #getBuffers()} instead, which copies nothing.
+   *
+   * @return the body, null if the batch has no data
+   */
+  public synchronized DrillBuf getBody() {
+    if (buffers.length > 1) {
+      final DrillBuf body = allocator.buffer((int) byteCount);
+      for (DrillBuf buffer : buffers) {
+        body.writeBytes(buffer, buffer.readerIndex(), buffer.readableBytes());
+        buffer.release(1);
+      }
+      buffers = new DrillBuf[] {body};
+    }
+    return buffers.length == 0 ? null : buffers[0];
+  }
+
+  /**
+   * @return the buffers holding the body, in order; empty if the batch has no data
+   */
+  public synchronized DrillBuf[] getBuffers() {
+    return buffers;
   }
 
   @Override
   public String toString() {
-    return "RawFragmentBatch [header=" + header + ", body=" + body + "]";
+    return "RawFragmentBatch [header=" + header + ", body=" + Arrays.toString(buffers) + "]";
   }
 
-  public void release() {
-    if (body != null) {
-      body.release(1);
+  public synchronized void release() {
+    for (DrillBuf buffer : buffers) {
+      buffer.release(1);
     }
   }
 
@@ -76,11 +120,20 @@ public class RawFragmentBatch {
     }
   }
 
+  public synchronized void sendOk(int suggestedCredit, long allowedBytes) {
+    if (sender != null && ackSent.compareAndSet(false, true)) {
+      sender.sendOk(suggestedCredit, allowedBytes);
+    }
+  }
+
   public long getByteCount() {
-    return body == null ? 0 : body.readableBytes();
+    return byteCount;
   }
 
+  /**
+   * @return true if the batch was acked, or has no sender to ack (read back from a spool)
+   */
   public boolean isAckSent() {
-    return ackSent.get();
+    return sender == null || ackSent.get();
   }
 }
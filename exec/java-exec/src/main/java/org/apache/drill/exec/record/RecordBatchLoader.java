@@ -19,6 +19,7 @@ package org.apache.drill.exec.record;
 
 import io.netty.buffer.DrillBuf;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
@@ -36,8 +37,10 @@ import org.apache.drill.exec.proto.UserBitShared.SerializedField;
 import org.apache.drill.exec.record.selection.SelectionVector2;
 import org.apache.drill.exec.record.selection.SelectionVector4;
 import org.apache.drill.exec.vector.AllocationHelper;
+import org.apache.drill.exec.vector.NullableVector;
 import org.apache.drill.exec.vector.UntypedNullVector;
 import org.apache.drill.exec.vector.ValueVector;
+import org.apache.drill.exec.vector.VariableWidthVector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -76,10 +79,26 @@ public class RecordBatchLoader implements VectorAccessible, Iterable<VectorWrapp
    * @throws SchemaChangeException
    *   TODO:  Clean:  DRILL-2933  load(...) never actually throws SchemaChangeException.
    */
-  @SuppressWarnings("resource")
   public boolean load(RecordBatchDef def, DrillBuf buf) {
+    return load(def, buf == null ? new DrillBuf[0] : new DrillBuf[] {buf});
+  }
+
+  /**
+   * Load a record batch from the buffers holding its data, in order, as handed by a fragment
+   * of the same Drillbit. Each vector is loaded from a slice of the buffer holding its data;
+   * only the data of the vectors spanning buffers is copied, to a buffer of its own.
+   *
+   * @param def
+   *          The definition for the record batch.
+   * @param buffers
+   *          The buffers that hold the data associated with the record batch. Empty if the
+   *          batch has no data.
+   * @return Whether the schema changed since the previous load.
+   */
+  @SuppressWarnings("resource")
+  public boolean load(RecordBatchDef def, DrillBuf[] buffers) {
     if (logger.isTraceEnabled()) {
-      logger.trace("Loading record batch with def {} and data {}", def, buf);
+      logger.trace("Loading record batch with def {} and data {}", def, Arrays.toString(buffers));
       logger.trace("Load, ThreadID: {}\n{}", Thread.currentThread().getId(), new StackTrace());
     }
     container.zeroVectors();
@@ -127,7 +146,7 @@ public class RecordBatchLoader implements VectorAccessible, Iterable<VectorWrapp
         }
 
         // Load the vector.
-        if (buf == null) {
+        if (buffers.length == 0) {
           // Buffers for untyped null vectors are always null and for the case
           // field value alone is sufficient to load the vector
           if (vector instanceof UntypedNullVector) {
@@ -137,7 +156,7 @@ public class RecordBatchLoader implements VectorAccessible, Iterable<VectorWrapp
         } else if (field.getValueCount() == 0) {
           AllocationHelper.allocate(vector, 0, 0, 0);
         } else {
-          vector.load(field, buf.slice(bufOffset, field.getBufferLength()));
+          load(vector, field, buffers, bufOffset);
         }
         bufOffset += field.getBufferLength();
         newVectors.add(vector);
@@ -170,6 +189,91 @@ public class RecordBatchLoader implements VectorAccessible, Iterable<VectorWrapp
     return schemaChanged;
   }
 
+  /**
+   * Loads a vector from its slice of the buffers holding the data of the batch. A nullable
+   * or variable width vector spanning buffers has its bits, offsets and values loaded each
+   * from its own slice; only the data of other vectors spanning buffers (or of a single
+   * sub-buffer spanning buffers) is copied, to a buffer of its own.
+   *
+   * @param offset start of the data of the vector in the data of the batch
+   */
+  private void load(ValueVector vector, SerializedField field, DrillBuf[] buffers, int offset) {
+    if (vector instanceof NullableVector && !isContiguous(buffers, offset, field.getBufferLength())) {
+      vector.clear();
+      NullableVector nullable = (NullableVector) vector;
+      SerializedField bitsField = field.getChild(0);
+      load(nullable.getBitsVector(), bitsField, buffers, offset);
+      load(nullable.getValuesVector(), field.getChild(1), buffers, offset + bitsField.getBufferLength());
+      // as the load of the nullable vector itself does, for the values set later (e.g. when copying)
+      ((NullableVector.Mutator) vector.getMutator()).setSetCount(field.getValueCount());
+      return;
+    }
+    if (vector instanceof VariableWidthVector && !isContiguous(buffers, offset, field.getBufferLength())) {
+      int offsetsLength = field.getChild(0).getBufferLength();
+      DrillBuf offsets = slice(buffers, offset, offsetsLength);
+      DrillBuf data = null;
+      try {
+        data = slice(buffers, offset + offsetsLength, field.getBufferLength() - offsetsLength);
+        ((VariableWidthVector) vector).loadValues(field, offsets, data);
+      } finally {
+        // the vector holds its own references
+        offsets.release();
+        if (data != null) {
+          data.release();
+        }
+      }
+      return;
+    }
+    DrillBuf buffer = slice(buffers, offset, field.getBufferLength());
+    try {
+      vector.load(field, buffer);
+    } finally {
+      buffer.release();
+    }
+  }
+
+  /**
+   * @return Whether the given range of the data of the batch is in a single buffer
+   */
+  private static boolean isContiguous(DrillBuf[] buffers, int offset, int length) {
+    int start = 0;
+    int i = 0;
+    while (i < buffers.length - 1 && start + buffers[i].readableBytes() <= offset) {
+      start += buffers[i].readableBytes();
+      i++;
+    }
+    return offset + length <= start + buffers[i].readableBytes();
+  }
+
+  /**
+   * @return The given range of the data of the batch: a retained slice of the buffer
+   * holding it, or a copy if it spans buffers. The caller releases it.
+   */
+  private DrillBuf slice(DrillBuf[] buffers, int offset, int length) {
+    int start = 0;
+    int i = 0;
+    while (i < buffers.length - 1 && start + buffers[i].readableBytes() <= offset) {
+      start += buffers[i].readableBytes();
+      i++;
+    }
+    DrillBuf buffer = buffers[i];
+    if (offset + length <= start + buffer.readableBytes()) {
+      DrillBuf slice = buffer.slice(buffer.readerIndex() + offset - start, length);
+      slice.retain();
+      return slice;
+    }
+
+    DrillBuf copy = allocator.buffer(length);
+    int index = offset - start;
+    while (copy.isWritable()) {
+      DrillBuf b = buffers[i++];
+      int bytes = Math.min(copy.writableBytes(), b.readableBytes() - index);
+      copy.writeBytes(b, b.readerIndex() + index, bytes);
+      index = 0;
+    }
+    return copy;
+  }
+
   /**
    * Check if two schemas are the same. The schemas, given as lists, represent the
    * children of the original and new maps (AKA structures.)
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.rpc;
+
+/**
+ * Byte based credit flow control, on top of the batch credit of the
+ * {@link DynamicSemaphore}: the receiver advertises, in its acks, how many
+ * bytes the sender may have in flight (sent but not yet acked), and the sender
+ * blocks before sending a batch which would go over. A batch is always sent
+ * when nothing is in flight, however large, so that the query progresses.
+ * <p>
+ * The sender is not limited until the receiver advertises a credit, and
+ * follows the latest credit advertised: the receiver adapts it to its memory.
+ */
+public class ByteCredit {
+
+  private long limit = Long.MAX_VALUE;
+  private long inFlightBytes;
+
+  /**
+   * Waits for the credit to send a batch, and takes it.
+   *
+   * @param bytes length of the batch
+   */
+  public synchronized void acquire(long bytes) throws InterruptedException {
+    while (inFlightBytes > 0 && inFlightBytes + bytes > limit) {
+      wait();
+    }
+    inFlightBytes += bytes;
+  }
+
+  /**
+   * Gives back the credit of a batch, once acked or failed.
+   *
+   * @param bytes length of the batch, as acquired
+   */
+  public synchronized void release(long bytes) {
+    inFlightBytes -= bytes;
+    notifyAll();
+  }
+
+  /**
+   * Sets the credit advertised by the receiver.
+   *
+   * @param allowedBytes bytes allowed in flight, ignored if not positive
+   */
+  public synchronized void setLimit(long allowedBytes) {
+    if (allowedBytes <= 0 || allowedBytes == limit) {
+      return;
+    }
+    limit = allowedBytes;
+    notifyAll();
+  }
+
+  public synchronized long getLimit() {
+    return limit;
+  }
+
+  public synchronized long getInFlightBytes() {
+    return inFlightBytes;
+  }
+}
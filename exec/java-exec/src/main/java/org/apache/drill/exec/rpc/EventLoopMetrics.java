@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.rpc;
+
+import com.codahale.metrics.Gauge;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import org.apache.drill.exec.metrics.DrillMetrics;
+
+/**
+ * Registers the saturation metrics of an rpc event loop group: the tasks (reads,
+ * writes, listeners) queued on its event loops and not yet run. A growing backlog
+ * means the loops cannot keep up with their channels, and that more threads or a
+ * separate group are needed.
+ */
+public final class EventLoopMetrics {
+
+  public static final String EVENT_LOOP_METRICS_PREFIX = "drill.rpc.event_loop.";
+
+  // prevent instantiation
+  private EventLoopMetrics() {
+  }
+
+  /**
+   * Registers the pending tasks of all the event loops of the group, and of the
+   * busiest one, as {@code drill.rpc.event_loop.<name>.pending_tasks} and
+   * {@code drill.rpc.event_loop.<name>.max_pending_tasks}.
+   */
+  public static void register(String name, EventLoopGroup eventLoopGroup) {
+    final String prefix = EVENT_LOOP_METRICS_PREFIX + name + ".";
+    DrillMetrics.register(prefix + "pending_tasks", new Gauge<Integer>() {
+      @Override
+      public Integer getValue() {
+        int pendingTasks = 0;
+        for (EventExecutor executor : eventLoopGroup) {
+          pendingTasks += pendingTasks(executor);
+        }
+        return pendingTasks;
+      }
+    });
+    DrillMetrics.register(prefix + "max_pending_tasks", new Gauge<Integer>() {
+      @Override
+      public Integer getValue() {
+        int maxPendingTasks = 0;
+        for (EventExecutor executor : eventLoopGroup) {
+          maxPendingTasks = Math.max(maxPendingTasks, pendingTasks(executor));
+        }
+        return maxPendingTasks;
+      }
+    });
+  }
+
+  private static int pendingTasks(EventExecutor executor) {
+    return executor instanceof SingleThreadEventExecutor
+        ? ((SingleThreadEventExecutor) executor).pendingTasks()
+        : 0;
+  }
+}
@@ -50,7 +50,7 @@ public class ControlClient extends BasicClient<RpcType, ControlConnection, BitCo
     super(ControlRpcConfig.getMapping(config.getBootstrapContext().getConfig(),
         config.getBootstrapContext().getExecutor()),
         config.getAllocator().getAsByteBufAllocator(),
-        config.getBootstrapContext().getBitLoopGroup(),
+        config.getBootstrapContext().getControlLoopGroup(),
         RpcType.HANDSHAKE,
         BitControlHandshake.class,
         BitControlHandshake.PARSER);
@@ -81,6 +81,16 @@ public class ControlClient extends BasicClient<RpcType, ControlConnection, BitCo
     return closeHandlerFactory.getHandler(clientConnection, super.getCloseHandler(ch, clientConnection));
   }
 
+  @Override
+  protected boolean isQueueDelayRecorded(RpcType rpcType) {
+    return ControlRpcMetrics.isQueueDelayRecorded(rpcType);
+  }
+
+  @Override
+  protected void recordQueueDelay(RpcType rpcType, long nanos) {
+    ControlRpcMetrics.addQueueDelay(rpcType, nanos);
+  }
+
   @Override
   public MessageLite getResponseDefaultInstance(int rpcType) throws RpcException {
     return DefaultInstanceHandler.getResponseDefaultInstance(rpcType);
@@ -19,10 +19,17 @@ package org.apache.drill.exec.rpc.control;
 
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.metrics.DrillMetrics;
+import org.apache.drill.exec.proto.BitControl.RpcType;
 import org.apache.drill.exec.rpc.AbstractRpcMetrics;
 import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
 import org.apache.drill.exec.rpc.RpcMetrics;
 
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Holds metrics related to bit control rpc layer
  */
@@ -37,6 +44,20 @@ public class ControlRpcMetrics extends AbstractRpcMetrics {
   private static final Counter unencryptedConnection = DrillMetrics.getRegistry()
       .counter(CONNECTION_COUNTER_PREFIX + "control.unencrypted");
 
+  public static final String QUEUE_DELAY_METRICS_PREFIX = "drill.rpc.control.";
+
+  // Time the latency critical requests wait to be written to their connection, by type:
+  // drill.rpc.control.<type>.queue_delay
+  private static final Map<RpcType, Timer> queueDelays = new EnumMap<>(RpcType.class);
+
+  static {
+    for (RpcType rpcType : new RpcType[] {RpcType.REQ_CANCEL_FRAGMENT, RpcType.REQ_UNPAUSE_FRAGMENT,
+        RpcType.REQ_FRAGMENT_STATUS, RpcType.REQ_RECEIVER_FINISHED, RpcType.REQ_QUERY_CANCEL}) {
+      queueDelays.put(rpcType, DrillMetrics.getRegistry().timer(QUEUE_DELAY_METRICS_PREFIX +
+          rpcType.name().substring("REQ_".length()).toLowerCase(Locale.ROOT) + ".queue_delay"));
+    }
+  }
+
   private static final RpcMetrics INSTANCE = new ControlRpcMetrics();
 
   // prevent instantiation
@@ -60,6 +81,21 @@ public class ControlRpcMetrics extends AbstractRpcMetrics {
     registerAllocatorMetrics(allocator);
   }
 
+  /**
+   * @return true for the requests which cancel, resume or report on fragments, and which
+   * are timed while they wait to be sent
+   */
+  static boolean isQueueDelayRecorded(RpcType rpcType) {
+    return queueDelays.containsKey(rpcType);
+  }
+
+  static void addQueueDelay(RpcType rpcType, long nanos) {
+    final Timer timer = queueDelays.get(rpcType);
+    if (timer != null) {
+      timer.update(nanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
   @Override
   public void addConnectionCount() {
     if (useEncryptedCounter) {
@@ -41,11 +41,21 @@ public class ControlServer extends BasicServer<RpcType, ControlConnection>{
     super(ControlRpcConfig.getMapping(config.getBootstrapContext().getConfig(),
         config.getBootstrapContext().getExecutor()),
         config.getAllocator().getAsByteBufAllocator(),
-        config.getBootstrapContext().getBitLoopGroup());
+        config.getBootstrapContext().getControlLoopGroup());
     this.config = config;
     this.connectionRegistry = connectionRegistry;
   }
 
+  @Override
+  protected boolean isQueueDelayRecorded(RpcType rpcType) {
+    return ControlRpcMetrics.isQueueDelayRecorded(rpcType);
+  }
+
+  @Override
+  protected void recordQueueDelay(RpcType rpcType, long nanos) {
+    ControlRpcMetrics.addQueueDelay(rpcType, nanos);
+  }
+
   @Override
   public MessageLite getResponseDefaultInstance(int rpcType) throws RpcException {
     return DefaultInstanceHandler.getResponseDefaultInstance(rpcType);
@@ -17,8 +17,11 @@
  */
 package org.apache.drill.exec.rpc.control;
 
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import org.apache.drill.exec.proto.BitControl.FragmentStatus;
 import org.apache.drill.exec.proto.ExecProtos.FragmentHandle;
@@ -35,6 +38,10 @@ public class WorkEventBus {
   private final ConcurrentMap<FragmentHandle, FragmentManager> managers = Maps.newConcurrentMap();
   private final ConcurrentMap<QueryId, FragmentStatusListener> listeners =
       new ConcurrentHashMap<>(16, 0.75f, 16);
+  // told of the queries the last fragment manager of which is removed
+  private final List<Consumer<QueryId>> queryRemovalListeners = new CopyOnWriteArrayList<>();
+  // told of the queries a fragment of which is cancelled
+  private final List<Consumer<QueryId>> queryCancellationListeners = new CopyOnWriteArrayList<>();
 
   public void removeFragmentStatusListener(final QueryId queryId) {
     if (logger.isDebugEnabled()) {
@@ -79,6 +86,38 @@ public class WorkEventBus {
     return managers.get(handle);
   }
 
+  /**
+   * Tells whether fragments of the query are still waiting on data, or running.
+   */
+  public boolean hasFragmentManagers(final QueryId queryId) {
+    return managers.keySet().stream().anyMatch(handle -> handle.getQueryId().equals(queryId));
+  }
+
+  /**
+   * Adds a listener told of a query once the last manager of its fragments is removed, as
+   * the fragments ended or were cancelled. It may be told more than once of the same query.
+   */
+  public void addQueryRemovalListener(final Consumer<QueryId> listener) {
+    queryRemovalListeners.add(listener);
+  }
+
+  /**
+   * Adds a listener told of a query once one of its fragments on this Drillbit is to be
+   * cancelled, as the query is. It may be told more than once of the same query.
+   */
+  public void addQueryCancellationListener(final Consumer<QueryId> listener) {
+    queryCancellationListeners.add(listener);
+  }
+
+  /**
+   * Tells the query cancellation listeners that the given fragment is to be cancelled.
+   */
+  public void fragmentCancelled(final FragmentHandle handle) {
+    for (Consumer<QueryId> listener : queryCancellationListeners) {
+      listener.accept(handle.getQueryId());
+    }
+  }
+
   /**
    * Optionally cancels and removes fragment manager (for the corresponding the handle) from the work event bus. Currently, used
    * for fragments waiting on data (root and intermediate). This method can be called multiple times. The manager will be removed
@@ -98,6 +137,11 @@ public class WorkEventBus {
         logger.debug("{} fragment {} manager {} from the work bus.", cancel ? "Cancel and removed" : "Removed",
             QueryIdHelper.getQueryIdentifier(handle), manager);
       }
+      if (!queryRemovalListeners.isEmpty() && !hasFragmentManagers(handle.getQueryId())) {
+        for (Consumer<QueryId> listener : queryRemovalListeners) {
+          listener.accept(handle.getQueryId());
+        }
+      }
       return true;
     } else if (logger.isWarnEnabled()) {
       logger.warn("Fragment {} manager is not found in the work bus.", QueryIdHelper.getQueryIdentifier(handle));
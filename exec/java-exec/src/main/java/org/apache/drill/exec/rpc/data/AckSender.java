@@ -18,6 +18,7 @@
 package org.apache.drill.exec.rpc.data;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.drill.exec.proto.BitData;
 import org.apache.drill.exec.rpc.Acks;
@@ -34,7 +35,10 @@ public class AckSender {
 
   private AtomicInteger count = new AtomicInteger(0);
   private ResponseSender sender;
-  private int everLargestAdviceCredit = Acks.NO_SUGGESTED_CREDIT;
+  // the receivers ack from their own threads
+  private final AtomicInteger everLargestAdviceCredit = new AtomicInteger(Acks.NO_SUGGESTED_CREDIT);
+  // the smallest byte credit advised by the receivers, 0 if none was
+  private final AtomicLong smallestAdviceBytes = new AtomicLong();
 
   @VisibleForTesting
   public AckSender(ResponseSender sender) {
@@ -70,14 +74,44 @@ public class AckSender {
    * @param credit suggested credit value
    */
   public void sendOk(int credit) {
-    everLargestAdviceCredit = Math.max(everLargestAdviceCredit, credit);
+    sendOk(credit, 0);
+  }
+
+  /**
+   * Decrement the number of references still holding on to this response. When the number of references hit zero, send
+   * response upstream. Ack for the byte credit model: the sender is allowed the smallest byte credit the receivers
+   * advised, as they share its batches.
+   * @param credit suggested credit value
+   * @param allowedBytes suggested byte credit value, 0 for none
+   */
+  public void sendOk(int credit, long allowedBytes) {
+    everLargestAdviceCredit.accumulateAndGet(credit, Math::max);
+    if (allowedBytes > 0) {
+      smallestAdviceBytes.accumulateAndGet(allowedBytes, (smallest, bytes) -> smallest > 0 ? Math.min(smallest, bytes) : bytes);
+    }
     if (0 == count.decrementAndGet()) {
-      BitData.AckWithCredit ackWithCredit = BitData.AckWithCredit.newBuilder().setAllowedCredit(everLargestAdviceCredit).build();
+      BitData.AckWithCredit.Builder ackBuilder = BitData.AckWithCredit.newBuilder().setAllowedCredit(everLargestAdviceCredit.get());
+      long allowedBytesAdvice = smallestAdviceBytes.get();
+      if (allowedBytesAdvice > 0) {
+        ackBuilder.setAllowedBytes(allowedBytesAdvice);
+      }
+      BitData.AckWithCredit ackWithCredit = ackBuilder.build();
       Response ackResponse = new Response(BitData.RpcType.DATA_ACK_WITH_CREDIT, ackWithCredit);
       sender.send(ackResponse);
     }
   }
 
+  /**
+   * Sends the failure message upstream in place of the ok message, unless a response (ok or
+   * failure) was sent already: the receivers and the relays of a batch may fail at once, and
+   * are to respond once only.
+   */
+  void sendFailOnce() {
+    if (count.getAndSet(-100000) > 0) {
+      sendFail();
+    }
+  }
+
   public void sendFail() {
     BitData.AckWithCredit ackWithCredit = BitData.AckWithCredit.newBuilder().setAllowedCredit(Acks.FAIL_CREDIT).build();
     Response ackFailResponse = new Response(BitData.RpcType.DATA_ACK_WITH_CREDIT, ackWithCredit);
@@ -20,6 +20,7 @@ package org.apache.drill.exec.rpc.data;
 import com.google.protobuf.MessageLite;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.util.concurrent.GenericFutureListener;
 import org.apache.drill.exec.memory.BufferAllocator;
@@ -47,11 +48,16 @@ public class DataClient extends BasicClient<RpcType, DataClientConnection, BitCl
 
   public DataClient(DrillbitEndpoint remoteEndpoint, DataConnectionConfig config,
                     DataConnectionManager.CloseHandlerCreator closeHandlerFactory) {
+    this(remoteEndpoint, config, closeHandlerFactory, config.getBootstrapContext().getBitClientLoopGroup());
+  }
+
+  public DataClient(DrillbitEndpoint remoteEndpoint, DataConnectionConfig config,
+                    DataConnectionManager.CloseHandlerCreator closeHandlerFactory, EventLoopGroup eventLoopGroup) {
     super(
         DataRpcConfig.getMapping(config.getBootstrapContext().getConfig(),
             config.getBootstrapContext().getExecutor()),
         config.getAllocator().getAsByteBufAllocator(),
-        config.getBootstrapContext().getBitClientLoopGroup(),
+        eventLoopGroup,
         RpcType.HANDSHAKE,
         BitServerHandshake.class,
         BitServerHandshake.PARSER);
@@ -94,6 +100,16 @@ public class DataClient extends BasicClient<RpcType, DataClientConnection, BitCl
     return config.getAllocator();
   }
 
+  @Override
+  protected boolean isQueueDelayRecorded(RpcType rpcType) {
+    return rpcType == RpcType.REQ_RUNTIME_FILTER;
+  }
+
+  @Override
+  protected void recordQueueDelay(RpcType rpcType, long nanos) {
+    DataRpcMetrics.getInstance().addRuntimeFilterQueueDelay(nanos);
+  }
+
   @Override
   protected void prepareSaslHandshake(final RpcConnectionHandler<DataClientConnection> connectionHandler, List<String> serverAuthMechanisms) {
     BitRpcUtility.prepareSaslHandshake(connectionHandler, serverAuthMechanisms, connection, config, remoteEndpoint,
@@ -102,8 +118,15 @@ public class DataClient extends BasicClient<RpcType, DataClientConnection, BitCl
 
     @Override
     protected List<String> validateHandshake(BitServerHandshake handshake) throws RpcException {
-      return BitRpcUtility.validateHandshake(handshake.getRpcVersion(), handshake.getAuthenticationMechanismsList(),
-        DataRpcConfig.RPC_VERSION, connection, config, this);
+      final List<String> serverAuthMechanisms = BitRpcUtility.validateHandshake(handshake.getRpcVersion(),
+        handshake.getAuthenticationMechanismsList(), DataRpcConfig.RPC_VERSION, connection, config, this);
+      // the server names the codec back if it decompresses it
+      if (config.getCompression().name().equals(handshake.getCompressionCodec())) {
+        connection.setCompression(config.getCompression(), config.getCompressionThreshold());
+      }
+      // older servers do not tell, and take a single batch per message
+      connection.setCoalescedBatches(handshake.getCoalescedBatches());
+      return serverAuthMechanisms;
     }
 
   @Override
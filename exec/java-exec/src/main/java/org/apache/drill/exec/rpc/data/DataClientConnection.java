@@ -37,6 +37,9 @@ public class DataClientConnection extends AbstractClientConnection {
 
   private final DataClient client;
   private final UUID id;
+  private volatile DataCompression compression = DataCompression.NONE;
+  private volatile int compressionThreshold;
+  private volatile boolean coalescedBatches;
 
   public DataClientConnection(SocketChannel channel, DataClient client,
                               EncryptionContext encryptionContextImpl) {
@@ -50,6 +53,37 @@ public class DataClientConnection extends AbstractClientConnection {
     return client.getAllocator();
   }
 
+  /**
+   * Sets the codec agreed to in the handshake to compress the record batches with.
+   *
+   * @param compression the codec
+   * @param compressionThreshold the smallest body of a batch compressed
+   */
+  void setCompression(DataCompression compression, int compressionThreshold) {
+    this.compressionThreshold = compressionThreshold;
+    this.compression = compression;
+  }
+
+  DataCompression getCompression() {
+    return compression;
+  }
+
+  int getCompressionThreshold() {
+    return compressionThreshold;
+  }
+
+  /**
+   * Sets whether the server takes, as told in the handshake, record batches coalesced into
+   * a single message.
+   */
+  void setCoalescedBatches(boolean coalescedBatches) {
+    this.coalescedBatches = coalescedBatches;
+  }
+
+  boolean isCoalescedBatches() {
+    return coalescedBatches;
+  }
+
   public <SEND extends MessageLite, RECEIVE extends MessageLite>
   void send(RpcOutcomeListener<RECEIVE> outcomeListener, RpcType rpcType, SEND protobufBody,
             Class<RECEIVE> clazz, ByteBuf... dataBodies) {
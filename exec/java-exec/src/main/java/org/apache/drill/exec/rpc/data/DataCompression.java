@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.rpc.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.xerial.snappy.Snappy;
+
+import com.github.luben.zstd.Zstd;
+
+/**
+ * Codecs the bodies of the record batches sent on the data channel are compressed with.
+ * The client proposes its codec in the handshake, and compresses the batches only if the
+ * server accepts it. The codecs work on direct buffers and are thread safe, as a connection
+ * is shared by all the fragments sending to the same Drillbit.
+ */
+enum DataCompression {
+  /**
+   * No compression. The connections without compression do not call the codec at all: the
+   * batches of such a connection are neither compressed nor flagged as such.
+   */
+  NONE {
+    @Override
+    int maxCompressedLength(int length) {
+      throw new UnsupportedOperationException("No codec: the batches are not compressed");
+    }
+
+    @Override
+    int compress(ByteBuffer src, ByteBuffer dst) {
+      throw new UnsupportedOperationException("No codec: the batches are not compressed");
+    }
+
+    @Override
+    void decompress(ByteBuffer src, ByteBuffer dst) {
+      throw new UnsupportedOperationException("No codec: the batches are not compressed");
+    }
+  },
+  SNAPPY {
+    @Override
+    int maxCompressedLength(int length) {
+      return Snappy.maxCompressedLength(length);
+    }
+
+    @Override
+    int compress(ByteBuffer src, ByteBuffer dst) throws IOException {
+      return Snappy.compress(src, dst);
+    }
+
+    @Override
+    void decompress(ByteBuffer src, ByteBuffer dst) throws IOException {
+      Snappy.uncompress(src, dst);
+    }
+  },
+  ZSTD {
+    // the fastest level: the batches are compressed in the fragment threads
+    private static final int LEVEL = 1;
+
+    @Override
+    int maxCompressedLength(int length) {
+      return (int) Zstd.compressBound(length);
+    }
+
+    @Override
+    int compress(ByteBuffer src, ByteBuffer dst) {
+      return Zstd.compress(dst, src, LEVEL);
+    }
+
+    @Override
+    void decompress(ByteBuffer src, ByteBuffer dst) {
+      Zstd.decompress(dst, src);
+    }
+  };
+
+  /**
+   * @return the size of the buffer the compressed bytes are written to
+   */
+  abstract int maxCompressedLength(int length);
+
+  /**
+   * Compresses the remaining bytes of the source buffer to the target buffer.
+   *
+   * @return the length of the compressed bytes
+   */
+  abstract int compress(ByteBuffer src, ByteBuffer dst) throws IOException;
+
+  /**
+   * Decompresses the remaining bytes of the source buffer to the target buffer.
+   */
+  abstract void decompress(ByteBuffer src, ByteBuffer dst) throws IOException;
+
+  /**
+   * @param name name of the codec, in any case; NONE or empty for no compression
+   * @return the codec
+   * @throws IllegalArgumentException if there is no such codec
+   */
+  static DataCompression fromName(String name) {
+    return name == null || name.isEmpty() ? NONE : valueOf(name.toUpperCase());
+  }
+
+  /**
+   * Codec of the batches of a connection: the one named in the handshake, when known here.
+   *
+   * @param name name of the codec in the handshake; empty if none
+   * @return the codec, {@link #NONE} if unknown
+   */
+  static DataCompression negotiate(String name) {
+    try {
+      return fromName(name);
+    } catch (IllegalArgumentException e) {
+      return NONE;
+    }
+  }
+}
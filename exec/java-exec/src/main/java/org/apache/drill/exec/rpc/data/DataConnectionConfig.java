@@ -17,6 +17,8 @@
  */
 package org.apache.drill.exec.rpc.data;
 
+import org.apache.drill.common.config.DrillConfig;
+import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.exception.DrillbitStartupException;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.rpc.BitConnectionConfig;
@@ -28,11 +30,25 @@ class DataConnectionConfig extends BitConnectionConfig {
 //  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DataConnectionConfig.class);
 
   private final DataServerRequestHandler handler;
+  private final DataCompression compression;
+  private final int compressionThreshold;
+  private final boolean priorityLane;
 
   DataConnectionConfig(BufferAllocator allocator, BootStrapContext context, DataServerRequestHandler handler)
       throws DrillbitStartupException {
     super(allocator, context);
     this.handler = handler;
+
+    final DrillConfig config = context.getConfig();
+    final String codec = config.getString(ExecConstants.BIT_DATA_COMPRESSION_CODEC);
+    try {
+      this.compression = DataCompression.fromName(codec);
+    } catch (IllegalArgumentException e) {
+      throw new DrillbitStartupException(String.format("Invalid value '%s' for %s. Must be one of none, snappy " +
+          "or zstd.", codec, ExecConstants.BIT_DATA_COMPRESSION_CODEC));
+    }
+    this.compressionThreshold = config.getInt(ExecConstants.BIT_DATA_COMPRESSION_THRESHOLD);
+    this.priorityLane = config.getBoolean(ExecConstants.BIT_DATA_PRIORITY_LANE);
   }
 
   @Override
@@ -43,4 +59,19 @@ class DataConnectionConfig extends BitConnectionConfig {
   DataServerRequestHandler getMessageHandler() {
     return handler;
   }
+
+  // codec this Drillbit proposes to compress the batches it sends with
+  DataCompression getCompression() {
+    return compression;
+  }
+
+  // smallest body of a batch compressed
+  int getCompressionThreshold() {
+    return compressionThreshold;
+  }
+
+  // whether the latency critical messages have connections of their own
+  boolean isPriorityLaneEnabled() {
+    return priorityLane;
+  }
 }
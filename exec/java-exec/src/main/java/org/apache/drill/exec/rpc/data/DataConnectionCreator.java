@@ -24,6 +24,7 @@ import org.apache.drill.exec.ExecConstants;
 import org.apache.drill.exec.exception.DrillbitStartupException;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
+import org.apache.drill.exec.rpc.BitRpcUtility;
 import org.apache.drill.exec.rpc.control.WorkEventBus;
 import org.apache.drill.exec.server.BootStrapContext;
 import org.apache.drill.exec.work.WorkManager.WorkerBee;
@@ -38,9 +39,14 @@ public class DataConnectionCreator implements AutoCloseable {
 
   private volatile DataServer server;
   private final ConcurrentMap<DrillbitEndpoint, DataConnectionManager> connectionManager = Maps.newConcurrentMap();
+  // connections of the runtime filters, if sent apart from the record batches
+  private final ConcurrentMap<DrillbitEndpoint, DataConnectionManager> priorityConnectionManager = Maps.newConcurrentMap();
 
   private final DataConnectionConfig config;
 
+  private volatile DrillbitEndpoint localEndpoint;
+  private volatile LocalDataConnectionManager localManager;
+
   public DataConnectionCreator(BootStrapContext context, BufferAllocator allocator, WorkEventBus workBus,
                                WorkerBee bee) throws DrillbitStartupException {
     config = new DataConnectionConfig(allocator, context, new DataServerRequestHandler(workBus, bee));
@@ -56,7 +62,9 @@ public class DataConnectionCreator implements AutoCloseable {
       port = config.getBootstrapContext().getConfig().getInt(ExecConstants.INITIAL_DATA_PORT);
     }
     port = server.bind(port, allowPortHunting);
-    return partialEndpoint.toBuilder().setDataPort(port).build();
+    localEndpoint = partialEndpoint.toBuilder().setDataPort(port).build();
+    localManager = new LocalDataConnectionManager(localEndpoint, config);
+    return localEndpoint;
   }
 
   public DataTunnel getTunnel(DrillbitEndpoint endpoint) {
@@ -65,7 +73,26 @@ public class DataConnectionCreator implements AutoCloseable {
     if (oldManager != null) {
       newManager = oldManager;
     }
-    return new DataTunnel(newManager);
+    if (!config.isPriorityLaneEnabled()) {
+      return new DataTunnel(newManager);
+    }
+    // the connection is opened by the first runtime filter sent
+    DataConnectionManager priorityManager = priorityConnectionManager.computeIfAbsent(endpoint,
+        e -> new DataConnectionManager(e, config, true));
+    return new DataTunnel(newManager, priorityManager);
+  }
+
+  /**
+   * @param endpoint the Drillbit to send to
+   * @param localExchange whether the record batches sent to this Drillbit are handed to the
+   * receiving fragments directly, rather than through the data server, if it is this Drillbit
+   * @return the tunnel to send data to the Drillbit with
+   */
+  public DataTunnel getTunnel(DrillbitEndpoint endpoint, boolean localExchange) {
+    if (localExchange && localManager != null && BitRpcUtility.isLocalDataServer(localEndpoint, endpoint)) {
+      return new DataTunnel(localManager);
+    }
+    return getTunnel(endpoint);
   }
 
   @Override
@@ -27,22 +27,41 @@ public class DataConnectionManager extends ReconnectingConnection<DataClientConn
 
   private final DrillbitEndpoint remoteEndpoint;
   private final DataConnectionConfig config;
-
-  private final static BitClientHandshake HANDSHAKE = BitClientHandshake //
-      .newBuilder() //
-      .setRpcVersion(DataRpcConfig.RPC_VERSION) //
-      .setChannel(RpcChannel.BIT_DATA) //
-      .build();
+  // whether the connection carries the latency critical messages only
+  private final boolean priority;
 
   public DataConnectionManager(DrillbitEndpoint remoteEndpoint, DataConnectionConfig config) {
-    super(HANDSHAKE, remoteEndpoint.getAddress(), remoteEndpoint.getDataPort());
+    this(remoteEndpoint, config, false);
+  }
+
+  /**
+   * @param priority true for the connection of the latency critical messages (runtime filters),
+   * kept apart from the record batches. Its client runs on the event loop of the control
+   * messages, rather than on the one of the record batches.
+   */
+  public DataConnectionManager(DrillbitEndpoint remoteEndpoint, DataConnectionConfig config, boolean priority) {
+    super(getHandshake(config), remoteEndpoint.getAddress(), remoteEndpoint.getDataPort());
     this.remoteEndpoint = remoteEndpoint;
     this.config = config;
+    this.priority = priority;
+  }
+
+  private static BitClientHandshake getHandshake(DataConnectionConfig config) {
+    final BitClientHandshake.Builder builder = BitClientHandshake //
+        .newBuilder() //
+        .setRpcVersion(DataRpcConfig.RPC_VERSION) //
+        .setChannel(RpcChannel.BIT_DATA);
+    if (config.getCompression() != DataCompression.NONE) {
+      builder.setCompressionCodec(config.getCompression().name());
+    }
+    return builder.build();
   }
 
   @Override
   protected DataClient getNewClient() {
-    return new DataClient(remoteEndpoint, config, new CloseHandlerCreator());
+    return new DataClient(remoteEndpoint, config, new CloseHandlerCreator(), priority
+        ? config.getBootstrapContext().getControlLoopGroup()
+        : config.getBootstrapContext().getBitClientLoopGroup());
   }
 
 }
\ No newline at end of file
@@ -18,10 +18,13 @@
 package org.apache.drill.exec.rpc.data;
 
 import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Timer;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.metrics.DrillMetrics;
 import org.apache.drill.exec.rpc.AbstractRpcMetrics;
-import org.apache.drill.exec.rpc.RpcMetrics;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * Holds metrics related to bit data rpc layer
@@ -37,13 +40,34 @@ public class DataRpcMetrics extends AbstractRpcMetrics {
   private static final Counter unencryptedConnection = DrillMetrics.getRegistry()
       .counter(CONNECTION_COUNTER_PREFIX + "data.unencrypted");
 
-  private static final RpcMetrics INSTANCE = new DataRpcMetrics();
+  public static final String COMPRESSION_METRICS_PREFIX = "drill.rpc.data.compression.";
+
+  // Bodies of the record batches compressed to send to other Drillbits, before and after compression,
+  // and the time spent to compress and decompress them.
+  private static final Counter compressionInputBytes = DrillMetrics.getRegistry()
+      .counter(COMPRESSION_METRICS_PREFIX + "input_bytes");
+
+  private static final Counter compressionOutputBytes = DrillMetrics.getRegistry()
+      .counter(COMPRESSION_METRICS_PREFIX + "output_bytes");
+
+  private static final Counter compressionNanos = DrillMetrics.getRegistry()
+      .counter(COMPRESSION_METRICS_PREFIX + "compress_nanos");
+
+  private static final Counter decompressionNanos = DrillMetrics.getRegistry()
+      .counter(COMPRESSION_METRICS_PREFIX + "decompress_nanos");
+
+  public static final String RUNTIME_FILTER_QUEUE_DELAY = "drill.rpc.data.runtime_filter.queue_delay";
+
+  // Time the runtime filters sent wait to be written to their connection.
+  private static final Timer runtimeFilterQueueDelay = DrillMetrics.getRegistry().timer(RUNTIME_FILTER_QUEUE_DELAY);
+
+  private static final DataRpcMetrics INSTANCE = new DataRpcMetrics();
 
   // prevent instantiation
   private DataRpcMetrics() {
   }
 
-  public static RpcMetrics getInstance() {
+  public static DataRpcMetrics getInstance() {
     return INSTANCE;
   }
 
@@ -59,6 +83,13 @@ public class DataRpcMetrics extends AbstractRpcMetrics {
   public void initialize(boolean useEncryptedCounter, BufferAllocator allocator) {
     this.useEncryptedCounter = useEncryptedCounter;
     registerAllocatorMetrics(allocator);
+    DrillMetrics.register(COMPRESSION_METRICS_PREFIX + "ratio", new Gauge<Double>() {
+      @Override
+      public Double getValue() {
+        final long outputBytes = compressionOutputBytes.getCount();
+        return outputBytes == 0 ? 1.0 : (double) compressionInputBytes.getCount() / outputBytes;
+      }
+    });
   }
 
   @Override
@@ -89,6 +120,35 @@ public class DataRpcMetrics extends AbstractRpcMetrics {
     return unencryptedConnection.getCount();
   }
 
+  /**
+   * Accounts for the body of a record batch compressed before it is sent.
+   *
+   * @param inputBytes length of the body
+   * @param outputBytes length of the compressed body
+   * @param nanos time spent to compress it
+   */
+  public void addCompression(long inputBytes, long outputBytes, long nanos) {
+    compressionInputBytes.inc(inputBytes);
+    compressionOutputBytes.inc(outputBytes);
+    compressionNanos.inc(nanos);
+  }
+
+  public void addDecompression(long nanos) {
+    decompressionNanos.inc(nanos);
+  }
+
+  public void addRuntimeFilterQueueDelay(long nanos) {
+    runtimeFilterQueueDelay.update(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  public long getCompressionInputBytes() {
+    return compressionInputBytes.getCount();
+  }
+
+  public long getCompressionOutputBytes() {
+    return compressionOutputBytes.getCount();
+  }
+
   private void registerAllocatorMetrics(final BufferAllocator allocator) {
     registerAllocatorMetrics(allocator, ALLOCATOR_METRICS_PREFIX + "bit.data.");
   }
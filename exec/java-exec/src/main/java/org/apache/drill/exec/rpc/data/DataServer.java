@@ -88,6 +88,13 @@ public class DataServer extends BasicServer<RpcType, DataServerConnection> {
         if (config.getAuthMechanismToUse() != null) {
           builder.addAllAuthenticationMechanisms(config.getAuthProvider().getAllFactoryNames());
         }
+        // accept the codec of the client whatever the local one, as long as it is known here
+        final DataCompression compression = DataCompression.negotiate(inbound.getCompressionCodec());
+        connection.setCompression(compression);
+        if (compression != DataCompression.NONE) {
+          builder.setCompressionCodec(compression.name());
+        }
+        builder.setCoalescedBatches(true);
 
         return builder.build();
       }
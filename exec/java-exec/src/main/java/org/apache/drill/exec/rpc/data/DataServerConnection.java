@@ -27,6 +27,8 @@ import org.slf4j.Logger;
 public class DataServerConnection extends AbstractServerConnection<DataServerConnection> {
   private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DataServerConnection.class);
 
+  private volatile DataCompression compression = DataCompression.NONE;
+
   DataServerConnection(SocketChannel channel, DataConnectionConfig config) {
     super(channel, config, config.getAuthMechanismToUse() == null
         ? config.getMessageHandler()
@@ -34,6 +36,15 @@ public class DataServerConnection extends AbstractServerConnection<DataServerCon
         RpcType.SASL_MESSAGE_VALUE, RpcType.SASL_MESSAGE));
   }
 
+  // codec of the compressed record batches, agreed to in the handshake
+  void setCompression(DataCompression compression) {
+    this.compression = compression;
+  }
+
+  DataCompression getCompression() {
+    return compression;
+  }
+
   @Override
   protected Logger getLogger() {
     return logger;
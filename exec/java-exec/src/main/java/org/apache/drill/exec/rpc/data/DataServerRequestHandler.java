@@ -19,23 +19,36 @@ package org.apache.drill.exec.rpc.data;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.DrillBuf;
+import org.apache.drill.common.SerializedExecutor;
 import org.apache.drill.exec.exception.FragmentSetupException;
 import org.apache.drill.exec.proto.BitData;
 import org.apache.drill.exec.proto.BitData.FragmentRecordBatch;
 import org.apache.drill.exec.proto.BitData.RpcType;
+import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
 import org.apache.drill.exec.proto.ExecProtos.FragmentHandle;
+import org.apache.drill.exec.proto.UserBitShared.QueryId;
+import org.apache.drill.exec.proto.UserBitShared.SerializedField;
 import org.apache.drill.exec.proto.helper.QueryIdHelper;
+import org.apache.drill.exec.record.FragmentWritableBatch;
+import org.apache.drill.exec.rpc.Acks;
 import org.apache.drill.exec.rpc.RequestHandler;
 import org.apache.drill.exec.rpc.ResponseSender;
 import org.apache.drill.exec.rpc.RpcBus;
 import org.apache.drill.exec.rpc.RpcException;
+import org.apache.drill.exec.rpc.RpcOutcomeListener;
 import org.apache.drill.exec.rpc.control.WorkEventBus;
 import org.apache.drill.exec.work.WorkManager;
 import org.apache.drill.exec.work.filter.RuntimeFilterWritable;
 import org.apache.drill.exec.work.fragment.FragmentManager;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ThreadLocalRandom;
 
 // package private
@@ -44,10 +57,24 @@ class DataServerRequestHandler implements RequestHandler<DataServerConnection> {
 
   private final WorkEventBus workBus;
   private final WorkManager.WorkerBee bee;
+  // the relays of the batches of the sending fragments, by query and name: each one is kept
+  // until the last batch of its sending fragment, or until its query is cancelled
+  private final ConcurrentMap<QueryId, Map<String, Relay>> relays = new ConcurrentHashMap<>();
+  // the queries cancelled here, the batches of which are not relayed anymore; forgotten once
+  // the fragments of the query on this Drillbit are done with
+  private final Set<QueryId> cancelledQueries = ConcurrentHashMap.newKeySet();
 
   public DataServerRequestHandler(WorkEventBus workBus, WorkManager.WorkerBee bee) {
     this.workBus = workBus;
     this.bee = bee;
+    workBus.addQueryCancellationListener(queryId -> {
+      if (workBus.hasFragmentManagers(queryId)) {
+        // else nothing would forget it
+        cancelledQueries.add(queryId);
+      }
+      relays.remove(queryId);
+    });
+    workBus.addQueryRemovalListener(cancelledQueries::remove);
   }
 
   @Override
@@ -60,7 +87,7 @@ class DataServerRequestHandler implements RequestHandler<DataServerConnection> {
       }
 
       case RpcType.REQ_RECORD_BATCH_VALUE : {
-        handleRecordBatchRequest(pBody, dBody, sender);
+        handleRecordBatchRequest(connection, pBody, dBody, sender);
         break;
       }
 
@@ -69,30 +96,91 @@ class DataServerRequestHandler implements RequestHandler<DataServerConnection> {
     }
   }
 
-  private void handleRecordBatchRequest(ByteBuf pBody, ByteBuf dBody, ResponseSender sender) throws RpcException {
+  private void handleRecordBatchRequest(DataServerConnection connection, ByteBuf pBody, ByteBuf dBody,
+                                        ResponseSender sender) throws RpcException {
     final FragmentRecordBatch fragmentBatch = RpcBus.get(pBody, FragmentRecordBatch.PARSER);
+    if (!fragmentBatch.hasUncompressedBodyLength()) {
+      handleRecordBatch(fragmentBatch, (DrillBuf) dBody, sender);
+      return;
+    }
+
+    final DrillBuf body = decompress(connection, fragmentBatch.getUncompressedBodyLength(), (DrillBuf) dBody);
+    try {
+      handleRecordBatch(fragmentBatch, body, sender);
+    } finally {
+      body.release();
+    }
+  }
+
+  /**
+   * Decompresses the body of a record batch, with the codec agreed to in the handshake.
+   *
+   * @return the body, to release by the caller
+   */
+  private DrillBuf decompress(DataServerConnection connection, int length, DrillBuf compressed) throws RpcException {
+    final DataCompression compression = connection.getCompression();
+    if (compression == DataCompression.NONE) {
+      throw new RpcException("Received a compressed record batch on a connection without compression.");
+    }
+    if (compressed == null) {
+      throw new RpcException("Received a compressed record batch without a body.");
+    }
+    final long start = System.nanoTime();
+    final DrillBuf body = connection.getAllocator().buffer(length);
+    try {
+      compression.decompress(compressed.nioBuffer(compressed.readerIndex(), compressed.readableBytes()),
+          body.nioBuffer(0, length));
+      body.writerIndex(length);
+    } catch (IOException | RuntimeException e) {
+      body.release();
+      throw new RpcException("Failure while decompressing a record batch.", e);
+    }
+    DataRpcMetrics.getInstance().addDecompression(System.nanoTime() - start);
+    return body;
+  }
+
+  /**
+   * Hands a record batch to the receiving fragments; each one takes the ownership of the
+   * body. The caller keeps its reference to the body. The batches coalesced with it are
+   * handed to their fragments too, each one with its part of the body; a single ack is sent
+   * once all of them are consumed. The batch is relayed to the Drillbits of its relays (if
+   * any) too, and only acked once they have acked it.
+   */
+  void handleRecordBatch(FragmentRecordBatch fragmentBatch, DrillBuf body, ResponseSender sender) {
+    handleRecordBatch(fragmentBatch, body == null ? new DrillBuf[0] : new DrillBuf[] {body}, sender);
+  }
+
+  /**
+   * Hands a record batch with its body held in several buffers (those of the vectors of a
+   * fragment of this Drillbit) to the receiving fragments, as {@link
+   * #handleRecordBatch(FragmentRecordBatch, DrillBuf, ResponseSender)} does; the buffers are
+   * handed as they are, not copied.
+   */
+  void handleRecordBatch(FragmentRecordBatch fragmentBatch, DrillBuf[] buffers, ResponseSender sender) {
     final AckSender ack = new AckSender(sender);
 
     // increment so we don't get false returns.
     ack.increment();
 
-    try {
-      final IncomingDataBatch batch = new IncomingDataBatch(fragmentBatch, (DrillBuf) dBody, ack);
-      final int targetCount = fragmentBatch.getReceivingMinorFragmentIdCount();
-
-      // randomize who gets first transfer (and thus ownership) so memory usage is balanced when we're sharing amongst
-      // multiple fragments.
-      final int firstOwner = ThreadLocalRandom.current().nextInt(targetCount);
-      submit(batch, firstOwner, targetCount);
-      submit(batch, 0, firstOwner);
+    if (fragmentBatch.getRelayCount() > 0) {
+      relay(fragmentBatch, buffers, ack);
+    }
 
+    try {
+      if (fragmentBatch.getCoalescedBatchCount() == 0) {
+        submit(new IncomingDataBatch(fragmentBatch, buffers, ack));
+      } else {
+        int offset = submit(fragmentBatch.toBuilder().clearCoalescedBatch().build(), buffers, 0, ack);
+        for (FragmentRecordBatch coalescedBatch : fragmentBatch.getCoalescedBatchList()) {
+          offset = submit(coalescedBatch, buffers, offset, ack);
+        }
+      }
     } catch (IOException | FragmentSetupException e) {
       logger.error("Failure while getting fragment manager. {}",
         QueryIdHelper.getQueryIdentifiers(fragmentBatch.getQueryId(),
           fragmentBatch.getReceivingMajorFragmentId(),
           fragmentBatch.getReceivingMinorFragmentIdList()), e);
-      ack.clear();
-      ack.sendFail();
+      ack.sendFailOnce();
     } finally {
 
       // decrement the extra reference we grabbed at the top.
@@ -100,6 +188,57 @@ class DataServerRequestHandler implements RequestHandler<DataServerConnection> {
     }
   }
 
+  /**
+   * Relays a batch to the Drillbits of its relays, with the body shared. The batches of a
+   * sending fragment are relayed in order, one at a time per Drillbit, off the event loop as
+   * sending waits for the credit of the tunnel.
+   */
+  private void relay(FragmentRecordBatch fragmentBatch, DrillBuf[] buffers, AckSender ack) {
+    for (FragmentRecordBatch relayBatch : fragmentBatch.getRelayList()) {
+      final DrillbitEndpoint endpoint = relayBatch.getRelayEndpoint();
+      final String name = String.format("%s:%d:%d-relay-%s:%d",
+          QueryIdHelper.getQueryId(fragmentBatch.getQueryId()), fragmentBatch.getSendingMajorFragmentId(),
+          fragmentBatch.getSendingMinorFragmentId(), endpoint.getAddress(), endpoint.getDataPort());
+      final Relay relay = getRelay(fragmentBatch.getQueryId(), name, endpoint, fragmentBatch.getIsLastBatch());
+      if (relay == null) {
+        // the query is cancelled
+        continue;
+      }
+
+      final DrillBuf[] relayed = new DrillBuf[buffers.length];
+      for (int i = 0; i < buffers.length; i++) {
+        // released once sent
+        buffers[i].retain();
+        relayed[i] = buffers[i].slice(buffers[i].readerIndex(), buffers[i].readableBytes());
+      }
+      final FragmentWritableBatch batch = FragmentWritableBatch.relay(fragmentBatch, relayBatch, relayed);
+      ack.increment();
+      relay.execute(() -> relay.tunnel.sendRecordBatch(new RelayOutcomeListener(ack), batch));
+    }
+  }
+
+  /**
+   * Gets the relay of the batches of a sending fragment to a Drillbit, the same one for all
+   * the batches, so that they are relayed in order. The relay is dropped with the last batch.
+   *
+   * @return the relay, null if the query is cancelled
+   */
+  private Relay getRelay(QueryId queryId, String name, DrillbitEndpoint endpoint, boolean lastBatch) {
+    final Relay[] relay = new Relay[1];
+    relays.compute(queryId, (q, queryRelays) -> {
+      if (cancelledQueries.contains(q)) {
+        return queryRelays;
+      }
+      final Map<String, Relay> r = queryRelays == null ? new HashMap<>() : queryRelays;
+      relay[0] = r.computeIfAbsent(name, n -> new Relay(n, endpoint));
+      if (lastBatch) {
+        r.remove(name);
+      }
+      return r.isEmpty() ? null : r;
+    });
+    return relay[0];
+  }
+
   private void handleRuntimeFilterRequest(ByteBuf pBody, ByteBuf dBody, ResponseSender sender) throws RpcException {
     BitData.RuntimeFilterBDef runtimeFilterBDef = RpcBus.get(pBody, BitData.RuntimeFilterBDef.PARSER);
     if (dBody == null) {
@@ -131,6 +270,52 @@ class DataServerRequestHandler implements RequestHandler<DataServerConnection> {
     }
   }
 
+  /**
+   * Hands one of the batches of a message to its receiving fragments.
+   *
+   * @param offset start of the body of the batch in the body of the message
+   * @return the end of the body of the batch
+   */
+  private int submit(FragmentRecordBatch fragmentBatch, DrillBuf[] buffers, int offset, AckSender ack)
+      throws FragmentSetupException, IOException {
+    int length = 0;
+    for (SerializedField field : fragmentBatch.getDef().getFieldList()) {
+      length += field.getBufferLength();
+    }
+    submit(new IncomingDataBatch(fragmentBatch, slice(buffers, offset, length), ack));
+    return offset + length;
+  }
+
+  /**
+   * Slices a range of the body of a message out of the buffers holding it.
+   *
+   * @return the slices of the buffers covering the range, in order; empty if the range is empty
+   */
+  private static DrillBuf[] slice(DrillBuf[] buffers, int offset, int length) {
+    final List<DrillBuf> slices = new ArrayList<>();
+    int start = 0;
+    for (DrillBuf buffer : buffers) {
+      final int end = start + buffer.readableBytes();
+      final int sliceStart = Math.max(start, offset);
+      final int sliceEnd = Math.min(end, offset + length);
+      if (sliceStart < sliceEnd) {
+        slices.add(buffer.slice(buffer.readerIndex() + sliceStart - start, sliceEnd - sliceStart));
+      }
+      start = end;
+    }
+    return slices.toArray(new DrillBuf[0]);
+  }
+
+  private void submit(IncomingDataBatch batch) throws FragmentSetupException, IOException {
+    final int targetCount = batch.getHeader().getReceivingMinorFragmentIdCount();
+
+    // randomize who gets first transfer (and thus ownership) so memory usage is balanced when we're sharing amongst
+    // multiple fragments.
+    final int firstOwner = ThreadLocalRandom.current().nextInt(targetCount);
+    submit(batch, firstOwner, targetCount);
+    submit(batch, 0, firstOwner);
+  }
+
   private void submit(IncomingDataBatch batch, int minorStart, int minorStopExclusive) throws FragmentSetupException,
       IOException {
     for (int minor = minorStart; minor < minorStopExclusive; minor++) {
@@ -152,6 +337,59 @@ class DataServerRequestHandler implements RequestHandler<DataServerConnection> {
     }
   }
 
+  /**
+   * Relays the batches of a sending fragment to a Drillbit, one at a time.
+   */
+  private class Relay extends SerializedExecutor {
+    private final DataTunnel tunnel;
+
+    Relay(String name, DrillbitEndpoint endpoint) {
+      super(name, bee.getContext().getExecutor());
+      this.tunnel = bee.getContext().getDataConnectionsPool().getTunnel(endpoint);
+    }
+
+    @Override
+    protected void runException(Runnable command, Throwable t) {
+      logger.error("Failure while relaying a record batch.", t);
+    }
+  }
+
+  /**
+   * Acks a relayed batch once the Drillbit it is relayed to acks it, passing on its byte credit.
+   */
+  private static class RelayOutcomeListener implements RpcOutcomeListener<BitData.AckWithCredit> {
+    private final AckSender ack;
+
+    RelayOutcomeListener(AckSender ack) {
+      this.ack = ack;
+    }
+
+    @Override
+    public void failed(RpcException ex) {
+      logger.error("Failure while relaying a record batch.", ex);
+      fail();
+    }
+
+    @Override
+    public void success(BitData.AckWithCredit value, ByteBuf buffer) {
+      if (value.getAllowedCredit() == Acks.FAIL_CREDIT) {
+        fail();
+      } else {
+        ack.sendOk(Acks.NO_SUGGESTED_CREDIT, value.getAllowedBytes());
+      }
+    }
+
+    @Override
+    public void interrupted(InterruptedException e) {
+      logger.warn("Interrupted while relaying a record batch.", e);
+      fail();
+    }
+
+    private void fail() {
+      ack.sendFailOnce();
+    }
+  }
+
   private static FragmentHandle getHandle(final FragmentRecordBatch batch, int index) {
     return FragmentHandle.newBuilder()
         .setQueryId(batch.getQueryId())
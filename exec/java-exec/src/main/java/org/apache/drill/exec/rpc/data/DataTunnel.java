@@ -19,9 +19,13 @@ package org.apache.drill.exec.rpc.data;
 
 import com.google.protobuf.MessageLite;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DrillBuf;
+import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.proto.BitData;
+import org.apache.drill.exec.proto.BitData.FragmentRecordBatch;
 import org.apache.drill.exec.proto.BitData.RpcType;
 import org.apache.drill.exec.record.FragmentWritableBatch;
+import org.apache.drill.exec.rpc.ByteCredit;
 import org.apache.drill.exec.rpc.DynamicSemaphore;
 import org.apache.drill.exec.rpc.ListeningCommand;
 import org.apache.drill.exec.rpc.RpcException;
@@ -30,12 +34,26 @@ import org.apache.drill.exec.testing.ControlsInjector;
 import org.apache.drill.exec.testing.ExecutionControls;
 import org.apache.drill.exec.work.filter.RuntimeFilterWritable;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class DataTunnel {
   static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(DataTunnel.class);
 
   private final DataConnectionManager manager;
+  // sends the runtime filters, which must not wait behind the record batches
+  private final DataConnectionManager priorityManager;
   private final DynamicSemaphore sendingSemaphore = new DynamicSemaphore();
+  // bytes of the batches sent but not acked yet, bounded by the credit the receivers advertise
+  private final ByteCredit sendingCredit = new ByteCredit();
+
+  // Bodies of the batches compressed, before and after compression, and the time spent to compress them.
+  // The batches are compressed by the sending thread, or by the RPC thread for those sent once connected.
+  private final AtomicLong compressionInputBytes = new AtomicLong();
+  private final AtomicLong compressionOutputBytes = new AtomicLong();
+  private final AtomicLong compressionNanos = new AtomicLong();
 
   // Needed for injecting a test pause
   private boolean isInjectionControlSet;
@@ -44,7 +62,16 @@ public class DataTunnel {
   private org.slf4j.Logger testLogger;
 
   public DataTunnel(DataConnectionManager manager) {
+    this(manager, manager);
+  }
+
+  /**
+   * @param manager connection of the record batches
+   * @param priorityManager connection of the runtime filters, may be the same
+   */
+  public DataTunnel(DataConnectionManager manager, DataConnectionManager priorityManager) {
     this.manager = manager;
+    this.priorityManager = priorityManager;
   }
 
   /**
@@ -76,6 +103,12 @@ public class DataTunnel {
       }
 
       sendingSemaphore.acquire();
+      try {
+        sendingCredit.acquire(b.bytes);
+      } catch (final InterruptedException e) {
+        sendingSemaphore.release();
+        throw e;
+      }
       manager.runCommand(b);
     } catch (final InterruptedException e) {
       // Release the buffers first before informing the listener about the interrupt.
@@ -91,6 +124,71 @@ public class DataTunnel {
     }
   }
 
+  /**
+   * @return length of the bodies of the batches sent compressed through this tunnel, before compression
+   */
+  public long getCompressionInputBytes() {
+    return compressionInputBytes.get();
+  }
+
+  /**
+   * @return length of the bodies of the batches sent compressed through this tunnel, after compression
+   */
+  public long getCompressionOutputBytes() {
+    return compressionOutputBytes.get();
+  }
+
+  public long getCompressionNanos() {
+    return compressionNanos.get();
+  }
+
+  /**
+   * Compresses the body of a batch into a single buffer. Releases the buffers of the body if compressed.
+   *
+   * @return the compressed body, null to send the body as is: when it does not compress
+   * or the buffer can not be allocated
+   */
+  private DrillBuf compress(DataCompression compression, ByteBuf[] buffers, int length, BufferAllocator allocator) {
+    final long start = System.nanoTime();
+    DrillBuf body = null;
+    DrillBuf compressed = null;
+    try {
+      // the codecs compress a single buffer
+      body = allocator.buffer(length);
+      for (ByteBuf b : buffers) {
+        body.writeBytes(b, b.readerIndex(), b.readableBytes());
+      }
+      compressed = allocator.buffer(compression.maxCompressedLength(length));
+      final int compressedLength = compression.compress(body.nioBuffer(0, length),
+          compressed.nioBuffer(0, compressed.capacity()));
+      if (compressedLength >= length) {
+        compressed.release();
+        return null;
+      }
+      compressed.writerIndex(compressedLength);
+    } catch (Exception e) {
+      logger.debug("Sending a record batch uncompressed, failed to compress it.", e);
+      if (compressed != null) {
+        compressed.release();
+      }
+      return null;
+    } finally {
+      if (body != null) {
+        body.release();
+      }
+    }
+
+    for (ByteBuf buffer : buffers) {
+      buffer.release();
+    }
+    final long nanos = System.nanoTime() - start;
+    compressionInputBytes.addAndGet(length);
+    compressionOutputBytes.addAndGet(compressed.writerIndex());
+    compressionNanos.addAndGet(nanos);
+    DataRpcMetrics.getInstance().addCompression(length, compressed.writerIndex(), nanos);
+    return compressed;
+  }
+
   public void sendRuntimeFilter(RpcOutcomeListener<BitData.AckWithCredit> outcomeListener, RuntimeFilterWritable runtimeFilter) {
     SendRuntimeFilterAsyncListen cmd = new SendRuntimeFilterAsyncListen(outcomeListener, runtimeFilter);
     try{
@@ -100,7 +198,7 @@ public class DataTunnel {
         testInjector.injectInterruptiblePause(testControls, "data-tunnel-send-runtime_filter-wait-for-interrupt", testLogger);
       }
 
-      manager.runCommand(cmd);
+      priorityManager.runCommand(cmd);
     } catch(final InterruptedException e){
       // Release the buffers first before informing the listener about the interrupt.
       runtimeFilter.close();
@@ -113,14 +211,18 @@ public class DataTunnel {
 
   private class ThrottlingOutcomeListener implements RpcOutcomeListener<BitData.AckWithCredit>{
     RpcOutcomeListener<BitData.AckWithCredit> inner;
+    // length of the batch, as acquired from the byte credit
+    final long bytes;
 
-    public ThrottlingOutcomeListener(RpcOutcomeListener<BitData.AckWithCredit> inner) {
+    public ThrottlingOutcomeListener(RpcOutcomeListener<BitData.AckWithCredit> inner, long bytes) {
       super();
       this.inner = inner;
+      this.bytes = bytes;
     }
 
     @Override
     public void failed(RpcException ex) {
+      sendingCredit.release(bytes);
       sendingSemaphore.release();
       inner.failed(ex);
     }
@@ -132,29 +234,111 @@ public class DataTunnel {
         //received an explicit runtime advice to transfer to the new credit
         sendingSemaphore.tryToIncreaseCredit(credit);
       }
+      // the bytes the receiver can take, given its memory
+      sendingCredit.setLimit(value.getAllowedBytes());
+      sendingCredit.release(bytes);
       sendingSemaphore.release();
       inner.success(value, buffer);
     }
 
     @Override
     public void interrupted(InterruptedException e) {
+      sendingCredit.release(bytes);
       sendingSemaphore.release();
       inner.interrupted(e);
     }
   }
 
-  private class SendBatchAsyncListen extends ListeningCommand<BitData.AckWithCredit, DataClientConnection, RpcType, MessageLite> {
+  /**
+   * Reports once the outcome of a batch sent as several messages: the first failure or
+   * interruption, or else the success of the last message acked.
+   */
+  private static class SplitOutcomeListener implements RpcOutcomeListener<BitData.AckWithCredit> {
+    private final RpcOutcomeListener<BitData.AckWithCredit> inner;
+    private final AtomicInteger pending;
+    private final AtomicBoolean failed = new AtomicBoolean();
+
+    public SplitOutcomeListener(RpcOutcomeListener<BitData.AckWithCredit> inner, int messages) {
+      this.inner = inner;
+      this.pending = new AtomicInteger(messages);
+    }
+
+    @Override
+    public void failed(RpcException ex) {
+      if (failed.compareAndSet(false, true)) {
+        inner.failed(ex);
+      }
+    }
+
+    @Override
+    public void success(BitData.AckWithCredit value, ByteBuf buffer) {
+      if (pending.decrementAndGet() == 0 && !failed.get()) {
+        inner.success(value, buffer);
+      }
+    }
+
+    @Override
+    public void interrupted(InterruptedException e) {
+      if (failed.compareAndSet(false, true)) {
+        inner.interrupted(e);
+      }
+    }
+  }
+
+  class SendBatchAsyncListen extends ListeningCommand<BitData.AckWithCredit, DataClientConnection, RpcType, MessageLite> {
     final FragmentWritableBatch batch;
+    // length of the batch before compression, which the byte credit is taken for
+    final long bytes;
 
     public SendBatchAsyncListen(RpcOutcomeListener<BitData.AckWithCredit> listener, FragmentWritableBatch batch) {
       super(listener);
       this.batch = batch;
+      this.bytes = batch.getByteCount();
+    }
+
+    FragmentWritableBatch getBatch() {
+      return batch;
+    }
+
+    // Listener for a batch handed to a local fragment without a connection
+    RpcOutcomeListener<BitData.AckWithCredit> getThrottlingOutcomeListener() {
+      return new ThrottlingOutcomeListener(getOutcomeListener(), bytes);
     }
 
     @Override
     public void doRpcCall(RpcOutcomeListener<BitData.AckWithCredit> outcomeListener, DataClientConnection connection) {
-      connection.send(new ThrottlingOutcomeListener(outcomeListener), getRpcType(), batch.getHeader(),
-        BitData.AckWithCredit.class, batch.getBuffers());
+      RpcOutcomeListener<BitData.AckWithCredit> listener = new ThrottlingOutcomeListener(outcomeListener, bytes);
+      if (batch.getHeader().getCoalescedBatchCount() == 0 || connection.isCoalescedBatches()) {
+        send(listener, connection, batch);
+        return;
+      }
+      // the server drops the batches coalesced into the first one: send each in its own message
+      List<FragmentWritableBatch> batches = batch.getCoalescedBatches();
+      listener = new SplitOutcomeListener(listener, batches.size());
+      for (FragmentWritableBatch b : batches) {
+        send(listener, connection, b);
+      }
+    }
+
+    private void send(RpcOutcomeListener<BitData.AckWithCredit> listener, DataClientConnection connection,
+        FragmentWritableBatch batch) {
+      FragmentRecordBatch header = batch.getHeader();
+      ByteBuf[] buffers = batch.getBuffers();
+      if (connection.getCompression() != DataCompression.NONE) {
+        int length = 0;
+        for (ByteBuf b : buffers) {
+          length += b.readableBytes();
+        }
+        // small batches are not worth compressing
+        if (length >= connection.getCompressionThreshold()) {
+          final DrillBuf compressed = compress(connection.getCompression(), buffers, length, connection.getAllocator());
+          if (compressed != null) {
+            header = header.toBuilder().setUncompressedBodyLength(length).build();
+            buffers = new ByteBuf[] {compressed};
+          }
+        }
+      }
+      connection.send(listener, getRpcType(), header, BitData.AckWithCredit.class, buffers);
     }
 
     @Override
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.rpc.data;
+
+import com.google.protobuf.Internal.EnumLite;
+import com.google.protobuf.MessageLite;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DrillBuf;
+import org.apache.drill.exec.exception.OutOfMemoryException;
+import org.apache.drill.exec.proto.BitData.AckWithCredit;
+import org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint;
+import org.apache.drill.exec.record.FragmentWritableBatch;
+import org.apache.drill.exec.rpc.RpcCommand;
+import org.apache.drill.exec.rpc.RpcConstants;
+import org.apache.drill.exec.rpc.RpcException;
+import org.apache.drill.exec.rpc.RpcOutcomeListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Connection manager for the data sent to fragments running on this Drillbit. Record batches
+ * are handed to the data server request handler directly: no encoding, no loopback connection,
+ * and the acks complete the sender's listener directly. Other commands (runtime filters) are
+ * sent through the data server as usual.
+ * <p>
+ * The handoff runs on the thread of the sending fragment, not on an event loop: the receiver's
+ * side of it (finding or starting the receiving fragment, and the enqueue into its buffer,
+ * which may spool the batch to disk) is done before the send returns. A slow receiver thus
+ * slows the sender directly. Backpressure is otherwise the same as over a connection: a
+ * receiver with a full buffer withholds the ack, and the sender waits for the credit at a
+ * later send.
+ */
+public class LocalDataConnectionManager extends DataConnectionManager {
+  private static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(LocalDataConnectionManager.class);
+
+  private final DataConnectionConfig config;
+
+  public LocalDataConnectionManager(DrillbitEndpoint localEndpoint, DataConnectionConfig config) {
+    super(localEndpoint, config);
+    this.config = config;
+  }
+
+  @Override
+  public <T extends MessageLite, E extends EnumLite, M extends MessageLite,
+      R extends RpcCommand<T, DataClientConnection, E, M>> void runCommand(R cmd) {
+    if (!(cmd instanceof DataTunnel.SendBatchAsyncListen)) {
+      super.runCommand(cmd);
+      return;
+    }
+    final DataTunnel.SendBatchAsyncListen sendBatch = (DataTunnel.SendBatchAsyncListen) cmd;
+    final FragmentWritableBatch batch = sendBatch.getBatch();
+    final RpcOutcomeListener<AckWithCredit> outcomeListener = sendBatch.getThrottlingOutcomeListener();
+
+    if (RpcConstants.EXTRA_DEBUGGING) {
+      logger.debug("Handing record batch {} to local fragments", batch.getHeader());
+    }
+
+    final DrillBuf[] buffers;
+    try {
+      buffers = toBuffers(batch.getBuffers());
+    } catch (Exception ex) {
+      outcomeListener.failed(new RpcException("Failed to allocate memory while handing a record batch to a " +
+        "local fragment in LocalDataConnectionManager#toBuffers", ex));
+      return;
+    }
+
+    try {
+      config.getMessageHandler().handleRecordBatch(batch.getHeader(), buffers,
+        response -> outcomeListener.success((AckWithCredit) response.pBody, null));
+    } finally {
+      // each receiving fragment holds its own reference
+      releaseByteBufs(buffers);
+    }
+  }
+
+  /**
+   * Makes the body of the record batch from the buffers of its vectors, as they are: the
+   * receivers load the vectors from the buffers in place, only copying the vectors whose data
+   * spans buffers. The empty buffers are dropped (and released), as are the ones not held in
+   * direct memory of an allocator, copied to one that is.
+   *
+   * @param buffers the buffers of the vectors of the batch
+   * @return the body of the batch, empty if the batch has no data
+   * @throws OutOfMemoryException if a buffer to copy to can not be allocated
+   */
+  private DrillBuf[] toBuffers(ByteBuf[] buffers) throws OutOfMemoryException {
+    final List<DrillBuf> body = new ArrayList<>(buffers.length);
+    int i = 0;
+    try {
+      for (; i < buffers.length; i++) {
+        final ByteBuf b = buffers[i];
+        if (!b.isReadable()) {
+          b.release();
+        } else if (b instanceof DrillBuf) {
+          body.add((DrillBuf) b);
+        } else {
+          try {
+            final DrillBuf copy = config.getAllocator().buffer(b.readableBytes());
+            copy.writeBytes(b, b.readerIndex(), b.readableBytes());
+            body.add(copy);
+          } finally {
+            b.release();
+          }
+        }
+      }
+    } catch (RuntimeException e) {
+      // the failed buffer is released already
+      releaseByteBufs(body.toArray(new ByteBuf[0]));
+      releaseByteBufs(Arrays.copyOfRange(buffers, i + 1, buffers.length));
+      throw e;
+    }
+    return body.toArray(new DrillBuf[0]);
+  }
+
+  private void releaseByteBufs(ByteBuf[] buffers) {
+    for (ByteBuf b : buffers) {
+      b.release();
+    }
+  }
+}
@@ -25,6 +25,7 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.SynchronousQueue;
@@ -38,6 +39,7 @@ import org.apache.drill.exec.exception.DrillbitStartupException;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.memory.RootAllocatorFactory;
 import org.apache.drill.exec.metrics.DrillMetrics;
+import org.apache.drill.exec.rpc.EventLoopMetrics;
 import org.apache.drill.exec.rpc.NamedThreadFactory;
 import org.apache.drill.exec.rpc.TransportCheck;
 import org.apache.drill.exec.rpc.security.AuthenticatorProvider;
@@ -65,12 +67,16 @@ public class BootStrapContext implements AutoCloseable {
   private final AuthenticatorProvider authProvider;
   private final EventLoopGroup loop;
   private final EventLoopGroup loop2;
+  // control messages (fragment plans, status, cancellation) do not queue behind
+  // the record batches, unless configured to share the loop of the data server
+  private final EventLoopGroup controlLoop;
   private final MetricRegistry metrics;
   private final BufferAllocator allocator;
   private final ScanResult classpathScan;
   private final ExecutorService executor;
   private final ExecutorService scanExecutor;
   private final ExecutorService scanDecodeExecutor;
+  private final ForkJoinPool columnScatterPool;
   private final String hostName;
 
   public BootStrapContext(DrillConfig config, CaseInsensitiveMap<OptionDefinition> definitions,
@@ -83,6 +89,15 @@ public class BootStrapContext implements AutoCloseable {
     this.authProvider = new AuthenticatorProviderImpl(config, classpathScan);
     this.loop = TransportCheck.createEventLoopGroup(config.getInt(ExecConstants.BIT_SERVER_RPC_THREADS), "BitServer-");
     this.loop2 = TransportCheck.createEventLoopGroup(config.getInt(ExecConstants.BIT_SERVER_RPC_THREADS), "BitClient-");
+    final int controlThreads = config.getInt(ExecConstants.BIT_CONTROL_RPC_THREADS);
+    this.controlLoop = controlThreads > 0
+        ? TransportCheck.createEventLoopGroup(controlThreads, "BitControl-")
+        : loop;
+    logger.info("Using the {} transport for the Drillbit rpc channels.",
+        TransportCheck.isEpoll(loop) ? "native epoll" : "NIO");
+    EventLoopMetrics.register("bit_server", loop);
+    EventLoopMetrics.register("bit_client", loop2);
+    EventLoopMetrics.register("bit_control", controlLoop);
     // Note that metrics are stored in a static instance
     this.metrics = DrillMetrics.getRegistry();
     this.allocator = RootAllocatorFactory.newRoot(config);
@@ -112,6 +127,9 @@ public class BootStrapContext implements AutoCloseable {
     this.scanExecutor = Executors.newFixedThreadPool(scanThreadPoolSize, new NamedThreadFactory("scan-"));
     this.scanDecodeExecutor =
         Executors.newFixedThreadPool(scanDecodeThreadPoolSize, new NamedThreadFactory("scan-decode-"));
+    // the threads are started on demand: none unless the partition senders scatter their columns
+    final int columnScatterThreads = config.getInt(ExecConstants.PARTITIONER_COLUMN_SCATTER_THREADS);
+    this.columnScatterPool = new ForkJoinPool(columnScatterThreads > 0 ? columnScatterThreads : numCores);
   }
 
   private void login(final DrillConfig config) throws DrillbitStartupException {
@@ -187,6 +205,13 @@ public class BootStrapContext implements AutoCloseable {
     return scanDecodeExecutor;
   }
 
+  /**
+   * @return the pool the partition senders scatter the columns of their batches on
+   */
+  public ForkJoinPool getColumnScatterPool() {
+    return columnScatterPool;
+  }
+
   public DrillConfig getConfig() {
     return config;
   }
@@ -203,6 +228,13 @@ public class BootStrapContext implements AutoCloseable {
     return loop2;
   }
 
+  /**
+   * @return the event loop group of the control server and clients
+   */
+  public EventLoopGroup getControlLoopGroup() {
+    return controlLoop;
+  }
+
   public MetricRegistry getMetrics() {
     return metrics;
   }
@@ -256,10 +288,15 @@ public class BootStrapContext implements AutoCloseable {
       scanDecodeExecutor.shutdownNow();
     }
 
+    if (columnScatterPool != null) {
+      columnScatterPool.shutdownNow();
+    }
+
     try {
       AutoCloseables.close(allocator, authProvider);
       shutdown(loop);
       shutdown(loop2);
+      shutdown(controlLoop);
 
     } catch (final Exception e) {
       logger.error("Error while closing", e);
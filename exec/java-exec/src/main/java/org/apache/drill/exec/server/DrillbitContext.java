@@ -52,6 +52,7 @@ import java.util.Collection;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.apache.drill.shaded.guava.com.google.common.base.Preconditions.checkNotNull;
 
@@ -218,6 +219,10 @@ public class DrillbitContext implements AutoCloseable {
     return context.getBitLoopGroup();
   }
 
+  public EventLoopGroup getControlLoopGroup() {
+    return context.getControlLoopGroup();
+  }
+
   public DataConnectionCreator getDataConnectionsPool() {
     return connectionsPool;
   }
@@ -259,6 +264,9 @@ public class DrillbitContext implements AutoCloseable {
   public ExecutorService getScanDecodeExecutor() {
     return context.getScanDecodeExecutor();
   }
+  public ForkJoinPool getColumnScatterPool() {
+    return context.getColumnScatterPool();
+  }
 
   public LogicalPlanPersistence getLpPersistence() {
     return lpPersistence;
@@ -141,6 +141,9 @@ public class SystemOptionManager extends BaseOptionManager implements AutoClosea
       new OptionDefinition(ExecConstants.HASHJOIN_BLOOM_FILTER_FPP_VALIDATOR),
       new OptionDefinition(ExecConstants.HASHJOIN_RUNTIME_FILTER_MAX_WAITING_TIME),
       new OptionDefinition(ExecConstants.HASHJOIN_ENABLE_RUNTIME_FILTER_WAITING),
+      new OptionDefinition(ExecConstants.TOPN_ENABLE_THRESHOLD_FILTER),
+      new OptionDefinition(ExecConstants.NLJ_MAX_MEMORY_VALIDATOR),
+      new OptionDefinition(ExecConstants.EXCHANGE_LOCAL_ENABLE),
       // ------------------------------------------- Index planning related options BEGIN --------------------------------------------------------------
       new OptionDefinition(PlannerSettings.USE_SIMPLE_OPTIMIZER),
       new OptionDefinition(PlannerSettings.INDEX_PLANNING),
@@ -162,6 +165,13 @@ public class SystemOptionManager extends BaseOptionManager implements AutoClosea
       new OptionDefinition(ExecConstants.HASHAGG_MIN_BATCHES_PER_PARTITION_VALIDATOR), // for tuning
       new OptionDefinition(ExecConstants.HASHAGG_USE_MEMORY_PREDICTION_VALIDATOR), // for testing
       new OptionDefinition(ExecConstants.HASHAGG_FALLBACK_ENABLED_VALIDATOR), // for enable/disable unbounded HashAgg
+      new OptionDefinition(ExecConstants.HASHAGG_HASHTABLE_TYPE),
+      new OptionDefinition(ExecConstants.HASHAGG_ADAPTIVE_BYPASS_VALIDATOR),
+      new OptionDefinition(ExecConstants.HASHAGG_ADAPTIVE_BYPASS_MIN_ROWS_VALIDATOR),
+      new OptionDefinition(ExecConstants.HASHAGG_ADAPTIVE_BYPASS_RATIO_VALIDATOR),
+      new OptionDefinition(ExecConstants.HASHAGG_DIRECT_INDEX_VALIDATOR),
+      new OptionDefinition(ExecConstants.HASHAGG_DIRECT_INDEX_MAX_RANGE_VALIDATOR),
+      new OptionDefinition(ExecConstants.HASHAGG_SPILL_COMPRESSION),
       new OptionDefinition(ExecConstants.CAST_EMPTY_STRING_TO_NULL_OPTION),
       new OptionDefinition(ExecConstants.OUTPUT_FORMAT_VALIDATOR),
       new OptionDefinition(ExecConstants.PARQUET_BLOCK_SIZE_VALIDATOR),
@@ -171,6 +181,8 @@ public class SystemOptionManager extends BaseOptionManager implements AutoClosea
       new OptionDefinition(ExecConstants.PARQUET_WRITER_COMPRESSION_TYPE_VALIDATOR),
       new OptionDefinition(ExecConstants.PARQUET_WRITER_ENABLE_DICTIONARY_ENCODING_VALIDATOR),
       new OptionDefinition(ExecConstants.PARQUET_WRITER_USE_PRIMITIVE_TYPES_FOR_DECIMALS_VALIDATOR),
+      new OptionDefinition(ExecConstants.PARQUET_WRITER_BLOOM_FILTER_COLUMNS_VALIDATOR),
+      new OptionDefinition(ExecConstants.PARQUET_WRITER_BLOOM_FILTER_MAX_BYTES_VALIDATOR),
       new OptionDefinition(ExecConstants.PARQUET_WRITER_LOGICAL_TYPE_FOR_DECIMALS_VALIDATOR),
       new OptionDefinition(ExecConstants.PARQUET_VECTOR_FILL_THRESHOLD_VALIDATOR),
       new OptionDefinition(ExecConstants.PARQUET_VECTOR_FILL_CHECK_THRESHOLD_VALIDATOR),
@@ -185,10 +197,20 @@ public class SystemOptionManager extends BaseOptionManager implements AutoClosea
       new OptionDefinition(ExecConstants.PARQUET_READER_INT96_AS_TIMESTAMP_VALIDATOR),
       new OptionDefinition(ExecConstants.PARQUET_READER_STRINGS_SIGNED_MIN_MAX_VALIDATOR),
       new OptionDefinition(ExecConstants.PARQUET_FLAT_READER_BULK_VALIDATOR),
+      new OptionDefinition(ExecConstants.PARQUET_PAGE_INDEX_FILTER),
+      new OptionDefinition(ExecConstants.PARQUET_BLOOM_FILTER),
+      new OptionDefinition(ExecConstants.PARQUET_LATE_MATERIALIZATION),
+      new OptionDefinition(ExecConstants.PARQUET_NESTED_BATCH_READER),
+      new OptionDefinition(ExecConstants.PARQUET_VECTORED_READ),
+      new OptionDefinition(ExecConstants.PARQUET_VECTORED_READ_MAX_GAP),
       new OptionDefinition(ExecConstants.PARQUET_FLAT_BATCH_NUM_RECORDS_VALIDATOR, new OptionMetaData(OptionValue.AccessibleScopes.SYSTEM_AND_SESSION, true, true)),
       new OptionDefinition(ExecConstants.PARQUET_FLAT_BATCH_MEMORY_SIZE_VALIDATOR, new OptionMetaData(OptionValue.AccessibleScopes.SYSTEM_AND_SESSION, true, true)),
       new OptionDefinition(ExecConstants.PARQUET_COMPLEX_BATCH_NUM_RECORDS_VALIDATOR, new OptionMetaData(OptionValue.AccessibleScopes.SYSTEM_AND_SESSION, true, true)),
       new OptionDefinition(ExecConstants.PARTITIONER_MEMORY_REDUCTION_THRESHOLD_VALIDATOR),
+      new OptionDefinition(ExecConstants.PARTITIONER_OUTGOING_MEMORY_VALIDATOR),
+      new OptionDefinition(ExecConstants.PARTITIONER_COALESCE_BYTES_VALIDATOR),
+      new OptionDefinition(ExecConstants.BROADCAST_RELAY_FANOUT_VALIDATOR),
+      new OptionDefinition(ExecConstants.PARTITIONER_COLUMN_SCATTER_VALIDATOR),
       new OptionDefinition(ExecConstants.JSON_READER_ALL_TEXT_MODE_VALIDATOR),
       new OptionDefinition(ExecConstants.JSON_WRITER_NAN_INF_NUMBERS_VALIDATOR),
       new OptionDefinition(ExecConstants.JSON_READER_NAN_INF_NUMBERS_VALIDATOR),
@@ -243,6 +265,10 @@ public class SystemOptionManager extends BaseOptionManager implements AutoClosea
       new OptionDefinition(ExecConstants.NON_BLOCKING_OPERATORS_MEMORY),
       new OptionDefinition(ExecConstants.HASH_JOIN_TABLE_FACTOR),
       new OptionDefinition(ExecConstants.HASHJOIN_HASHTABLE_CALC_TYPE, new OptionMetaData(OptionValue.AccessibleScopes.SYSTEM_AND_SESSION, true, true)),
+      new OptionDefinition(ExecConstants.HASHJOIN_HASHTABLE_TYPE),
+      new OptionDefinition(ExecConstants.HASHJOIN_BATCH_PROBE),
+      new OptionDefinition(ExecConstants.HASHJOIN_RADIX_CLUSTER_BYTES),
+      new OptionDefinition(ExecConstants.HASHJOIN_SPILL_COMPRESSION),
       new OptionDefinition(ExecConstants.HASHJOIN_SAFETY_FACTOR, new OptionMetaData(OptionValue.AccessibleScopes.SYSTEM_AND_SESSION, true, true)),
       new OptionDefinition(ExecConstants.HASHJOIN_HASH_DOUBLE_FACTOR, new OptionMetaData(OptionValue.AccessibleScopes.SYSTEM_AND_SESSION, true, true)),
       new OptionDefinition(ExecConstants.HASHJOIN_FRAGMENTATION_FACTOR, new OptionMetaData(OptionValue.AccessibleScopes.SYSTEM_AND_SESSION, true, true)),
@@ -283,6 +309,11 @@ public class SystemOptionManager extends BaseOptionManager implements AutoClosea
       new OptionDefinition(ExecConstants.CREATE_PREPARE_STATEMENT_TIMEOUT_MILLIS_VALIDATOR),
       new OptionDefinition(ExecConstants.DYNAMIC_UDF_SUPPORT_ENABLED_VALIDATOR,  new OptionMetaData(OptionValue.AccessibleScopes.SYSTEM, true, false)),
       new OptionDefinition(ExecConstants.EXTERNAL_SORT_DISABLE_MANAGED_OPTION),
+      new OptionDefinition(ExecConstants.EXTERNAL_SORT_NORMALIZED_KEYS),
+      new OptionDefinition(ExecConstants.MERGING_RECEIVER_NORMALIZED_KEYS),
+      new OptionDefinition(ExecConstants.EXTERNAL_SORT_SPILL_COMPRESSION),
+      new OptionDefinition(ExecConstants.SPILL_ASYNC_IO),
+      new OptionDefinition(ExecConstants.SPILL_ASYNC_IO_BUFFER_SIZE),
       new OptionDefinition(ExecConstants.ENABLE_QUERY_PROFILE_VALIDATOR),
       new OptionDefinition(ExecConstants.SKIP_SESSION_QUERY_PROFILE_VALIDATOR),
       new OptionDefinition(ExecConstants.QUERY_PROFILE_DEBUG_VALIDATOR),
@@ -317,7 +348,8 @@ public class SystemOptionManager extends BaseOptionManager implements AutoClosea
       new OptionDefinition(ExecConstants.METASTORE_FALLBACK_TO_FILE_METADATA_VALIDATOR),
       new OptionDefinition(ExecConstants.METASTORE_RETRIEVAL_RETRY_ATTEMPTS_VALIDATOR),
       new OptionDefinition(ExecConstants.PARQUET_READER_ENABLE_MAP_SUPPORT_VALIDATOR, new OptionMetaData(OptionValue.AccessibleScopes.SYSTEM_AND_SESSION, false, false)),
-      new OptionDefinition(ExecConstants.ENABLE_DYNAMIC_CREDIT_BASED_FC_VALIDATOR)
+      new OptionDefinition(ExecConstants.ENABLE_DYNAMIC_CREDIT_BASED_FC_VALIDATOR),
+      new OptionDefinition(ExecConstants.ENABLE_BYTE_CREDIT_BASED_FC_VALIDATOR)
     };
 
     CaseInsensitiveMap<OptionDefinition> map = Arrays.stream(definitions)
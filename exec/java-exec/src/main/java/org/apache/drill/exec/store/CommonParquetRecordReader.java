@@ -21,6 +21,7 @@ import org.apache.drill.common.exceptions.DrillRuntimeException;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.ops.MetricDef;
 import org.apache.drill.exec.ops.OperatorContext;
+import org.apache.drill.exec.physical.impl.TopN.TopNThreshold;
 import org.apache.drill.exec.store.parquet.ParquetReaderStats;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
@@ -39,14 +40,25 @@ public abstract class CommonParquetRecordReader extends AbstractRecordReader {
 
   protected ParquetMetadata footer;
 
+  private TopNThreshold topNThreshold;
+
   public CommonParquetRecordReader(ParquetMetadata footer, FragmentContext fragmentContext) {
     this.footer = footer;
     this.fragmentContext = fragmentContext;
   }
 
-  public void updateRowGroupsStats(long numRowGroups, long rowGroupsPruned) {
+  /**
+   * Sets the threshold of the Top-N (in the same fragment) that the records read by this reader
+   * are sorted by; see {@link #skipByTopNThreshold(int)}.
+   */
+  public void setTopNThreshold(TopNThreshold topNThreshold) {
+    this.topNThreshold = topNThreshold;
+  }
+
+  public void updateRowGroupsStats(long numRowGroups, long rowGroupsPruned, long rowGroupsPrunedByBloomFilter) {
     parquetReaderStats.numRowgroups.set(numRowGroups);
     parquetReaderStats.rowgroupsPruned.set(rowGroupsPruned);
+    parquetReaderStats.rowgroupsPrunedByBloomFilter.set(rowGroupsPrunedByBloomFilter);
   }
 
   public enum Metric implements MetricDef {
@@ -71,7 +83,14 @@ public abstract class CommonParquetRecordReader extends AbstractRecordReader {
     TIME_DISK_SCAN,                // Time in nanos spent in reading data from disk.
     TIME_FIXEDCOLUMN_READ,         // Time in nanos spent in converting fixed width data to value vectors
     TIME_VARCOLUMN_READ,           // Time in nanos spent in converting varwidth data to value vectors
-    TIME_PROCESS;                  // Time in nanos spent in processing
+    TIME_PROCESS,                  // Time in nanos spent in processing
+    ROWGROUPS_SKIPPED_BY_TOPN,     // Number of rowgroups (or their remainders) skipped as none of their records could enter the Top-N
+    NUM_DATA_PAGES_SKIPPED,        // Number of data pages skipped as, according to the column indexes, none of their rows match the filter
+    ROWGROUPS_PRUNED_BY_BLOOM_FILTER, // Number of rowgroups (out of ROWGROUPS_PRUNED) pruned out at runtime by their bloom filters
+    NUM_VECTORED_READS,            // Number of reads issued for the merged column chunk ranges of the row groups
+    VECTORED_READ_BYTES_OVER_READ, // Total bytes of the gaps between the merged column chunks, read and dropped
+    NUM_LATE_MATERIALIZED_ROWGROUPS, // Number of rowgroups whose filter columns were read first, to select the pages of the others
+    TIME_FILTER_COLUMNS_READ;      // Time in nanos spent in reading the filter columns of these rowgroups and evaluating the filter
 
     @Override public int metricId() {
       return ordinal();
@@ -88,6 +107,20 @@ public abstract class CommonParquetRecordReader extends AbstractRecordReader {
     }
   }
 
+  /**
+   * Checks (before reading each batch) whether, according to the row group statistics, none of the
+   * records of the given row group can enter the Top-N that shares its threshold with this scan.
+   *
+   * @return true if the rest of the row group should be skipped
+   */
+  protected boolean skipByTopNThreshold(int rowGroupIndex) {
+    if (topNThreshold == null || !topNThreshold.canSkip(footer.getBlocks().get(rowGroupIndex))) {
+      return false;
+    }
+    parquetReaderStats.rowgroupsSkippedByTopN.incrementAndGet();
+    return true;
+  }
+
   protected int initNumRecordsToRead(long numRecordsToRead, int rowGroupIndex, ParquetMetadata footer) {
     if (numRecordsToRead == 0) {
       return 0;
@@ -71,7 +71,7 @@ public class LocalSyncableFileSystem extends FileSystem {
   public FSDataOutputStream create(Path path, FsPermission fsPermission,
       boolean b, int i, short i2, long l, Progressable progressable) throws IOException {
     return new FSDataOutputStream(new LocalSyncableOutputStream(path),
-        FileSystem.getStatistics(path.toUri().getScheme(), getClass()));
+        FileSystem.getStatistics(getUri().getScheme(), getClass()));
   }
 
   @Override
@@ -41,18 +41,25 @@ import org.apache.drill.exec.store.parquet.metadata.Metadata;
 import org.apache.drill.exec.store.parquet.metadata.MetadataBase;
 import org.apache.drill.exec.store.parquet.metadata.Metadata_V4;
 import org.apache.drill.exec.store.parquet2.DrillParquetReader;
+import org.apache.drill.exec.util.Utilities;
 import org.apache.drill.metastore.statistics.ColumnStatistics;
 import org.apache.drill.metastore.util.SchemaPathUtils;
 import org.apache.drill.shaded.guava.com.google.common.base.Functions;
 import org.apache.drill.shaded.guava.com.google.common.base.Stopwatch;
 import org.apache.drill.shaded.guava.com.google.common.collect.Maps;
+import org.apache.drill.shaded.guava.com.google.common.collect.RangeSet;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.BloomFilterReader;
 import org.apache.parquet.hadoop.CodecFactory;
 import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,6 +73,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 public abstract class AbstractParquetScanBatchCreator {
 
@@ -91,11 +99,15 @@ public abstract class AbstractParquetScanBatchCreator {
     RowGroupReadEntry firstRowGroup = null; // to be scanned in case ALL row groups are pruned out
     ParquetMetadata firstFooter = null;
     long rowGroupsPruned = 0; // for stats
+    long rowGroupsPrunedByBloomFilter = 0; // for stats, out of rowGroupsPruned
 
     try {
       LogicalExpression filterExpr = rowGroupScan.getFilter();
       boolean doRuntimePruning = filterExpr != null && // was a filter given ?   And it is not just a "TRUE" predicate
         ! ((filterExpr instanceof ValueExpressions.BooleanExpression) && ((ValueExpressions.BooleanExpression) filterExpr).getBoolean() );
+      boolean doPageIndexFiltering = context.getOptions().getBoolean(ExecConstants.PARQUET_PAGE_INDEX_FILTER_KEY);
+      boolean doBloomFilterPruning = context.getOptions().getBoolean(ExecConstants.PARQUET_BLOOM_FILTER_KEY);
+      boolean doLateMaterialization = context.getOptions().getBoolean(ExecConstants.PARQUET_LATE_MATERIALIZATION_KEY);
 
       // Runtime pruning: Avoid recomputing metadata objects for each row-group in case they use the same file
       // by keeping the following objects computed earlier (relies on same file being in consecutive rowgroups)
@@ -154,6 +166,7 @@ public abstract class AbstractParquetScanBatchCreator {
           footers.put(rowGroup.getPath(), footer);
         }
         ParquetMetadata footer = footers.get(rowGroup.getPath());
+        PageSelection pageSelection = null;
 
         //
         //   If a filter is given (and it is not just "TRUE") - then use it to perform run-time pruning
@@ -211,6 +224,41 @@ public abstract class AbstractParquetScanBatchCreator {
 
               matchResult = FilterEvaluatorUtils.matches(filterPredicate, columnsStatistics, footerRowCount, rowGroupSchema, schemaPathsInExpr);
 
+              // Prune the row group if the bloom filters hold none of the values its columns are compared to
+              if (matchResult != RowsMatch.NONE && doBloomFilterPruning
+                  && BloomFilterEvaluator.hasBloomFilters(footer.getBlocks().get(rowGroupIndex))
+                  && canDropByBloomFilters(fs, rowGroup, footer, readerConfig, filterExpr)) {
+                matchResult = RowsMatch.NONE;
+                rowGroupsPrunedByBloomFilter++;
+              }
+
+              // Prune the pages of the row group which match the filter only partly
+              if (matchResult == RowsMatch.SOME && doPageIndexFiltering) {
+                pageSelection = selectPages(fs, rowGroup, footer, readerConfig, rowGroupScan.getColumns(), columnsInExpr,
+                    getPageFilter(filterPredicate, tableMetadataV4, rowGroupSchema, schemaPathsInExpr));
+                if (pageSelection != null && pageSelection.getRowCount() == 0) {
+                  matchResult = RowsMatch.NONE;
+                  pageSelection = null;
+                }
+              }
+
+              // Late materialization: evaluate the filter on its columns, then skip the pages without matching rows
+              if (matchResult == RowsMatch.SOME && doLateMaterialization
+                  && canMaterializeLate(context, footer,
+                      footer.getBlocks().get(rowGroupIndex), rowGroupScan.getColumns(), schemaPathsInExpr, columnsInExpr)) {
+                List<SchemaPath> filterColumns = new ArrayList<>(columnsInExpr);
+                RangeSet<Long> rows = FilterColumnsReader.selectRows(context, oContext, fs, footer, rowGroup, filterExpr,
+                    filterColumns, pageSelection, ParquetReaderUtility.detectCorruptDates(footer, filterColumns,
+                        readerConfig.autoCorrectCorruptedDates()));
+                if (rows != null && rows.isEmpty()) {
+                  matchResult = RowsMatch.NONE;
+                  pageSelection = null;
+                } else if (rows != null) {
+                  PageSelection rowSelection = selectPages(fs, rowGroup, footer, readerConfig, rowGroupScan.getColumns(), rows);
+                  pageSelection = rowSelection != null ? rowSelection : pageSelection;
+                }
+              }
+
               // collect logging info
               long timeToRead = pruneTimer.elapsed(TimeUnit.MICROSECONDS);
               totalPruneTime += timeToRead;
@@ -220,6 +268,7 @@ public abstract class AbstractParquetScanBatchCreator {
               // in case some unexpected exception is raised
               logger.warn("Run-time pruning check failed - {}. Skip pruning rowgroup - {}", e.getMessage(), rowGroup.getPath());
               logger.debug("Failure during run-time pruning: {}", e.getMessage(), e);
+              pageSelection = null;
             }
           }
 
@@ -237,14 +286,14 @@ public abstract class AbstractParquetScanBatchCreator {
           }
         }
 
-        mapWithMaxColumns = createReaderAndImplicitColumns(context, rowGroupScan, oContext, columnExplorer, readers, implicitColumns, mapWithMaxColumns, rowGroup, fs, footer, false);
+        mapWithMaxColumns = createReaderAndImplicitColumns(context, rowGroupScan, oContext, columnExplorer, readers, implicitColumns, mapWithMaxColumns, rowGroup, fs, footer, pageSelection, false);
       }
 
       // in case all row groups were pruned out - create a single reader for the first one (so that the schema could be returned)
       if (readers.isEmpty() && firstRowGroup != null) {
         DrillFileSystem fs = fsManager.get(rowGroupScan.getFsConf(firstRowGroup), firstRowGroup.getPath());
         mapWithMaxColumns = createReaderAndImplicitColumns(context, rowGroupScan, oContext, columnExplorer, readers, implicitColumns, mapWithMaxColumns, firstRowGroup, fs,
-          firstFooter, true);
+          firstFooter, null, true);
       }
       // do some logging, if relevant
       if (totalPruneTime > 0)  {
@@ -254,7 +303,7 @@ public abstract class AbstractParquetScanBatchCreator {
 
       // Update stats (same in every reader - the others would just overwrite the stats)
       for (CommonParquetRecordReader rr : readers ) {
-          rr.updateRowGroupsStats(totalRowGroups, rowGroupsPruned);
+          rr.updateRowGroupsStats(totalRowGroups, rowGroupsPruned, rowGroupsPrunedByBloomFilter);
       }
 
     } catch (IOException | InterruptedException e) {
@@ -283,6 +332,7 @@ public abstract class AbstractParquetScanBatchCreator {
    * @param rowGroup create a reader for this specific row group
    * @param fs file system
    * @param footer this file's footer
+   * @param pageSelection the pages of the row group to read (by the flat reader), null to read all of them
    * @param readSchemaOnly if true sets the number of rows to read to be zero
    * @return the (possibly modified) input mapWithMaxColumns
    */
@@ -296,6 +346,7 @@ public abstract class AbstractParquetScanBatchCreator {
                                                              RowGroupReadEntry rowGroup,
                                                              DrillFileSystem fs,
                                                              ParquetMetadata footer,
+                                                             PageSelection pageSelection,
                                                              boolean readSchemaOnly) {
     ParquetReaderConfig readerConfig = rowGroupScan.getReaderConfig();
     ParquetReaderUtility.DateCorruptionStatus containsCorruptDates = ParquetReaderUtility.detectCorruptDates(footer,
@@ -320,7 +371,12 @@ public abstract class AbstractParquetScanBatchCreator {
         containsCorruptDates,
         recordsToRead);
     } else {
-      reader = new ParquetRecordReader(context,
+      if (pageSelection != null) {
+        recordsToRead = recordsToRead == CommonParquetRecordReader.NUM_RECORDS_TO_READ_NOT_SPECIFIED
+            ? pageSelection.getRowCount()
+            : Math.min(recordsToRead, pageSelection.getRowCount());
+      }
+      ParquetRecordReader parquetRecordReader = new ParquetRecordReader(context,
         rowGroup.getPath(),
         rowGroup.getRowGroupIndex(),
         recordsToRead,
@@ -329,6 +385,13 @@ public abstract class AbstractParquetScanBatchCreator {
         footer,
         rowGroupScan.getColumns(),
         containsCorruptDates);
+      parquetRecordReader.setPageSelection(pageSelection);
+      reader = parquetRecordReader;
+    }
+
+    if (context.getOptions().getOption(ExecConstants.TOPN_ENABLE_THRESHOLD_FILTER)) {
+      // the id of the (copied) row group scan may not be set, so take the one of the operator
+      reader.setTopNThreshold(context.getTopNThreshold(oContext.getOperatorDefn().getOperatorId()));
     }
 
     logger.debug("Query {} uses {}",
@@ -347,15 +410,126 @@ public abstract class AbstractParquetScanBatchCreator {
     return mapWithMaxColumns;
   }
 
+  /**
+   * Selects the pages of a row group which may hold rows matching the filter, by the column
+   * indexes of the filter columns.
+   *
+   * @return the selected pages, null if none can be skipped
+   */
+  private PageSelection selectPages(DrillFileSystem fs, RowGroupReadEntry rowGroup, ParquetMetadata footer,
+      ParquetReaderConfig readerConfig, List<SchemaPath> columns, Set<SchemaPath> columnsInExpr,
+      PageSelection.PageFilter filter) throws IOException {
+    BlockMetaData block = footer.getBlocks().get(rowGroup.getRowGroupIndex());
+    try (ParquetFileReader reader = openFileReader(fs.getConf(), rowGroup.getPath(), readerConfig)) {
+      return PageSelection.select(reader, block,
+          column -> columnsInExpr.contains(SchemaPath.getSimplePath(column.getPath().toArray()[0])),
+          getReadColumnFilter(footer, columns),
+          filter);
+    }
+  }
+
+  /**
+   * Selects the pages of a row group which hold the given rows.
+   *
+   * @return the selected pages, null if none can be skipped
+   */
+  private PageSelection selectPages(DrillFileSystem fs, RowGroupReadEntry rowGroup, ParquetMetadata footer,
+      ParquetReaderConfig readerConfig, List<SchemaPath> columns, RangeSet<Long> rows) throws IOException {
+    BlockMetaData block = footer.getBlocks().get(rowGroup.getRowGroupIndex());
+    try (ParquetFileReader reader = openFileReader(fs.getConf(), rowGroup.getPath(), readerConfig)) {
+      return PageSelection.select(reader, block, getReadColumnFilter(footer, columns), rows);
+    }
+  }
+
+  /**
+   * @return accepts the columns read by the flat reader, as selected by its ParquetSchema
+   */
+  private static Predicate<ColumnChunkMetaData> getReadColumnFilter(ParquetMetadata footer, List<SchemaPath> columns) {
+    MessageType schema = footer.getFileMetaData().getSchema();
+    boolean starQuery = Utilities.isStarQuery(columns);
+    return column -> {
+      String columnPath = ParquetReaderUtility.getFullColumnPath(schema.getColumnDescription(column.getPath().toArray()));
+      return starQuery || columns.stream().anyMatch(path -> columnPath.equalsIgnoreCase(path.getUnIndexed().toString()));
+    };
+  }
+
+  /**
+   * Checks whether the filter columns of a row group can be read first, on their own: the row group
+   * is read by the flat reader, the filter refers to top level primitive columns of the file only
+   * (no implicit or missing column, whose values the reader of the filter columns does not know),
+   * and the other columns read are wider in the row group than the filter columns: reading the
+   * filter columns twice costs more than it may save otherwise.
+   */
+  private static boolean canMaterializeLate(ExecutorFragmentContext context, ParquetMetadata footer,
+      BlockMetaData block, List<SchemaPath> columns, Set<SchemaPath> schemaPathsInExpr, Set<SchemaPath> columnsInExpr) {
+    if (context.getOptions().getBoolean(ExecConstants.PARQUET_NEW_RECORD_READER)
+        || ParquetReaderUtility.containsComplexColumn(footer, columns)) {
+      return false;
+    }
+    if (!schemaPathsInExpr.stream().allMatch(path -> columnsInExpr.contains(SchemaPath.getSimplePath(path.getRootSegmentPath())))) {
+      return false;
+    }
+    List<Type> fields = footer.getFileMetaData().getSchema().getFields();
+    for (SchemaPath column : columnsInExpr) {
+      if (fields.stream().noneMatch(field -> field.isPrimitive() && field.getName().equalsIgnoreCase(column.getRootSegmentPath()))) {
+        return false;
+      }
+    }
+    Predicate<ColumnChunkMetaData> readColumnFilter = getReadColumnFilter(footer, columns);
+    long filterColumnsSize = 0;
+    long otherColumnsSize = 0;
+    for (ColumnChunkMetaData column : block.getColumns()) {
+      if (!readColumnFilter.test(column)) {
+        continue;
+      }
+      if (columnsInExpr.contains(SchemaPath.getSimplePath(column.getPath().toArray()[0]))) {
+        filterColumnsSize += column.getTotalSize();
+      } else {
+        otherColumnsSize += column.getTotalSize();
+      }
+    }
+    return otherColumnsSize > filterColumnsSize;
+  }
+
+  /**
+   * Checks whether the bloom filters of the row group hold none of the values the filter requires.
+   *
+   * @return true if no row of the row group can match the filter
+   */
+  private boolean canDropByBloomFilters(DrillFileSystem fs, RowGroupReadEntry rowGroup, ParquetMetadata footer,
+      ParquetReaderConfig readerConfig, LogicalExpression filterExpr) throws IOException {
+    BlockMetaData block = footer.getBlocks().get(rowGroup.getRowGroupIndex());
+    try (ParquetFileReader reader = openFileReader(fs.getConf(), rowGroup.getPath(), readerConfig)) {
+      BloomFilterReader bloomFilterReader = reader.getBloomFilterDataReader(block);
+      return BloomFilterEvaluator.canDrop(filterExpr, block, bloomFilterReader::readBloomFilter);
+    }
+  }
+
+  /**
+   * Evaluates the filter against the statistics of a range of rows of a row group, in the same
+   * way as against those of the row group.
+   */
+  private static PageSelection.PageFilter getPageFilter(FilterPredicate<?> filterPredicate,
+      Metadata_V4.ParquetTableMetadata_v4 tableMetadata, TupleMetadata rowGroupSchema, Set<SchemaPath> schemaPathsInExpr) {
+    return (columns, rowCount) -> {
+      Metadata_V4.RowGroupMetadata_v4 rows = new Metadata_V4.RowGroupMetadata_v4(null, null, rowCount, null, columns);
+      return FilterEvaluatorUtils.matches(filterPredicate,
+          ParquetTableMetadataUtils.getRowGroupColumnStatistics(tableMetadata, rows), rowCount, rowGroupSchema, schemaPathsInExpr);
+    };
+  }
+
   protected abstract AbstractDrillFileSystemManager getDrillFileSystemCreator(OperatorContext operatorContext, OptionManager optionManager);
 
   private ParquetMetadata readFooter(Configuration conf, Path path, ParquetReaderConfig readerConfig) throws IOException {
-    try (ParquetFileReader reader = ParquetFileReader.open(HadoopInputFile.fromPath(path,
-      readerConfig.addCountersToConf(conf)), readerConfig.toReadOptions())) {
+    try (ParquetFileReader reader = openFileReader(conf, path, readerConfig)) {
       return reader.getFooter();
     }
   }
 
+  private ParquetFileReader openFileReader(Configuration conf, Path path, ParquetReaderConfig readerConfig) throws IOException {
+    return ParquetFileReader.open(HadoopInputFile.fromPath(path, readerConfig.addCountersToConf(conf)), readerConfig.toReadOptions());
+  }
+
   /**
    * Helper class responsible for creating and managing DrillFileSystem.
    */
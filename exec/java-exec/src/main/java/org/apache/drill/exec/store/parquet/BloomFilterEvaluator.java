@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.parquet;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.apache.drill.common.FunctionNames;
+import org.apache.drill.common.expression.BooleanOperator;
+import org.apache.drill.common.expression.FunctionCall;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.common.expression.ValueExpressions;
+import org.apache.drill.common.expression.visitors.AbstractExprVisitor;
+import org.apache.parquet.column.values.bloomfilter.BloomFilter;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.PrimitiveType;
+
+/**
+ * Checks whether a row group can be dropped as, according to the bloom filters of its column chunks,
+ * none of its rows holds the value required by an equality predicate of the filter: the min/max
+ * statistics can not tell for values spread over the whole range, such as ids.
+ * <p>
+ * Only the predicates <tt>column = literal</tt> on a top level column are checked, where the type of
+ * the literal matches the physical type of the column (the value is hashed as stored): a conjunction
+ * can be dropped if one of its terms can, a disjunction (as of an IN list) if all of them can.
+ */
+public class BloomFilterEvaluator extends AbstractExprVisitor<Boolean, Void, RuntimeException> {
+
+  private final BlockMetaData rowGroup;
+  private final Function<ColumnChunkMetaData, BloomFilter> bloomFilters;
+
+  private BloomFilterEvaluator(BlockMetaData rowGroup, Function<ColumnChunkMetaData, BloomFilter> bloomFilters) {
+    this.rowGroup = rowGroup;
+    this.bloomFilters = bloomFilters;
+  }
+
+  /**
+   * @param filter the filter of the scan
+   * @param rowGroup the row group
+   * @param bloomFilters reads the bloom filter of a column chunk, null if there is none
+   * @return true if no row of the row group matches the filter
+   */
+  public static boolean canDrop(LogicalExpression filter, BlockMetaData rowGroup,
+      Function<ColumnChunkMetaData, BloomFilter> bloomFilters) {
+    return filter.accept(new BloomFilterEvaluator(rowGroup, bloomFilters), null);
+  }
+
+  /**
+   * @return true if a column chunk of the row group has a bloom filter
+   */
+  public static boolean hasBloomFilters(BlockMetaData rowGroup) {
+    return rowGroup.getColumns().stream().anyMatch(column -> column.getBloomFilterOffset() >= 0);
+  }
+
+  @Override
+  public Boolean visitBooleanOperator(BooleanOperator op, Void value) {
+    boolean and = op.getName().equals(FunctionNames.AND);
+    if (!and && !op.getName().equals(FunctionNames.OR)) {
+      return false;
+    }
+    for (LogicalExpression arg : op.args()) {
+      if (arg.accept(this, null) == and) {
+        return and;
+      }
+    }
+    return !and;
+  }
+
+  @Override
+  public Boolean visitFunctionCall(FunctionCall call, Void value) {
+    List<LogicalExpression> args = call.args();
+    if (!call.getName().equals(FunctionNames.EQ) || args.size() != 2) {
+      return false;
+    }
+    if (args.get(0) instanceof SchemaPath) {
+      return canDrop((SchemaPath) args.get(0), args.get(1));
+    }
+    if (args.get(1) instanceof SchemaPath) {
+      return canDrop((SchemaPath) args.get(1), args.get(0));
+    }
+    return false;
+  }
+
+  @Override
+  public Boolean visitUnknown(LogicalExpression e, Void value) {
+    return false;
+  }
+
+  private boolean canDrop(SchemaPath path, LogicalExpression literal) {
+    if (!path.isLeaf()) {
+      return false;
+    }
+    ColumnChunkMetaData column = rowGroup.getColumns().stream()
+        .filter(chunk -> chunk.getPath().size() == 1
+            && chunk.getPath().toArray()[0].equalsIgnoreCase(path.getRootSegmentPath()))
+        .findFirst()
+        .orElse(null);
+    if (column == null || column.getBloomFilterOffset() < 0) {
+      return false;
+    }
+    Object hashed = getHashedValue(column.getPrimitiveType(), literal);
+    if (hashed == null) {
+      return false;
+    }
+    BloomFilter bloomFilter = bloomFilters.apply(column);
+    return bloomFilter != null && !bloomFilter.findHash(bloomFilter.hash(hashed));
+  }
+
+  /**
+   * @return the literal, as stored in the column, null if the types do not match
+   */
+  private static Object getHashedValue(PrimitiveType type, LogicalExpression literal) {
+    LogicalTypeAnnotation logicalType = type.getLogicalTypeAnnotation();
+    Long integer = null;
+    if (literal instanceof ValueExpressions.IntExpression) {
+      integer = (long) ((ValueExpressions.IntExpression) literal).getInt();
+    } else if (literal instanceof ValueExpressions.LongExpression) {
+      integer = ((ValueExpressions.LongExpression) literal).getLong();
+    }
+    switch (type.getPrimitiveTypeName()) {
+      case INT32:
+        if (integer == null || integer != integer.intValue() || !isSignedInteger(logicalType)) {
+          return null;
+        }
+        return integer.intValue();
+      case INT64:
+        return integer != null && isSignedInteger(logicalType) ? integer : null;
+      case DOUBLE:
+        if (literal instanceof ValueExpressions.DoubleExpression) {
+          double d = ((ValueExpressions.DoubleExpression) literal).getDouble();
+          // -0.0 equals 0.0 and NaN equals NaN, but their bits (and so hashes) may differ
+          return d == 0 || Double.isNaN(d) ? null : d;
+        }
+        return integer != null && integer == (long) (double) integer && integer != 0 ? (double) integer : null;
+      case BINARY:
+        if (literal instanceof ValueExpressions.QuotedString
+            && (logicalType == null || logicalType instanceof LogicalTypeAnnotation.StringLogicalTypeAnnotation)) {
+          return Binary.fromString(((ValueExpressions.QuotedString) literal).getString());
+        }
+        return null;
+      default:
+        return null;
+    }
+  }
+
+  private static boolean isSignedInteger(LogicalTypeAnnotation logicalType) {
+    return logicalType == null || logicalType instanceof LogicalTypeAnnotation.IntLogicalTypeAnnotation
+        && ((LogicalTypeAnnotation.IntLogicalTypeAnnotation) logicalType).isSigned();
+  }
+}
@@ -0,0 +1,305 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.parquet;
+
+import io.netty.buffer.DrillBuf;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.util.concurrent.ExecutorServiceUtil;
+import org.apache.drill.shaded.guava.com.google.common.base.Preconditions;
+import org.apache.drill.shaded.guava.com.google.common.base.Stopwatch;
+import org.apache.hadoop.fs.ByteBufferReadable;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.PositionedReadable;
+import org.apache.hadoop.fs.Seekable;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.util.HadoopStreams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the column chunks of a row group with few, large reads instead of one stream per
+ * column chunk and page.
+ * <p>
+ * The byte ranges of the column chunks are planned up front and sorted by offset. The ranges
+ * closer to each other than the given gap are merged; the bytes of the gaps are read and
+ * dropped. Each merged range is then read into a direct buffer by a task on the scan executor,
+ * all of them in parallel. The page readers get, in place of a file stream, a stream over the
+ * slice of their column chunk, which waits for the read of its range to complete.
+ * <p>
+ * The buffers are held until {@link #close()}, so the projected column chunks of the row
+ * group are all in memory at once.
+ */
+public class ColumnChunkRangeReader implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(ColumnChunkRangeReader.class);
+
+  private final FileSystem fs;
+  private final Path path;
+  private final ParquetReaderStats stats;
+  private final List<Range> ranges = new ArrayList<>();
+
+  /**
+   * Plans the merged ranges of the given column chunks and starts reading them.
+   *
+   * @param columnChunks the column chunks to read, in any order
+   * @param maxGap the largest gap (in bytes) between two column chunks read at once
+   */
+  public ColumnChunkRangeReader(FileSystem fs, Path path, List<ColumnChunkMetaData> columnChunks, long maxGap,
+                                BufferAllocator allocator, ExecutorService executor, ParquetReaderStats stats) {
+    this.fs = fs;
+    this.path = path;
+    this.stats = stats;
+    List<ColumnChunkMetaData> sorted = new ArrayList<>(columnChunks);
+    sorted.sort(Comparator.comparingLong(ColumnChunkMetaData::getStartingPos));
+    Range range = null;
+    for (ColumnChunkMetaData columnChunk : sorted) {
+      long start = columnChunk.getStartingPos();
+      long end = start + columnChunk.getTotalSize();
+      if (range != null && start - range.end <= maxGap && end - range.start <= Integer.MAX_VALUE) {
+        range.add(columnChunk, end);
+      } else {
+        range = new Range(columnChunk, start, end);
+        ranges.add(range);
+      }
+    }
+    try {
+      for (Range r : ranges) {
+        // allocated here, so that an out of memory fails the fragment rather than a scan thread
+        r.buffer = allocator.buffer((int) (r.end - r.start));
+        r.future = ExecutorServiceUtil.submit(executor, r::read);
+      }
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /**
+   * Tells whether the column chunks are small enough to be read in memory, as one buffer each.
+   */
+  public static boolean canRead(List<ColumnChunkMetaData> columnChunks) {
+    return columnChunks.stream().allMatch(columnChunk -> columnChunk.getTotalSize() <= Integer.MAX_VALUE);
+  }
+
+  /**
+   * Opens a stream over the given column chunk, at the file offsets of the chunk. The stream
+   * waits for the read of its range to complete and does not own the buffer.
+   */
+  public FSDataInputStream open(ColumnChunkMetaData columnChunk) throws IOException {
+    for (Range range : ranges) {
+      if (range.columnChunks.contains(columnChunk)) {
+        range.await();
+        int offset = (int) (columnChunk.getStartingPos() - range.start);
+        return new FSDataInputStream(new ColumnChunkInputStream(
+            range.buffer.slice(offset, (int) columnChunk.getTotalSize()), columnChunk.getStartingPos()));
+      }
+    }
+    throw new IllegalStateException(String.format("Column chunk %s of file %s was not planned", columnChunk, path));
+  }
+
+  /**
+   * Waits for (or cancels) the reads still running and releases the buffers.
+   */
+  @Override
+  public void close() {
+    for (Range range : ranges) {
+      if (range.future != null && !range.future.isDone()) {
+        // blocks until the task is done, so the buffer is not written to once released
+        range.future.cancel(true);
+      }
+      if (range.buffer != null) {
+        range.buffer.release();
+        range.buffer = null;
+      }
+    }
+    ranges.clear();
+  }
+
+  /**
+   * A merged range of column chunks, read at once.
+   */
+  private class Range {
+
+    private final List<ColumnChunkMetaData> columnChunks = new ArrayList<>();
+    private final long start;
+    private long end;
+    private DrillBuf buffer;
+    private Future<Void> future;
+
+    private Range(ColumnChunkMetaData columnChunk, long start, long end) {
+      this.start = start;
+      this.end = end;
+      columnChunks.add(columnChunk);
+    }
+
+    private void add(ColumnChunkMetaData columnChunk, long end) {
+      columnChunks.add(columnChunk);
+      this.end = Math.max(this.end, end);
+    }
+
+    private Void read() throws IOException {
+      Stopwatch timer = Stopwatch.createStarted();
+      int length = (int) (end - start);
+      try (FSDataInputStream in = fs.open(path)) {
+        in.seek(start);
+        HadoopStreams.wrap(in).readFully(buffer.nioBuffer(0, length));
+      }
+      buffer.writerIndex(length);
+      long chunksSize = columnChunks.stream().mapToLong(ColumnChunkMetaData::getTotalSize).sum();
+      stats.numVectoredReads.incrementAndGet();
+      stats.totalVectoredReadBytesOverRead.addAndGet(Math.max(0, length - chunksSize));
+      stats.timeDiskScan.addAndGet(timer.elapsed(TimeUnit.NANOSECONDS));
+      logger.trace("Read range [{}, {}) of {} holding {} column chunks", start, end, path, columnChunks.size());
+      return null;
+    }
+
+    private void await() throws IOException {
+      Stopwatch timer = Stopwatch.createStarted();
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException(String.format("Interrupted while reading range [%d, %d) of %s", start, end, path));
+      } catch (ExecutionException e) {
+        throw new IOException(String.format("Error reading range [%d, %d) of %s", start, end, path), e.getCause());
+      } finally {
+        stats.timeDiskScanWait.addAndGet(timer.elapsed(TimeUnit.NANOSECONDS));
+      }
+    }
+  }
+
+  /**
+   * A seekable stream over the bytes of a column chunk read in memory, addressed by the
+   * offsets of the file.
+   */
+  private static class ColumnChunkInputStream extends InputStream
+      implements Seekable, PositionedReadable, ByteBufferReadable {
+
+    private final DrillBuf buffer;
+    private final long fileOffset;
+
+    private ColumnChunkInputStream(DrillBuf buffer, long fileOffset) {
+      this.buffer = buffer;
+      this.fileOffset = fileOffset;
+    }
+
+    @Override
+    public int read() {
+      return buffer.isReadable() ? buffer.readByte() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      int length = Math.min(len, buffer.readableBytes());
+      if (length == 0) {
+        return -1;
+      }
+      buffer.readBytes(b, off, length);
+      return length;
+    }
+
+    @Override
+    public int read(ByteBuffer buf) {
+      int length = Math.min(buf.remaining(), buffer.readableBytes());
+      if (length == 0) {
+        return buf.hasRemaining() ? -1 : 0;
+      }
+      int limit = buf.limit();
+      buf.limit(buf.position() + length);
+      buffer.readBytes(buf);
+      buf.limit(limit);
+      return length;
+    }
+
+    @Override
+    public long skip(long n) {
+      int length = (int) Math.max(0, Math.min(n, buffer.readableBytes()));
+      buffer.skipBytes(length);
+      return length;
+    }
+
+    @Override
+    public int available() {
+      return buffer.readableBytes();
+    }
+
+    @Override
+    public void seek(long pos) throws IOException {
+      long index = pos - fileOffset;
+      if (index < 0 || index > buffer.capacity()) {
+        throw new EOFException(String.format("Position %d out of the column chunk [%d, %d)",
+            pos, fileOffset, fileOffset + buffer.capacity()));
+      }
+      buffer.readerIndex((int) index);
+    }
+
+    @Override
+    public long getPos() {
+      return fileOffset + buffer.readerIndex();
+    }
+
+    @Override
+    public boolean seekToNewSource(long targetPos) {
+      return false;
+    }
+
+    @Override
+    public int read(long position, byte[] b, int off, int len) {
+      long index = position - fileOffset;
+      Preconditions.checkArgument(index >= 0, "Position %s before the column chunk", position);
+      if (index >= buffer.capacity()) {
+        return -1;
+      }
+      int length = (int) Math.min(len, buffer.capacity() - index);
+      buffer.getBytes((int) index, b, off, length);
+      return length;
+    }
+
+    @Override
+    public void readFully(long position, byte[] b, int off, int len) throws IOException {
+      if (read(position, b, off, len) < len) {
+        throw new EOFException(String.format("Position %d past the column chunk [%d, %d)",
+            position + len, fileOffset, fileOffset + buffer.capacity()));
+      }
+    }
+
+    @Override
+    public void readFully(long position, byte[] b) throws IOException {
+      readFully(position, b, 0, b.length);
+    }
+  }
+}
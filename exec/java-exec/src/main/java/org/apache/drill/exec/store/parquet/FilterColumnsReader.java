@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.parquet;
+
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.drill.common.exceptions.ExecutionSetupException;
+import org.apache.drill.common.expression.ErrorCollectorImpl;
+import org.apache.drill.common.expression.LogicalExpression;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.common.types.TypeProtos;
+import org.apache.drill.common.types.Types;
+import org.apache.drill.exec.expr.ExpressionTreeMaterializer;
+import org.apache.drill.exec.expr.fn.interpreter.InterpreterEvaluator;
+import org.apache.drill.exec.ops.ExecutorFragmentContext;
+import org.apache.drill.exec.ops.OperatorContext;
+import org.apache.drill.exec.physical.impl.ScanBatch;
+import org.apache.drill.exec.record.BatchSchema.SelectionVectorMode;
+import org.apache.drill.exec.record.MaterializedField;
+import org.apache.drill.exec.record.VectorContainer;
+import org.apache.drill.exec.store.CommonParquetRecordReader;
+import org.apache.drill.exec.store.CommonParquetRecordReader.Metric;
+import org.apache.drill.exec.store.dfs.DrillFileSystem;
+import org.apache.drill.exec.store.parquet.columnreaders.ParquetRecordReader;
+import org.apache.drill.exec.vector.NullableBitVector;
+import org.apache.drill.shaded.guava.com.google.common.collect.ImmutableRangeSet;
+import org.apache.drill.shaded.guava.com.google.common.collect.Range;
+import org.apache.drill.shaded.guava.com.google.common.collect.RangeSet;
+import org.apache.drill.shaded.guava.com.google.common.collect.TreeRangeSet;
+import org.apache.parquet.hadoop.CodecFactory;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Late materialization of a row group: the columns of the filter are read (and decoded) first,
+ * on their own, and the filter is evaluated on them into the rows which match it. The other
+ * columns are then read with the {@link PageSelection} of these rows, skipping the data pages
+ * where none of them survives.
+ * <p>
+ * The filter is evaluated by the interpreter, as for the partition pruning. It only decides
+ * what is read: the rows are still filtered by the Filter operator above the scan.
+ * <p>
+ * The filter columns are thus decoded twice: here, over all the (selected) pages of the row
+ * group, and by the scan, over the pages of the matching rows, as the Filter operator needs
+ * them. Handing the vectors decoded here to the scan would mean holding the filter columns of
+ * the whole row group in memory, and cutting them to the batches of the scan along its page
+ * selection. The cost of this pass is reported by the {@code NUM_LATE_MATERIALIZED_ROWGROUPS}
+ * and {@code TIME_FILTER_COLUMNS_READ} metrics of the scan, to weigh against the pages skipped
+ * ({@code NUM_DATA_PAGES_SKIPPED}).
+ */
+public class FilterColumnsReader {
+
+  private static final Logger logger = LoggerFactory.getLogger(FilterColumnsReader.class);
+
+  /**
+   * Reads the filter columns of a row group and evaluates the filter on them.
+   *
+   * @param context the fragment context
+   * @param oContext the context of the scan
+   * @param fs the file system
+   * @param footer the footer of the file
+   * @param rowGroup the row group
+   * @param filter the filter of the scan
+   * @param filterColumns the (flat) columns of the filter, all of them in the file
+   * @param pageSelection the pages selected by the column indexes, null to read all of them
+   * @param containsCorruptDates whether the file holds corrupt dates
+   * @return the rows (indexes in the row group) matching the filter, null if it can not be evaluated
+   */
+  public static RangeSet<Long> selectRows(ExecutorFragmentContext context, OperatorContext oContext,
+      DrillFileSystem fs, ParquetMetadata footer, RowGroupReadEntry rowGroup, LogicalExpression filter,
+      List<SchemaPath> filterColumns, PageSelection pageSelection,
+      ParquetReaderUtility.DateCorruptionStatus containsCorruptDates) throws ExecutionSetupException {
+    // the setup of the reader and the waits of the page readers are accounted within the
+    // processing time of the scan
+    oContext.getStats().startProcessing();
+    long start = System.nanoTime();
+    try {
+      return evaluate(context, oContext, fs, footer, rowGroup, filter, filterColumns, pageSelection,
+          containsCorruptDates);
+    } finally {
+      oContext.getStats().addLongStat(Metric.NUM_LATE_MATERIALIZED_ROWGROUPS, 1);
+      oContext.getStats().addLongStat(Metric.TIME_FILTER_COLUMNS_READ, System.nanoTime() - start);
+      oContext.getStats().stopProcessing();
+    }
+  }
+
+  private static RangeSet<Long> evaluate(ExecutorFragmentContext context, OperatorContext oContext,
+      DrillFileSystem fs, ParquetMetadata footer, RowGroupReadEntry rowGroup, LogicalExpression filter,
+      List<SchemaPath> filterColumns, PageSelection pageSelection,
+      ParquetReaderUtility.DateCorruptionStatus containsCorruptDates) throws ExecutionSetupException {
+    RangeSet<Long> readRows = pageSelection != null
+        ? pageSelection.getRows()
+        : ImmutableRangeSet.of(Range.closedOpen(0L, footer.getBlocks().get(rowGroup.getRowGroupIndex()).getRowCount()));
+    ParquetRecordReader reader = new ParquetRecordReader(context,
+        rowGroup.getPath(),
+        rowGroup.getRowGroupIndex(),
+        pageSelection != null ? pageSelection.getRowCount() : CommonParquetRecordReader.NUM_RECORDS_TO_READ_NOT_SPECIFIED,
+        fs,
+        CodecFactory.createDirectCodecFactory(fs.getConf(), new ParquetDirectByteBufferAllocator(oContext.getAllocator()), 0),
+        footer,
+        filterColumns,
+        containsCorruptDates);
+    reader.setPageSelection(pageSelection);
+
+    VectorContainer container = new VectorContainer(oContext.getAllocator());
+    ScanBatch.Mutator mutator = new ScanBatch.Mutator(oContext, oContext.getAllocator(), container);
+    NullableBitVector output = new NullableBitVector(
+        MaterializedField.create("", Types.optional(TypeProtos.MinorType.BIT)), oContext.getAllocator());
+    try {
+      reader.setup(oContext, mutator);
+      RangeSet<Long> rows = TreeRangeSet.create();
+      LogicalExpression materializedFilter = null;
+      // the index in the row group of the next row read
+      Iterator<Range<Long>> ranges = readRows.asRanges().iterator();
+      Range<Long> range = ranges.hasNext() ? ranges.next() : Range.closedOpen(0L, 0L);
+      long row = range.lowerEndpoint();
+      // the rows matching the filter, up to the last one read
+      long matchStart = -1;
+      long matchEnd = -1;
+
+      int recordCount;
+      reader.allocate(mutator.fieldVectorMap());
+      while ((recordCount = reader.next()) > 0) {
+        container.setValueCount(recordCount);
+        if (materializedFilter == null) {
+          container.buildSchema(SelectionVectorMode.NONE);
+          materializedFilter = materialize(context, filter, container);
+          if (materializedFilter == null) {
+            return null;
+          }
+        }
+        output.allocateNew(recordCount);
+        InterpreterEvaluator.evaluate(recordCount, context, container, output, materializedFilter);
+
+        NullableBitVector.Accessor accessor = output.getAccessor();
+        for (int i = 0; i < recordCount; i++) {
+          if (!accessor.isNull(i) && accessor.get(i) == 1) {
+            if (row != matchEnd) {
+              if (matchStart >= 0) {
+                rows.add(Range.closedOpen(matchStart, matchEnd));
+              }
+              matchStart = row;
+            }
+            matchEnd = row + 1;
+          }
+          if (++row == range.upperEndpoint() && ranges.hasNext()) {
+            range = ranges.next();
+            row = range.lowerEndpoint();
+          }
+        }
+        reader.allocate(mutator.fieldVectorMap());
+      }
+      if (matchStart >= 0) {
+        rows.add(Range.closedOpen(matchStart, matchEnd));
+      }
+      return rows;
+    } finally {
+      output.clear();
+      mutator.clear();
+      reader.close();
+    }
+  }
+
+  /**
+   * @return the filter materialized against the filter columns, null if it fails
+   */
+  private static LogicalExpression materialize(ExecutorFragmentContext context, LogicalExpression filter,
+      VectorContainer container) {
+    ErrorCollectorImpl errors = new ErrorCollectorImpl();
+    LogicalExpression materializedFilter = ExpressionTreeMaterializer.materialize(filter, container, errors,
+        context.getFunctionRegistry());
+    // the output vector is nullable
+    if (materializedFilter.getMajorType().getMode() == TypeProtos.DataMode.REQUIRED) {
+      materializedFilter = ExpressionTreeMaterializer.convertToNullableType(materializedFilter,
+          materializedFilter.getMajorType().getMinorType(), context.getFunctionRegistry(), errors);
+    }
+    if (errors.getErrorCount() != 0 || materializedFilter.getMajorType().getMinorType() != TypeProtos.MinorType.BIT) {
+      logger.debug("Failure while materializing the filter [{}] for late materialization. Errors: {}", filter, errors);
+      return null;
+    }
+    return materializedFilter;
+  }
+}
@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.parquet;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import org.apache.drill.exec.expr.stat.RowsMatch;
+import org.apache.drill.exec.store.parquet.metadata.Metadata;
+import org.apache.drill.exec.store.parquet.metadata.Metadata_V4;
+import org.apache.drill.shaded.guava.com.google.common.collect.ImmutableRangeSet;
+import org.apache.drill.shaded.guava.com.google.common.collect.Range;
+import org.apache.drill.shaded.guava.com.google.common.collect.RangeSet;
+import org.apache.drill.shaded.guava.com.google.common.collect.TreeRangeSet;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.internal.column.columnindex.ColumnIndex;
+import org.apache.parquet.internal.column.columnindex.OffsetIndex;
+
+/**
+ * The rows of a row group left to read once the data pages which can not match the filter are
+ * pruned out by the column indexes (the min/max values and null counts of each page) of the filter
+ * columns.
+ * <p>
+ * The pages of different columns do not start at the same rows, so the row group is first cut into
+ * segments at the first rows of all the pages of the filter columns: a segment lies within a single
+ * page of each of them, whose statistics are those of the segment. The segments which match no row
+ * are dropped, then the rest is widened to whole pages of every column read, so that each column
+ * skips whole pages and all of them still read the same rows.
+ * <p>
+ * The rows may as well be those found to match the filter by reading the filter columns first,
+ * see {@link FilterColumnsReader}.
+ */
+public class PageSelection {
+
+  /**
+   * Evaluates the filter against the statistics of the filter columns over a range of rows.
+   */
+  public interface PageFilter {
+    RowsMatch matches(List<Metadata_V4.ColumnMetadata_v4> columns, long rowCount);
+  }
+
+  private final long rowGroupRowCount;
+  private final Map<ColumnPath, OffsetIndex> offsetIndexes;
+  private final RangeSet<Long> rows;
+  private final long rowCount;
+
+  private PageSelection(long rowGroupRowCount, Map<ColumnPath, OffsetIndex> offsetIndexes, RangeSet<Long> rows) {
+    this.rowGroupRowCount = rowGroupRowCount;
+    this.offsetIndexes = offsetIndexes;
+    this.rows = rows;
+    this.rowCount = rows.asRanges().stream()
+        .mapToLong(range -> range.upperEndpoint() - range.lowerEndpoint())
+        .sum();
+  }
+
+  /**
+   * @return the number of rows in the selected pages
+   */
+  public long getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * @return the selected rows (indexes in the row group), in the order they are read
+   */
+  public RangeSet<Long> getRows() {
+    return ImmutableRangeSet.copyOf(rows);
+  }
+
+  /**
+   * @return the offset index of the given column, null if the column is not read
+   */
+  public OffsetIndex getOffsetIndex(ColumnPath column) {
+    return offsetIndexes.get(column);
+  }
+
+  /**
+   * @return true if the given data page holds selected rows
+   */
+  public boolean isSelected(OffsetIndex offsetIndex, int page) {
+    return rows.intersects(pageRows(offsetIndex, page));
+  }
+
+  /**
+   * @return the number of rows (values, the columns being flat) in the given data page
+   */
+  public long getRowCount(OffsetIndex offsetIndex, int page) {
+    Range<Long> pageRows = pageRows(offsetIndex, page);
+    return pageRows.upperEndpoint() - pageRows.lowerEndpoint();
+  }
+
+  private Range<Long> pageRows(OffsetIndex offsetIndex, int page) {
+    return Range.closedOpen(offsetIndex.getFirstRowIndex(page),
+        offsetIndex.getLastRowIndex(page, rowGroupRowCount) + 1);
+  }
+
+  /**
+   * Selects the pages of a row group.
+   *
+   * @param reader the reader of the file, for the column and offset indexes
+   * @param rowGroup the row group
+   * @param filterColumn accepts the columns of the filter
+   * @param readColumn accepts the columns read
+   * @param filter evaluates the filter against the statistics of the pages
+   * @return the selected pages, null if the indexes are missing or no page can be skipped
+   */
+  public static PageSelection select(ParquetFileReader reader, BlockMetaData rowGroup,
+      Predicate<ColumnChunkMetaData> filterColumn, Predicate<ColumnChunkMetaData> readColumn,
+      PageFilter filter) throws IOException {
+    long rowGroupRowCount = rowGroup.getRowCount();
+    Map<ColumnPath, OffsetIndex> offsetIndexes = new HashMap<>();
+    List<ColumnChunkMetaData> filterColumns = new ArrayList<>();
+    List<ColumnIndex> columnIndexes = new ArrayList<>();
+    for (ColumnChunkMetaData column : rowGroup.getColumns()) {
+      boolean filtered = filterColumn.test(column);
+      if (!filtered && !readColumn.test(column)) {
+        continue;
+      }
+      OffsetIndex offsetIndex = reader.readOffsetIndex(column);
+      if (offsetIndex == null) {
+        return null;
+      }
+      offsetIndexes.put(column.getPath(), offsetIndex);
+      if (filtered) {
+        ColumnIndex columnIndex = reader.readColumnIndex(column);
+        if (columnIndex == null) {
+          return null;
+        }
+        filterColumns.add(column);
+        columnIndexes.add(columnIndex);
+      }
+    }
+    if (filterColumns.isEmpty()) {
+      return null;
+    }
+
+    // cut the row group at the first rows of the pages of the filter columns
+    TreeSet<Long> bounds = new TreeSet<>();
+    for (ColumnChunkMetaData column : filterColumns) {
+      OffsetIndex offsetIndex = offsetIndexes.get(column.getPath());
+      for (int page = 0; page < offsetIndex.getPageCount(); page++) {
+        bounds.add(offsetIndex.getFirstRowIndex(page));
+      }
+    }
+    bounds.add(rowGroupRowCount);
+
+    RangeSet<Long> rows = TreeRangeSet.create();
+    int[] pages = new int[filterColumns.size()];
+    long start = 0;
+    for (long end : bounds.tailSet(0L, false)) {
+      List<Metadata_V4.ColumnMetadata_v4> columns = new ArrayList<>();
+      for (int i = 0; i < filterColumns.size(); i++) {
+        OffsetIndex offsetIndex = offsetIndexes.get(filterColumns.get(i).getPath());
+        while (pages[i] + 1 < offsetIndex.getPageCount() && offsetIndex.getFirstRowIndex(pages[i] + 1) <= start) {
+          pages[i]++;
+        }
+        columns.add(getColumnMetadata(filterColumns.get(i), columnIndexes.get(i), pages[i],
+            offsetIndex.getLastRowIndex(pages[i], rowGroupRowCount) - offsetIndex.getFirstRowIndex(pages[i]) + 1,
+            end - start));
+      }
+      if (filter.matches(columns, end - start) != RowsMatch.NONE) {
+        rows.add(Range.closedOpen(start, end));
+      }
+      start = end;
+    }
+    return widen(rowGroupRowCount, offsetIndexes, rows);
+  }
+
+  /**
+   * Selects the pages of a row group which hold the given rows.
+   *
+   * @param reader the reader of the file, for the offset indexes
+   * @param rowGroup the row group
+   * @param readColumn accepts the columns read
+   * @param rows the rows to read
+   * @return the selected pages, null if the offset indexes are missing or no page can be skipped
+   */
+  public static PageSelection select(ParquetFileReader reader, BlockMetaData rowGroup,
+      Predicate<ColumnChunkMetaData> readColumn, RangeSet<Long> rows) throws IOException {
+    Map<ColumnPath, OffsetIndex> offsetIndexes = new HashMap<>();
+    for (ColumnChunkMetaData column : rowGroup.getColumns()) {
+      if (readColumn.test(column)) {
+        OffsetIndex offsetIndex = reader.readOffsetIndex(column);
+        if (offsetIndex == null) {
+          return null;
+        }
+        offsetIndexes.put(column.getPath(), offsetIndex);
+      }
+    }
+    return widen(rowGroup.getRowCount(), offsetIndexes, TreeRangeSet.create(rows));
+  }
+
+  private static PageSelection widen(long rowGroupRowCount, Map<ColumnPath, OffsetIndex> offsetIndexes,
+      RangeSet<Long> rows) {
+    if (rows.encloses(Range.closedOpen(0L, rowGroupRowCount))) {
+      return null;
+    }
+
+    // widen the rows to whole pages of every column, until each column reads the same rows
+    boolean widened = true;
+    while (widened) {
+      widened = false;
+      for (OffsetIndex offsetIndex : offsetIndexes.values()) {
+        for (int page = 0; page < offsetIndex.getPageCount(); page++) {
+          Range<Long> pageRows = Range.closedOpen(offsetIndex.getFirstRowIndex(page),
+              offsetIndex.getLastRowIndex(page, rowGroupRowCount) + 1);
+          if (rows.intersects(pageRows) && !rows.encloses(pageRows)) {
+            rows.add(pageRows);
+            widened = true;
+          }
+        }
+      }
+    }
+    if (rows.encloses(Range.closedOpen(0L, rowGroupRowCount))) {
+      return null;
+    }
+    return new PageSelection(rowGroupRowCount, offsetIndexes, rows);
+  }
+
+  /**
+   * Converts the statistics of a page into those of a segment of the page, as held by the
+   * metadata of a row group.
+   */
+  private static Metadata_V4.ColumnMetadata_v4 getColumnMetadata(ColumnChunkMetaData column,
+      ColumnIndex columnIndex, int page, long pageRowCount, long rowCount) {
+    Object minValue = null;
+    Object maxValue = null;
+    Long nulls;
+    if (columnIndex.getNullPages().get(page)) {
+      nulls = rowCount;
+    } else {
+      Statistics<?> stats = Statistics.getBuilderForReading(column.getPrimitiveType())
+          .withMin(bytes(columnIndex.getMinValues().get(page)))
+          .withMax(bytes(columnIndex.getMaxValues().get(page)))
+          .build();
+      minValue = stats.genericGetMin();
+      maxValue = stats.genericGetMax();
+      List<Long> nullCounts = columnIndex.getNullCounts();
+      if (nullCounts == null) {
+        nulls = Metadata.NULL_COUNT_NOT_EXISTS;
+      } else {
+        // the nulls of the page may or may not fall into the segment: unknown unless it has none
+        long pageNulls = nullCounts.get(page);
+        nulls = rowCount == pageRowCount || pageNulls == 0 ? pageNulls : Metadata.NULL_COUNT_NOT_EXISTS;
+      }
+    }
+    return new Metadata_V4.ColumnMetadata_v4(column.getPath().toArray(), column.getPrimitiveType().getPrimitiveTypeName(),
+        minValue, maxValue, nulls);
+  }
+
+  private static byte[] bytes(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
+  }
+}
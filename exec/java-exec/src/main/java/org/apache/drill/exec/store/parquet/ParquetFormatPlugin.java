@@ -167,6 +167,11 @@ public class ParquetFormatPlugin implements FormatPlugin {
     options.put(ExecConstants.PARQUET_WRITER_USE_PRIMITIVE_TYPES_FOR_DECIMALS,
         context.getOptions().getOption(ExecConstants.PARQUET_WRITER_USE_PRIMITIVE_TYPES_FOR_DECIMALS).bool_val.toString());
 
+    options.put(ExecConstants.PARQUET_WRITER_BLOOM_FILTER_COLUMNS,
+        context.getOptions().getOption(ExecConstants.PARQUET_WRITER_BLOOM_FILTER_COLUMNS).string_val);
+    options.put(ExecConstants.PARQUET_WRITER_BLOOM_FILTER_MAX_BYTES,
+        context.getOptions().getOption(ExecConstants.PARQUET_WRITER_BLOOM_FILTER_MAX_BYTES).num_val.toString());
+
     RecordWriter recordWriter = new ParquetRecordWriter(context, writer);
     recordWriter.init(options);
 
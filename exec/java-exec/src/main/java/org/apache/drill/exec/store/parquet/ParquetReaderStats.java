@@ -27,17 +27,22 @@ public class ParquetReaderStats {
 
   public AtomicLong numRowgroups = new AtomicLong();
   public AtomicLong rowgroupsPruned = new AtomicLong();
+  public AtomicLong rowgroupsSkippedByTopN = new AtomicLong();
+  public AtomicLong rowgroupsPrunedByBloomFilter = new AtomicLong();
 
   public AtomicLong numDictPageLoads = new AtomicLong();
   public AtomicLong numDataPageLoads = new AtomicLong();
   public AtomicLong numDataPagesDecoded = new AtomicLong();
   public AtomicLong numDictPagesDecompressed = new AtomicLong();
   public AtomicLong numDataPagesDecompressed = new AtomicLong();
+  public AtomicLong numDataPagesSkipped = new AtomicLong();
+  public AtomicLong numVectoredReads = new AtomicLong();
 
   public AtomicLong totalDictPageReadBytes = new AtomicLong();
   public AtomicLong totalDataPageReadBytes = new AtomicLong();
   public AtomicLong totalDictDecompressedBytes = new AtomicLong();
   public AtomicLong totalDataDecompressedBytes = new AtomicLong();
+  public AtomicLong totalVectoredReadBytesOverRead = new AtomicLong();
 
   public AtomicLong timeDictPageLoads = new AtomicLong();
   public AtomicLong timeDataPageLoads = new AtomicLong();
@@ -88,6 +93,8 @@ public class ParquetReaderStats {
         numRowgroups.longValue());
     stats.setLongStat(Metric.ROWGROUPS_PRUNED,
         rowgroupsPruned.longValue());
+    stats.setLongStat(Metric.ROWGROUPS_PRUNED_BY_BLOOM_FILTER,
+        rowgroupsPrunedByBloomFilter.longValue());
     stats.addLongStat(Metric.NUM_DICT_PAGE_LOADS,
         numDictPageLoads.longValue());
     stats.addLongStat(Metric.NUM_DATA_PAGE_lOADS, numDataPageLoads.longValue());
@@ -122,5 +129,9 @@ public class ParquetReaderStats {
     stats.addLongStat(Metric.TIME_FIXEDCOLUMN_READ, timeFixedColumnRead.longValue());
     stats.addLongStat(Metric.TIME_VARCOLUMN_READ, timeVarColumnRead.longValue());
     stats.addLongStat(Metric.TIME_PROCESS, timeProcess.longValue());
+    stats.addLongStat(Metric.ROWGROUPS_SKIPPED_BY_TOPN, rowgroupsSkippedByTopN.longValue());
+    stats.addLongStat(Metric.NUM_DATA_PAGES_SKIPPED, numDataPagesSkipped.longValue());
+    stats.addLongStat(Metric.NUM_VECTORED_READS, numVectoredReads.longValue());
+    stats.addLongStat(Metric.VECTORED_READ_BYTES_OVER_READ, totalVectoredReadBytesOverRead.longValue());
   }
 }
@@ -23,10 +23,13 @@ import static java.lang.Math.min;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.drill.common.exceptions.DrillRuntimeException;
@@ -130,6 +133,9 @@ public class ParquetRecordWriter extends ParquetOutputRecordWriter {
   private boolean hasPartitions;
   private PrimitiveTypeName logicalTypeForDecimals;
   private boolean usePrimitiveTypesForDecimals;
+  // lower case names of the top level columns with bloom filters
+  private Set<String> bloomFilterColumns = Collections.emptySet();
+  private int bloomFilterMaxBytes = ParquetProperties.DEFAULT_MAX_BLOOM_FILTER_BYTES;
 
   /** Is used to ensure that empty Parquet file will be written if no rows were provided. */
   private boolean empty = true;
@@ -194,6 +200,19 @@ public class ParquetRecordWriter extends ParquetOutputRecordWriter {
     useSingleFSBlock = Boolean.parseBoolean(writerOptions.get(ExecConstants.PARQUET_WRITER_USE_SINGLE_FS_BLOCK));
     usePrimitiveTypesForDecimals = Boolean.parseBoolean(writerOptions.get(ExecConstants.PARQUET_WRITER_USE_PRIMITIVE_TYPES_FOR_DECIMALS));
 
+    String bloomFilterColumnNames = writerOptions.get(ExecConstants.PARQUET_WRITER_BLOOM_FILTER_COLUMNS);
+    if (bloomFilterColumnNames != null) {
+      bloomFilterColumns = Arrays.stream(bloomFilterColumnNames.split(","))
+          .map(String::trim)
+          .filter(name -> !name.isEmpty())
+          .map(String::toLowerCase)
+          .collect(Collectors.toSet());
+    }
+    String bloomFilterMaxBytesValue = writerOptions.get(ExecConstants.PARQUET_WRITER_BLOOM_FILTER_MAX_BYTES);
+    if (bloomFilterMaxBytesValue != null) {
+      bloomFilterMaxBytes = Integer.parseInt(bloomFilterMaxBytesValue);
+    }
+
     if (useSingleFSBlock) {
       // Round up blockSize to multiple of 64K.
       blockSize = (int)ceil((double)blockSize/BLOCKSIZE_MULTIPLE) * BLOCKSIZE_MULTIPLE;
@@ -250,20 +269,27 @@ public class ParquetRecordWriter extends ParquetOutputRecordWriter {
     // We don't want this number to be too small either. Ideally, slightly bigger than the page size,
     // but not bigger than the block buffer
     int initialPageBufferSize = max(MINIMUM_BUFFER_SIZE, min(pageSize + pageSize / 10, initialBlockBufferSize));
-    ParquetProperties parquetProperties = ParquetProperties.builder()
+    ParquetProperties.Builder propertiesBuilder = ParquetProperties.builder()
         .withPageSize(pageSize)
         .withDictionaryEncoding(enableDictionary)
         .withDictionaryPageSize(initialPageBufferSize)
         .withWriterVersion(writerVersion)
         .withAllocator(new ParquetDirectByteBufferAllocator(oContext))
         .withValuesWriterFactory(new DefaultV1ValuesWriterFactory())
-        .build();
+        .withMaxBloomFilterBytes(bloomFilterMaxBytes);
+    // the bloom filters are keyed by the dot string of the column paths, plain names for the top level primitive columns
+    for (Type type : schema.getFields()) {
+      if (type.isPrimitive() && bloomFilterColumns.contains(type.getName().toLowerCase())) {
+        propertiesBuilder.withBloomFilterEnabled(type.getName(), true);
+      }
+    }
+    ParquetProperties parquetProperties = propertiesBuilder.build();
     // TODO: Replace ParquetColumnChunkPageWriteStore with ColumnChunkPageWriteStore from parquet library
     //   once DRILL-7906 (PARQUET-1006) will be resolved
     pageStore = new ParquetColumnChunkPageWriteStore(codecFactory.getCompressor(codec), schema,
             parquetProperties.getInitialSlabSize(), pageSize, parquetProperties.getAllocator(),
             parquetProperties.getColumnIndexTruncateLength(), parquetProperties.getPageWriteChecksumEnabled());
-    store = new ColumnWriteStoreV1(pageStore, parquetProperties);
+    store = new ColumnWriteStoreV1(schema, pageStore, pageStore, parquetProperties);
     MessageColumnIO columnIO = new ColumnIOFactory(false).getColumnIO(this.schema);
     consumer = columnIO.getRecordWriter(store);
     setUp(schema, consumer);
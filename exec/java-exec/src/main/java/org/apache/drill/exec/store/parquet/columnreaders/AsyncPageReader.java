@@ -407,6 +407,11 @@ class AsyncPageReader extends PageReader {
       ReadStatus readStatus = new ReadStatus();
       long bytesRead = 0;
       long valuesRead = 0;
+      // the values of the pages pruned out count as read
+      long skippedValues = parent.skipUnselectedPages();
+      synchronized (parent) {
+        parent.totalPageValuesRead += skippedValues;
+      }
       final long totalValuesRead = parent.totalPageValuesRead;
       Stopwatch timer = Stopwatch.createStarted();
 
@@ -25,6 +25,8 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.DrillBuf;
 import org.apache.drill.common.exceptions.ExecutionSetupException;
 import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.store.parquet.ColumnChunkRangeReader;
+import org.apache.drill.exec.store.parquet.PageSelection;
 import org.apache.drill.exec.store.parquet.ParquetFormatPlugin;
 import org.apache.drill.exec.store.parquet.ParquetReaderStats;
 import org.apache.drill.exec.util.filereader.DirectBufInputStream;
@@ -46,6 +48,7 @@ import org.apache.parquet.format.converter.ParquetMetadataConverter;
 import org.apache.parquet.hadoop.CodecFactory;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.internal.column.columnindex.OffsetIndex;
 import org.apache.parquet.schema.PrimitiveType;
 
 import java.io.EOFException;
@@ -116,6 +119,14 @@ class PageReader {
 
   protected final String debugName;
 
+  // the pages left to read once pruned by the column indexes, null to read all of them
+  protected final PageSelection pageSelection;
+  protected final OffsetIndex offsetIndex;
+  // the index of the next data page returned by next()
+  private int dataPageIndex;
+  // the index of the data page at (or after) the read position
+  private int readPageIndex;
+
   PageReader(org.apache.drill.exec.store.parquet.columnreaders.ColumnReader<?> parentStatus, FileSystem fs, Path path, ColumnChunkMetaData columnChunkMetaData)
     throws ExecutionSetupException {
     this.parentColumnReader = parentStatus;
@@ -129,8 +140,13 @@ class PageReader {
        .append(this.parentColumnReader.parentReader.getOperatorContext().getStats().getId() )
        .append(this.parentColumnReader.columnChunkMetaData.toString() )
        .toString();
+    this.pageSelection = parentColumnReader.parentReader.getPageSelection();
+    this.offsetIndex = pageSelection == null ? null : pageSelection.getOffsetIndex(columnChunkMetaData.getPath());
+    Preconditions.checkState(pageSelection == null || offsetIndex != null,
+        "No offset index for the column %s", columnChunkMetaData.getPath());
     try {
-      inputStream  = fs.open(path);
+      ColumnChunkRangeReader rangeReader = parentColumnReader.parentReader.getColumnChunkRangeReader();
+      inputStream = rangeReader == null ? fs.open(path) : rangeReader.open(columnChunkMetaData);
       BufferAllocator allocator =  parentColumnReader.parentReader.getOperatorContext().getAllocator();
       columnChunkMetaData.getTotalUncompressedSize();
       useBufferedReader  = parentColumnReader.parentReader.useBufferedReader;
@@ -265,6 +281,7 @@ class PageReader {
     // TODO - figure out if we need multiple dictionary pages, I believe it may be limited to one
     // I think we are clobbering parts of the dictionary if there can be multiple pages of dictionary
     do {
+      skipUnselectedPages();
       long start=dataReader.getPos();
       timer.start();
       pageHeader = Util.readPageHeader(dataReader);
@@ -301,6 +318,13 @@ class PageReader {
     // TODO - the metatdata for total size appears to be incorrect for impala generated files, need to find cause
     // and submit a bug report
     long totalValueCount = parentColumnReader.columnChunkMetaData.getValueCount();
+    if (offsetIndex != null) {
+      // the values of the pages skipped count as read
+      for (; dataPageIndex < offsetIndex.getPageCount() && !pageSelection.isSelected(offsetIndex, dataPageIndex); dataPageIndex++) {
+        parentColumnReader.totalValuesRead += pageSelection.getRowCount(offsetIndex, dataPageIndex);
+        stats.numDataPagesSkipped.incrementAndGet();
+      }
+    }
     if(parentColumnReader.totalValuesRead >= totalValueCount) {
       return false;
     }
@@ -311,6 +335,7 @@ class PageReader {
       //TODO: Is this an error condition or a normal condition??
       return false;
     }
+    dataPageIndex++;
 
     timer.start();
     currentPageCount = pageHeader.data_page_header.num_values;
@@ -374,6 +399,41 @@ class PageReader {
     return true;
   }
 
+  /**
+   * Skips the data pages, from the read position on, which hold no selected row. Called before
+   * reading a page header; a dictionary page, which comes before the data pages, is never skipped.
+   *
+   * @return the number of values of the pages skipped
+   */
+  protected long skipUnselectedPages() throws IOException {
+    if (offsetIndex == null) {
+      return 0;
+    }
+    long skippedValues = 0;
+    long pos = dataReader.getPos();
+    while (readPageIndex < offsetIndex.getPageCount()) {
+      long offset = offsetIndex.getOffset(readPageIndex);
+      if (offset < pos) { // read already
+        readPageIndex++;
+        continue;
+      }
+      if (offset > pos || pageSelection.isSelected(offsetIndex, readPageIndex)) {
+        break;
+      }
+      long bytesToSkip = offsetIndex.getCompressedPageSize(readPageIndex);
+      while (bytesToSkip > 0) {
+        long skipped = dataReader.skip(bytesToSkip);
+        if (skipped <= 0) {
+          throw new EOFException("End of File reached.");
+        }
+        bytesToSkip -= skipped;
+      }
+      skippedValues += pageSelection.getRowCount(offsetIndex, readPageIndex++);
+      pos = dataReader.getPos();
+    }
+    return skippedValues;
+  }
+
   /**
    * Allocate a buffer which the user should release immediately. The reader does not manage release of these buffers.
    */
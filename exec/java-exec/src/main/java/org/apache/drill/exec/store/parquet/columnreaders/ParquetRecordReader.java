@@ -30,6 +30,8 @@ import org.apache.drill.exec.exception.OutOfMemoryException;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.ops.OperatorContext;
 import org.apache.drill.exec.physical.impl.OutputMutator;
+import org.apache.drill.exec.store.parquet.ColumnChunkRangeReader;
+import org.apache.drill.exec.store.parquet.PageSelection;
 import org.apache.drill.exec.store.parquet.ParquetReaderUtility;
 import org.apache.drill.exec.store.parquet.columnreaders.batchsizing.RecordBatchSizerManager;
 import org.apache.drill.exec.util.record.RecordBatchStats.RecordBatchStatsContext;
@@ -37,6 +39,7 @@ import org.apache.drill.exec.vector.ValueVector;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.hadoop.CodecFactory;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -61,6 +64,10 @@ public class ParquetRecordReader extends CommonParquetRecordReader {
   /** Responsible for managing record batch size constraints */
   private RecordBatchSizerManager batchSizerMgr;
   private BatchReader batchReader;
+  /** The pages left to read, null to read all of them */
+  private PageSelection pageSelection;
+  /** The column chunks read up front with merged reads, null to read each with its own stream */
+  private ColumnChunkRangeReader columnChunkRangeReader;
 
   final boolean useAsyncColReader;
   final boolean useAsyncPageReader;
@@ -71,6 +78,8 @@ public class ParquetRecordReader extends CommonParquetRecordReader {
   final long readQueueSize;
 
   private final boolean useBulkReader;
+  private final boolean useVectoredRead;
+  private final long vectoredReadMaxGap;
 
   public ParquetRecordReader(FragmentContext fragmentContext,
       Path path,
@@ -121,6 +130,8 @@ public class ParquetRecordReader extends CommonParquetRecordReader {
     this.readQueueSize = fragmentContext.getOptions().getOption(ExecConstants.PARQUET_PAGEREADER_QUEUE_SIZE).num_val;
     this.enforceTotalSize = fragmentContext.getOptions().getOption(ExecConstants.PARQUET_PAGEREADER_ENFORCETOTALSIZE).bool_val;
     this.useBulkReader = fragmentContext.getOptions().getOption(ExecConstants.PARQUET_FLAT_READER_BULK).bool_val;
+    this.useVectoredRead = fragmentContext.getOptions().getBoolean(ExecConstants.PARQUET_VECTORED_READ_KEY);
+    this.vectoredReadMaxGap = fragmentContext.getOptions().getLong(ExecConstants.PARQUET_VECTORED_READ_MAX_GAP_KEY);
 
     setColumns(columns);
   }
@@ -151,6 +162,36 @@ public class ParquetRecordReader extends CommonParquetRecordReader {
     return rowGroupIndex;
   }
 
+  /**
+   * Restricts the read to the pages left once pruned by the column indexes: the number of
+   * records to read should then be (at most) the number of rows of the selected pages.
+   */
+  public void setPageSelection(PageSelection pageSelection) {
+    this.pageSelection = pageSelection;
+  }
+
+  public PageSelection getPageSelection() {
+    return pageSelection;
+  }
+
+  /**
+   * Starts reading the given column chunks of the row group with merged, parallel reads, if
+   * enabled; to be called before the page readers are created.
+   */
+  void readColumnChunkRanges(List<ColumnChunkMetaData> columnChunks) {
+    if (useVectoredRead && !columnChunks.isEmpty() && ColumnChunkRangeReader.canRead(columnChunks)) {
+      columnChunkRangeReader = new ColumnChunkRangeReader(fileSystem, hadoopPath, columnChunks, vectoredReadMaxGap,
+          operatorContext.getAllocator(), operatorContext.getScanExecutor(), parquetReaderStats);
+    }
+  }
+
+  /**
+   * @return the reader of the column chunks read up front, null if they are read with a stream each
+   */
+  public ColumnChunkRangeReader getColumnChunkRangeReader() {
+    return columnChunkRangeReader;
+  }
+
   public RecordBatchSizerManager getBatchSizesMgr() {
     return batchSizerMgr;
   }
@@ -221,6 +262,9 @@ public class ParquetRecordReader extends CommonParquetRecordReader {
    */
   @Override
   public int next() {
+    if (skipByTopNThreshold(rowGroupIndex)) {
+      return 0;
+    }
     readState.resetBatch();
     Stopwatch timer = Stopwatch.createStarted();
     try {
@@ -255,6 +299,12 @@ public class ParquetRecordReader extends CommonParquetRecordReader {
       readState = null;
     }
 
+    // after the page readers, which read from its buffers
+    if (columnChunkRangeReader != null) {
+      columnChunkRangeReader.close();
+      columnChunkRangeReader = null;
+    }
+
     if (batchSizerMgr != null) {
       batchSizerMgr.close();
       batchSizerMgr = null;
@@ -29,6 +29,7 @@ import org.apache.drill.exec.vector.NullableIntVector;
 import org.apache.drill.exec.vector.ValueVector;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 
 /**
  * Internal state for reading from a Parquet file. Tracks information
@@ -102,10 +103,16 @@ public class ReadState {
       BlockMetaData rowGroupMetadata = schema.getRowGroupMetadata();
       if (rowGroupMetadata != null) {
         Map<String, Integer> columnChunkMetadataPositionsInList = schema.buildChunkMap(rowGroupMetadata);
+        List<ColumnChunkMetaData> columnChunks = new ArrayList<>();
         for (ParquetColumnMetadata columnMetadata : schema.getColumnMetadata()) {
           ColumnDescriptor column = columnMetadata.column;
           columnMetadata.columnChunkMetaData = rowGroupMetadata.getColumns().get(
             columnChunkMetadataPositionsInList.get(Arrays.toString(column.getPath())));
+          columnChunks.add(columnMetadata.columnChunkMetaData);
+        }
+        // the page readers created below read from the ranges, if any
+        reader.readColumnChunkRanges(columnChunks);
+        for (ParquetColumnMetadata columnMetadata : schema.getColumnMetadata()) {
           columnMetadata.buildVector(output);
           if (!columnMetadata.isFixedLength()) {
             // create a reader and add it to the appropriate list
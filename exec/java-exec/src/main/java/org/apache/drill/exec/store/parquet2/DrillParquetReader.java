@@ -77,6 +77,8 @@ public class DrillParquetReader extends CommonParquetRecordReader {
   private ColumnChunkIncReadStore pageReadStore;
   private RecordReader<Void> recordReader;
   private DrillParquetRecordMaterializer recordMaterializer;
+  // Reads the batches in place of the record reader when the projection allows it
+  private NestedColumnsReader nestedColumnsReader;
   /** Configured Parquet records per batch */
   private final int recordsPerBatch;
 
@@ -313,7 +315,12 @@ public class DrillParquetReader extends CommonParquetRecordReader {
         // Discard the columns not found in the schema when create DrillParquetRecordMaterializer, since they have been added to output already.
         @SuppressWarnings("unchecked")
         Collection<SchemaPath> columns = columnsNotFound.isEmpty() ? getColumns() : CollectionUtils.subtract(getColumns(), columnsNotFound);
-        recordMaterializer = new DrillParquetRecordMaterializer(output, projection, columns, fragmentContext.getOptions(), containsCorruptedDates);
+        if (fragmentContext.getOptions().getBoolean(ExecConstants.PARQUET_NESTED_BATCH_READER_KEY)
+            && NestedColumnsReader.isSupported(projection, fragmentContext.getOptions())) {
+          nestedColumnsReader = new NestedColumnsReader(output, projection, columns, fragmentContext.getOptions());
+        } else {
+          recordMaterializer = new DrillParquetRecordMaterializer(output, projection, columns, fragmentContext.getOptions(), containsCorruptedDates);
+        }
       }
 
       if (numRecordsToRead == 0 || noColumnsFound) {
@@ -343,7 +350,11 @@ public class DrillParquetReader extends CommonParquetRecordReader {
           pageReadStore.addColumn(schema.getColumnDescription(path), md);
         }
       }
-      recordReader = columnIO.getRecordReader(pageReadStore, recordMaterializer);
+      if (nestedColumnsReader != null) {
+        nestedColumnsReader.setup(pageReadStore, parquetReaderStats);
+      } else {
+        recordReader = columnIO.getRecordReader(pageReadStore, recordMaterializer);
+      }
     } catch (Exception e) {
       throw handleAndRaise("Failure in setting up reader", e);
     }
@@ -365,6 +376,9 @@ public class DrillParquetReader extends CommonParquetRecordReader {
 
   @Override
   public int next() {
+    if (skipByTopNThreshold(entry.getRowGroupIndex())) {
+      return 0;
+    }
     // No columns found in the file were selected, simply return a full batch of null records for each column requested
     if (noColumnsFound) {
       if (totalRead == numRecordsToRead) {
@@ -378,13 +392,18 @@ public class DrillParquetReader extends CommonParquetRecordReader {
     }
 
     int count = 0;
-    while (count < recordsPerBatch && totalRead < numRecordsToRead) {
-      recordMaterializer.setPosition(count);
-      recordReader.read();
-      count++;
-      totalRead++;
+    if (nestedColumnsReader != null) {
+      count = nestedColumnsReader.readBatch((int) Math.min(recordsPerBatch, numRecordsToRead - totalRead));
+      totalRead += count;
+    } else {
+      while (count < recordsPerBatch && totalRead < numRecordsToRead) {
+        recordMaterializer.setPosition(count);
+        recordReader.read();
+        count++;
+        totalRead++;
+      }
+      recordMaterializer.setValueCount(count);
     }
-    recordMaterializer.setValueCount(count);
     // if we have requested columns that were not found in the file fill their vectors with null
     // (by simply setting the value counts inside of them, as they start null filled)
     if (nullFilledVectors != null) {
@@ -403,6 +422,7 @@ public class DrillParquetReader extends CommonParquetRecordReader {
     entry = null;
     recordReader = null;
     recordMaterializer = null;
+    nestedColumnsReader = null;
     nullFilledVectors = null;
     try {
       if (pageReadStore != null) {
@@ -0,0 +1,341 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.parquet2;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+import org.apache.drill.common.exceptions.DrillRuntimeException;
+import org.apache.drill.exec.store.parquet.ParquetReaderStats;
+import org.apache.drill.exec.vector.UInt4Vector;
+import org.apache.drill.exec.vector.complex.RepeatedValueVector;
+import org.apache.drill.shaded.guava.com.google.common.base.Stopwatch;
+import org.apache.parquet.bytes.ByteBufferInputStream;
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.bytes.BytesUtils;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.ValuesType;
+import org.apache.parquet.column.page.DataPage;
+import org.apache.parquet.column.page.DataPageV1;
+import org.apache.parquet.column.page.DataPageV2;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.column.values.ValuesReader;
+import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridDecoder;
+
+/**
+ * Reads one leaf column of a nested Parquet schema into Drill vectors a page at a time.
+ * <p>
+ * The repetition and definition levels of each data page are decoded in bulk into arrays,
+ * which are then walked to build the offsets of the repeated vectors on the path of the
+ * column (repeated maps, dicts and repeated scalars) and to place the values, or nulls,
+ * at their positions in the leaf vector. No record is assembled.
+ * <p>
+ * The repeated vectors shared by several columns, such as a repeated map holding several
+ * columns, are written by the first column under them only; the others compute the same
+ * positions and use them to write their values.
+ */
+class NestedColumnReader {
+
+  private final ColumnDescriptor descriptor;
+  private final PageReader pageReader;
+  private final Dictionary dictionary;
+  private final ParquetReaderStats stats;
+
+  /** The repeated vectors on the path of the column, from the outermost. */
+  private final List<RepeatedLevel> levels;
+  private final ValueWriter valueWriter;
+  /** Writer of the nulls of a scalar, null if the column is a repeated scalar, whose elements are never null. */
+  private final NullableValueWriter nullableValueWriter;
+  private final int maxDefinitionLevel;
+
+  /** Number of elements written to each level in the batch, the records at index 0. */
+  private final int[] counts;
+  /** Position of the current element of each level, the current record at index 0. */
+  private final int[] positions;
+
+  private int[] repetitionLevels = new int[0];
+  private int[] definitionLevels = new int[0];
+  private int pageValueCount;
+  private int pageIndex;
+  private ValuesReader valuesReader;
+
+  NestedColumnReader(ColumnDescriptor descriptor, PageReader pageReader, List<RepeatedLevel> levels,
+                     ValueWriter valueWriter, ParquetReaderStats stats) throws IOException {
+    this.descriptor = descriptor;
+    this.pageReader = pageReader;
+    this.levels = levels;
+    this.valueWriter = valueWriter;
+    this.nullableValueWriter = valueWriter instanceof NullableValueWriter ? (NullableValueWriter) valueWriter : null;
+    this.stats = stats;
+    this.maxDefinitionLevel = descriptor.getMaxDefinitionLevel();
+    this.counts = new int[levels.size() + 1];
+    this.positions = new int[levels.size() + 1];
+    DictionaryPage dictionaryPage = pageReader.readDictionaryPage();
+    this.dictionary = dictionaryPage == null ? null : dictionaryPage.getEncoding().initDictionary(descriptor, dictionaryPage);
+    for (RepeatedLevel level : levels) {
+      level.setOwner(this);
+    }
+  }
+
+  /**
+   * Reads the values of the given number of records, or less at the end of the column chunk.
+   *
+   * @param recordCount the number of records to read
+   * @return the number of records read
+   */
+  int readRecords(int recordCount) {
+    Arrays.fill(counts, 0);
+    Arrays.fill(positions, 0);
+    for (RepeatedLevel level : levels) {
+      if (level.isOwnedBy(this)) {
+        level.offsets.getMutator().setSafe(0, 0);
+      }
+    }
+    while (true) {
+      if (pageIndex == pageValueCount && !readPage()) {
+        break;
+      }
+      if (repetitionLevels[pageIndex] == 0 && counts[0] == recordCount) {
+        break;
+      }
+      writeEntry(repetitionLevels[pageIndex], definitionLevels[pageIndex]);
+      pageIndex++;
+    }
+    for (int i = 0; i < levels.size(); i++) {
+      RepeatedLevel level = levels.get(i);
+      if (level.isOwnedBy(this)) {
+        // the value counts of the repeated vectors follow from their offsets, set their count for them
+        level.offsets.getMutator().setValueCount(counts[i] == 0 ? 0 : counts[i] + 1);
+      }
+    }
+    return counts[0];
+  }
+
+  /**
+   * Places one entry of the column: starts the elements it begins on each level, down to the
+   * innermost level it defines, and writes its value or null.
+   */
+  private void writeEntry(int repetitionLevel, int definitionLevel) {
+    int depth = levels.size();
+    if (repetitionLevel == 0) {
+      positions[0] = counts[0]++;
+      startContainer(0);
+    }
+    // levels are numbered from 1 as the repetition levels, the records being level 0
+    int level = Math.max(repetitionLevel, 1);
+    for (; level <= depth; level++) {
+      RepeatedLevel repeatedLevel = levels.get(level - 1);
+      if (definitionLevel < repeatedLevel.definitionLevel) {
+        // the container of this level is empty or null, so are the ones below it
+        break;
+      }
+      positions[level] = counts[level]++;
+      if (repeatedLevel.isOwnedBy(this)) {
+        repeatedLevel.offsets.getMutator().setSafe(positions[level - 1] + 1, counts[level]);
+      }
+      startContainer(level);
+    }
+    if (level > depth) {
+      // the elements of a repeated scalar are defined only by non null values
+      if (nullableValueWriter == null || definitionLevel == maxDefinitionLevel) {
+        valueWriter.write(valuesReader, positions[depth]);
+      } else {
+        nullableValueWriter.writeNull(positions[depth]);
+      }
+    }
+  }
+
+  /**
+   * Records an empty container in the level below the new element of the given level.
+   */
+  private void startContainer(int level) {
+    if (level < levels.size()) {
+      RepeatedLevel child = levels.get(level);
+      if (child.isOwnedBy(this)) {
+        child.offsets.getMutator().setSafe(positions[level] + 1, counts[level + 1]);
+      }
+    }
+  }
+
+  /**
+   * Reads the next data page of the column and decodes its levels.
+   *
+   * @return false if there are no more pages
+   */
+  private boolean readPage() {
+    DataPage page = pageReader.readPage();
+    if (page == null) {
+      return false;
+    }
+    Stopwatch timer = Stopwatch.createStarted();
+    pageValueCount = page.getValueCount();
+    pageIndex = 0;
+    if (repetitionLevels.length < pageValueCount) {
+      repetitionLevels = new int[pageValueCount];
+      definitionLevels = new int[pageValueCount];
+    }
+    page.accept(new DataPage.Visitor<Void>() {
+      @Override
+      public Void visit(DataPageV1 dataPageV1) {
+        try {
+          readPageV1(dataPageV1);
+        } catch (IOException e) {
+          throw new DrillRuntimeException("Error decoding page of column " + descriptor, e);
+        }
+        return null;
+      }
+
+      @Override
+      public Void visit(DataPageV2 dataPageV2) {
+        try {
+          readPageV2(dataPageV2);
+        } catch (IOException e) {
+          throw new DrillRuntimeException("Error decoding page of column " + descriptor, e);
+        }
+        return null;
+      }
+    });
+    if (stats != null) {
+      stats.numDataPagesDecoded.incrementAndGet();
+      stats.timeDataPageDecode.addAndGet(timer.elapsed(TimeUnit.NANOSECONDS));
+    }
+    return true;
+  }
+
+  private void readPageV1(DataPageV1 page) throws IOException {
+    ByteBufferInputStream in = page.getBytes().toInputStream();
+    ValuesReader repetitionReader = page.getRlEncoding().getValuesReader(descriptor, ValuesType.REPETITION_LEVEL);
+    ValuesReader definitionReader = page.getDlEncoding().getValuesReader(descriptor, ValuesType.DEFINITION_LEVEL);
+    repetitionReader.initFromPage(pageValueCount, in);
+    definitionReader.initFromPage(pageValueCount, in);
+    readLevels(repetitionReader, repetitionLevels, descriptor.getMaxRepetitionLevel());
+    readLevels(definitionReader, definitionLevels, maxDefinitionLevel);
+    initValues(page.getValueEncoding(), in);
+  }
+
+  private void readPageV2(DataPageV2 page) throws IOException {
+    readLevels(page.getRepetitionLevels(), repetitionLevels, descriptor.getMaxRepetitionLevel());
+    readLevels(page.getDefinitionLevels(), definitionLevels, maxDefinitionLevel);
+    initValues(page.getDataEncoding(), page.getData().toInputStream());
+  }
+
+  private void readLevels(ValuesReader reader, int[] levels, int maxLevel) {
+    if (maxLevel == 0) {
+      Arrays.fill(levels, 0, pageValueCount, 0);
+      return;
+    }
+    for (int i = 0; i < pageValueCount; i++) {
+      levels[i] = reader.readInteger();
+    }
+  }
+
+  private void readLevels(BytesInput bytes, int[] levels, int maxLevel) throws IOException {
+    if (maxLevel == 0) {
+      Arrays.fill(levels, 0, pageValueCount, 0);
+      return;
+    }
+    RunLengthBitPackingHybridDecoder decoder =
+        new RunLengthBitPackingHybridDecoder(BytesUtils.getWidthFromMaxInt(maxLevel), bytes.toInputStream());
+    for (int i = 0; i < pageValueCount; i++) {
+      levels[i] = decoder.readInt();
+    }
+  }
+
+  private void initValues(Encoding encoding, ByteBufferInputStream in) throws IOException {
+    if (encoding.usesDictionary()) {
+      if (dictionary == null) {
+        throw new DrillRuntimeException("Dictionary encoded page without a dictionary in column " + descriptor);
+      }
+      valuesReader = encoding.getDictionaryBasedValuesReader(descriptor, ValuesType.VALUES, dictionary);
+    } else {
+      valuesReader = encoding.getValuesReader(descriptor, ValuesType.VALUES);
+    }
+    valuesReader.initFromPage(pageValueCount, in);
+  }
+
+  /**
+   * A repeated vector on the path of one or more columns: a repeated map, a dict or a
+   * repeated scalar.
+   */
+  static class RepeatedLevel {
+
+    private final UInt4Vector offsets;
+    /** The lowest definition level of the entries holding an element of the vector. */
+    private final int definitionLevel;
+    private NestedColumnReader owner;
+
+    RepeatedLevel(RepeatedValueVector vector, int definitionLevel) {
+      this.offsets = vector.getOffsetVector();
+      this.definitionLevel = definitionLevel;
+    }
+
+    private void setOwner(NestedColumnReader reader) {
+      if (owner == null) {
+        owner = reader;
+      }
+    }
+
+    private boolean isOwnedBy(NestedColumnReader reader) {
+      return owner == reader;
+    }
+  }
+
+  /**
+   * Copies the values of a column into the leaf vector.
+   */
+  @FunctionalInterface
+  interface ValueWriter {
+
+    /**
+     * Reads the next value of the page and writes it at the given index.
+     */
+    void write(ValuesReader reader, int index);
+  }
+
+  /**
+   * Copies the values of a scalar into a nullable vector, and marks its nulls.
+   */
+  static class NullableValueWriter implements ValueWriter {
+
+    private final ValueWriter valueWriter;
+    private final IntConsumer nullWriter;
+
+    NullableValueWriter(ValueWriter valueWriter, IntConsumer nullWriter) {
+      this.valueWriter = valueWriter;
+      this.nullWriter = nullWriter;
+    }
+
+    @Override
+    public void write(ValuesReader reader, int index) {
+      valueWriter.write(reader, index);
+    }
+
+    /**
+     * Marks the value at the given index as null.
+     */
+    void writeNull(int index) {
+      nullWriter.accept(index);
+    }
+  }
+}
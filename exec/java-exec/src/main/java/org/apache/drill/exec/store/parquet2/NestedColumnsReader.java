@@ -0,0 +1,536 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.parquet2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.drill.common.exceptions.DrillRuntimeException;
+import org.apache.drill.common.expression.PathSegment;
+import org.apache.drill.common.expression.SchemaPath;
+import org.apache.drill.common.types.TypeProtos.MajorType;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.common.types.Types;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.exception.SchemaChangeException;
+import org.apache.drill.exec.physical.impl.OutputMutator;
+import org.apache.drill.exec.record.MaterializedField;
+import org.apache.drill.exec.server.options.OptionManager;
+import org.apache.drill.exec.store.parquet.ParquetReaderStats;
+import org.apache.drill.exec.store.parquet.ParquetReaderUtility;
+import org.apache.drill.exec.store.parquet2.NestedColumnReader.NullableValueWriter;
+import org.apache.drill.exec.store.parquet2.NestedColumnReader.RepeatedLevel;
+import org.apache.drill.exec.store.parquet2.NestedColumnReader.ValueWriter;
+import org.apache.drill.exec.vector.BigIntVector;
+import org.apache.drill.exec.vector.BitVector;
+import org.apache.drill.exec.vector.Float4Vector;
+import org.apache.drill.exec.vector.Float8Vector;
+import org.apache.drill.exec.vector.IntVector;
+import org.apache.drill.exec.vector.NullableBigIntVector;
+import org.apache.drill.exec.vector.NullableBitVector;
+import org.apache.drill.exec.vector.NullableFloat4Vector;
+import org.apache.drill.exec.vector.NullableFloat8Vector;
+import org.apache.drill.exec.vector.NullableIntVector;
+import org.apache.drill.exec.vector.NullableVarBinaryVector;
+import org.apache.drill.exec.vector.NullableVarCharVector;
+import org.apache.drill.exec.vector.RepeatedBigIntVector;
+import org.apache.drill.exec.vector.RepeatedBitVector;
+import org.apache.drill.exec.vector.RepeatedFloat4Vector;
+import org.apache.drill.exec.vector.RepeatedFloat8Vector;
+import org.apache.drill.exec.vector.RepeatedIntVector;
+import org.apache.drill.exec.vector.RepeatedVarBinaryVector;
+import org.apache.drill.exec.vector.RepeatedVarCharVector;
+import org.apache.drill.exec.vector.ValueVector;
+import org.apache.drill.exec.vector.VarBinaryVector;
+import org.apache.drill.exec.vector.VarCharVector;
+import org.apache.drill.exec.vector.complex.AbstractMapVector;
+import org.apache.drill.exec.vector.complex.DictVector;
+import org.apache.drill.exec.vector.complex.MapVector;
+import org.apache.drill.exec.vector.complex.RepeatedMapVector;
+import org.apache.drill.exec.vector.complex.RepeatedValueVector;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.OriginalType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Type.Repetition;
+
+import static org.apache.drill.common.expression.SchemaPath.DYNAMIC_STAR;
+
+/**
+ * Batch at a time reader of the nested (MAP, LIST and DICT) columns of a row group, an
+ * alternative to the record materializer of {@link DrillParquetReader}.
+ * <p>
+ * Each leaf column is read on its own by a {@link NestedColumnReader}, which decodes the
+ * levels of whole pages and writes straight into the vectors. The vectors and their names
+ * are the ones the record materializer creates for the same projection, so both readers
+ * may read the row groups of a scan:
+ * <ul>
+ *   <li>a scalar is a nullable vector, a repeated scalar a repeated vector;</li>
+ *   <li>a group is a map, a repeated group a repeated map;</li>
+ *   <li>a LIST is a repeated scalar or a repeated map, depending on its element;</li>
+ *   <li>a MAP is a dict, when the MAP support is enabled.</li>
+ * </ul>
+ * Projections with other types, lists of lists or maps, and maps with list or map values are
+ * left to the record materializer, see {@link #isSupported(GroupType, OptionManager)}.
+ */
+class NestedColumnsReader {
+
+  private final OutputMutator output;
+  private final OptionManager options;
+  private final MessageType projection;
+  /** The top level vectors, whose value counts set those of the vectors below them. */
+  private final List<ValueVector> vectors = new ArrayList<>();
+  private final List<LeafColumn> leafColumns = new ArrayList<>();
+  private final List<NestedColumnReader> columnReaders = new ArrayList<>();
+
+  /**
+   * Creates the vectors of the projection.
+   *
+   * @param output output mutator of the scan
+   * @param projection projected Parquet schema, supported by the reader
+   * @param columns projection columns, used for the names of the vectors
+   * @param options option manager of the fragment
+   */
+  NestedColumnsReader(OutputMutator output, MessageType projection, Collection<SchemaPath> columns,
+                      OptionManager options) throws SchemaChangeException {
+    this.output = output;
+    this.options = options;
+    this.projection = projection;
+    addFields(projection, columns, null, new String[0], Collections.emptyList());
+  }
+
+  /**
+   * Checks whether all the fields of a projection may be read by the reader.
+   *
+   * @param schema projected Parquet schema
+   * @param options option manager of the fragment
+   * @return true if the reader supports the types and the nesting of all the fields
+   */
+  static boolean isSupported(GroupType schema, OptionManager options) {
+    for (Type field : schema.getFields()) {
+      if (!isFieldSupported(field, options)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isFieldSupported(Type field, OptionManager options) {
+    if (field.isPrimitive()) {
+      return getMinorType(field.asPrimitiveType()) != null;
+    }
+    GroupType group = field.asGroupType();
+    if (ParquetReaderUtility.isLogicalListType(group)) {
+      Type element = group.getType(0).asGroupType().getType(0);
+      if (element.isRepetition(Repetition.REPEATED)) {
+        return false;
+      }
+      return element.isPrimitive()
+          ? getMinorType(element.asPrimitiveType()) != null
+          : !isNestedListOrMap(element.asGroupType(), options) && isSupported(element.asGroupType(), options);
+    } else if (isDict(group, options)) {
+      GroupType keyValue = group.getType(0).asGroupType();
+      Type key = keyValue.getType(0);
+      Type value = keyValue.getType(1);
+      if (!key.isPrimitive() || key.isRepetition(Repetition.REPEATED) || value.isRepetition(Repetition.REPEATED)) {
+        return false;
+      }
+      return getMinorType(key.asPrimitiveType()) != null && (value.isPrimitive()
+          ? getMinorType(value.asPrimitiveType()) != null
+          : !isNestedListOrMap(value.asGroupType(), options) && isSupported(value.asGroupType(), options));
+    }
+    return isSupported(group, options);
+  }
+
+  /**
+   * Lists and dicts nested directly in lists or dicts become repeated lists or dicts of dicts,
+   * which the reader does not write.
+   */
+  private static boolean isNestedListOrMap(GroupType group, OptionManager options) {
+    return ParquetReaderUtility.isLogicalListType(group) || isDict(group, options);
+  }
+
+  private static boolean isDict(GroupType group, OptionManager options) {
+    return options.getOption(ExecConstants.PARQUET_READER_ENABLE_MAP_SUPPORT_VALIDATOR)
+        && ParquetReaderUtility.isLogicalMapType(group);
+  }
+
+  /**
+   * Creates the readers of the leaf columns.
+   *
+   * @param pageReadStore page readers of the columns of the row group
+   * @param stats statistics of the Parquet reader
+   */
+  void setup(PageReadStore pageReadStore, ParquetReaderStats stats) throws IOException {
+    for (LeafColumn column : leafColumns) {
+      columnReaders.add(new NestedColumnReader(column.descriptor, pageReadStore.getPageReader(column.descriptor),
+          column.levels, column.valueWriter, stats));
+    }
+  }
+
+  /**
+   * Reads the next batch of records.
+   *
+   * @param recordCount the maximum number of records to read
+   * @return the number of records read
+   */
+  int readBatch(int recordCount) {
+    int count = -1;
+    for (NestedColumnReader columnReader : columnReaders) {
+      int columnCount = columnReader.readRecords(recordCount);
+      if (count == -1) {
+        count = columnCount;
+      } else if (count != columnCount) {
+        throw new DrillRuntimeException(String.format(
+            "Columns of the row group hold different numbers of records: %d and %d", count, columnCount));
+      }
+    }
+    count = Math.max(count, 0);
+    for (ValueVector vector : vectors) {
+      vector.getMutator().setValueCount(count);
+    }
+    return count;
+  }
+
+  /**
+   * Adds the vectors of the fields of a group, named after the projection columns matching
+   * them as {@link DrillParquetGroupConverter} does.
+   */
+  private void addFields(GroupType group, Collection<SchemaPath> columns, AbstractMapVector parent,
+                         String[] path, List<RepeatedLevel> levels) throws SchemaChangeException {
+    Iterator<SchemaPath> colIterator = columns.iterator();
+    for (Type field : group.getFields()) {
+      String name = field.getName();
+      PathSegment colNextChild = null;
+      while (colIterator.hasNext()) {
+        PathSegment colPath = colIterator.next().getRootSegment();
+        String colPathName;
+        if (colPath.isNamed() && !DYNAMIC_STAR.equals(colPathName = colPath.getNameSegment().getPath()) && colPathName.equalsIgnoreCase(name)) {
+          name = colPathName;
+          colNextChild = colPath.getChild();
+          break;
+        }
+      }
+      addField(field, name, getChildColumns(colNextChild), parent, append(path, field.getName()), levels);
+    }
+  }
+
+  private void addField(Type field, String name, Collection<SchemaPath> columns, AbstractMapVector parent,
+                        String[] path, List<RepeatedLevel> levels) throws SchemaChangeException {
+    if (field.isPrimitive()) {
+      addScalar(field.asPrimitiveType(), name, parent, path, levels, field.isRepetition(Repetition.REPEATED));
+      return;
+    }
+    GroupType group = field.asGroupType();
+    if (ParquetReaderUtility.isLogicalListType(group)) {
+      GroupType repeated = group.getType(0).asGroupType();
+      Type element = repeated.getType(0);
+      String[] elementPath = append(append(path, repeated.getName()), element.getName());
+      if (element.isPrimitive()) {
+        // the null elements are dropped, as by the record materializer
+        addScalar(element.asPrimitiveType(), name, parent, elementPath, levels, true);
+      } else {
+        RepeatedMapVector vector = addVector(parent, name, RepeatedMapVector.TYPE, RepeatedMapVector.class);
+        addFields(element.asGroupType(), getElementColumns(columns, repeated.getName(), element.getName()), vector,
+            elementPath, addLevel(levels, vector, elementPath));
+      }
+    } else if (isDict(group, options)) {
+      GroupType keyValue = group.getType(0).asGroupType();
+      String[] keyValuePath = append(path, keyValue.getName());
+      DictVector vector = addVector(parent, name, DictVector.TYPE, DictVector.class);
+      List<RepeatedLevel> keyValueLevels = addLevel(levels, vector, keyValuePath);
+      Type key = keyValue.getType(0);
+      Type value = keyValue.getType(1);
+      addField(key, DictVector.FIELD_KEY_NAME, Collections.emptyList(), vector, append(keyValuePath, key.getName()), keyValueLevels);
+      addField(value, DictVector.FIELD_VALUE_NAME, Collections.emptyList(), vector, append(keyValuePath, value.getName()), keyValueLevels);
+    } else if (group.isRepetition(Repetition.REPEATED)) {
+      RepeatedMapVector vector = addVector(parent, name, RepeatedMapVector.TYPE, RepeatedMapVector.class);
+      addFields(group, columns, vector, path, addLevel(levels, vector, path));
+    } else {
+      MapVector vector = addVector(parent, name, MapVector.TYPE, MapVector.class);
+      addFields(group, columns, vector, path, levels);
+    }
+  }
+
+  private void addScalar(PrimitiveType type, String name, AbstractMapVector parent, String[] path,
+                         List<RepeatedLevel> levels, boolean repeated) throws SchemaChangeException {
+    MinorType minorType = getMinorType(type);
+    ColumnDescriptor descriptor = projection.getColumnDescription(path);
+    if (repeated) {
+      RepeatedValueVector vector = (RepeatedValueVector) addVector(parent, name, Types.repeated(minorType),
+          getRepeatedVectorClass(minorType));
+      leafColumns.add(new LeafColumn(descriptor, addLevel(levels, vector, path),
+          getValueWriter(minorType, vector.getDataVector())));
+    } else {
+      ValueVector vector = addVector(parent, name, Types.optional(minorType), getNullableVectorClass(minorType));
+      leafColumns.add(new LeafColumn(descriptor, levels, getNullableValueWriter(minorType, vector)));
+    }
+  }
+
+  private <T extends ValueVector> T addVector(AbstractMapVector parent, String name, MajorType type,
+                                              Class<T> clazz) throws SchemaChangeException {
+    if (parent != null) {
+      return parent.addOrGet(name, type, clazz);
+    }
+    T vector = output.addField(MaterializedField.create(name, type), clazz);
+    vectors.add(vector);
+    return vector;
+  }
+
+  private List<RepeatedLevel> addLevel(List<RepeatedLevel> levels, RepeatedValueVector vector, String[] elementPath) {
+    List<RepeatedLevel> result = new ArrayList<>(levels);
+    result.add(new RepeatedLevel(vector, projection.getMaxDefinitionLevel(elementPath)));
+    return result;
+  }
+
+  private static Collection<SchemaPath> getChildColumns(PathSegment colNextChild) {
+    while (colNextChild != null && !colNextChild.isNamed()) {
+      colNextChild = colNextChild.getChild();
+    }
+    return colNextChild == null
+        ? Collections.emptyList()
+        : Collections.singletonList(new SchemaPath(colNextChild.getNameSegment()));
+  }
+
+  /**
+   * @return the columns of the fields of the element of a list, from those of the list
+   */
+  private static Collection<SchemaPath> getElementColumns(Collection<SchemaPath> columns, String repeatedName,
+                                                          String elementName) {
+    for (String name : new String[] {repeatedName, elementName}) {
+      PathSegment colNextChild = null;
+      for (SchemaPath column : columns) {
+        PathSegment colPath = column.getRootSegment();
+        if (colPath.isNamed() && colPath.getNameSegment().getPath().equalsIgnoreCase(name)) {
+          colNextChild = colPath.getChild();
+          break;
+        }
+      }
+      columns = getChildColumns(colNextChild);
+    }
+    return columns;
+  }
+
+  private static String[] append(String[] path, String name) {
+    String[] result = new String[path.length + 1];
+    System.arraycopy(path, 0, result, 0, path.length);
+    result[path.length] = name;
+    return result;
+  }
+
+  /**
+   * @return the Drill type of a Parquet primitive type, null if the reader does not support it
+   */
+  private static MinorType getMinorType(PrimitiveType type) {
+    OriginalType originalType = type.getOriginalType();
+    switch (type.getPrimitiveTypeName()) {
+      case INT32:
+        if (originalType == null) {
+          return MinorType.INT;
+        }
+        switch (originalType) {
+          case UINT_8:
+          case UINT_16:
+          case UINT_32:
+          case INT_8:
+          case INT_16:
+          case INT_32:
+            return MinorType.INT;
+          default:
+            return null;
+        }
+      case INT64:
+        if (originalType == null) {
+          return MinorType.BIGINT;
+        }
+        switch (originalType) {
+          // DRILL-6670: handle TIMESTAMP_MICROS as INT64 with no logical type
+          case UINT_64:
+          case INT_64:
+          case TIMESTAMP_MICROS:
+            return MinorType.BIGINT;
+          default:
+            return null;
+        }
+      case FLOAT:
+        return MinorType.FLOAT4;
+      case DOUBLE:
+        return MinorType.FLOAT8;
+      case BOOLEAN:
+        return MinorType.BIT;
+      case BINARY:
+        if (originalType == null) {
+          return MinorType.VARBINARY;
+        }
+        return originalType == OriginalType.UTF8 || originalType == OriginalType.ENUM ? MinorType.VARCHAR : null;
+      default:
+        return null;
+    }
+  }
+
+  private static Class<? extends ValueVector> getNullableVectorClass(MinorType type) {
+    switch (type) {
+      case INT:
+        return NullableIntVector.class;
+      case BIGINT:
+        return NullableBigIntVector.class;
+      case FLOAT4:
+        return NullableFloat4Vector.class;
+      case FLOAT8:
+        return NullableFloat8Vector.class;
+      case BIT:
+        return NullableBitVector.class;
+      case VARBINARY:
+        return NullableVarBinaryVector.class;
+      case VARCHAR:
+        return NullableVarCharVector.class;
+      default:
+        throw new UnsupportedOperationException("Unsupported type: " + type);
+    }
+  }
+
+  private static Class<? extends ValueVector> getRepeatedVectorClass(MinorType type) {
+    switch (type) {
+      case INT:
+        return RepeatedIntVector.class;
+      case BIGINT:
+        return RepeatedBigIntVector.class;
+      case FLOAT4:
+        return RepeatedFloat4Vector.class;
+      case FLOAT8:
+        return RepeatedFloat8Vector.class;
+      case BIT:
+        return RepeatedBitVector.class;
+      case VARBINARY:
+        return RepeatedVarBinaryVector.class;
+      case VARCHAR:
+        return RepeatedVarCharVector.class;
+      default:
+        throw new UnsupportedOperationException("Unsupported type: " + type);
+    }
+  }
+
+  private static NullableValueWriter getNullableValueWriter(MinorType type, ValueVector vector) {
+    switch (type) {
+      case INT: {
+        NullableIntVector.Mutator mutator = ((NullableIntVector) vector).getMutator();
+        return new NullableValueWriter((reader, index) -> mutator.setSafe(index, reader.readInteger()), mutator::setNull);
+      }
+      case BIGINT: {
+        NullableBigIntVector.Mutator mutator = ((NullableBigIntVector) vector).getMutator();
+        return new NullableValueWriter((reader, index) -> mutator.setSafe(index, reader.readLong()), mutator::setNull);
+      }
+      case FLOAT4: {
+        NullableFloat4Vector.Mutator mutator = ((NullableFloat4Vector) vector).getMutator();
+        return new NullableValueWriter((reader, index) -> mutator.setSafe(index, reader.readFloat()), mutator::setNull);
+      }
+      case FLOAT8: {
+        NullableFloat8Vector.Mutator mutator = ((NullableFloat8Vector) vector).getMutator();
+        return new NullableValueWriter((reader, index) -> mutator.setSafe(index, reader.readDouble()), mutator::setNull);
+      }
+      case BIT: {
+        NullableBitVector.Mutator mutator = ((NullableBitVector) vector).getMutator();
+        return new NullableValueWriter((reader, index) -> mutator.setSafe(index, reader.readBoolean() ? 1 : 0), mutator::setNull);
+      }
+      case VARBINARY: {
+        NullableVarBinaryVector.Mutator mutator = ((NullableVarBinaryVector) vector).getMutator();
+        return new NullableValueWriter((reader, index) -> {
+          ByteBuffer value = reader.readBytes().toByteBuffer();
+          mutator.setSafe(index, value, value.position(), value.remaining());
+        }, mutator::setNull);
+      }
+      case VARCHAR: {
+        NullableVarCharVector.Mutator mutator = ((NullableVarCharVector) vector).getMutator();
+        return new NullableValueWriter((reader, index) -> {
+          ByteBuffer value = reader.readBytes().toByteBuffer();
+          mutator.setSafe(index, value, value.position(), value.remaining());
+        }, mutator::setNull);
+      }
+      default:
+        throw new UnsupportedOperationException("Unsupported type: " + type);
+    }
+  }
+
+  private static ValueWriter getValueWriter(MinorType type, ValueVector vector) {
+    switch (type) {
+      case INT: {
+        IntVector.Mutator mutator = ((IntVector) vector).getMutator();
+        return (reader, index) -> mutator.setSafe(index, reader.readInteger());
+      }
+      case BIGINT: {
+        BigIntVector.Mutator mutator = ((BigIntVector) vector).getMutator();
+        return (reader, index) -> mutator.setSafe(index, reader.readLong());
+      }
+      case FLOAT4: {
+        Float4Vector.Mutator mutator = ((Float4Vector) vector).getMutator();
+        return (reader, index) -> mutator.setSafe(index, reader.readFloat());
+      }
+      case FLOAT8: {
+        Float8Vector.Mutator mutator = ((Float8Vector) vector).getMutator();
+        return (reader, index) -> mutator.setSafe(index, reader.readDouble());
+      }
+      case BIT: {
+        BitVector.Mutator mutator = ((BitVector) vector).getMutator();
+        return (reader, index) -> mutator.setSafe(index, reader.readBoolean() ? 1 : 0);
+      }
+      case VARBINARY: {
+        VarBinaryVector.Mutator mutator = ((VarBinaryVector) vector).getMutator();
+        return (reader, index) -> {
+          Binary value = reader.readBytes();
+          ByteBuffer buffer = value.toByteBuffer();
+          mutator.setSafe(index, buffer, buffer.position(), buffer.remaining());
+        };
+      }
+      case VARCHAR: {
+        VarCharVector.Mutator mutator = ((VarCharVector) vector).getMutator();
+        return (reader, index) -> {
+          Binary value = reader.readBytes();
+          ByteBuffer buffer = value.toByteBuffer();
+          mutator.setSafe(index, buffer, buffer.position(), buffer.remaining());
+        };
+      }
+      default:
+        throw new UnsupportedOperationException("Unsupported type: " + type);
+    }
+  }
+
+  /**
+   * A leaf column of the projection, with the repeated vectors on its path.
+   */
+  private static class LeafColumn {
+
+    private final ColumnDescriptor descriptor;
+    private final List<RepeatedLevel> levels;
+    private final ValueWriter valueWriter;
+
+    LeafColumn(ColumnDescriptor descriptor, List<RepeatedLevel> levels, ValueWriter valueWriter) {
+      this.descriptor = descriptor;
+      this.levels = levels;
+      this.valueWriter = valueWriter;
+    }
+  }
+}
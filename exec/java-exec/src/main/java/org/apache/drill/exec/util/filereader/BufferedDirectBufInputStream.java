@@ -120,6 +120,7 @@ public class BufferedDirectBufInputStream extends DirectBufInputStream implement
 
   @Override public void init() throws UnsupportedOperationException, IOException {
     super.init();
+    this.curPosInStream = this.startOffset;
     this.internalBuffer = this.allocator.buffer(this.bufSize);
     this.tempBuffer = this.allocator.buffer(DEFAULT_TEMP_BUFFER_SIZE);
   }
@@ -352,11 +353,11 @@ public class BufferedDirectBufInputStream extends DirectBufInputStream implement
       return 0;
     }
     if (bytesAvailable <= 0) {
-      checkInputStreamState();
-      bytesAvailable = getNextBlock();
-      if (bytesAvailable <= 0) { // End of stream
-        return 0;
-      }
+      // nothing buffered: seek past the bytes rather than read them
+      getInputStream().seek(curPosInStream + n);
+      this.curPosInStream += n;
+      this.count = this.curPosInBuffer = 0;
+      return n;
     }
     bytesSkipped = bytesAvailable < n ? bytesAvailable : n;
     this.curPosInBuffer += bytesSkipped;
@@ -392,7 +393,8 @@ public class BufferedDirectBufInputStream extends DirectBufInputStream implement
     Returns the current position from the beginning of the underlying input stream
    */
   public long getPos() throws IOException {
-    return curPosInBuffer + startOffset;
+    // the buffer holds the count bytes read last from the stream
+    return curPosInStream - count + curPosInBuffer;
   }
 
   public void close() throws IOException {
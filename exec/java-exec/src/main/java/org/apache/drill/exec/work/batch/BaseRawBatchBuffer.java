@@ -146,8 +146,8 @@ public abstract class BaseRawBatchBuffer<T> implements RawBatchBuffer {
         Thread.currentThread().interrupt();
         continue;
       } finally {
-        if (batch != null && batch.getBody() != null) {
-          batch.getBody().release();
+        if (batch != null) {
+          batch.release();
         }
       }
     }
@@ -190,9 +190,7 @@ public abstract class BaseRawBatchBuffer<T> implements RawBatchBuffer {
             kill(context);
             if (b != null) {
               assertAckSent(b);
-              if (b.getBody() != null) {
-                b.getBody().release();
-              }
+              b.release();
               b = null;
             }
           } // else b will be assigned a valid batch
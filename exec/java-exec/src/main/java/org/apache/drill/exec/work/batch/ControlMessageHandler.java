@@ -184,6 +184,8 @@ public class ControlMessageHandler implements RequestHandler<ControlConnection>
      * "inactive" refers to FINISHED, CANCELLATION_REQUESTED, CANCELLED, FAILED
      */
 
+    bee.getContext().getWorkBus().fragmentCancelled(handle);
+
     // Case 2: Cancel active intermediate fragment. Such a fragment will be in the work bus. Delegate cancel to the
     // work bus.
     final boolean removed = bee.getContext().getWorkBus().removeFragmentManager(handle, true);
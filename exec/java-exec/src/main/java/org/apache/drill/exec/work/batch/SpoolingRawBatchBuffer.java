@@ -17,29 +17,27 @@
  */
 package org.apache.drill.exec.work.batch;
 
-import io.netty.buffer.ByteBuf;
 import io.netty.buffer.DrillBuf;
 
-import java.io.EOFException;
 import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.disk.FileSystemSpool;
+import org.apache.drill.exec.disk.MappedSpool;
+import org.apache.drill.exec.disk.Spool;
 import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.ops.FragmentContext;
-import org.apache.drill.exec.proto.BitData;
 import org.apache.drill.exec.proto.ExecProtos;
 import org.apache.drill.exec.proto.helper.QueryIdHelper;
 import org.apache.drill.exec.record.RawFragmentBatch;
 import org.apache.drill.exec.store.LocalSyncableFileSystem;
 import org.apache.hadoop.conf.Configuration;
-import org.apache.hadoop.fs.FSDataInputStream;
-import org.apache.hadoop.fs.FSDataOutputStream;
-import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 
@@ -51,6 +49,11 @@ import org.apache.drill.shaded.guava.com.google.common.collect.Queues;
 /**
  * This implementation of RawBatchBuffer starts writing incoming batches to disk once the buffer size reaches a threshold.
  * The order of the incoming buffers is maintained.
+ * <p>
+ * The batches are written to a {@link Spool}: a file of the temporary file system, or memory-mapped segment files of
+ * the local temporary directories (drill.exec.buffer.spooling.mapped). Spooling may start below the memory threshold
+ * (drill.exec.buffer.spooling.start_fraction): the batches handed to the spooler are then acked at once, as long as
+ * those not written yet fit below the threshold, so that the senders are not held back by the writes.
  */
 public class SpoolingRawBatchBuffer extends BaseRawBatchBuffer<SpoolingRawBatchBuffer.RawFragmentBatchWrapper> {
   static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(SpoolingRawBatchBuffer.class);
@@ -70,6 +73,8 @@ public class SpoolingRawBatchBuffer extends BaseRawBatchBuffer<SpoolingRawBatchB
 
   private final BufferAllocator allocator;
   private final long threshold;
+  // the size in memory to start spooling at, at most the threshold
+  private final long spoolingThreshold;
   private final int oppositeId;
   private final int bufferIndex;
 
@@ -77,15 +82,14 @@ public class SpoolingRawBatchBuffer extends BaseRawBatchBuffer<SpoolingRawBatchB
   private volatile long currentSizeInMemory = 0;
   private volatile Spooler spooler;
 
-  private FileSystem fs;
-  private Path path;
-  private FSDataOutputStream outputStream;
+  private Spool spool;
 
   public SpoolingRawBatchBuffer(FragmentContext context, int fragmentCount, int oppositeId, int bufferIndex, boolean enableDynamicFC) {
     super(context, fragmentCount, enableDynamicFC);
     this.allocator = context.getNewChildAllocator(
         "SpoolingRawBatchBufer", 100, ALLOCATOR_INITIAL_RESERVATION, ALLOCATOR_MAX_RESERVATION);
     this.threshold = context.getConfig().getLong(ExecConstants.SPOOLING_BUFFER_MEMORY);
+    this.spoolingThreshold = (long) (threshold * context.getConfig().getDouble(ExecConstants.SPOOLING_BUFFER_START_FRACTION));
     this.oppositeId = oppositeId;
     this.bufferIndex = bufferIndex;
     this.bufferQueue = new SpoolingBufferQueue();
@@ -184,12 +188,16 @@ public class SpoolingRawBatchBuffer extends BaseRawBatchBuffer<SpoolingRawBatchB
       return;
     }
 
-    Configuration conf = new Configuration();
-    conf.set(FileSystem.FS_DEFAULT_NAME_KEY, context.getConfig().getString(ExecConstants.TEMP_FILESYSTEM));
-    conf.set(DRILL_LOCAL_IMPL_STRING, LocalSyncableFileSystem.class.getName());
-    fs = FileSystem.get(conf);
-    path = getPath();
-    outputStream = fs.create(path);
+    final boolean delete = context.getConfig().getBoolean(ExecConstants.SPOOLING_BUFFER_DELETE);
+    if (context.getConfig().getBoolean(ExecConstants.SPOOLING_BUFFER_MAPPED)) {
+      spool = new MappedSpool(getPath().toString(),
+          context.getConfig().getInt(ExecConstants.SPOOLING_BUFFER_SEGMENT_SIZE), delete);
+    } else {
+      Configuration conf = new Configuration();
+      conf.set(FileSystem.FS_DEFAULT_NAME_KEY, context.getConfig().getString(ExecConstants.TEMP_FILESYSTEM));
+      conf.set(DRILL_LOCAL_IMPL_STRING, LocalSyncableFileSystem.class.getName());
+      spool = new FileSystemSpool(FileSystem.get(conf), getPath(), delete);
+    }
     final String spoolingThreadName = QueryIdHelper.getExecutorThreadName(context.getHandle()).concat(
         ":Spooler-" + oppositeId + "-" + bufferIndex);
     spooler = new Spooler(spoolingThreadName);
@@ -213,8 +221,8 @@ public class SpoolingRawBatchBuffer extends BaseRawBatchBuffer<SpoolingRawBatchB
       spooler.addBatchForSpooling(wrapper);
     }
     bufferQueue.add(wrapper);
-    if (!spoolCurrentBatch && currentSizeInMemory > threshold) {
-      logger.debug("Buffer size {} greater than threshold {}. Start spooling to disk", currentSizeInMemory, threshold);
+    if (!spoolCurrentBatch && currentSizeInMemory > spoolingThreshold) {
+      logger.debug("Buffer size {} greater than threshold {}. Start spooling to disk", currentSizeInMemory, spoolingThreshold);
       startSpooling();
     }
   }
@@ -233,11 +241,8 @@ public class SpoolingRawBatchBuffer extends BaseRawBatchBuffer<SpoolingRawBatchB
       outOfMemory.set(true);
     }
 
-    DrillBuf body = batch.getBody();
-    if (body != null) {
-      currentSizeInMemory -= body.capacity();
-    }
-    if (isCurrentlySpooling() && currentSizeInMemory < threshold * STOP_SPOOLING_FRACTION) {
+    currentSizeInMemory -= batch.getByteCount();
+    if (isCurrentlySpooling() && currentSizeInMemory < spoolingThreshold * STOP_SPOOLING_FRACTION) {
       logger.debug("buffer size {} less than {}x threshold. Stop spooling.", currentSizeInMemory, STOP_SPOOLING_FRACTION);
       pauseSpooling();
     }
@@ -259,21 +264,11 @@ public class SpoolingRawBatchBuffer extends BaseRawBatchBuffer<SpoolingRawBatchB
     }
     allocator.close();
     try {
-      if (outputStream != null) {
-        outputStream.close();
+      if (spool != null) {
+        spool.close();
       }
     } catch (IOException e) {
-      logger.warn("Failed to cleanup I/O streams", e);
-    }
-    if (context.getConfig().getBoolean(ExecConstants.SPOOLING_BUFFER_DELETE)) {
-      try {
-        if (fs != null) {
-          fs.delete(path, false);
-          logger.debug("Deleted file {}", path.toString());
-        }
-      } catch (IOException e) {
-        logger.warn("Failed to delete temporary files", e);
-      }
+      logger.warn("Failed to cleanup the spool", e);
     }
     super.close();
   }
@@ -282,7 +277,8 @@ public class SpoolingRawBatchBuffer extends BaseRawBatchBuffer<SpoolingRawBatchB
 
     private final LinkedBlockingDeque<RawFragmentBatchWrapper> spoolingQueue;
     private volatile boolean shouldContinue = true;
-    private Thread spoolingThread;
+    // bytes of the batches acked before they are written
+    private final AtomicLong unwrittenAckedBytes = new AtomicLong();
 
     public Spooler(String name) {
       setDaemon(true);
@@ -304,7 +300,10 @@ public class SpoolingRawBatchBuffer extends BaseRawBatchBuffer<SpoolingRawBatchB
             }
           }
           try {
-            batch.writeToStream(outputStream);
+            batch.writeToSpool();
+            if (batch.ackedUnwritten) {
+              unwrittenAckedBytes.addAndGet(-batch.bodyLength);
+            }
           } catch (IOException e) {
             context.getExecutorState().fail(e);
           }
@@ -318,20 +317,28 @@ public class SpoolingRawBatchBuffer extends BaseRawBatchBuffer<SpoolingRawBatchB
 
     public void addBatchForSpooling(RawFragmentBatchWrapper batchWrapper) {
       if (isSpoolingStopped()) {
-        spoolingQueue.add(batchWrapper);
-      } else {
         // will not spill this batch
         batchWrapper.available = true;
         batchWrapper.batch.sendOk();
         batchWrapper.latch.countDown();
+      } else {
+        // the sender is not held back by the write while the batches not written yet fit below the threshold
+        long bodySize = batchWrapper.getBodySize();
+        if (spoolingThreshold < threshold &&
+            unwrittenAckedBytes.get() + bodySize <= threshold - spoolingThreshold) {
+          unwrittenAckedBytes.addAndGet(bodySize);
+          batchWrapper.ackedUnwritten = true;
+          batchWrapper.sendOk();
+        }
+        spoolingQueue.add(batchWrapper);
       }
     }
 
     public void terminate() {
       stopSpooling();
       shouldContinue = false;
-      if (spoolingThread.isAlive()) {
-        spoolingThread.interrupt();
+      if (isAlive()) {
+        interrupt();
       }
     }
   }
@@ -342,8 +349,9 @@ public class SpoolingRawBatchBuffer extends BaseRawBatchBuffer<SpoolingRawBatchB
     private CountDownLatch latch;
     private volatile int bodyLength;
     private volatile boolean outOfMemory = false;
-    private long start = -1;
-    private long check;
+    // acked when handed to the spooler, before written
+    private volatile boolean ackedUnwritten;
+    private long position = -1;
 
     public RawFragmentBatchWrapper(RawFragmentBatch batch, boolean available) {
       Preconditions.checkNotNull(batch);
@@ -351,12 +359,16 @@ public class SpoolingRawBatchBuffer extends BaseRawBatchBuffer<SpoolingRawBatchB
       this.available = available;
       this.latch = new CountDownLatch(available ? 0 : 1);
       if (available) {
-        //As we can flush to disc ,we could let the sender to send the batch more rapidly
-        if (enableDynamicFC) {
-          batch.sendOk(SPOOLING_SENDER_CREDIT);
-        } else {
-          batch.sendOk();
-        }
+        sendOk();
+      }
+    }
+
+    private void sendOk() {
+      //As we can flush to disc ,we could let the sender to send the batch more rapidly
+      if (enableDynamicFC) {
+        batch.sendOk(SPOOLING_SENDER_CREDIT);
+      } else {
+        batch.sendOk();
       }
     }
 
@@ -370,97 +382,35 @@ public class SpoolingRawBatchBuffer extends BaseRawBatchBuffer<SpoolingRawBatchB
         return batch;
       } else {
         latch.await();
-        readFromStream();
+        readFromSpool();
         available = true;
         return batch;
       }
     }
 
     public long getBodySize() {
-      if (batch.getBody() == null) {
-        return 0;
-      }
-      assert batch.getBody().capacity() >= 0;
-      return batch.getBody().capacity();
+      return batch.getByteCount();
     }
 
-    public void writeToStream(FSDataOutputStream stream) throws IOException {
+    public void writeToSpool() throws IOException {
       Stopwatch watch = Stopwatch.createStarted();
       available = false;
-      check = ThreadLocalRandom.current().nextLong();
-      start = stream.getPos();
-      logger.debug("Writing check value {} at position {}", check, start);
-      stream.writeLong(check);
-      batch.getHeader().writeDelimitedTo(stream);
-      ByteBuf buf = batch.getBody();
-      if (buf != null) {
-        bodyLength = buf.capacity();
-      } else {
-        bodyLength = 0;
-      }
-      if (bodyLength > 0) {
-        buf.getBytes(0, stream, bodyLength);
-      }
-      stream.hsync();
-      FileStatus status = fs.getFileStatus(path);
-      long len = status.getLen();
-      logger.debug("After spooling batch, stream at position {}. File length {}", stream.getPos(), len);
+      DrillBuf buf = batch.getBody();
+      bodyLength = buf == null ? 0 : buf.capacity();
+      position = spool.write(batch);
       batch.sendOk();
       latch.countDown();
       long t = watch.elapsed(TimeUnit.MICROSECONDS);
-      logger.debug("Took {} us to spool {} to disk. Rate {} mb/s", t, bodyLength, bodyLength / t);
+      logger.debug("Took {} us to spool {} to disk at position {}", t, bodyLength, position);
       if (buf != null) {
         buf.release();
       }
     }
 
-    public void readFromStream() throws IOException, InterruptedException {
-      long pos = start;
-      boolean tryAgain = true;
-      int duration = 0;
-
-      while (tryAgain) {
-
-        // Sometimes, the file isn't quite done writing when we attempt to read it. As such, we need to wait and retry.
-        Thread.sleep(duration);
-
-        try(final FSDataInputStream stream = fs.open(path);
-            final DrillBuf buf = allocator.buffer(bodyLength)) {
-          stream.seek(start);
-          final long currentPos = stream.getPos();
-          final long check = stream.readLong();
-          pos = stream.getPos();
-          assert check == this.check : String.format("Check values don't match: %d %d, Position %d", this.check, check, currentPos);
-          Stopwatch watch = Stopwatch.createStarted();
-          BitData.FragmentRecordBatch header = BitData.FragmentRecordBatch.parseDelimitedFrom(stream);
-          pos = stream.getPos();
-          assert header != null : "header null after parsing from stream";
-          buf.writeBytes(stream, bodyLength);
-          pos = stream.getPos();
-          batch = new RawFragmentBatch(header, buf, null);
-          available = true;
-          latch.countDown();
-          long t = watch.elapsed(TimeUnit.MICROSECONDS);
-          logger.debug("Took {} us to read {} from disk. Rate {} mb/s", t, bodyLength, bodyLength / t);
-          tryAgain = false;
-        } catch (EOFException e) {
-          FileStatus status = fs.getFileStatus(path);
-          logger.warn("EOF reading from file {} at pos {}. Current file size: {}", path, pos, status.getLen());
-          duration = Math.max(1, duration * 2);
-          if (duration < 60000) {
-            continue;
-          } else {
-            throw e;
-          }
-        } finally {
-          if (tryAgain) {
-            // we had a premature exit, release batch memory so we don't leak it.
-            if (batch != null) {
-              batch.getBody().release();
-            }
-          }
-        }
-      }
+    public void readFromSpool() throws IOException {
+      batch = spool.read(position, allocator);
+      available = true;
+      latch.countDown();
     }
 
     private boolean isOutOfMemory() {
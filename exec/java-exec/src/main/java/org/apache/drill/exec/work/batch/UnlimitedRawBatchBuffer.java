@@ -20,10 +20,13 @@ package org.apache.drill.exec.work.batch;
 import java.io.IOException;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.memory.BufferAllocator;
 import org.apache.drill.exec.ops.FragmentContext;
 import org.apache.drill.exec.record.RawFragmentBatch;
+import org.apache.drill.exec.rpc.Acks;
 
 import org.apache.drill.shaded.guava.com.google.common.collect.Queues;
 
@@ -40,6 +43,9 @@ public class UnlimitedRawBatchBuffer extends BaseRawBatchBuffer<RawFragmentBatch
   private final int fragmentCount;
   private final int maxSampleTimes;
   private final long thresholdNetworkMem;
+  // byte based credit flow control: the bytes of the queued batches are bounded by the memory of the fragment
+  private final boolean enableByteCredit;
+  private final AtomicLong queuedBytes = new AtomicLong();
 
   public UnlimitedRawBatchBuffer(FragmentContext context, int fragmentCount, boolean enableDynamicFC) {
     super(context, fragmentCount, enableDynamicFC);
@@ -51,6 +57,7 @@ public class UnlimitedRawBatchBuffer extends BaseRawBatchBuffer<RawFragmentBatch
     this.sampleTimes = fragmentCount;
     this.maxSampleTimes = fragmentCount;
     this.thresholdNetworkMem = context.getConfig().getLong(ExecConstants.UNLIMITED_BUFFER_MAX_MEMORY_SIZE);
+    this.enableByteCredit = context.getOptions().getBoolean(ExecConstants.ENABLE_BYTE_CREDIT_BASED_FC);
   }
 
   private class UnlimitedBufferQueue implements BufferQueue<RawFragmentBatch> {
@@ -58,6 +65,7 @@ public class UnlimitedRawBatchBuffer extends BaseRawBatchBuffer<RawFragmentBatch
 
     @Override
     public void addOomBatch(RawFragmentBatch batch) {
+      queuedBytes.addAndGet(getBodySize(batch));
       buffer.addFirst(batch);
     }
 
@@ -65,7 +73,7 @@ public class UnlimitedRawBatchBuffer extends BaseRawBatchBuffer<RawFragmentBatch
     public RawFragmentBatch poll() throws IOException {
       RawFragmentBatch batch = buffer.poll();
       if (batch != null) {
-        batch.sendOk();
+        dequeued(batch);
       }
       return batch;
     }
@@ -73,7 +81,7 @@ public class UnlimitedRawBatchBuffer extends BaseRawBatchBuffer<RawFragmentBatch
     @Override
     public RawFragmentBatch take() throws IOException, InterruptedException {
       RawFragmentBatch batch = buffer.take();
-      batch.sendOk();
+      dequeued(batch);
       return batch;
     }
 
@@ -81,7 +89,7 @@ public class UnlimitedRawBatchBuffer extends BaseRawBatchBuffer<RawFragmentBatch
     public RawFragmentBatch poll(long timeout, TimeUnit timeUnit) throws InterruptedException, IOException {
       RawFragmentBatch batch = buffer.poll(timeout, timeUnit);
       if (batch != null) {
-        batch.sendOk();
+        dequeued(batch);
       }
       return batch;
     }
@@ -103,33 +111,74 @@ public class UnlimitedRawBatchBuffer extends BaseRawBatchBuffer<RawFragmentBatch
 
     @Override
     public void add(RawFragmentBatch batch) {
+      queuedBytes.addAndGet(getBodySize(batch));
       doFlowControl(batch);
       buffer.add(batch);
     }
   }
 
   private void doFlowControl(RawFragmentBatch batch) {
+    // with the byte credit, the batches queued must also fit in their share of the memory of the fragment
+    final long byteLimit = enableByteCredit ? getByteLimit() : Long.MAX_VALUE;
+    final boolean underByteLimit = queuedBytes.get() <= byteLimit;
     if (enableDynamicFC) {
       calculateDynamicCredit(batch);
       if (runtimeSoftLimit > 0) {
         //we already make a decision to give a suggest runtime sender credit
-        if (bufferQueue.size() < runtimeSoftLimit) {
+        if (bufferQueue.size() < runtimeSoftLimit && underByteLimit) {
           //we just send the same suggest credit to the sender
-          batch.sendOk(runtimeAckCredit);
+          sendOk(batch, runtimeAckCredit, byteLimit);
         }
-      } else if (bufferQueue.size() < softlimit) {
+      } else if (bufferQueue.size() < softlimit && underByteLimit) {
         //fallback to the initial static credit based flow control
-        batch.sendOk();
+        sendOk(batch, Acks.NO_SUGGESTED_CREDIT, byteLimit);
       }
-    } else if (bufferQueue.size() < softlimit) {
+    } else if (bufferQueue.size() < softlimit && underByteLimit) {
       //still use the initial static sender credit
+      sendOk(batch, Acks.NO_SUGGESTED_CREDIT, byteLimit);
+    }
+  }
+
+  /**
+   * Acks a batch taken off the queue, if it was held back.
+   */
+  private void dequeued(RawFragmentBatch batch) {
+    queuedBytes.addAndGet(-getBodySize(batch));
+    if (enableByteCredit) {
+      sendOk(batch, enableDynamicFC && runtimeSoftLimit > 0 ? runtimeAckCredit : Acks.NO_SUGGESTED_CREDIT, getByteLimit());
+    } else {
       batch.sendOk();
     }
   }
 
+  /**
+   * Acks a batch, advising its sender of its share of the byte limit if the byte credit is enabled.
+   */
+  private void sendOk(RawFragmentBatch batch, int credit, long byteLimit) {
+    if (enableByteCredit) {
+      batch.sendOk(credit, Math.max(byteLimit / fragmentCount, 1));
+    } else {
+      batch.sendOk(credit);
+    }
+  }
+
+  /**
+   * Bytes the queued batches may take: half of the memory the fragment would have available if none were
+   * queued, within the limit of the unlimited receivers. The other half is left to the operators.
+   */
+  private long getByteLimit() {
+    final BufferAllocator allocator = context.getAllocator();
+    final long headroom = Math.max(0, allocator.getLimit() - allocator.getAllocatedMemory());
+    return Math.min(thresholdNetworkMem, headroom / 2 + queuedBytes.get() / 2);
+  }
+
+  private static long getBodySize(RawFragmentBatch batch) {
+    return batch.getByteCount();
+  }
+
   private void calculateDynamicCredit(RawFragmentBatch batch) {
     int recordCount = batch.getHeader().getDef().getRecordCount();
-    long batchByteSize = batch.getBody() == null ? 0 : batch.getBody().capacity();
+    long batchByteSize = getBodySize(batch);
     if (recordCount != 0) {
       //skip first header batch
       totalBatchSize += batchByteSize;
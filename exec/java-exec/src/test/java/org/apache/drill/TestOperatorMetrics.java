@@ -20,7 +20,7 @@ package org.apache.drill;
 import org.apache.drill.categories.OperatorTest;
 import org.apache.drill.exec.ops.OperatorMetricRegistry;
 import org.apache.drill.exec.physical.config.ExternalSort;
-import org.apache.drill.exec.physical.config.NestedLoopJoinPOP;
+import org.apache.drill.exec.physical.config.Filter;
 import org.apache.drill.exec.physical.config.Screen;
 import org.apache.drill.test.BaseTestQuery;
 import org.junit.Test;
@@ -39,13 +39,13 @@ public class TestOperatorMetrics extends BaseTestQuery {
               OperatorMetricRegistry.getMetricNames(Screen.OPERATOR_TYPE));
 
     assertArrayEquals(new String[]{"SPILL_COUNT", "NOT_USED", "PEAK_BATCHES_IN_MEMORY", "MERGE_COUNT", "MIN_BUFFER",
-                      "SPILL_MB"},
+                      "SPILL_MB", "SPILL_COMPRESSED_MB"},
               OperatorMetricRegistry.getMetricNames(ExternalSort.OPERATOR_TYPE));
   }
 
   @Test
   public void testNonExistentMetricNames() {
-    assertNull(OperatorMetricRegistry.getMetricNames(NestedLoopJoinPOP.OPERATOR_TYPE));
+    assertNull(OperatorMetricRegistry.getMetricNames(Filter.OPERATOR_TYPE));
 
     assertNull(OperatorMetricRegistry.getMetricNames("FOO_BAR"));
   }
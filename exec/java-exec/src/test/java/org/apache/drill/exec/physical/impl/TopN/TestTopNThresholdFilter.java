@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.TopN;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.store.CommonParquetRecordReader;
+import org.apache.drill.exec.store.parquet.ParquetRowGroupScan;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterTest;
+import org.apache.drill.test.QueryBuilder;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Test the Top-N threshold shared with the Parquet scan, which skips the row groups whose
+ * records can not enter the Top-N
+ */
+@Category(OperatorTest.class)
+public class TestTopNThresholdFilter extends ClusterTest {
+
+  private static final String TABLE = "dfs.tmp.topn_lineitem";
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    startCluster(ClusterFixture.builder(dirTestWatcher)
+        .sessionOption(ExecConstants.TOPN_ENABLE_THRESHOLD_FILTER_KEY, true)
+        .configProperty(ExecConstants.SYS_STORE_PROVIDER_LOCAL_ENABLE_WRITE, false)
+        .maxParallelization(1)
+        .saveProfiles());
+
+    // Many small row groups, each holding a range of the order keys
+    client.alterSession(ExecConstants.PARQUET_BLOCK_SIZE, 64 * 1024);
+    client.runSqlSilently(String.format("create table %s as select l_orderkey, l_linenumber, l_quantity " +
+        "from cp.`tpch/lineitem.parquet` order by l_orderkey", TABLE));
+    client.resetSession(ExecConstants.PARQUET_BLOCK_SIZE);
+  }
+
+  @Test
+  public void testAscending() throws Exception {
+    String sql = String.format("select l_orderkey, l_linenumber from %s order by l_orderkey, l_linenumber limit 10", TABLE);
+    assertTrue(runAndGetSkipped(sql, 10) > 0);
+    compareWithoutThreshold(sql);
+  }
+
+  @Test
+  public void testDescending() throws Exception {
+    String sql = String.format("select l_orderkey, l_quantity from %s where l_linenumber > 1 " +
+        "order by l_orderkey desc limit 20", TABLE);
+    compareWithoutThreshold(sql);
+  }
+
+  @Test
+  public void testDisabled() throws Exception {
+    client.alterSession(ExecConstants.TOPN_ENABLE_THRESHOLD_FILTER_KEY, false);
+    try {
+      String sql = String.format("select l_orderkey from %s order by l_orderkey limit 10", TABLE);
+      assertEquals(0, runAndGetSkipped(sql, 10));
+    } finally {
+      client.alterSession(ExecConstants.TOPN_ENABLE_THRESHOLD_FILTER_KEY, true);
+    }
+  }
+
+  private void compareWithoutThreshold(String sql) throws Exception {
+    client.compareOrderedWithBaseline(sql, ExecConstants.TOPN_ENABLE_THRESHOLD_FILTER_KEY, true, false);
+  }
+
+  // Returns the number of row groups skipped by the Parquet scans
+  private long runAndGetSkipped(String sql, long expectedRows) throws Exception {
+    QueryBuilder.QuerySummary summary = client.queryBuilder().sql(sql).run();
+    assertEquals(expectedRows, summary.recordCount());
+    return client.parseProfile(summary).getMetric(ParquetRowGroupScan.OPERATOR_TYPE,
+        CommonParquetRecordReader.Metric.ROWGROUPS_SKIPPED_BY_TOPN.ordinal());
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.agg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.common.types.TypeProtos.DataMode;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.exec.physical.impl.aggregate.DirectKeyIndex;
+import org.apache.drill.exec.record.metadata.SchemaBuilder;
+import org.apache.drill.exec.vector.NullableIntVector;
+import org.apache.drill.test.SubOperatorTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests the slots the direct key index of the Hash Aggregate gives to the key values.
+ */
+@Category(OperatorTest.class)
+public class TestDirectKeyIndex extends SubOperatorTest {
+
+  private static final int BASE = 1_000_000;
+
+  @Test
+  public void testNullFirst() {
+    // the range of the keys starts at the first non-null one, not at 0
+    try (NullableIntVector keys = keys(null, BASE, BASE + 5, null, BASE + 2000)) {
+      DirectKeyIndex index = new DirectKeyIndex(null, 4096);
+      index.setup(keys);
+      // before any non-null key
+      assertTrue(index.slotOf(0) >= 0);
+      Set<Integer> slots = new HashSet<>();
+      for (int row : new int[] {1, 2, 4}) {
+        int slot = index.slotOf(row);
+        assertTrue(slot >= 0);
+        assertTrue(slots.add(slot));
+      }
+      // the slots grew to cover BASE + 2000: the null key moved to the new last slot
+      assertEquals(index.slotOf(3), index.slotOf(0));
+      assertFalse(slots.contains(index.slotOf(3)));
+    }
+  }
+
+  @Test
+  public void testGroupsKept() {
+    try (NullableIntVector keys = keys(BASE + 10, null, BASE, BASE + 10)) {
+      DirectKeyIndex index = new DirectKeyIndex(null, 4096);
+      index.setup(keys);
+      index.set(index.slotOf(0), 1, 42);
+      index.set(index.slotOf(1), 2, 7);
+      // growing downwards keeps the groups known so far
+      assertEquals(-1, index.get(index.slotOf(2)));
+      assertEquals((1L << 32) | 42, index.get(index.slotOf(3)));
+      assertEquals((2L << 32) | 7, index.get(index.slotOf(1)));
+    }
+  }
+
+  @Test
+  public void testRangeTooLarge() {
+    try (NullableIntVector keys = keys(null, BASE, BASE + 4096, BASE + 1)) {
+      DirectKeyIndex index = new DirectKeyIndex(null, 4096);
+      index.setup(keys);
+      assertTrue(index.slotOf(0) >= 0);
+      assertTrue(index.slotOf(1) >= 0);
+      // the values span more than the range: the index gives up for good
+      assertEquals(-1, index.slotOf(2));
+      assertEquals(-1, index.slotOf(3));
+    }
+  }
+
+  private static NullableIntVector keys(Integer... values) {
+    NullableIntVector vector = new NullableIntVector(
+        SchemaBuilder.columnSchema("k", MinorType.INT, DataMode.OPTIONAL), fixture.allocator());
+    vector.allocateNew(values.length);
+    NullableIntVector.Mutator mutator = vector.getMutator();
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null) {
+        mutator.set(i, values[i]);
+      }
+    }
+    mutator.setValueCount(values.length);
+    return vector;
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.agg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.List;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.physical.config.HashAggregate;
+import org.apache.drill.exec.physical.impl.aggregate.HashAggTemplate;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.test.BaseDirTestWatcher;
+import org.apache.drill.test.ClientFixture;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterFixtureBuilder;
+import org.apache.drill.test.DrillTest;
+import org.apache.drill.test.ProfileParser;
+import org.apache.drill.test.QueryBuilder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Test the adaptive bypass of the 1st phase of the Hash Aggr operator
+ */
+@Category(OperatorTest.class)
+public class TestHashAggrAdaptiveBypass extends DrillTest {
+
+  @Rule
+  public final BaseDirTestWatcher dirTestWatcher = new BaseDirTestWatcher();
+
+  private ClusterFixtureBuilder builder() {
+    return ClusterFixture.builder(dirTestWatcher)
+      .sessionOption(PlannerSettings.FORCE_2PHASE_AGGR_KEY, true)
+      .sessionOption(PlannerSettings.STREAMAGG.getOptionName(), false)
+      .sessionOption(ExecConstants.HASHAGG_ADAPTIVE_BYPASS_KEY, true)
+      .sessionOption(ExecConstants.HASHAGG_ADAPTIVE_BYPASS_MIN_ROWS_KEY, 10_000)
+      .configProperty(ExecConstants.SYS_STORE_PROVIDER_LOCAL_ENABLE_WRITE, false)
+      .maxParallelization(2)
+      .saveProfiles();
+  }
+
+  /**
+   * Unique keys - the 1st phase should bypass the aggregation
+   */
+  @Test
+  public void testBypassUniqueKeys() throws Exception {
+    try (ClusterFixture cluster = builder().build();
+         ClientFixture client = cluster.clientFixture()) {
+      String sql = "SELECT empid_s17, dept_i, branch_i, AVG(salary_i) FROM `mock`.`employee_200K` GROUP BY empid_s17, dept_i, branch_i";
+      assertEquals(1, runAndGetBypass(client, sql, 200_000));
+    }
+  }
+
+  /**
+   * Few groups - the 1st phase should keep aggregating
+   */
+  @Test
+  public void testNoBypassFewGroups() throws Exception {
+    try (ClusterFixture cluster = builder().build();
+         ClientFixture client = cluster.clientFixture()) {
+      String sql = "SELECT l_returnflag, COUNT(*) FROM cp.`tpch/lineitem.parquet` GROUP BY l_returnflag";
+      assertEquals(0, runAndGetBypass(client, sql, 3));
+    }
+  }
+
+  /**
+   * The results with the bypass should match those without it
+   */
+  @Test
+  public void testBypassResults() throws Exception {
+    try (ClusterFixture cluster = builder()
+           .sessionOption(ExecConstants.HASHAGG_ADAPTIVE_BYPASS_MIN_ROWS_KEY, 1_000)
+           .sessionOption(ExecConstants.HASHAGG_ADAPTIVE_BYPASS_RATIO_KEY, 0.5)
+           .build();
+         ClientFixture client = cluster.clientFixture()) {
+      String sql = "SELECT l_orderkey, l_partkey, COUNT(*) cnt, SUM(l_quantity) qty, MAX(l_comment) cmt " +
+        "FROM cp.`tpch/lineitem.parquet` GROUP BY l_orderkey, l_partkey";
+      client.compareWithBaseline(sql, ExecConstants.HASHAGG_ADAPTIVE_BYPASS_KEY, true, false);
+    }
+  }
+
+  // Returns the ADAPTIVE_BYPASS metric (1 if any of the Hash Aggr operators bypassed)
+  private long runAndGetBypass(ClientFixture client, String sql, long expectedRows) throws Exception {
+    QueryBuilder.QuerySummary summary = client.queryBuilder().sql(sql).run();
+    if (expectedRows > 0) {
+      assertEquals(expectedRows, summary.recordCount());
+    }
+
+    ProfileParser profile = client.parseProfile(summary.queryIdString());
+    List<ProfileParser.OperatorProfile> ops = profile.getOpsOfType(HashAggregate.OPERATOR_TYPE);
+    assertFalse(ops.isEmpty());
+
+    long bypass = 0;
+    for (ProfileParser.OperatorProfile op : ops) {
+      bypass = Math.max(bypass, op.getMetric(HashAggTemplate.Metric.ADAPTIVE_BYPASS.ordinal()));
+    }
+    return bypass;
+  }
+}
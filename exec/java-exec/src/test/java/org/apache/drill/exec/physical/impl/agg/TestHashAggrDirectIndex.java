@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.agg;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.test.BaseTestQuery;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Runs Hash Aggregate queries that group by a single INT or BIGINT column with the groups
+ * looked up directly by the key value, using the results of the hash table lookups as the baseline.
+ */
+@Category(OperatorTest.class)
+public class TestHashAggrDirectIndex extends BaseTestQuery {
+
+  private static final String DIRECT_INDEX_OFF = String.format("alter session set `%s` = false",
+      ExecConstants.HASHAGG_DIRECT_INDEX_KEY);
+
+  @BeforeClass
+  public static void disableStreamAgg() throws Exception {
+    setSessionOption(PlannerSettings.STREAMAGG.getOptionName(), false);
+  }
+
+  @AfterClass
+  public static void resetOptions() throws Exception {
+    resetSessionOption(PlannerSettings.STREAMAGG.getOptionName());
+    resetSessionOption(ExecConstants.HASHAGG_DIRECT_INDEX_MAX_RANGE_KEY);
+  }
+
+  @Test
+  public void testIntKey() throws Exception {
+    compareWithHashTable("select l_suppkey, count(*) cnt, sum(l_quantity) qty, max(l_comment) cmt " +
+        "from cp.`tpch/lineitem.parquet` group by l_suppkey");
+  }
+
+  @Test
+  public void testNullableBigIntKey() throws Exception {
+    compareWithHashTable("select department_id, count(*) cnt, min(full_name) nm " +
+        "from cp.`employee.json` group by department_id");
+  }
+
+  @Test
+  public void testKeysBeyondRange() throws Exception {
+    compareWithHashTable(String.format("alter session set `%s` = 100", ExecConstants.HASHAGG_DIRECT_INDEX_MAX_RANGE_KEY),
+        "select l_orderkey, count(*) cnt, sum(l_extendedprice) price " +
+        "from cp.`tpch/lineitem.parquet` group by l_orderkey");
+  }
+
+  @Test
+  public void testTwoPhase() throws Exception {
+    compareWithHashTable(String.format("alter session set `%s` = true; alter session set `%s` = 1",
+        PlannerSettings.FORCE_2PHASE_AGGR_KEY, ExecConstants.SLICE_TARGET),
+        "select l_partkey, count(*) cnt, avg(l_discount) dsc " +
+        "from cp.`tpch/lineitem.parquet` group by l_partkey");
+  }
+
+  private void compareWithHashTable(String query) throws Exception {
+    compareWithHashTable(null, query);
+  }
+
+  private void compareWithHashTable(String options, String query) throws Exception {
+    String directIndexOn = String.format("alter session set `%s` = true", ExecConstants.HASHAGG_DIRECT_INDEX_KEY);
+    try {
+      testBuilder()
+          .unOrdered()
+          .optionSettingQueriesForTestQuery(options == null ? directIndexOn : options + "; " + directIndexOn)
+          .sqlQuery(query)
+          .optionSettingQueriesForBaseline(options == null ? DIRECT_INDEX_OFF : options + "; " + DIRECT_INDEX_OFF)
+          .sqlBaselineQuery(query)
+          .go();
+    } finally {
+      resetSessionOption(ExecConstants.HASHAGG_DIRECT_INDEX_KEY);
+      resetSessionOption(PlannerSettings.FORCE_2PHASE_AGGR_KEY);
+      resetSessionOption(ExecConstants.SLICE_TARGET);
+    }
+  }
+}
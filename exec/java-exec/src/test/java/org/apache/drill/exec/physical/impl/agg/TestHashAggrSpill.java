@@ -61,6 +61,11 @@ public class TestHashAggrSpill extends DrillTest {
    */
   private void testSpill(long maxMem, long numPartitions, long minBatches, int maxParallel, boolean fallback, boolean predict,
                          String sql, long expectedRows, int cycle, int fromPart, int toPart) throws Exception {
+    testSpill(maxMem, numPartitions, minBatches, maxParallel, fallback, predict, sql, expectedRows, cycle, fromPart, toPart, "NONE");
+  }
+
+  private void testSpill(long maxMem, long numPartitions, long minBatches, int maxParallel, boolean fallback, boolean predict,
+                         String sql, long expectedRows, int cycle, int fromPart, int toPart, String compression) throws Exception {
     ClusterFixtureBuilder builder = ClusterFixture.builder(dirTestWatcher)
       .sessionOption(ExecConstants.HASHAGG_MAX_MEMORY_KEY,maxMem)
       .sessionOption(ExecConstants.HASHAGG_NUM_PARTITIONS_KEY,numPartitions)
@@ -69,6 +74,7 @@ public class TestHashAggrSpill extends DrillTest {
       .sessionOption(PlannerSettings.FORCE_2PHASE_AGGR_KEY,true)
       .sessionOption(ExecConstants.HASHAGG_FALLBACK_ENABLED_KEY, fallback)
       .sessionOption(ExecConstants.HASHAGG_USE_MEMORY_PREDICTION_KEY,predict)
+      .sessionOption(ExecConstants.HASHAGG_SPILL_COMPRESSION_KEY, compression)
       .maxParallelization(maxParallel)
       .saveProfiles();
     String sqlStr = sql != null ? sql :  // if null then use this default query
@@ -90,6 +96,15 @@ public class TestHashAggrSpill extends DrillTest {
         DEFAULT_ROW_COUNT, 1,2, 3);
   }
 
+  /**
+   * Same as above, with the spill files compressed
+   */
+  @Test
+  public void testCompressedHashAggrSpill() throws Exception {
+    testSpill(68_000_000, 16, 2, 2, false, true, null,
+        DEFAULT_ROW_COUNT, 1,2, 3, "SNAPPY");
+  }
+
   /**
    * Test with "needed memory" prediction turned off
    * (i.e., exercise code paths that catch OOMs from the Hash Table and recover)
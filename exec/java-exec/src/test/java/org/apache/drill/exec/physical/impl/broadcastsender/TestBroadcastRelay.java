@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.broadcastsender;
+
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Paths;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.physical.config.BroadcastSender;
+import org.apache.drill.exec.physical.impl.broadcastsender.BroadcastSenderRootExec.Metric;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterFixtureBuilder;
+import org.apache.drill.test.ClusterTest;
+import org.apache.drill.test.ProfileParser;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests the broadcast sender sending its batches to some of the receiving Drillbits,
+ * which relay them to the others.
+ */
+@Category(OperatorTest.class)
+public class TestBroadcastRelay extends ClusterTest {
+
+  // the orders are scanned in parallel across the Drillbits, the nations broadcast
+  private static final String QUERY = "select n.n_regionkey, count(*) as cnt, sum(o.o_orderkey) as keys " +
+      "from dfs.`multilevel/parquet` o join cp.`tpch/nation.parquet` n on mod(o.o_custkey, 25) = n.n_nationkey " +
+      "group by n.n_regionkey";
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    dirTestWatcher.copyResourceToRoot(Paths.get("multilevel", "parquet"));
+    ClusterFixtureBuilder builder = ClusterFixture.builder(dirTestWatcher)
+        .clusterSize(4)
+        .sessionOption(ExecConstants.SLICE_TARGET, 1)
+        .sessionOption(PlannerSettings.BROADCAST.getOptionName(), true)
+        .sessionOption(PlannerSettings.BROADCAST_FACTOR.getOptionName(), 0.0)
+        .maxParallelization(4)
+        .saveProfiles();
+    startCluster(builder);
+  }
+
+  @Test
+  public void testRelayedBatches() throws Exception {
+    try {
+      // a chain of Drillbits, each one relaying to the next one
+      client.alterSession(ExecConstants.BROADCAST_RELAY_FANOUT_KEY, 1);
+      ProfileParser profile = client.parseProfile(client.queryBuilder().sql(QUERY).run());
+      assertTrue(profile.getMetric(BroadcastSender.OPERATOR_TYPE, Metric.N_RECEIVERS.ordinal()) > 0);
+      assertTrue(profile.getMetric(BroadcastSender.OPERATOR_TYPE, Metric.RELAYED_DRILLBITS.ordinal()) > 0);
+
+      // as with the batches sent to every Drillbit
+      client.compareWithBaseline(QUERY, ExecConstants.BROADCAST_RELAY_FANOUT_KEY, 1, 0);
+    } finally {
+      client.resetSession(ExecConstants.BROADCAST_RELAY_FANOUT_KEY);
+    }
+  }
+}
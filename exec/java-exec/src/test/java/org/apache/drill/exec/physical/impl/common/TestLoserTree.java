@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.common;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.test.BaseTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+@Category(OperatorTest.class)
+public class TestLoserTree extends BaseTest {
+
+  @Test
+  public void testMerge() {
+    for (int streamCount : new int[] {0, 1, 2, 3, 7, 8, 200}) {
+      int[][] streams = randomStreams(streamCount, 50);
+      long[] comparisons = new long[1];
+      int[] merged = merge(streams, false, comparisons);
+      assertArrayEquals(sorted(streams), merged);
+      // one comparison per level of the tree for each record, once built
+      int levels = 32 - Integer.numberOfLeadingZeros(Math.max(1, streamCount - 1));
+      assertTrue(comparisons[0] <= (long) (merged.length + streamCount) * levels);
+    }
+  }
+
+  @Test
+  public void testMergeByPrefixes() {
+    int[][] streams = randomStreams(13, 100);
+    long[] comparisons = new long[1];
+    assertArrayEquals(sorted(streams), merge(streams, true, comparisons));
+    // the streams are compared only when the prefixes tie
+    assertTrue(comparisons[0] > 0);
+  }
+
+  @Test
+  public void testTiesInStreamOrder() {
+    int[][] streams = {{1, 1, 2}, {1, 2}, {0, 1}};
+    LoserTree tree = new LoserTree(streams.length, (left, right) -> 0);
+    tree.build();
+    StringBuilder order = new StringBuilder();
+    int[] positions = new int[streams.length];
+    for (int winner = tree.getWinner(); winner >= 0; winner = tree.getWinner()) {
+      order.append(winner);
+      if (++positions[winner] == streams[winner].length) {
+        tree.setExhausted(winner);
+      }
+      tree.replayWinner();
+    }
+    assertEquals("0001122", order.toString());
+  }
+
+  private static int[] merge(int[][] streams, boolean prefixed, long[] comparisons) {
+    int[] positions = new int[streams.length];
+    LoserTree tree = new LoserTree(streams.length, (left, right) -> {
+      comparisons[0]++;
+      return Integer.compare(streams[left][positions[left]], streams[right][positions[right]]);
+    }, prefixed, false);
+    for (int stream = 0; stream < streams.length; stream++) {
+      if (streams[stream].length == 0) {
+        tree.setExhausted(stream);
+      } else if (prefixed) {
+        tree.setPrefix(stream, prefix(streams[stream][0]));
+      }
+    }
+    tree.build();
+
+    int[] merged = new int[Arrays.stream(streams).mapToInt(s -> s.length).sum()];
+    int count = 0;
+    for (int winner = tree.getWinner(); winner >= 0; winner = tree.getWinner()) {
+      merged[count++] = streams[winner][positions[winner]];
+      if (++positions[winner] == streams[winner].length) {
+        tree.setExhausted(winner);
+      } else if (prefixed) {
+        tree.setPrefix(winner, prefix(streams[winner][positions[winner]]));
+      }
+      tree.replayWinner();
+    }
+    assertTrue(tree.isEmpty());
+    assertEquals(merged.length, count);
+    return merged;
+  }
+
+  // the high bits of the (non negative) value, left aligned: not exact
+  private static long prefix(int value) {
+    return ((long) value >>> 4) << 40;
+  }
+
+  private static int[][] randomStreams(int streamCount, int maxLength) {
+    Random random = new Random(streamCount);
+    int[][] streams = new int[streamCount][];
+    for (int i = 0; i < streamCount; i++) {
+      // some streams are empty
+      streams[i] = random.ints(random.nextInt(maxLength), 0, 1000).sorted().toArray();
+    }
+    return streams;
+  }
+
+  private static int[] sorted(int[][] streams) {
+    return Arrays.stream(streams).flatMapToInt(Arrays::stream).sorted().toArray();
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.common;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.test.BaseTestQuery;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Runs Hash Join and Hash Aggregate queries with the open addressing hash table,
+ * using the results of the (default) chained hash table as the baseline.
+ */
+@Category(OperatorTest.class)
+public class TestOpenAddressingHashTable extends BaseTestQuery {
+
+  private static final String OPEN_ADDRESSING = String.format(
+      "alter session set `%s` = 'OPEN_ADDRESSING'; alter session set `%s` = 'OPEN_ADDRESSING'",
+      ExecConstants.HASHJOIN_HASHTABLE_TYPE_KEY, ExecConstants.HASHAGG_HASHTABLE_TYPE_KEY);
+
+  private static final String CHAINED = String.format(
+      "alter session set `%s` = 'CHAINED'; alter session set `%s` = 'CHAINED'",
+      ExecConstants.HASHJOIN_HASHTABLE_TYPE_KEY, ExecConstants.HASHAGG_HASHTABLE_TYPE_KEY);
+
+  @BeforeClass
+  public static void disableNonHashOperators() throws Exception {
+    setSessionOption(PlannerSettings.STREAMAGG.getOptionName(), false);
+    setSessionOption(PlannerSettings.MERGEJOIN.getOptionName(), false);
+    setSessionOption(PlannerSettings.NESTEDLOOPJOIN.getOptionName(), false);
+  }
+
+  @AfterClass
+  public static void resetOptions() throws Exception {
+    resetSessionOption(PlannerSettings.STREAMAGG.getOptionName());
+    resetSessionOption(PlannerSettings.MERGEJOIN.getOptionName());
+    resetSessionOption(PlannerSettings.NESTEDLOOPJOIN.getOptionName());
+    resetSessionOption(ExecConstants.HASHJOIN_HASHTABLE_TYPE_KEY);
+    resetSessionOption(ExecConstants.HASHAGG_HASHTABLE_TYPE_KEY);
+  }
+
+  @Test
+  public void testHashAggregate() throws Exception {
+    compareWithChained("select l_orderkey, l_linestatus, count(*) cnt, sum(l_quantity) qty " +
+        "from cp.`tpch/lineitem.parquet` group by l_orderkey, l_linestatus");
+  }
+
+  @Test
+  public void testHashJoin() throws Exception {
+    compareWithChained("select l.l_orderkey, l.l_linenumber, o.o_custkey " +
+        "from cp.`tpch/lineitem.parquet` l join cp.`tpch/orders.parquet` o on l.l_orderkey = o.o_orderkey");
+  }
+
+  @Test
+  public void testHashJoinVarcharKeys() throws Exception {
+    compareWithChained("select e1.employee_id, e2.employee_id " +
+        "from cp.`employee.json` e1 left join cp.`employee.json` e2 on e1.last_name = e2.last_name");
+  }
+
+  private void compareWithChained(String query) throws Exception {
+    testBuilder()
+        .unOrdered()
+        .optionSettingQueriesForTestQuery(OPEN_ADDRESSING)
+        .sqlQuery(query)
+        .optionSettingQueriesForBaseline(CHAINED)
+        .sqlBaselineQuery(query)
+        .go();
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.common;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.test.BaseTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests the number of clusters chosen for a hash table and the reordering of the rows by cluster.
+ */
+@Category(OperatorTest.class)
+public class TestRadixClustering extends BaseTest {
+
+  @Test
+  public void testNumClusters() {
+    RadixClustering clustering = new RadixClustering(32 * 1024);
+    // 256K of buckets, 512K with the wider slots of open addressing
+    assertEquals(8, clustering.numClusters(hashTable(1 << 16, HashTable.TableType.CHAINED)));
+    assertEquals(16, clustering.numClusters(hashTable(1 << 16, HashTable.TableType.OPEN_ADDRESSING)));
+    // the buckets fit already
+    assertEquals(1, clustering.numClusters(hashTable(1024, HashTable.TableType.CHAINED)));
+    assertEquals(RadixClustering.MAX_CLUSTERS, clustering.numClusters(hashTable(1 << 24, HashTable.TableType.CHAINED)));
+  }
+
+  @Test
+  public void testSort() {
+    RadixClustering clustering = new RadixClustering(32 * 1024);
+    // 16 buckets, 4 clusters: the cluster is made of bits 2 and 3 of the hash code
+    int[] rows = {100, 0, 1, 2, 3, 4, 5, 200};
+    int[] hashCodes = {-1, 13 | 1 << 20, 2, 6, 1, 12, 5, -1};
+    clustering.sort(rows, hashCodes, 1, 6, 16, 4);
+
+    // the rows outside of the range stay, the order within each cluster is kept
+    assertArrayEquals(new int[] {100, 1, 3, 2, 5, 0, 4, 200}, rows);
+    assertArrayEquals(new int[] {-1, 2, 1, 6, 5, 13 | 1 << 20, 12, -1}, hashCodes);
+  }
+
+  @Test
+  public void testSingleCluster() {
+    RadixClustering clustering = new RadixClustering(32 * 1024);
+    int[] rows = {0, 1, 2};
+    int[] hashCodes = {12, 5, 2};
+    clustering.sort(rows, hashCodes, 0, 3, 16, 1);
+    assertArrayEquals(new int[] {0, 1, 2}, rows);
+    assertArrayEquals(new int[] {12, 5, 2}, hashCodes);
+  }
+
+  private static HashTable hashTable(int numBuckets, HashTable.TableType tableType) {
+    HashTable hashTable = mock(HashTable.class);
+    when(hashTable.numBuckets()).thenReturn(numBuckets);
+    when(hashTable.getTableType()).thenReturn(tableType);
+    return hashTable;
+  }
+}
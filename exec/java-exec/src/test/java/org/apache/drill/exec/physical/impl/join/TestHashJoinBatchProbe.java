@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.join;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.test.BaseTestQuery;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Runs Hash Join queries with the batch probe enabled, using the results of the
+ * (default) row at a time probe as the baseline.
+ */
+@Category(OperatorTest.class)
+public class TestHashJoinBatchProbe extends BaseTestQuery {
+
+  private static final String BATCH_PROBE = String.format(
+      "alter session set `%s` = true", ExecConstants.HASHJOIN_BATCH_PROBE_KEY);
+
+  private static final String ROW_PROBE = String.format(
+      "alter session set `%s` = false", ExecConstants.HASHJOIN_BATCH_PROBE_KEY);
+
+  @BeforeClass
+  public static void disableNonHashJoins() throws Exception {
+    setSessionOption(PlannerSettings.MERGEJOIN.getOptionName(), false);
+    setSessionOption(PlannerSettings.NESTEDLOOPJOIN.getOptionName(), false);
+  }
+
+  @AfterClass
+  public static void resetOptions() throws Exception {
+    resetSessionOption(PlannerSettings.MERGEJOIN.getOptionName());
+    resetSessionOption(PlannerSettings.NESTEDLOOPJOIN.getOptionName());
+    resetSessionOption(ExecConstants.HASHJOIN_BATCH_PROBE_KEY);
+  }
+
+  @Test
+  public void testInnerJoin() throws Exception {
+    compareWithRowProbe("select l.l_orderkey, l.l_linenumber, o.o_custkey " +
+        "from cp.`tpch/lineitem.parquet` l join cp.`tpch/orders.parquet` o on l.l_orderkey = o.o_orderkey");
+  }
+
+  @Test
+  public void testLeftJoinVarcharKeys() throws Exception {
+    compareWithRowProbe("select e1.employee_id, e2.employee_id " +
+        "from cp.`employee.json` e1 left join cp.`employee.json` e2 on e1.last_name = e2.last_name");
+  }
+
+  @Test
+  public void testFullJoin() throws Exception {
+    compareWithRowProbe("select n.n_nationkey, r.r_regionkey " +
+        "from cp.`tpch/nation.parquet` n full join cp.`tpch/region.parquet` r on n.n_nationkey = r.r_regionkey");
+  }
+
+  @Test
+  public void testOpenAddressingHashTable() throws Exception {
+    try {
+      setSessionOption(ExecConstants.HASHJOIN_HASHTABLE_TYPE_KEY, "OPEN_ADDRESSING");
+      testInnerJoin();
+    } finally {
+      resetSessionOption(ExecConstants.HASHJOIN_HASHTABLE_TYPE_KEY);
+    }
+  }
+
+  @Test
+  public void testRadixClustering() throws Exception {
+    String query = "select l.l_orderkey, l.l_linenumber, p.p_name " +
+        "from cp.`tpch/lineitem.parquet` l left join cp.`tpch/part.parquet` p on l.l_partkey = p.p_partkey";
+    String clustered = String.format("alter session set `%s` = 64", ExecConstants.HASHJOIN_RADIX_CLUSTER_BYTES_KEY);
+    String notClustered = String.format("alter session set `%s` = 0", ExecConstants.HASHJOIN_RADIX_CLUSTER_BYTES_KEY);
+    try {
+      testBuilder()
+          .unOrdered()
+          .optionSettingQueriesForTestQuery(BATCH_PROBE + "; " + clustered)
+          .sqlQuery(query)
+          .optionSettingQueriesForBaseline(ROW_PROBE + "; " + notClustered)
+          .sqlBaselineQuery(query)
+          .go();
+    } finally {
+      resetSessionOption(ExecConstants.HASHJOIN_RADIX_CLUSTER_BYTES_KEY);
+    }
+  }
+
+  private void compareWithRowProbe(String query) throws Exception {
+    testBuilder()
+        .unOrdered()
+        .optionSettingQueriesForTestQuery(BATCH_PROBE)
+        .sqlQuery(query)
+        .optionSettingQueriesForBaseline(ROW_PROBE)
+        .sqlBaselineQuery(query)
+        .go();
+  }
+}
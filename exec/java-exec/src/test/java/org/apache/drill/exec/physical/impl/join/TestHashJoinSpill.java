@@ -60,6 +60,64 @@ public class TestHashJoinSpill extends PhysicalOpUnitTestBase {
       .go();
   }
 
+  @SuppressWarnings("unchecked")
+  @Test
+  // Same as above, with the whole probe batch probed at once (including the spilled partitions)
+  public void testHashJoinSpillBatchProbe() {
+    HashJoinPOP joinConf = new HashJoinPOP(null, null,
+      Lists.newArrayList(joinCond("lft", "EQUALS", "rgt")), JoinRelType.INNER, null);
+    operatorFixture.getOptionManager().setLocalOption("exec.hashjoin.num_partitions", 4);
+    operatorFixture.getOptionManager().setLocalOption("exec.hashjoin.num_rows_in_batch", 64);
+    operatorFixture.getOptionManager().setLocalOption("exec.hashjoin.max_batches_in_memory", 8);
+    operatorFixture.getOptionManager().setLocalOption("exec.hashjoin.enable.batch_probe", true);
+    // Put some duplicate values
+    List<String> leftTable = Lists.newArrayList("[{\"lft\": 0, \"a\" : \"a string\"}]",
+      "[{\"lft\": 0, \"a\" : \"a different string\"},{\"lft\": 0, \"a\" : \"yet another\"}]");
+    List<String> rightTable = Lists.newArrayList("[{\"rgt\": 0, \"b\" : \"a string\"}]",
+      "[{\"rgt\": 0, \"b\" : \"a different string\"},{\"rgt\": 0, \"b\" : \"yet another\"}]");
+    int numRows = 2_500;
+    for ( int cnt = 1; cnt <= numRows; cnt++ ) {
+      leftTable.add("[{\"lft\": " + cnt + ", \"a\" : \"a string\"}]");
+      rightTable.add("[{\"rgt\": " + cnt + ", \"b\" : \"a string\"}]");
+    }
+
+    legacyOpTestBuilder()
+      .physicalOperator(joinConf)
+      .inputDataStreamsJson(Lists.newArrayList(leftTable,rightTable))
+      .baselineColumns("lft", "a", "b", "rgt")
+      .expectedTotalRows( numRows + 9 )
+      .go();
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  // Same as the first one, with the spill files compressed
+  public void testHashJoinSpillCompressed() {
+    HashJoinPOP joinConf = new HashJoinPOP(null, null,
+      Lists.newArrayList(joinCond("lft", "EQUALS", "rgt")), JoinRelType.INNER, null);
+    operatorFixture.getOptionManager().setLocalOption("exec.hashjoin.num_partitions", 4);
+    operatorFixture.getOptionManager().setLocalOption("exec.hashjoin.num_rows_in_batch", 64);
+    operatorFixture.getOptionManager().setLocalOption("exec.hashjoin.max_batches_in_memory", 8);
+    operatorFixture.getOptionManager().setLocalOption("exec.hashjoin.spill_compression", "ZSTD");
+    // Put some duplicate values
+    List<String> leftTable = Lists.newArrayList("[{\"lft\": 0, \"a\" : \"a string\"}]",
+      "[{\"lft\": 0, \"a\" : \"a different string\"},{\"lft\": 0, \"a\" : \"yet another\"}]");
+    List<String> rightTable = Lists.newArrayList("[{\"rgt\": 0, \"b\" : \"a string\"}]",
+      "[{\"rgt\": 0, \"b\" : \"a different string\"},{\"rgt\": 0, \"b\" : \"yet another\"}]");
+    int numRows = 2_500;
+    for ( int cnt = 1; cnt <= numRows; cnt++ ) {
+      leftTable.add("[{\"lft\": " + cnt + ", \"a\" : \"a string\"}]");
+      rightTable.add("[{\"rgt\": " + cnt + ", \"b\" : \"a string\"}]");
+    }
+
+    legacyOpTestBuilder()
+      .physicalOperator(joinConf)
+      .inputDataStreamsJson(Lists.newArrayList(leftTable,rightTable))
+      .baselineColumns("lft", "a", "b", "rgt")
+      .expectedTotalRows( numRows + 9 )
+      .go();
+  }
+
   @SuppressWarnings("unchecked")
   @Test
   public void testRightOuterHashJoinSpill() {
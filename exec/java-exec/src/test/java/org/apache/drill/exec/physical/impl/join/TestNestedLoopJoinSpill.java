@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.join;
+
+import static org.junit.Assert.assertTrue;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.physical.config.NestedLoopJoinPOP;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterFixtureBuilder;
+import org.apache.drill.test.ClusterTest;
+import org.apache.drill.test.ProfileParser;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests the Nested Loop Join with a right side larger than the block its memory
+ * allows, which is spilled and joined with the blocks of the left side a block
+ * at a time.
+ */
+@Category(OperatorTest.class)
+public class TestNestedLoopJoinSpill extends ClusterTest {
+
+  private static final String QUERY = "select c.c_custkey, o.o_orderkey from cp.`tpch/customer.parquet` c " +
+      "%s join cp.`tpch/orders.parquet` o on o.o_custkey >= c.c_custkey and o.o_custkey < c.c_custkey + 1";
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    ClusterFixtureBuilder builder = ClusterFixture.builder(dirTestWatcher)
+        .sessionOption(PlannerSettings.NLJOIN_FOR_SCALAR.getOptionName(), false)
+        .sessionOption(PlannerSettings.JOIN_OPTIMIZATION.getOptionName(), false) // orders on the right side
+        .sessionOption(ExecConstants.PARQUET_FLAT_BATCH_NUM_RECORDS, 1024)
+        .maxParallelization(1)
+        .saveProfiles();
+    startCluster(builder);
+  }
+
+  @Test
+  public void testInnerJoin() throws Exception {
+    testSpill(String.format(QUERY, "inner"));
+  }
+
+  @Test
+  public void testLeftJoin() throws Exception {
+    testSpill(String.format(QUERY, "left"));
+  }
+
+  private void testSpill(String query) throws Exception {
+    try {
+      client.compareWithBaseline(query, ExecConstants.NLJ_MAX_MEMORY_KEY, 64 * 1024, 0);
+
+      ProfileParser profile = client.parseProfile(client.queryBuilder().sql(query).run());
+      assertTrue(profile.getMetric(NestedLoopJoinPOP.OPERATOR_TYPE, NestedLoopJoinBatch.Metric.SPILLED_BLOCKS.ordinal()) > 1);
+      assertTrue(profile.getMetric(NestedLoopJoinPOP.OPERATOR_TYPE, NestedLoopJoinBatch.Metric.LEFT_BLOCKS.ordinal()) > 0);
+    } finally {
+      client.resetSession(ExecConstants.NLJ_MAX_MEMORY_KEY);
+    }
+  }
+}
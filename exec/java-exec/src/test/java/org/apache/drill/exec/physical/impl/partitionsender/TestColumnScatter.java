@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.partitionsender;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.physical.config.HashPartitionSender;
+import org.apache.drill.exec.physical.impl.partitionsender.PartitionSenderRootExec.Metric;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterFixtureBuilder;
+import org.apache.drill.test.ClusterTest;
+import org.apache.drill.test.ProfileParser;
+import org.apache.drill.test.QueryBuilder.QuerySummary;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests the partition sender copying the columns of its incoming batches in parallel.
+ */
+@Category(OperatorTest.class)
+public class TestColumnScatter extends ClusterTest {
+
+  private static final String QUERY = "select l_suppkey, count(*) as cnt, sum(l_quantity) as qty, " +
+      "max(l_comment) as cmt, min(l_shipdate) as shipped " +
+      "from cp.`tpch/lineitem.parquet` where l_quantity > 10 group by l_suppkey";
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    ClusterFixtureBuilder builder = ClusterFixture.builder(dirTestWatcher)
+        .sessionOption(ExecConstants.SLICE_TARGET, 1)
+        .sessionOption(PlannerSettings.MULTIPHASE.getOptionName(), false) // the rows cross the exchange
+        .maxParallelization(4)
+        .configProperty(ExecConstants.PARTITIONER_COLUMN_SCATTER_THREADS, 2)
+        .saveProfiles();
+    startCluster(builder);
+  }
+
+  @Test
+  public void testPoolSize() {
+    assertEquals(2, pool().getParallelism());
+  }
+
+  @Test
+  public void testScatterAllColumns() {
+    for (int rowCount : new int[] {1, 1000}) {
+      AtomicIntegerArray calls = new AtomicIntegerArray(5);
+      long[] nanos = new long[5];
+      ColumnScatter.scatter(pool(), calls::incrementAndGet, 5, rowCount, nanos);
+      for (int column = 0; column < 5; column++) {
+        assertEquals(1, calls.get(column));
+      }
+    }
+  }
+
+  @Test
+  public void testScatterFailure() {
+    AtomicIntegerArray calls = new AtomicIntegerArray(5);
+    try {
+      ColumnScatter.scatter(pool(), column -> {
+        calls.incrementAndGet(column);
+        if (column == 3) {
+          throw new IllegalStateException("column " + column);
+        }
+      }, 5, 1000, new long[5]);
+      fail();
+    } catch (IllegalStateException e) {
+      // all the columns ran before the failure was thrown
+      for (int column = 0; column < 5; column++) {
+        assertEquals(1, calls.get(column));
+      }
+    }
+  }
+
+  @Test
+  public void testColumnScatter() throws Exception {
+    try {
+      client.alterSession(ExecConstants.PARTITIONER_COLUMN_SCATTER_KEY, true);
+      QuerySummary summary = client.queryBuilder().sql(QUERY).run();
+      ProfileParser profile = client.parseProfile(summary.queryIdString());
+      List<ProfileParser.OperatorProfile> ops = profile.getOpsOfType(HashPartitionSender.OPERATOR_TYPE);
+      assertTrue(!ops.isEmpty());
+      for (ProfileParser.OperatorProfile op : ops) {
+        assertEquals(1, op.getMetric(Metric.SENDING_THREADS_COUNT.ordinal()));
+        assertTrue(op.getMetric(Metric.COLUMN_SCATTER_TIME_MS.ordinal())
+            >= op.getMetric(Metric.SLOWEST_COLUMN_SCATTER_TIME_MS.ordinal()));
+      }
+
+      // as with the rows copied a row at a time
+      client.compareWithBaseline(QUERY, ExecConstants.PARTITIONER_COLUMN_SCATTER_KEY, true, false);
+    } finally {
+      client.resetSession(ExecConstants.PARTITIONER_COLUMN_SCATTER_KEY);
+    }
+  }
+
+  private static ForkJoinPool pool() {
+    return cluster.drillbit().getContext().getColumnScatterPool();
+  }
+}
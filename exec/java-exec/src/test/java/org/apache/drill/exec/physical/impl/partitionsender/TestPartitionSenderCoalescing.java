@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.partitionsender;
+
+import static org.junit.Assert.assertTrue;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.physical.config.HashPartitionSender;
+import org.apache.drill.exec.physical.impl.partitionsender.PartitionSenderRootExec.Metric;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterFixtureBuilder;
+import org.apache.drill.test.ClusterTest;
+import org.apache.drill.test.ProfileParser;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests the partition sender sending the batches to the receivers on the same
+ * Drillbit in the same messages, and sizing its batches to its memory.
+ */
+@Category(OperatorTest.class)
+public class TestPartitionSenderCoalescing extends ClusterTest {
+
+  private static final String QUERY = "select l_suppkey, count(*) as cnt, sum(l_quantity) as qty " +
+      "from cp.`tpch/lineitem.parquet` group by l_suppkey";
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    ClusterFixtureBuilder builder = ClusterFixture.builder(dirTestWatcher)
+        .sessionOption(ExecConstants.SLICE_TARGET, 1)
+        .sessionOption(PlannerSettings.MULTIPHASE.getOptionName(), false) // the rows cross the exchange
+        .sessionOption(PlannerSettings.PARTITION_SENDER_SET_THREADS.getOptionName(), 1)
+        .maxParallelization(4)
+        .saveProfiles();
+    startCluster(builder);
+  }
+
+  @Test
+  public void testCoalescedBatches() throws Exception {
+    try {
+      client.alterSession(ExecConstants.PARTITIONER_COALESCE_BYTES_KEY, 1 << 20);
+      // all the receivers are on the single Drillbit
+      ProfileParser profile = client.parseProfile(client.queryBuilder().sql(QUERY).run());
+      long batches = profile.getMetric(HashPartitionSender.OPERATOR_TYPE, Metric.BATCHES_SENT.ordinal());
+      long messages = profile.getMetric(HashPartitionSender.OPERATOR_TYPE, Metric.MESSAGES_SENT.ordinal());
+      assertTrue(messages > 0);
+      assertTrue(messages < batches);
+
+      // as with a message per batch
+      client.compareWithBaseline(QUERY, ExecConstants.PARTITIONER_COALESCE_BYTES_KEY, 1 << 20, 0);
+    } finally {
+      client.resetSession(ExecConstants.PARTITIONER_COALESCE_BYTES_KEY);
+    }
+  }
+
+  @Test
+  public void testOutgoingMemory() throws Exception {
+    try {
+      client.alterSession(ExecConstants.PARTITIONER_OUTGOING_MEMORY_KEY, 1);
+      // the batches are reduced to the smallest size
+      ProfileParser profile = client.parseProfile(client.queryBuilder().sql(QUERY).run());
+      long batches = profile.getMetric(HashPartitionSender.OPERATOR_TYPE, Metric.BATCHES_SENT.ordinal());
+      long records = profile.getMetric(HashPartitionSender.OPERATOR_TYPE, Metric.RECORDS_SENT.ordinal());
+      assertTrue(records > 0);
+      assertTrue(records <= 127 * batches);
+
+      client.compareWithBaseline(QUERY, ExecConstants.PARTITIONER_OUTGOING_MEMORY_KEY, 1, 0);
+    } finally {
+      client.resetSession(ExecConstants.PARTITIONER_OUTGOING_MEMORY_KEY);
+    }
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.spill;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collections;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.physical.config.ExternalSort;
+import org.apache.drill.exec.physical.config.HashJoinPOP;
+import org.apache.drill.exec.physical.config.Sort;
+import org.apache.drill.exec.physical.impl.join.HashJoinBatch;
+import org.apache.drill.exec.physical.impl.xsort.ExternalSortBatch;
+import org.apache.drill.exec.proto.ExecProtos.FragmentHandle;
+import org.apache.drill.exec.proto.UserBitShared.QueryId;
+import org.apache.drill.exec.server.DrillbitContext;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterFixtureBuilder;
+import org.apache.drill.test.ClusterTest;
+import org.apache.drill.test.ProfileParser;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests writing and reading the spill files asynchronously; both directly through
+ * the {@link SpillSet} and with queries that make the External Sort and the Hash Join spill.
+ */
+@Category(OperatorTest.class)
+public class TestAsyncSpillIo extends ClusterTest {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private static final String SORT_QUERY = "select l_orderkey, l_linenumber, l_comment from cp.`tpch/lineitem.parquet` " +
+      "order by l_comment, l_orderkey, l_linenumber";
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    ClusterFixtureBuilder builder = ClusterFixture.builder(dirTestWatcher)
+        .configProperty(ExecConstants.EXTERNAL_SORT_BATCH_LIMIT, 2) // spill every couple of batches
+        .sessionOption(ExecConstants.PARQUET_FLAT_BATCH_NUM_RECORDS, 4096)
+        .maxParallelization(1)
+        .saveProfiles();
+    startCluster(builder);
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    roundTrip("NONE");
+  }
+
+  @Test
+  public void testCompressedRoundTrip() throws Exception {
+    roundTrip("ZSTD");
+  }
+
+  private void roundTrip(String compression) throws Exception {
+    // several buffers worth of data, written in uneven pieces
+    byte[] data = new byte[5 * BUFFER_SIZE + 1234];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) (i % 101 < 50 ? i % 13 : i);
+    }
+    DrillbitContext drillbitContext = cluster.drillbit().getContext();
+    try (BufferAllocator allocator = drillbitContext.getAllocator().newChildAllocator("spill", 0, Long.MAX_VALUE)) {
+      SpillSet spillSet = newSpillSet();
+      try {
+        spillSet.setCompression(compression);
+        spillSet.setAsyncIo(allocator, drillbitContext.getExecutor(), BUFFER_SIZE);
+        String fileName = spillSet.getNextSpillFile();
+        try (WritableByteChannel channel = spillSet.openForOutput(fileName)) {
+          assertTrue(channel instanceof AsyncSpillChannel);
+          for (int posn = 0; posn < data.length; posn += 10_000) {
+            channel.write(ByteBuffer.wrap(data, posn, Math.min(10_000, data.length - posn)));
+          }
+          assertEquals(2 * BUFFER_SIZE, allocator.getAllocatedMemory());
+        }
+        assertEquals(0, allocator.getAllocatedMemory());
+
+        byte[] read = new byte[data.length];
+        try (InputStream in = spillSet.openForInput(fileName)) {
+          assertTrue(in instanceof AsyncSpillInputStream);
+          new DataInputStream(in).readFully(read);
+          assertEquals(-1, in.read());
+        }
+        assertArrayEquals(data, read);
+
+        // closed before read to the end
+        try (InputStream in = spillSet.openForInput(fileName)) {
+          assertEquals(data[0], (byte) in.read());
+        }
+        assertEquals(0, allocator.getAllocatedMemory());
+      } finally {
+        spillSet.close();
+      }
+    }
+  }
+
+  @Test
+  public void testConcurrentCompressedFiles() throws Exception {
+    // each file its own data, written and read in interleaved pieces, so that the
+    // async threads compress (decompress) several files at the same time
+    int fileCount = 4;
+    byte[][] data = new byte[fileCount][3 * BUFFER_SIZE + 4321];
+    for (int f = 0; f < fileCount; f++) {
+      for (int i = 0; i < data[f].length; i++) {
+        data[f][i] = (byte) (i % (37 + f) < 20 ? i % (7 + f) : i * (f + 1));
+      }
+    }
+    DrillbitContext drillbitContext = cluster.drillbit().getContext();
+    try (BufferAllocator allocator = drillbitContext.getAllocator().newChildAllocator("spill", 0, Long.MAX_VALUE)) {
+      SpillSet spillSet = newSpillSet();
+      SpillSet syncSpillSet = newSpillSet();
+      try {
+        spillSet.setCompression("ZSTD");
+        spillSet.setAsyncIo(allocator, drillbitContext.getExecutor(), BUFFER_SIZE);
+        syncSpillSet.setCompression("ZSTD");
+
+        String[] fileNames = new String[fileCount];
+        WritableByteChannel[] channels = new WritableByteChannel[fileCount];
+        for (int f = 0; f < fileCount; f++) {
+          fileNames[f] = spillSet.getNextSpillFile();
+          channels[f] = spillSet.openForOutput(fileNames[f]);
+        }
+        for (int posn = 0; posn < data[0].length; posn += 10_000) {
+          for (int f = 0; f < fileCount; f++) {
+            channels[f].write(ByteBuffer.wrap(data[f], posn, Math.min(10_000, data[f].length - posn)));
+          }
+        }
+        for (WritableByteChannel channel : channels) {
+          channel.close();
+        }
+        assertEquals(0, allocator.getAllocatedMemory());
+
+        InputStream[] ins = new InputStream[fileCount];
+        byte[][] read = new byte[fileCount][data[0].length];
+        for (int f = 0; f < fileCount; f++) {
+          ins[f] = spillSet.openForInput(fileNames[f]);
+        }
+        for (int posn = 0; posn < data[0].length; posn += 10_000) {
+          for (int f = 0; f < fileCount; f++) {
+            new DataInputStream(ins[f]).readFully(read[f], posn, Math.min(10_000, data[f].length - posn));
+          }
+        }
+        for (int f = 0; f < fileCount; f++) {
+          assertEquals(-1, ins[f].read());
+          ins[f].close();
+          assertArrayEquals(data[f], read[f]);
+        }
+        assertEquals(0, allocator.getAllocatedMemory());
+
+        // the compressed bytes tallied by the async threads match those of writing the files one by one
+        for (int f = 0; f < fileCount; f++) {
+          try (WritableByteChannel channel = syncSpillSet.openForOutput(syncSpillSet.getNextSpillFile("sync"))) {
+            channel.write(ByteBuffer.wrap(data[f]));
+          }
+        }
+        assertEquals(syncSpillSet.getCompressedWriteBytes(), spillSet.getCompressedWriteBytes());
+      } finally {
+        spillSet.close();
+        syncSpillSet.close();
+      }
+    }
+  }
+
+  @Test
+  public void testSortSpill() throws Exception {
+    try {
+      client.alterSession(ExecConstants.SPILL_ASYNC_IO_KEY, true);
+      client.alterSession(ExecConstants.SPILL_ASYNC_IO_BUFFER_SIZE_KEY, BUFFER_SIZE);
+      client.compareOrderedWithBaseline(SORT_QUERY, ExecConstants.SPILL_ASYNC_IO_KEY, true, false);
+
+      ProfileParser profile = client.parseProfile(client.queryBuilder().sql(SORT_QUERY).run());
+      assertTrue(profile.getMetric(ExternalSort.OPERATOR_TYPE, ExternalSortBatch.Metric.SPILL_COUNT.ordinal()) > 0);
+    } finally {
+      client.resetSession(ExecConstants.SPILL_ASYNC_IO_KEY);
+      client.resetSession(ExecConstants.SPILL_ASYNC_IO_BUFFER_SIZE_KEY);
+    }
+  }
+
+  @Test
+  public void testHashJoinSpill() throws Exception {
+    String query = "select l.l_orderkey, l.l_linenumber, o.o_custkey from cp.`tpch/lineitem.parquet` l " +
+        "join cp.`tpch/orders.parquet` o on l.l_orderkey = o.o_orderkey";
+    try {
+      client.alterSession(ExecConstants.HASHJOIN_NUM_PARTITIONS_KEY, 4);
+      client.alterSystem(ExecConstants.HASHJOIN_MAX_BATCHES_IN_MEMORY_KEY, 2);
+      client.alterSession(ExecConstants.SPILL_ASYNC_IO_KEY, true);
+      client.alterSession(ExecConstants.SPILL_ASYNC_IO_BUFFER_SIZE_KEY, BUFFER_SIZE);
+      client.compareWithBaseline(query, ExecConstants.SPILL_ASYNC_IO_KEY, true, false);
+
+      ProfileParser profile = client.parseProfile(client.queryBuilder().sql(query).run());
+      assertTrue(profile.getMetric(HashJoinPOP.OPERATOR_TYPE, HashJoinBatch.Metric.SPILLED_PARTITIONS.ordinal()) > 0);
+    } finally {
+      client.resetSession(ExecConstants.HASHJOIN_NUM_PARTITIONS_KEY);
+      client.resetSystem(ExecConstants.HASHJOIN_MAX_BATCHES_IN_MEMORY_KEY);
+      client.resetSession(ExecConstants.SPILL_ASYNC_IO_KEY);
+      client.resetSession(ExecConstants.SPILL_ASYNC_IO_BUFFER_SIZE_KEY);
+    }
+  }
+
+  private SpillSet newSpillSet() {
+    QueryId queryId = QueryId.newBuilder()
+        .setPart1(1234)
+        .setPart2(5678)
+        .build();
+    FragmentHandle handle = FragmentHandle.newBuilder()
+        .setMajorFragmentId(2)
+        .setMinorFragmentId(3)
+        .setQueryId(queryId)
+        .build();
+    return new SpillSet(cluster.drillbit().getContext().getConfig(), handle,
+        new Sort(null, Collections.emptyList(), false));
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.spill;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collections;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.physical.config.ExternalSort;
+import org.apache.drill.exec.physical.config.Sort;
+import org.apache.drill.exec.physical.impl.xsort.ExternalSortBatch;
+import org.apache.drill.exec.proto.ExecProtos.FragmentHandle;
+import org.apache.drill.exec.proto.UserBitShared.QueryId;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterFixtureBuilder;
+import org.apache.drill.test.ClusterTest;
+import org.apache.drill.test.ProfileParser;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests compressing the spill files; both directly through the {@link SpillSet}
+ * and with queries that make the External Sort spill.
+ */
+@Category(OperatorTest.class)
+public class TestSpillCompression extends ClusterTest {
+
+  private static final String[] CODECS = {"SNAPPY", "GZIP", "ZSTD"};
+
+  private static final String SORT_QUERY = "select l_orderkey, l_linenumber, l_comment from cp.`tpch/lineitem.parquet` " +
+      "order by l_comment, l_orderkey, l_linenumber";
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    ClusterFixtureBuilder builder = ClusterFixture.builder(dirTestWatcher)
+        .configProperty(ExecConstants.EXTERNAL_SORT_BATCH_LIMIT, 2) // spill every couple of batches
+        .sessionOption(ExecConstants.PARQUET_FLAT_BATCH_NUM_RECORDS, 4096)
+        .maxParallelization(1)
+        .saveProfiles();
+    startCluster(builder);
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    // a few blocks worth of (compressible) data, written in uneven pieces
+    byte[] data = new byte[3 * CompressedSpillChannel.BLOCK_SIZE + 1234];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) (i % 97 < 50 ? i % 7 : 'x');
+    }
+    for (String codec : CODECS) {
+      SpillSet spillSet = newSpillSet();
+      try {
+        spillSet.setCompression(codec);
+        String fileName = spillSet.getNextSpillFile();
+        try (WritableByteChannel channel = spillSet.openForOutput(fileName)) {
+          for (int posn = 0; posn < data.length; posn += 10_000) {
+            channel.write(ByteBuffer.wrap(data, posn, Math.min(10_000, data.length - posn)));
+          }
+        }
+        spillSet.tallyWriteBytes(data.length);
+        assertTrue(codec, spillSet.getCompressedWriteBytes() < data.length);
+
+        byte[] read = new byte[data.length];
+        try (InputStream in = spillSet.openForInput(fileName)) {
+          new DataInputStream(in).readFully(read);
+          assertEquals(-1, in.read());
+          assertEquals(spillSet.getCompressedWriteBytes(), spillSet.getPosition(in));
+        }
+        assertArrayEquals(codec, data, read);
+      } finally {
+        spillSet.close();
+      }
+    }
+  }
+
+  @Test
+  public void testUncompressed() throws Exception {
+    SpillSet spillSet = newSpillSet();
+    try {
+      spillSet.setCompression("NONE");
+      spillSet.tallyWriteBytes(1000);
+      assertEquals(1000, spillSet.getCompressedWriteBytes());
+    } finally {
+      spillSet.close();
+    }
+  }
+
+  @Test
+  public void testSortSpill() throws Exception {
+    for (String codec : CODECS) {
+      try {
+        client.compareOrderedWithBaseline(SORT_QUERY, ExecConstants.EXTERNAL_SORT_SPILL_COMPRESSION_KEY, codec, "NONE");
+
+        ProfileParser profile = client.parseProfile(client.queryBuilder().sql(SORT_QUERY).run());
+        assertTrue(codec, profile.getMetric(ExternalSort.OPERATOR_TYPE, ExternalSortBatch.Metric.SPILL_COUNT.ordinal()) > 0);
+      } finally {
+        client.resetSession(ExecConstants.EXTERNAL_SORT_SPILL_COMPRESSION_KEY);
+      }
+    }
+  }
+
+  private SpillSet newSpillSet() {
+    QueryId queryId = QueryId.newBuilder()
+        .setPart1(1234)
+        .setPart2(5678)
+        .build();
+    FragmentHandle handle = FragmentHandle.newBuilder()
+        .setMajorFragmentId(2)
+        .setMinorFragmentId(3)
+        .setQueryId(queryId)
+        .build();
+    return new SpillSet(cluster.drillbit().getContext().getConfig(), handle,
+        new Sort(null, Collections.emptyList(), false));
+  }
+}
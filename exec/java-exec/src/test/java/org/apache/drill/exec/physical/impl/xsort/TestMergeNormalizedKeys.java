@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.xsort;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterFixtureBuilder;
+import org.apache.drill.test.ClusterTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Runs sorts which spill and merge the sorted streams of several fragments
+ * (merge of the spilled runs, Merging Receiver) by normalized key prefixes,
+ * using the results of the merges by full comparisons as the baseline.
+ */
+@Category(OperatorTest.class)
+public class TestMergeNormalizedKeys extends ClusterTest {
+
+  private static final String LINEITEM = "cp.`tpch/lineitem.parquet`";
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    ClusterFixtureBuilder builder = ClusterFixture.builder(dirTestWatcher)
+        .configProperty(ExecConstants.EXTERNAL_SORT_BATCH_LIMIT, 2) // spill every couple of batches
+        .sessionOption(ExecConstants.PARQUET_FLAT_BATCH_NUM_RECORDS, 4096)
+        .sessionOption(ExecConstants.SLICE_TARGET, 1)
+        .maxParallelization(3);
+    startCluster(builder);
+  }
+
+  @Test
+  public void testIntKeys() throws Exception {
+    compareWithFullComparisons(String.format("select l_linenumber, l_orderkey, l_partkey from %s " +
+        "order by l_linenumber desc, l_orderkey", LINEITEM));
+  }
+
+  @Test
+  public void testVarCharKey() throws Exception {
+    compareWithFullComparisons(String.format("select l_comment, l_orderkey, l_linenumber from %s " +
+        "order by l_comment, l_orderkey, l_linenumber", LINEITEM));
+  }
+
+  @Test
+  public void testNullableKey() throws Exception {
+    compareWithFullComparisons(String.format("select case when mod(l_orderkey, 7) = 0 then null else l_discount end d, " +
+        "l_orderkey, l_linenumber from %s order by d desc nulls last, l_orderkey, l_linenumber", LINEITEM));
+  }
+
+  // the merging receiver compares the keys normalized by the sorts
+  private void compareWithFullComparisons(String query) throws Exception {
+    try {
+      client.alterSession(ExecConstants.EXTERNAL_SORT_NORMALIZED_KEYS_KEY, true);
+      client.compareOrderedWithBaseline(query, ExecConstants.MERGING_RECEIVER_NORMALIZED_KEYS_KEY, true, false);
+    } finally {
+      client.resetSession(ExecConstants.EXTERNAL_SORT_NORMALIZED_KEYS_KEY);
+      client.resetSession(ExecConstants.MERGING_RECEIVER_NORMALIZED_KEYS_KEY);
+    }
+  }
+}
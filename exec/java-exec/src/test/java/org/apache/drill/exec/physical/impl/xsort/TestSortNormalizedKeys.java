@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.physical.impl.xsort;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Runs External Sort queries that sort by normalized key prefixes, using the results
+ * of the sort by full comparisons as the baseline.
+ */
+@Category(OperatorTest.class)
+public class TestSortNormalizedKeys extends ClusterTest {
+
+  private static final String LINEITEM = "cp.`tpch/lineitem.parquet`";
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    startCluster(ClusterFixture.builder(dirTestWatcher));
+  }
+
+  @Test
+  public void testIntKeys() throws Exception {
+    // the second key is truncated in the (48 bit) batch sort prefix
+    compareWithFullComparisons(String.format("select l_linenumber, l_orderkey, l_partkey from %s " +
+        "order by l_linenumber desc, l_orderkey", LINEITEM));
+  }
+
+  @Test
+  public void testDateAndDoubleKeys() throws Exception {
+    compareWithFullComparisons(String.format("select l_shipdate, l_extendedprice, l_orderkey, l_linenumber from %s " +
+        "order by l_shipdate desc, l_extendedprice, l_orderkey, l_linenumber", LINEITEM));
+  }
+
+  @Test
+  public void testVarCharKey() throws Exception {
+    compareWithFullComparisons(String.format("select l_comment, l_orderkey, l_linenumber from %s " +
+        "order by l_comment, l_orderkey, l_linenumber", LINEITEM));
+  }
+
+  @Test
+  public void testNullableKeys() throws Exception {
+    String query = String.format("select case when mod(l_orderkey, 7) = 0 then null else l_discount - 0.05 end d, " +
+        "l_orderkey, l_linenumber from %s order by d %%s, l_orderkey desc, l_linenumber", LINEITEM);
+    compareWithFullComparisons(String.format(query, "nulls first"));
+    compareWithFullComparisons(String.format(query, "desc nulls last"));
+  }
+
+  @Test
+  public void testBooleanAndFloatKeys() throws Exception {
+    compareWithFullComparisons(String.format("select l_returnflag = 'R' r, cast(l_quantity - 25 as float) q, " +
+        "l_orderkey, l_linenumber from %s order by r desc, q, l_orderkey, l_linenumber", LINEITEM));
+  }
+
+  @Test
+  public void testTiedKeys() throws Exception {
+    compareWithFullComparisons(String.format("select l_returnflag, l_linestatus from %s " +
+        "order by l_returnflag, l_linestatus desc", LINEITEM));
+  }
+
+  private void compareWithFullComparisons(String query) throws Exception {
+    try {
+      client.compareOrderedWithBaseline(query, ExecConstants.EXTERNAL_SORT_NORMALIZED_KEYS_KEY, true, false);
+    } finally {
+      client.resetSession(ExecConstants.EXTERNAL_SORT_NORMALIZED_KEYS_KEY);
+    }
+  }
+}
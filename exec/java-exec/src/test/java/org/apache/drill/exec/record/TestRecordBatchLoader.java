@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.record;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.drill.categories.VectorTest;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.exec.physical.rowSet.DirectRowSet;
+import org.apache.drill.exec.physical.rowSet.RowSet;
+import org.apache.drill.exec.record.metadata.SchemaBuilder;
+import org.apache.drill.exec.record.metadata.TupleMetadata;
+import org.apache.drill.exec.vector.NullableVarCharVector;
+import org.apache.drill.exec.vector.VarCharVector;
+import org.apache.drill.test.SubOperatorTest;
+import org.apache.drill.test.rowSet.RowSetUtilities;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import io.netty.buffer.DrillBuf;
+
+/**
+ * Tests loading a record batch from the buffers of the vectors of a batch, as handed over
+ * by a fragment of the same Drillbit.
+ */
+@Category(VectorTest.class)
+public class TestRecordBatchLoader extends SubOperatorTest {
+
+  private static final TupleMetadata SCHEMA = new SchemaBuilder()
+      .add("a", MinorType.INT)
+      .addNullable("b", MinorType.INT)
+      .add("c", MinorType.VARCHAR)
+      .addNullable("d", MinorType.VARCHAR)
+      .buildSchema();
+
+  @Test
+  public void testLoadSubBuffers() {
+    WritableBatch batch = writableBatch();
+    // a; b bits, values; c offsets, data; d bits, offsets, data
+    DrillBuf[] buffers = batch.getBuffers();
+    assertEquals(8, buffers.length);
+
+    RecordBatchLoader loader = new RecordBatchLoader(fixture.allocator());
+    loader.load(batch.getDef(), buffers);
+
+    // the sub-buffers of the nullable and variable width vectors are loaded in place
+    VarCharVector c = (VarCharVector) loader.getContainer().getValueVector(2).getValueVector();
+    assertEquals(buffers[4].memoryAddress(), c.getBuffer().memoryAddress());
+    NullableVarCharVector d = (NullableVarCharVector) loader.getContainer().getValueVector(3).getValueVector();
+    assertEquals(buffers[5].memoryAddress(), d.getBitsVector().getBuffer().memoryAddress());
+    assertEquals(buffers[7].memoryAddress(), d.getValuesVector().getBuffer().memoryAddress());
+
+    RowSetUtilities.verify(expected(), DirectRowSet.fromContainer(loader.getContainer()));
+    batch.clear();
+  }
+
+  @Test
+  public void testLoadSplitBuffer() {
+    WritableBatch batch = writableBatch();
+    DrillBuf[] buffers = batch.getBuffers();
+
+    // the data of c spans two buffers: only that is copied
+    DrillBuf data = buffers[4];
+    int half = data.readableBytes() / 2;
+    DrillBuf[] split = new DrillBuf[buffers.length + 1];
+    System.arraycopy(buffers, 0, split, 0, 4);
+    split[4] = data.slice(data.readerIndex(), half);
+    split[5] = data.slice(data.readerIndex() + half, data.readableBytes() - half);
+    System.arraycopy(buffers, 5, split, 6, 3);
+
+    RecordBatchLoader loader = new RecordBatchLoader(fixture.allocator());
+    loader.load(batch.getDef(), split);
+
+    NullableVarCharVector d = (NullableVarCharVector) loader.getContainer().getValueVector(3).getValueVector();
+    assertEquals(buffers[7].memoryAddress(), d.getValuesVector().getBuffer().memoryAddress());
+
+    RowSetUtilities.verify(expected(), DirectRowSet.fromContainer(loader.getContainer()));
+    batch.clear();
+  }
+
+  private static WritableBatch writableBatch() {
+    RowSet rowSet = expected();
+    return WritableBatch.getBatchNoHVWrap(rowSet.rowCount(), rowSet.container(), false);
+  }
+
+  private static RowSet expected() {
+    return fixture.rowSetBuilder(SCHEMA)
+        .addRow(1, null, "abc", "wxyz")
+        .addRow(2, 20, "", null)
+        .addRow(3, 30, "defgh", "uv")
+        .build();
+  }
+}
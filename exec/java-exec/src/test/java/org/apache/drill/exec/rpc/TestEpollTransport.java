@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.rpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.metrics.DrillMetrics;
+import org.apache.drill.exec.server.Drillbit;
+import org.apache.drill.exec.server.DrillbitContext;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterFixtureBuilder;
+import org.apache.drill.test.ClusterTest;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Runs distributed queries over the native epoll transport, skipped where it is
+ * not available.
+ */
+public class TestEpollTransport extends ClusterTest {
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    Assume.assumeTrue("native epoll transport is not available", TransportCheck.setEpollEnabled(true));
+    ClusterFixtureBuilder builder = ClusterFixture.builder(dirTestWatcher)
+        .clusterSize(2)
+        .sessionOption(ExecConstants.SLICE_TARGET, 1)
+        .maxParallelization(2);
+    startCluster(builder);
+  }
+
+  @AfterClass
+  public static void resetTransport() {
+    TransportCheck.setEpollEnabled(TransportCheck.SUPPORTS_EPOLL);
+  }
+
+  @Test
+  public void testEventLoopGroups() {
+    for (Drillbit drillbit : cluster.drillbits()) {
+      DrillbitContext context = drillbit.getContext();
+      assertTrue(TransportCheck.isEpoll(context.getBitLoopGroup()));
+      assertTrue(TransportCheck.isEpoll(context.getControlLoopGroup()));
+      assertNotSame(context.getBitLoopGroup(), context.getControlLoopGroup());
+    }
+    assertTrue(DrillMetrics.getRegistry().getGauges()
+        .containsKey(EventLoopMetrics.EVENT_LOOP_METRICS_PREFIX + "bit_control.pending_tasks"));
+  }
+
+  @Test
+  public void testDistributedQuery() throws Exception {
+    // the aggregation and the sort exchange record batches between the Drillbits
+    long lineCount = queryBuilder()
+        .sql("select sum(c) from (select l_linenumber, count(*) c from cp.`tpch/lineitem.parquet` " +
+            "group by l_linenumber order by l_linenumber)")
+        .singletonLong();
+    assertEquals(60175, lineCount);
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.rpc.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.proto.BitData.AckWithCredit;
+import org.apache.drill.exec.rpc.Acks;
+import org.apache.drill.exec.rpc.ByteCredit;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterFixtureBuilder;
+import org.apache.drill.test.ClusterTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests the byte based credit flow control of the record batches sent to the receivers.
+ */
+@Category(OperatorTest.class)
+public class TestByteCreditFlowControl extends ClusterTest {
+
+  private static final String QUERY = "select l_suppkey, count(*) as cnt, sum(l_quantity) as qty, " +
+      "max(l_comment) as cmt from cp.`tpch/lineitem.parquet` group by l_suppkey";
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    ClusterFixtureBuilder builder = ClusterFixture.builder(dirTestWatcher)
+        // a byte limit lower than a batch: the acks are all held back until the batches are consumed
+        .configProperty(ExecConstants.UNLIMITED_BUFFER_MAX_MEMORY_SIZE, 1024)
+        .sessionOption(ExecConstants.SLICE_TARGET, 1)
+        .maxParallelization(3);
+    startCluster(builder);
+  }
+
+  @Test
+  public void testUnlimitedUntilAdvertised() throws Exception {
+    ByteCredit credit = new ByteCredit();
+    credit.acquire(1 << 20);
+    credit.acquire(1 << 20);
+    assertEquals(2 << 20, credit.getInFlightBytes());
+    credit.setLimit(0);
+    assertEquals(Long.MAX_VALUE, credit.getLimit());
+  }
+
+  @Test
+  public void testBlockedOutOfCredit() throws Exception {
+    ByteCredit credit = new ByteCredit();
+    credit.setLimit(100);
+    // a batch larger than the credit is sent when nothing is in flight
+    credit.acquire(150);
+
+    CountDownLatch sent = new CountDownLatch(1);
+    Thread sender = new Thread(() -> {
+      try {
+        credit.acquire(10);
+        sent.countDown();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    sender.start();
+    assertFalse(sent.await(200, TimeUnit.MILLISECONDS));
+
+    credit.release(150);
+    assertTrue(sent.await(10, TimeUnit.SECONDS));
+    sender.join();
+    assertEquals(10, credit.getInFlightBytes());
+  }
+
+  @Test
+  public void testSmallestAdvisedBytes() {
+    List<AckWithCredit> acks = new ArrayList<>();
+    AckSender ackSender = new AckSender(response -> acks.add((AckWithCredit) response.pBody));
+    ackSender.increment();
+    ackSender.increment();
+    ackSender.increment();
+    ackSender.sendOk(0, 3000);
+    ackSender.sendOk();
+    assertTrue(acks.isEmpty());
+    ackSender.sendOk(0, 2000);
+    assertEquals(1, acks.size());
+    assertEquals(2000, acks.get(0).getAllowedBytes());
+
+    acks.clear();
+    ackSender = new AckSender(response -> acks.add((AckWithCredit) response.pBody));
+    ackSender.increment();
+    ackSender.sendOk();
+    assertFalse(acks.get(0).hasAllowedBytes());
+  }
+
+  @Test
+  public void testFailOnce() {
+    List<AckWithCredit> acks = new ArrayList<>();
+    AckSender ackSender = new AckSender(response -> acks.add((AckWithCredit) response.pBody));
+    // the receivers and two relays of a batch
+    ackSender.increment();
+    ackSender.increment();
+    ackSender.increment();
+    ackSender.sendFailOnce();
+    ackSender.sendFailOnce();
+    ackSender.sendOk();
+    assertEquals(1, acks.size());
+    assertEquals(Acks.FAIL_CREDIT, acks.get(0).getAllowedCredit());
+
+    // nor a failure once acked
+    acks.clear();
+    ackSender = new AckSender(response -> acks.add((AckWithCredit) response.pBody));
+    ackSender.increment();
+    ackSender.sendOk();
+    ackSender.sendFailOnce();
+    assertEquals(1, acks.size());
+    assertNotEquals(Acks.FAIL_CREDIT, acks.get(0).getAllowedCredit());
+  }
+
+  @Test
+  public void testByteCredit() throws Exception {
+    try {
+      client.compareWithBaseline(QUERY, ExecConstants.ENABLE_BYTE_CREDIT_BASED_FC, true, false);
+    } finally {
+      client.resetSession(ExecConstants.ENABLE_BYTE_CREDIT_BASED_FC);
+    }
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.rpc.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.physical.config.HashPartitionSender;
+import org.apache.drill.exec.physical.impl.partitionsender.PartitionSenderRootExec;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.exec.proto.BitData.FragmentRecordBatch;
+import org.apache.drill.exec.proto.BitData.RpcType;
+import org.apache.drill.exec.rpc.ResponseSender;
+import org.apache.drill.exec.rpc.RpcException;
+import org.apache.drill.exec.rpc.control.WorkEventBus;
+import org.apache.drill.exec.work.WorkManager.WorkerBee;
+import org.apache.drill.test.ClientFixture;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterFixtureBuilder;
+import org.apache.drill.test.ClusterTest;
+import org.apache.drill.test.QueryBuilder.QuerySummary;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import io.netty.buffer.Unpooled;
+
+/**
+ * Tests compressing the record batches sent to the other Drillbits.
+ */
+@Category(OperatorTest.class)
+public class TestDataCompression extends ClusterTest {
+
+  // the comments make bodies large enough to be compressed, and compressible
+  private static final String QUERY = "select l_orderkey, max(l_comment) as cmt " +
+      "from cp.`tpch/lineitem.parquet` group by l_orderkey";
+
+  @Test
+  public void testNegotiate() {
+    assertEquals(DataCompression.ZSTD, DataCompression.negotiate("ZSTD"));
+    assertEquals(DataCompression.SNAPPY, DataCompression.negotiate("snappy"));
+    assertEquals(DataCompression.NONE, DataCompression.negotiate(""));
+    assertEquals(DataCompression.NONE, DataCompression.negotiate("LZ4"));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testNoCodec() throws Exception {
+    DataCompression.NONE.decompress(ByteBuffer.allocateDirect(16), ByteBuffer.allocateDirect(16));
+  }
+
+  @Test
+  public void testCompressedBatchWithoutCompression() throws Exception {
+    WorkEventBus workBus = mock(WorkEventBus.class);
+    DataServerRequestHandler handler = new DataServerRequestHandler(workBus, mock(WorkerBee.class));
+    DataServerConnection connection = mock(DataServerConnection.class);
+    when(connection.getCompression()).thenReturn(DataCompression.NONE);
+    ResponseSender sender = mock(ResponseSender.class);
+    FragmentRecordBatch batch = FragmentRecordBatch.newBuilder()
+        .setReceivingMajorFragmentId(1)
+        .addReceivingMinorFragmentId(0)
+        .setUncompressedBodyLength(1024)
+        .build();
+    try {
+      handler.handle(connection, RpcType.REQ_RECORD_BATCH_VALUE,
+          Unpooled.wrappedBuffer(batch.toByteArray()), null, sender);
+      fail();
+    } catch (RpcException e) {
+      // a connection without compression never gets a compressed batch; nothing is handed over
+      assertTrue(e.getMessage().contains("without compression"));
+    }
+    verifyZeroInteractions(sender);
+  }
+
+  @Test
+  public void testSnappy() throws Exception {
+    testCompression("snappy");
+  }
+
+  @Test
+  public void testZstd() throws Exception {
+    testCompression("zstd");
+  }
+
+  @Test
+  public void testNone() throws Exception {
+    try (ClusterFixture cluster = clusterBuilder("none").build();
+         ClientFixture client = cluster.clientFixture()) {
+      long inputBytes = DataRpcMetrics.getInstance().getCompressionInputBytes();
+      QuerySummary summary = client.queryBuilder().sql(QUERY).run();
+      assertTrue(summary.recordCount() > 0);
+      // no codec offered in the handshake, so the batches cross the exchange as they are
+      assertEquals(inputBytes, DataRpcMetrics.getInstance().getCompressionInputBytes());
+      assertEquals(0, client.parseProfile(summary).getMetric(HashPartitionSender.OPERATOR_TYPE,
+          PartitionSenderRootExec.Metric.COMPRESSED_BYTES.ordinal()));
+    }
+  }
+
+  private void testCompression(String codec) throws Exception {
+    try (ClusterFixture cluster = clusterBuilder(codec).build();
+         ClientFixture client = cluster.clientFixture()) {
+      long inputBytes = DataRpcMetrics.getInstance().getCompressionInputBytes();
+      long outputBytes = DataRpcMetrics.getInstance().getCompressionOutputBytes();
+      QuerySummary summary = client.queryBuilder().sql(QUERY).run();
+      assertTrue(summary.recordCount() > 0);
+
+      // the codec was agreed to in the handshake and the bodies got smaller on the wire
+      inputBytes = DataRpcMetrics.getInstance().getCompressionInputBytes() - inputBytes;
+      outputBytes = DataRpcMetrics.getInstance().getCompressionOutputBytes() - outputBytes;
+      assertTrue(inputBytes > 0);
+      assertTrue(outputBytes < inputBytes);
+      long compressedBytes = client.parseProfile(summary).getMetric(HashPartitionSender.OPERATOR_TYPE,
+          PartitionSenderRootExec.Metric.COMPRESSED_BYTES.ordinal());
+      assertTrue(compressedBytes > 0);
+      assertTrue(compressedBytes <= outputBytes);
+
+      // as without exchanges
+      client.compareWithBaseline(QUERY, ExecConstants.SLICE_TARGET, 1, 100000);
+    }
+  }
+
+  private ClusterFixtureBuilder clusterBuilder(String codec) {
+    return ClusterFixture.builder(dirTestWatcher)
+        .clusterSize(2)
+        .configProperty(ExecConstants.BIT_DATA_COMPRESSION_CODEC, codec)
+        .configProperty(ExecConstants.BIT_DATA_COMPRESSION_THRESHOLD, 1024)
+        .sessionOption(ExecConstants.SLICE_TARGET, 1)
+        .sessionOption(PlannerSettings.MULTIPHASE.getOptionName(), false) // the rows cross the exchange
+        .maxParallelization(2)
+        .saveProfiles();
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.rpc.data;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterFixtureBuilder;
+import org.apache.drill.test.ClusterTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests handing the record batches to the fragments on the same Drillbit without the data server.
+ */
+@Category(OperatorTest.class)
+public class TestLocalDataExchange extends ClusterTest {
+
+  private static final String QUERY = "select l_suppkey, count(*) as cnt, sum(l_quantity) as qty " +
+      "from cp.`tpch/lineitem.parquet` group by l_suppkey";
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    ClusterFixtureBuilder builder = ClusterFixture.builder(dirTestWatcher)
+        .sessionOption(ExecConstants.SLICE_TARGET, 1)
+        .sessionOption(PlannerSettings.HASHAGG.getOptionName(), true)
+        .maxParallelization(4);
+    startCluster(builder);
+  }
+
+  @Test
+  public void testLocalExchange() throws Exception {
+    try {
+      long connections = DataRpcMetrics.getInstance().getUnEncryptedConnectionCount();
+      client.alterSession(ExecConstants.EXCHANGE_LOCAL_ENABLE_KEY, true);
+      assertEquals(100, client.queryBuilder().sql(QUERY).run().recordCount());
+      // all the fragments run on the single Drillbit, so no data connection was opened
+      assertEquals(connections, DataRpcMetrics.getInstance().getUnEncryptedConnectionCount());
+
+      // with the batches handed directly, as with the batches sent through the data server
+      client.compareWithBaseline(QUERY, ExecConstants.EXCHANGE_LOCAL_ENABLE_KEY, true, false);
+    } finally {
+      client.resetSession(ExecConstants.EXCHANGE_LOCAL_ENABLE_KEY);
+    }
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.rpc.data;
+
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Paths;
+
+import org.apache.drill.categories.OperatorTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.metrics.DrillMetrics;
+import org.apache.drill.exec.planner.physical.PlannerSettings;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Sends the runtime filters of a join over the connections kept apart from the
+ * record batches, and times them while they wait to be sent.
+ */
+@Category(OperatorTest.class)
+public class TestRuntimeFilterPriorityLane extends ClusterTest {
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    dirTestWatcher.copyResourceToRoot(Paths.get("tpchmulti"));
+    startCluster(ClusterFixture.builder(dirTestWatcher)
+        .configProperty(ExecConstants.BIT_DATA_PRIORITY_LANE, true)
+        .clusterSize(2)
+        .maxParallelization(1)
+        .systemOption(ExecConstants.SLICE_TARGET, 10)
+        // the filters of hash partitioned joins are merged by the foreman, and sent to the scans
+        .systemOption(PlannerSettings.BROADCAST.getOptionName(), false));
+  }
+
+  @Test
+  public void testRuntimeFilterDelivery() throws Exception {
+    String sql = "SELECT l.n_name, r.r_name FROM dfs.`tpchmulti/nation` l, dfs.`tpchmulti/region/` r where " +
+        "l.n_regionkey = r.r_regionkey";
+    long runtimeFilters = queueDelayCount(DataRpcMetrics.RUNTIME_FILTER_QUEUE_DELAY);
+    try {
+      client.alterSession(ExecConstants.HASHJOIN_RUNTIME_FILTER_WAITING_ENABLE_KEY, true);
+      client.compareWithBaseline(sql, ExecConstants.HASHJOIN_ENABLE_RUNTIME_FILTER_KEY, true, false);
+    } finally {
+      client.resetSession(ExecConstants.HASHJOIN_ENABLE_RUNTIME_FILTER_KEY);
+      client.resetSession(ExecConstants.HASHJOIN_RUNTIME_FILTER_WAITING_ENABLE_KEY);
+    }
+    assertTrue(queueDelayCount(DataRpcMetrics.RUNTIME_FILTER_QUEUE_DELAY) > runtimeFilters);
+  }
+
+  private static long queueDelayCount(String name) {
+    return DrillMetrics.getRegistry().timer(name).getCount();
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.parquet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.drill.categories.ParquetTest;
+import org.apache.drill.exec.ExecTest;
+import org.apache.drill.test.SubOperatorTest;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests the merge of the ranges of the column chunks read at once, and the streams over
+ * the column chunks read in memory.
+ */
+@Category(ParquetTest.class)
+public class TestColumnChunkRangeReader extends SubOperatorTest {
+
+  private static final int FILE_LENGTH = 2048;
+
+  private static FileSystem fs;
+  private static Path path;
+  private static ExecutorService executor;
+
+  @BeforeClass
+  public static void writeFile() throws IOException {
+    fs = ExecTest.getLocalFileSystem();
+    path = new Path(dirTestWatcher.getTmpDir().getAbsolutePath(), "row_group");
+    try (FSDataOutputStream out = fs.create(path)) {
+      for (int i = 0; i < FILE_LENGTH; i++) {
+        out.write(valueAt(i));
+      }
+    }
+    executor = Executors.newFixedThreadPool(2);
+  }
+
+  @AfterClass
+  public static void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testMergedRanges() throws IOException {
+    ColumnChunkMetaData a = columnChunk(100, 100);
+    ColumnChunkMetaData b = columnChunk(250, 50);
+    ColumnChunkMetaData c = columnChunk(1000, 100);
+    ParquetReaderStats stats = new ParquetReaderStats();
+    // a and b are read at once with the 50 bytes between them, c on its own
+    try (ColumnChunkRangeReader reader = new ColumnChunkRangeReader(fs, path, Arrays.asList(c, b, a), 100,
+        fixture.allocator(), executor, stats)) {
+      assertChunk(reader, a);
+      assertChunk(reader, b);
+      assertChunk(reader, c);
+    }
+    assertEquals(2, stats.numVectoredReads.get());
+    assertEquals(50, stats.totalVectoredReadBytesOverRead.get());
+  }
+
+  @Test
+  public void testSeek() throws IOException {
+    ColumnChunkMetaData a = columnChunk(100, 100);
+    try (ColumnChunkRangeReader reader = new ColumnChunkRangeReader(fs, path, Arrays.asList(a), 100,
+        fixture.allocator(), executor, new ParquetReaderStats());
+         FSDataInputStream in = reader.open(a)) {
+      in.seek(150);
+      assertEquals(150, in.getPos());
+      assertEquals(valueAt(150) & 0xFF, in.read());
+
+      // positioned reads leave the position as it is
+      byte[] bytes = new byte[10];
+      in.readFully(190, bytes);
+      for (int i = 0; i < bytes.length; i++) {
+        assertEquals(valueAt(190 + i), bytes[i]);
+      }
+      assertEquals(151, in.getPos());
+
+      try {
+        in.readFully(195, bytes);
+        fail();
+      } catch (EOFException e) {
+        // past the end of the column chunk
+      }
+      try {
+        in.seek(50);
+        fail();
+      } catch (EOFException e) {
+        // before the column chunk
+      }
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testNotPlanned() throws IOException {
+    try (ColumnChunkRangeReader reader = new ColumnChunkRangeReader(fs, path, Arrays.asList(columnChunk(100, 100)),
+        100, fixture.allocator(), executor, new ParquetReaderStats())) {
+      reader.open(columnChunk(300, 10));
+    }
+  }
+
+  private static void assertChunk(ColumnChunkRangeReader reader, ColumnChunkMetaData columnChunk) throws IOException {
+    try (FSDataInputStream in = reader.open(columnChunk)) {
+      long start = columnChunk.getStartingPos();
+      assertEquals(start, in.getPos());
+      byte[] bytes = new byte[(int) columnChunk.getTotalSize()];
+      in.readFully(bytes);
+      for (int i = 0; i < bytes.length; i++) {
+        assertEquals(valueAt(start + i), bytes[i]);
+      }
+      assertEquals(-1, in.read());
+    }
+  }
+
+  private static ColumnChunkMetaData columnChunk(long start, long size) {
+    ColumnChunkMetaData columnChunk = mock(ColumnChunkMetaData.class);
+    when(columnChunk.getStartingPos()).thenReturn(start);
+    when(columnChunk.getTotalSize()).thenReturn(size);
+    return columnChunk;
+  }
+
+  private static byte valueAt(long pos) {
+    return (byte) (pos * 7);
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.parquet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.drill.categories.ParquetTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.store.CommonParquetRecordReader;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterTest;
+import org.apache.drill.test.QueryBuilder;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Test the run-time pruning of the Parquet row groups by the bloom filters written for some of
+ * their columns. The results are compared with those of reading all the row groups.
+ */
+@Category(ParquetTest.class)
+public class TestParquetBloomFilter extends ClusterTest {
+
+  private static final String TABLE = "dfs.tmp.bloom_filter_lineitem";
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    startCluster(ClusterFixture.builder(dirTestWatcher)
+        .configProperty(ExecConstants.SYS_STORE_PROVIDER_LOCAL_ENABLE_WRITE, false)
+        .maxParallelization(1)
+        .saveProfiles());
+
+    // Many small row groups, each holding order keys from the whole range: min/max prune none of them
+    client.alterSession(ExecConstants.PARQUET_BLOCK_SIZE, 64 * 1024);
+    client.alterSession(ExecConstants.PARQUET_WRITER_BLOOM_FILTER_COLUMNS, "l_orderkey, L_COMMENT");
+    client.alterSession(ExecConstants.PARQUET_WRITER_BLOOM_FILTER_MAX_BYTES, 8 * 1024);
+    client.runSqlSilently(String.format("create table %s as select l_orderkey, l_partkey, l_comment " +
+        "from cp.`tpch/lineitem.parquet` order by l_partkey", TABLE));
+    client.resetSession(ExecConstants.PARQUET_BLOCK_SIZE);
+    client.resetSession(ExecConstants.PARQUET_WRITER_BLOOM_FILTER_COLUMNS);
+    client.resetSession(ExecConstants.PARQUET_WRITER_BLOOM_FILTER_MAX_BYTES);
+  }
+
+  @Test
+  public void testEquality() throws Exception {
+    String sql = String.format("select l_orderkey, l_partkey, l_comment from %s where l_orderkey = 5", TABLE);
+    assertTrue(runAndGetPruned(sql) > 0);
+    compareWithoutBloomFilter(sql);
+  }
+
+  @Test
+  public void testInList() throws Exception {
+    String sql = String.format("select l_orderkey, l_partkey from %s where l_orderkey in (7, 1000, 4711)", TABLE);
+    assertTrue(runAndGetPruned(sql) > 0);
+    compareWithoutBloomFilter(sql);
+  }
+
+  @Test
+  public void testString() throws Exception {
+    String sql = String.format("select l_orderkey, l_comment from %s " +
+        "where l_comment = 'carefully bold packages' and l_partkey > 0", TABLE);
+    QueryBuilder.QuerySummary summary = client.queryBuilder().sql(sql).run();
+    assertTrue(getPruned(summary) > 0);
+    compareWithoutBloomFilter(sql);
+  }
+
+  @Test
+  public void testColumnWithoutBloomFilter() throws Exception {
+    String sql = String.format("select l_orderkey from %s where l_partkey = 1000", TABLE);
+    assertEquals(0, runAndGetPruned(sql));
+  }
+
+  @Test
+  public void testDisabled() throws Exception {
+    client.alterSession(ExecConstants.PARQUET_BLOOM_FILTER_KEY, false);
+    try {
+      String sql = String.format("select l_orderkey from %s where l_orderkey = 5", TABLE);
+      assertEquals(0, runAndGetPruned(sql));
+    } finally {
+      client.resetSession(ExecConstants.PARQUET_BLOOM_FILTER_KEY);
+    }
+  }
+
+  private void compareWithoutBloomFilter(String sql) throws Exception {
+    client.compareWithBaseline(sql, ExecConstants.PARQUET_BLOOM_FILTER_KEY, true, false);
+  }
+
+  // Returns the number of row groups pruned by the bloom filters
+  private long runAndGetPruned(String sql) throws Exception {
+    QueryBuilder.QuerySummary summary = client.queryBuilder().sql(sql).run();
+    assertTrue(summary.recordCount() > 0);
+    return getPruned(summary);
+  }
+
+  private long getPruned(QueryBuilder.QuerySummary summary) throws Exception {
+    return client.parseProfile(summary).getMetric(ParquetRowGroupScan.OPERATOR_TYPE,
+        CommonParquetRecordReader.Metric.ROWGROUPS_PRUNED_BY_BLOOM_FILTER.ordinal());
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.parquet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.drill.categories.ParquetTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.store.CommonParquetRecordReader;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterTest;
+import org.apache.drill.test.QueryBuilder;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Test the flat Parquet reader decoding the filter columns first, then skipping the data pages
+ * of the other columns which hold no row matching the filter. The results are compared with
+ * those of reading all the pages.
+ */
+@Category(ParquetTest.class)
+public class TestParquetLateMaterialization extends ClusterTest {
+
+  private static final String TABLE = "dfs.tmp.late_materialization_lineitem";
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    startCluster(ClusterFixture.builder(dirTestWatcher)
+        .sessionOption(ExecConstants.PARQUET_LATE_MATERIALIZATION_KEY, true)
+        .configProperty(ExecConstants.SYS_STORE_PROVIDER_LOCAL_ENABLE_WRITE, false)
+        .maxParallelization(1)
+        .saveProfiles());
+
+    // A single row group of many small pages, the order keys spread over all of them
+    client.alterSession(ExecConstants.PARQUET_PAGE_SIZE, 2 * 1024);
+    client.runSqlSilently(String.format("create table %s as select l_orderkey, l_partkey, l_linenumber, " +
+        "l_shipdate, l_comment from cp.`tpch/lineitem.parquet` order by l_partkey", TABLE));
+    client.resetSession(ExecConstants.PARQUET_PAGE_SIZE);
+  }
+
+  @Test
+  public void testEquality() throws Exception {
+    String sql = String.format("select l_orderkey, l_linenumber, l_comment from %s where l_orderkey = 5", TABLE);
+    assertTrue(runAndGetSkipped(sql) > 0);
+    compareWithoutLateMaterialization(sql);
+  }
+
+  @Test
+  public void testExpression() throws Exception {
+    String sql = String.format("select * from %s where mod(l_orderkey, 997) = 1 and l_linenumber < 3", TABLE);
+    assertTrue(runAndGetSkipped(sql) > 0);
+    compareWithoutLateMaterialization(sql);
+  }
+
+  @Test
+  public void testWithPageIndex() throws Exception {
+    client.alterSession(ExecConstants.PARQUET_PAGE_INDEX_FILTER_KEY, true);
+    try {
+      String sql = String.format("select l_orderkey, l_comment from %s where l_partkey between 100 and 150 " +
+          "and l_orderkey in (5, 32, 4711, 5988)", TABLE);
+      assertTrue(runAndGetSkipped(sql) > 0);
+      compareWithoutLateMaterialization(sql);
+    } finally {
+      client.resetSession(ExecConstants.PARQUET_PAGE_INDEX_FILTER_KEY);
+    }
+  }
+
+  @Test
+  public void testNoMatchingRow() throws Exception {
+    String sql = String.format("select l_comment from %s where l_orderkey = 8", TABLE);
+    QueryBuilder.QuerySummary summary = client.queryBuilder().sql(sql).run();
+    assertEquals(0, summary.recordCount());
+    assertEquals(1, getMetric(summary, CommonParquetRecordReader.Metric.ROWGROUPS_PRUNED));
+    assertEquals(1, getMetric(summary, CommonParquetRecordReader.Metric.NUM_LATE_MATERIALIZED_ROWGROUPS));
+    assertTrue(getMetric(summary, CommonParquetRecordReader.Metric.TIME_FILTER_COLUMNS_READ) > 0);
+  }
+
+  @Test
+  public void testFilterColumnsOnly() throws Exception {
+    String sql = String.format("select l_orderkey from %s where l_orderkey = 5", TABLE);
+    QueryBuilder.QuerySummary summary = client.queryBuilder().sql(sql).run();
+    assertTrue(summary.recordCount() > 0);
+    assertEquals(0, getMetric(summary, CommonParquetRecordReader.Metric.NUM_LATE_MATERIALIZED_ROWGROUPS));
+    assertEquals(0, getMetric(summary, CommonParquetRecordReader.Metric.NUM_DATA_PAGES_SKIPPED));
+  }
+
+  @Test
+  public void testWideFilterColumns() throws Exception {
+    // the comments take more room than the line numbers: the row group is read at once
+    String sql = String.format("select l_linenumber from %s where l_comment >= 'y'", TABLE);
+    QueryBuilder.QuerySummary summary = client.queryBuilder().sql(sql).run();
+    assertTrue(summary.recordCount() > 0);
+    assertEquals(0, getMetric(summary, CommonParquetRecordReader.Metric.NUM_LATE_MATERIALIZED_ROWGROUPS));
+    assertEquals(0, getMetric(summary, CommonParquetRecordReader.Metric.NUM_DATA_PAGES_SKIPPED));
+  }
+
+  @Test
+  public void testDisabled() throws Exception {
+    client.alterSession(ExecConstants.PARQUET_LATE_MATERIALIZATION_KEY, false);
+    try {
+      String sql = String.format("select l_comment from %s where l_orderkey = 5", TABLE);
+      assertEquals(0, runAndGetSkipped(sql));
+    } finally {
+      client.alterSession(ExecConstants.PARQUET_LATE_MATERIALIZATION_KEY, true);
+    }
+  }
+
+  private void compareWithoutLateMaterialization(String sql) throws Exception {
+    client.compareWithBaseline(sql, ExecConstants.PARQUET_LATE_MATERIALIZATION_KEY, true, false);
+  }
+
+  // Returns the number of data pages skipped by the Parquet scans
+  private long runAndGetSkipped(String sql) throws Exception {
+    QueryBuilder.QuerySummary summary = client.queryBuilder().sql(sql).run();
+    assertTrue(summary.recordCount() > 0);
+    return getMetric(summary, CommonParquetRecordReader.Metric.NUM_DATA_PAGES_SKIPPED);
+  }
+
+  private long getMetric(QueryBuilder.QuerySummary summary, CommonParquetRecordReader.Metric metric) throws Exception {
+    return client.parseProfile(summary).getMetric(ParquetRowGroupScan.OPERATOR_TYPE, metric.ordinal());
+  }
+}
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.parquet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.drill.categories.ParquetTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.expr.stat.RowsMatch;
+import org.apache.drill.exec.store.CommonParquetRecordReader;
+import org.apache.drill.exec.store.parquet.metadata.Metadata;
+import org.apache.drill.exec.store.parquet.metadata.Metadata_V4;
+import org.apache.drill.shaded.guava.com.google.common.collect.Range;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterTest;
+import org.apache.drill.test.QueryBuilder;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.internal.column.columnindex.OffsetIndex;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Test the flat Parquet reader skipping the data pages which, according to the column indexes,
+ * hold no row matching the filter. The results are compared with those of reading all the pages.
+ */
+@Category(ParquetTest.class)
+public class TestParquetPageIndexFilter extends ClusterTest {
+
+  private static final String TABLE = "dfs.tmp.page_index_lineitem";
+  // two nullable columns, of narrow and wide values: their pages start at different rows
+  private static final String NULLS_TABLE = "dfs.tmp.page_index_nulls";
+  private static final List<String> NULLS_FILTER_COLUMNS = Arrays.asList("l_nullable_line", "l_nullable_comment");
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    startCluster(ClusterFixture.builder(dirTestWatcher)
+        .sessionOption(ExecConstants.PARQUET_PAGE_INDEX_FILTER_KEY, true)
+        .configProperty(ExecConstants.SYS_STORE_PROVIDER_LOCAL_ENABLE_WRITE, false)
+        .maxParallelization(1)
+        .saveProfiles());
+
+    // A single row group of many small pages, each holding a range of the order keys
+    client.alterSession(ExecConstants.PARQUET_PAGE_SIZE, 2 * 1024);
+    client.runSqlSilently(String.format("create table %s as select l_orderkey, l_linenumber, l_comment, " +
+        "case when mod(l_partkey, 5) = 0 then null else l_shipmode end l_shipmode " +
+        "from cp.`tpch/lineitem.parquet` order by l_orderkey", TABLE));
+    client.runSqlSilently(String.format("create table %s as select l_orderkey, " +
+        "case when mod(l_orderkey, 3) = 0 then null else l_linenumber end l_nullable_line, " +
+        "case when mod(l_partkey, 4) = 0 then null else l_comment end l_nullable_comment " +
+        "from cp.`tpch/lineitem.parquet` order by l_orderkey", NULLS_TABLE));
+    client.resetSession(ExecConstants.PARQUET_PAGE_SIZE);
+  }
+
+  @Test
+  public void testRange() throws Exception {
+    String sql = String.format("select l_orderkey, l_linenumber, l_comment from %s " +
+        "where l_orderkey between 1000 and 1200", TABLE);
+    assertTrue(runAndGetSkipped(sql) > 0);
+    compareWithoutPageIndex(sql);
+  }
+
+  @Test
+  public void testSyncPageReader() throws Exception {
+    client.alterSession(ExecConstants.PARQUET_PAGEREADER_ASYNC, false);
+    try {
+      String sql = String.format("select l_orderkey, l_shipmode from %s where l_orderkey < 300 or l_orderkey > 5900", TABLE);
+      assertTrue(runAndGetSkipped(sql) > 0);
+      compareWithoutPageIndex(sql);
+    } finally {
+      client.resetSession(ExecConstants.PARQUET_PAGEREADER_ASYNC);
+    }
+  }
+
+  @Test
+  public void testSeveralFilterColumns() throws Exception {
+    String sql = String.format("select * from %s " +
+        "where l_orderkey > 3000 and l_orderkey < 3500 and l_linenumber = 2 and l_shipmode is not null", TABLE);
+    assertTrue(runAndGetSkipped(sql) > 0);
+    compareWithoutPageIndex(sql);
+  }
+
+  @Test
+  public void testMisalignedNullablePages() throws Exception {
+    // a segment of a page with nulls may hold any number of them: it is kept
+    String sql = String.format("select * from %s " +
+        "where l_nullable_line is not null and l_nullable_comment is not null", NULLS_TABLE);
+    runAndGetSkipped(sql);
+    compareWithoutPageIndex(sql);
+
+    sql = String.format("select * from %s where l_nullable_line is null and l_nullable_comment is null", NULLS_TABLE);
+    runAndGetSkipped(sql);
+    compareWithoutPageIndex(sql);
+  }
+
+  @Test
+  public void testSelect() throws Exception {
+    Path file = new Path(dirTestWatcher.getDfsTestTmpDir().getAbsolutePath(), "page_index_nulls/0_0_0.parquet");
+    try (ParquetFileReader reader = ParquetFileReader.open(HadoopInputFile.fromPath(file, new Configuration()))) {
+      BlockMetaData rowGroup = reader.getFooter().getBlocks().get(0);
+      AtomicInteger segments = new AtomicInteger();
+      AtomicInteger unknownNulls = new AtomicInteger();
+      PageSelection selection = PageSelection.select(reader, rowGroup,
+          column -> NULLS_FILTER_COLUMNS.contains(column.getPath().toDotString()),
+          column -> true,
+          (columns, rowCount) -> {
+            assertEquals(NULLS_FILTER_COLUMNS.size(), columns.size());
+            for (Metadata_V4.ColumnMetadata_v4 column : columns) {
+              long nulls = column.getNulls();
+              assertTrue(nulls == Metadata.NULL_COUNT_NOT_EXISTS || nulls <= rowCount);
+              if (nulls == Metadata.NULL_COUNT_NOT_EXISTS) {
+                unknownNulls.incrementAndGet();
+              }
+            }
+            // only the first segment may match
+            return segments.getAndIncrement() == 0 ? RowsMatch.SOME : RowsMatch.NONE;
+          });
+
+      // the pages of the columns are not aligned: some segments are parts of pages with nulls
+      assertTrue(segments.get() > 1);
+      assertTrue(unknownNulls.get() > 0);
+
+      assertNotNull(selection);
+      assertTrue(selection.getRowCount() > 0);
+      assertTrue(selection.getRowCount() < rowGroup.getRowCount());
+      assertEquals(0L, (long) selection.getRows().span().lowerEndpoint());
+      // whole pages of every column, each reading the same rows
+      for (ColumnChunkMetaData column : rowGroup.getColumns()) {
+        OffsetIndex offsetIndex = selection.getOffsetIndex(column.getPath());
+        for (int page = 0; page < offsetIndex.getPageCount(); page++) {
+          Range<Long> pageRows = Range.closedOpen(offsetIndex.getFirstRowIndex(page),
+              offsetIndex.getLastRowIndex(page, rowGroup.getRowCount()) + 1);
+          assertEquals(selection.isSelected(offsetIndex, page), selection.getRows().encloses(pageRows));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testDisabled() throws Exception {
+    client.alterSession(ExecConstants.PARQUET_PAGE_INDEX_FILTER_KEY, false);
+    try {
+      String sql = String.format("select l_orderkey from %s where l_orderkey between 1000 and 1200", TABLE);
+      assertEquals(0, runAndGetSkipped(sql));
+    } finally {
+      client.alterSession(ExecConstants.PARQUET_PAGE_INDEX_FILTER_KEY, true);
+    }
+  }
+
+  private void compareWithoutPageIndex(String sql) throws Exception {
+    client.compareWithBaseline(sql, ExecConstants.PARQUET_PAGE_INDEX_FILTER_KEY, true, false);
+  }
+
+  // Returns the number of data pages skipped by the Parquet scans
+  private long runAndGetSkipped(String sql) throws Exception {
+    QueryBuilder.QuerySummary summary = client.queryBuilder().sql(sql).run();
+    assertTrue(summary.recordCount() > 0);
+    return client.parseProfile(summary).getMetric(ParquetRowGroupScan.OPERATOR_TYPE,
+        CommonParquetRecordReader.Metric.NUM_DATA_PAGES_SKIPPED.ordinal());
+  }
+}
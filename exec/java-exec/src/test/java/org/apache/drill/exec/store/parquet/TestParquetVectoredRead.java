@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.parquet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.drill.categories.ParquetTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.store.CommonParquetRecordReader.Metric;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterTest;
+import org.apache.drill.test.QueryBuilder;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Test the flat Parquet reader reading the column chunks of the row groups with merged,
+ * parallel range reads. The results are compared with those of reading each column chunk
+ * with its own stream.
+ */
+@Category(ParquetTest.class)
+public class TestParquetVectoredRead extends ClusterTest {
+
+  private static final String TABLE = "dfs.tmp.vectored_read_lineitem";
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    startCluster(ClusterFixture.builder(dirTestWatcher)
+        .sessionOption(ExecConstants.PARQUET_VECTORED_READ_KEY, true)
+        .configProperty(ExecConstants.SYS_STORE_PROVIDER_LOCAL_ENABLE_WRITE, false)
+        .maxParallelization(1)
+        .saveProfiles());
+
+    // A single row group, l_linenumber lying between l_orderkey and l_comment
+    client.runSqlSilently(String.format("create table %s as select l_orderkey, l_linenumber, l_comment, " +
+        "case when mod(l_partkey, 5) = 0 then null else l_shipmode end l_shipmode " +
+        "from cp.`tpch/lineitem.parquet`", TABLE));
+  }
+
+  @Test
+  public void testMergedRead() throws Exception {
+    String sql = String.format("select l_orderkey, l_comment from %s", TABLE);
+    QueryBuilder.QuerySummary summary = run(sql);
+    assertEquals(1, getMetric(summary, Metric.NUM_VECTORED_READS));
+    // the chunk of l_linenumber is read along
+    assertTrue(getMetric(summary, Metric.VECTORED_READ_BYTES_OVER_READ) > 0);
+    compareWithoutVectoredRead(sql);
+  }
+
+  @Test
+  public void testNoGap() throws Exception {
+    client.alterSession(ExecConstants.PARQUET_VECTORED_READ_MAX_GAP_KEY, 0);
+    try {
+      String sql = String.format("select l_orderkey, l_comment from %s", TABLE);
+      QueryBuilder.QuerySummary summary = run(sql);
+      assertEquals(2, getMetric(summary, Metric.NUM_VECTORED_READS));
+      assertEquals(0, getMetric(summary, Metric.VECTORED_READ_BYTES_OVER_READ));
+      compareWithoutVectoredRead(sql);
+    } finally {
+      client.resetSession(ExecConstants.PARQUET_VECTORED_READ_MAX_GAP_KEY);
+    }
+  }
+
+  @Test
+  public void testAllColumns() throws Exception {
+    String sql = String.format("select * from %s", TABLE);
+    QueryBuilder.QuerySummary summary = run(sql);
+    assertEquals(1, getMetric(summary, Metric.NUM_VECTORED_READS));
+    assertEquals(0, getMetric(summary, Metric.VECTORED_READ_BYTES_OVER_READ));
+    compareWithoutVectoredRead(sql);
+  }
+
+  @Test
+  public void testSyncPageReader() throws Exception {
+    client.alterSession(ExecConstants.PARQUET_PAGEREADER_ASYNC, false);
+    client.alterSession(ExecConstants.PARQUET_PAGEREADER_USE_BUFFERED_READ, false);
+    try {
+      String sql = String.format("select l_orderkey, l_comment from %s where l_linenumber = 3", TABLE);
+      assertEquals(1, getMetric(run(sql), Metric.NUM_VECTORED_READS));
+      compareWithoutVectoredRead(sql);
+    } finally {
+      client.resetSession(ExecConstants.PARQUET_PAGEREADER_ASYNC);
+      client.resetSession(ExecConstants.PARQUET_PAGEREADER_USE_BUFFERED_READ);
+    }
+  }
+
+  @Test
+  public void testDisabled() throws Exception {
+    client.alterSession(ExecConstants.PARQUET_VECTORED_READ_KEY, false);
+    try {
+      String sql = String.format("select l_orderkey, l_comment from %s", TABLE);
+      assertEquals(0, getMetric(run(sql), Metric.NUM_VECTORED_READS));
+    } finally {
+      client.alterSession(ExecConstants.PARQUET_VECTORED_READ_KEY, true);
+    }
+  }
+
+  private void compareWithoutVectoredRead(String sql) throws Exception {
+    client.compareWithBaseline(sql, ExecConstants.PARQUET_VECTORED_READ_KEY, true, false);
+  }
+
+  private QueryBuilder.QuerySummary run(String sql) throws Exception {
+    QueryBuilder.QuerySummary summary = client.queryBuilder().sql(sql).run();
+    assertTrue(summary.recordCount() > 0);
+    return summary;
+  }
+
+  // Returns the sum of the given metric over the Parquet scans
+  private long getMetric(QueryBuilder.QuerySummary summary, Metric metric) throws Exception {
+    return client.parseProfile(summary).getMetric(ParquetRowGroupScan.OPERATOR_TYPE, metric.ordinal());
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.parquet2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Collections;
+
+import org.apache.drill.categories.ParquetTest;
+import org.apache.drill.common.types.TypeProtos.MinorType;
+import org.apache.drill.common.types.Types;
+import org.apache.drill.exec.record.MaterializedField;
+import org.apache.drill.exec.store.parquet2.NestedColumnReader.NullableValueWriter;
+import org.apache.drill.exec.store.parquet2.NestedColumnReader.RepeatedLevel;
+import org.apache.drill.exec.vector.NullableIntVector;
+import org.apache.drill.exec.vector.UInt4Vector;
+import org.apache.drill.exec.vector.complex.RepeatedMapVector;
+import org.apache.drill.test.SubOperatorTest;
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.bytes.HeapByteBufferAllocator;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.DataPageV2;
+import org.apache.parquet.column.page.PageReader;
+import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridEncoder;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Tests the walk of the repetition and definition levels of a column nested in a repeated
+ * group, over the batches of records.
+ */
+@Category(ParquetTest.class)
+public class TestNestedColumnReader extends SubOperatorTest {
+
+  private static final MessageType SCHEMA = MessageTypeParser.parseMessageType(
+      "message m { repeated group items { optional int32 price; } }");
+  private static final String[] ITEMS = {"items"};
+  private static final String[] PRICE = {"items", "price"};
+
+  @Test
+  public void testLevels() throws IOException {
+    // [{1}, {null}], [], [{3}]
+    PageReader pageReader = pageReader(new int[] {0, 1, 0, 0}, new int[] {2, 1, 0, 2}, 1, 3);
+    try (RepeatedMapVector items = new RepeatedMapVector(
+        MaterializedField.create("items", RepeatedMapVector.TYPE), fixture.allocator(), null)) {
+      NestedColumnReader reader = reader(items, pageReader);
+
+      assertEquals(3, reader.readRecords(10));
+      assertOffsets(items.getOffsetVector(), 0, 2, 2, 3);
+      assertPrices(items, 1, null, 3);
+
+      assertEquals(0, reader.readRecords(10));
+    }
+  }
+
+  @Test
+  public void testBatches() throws IOException {
+    PageReader pageReader = pageReader(new int[] {0, 1, 0, 0}, new int[] {2, 1, 0, 2}, 1, 3);
+    try (RepeatedMapVector items = new RepeatedMapVector(
+        MaterializedField.create("items", RepeatedMapVector.TYPE), fixture.allocator(), null)) {
+      NestedColumnReader reader = reader(items, pageReader);
+
+      // the batch ends before the first entry of the next record
+      assertEquals(2, reader.readRecords(2));
+      assertOffsets(items.getOffsetVector(), 0, 2, 2);
+      assertPrices(items, 1, null);
+
+      assertEquals(1, reader.readRecords(2));
+      assertOffsets(items.getOffsetVector(), 0, 1);
+      assertPrices(items, 3);
+    }
+  }
+
+  private static NestedColumnReader reader(RepeatedMapVector items, PageReader pageReader) throws IOException {
+    items.allocateNew(4, 4);
+    NullableIntVector price = items.addOrGet("price", Types.optional(MinorType.INT), NullableIntVector.class);
+    price.allocateNew(4);
+    NullableIntVector.Mutator mutator = price.getMutator();
+    RepeatedLevel level = new RepeatedLevel(items, SCHEMA.getMaxDefinitionLevel(ITEMS));
+    return new NestedColumnReader(SCHEMA.getColumnDescription(PRICE), pageReader,
+        Collections.singletonList(level),
+        new NullableValueWriter((reader, index) -> mutator.setSafe(index, reader.readInteger()), mutator::setNull),
+        null);
+  }
+
+  private static void assertOffsets(UInt4Vector offsets, int... expected) {
+    assertEquals(expected.length, offsets.getAccessor().getValueCount());
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i], offsets.getAccessor().get(i));
+    }
+  }
+
+  private static void assertPrices(RepeatedMapVector items, Integer... expected) {
+    NullableIntVector price = (NullableIntVector) items.getChild("price");
+    price.getMutator().setValueCount(expected.length);
+    for (int i = 0; i < expected.length; i++) {
+      if (expected[i] == null) {
+        assertTrue(price.getAccessor().isNull(i));
+      } else {
+        assertFalse(price.getAccessor().isNull(i));
+        assertEquals(expected[i].intValue(), price.getAccessor().get(i));
+      }
+    }
+  }
+
+  /**
+   * @return a reader of a single V2 data page of the price column, with the given levels and
+   * non null values
+   */
+  private static PageReader pageReader(int[] repetitionLevels, int[] definitionLevels, int... values)
+      throws IOException {
+    ColumnDescriptor descriptor = SCHEMA.getColumnDescription(PRICE);
+    ByteBuffer data = ByteBuffer.allocate(values.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    for (int value : values) {
+      data.putInt(value);
+    }
+    int rowCount = 0;
+    for (int repetitionLevel : repetitionLevels) {
+      rowCount += repetitionLevel == 0 ? 1 : 0;
+    }
+    DataPageV2 page = DataPageV2.uncompressed(rowCount, repetitionLevels.length - values.length,
+        repetitionLevels.length,
+        levels(repetitionLevels, descriptor.getMaxRepetitionLevel()),
+        levels(definitionLevels, descriptor.getMaxDefinitionLevel()),
+        Encoding.PLAIN, BytesInput.from(data.array()), null);
+    PageReader pageReader = mock(PageReader.class);
+    when(pageReader.readDictionaryPage()).thenReturn(null);
+    when(pageReader.readPage()).thenReturn(page, (DataPageV2) null);
+    return pageReader;
+  }
+
+  private static BytesInput levels(int[] levels, int maxLevel) throws IOException {
+    RunLengthBitPackingHybridEncoder encoder = new RunLengthBitPackingHybridEncoder(
+        32 - Integer.numberOfLeadingZeros(maxLevel), 64, 1024, new HeapByteBufferAllocator());
+    for (int level : levels) {
+      encoder.writeInt(level);
+    }
+    return BytesInput.copy(encoder.toBytes());
+  }
+}
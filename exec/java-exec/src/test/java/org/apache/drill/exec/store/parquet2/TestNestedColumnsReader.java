@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.store.parquet2;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.nio.file.Paths;
+
+import org.apache.drill.categories.ParquetTest;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.physical.rowSet.DirectRowSet;
+import org.apache.drill.exec.record.BatchSchema;
+import org.apache.drill.test.ClusterFixture;
+import org.apache.drill.test.ClusterTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+/**
+ * Test the batch at a time reader of nested Parquet columns. The results are compared with those
+ * of the record at a time reader.
+ */
+@Category(ParquetTest.class)
+public class TestNestedColumnsReader extends ClusterTest {
+
+  private static final String TABLE = "dfs.tmp.nested_batch_reader";
+
+  @BeforeClass
+  public static void setup() throws Exception {
+    startCluster(ClusterFixture.builder(dirTestWatcher)
+        .sessionOption(ExecConstants.PARQUET_NESTED_BATCH_READER_KEY, true)
+        .sessionOption(ExecConstants.PARQUET_NEW_RECORD_READER, true));
+
+    // Records with nulls, empty and nested arrays, spread over many small pages
+    File dir = new File(dirTestWatcher.getRootDir(), "nested_batch_reader");
+    dir.mkdirs();
+    try (PrintWriter writer = new PrintWriter(new File(dir, "data.json"))) {
+      for (int i = 0; i < 10_000; i++) {
+        StringBuilder items = new StringBuilder();
+        for (int j = 0; j < (i + 1) % 4; j++) {
+          items.append(j == 0 ? "" : ",")
+              .append(String.format("{\"id\": %d, \"tags\": [%s], \"price\": %s}",
+                  j, j % 2 == 0 ? "\"a\", \"b\"" : "", i % 5 == 1 ? "null" : i * 1.5));
+        }
+        writer.println(String.format("{\"id\": %d, \"name\": %s, \"scores\": [%s], " +
+                "\"info\": {\"code\": %s, \"flag\": %b}, \"items\": [%s]}",
+            i, i % 7 == 3 ? "null" : "\"name" + i + "\"", i % 3 == 1 ? "" : i + ", " + (i + 1),
+            i % 11 == 5 ? "null" : i % 100, i % 2 == 0, items));
+      }
+    }
+    client.alterSession(ExecConstants.PARQUET_PAGE_SIZE, 4 * 1024);
+    client.runSqlSilently(String.format("create table %s as select * from dfs.`%s`", TABLE,
+        Paths.get("nested_batch_reader", "data.json")));
+    client.resetSession(ExecConstants.PARQUET_PAGE_SIZE);
+  }
+
+  @Test
+  public void testRepeatedTypes() throws Exception {
+    compareWithRecordReader(String.format("select * from %s", TABLE));
+  }
+
+  @Test
+  public void testNestedProjection() throws Exception {
+    compareWithRecordReader(String.format("select id, t.info.code as code, t.items[1].tags as tags from %s t", TABLE));
+  }
+
+  @Test
+  public void testSmallBatches() throws Exception {
+    client.alterSession(ExecConstants.PARQUET_COMPLEX_BATCH_NUM_RECORDS, 7);
+    try {
+      compareWithRecordReader(String.format("select id, scores, items from %s", TABLE));
+    } finally {
+      client.resetSession(ExecConstants.PARQUET_COMPLEX_BATCH_NUM_RECORDS);
+    }
+  }
+
+  @Test
+  public void testLimit() throws Exception {
+    compareWithRecordReader(String.format("select items from %s limit 1234", TABLE));
+  }
+
+  @Test
+  public void testLogicalMap() throws Exception {
+    compareWithRecordReader("select * from cp.`store/parquet/complex/simple_map.parquet`");
+    compareWithRecordReader("select id, mapcol, mapcol4 from cp.`store/parquet/complex/map/parquet/000000_0.parquet`");
+  }
+
+  @Test
+  public void testLogicalList() throws Exception {
+    compareWithRecordReader("select * from cp.`store/parquet/complex/repeated_struct.parquet`");
+    compareWithRecordReader("select * from cp.`parquet2/hive_arrays_p.parquet`");
+  }
+
+  @Test
+  public void testUnsupportedProjection() throws Exception {
+    // dicts of lists are read a record at a time
+    compareWithRecordReader("select id, mapcol5 from cp.`store/parquet/complex/map/parquet/000000_0.parquet`");
+  }
+
+  private void compareWithRecordReader(String sql) throws Exception {
+    client.compareWithBaseline(sql, ExecConstants.PARQUET_NESTED_BATCH_READER_KEY, true, false);
+    // the vectors are those of the record materializer, down to the modes of the children of the maps and dicts
+    BatchSchema expected = getSchema(sql, false);
+    BatchSchema actual = getSchema(sql, true);
+    assertTrue(String.format("Expected schema %s, found %s", expected, actual), expected.isEquivalent(actual));
+  }
+
+  private BatchSchema getSchema(String sql, boolean batchReader) throws Exception {
+    client.alterSession(ExecConstants.PARQUET_NESTED_BATCH_READER_KEY, batchReader);
+    try {
+      DirectRowSet rowSet = client.queryBuilder().sql(sql).rowSet();
+      try {
+        return rowSet.batchSchema();
+      } finally {
+        rowSet.clear();
+      }
+    } finally {
+      client.alterSession(ExecConstants.PARQUET_NESTED_BATCH_READER_KEY, true);
+    }
+  }
+}
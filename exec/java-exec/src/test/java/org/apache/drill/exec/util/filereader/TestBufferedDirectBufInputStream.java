@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.util.filereader;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+
+import org.apache.drill.exec.ExecTest;
+import org.apache.drill.test.SubOperatorTest;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.netty.buffer.DrillBuf;
+
+/**
+ * Tests the position of a buffered stream over a column chunk, as the Parquet page readers
+ * use it to count the bytes of the page headers and to skip pages, across refills of its buffer.
+ */
+public class TestBufferedDirectBufInputStream extends SubOperatorTest {
+
+  private static final int FILE_LENGTH = 4096;
+  private static final long START = 100;
+  private static final int BUFFER_SIZE = 64;
+
+  private static FileSystem fs;
+  private static Path path;
+
+  @BeforeClass
+  public static void writeFile() throws IOException {
+    fs = ExecTest.getLocalFileSystem();
+    path = new Path(dirTestWatcher.getTmpDir().getAbsolutePath(), "chunk");
+    try (FSDataOutputStream out = fs.create(path)) {
+      for (int i = 0; i < FILE_LENGTH; i++) {
+        out.write(valueAt(i));
+      }
+    }
+  }
+
+  @Test
+  public void testPositionAcrossRefills() throws IOException {
+    BufferedDirectBufInputStream in = open();
+    DrillBuf buf = fixture.allocator().buffer(256);
+    try {
+      assertEquals(START, in.getPos());
+      read(in, buf, 10, START);
+      assertEquals(START + 10, in.getPos());
+      // several buffers
+      read(in, buf, 200, START + 10);
+      assertEquals(START + 210, in.getPos());
+    } finally {
+      buf.release();
+      in.close();
+    }
+  }
+
+  @Test
+  public void testSkip() throws IOException {
+    BufferedDirectBufInputStream in = open();
+    DrillBuf buf = fixture.allocator().buffer(256);
+    try {
+      read(in, buf, 10, START);
+      // the rest of the buffer is skipped, then the stream seeks past the other bytes
+      long toSkip = 500;
+      while (toSkip > 0) {
+        toSkip -= in.skip(toSkip);
+      }
+      assertEquals(START + 510, in.getPos());
+      read(in, buf, 100, START + 510);
+      assertEquals(START + 610, in.getPos());
+    } finally {
+      buf.release();
+      in.close();
+    }
+  }
+
+  private static BufferedDirectBufInputStream open() throws IOException {
+    BufferedDirectBufInputStream in = new BufferedDirectBufInputStream(fs.open(path), fixture.allocator(),
+        "chunk", START, 2000, BUFFER_SIZE, true, false);
+    in.init();
+    return in;
+  }
+
+  private static void read(BufferedDirectBufInputStream in, DrillBuf buf, int length, long pos)
+      throws IOException {
+    buf.clear();
+    assertEquals(length, in.read(buf, 0, length));
+    for (int i = 0; i < length; i++) {
+      assertEquals(valueAt(pos + i), buf.getByte(i));
+    }
+  }
+
+  private static byte valueAt(long pos) {
+    return (byte) (pos * 7);
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.drill.exec.work.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.netty.buffer.DrillBuf;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.drill.common.config.DrillConfig;
+import org.apache.drill.exec.ExecConstants;
+import org.apache.drill.exec.memory.BufferAllocator;
+import org.apache.drill.exec.memory.RootAllocatorFactory;
+import org.apache.drill.exec.ops.FragmentContext;
+import org.apache.drill.exec.proto.BitData.FragmentRecordBatch;
+import org.apache.drill.exec.proto.ExecProtos.FragmentHandle;
+import org.apache.drill.exec.proto.UserBitShared.QueryId;
+import org.apache.drill.exec.proto.UserBitShared.RecordBatchDef;
+import org.apache.drill.exec.record.RawFragmentBatch;
+import org.apache.drill.exec.rpc.data.AckSender;
+import org.apache.drill.test.BaseDirTestWatcher;
+import org.apache.drill.test.BaseTest;
+import org.apache.drill.test.ConfigBuilder;
+import org.junit.Rule;
+import org.junit.Test;
+
+/**
+ * Tests the incoming batches spooled by the {@link SpoolingRawBatchBuffer}, and read back in order.
+ */
+public class TestSpoolingRawBatchBuffer extends BaseTest {
+
+  private static final int OPPOSITE_ID = 2;
+  private static final int BATCH_COUNT = 20;
+  private static final int BODY_LENGTH = 1000;
+
+  @Rule
+  public final BaseDirTestWatcher dirTestWatcher = new BaseDirTestWatcher();
+
+  @Test
+  public void testMappedSpool() throws Exception {
+    testSpooling(true, 1.0);
+  }
+
+  @Test
+  public void testFileSystemSpool() throws Exception {
+    testSpooling(false, 1.0);
+  }
+
+  @Test
+  public void testEarlySpooling() throws Exception {
+    // the batches spooled are acked before written
+    testSpooling(true, 0.5);
+  }
+
+  private void testSpooling(boolean mapped, double startFraction) throws Exception {
+    File spoolDir = dirTestWatcher.getTmpDir();
+    DrillConfig config = new ConfigBuilder()
+        .put(ExecConstants.SPOOLING_BUFFER_MEMORY, 4 * BODY_LENGTH)
+        .put(ExecConstants.SPOOLING_BUFFER_MAPPED, mapped)
+        // a couple of batches per segment
+        .put(ExecConstants.SPOOLING_BUFFER_SEGMENT_SIZE, 2 * BODY_LENGTH + 200)
+        .put(ExecConstants.SPOOLING_BUFFER_START_FRACTION, startFraction)
+        .put(ExecConstants.TEMP_DIRECTORIES, Collections.singletonList(spoolDir.getAbsolutePath()))
+        .put(ExecConstants.TEMP_FILESYSTEM, "drill-local:///")
+        .build();
+
+    try (BufferAllocator allocator = RootAllocatorFactory.newRoot(config)) {
+      FragmentContext context = mock(FragmentContext.class);
+      FragmentContext.ExecutorState executorState = mock(FragmentContext.ExecutorState.class);
+      when(executorState.shouldContinue()).thenReturn(true);
+      when(context.getConfig()).thenReturn(config);
+      when(context.getAllocator()).thenReturn(allocator);
+      when(context.getExecutorState()).thenReturn(executorState);
+      when(context.getHandle()).thenReturn(FragmentHandle.newBuilder()
+          .setQueryId(QueryId.newBuilder().setPart1(1).setPart2(2))
+          .setMajorFragmentId(1)
+          .setMinorFragmentId(0)
+          .build());
+      when(context.getNewChildAllocator(anyString(), anyInt(), anyLong(), anyLong()))
+          .thenAnswer(invocation -> allocator.newChildAllocator(invocation.getArgument(0),
+              invocation.getArgument(2), invocation.getArgument(3)));
+
+      SpoolingRawBatchBuffer buffer = new SpoolingRawBatchBuffer(context, 1, OPPOSITE_ID, 0, false);
+      AtomicInteger acks = new AtomicInteger();
+      for (int i = 0; i < BATCH_COUNT; i++) {
+        buffer.enqueue(newBatch(allocator, i, acks));
+      }
+
+      for (int i = 0; i < BATCH_COUNT; i++) {
+        RawFragmentBatch batch = buffer.getNext();
+        assertEquals(i, batch.getHeader().getDef().getRecordCount());
+        DrillBuf body = batch.getBody();
+        assertTrue(body.capacity() >= BODY_LENGTH);
+        for (int j = 0; j < BODY_LENGTH; j++) {
+          assertEquals((byte) (i + j), body.getByte(j));
+        }
+        assertTrue(batch.isAckSent());
+        body.release();
+      }
+      assertEquals(BATCH_COUNT, acks.get());
+      assertNull(buffer.getNext());
+      buffer.close();
+    }
+  }
+
+  private static RawFragmentBatch newBatch(BufferAllocator allocator, int index, AtomicInteger acks) {
+    FragmentRecordBatch header = FragmentRecordBatch.newBuilder()
+        .setSendingMajorFragmentId(OPPOSITE_ID)
+        .setDef(RecordBatchDef.newBuilder().setRecordCount(index))
+        .setIsLastBatch(index == BATCH_COUNT - 1)
+        .build();
+    DrillBuf body = allocator.buffer(BODY_LENGTH);
+    for (int j = 0; j < BODY_LENGTH; j++) {
+      body.setByte(j, index + j);
+    }
+    body.writerIndex(BODY_LENGTH);
+    AckSender sender = new AckSender(null) {
+      @Override
+      public void sendOk(int credit, long allowedBytes) {
+        acks.incrementAndGet();
+      }
+    };
+    RawFragmentBatch batch = new RawFragmentBatch(header, body, sender);
+    // the batch holds its own reference
+    body.release();
+    return batch;
+  }
+}
@@ -179,6 +179,43 @@ public class ClientFixture implements AutoCloseable {
     return new TestBuilder(new FixtureTestServices(this));
   }
 
+  /**
+   * Checks that a query returns the same rows, in any order, with a session option set to
+   * the given value as with the option set to the baseline value. Useful to verify that an
+   * optimization controlled by the option leaves the results unchanged. The session is left
+   * with the option set to the given value.
+   *
+   * @param sql the query to run
+   * @param key the name of the session option
+   * @param value the value of the option for the tested query
+   * @param baselineValue the value of the option for the baseline query
+   */
+  public void compareWithBaseline(String sql, String key, Object value, Object baselineValue) throws Exception {
+    compareWithBaseline(testBuilder().unOrdered(), sql, key, value, baselineValue);
+  }
+
+  /**
+   * As {@link #compareWithBaseline(String, String, Object, Object)}, the rows being
+   * also returned in the same order.
+   */
+  public void compareOrderedWithBaseline(String sql, String key, Object value, Object baselineValue) throws Exception {
+    compareWithBaseline(testBuilder().ordered(), sql, key, value, baselineValue);
+  }
+
+  private void compareWithBaseline(TestBuilder builder, String sql, String key, Object value,
+      Object baselineValue) throws Exception {
+    try {
+      builder
+          .optionSettingQueriesForTestQuery("ALTER SESSION SET `%s` = %s", key, ClusterFixture.stringify(value))
+          .sqlQuery(sql)
+          .optionSettingQueriesForBaseline("ALTER SESSION SET `%s` = %s", key, ClusterFixture.stringify(baselineValue))
+          .sqlBaselineQuery(sql)
+          .go();
+    } finally {
+      alterSession(key, value);
+    }
+  }
+
   /**
    * Run zero or more queries and output the results in TSV format.
    *
@@ -74,6 +74,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 
 public class PhysicalOpUnitTestBase extends ExecTest {
@@ -281,6 +282,11 @@ public class PhysicalOpUnitTestBase extends ExecTest {
       return null;
     }
 
+    @Override
+    public ForkJoinPool getColumnScatterPool() {
+      throw new UnsupportedOperationException();
+    }
+
     @Override
     public FragmentStats getStats() {
       return null;
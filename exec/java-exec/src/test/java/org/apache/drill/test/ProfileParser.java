@@ -753,6 +753,20 @@ public class ProfileParser {
     return ops;
   }
 
+  /**
+   * Returns the sum of a metric over all the minor fragments of the operators of the
+   * given type. Fails if the query ran no operator of that type.
+   */
+  public long getMetric(String type, int id) {
+    List<OperatorProfile> ops = getOpsOfType(type);
+    Preconditions.checkState(!ops.isEmpty(), "No operator of type %s in the profile", type);
+    long value = 0;
+    for (OperatorProfile op : ops) {
+      value += op.getMetric(id);
+    }
+    return value;
+  }
+
   public List<OperatorSummary> getOpDefsOfType(String type) {
     return new FindOpVisitor().find(type, topoOrder.get(0));
   }
@@ -30,6 +30,7 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
@@ -90,7 +91,7 @@ public abstract class BasicClient<T extends EnumLite, CC extends ClientConnectio
 
     b = new Bootstrap() //
         .group(eventLoopGroup) //
-        .channel(TransportCheck.getClientSocketChannel()) //
+        .channel(TransportCheck.getClientSocketChannel(eventLoopGroup)) //
         .option(ChannelOption.ALLOCATOR, alloc) //
         .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 30 * 1000)
         .option(ChannelOption.SO_REUSEADDR, true)
@@ -126,9 +127,9 @@ public abstract class BasicClient<T extends EnumLite, CC extends ClientConnectio
           }
         }); //
 
-    // if(TransportCheck.SUPPORTS_EPOLL){
-    // b.option(EpollChannelOption.SO_REUSEPORT, true); //
-    // }
+    if (TransportCheck.isEpoll(eventLoopGroup) && TransportCheck.getBusyPollMicros() > 0) {
+      b.option(EpollChannelOption.SO_BUSY_POLL, TransportCheck.getBusyPollMicros());
+    }
   }
 
   // Adds a SSL handler if enabled. Required only for client and server communications, so
@@ -27,7 +27,9 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.unix.Errors;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 
 import java.io.IOException;
@@ -63,15 +65,16 @@ public abstract class BasicServer<T extends EnumLite, SC extends ServerConnectio
     this.eventLoopGroup = eventLoopGroup;
 
     b = new ServerBootstrap()
-        .channel(TransportCheck.getServerSocketChannel())
+        .channel(TransportCheck.getServerSocketChannel(eventLoopGroup))
         .option(ChannelOption.SO_BACKLOG, 1000)
         .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 30*1000)
-        .option(ChannelOption.TCP_NODELAY, true)
         .option(ChannelOption.SO_REUSEADDR, true)
         .option(ChannelOption.SO_RCVBUF, 1 << 17)
         .option(ChannelOption.SO_SNDBUF, 1 << 17)
         .group(eventLoopGroup) //
         .childOption(ChannelOption.ALLOCATOR, alloc)
+        // the accepted sockets, not the listening one, carry the messages
+        .childOption(ChannelOption.TCP_NODELAY, true)
 
         // .handler(new LoggingHandler(LogLevel.INFO))
 
@@ -106,9 +109,9 @@ public abstract class BasicServer<T extends EnumLite, SC extends ServerConnectio
           }
         });
 
-//     if(TransportCheck.SUPPORTS_EPOLL){
-//       b.option(EpollChannelOption.SO_REUSEPORT, true); //
-//     }
+    if (TransportCheck.isEpoll(eventLoopGroup) && TransportCheck.getBusyPollMicros() > 0) {
+      b.childOption(EpollChannelOption.SO_BUSY_POLL, TransportCheck.getBusyPollMicros());
+    }
   }
 
   // Adds a SSL handler if enabled. Required only for client and server communications, so
@@ -196,10 +199,7 @@ public abstract class BasicServer<T extends EnumLite, SC extends ServerConnectio
         b.bind(++port).sync();
         break;
       } catch (Exception e) {
-        // TODO(DRILL-3026):  Revisit:  Exception is not (always) BindException.
-        // One case is "java.io.IOException: bind() failed: Address already in
-        // use".
-        if (e instanceof BindException && allowPortHunting) {
+        if (isAddressInUse(e) && allowPortHunting) {
           continue;
         }
 
@@ -218,6 +218,13 @@ public abstract class BasicServer<T extends EnumLite, SC extends ServerConnectio
     return port;
   }
 
+  // DRILL-3026: the native transport fails with an IOException ("bind(..) failed:
+  // Address already in use"), not a BindException
+  private static boolean isAddressInUse(Exception e) {
+    return e instanceof BindException
+        || e instanceof Errors.NativeIoException && String.valueOf(e.getMessage()).contains("Address already in use");
+  }
+
   @Override
   public void close() throws IOException {
     try {
@@ -102,6 +102,9 @@ public abstract class RpcBus<T extends EnumLite, C extends RemoteConnection> imp
 
     ByteBuf pBuffer = null;
     boolean completed = false;
+    // the wait for the channel to drain counts in the delay
+    final boolean queueDelayRecorded = isQueueDelayRecorded(rpcType);
+    final long start = queueDelayRecorded ? System.nanoTime() : 0;
 
     try {
 
@@ -119,6 +122,13 @@ public abstract class RpcBus<T extends EnumLite, C extends RemoteConnection> imp
       ChannelFuture channelFuture = connection.getChannel().writeAndFlush(m);
       channelFuture.addListener(futureListener);
       channelFuture.addListener(ChannelFutureListener.FIRE_EXCEPTION_ON_FAILURE);
+      if (queueDelayRecorded) {
+        channelFuture.addListener((ChannelFutureListener) future -> {
+          if (future.isSuccess()) {
+            recordQueueDelay(rpcType, System.nanoTime() - start);
+          }
+        });
+      }
       completed = true;
     } catch (Exception | AssertionError e) {
       listener.failed(new RpcException("Failure sending message.", e));
@@ -138,6 +148,25 @@ public abstract class RpcBus<T extends EnumLite, C extends RemoteConnection> imp
     }
   }
 
+  /**
+   * @return true if the time the requests of the type wait to be written to the
+   *         channel, once sent, is reported to {@link #recordQueueDelay(EnumLite, long)}:
+   *         for the latency critical ones
+   */
+  protected boolean isQueueDelayRecorded(T rpcType) {
+    return false;
+  }
+
+  /**
+   * Reports the time a request waited to be written to the channel: blocked while the
+   * channel was not writable, and queued behind the messages sent before it.
+   *
+   * @param rpcType type of the request
+   * @param nanos time from the send to the end of the write
+   */
+  protected void recordQueueDelay(T rpcType, long nanos) {
+  }
+
   protected abstract C initRemoteConnection(SocketChannel channel);
 
   public class ChannelClosedHandler implements GenericFutureListener<ChannelFuture> {
@@ -18,6 +18,7 @@
 package org.apache.drill.exec.rpc;
 
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.epoll.EpollSocketChannel;
@@ -27,20 +28,35 @@ import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import org.apache.drill.exec.util.SystemPropertyUtil;
+import org.apache.drill.shaded.guava.com.google.common.annotations.VisibleForTesting;
 
 import java.util.Locale;
 
 
 /**
  * TransportCheck decides whether or not to use the native EPOLL mechanism for communication.
+ * <p>
+ * Epoll is used if enabled by the {@value #USE_LINUX_EPOLL} system property on Linux, and
+ * if the native library of Netty loads: otherwise Drill falls back to NIO. The channels
+ * are chosen by the type of their event loop group, so that the groups created before
+ * the transport is switched (in tests) keep working.
  */
 public class TransportCheck {
   static final org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(TransportCheck.class);
 
   private static final String USE_LINUX_EPOLL = "drill.exec.enable-epoll";
 
+  // microseconds the epoll sockets busy poll the device queue for data on blocking
+  // reads (SO_BUSY_POLL), 0 to disable. Needs CAP_NET_ADMIN to be raised above
+  // the net.core.busy_read sysctl.
+  private static final String EPOLL_BUSY_POLL_MICROS = "drill.exec.epoll.busy-poll-micros";
+
   public static final boolean SUPPORTS_EPOLL;
 
+  private static final int BUSY_POLL_MICROS;
+
+  private static volatile boolean useEpoll;
+
   static{
 
     String name = SystemPropertyUtil.get("os.name").toLowerCase(Locale.US).trim();
@@ -48,30 +64,77 @@ public class TransportCheck {
     // Epoll is disabled by default (see distribution/src/resources/drill-env.sh) due to
     // https://github.com/netty/netty/issues/3539
     if (name.startsWith("linux") && SystemPropertyUtil.getBoolean(USE_LINUX_EPOLL, false)) {
-      SUPPORTS_EPOLL = true;
+      if (Epoll.isAvailable()) {
+        SUPPORTS_EPOLL = true;
+      } else {
+        logger.warn("The native epoll transport is not available, using NIO.", Epoll.unavailabilityCause());
+        SUPPORTS_EPOLL = false;
+      }
     } else {
       SUPPORTS_EPOLL = false;
     }
+    useEpoll = SUPPORTS_EPOLL;
+    BUSY_POLL_MICROS = SystemPropertyUtil.getInt(EPOLL_BUSY_POLL_MICROS, 0);
+  }
+
+  /**
+   * @return true if the event loop groups created from now on use epoll
+   */
+  public static boolean isEpollEnabled() {
+    return useEpoll;
+  }
+
+  /**
+   * Switches the transport of the event loop groups created from now on.
+   *
+   * @return true if epoll is used, false if disabled or not available
+   */
+  @VisibleForTesting
+  public static boolean setEpollEnabled(boolean enabled) {
+    useEpoll = enabled && Epoll.isAvailable();
+    return useEpoll;
+  }
+
+  /**
+   * @return true if the channels of the event loop group use epoll
+   */
+  public static boolean isEpoll(EventLoopGroup eventLoopGroup) {
+    return eventLoopGroup instanceof EpollEventLoopGroup;
+  }
+
+  /**
+   * @return the microseconds the epoll sockets busy poll for data, 0 if they do not
+   */
+  public static int getBusyPollMicros() {
+    return BUSY_POLL_MICROS;
   }
 
   public static Class<? extends ServerSocketChannel> getServerSocketChannel(){
-    if(SUPPORTS_EPOLL){
+    if(useEpoll){
       return EpollServerSocketChannel.class;
     }else{
       return NioServerSocketChannel.class;
     }
   }
 
+  public static Class<? extends ServerSocketChannel> getServerSocketChannel(EventLoopGroup eventLoopGroup) {
+    return isEpoll(eventLoopGroup) ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+  }
+
   public static Class<? extends SocketChannel> getClientSocketChannel(){
-    if(SUPPORTS_EPOLL){
+    if(useEpoll){
       return EpollSocketChannel.class;
     }else{
       return NioSocketChannel.class;
     }
   }
 
+  public static Class<? extends SocketChannel> getClientSocketChannel(EventLoopGroup eventLoopGroup) {
+    return isEpoll(eventLoopGroup) ? EpollSocketChannel.class : NioSocketChannel.class;
+  }
+
   public static EventLoopGroup createEventLoopGroup(int nThreads, String prefix) {
-     if(SUPPORTS_EPOLL){
+     if(useEpoll){
        return new EpollEventLoopGroup(nThreads, new NamedThreadFactory(prefix));
      }else{
        return new NioEventLoopGroup(nThreads, new NamedThreadFactory(prefix));
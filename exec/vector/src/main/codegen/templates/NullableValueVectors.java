@@ -154,6 +154,11 @@ public final class ${className} extends BaseDataValueVector implements <#if type
     return ((VariableWidthVector) values).getOffsetVector();
   }
 
+  @Override
+  public void loadValues(SerializedField valuesField, DrillBuf offsetsBuffer, DrillBuf dataBuffer) {
+    values.loadValues(valuesField, offsetsBuffer, dataBuffer);
+  }
+
   </#if>
   @Override
   public void setInitialCapacity(int numRecords) {
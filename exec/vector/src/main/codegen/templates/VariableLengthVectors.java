@@ -159,6 +159,15 @@ public final class ${minor.class}Vector extends BaseDataValueVector implements V
     data.retain();
   }
 
+  @Override
+  public void loadValues(SerializedField valuesField, DrillBuf offsetsBuffer, DrillBuf dataBuffer) {
+    SerializedField offsetField = valuesField.getChild(0);
+    offsetVector.load(offsetField, offsetsBuffer);
+
+    data = dataBuffer.slice(0, valuesField.getBufferLength() - offsetField.getBufferLength());
+    data.retain();
+  }
+
   @Override
   public void clear() {
     super.clear();
@@ -19,8 +19,11 @@ package org.apache.drill.exec.vector;
 
 import org.apache.drill.common.types.TypeProtos.MinorType;
 import org.apache.drill.common.types.Types;
+import org.apache.drill.exec.proto.UserBitShared.SerializedField;
 import org.apache.drill.exec.record.MaterializedField;
 
+import io.netty.buffer.DrillBuf;
+
 public interface VariableWidthVector extends ValueVector {
 
   int DEFAULT_RECORD_BYTE_COUNT = 8;
@@ -58,4 +61,13 @@ public interface VariableWidthVector extends ValueVector {
   int getCurrentSizeInBytes();
 
   UInt4Vector getOffsetVector();
+
+  /**
+   * Loads the values of the vector from its offsets and its data, each in a buffer of its
+   * own, as they are in the buffers of a batch handed over by a fragment of the same Drillbit.
+   *
+   * @param valuesField the metadata of the values: of the vector itself, or of the values
+   *          vector of a nullable vector
+   */
+  void loadValues(SerializedField valuesField, DrillBuf offsetsBuffer, DrillBuf dataBuffer);
 }
@@ -229,6 +229,23 @@ public final class BitData {
      * @return The channel.
      */
     org.apache.drill.exec.proto.UserBitShared.RpcChannel getChannel();
+
+    /**
+     * <code>optional string compression_codec = 3;</code>
+     * @return Whether the compressionCodec field is set.
+     */
+    boolean hasCompressionCodec();
+    /**
+     * <code>optional string compression_codec = 3;</code>
+     * @return The compressionCodec.
+     */
+    java.lang.String getCompressionCodec();
+    /**
+     * <code>optional string compression_codec = 3;</code>
+     * @return The bytes for compressionCodec.
+     */
+    com.google.protobuf.ByteString
+        getCompressionCodecBytes();
   }
   /**
    * Protobuf type {@code exec.bit.data.BitClientHandshake}
@@ -244,6 +261,7 @@ public final class BitData {
     }
     private BitClientHandshake() {
       channel_ = 1;
+      compressionCodec_ = "";
     }
 
     @java.lang.Override
@@ -294,6 +312,12 @@ public final class BitData {
               }
               break;
             }
+            case 26: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000004;
+              compressionCodec_ = bs;
+              break;
+            }
             default: {
               if (!parseUnknownField(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -363,6 +387,51 @@ public final class BitData {
       return result == null ? org.apache.drill.exec.proto.UserBitShared.RpcChannel.BIT_DATA : result;
     }
 
+    public static final int COMPRESSION_CODEC_FIELD_NUMBER = 3;
+    private volatile java.lang.Object compressionCodec_;
+    /**
+     * <code>optional string compression_codec = 3;</code>
+     * @return Whether the compressionCodec field is set.
+     */
+    public boolean hasCompressionCodec() {
+      return ((bitField0_ & 0x00000004) != 0);
+    }
+    /**
+     * <code>optional string compression_codec = 3;</code>
+     * @return The compressionCodec.
+     */
+    public java.lang.String getCompressionCodec() {
+      java.lang.Object ref = compressionCodec_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          compressionCodec_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string compression_codec = 3;</code>
+     * @return The bytes for compressionCodec.
+     */
+    public com.google.protobuf.ByteString
+        getCompressionCodecBytes() {
+      java.lang.Object ref = compressionCodec_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        compressionCodec_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -383,6 +452,9 @@ public final class BitData {
       if (((bitField0_ & 0x00000002) != 0)) {
         output.writeEnum(2, channel_);
       }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 3, compressionCodec_);
+      }
       unknownFields.writeTo(output);
     }
 
@@ -400,6 +472,9 @@ public final class BitData {
         size += com.google.protobuf.CodedOutputStream
           .computeEnumSize(2, channel_);
       }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, compressionCodec_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -424,6 +499,11 @@ public final class BitData {
       if (hasChannel()) {
         if (channel_ != other.channel_) return false;
       }
+      if (hasCompressionCodec() != other.hasCompressionCodec()) return false;
+      if (hasCompressionCodec()) {
+        if (!getCompressionCodec()
+            .equals(other.getCompressionCodec())) return false;
+      }
       if (!unknownFields.equals(other.unknownFields)) return false;
       return true;
     }
@@ -443,6 +523,10 @@ public final class BitData {
         hash = (37 * hash) + CHANNEL_FIELD_NUMBER;
         hash = (53 * hash) + channel_;
       }
+      if (hasCompressionCodec()) {
+        hash = (37 * hash) + COMPRESSION_CODEC_FIELD_NUMBER;
+        hash = (53 * hash) + getCompressionCodec().hashCode();
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -580,6 +664,8 @@ public final class BitData {
         bitField0_ = (bitField0_ & ~0x00000001);
         channel_ = 1;
         bitField0_ = (bitField0_ & ~0x00000002);
+        compressionCodec_ = "";
+        bitField0_ = (bitField0_ & ~0x00000004);
         return this;
       }
 
@@ -616,6 +702,10 @@ public final class BitData {
           to_bitField0_ |= 0x00000002;
         }
         result.channel_ = channel_;
+        if (((from_bitField0_ & 0x00000004) != 0)) {
+          to_bitField0_ |= 0x00000004;
+        }
+        result.compressionCodec_ = compressionCodec_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -671,6 +761,11 @@ public final class BitData {
         if (other.hasChannel()) {
           setChannel(other.getChannel());
         }
+        if (other.hasCompressionCodec()) {
+          bitField0_ |= 0x00000004;
+          compressionCodec_ = other.compressionCodec_;
+          onChanged();
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -779,6 +874,89 @@ public final class BitData {
         onChanged();
         return this;
       }
+      private java.lang.Object compressionCodec_ = "";
+      /**
+       * <code>optional string compression_codec = 3;</code>
+       * @return Whether the compressionCodec field is set.
+       */
+      public boolean hasCompressionCodec() {
+        return ((bitField0_ & 0x00000004) != 0);
+      }
+      /**
+       * <code>optional string compression_codec = 3;</code>
+       * @return The compressionCodec.
+       */
+      public java.lang.String getCompressionCodec() {
+        java.lang.Object ref = compressionCodec_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            compressionCodec_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string compression_codec = 3;</code>
+       * @return The bytes for compressionCodec.
+       */
+      public com.google.protobuf.ByteString
+          getCompressionCodecBytes() {
+        java.lang.Object ref = compressionCodec_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          compressionCodec_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string compression_codec = 3;</code>
+       * @param value The compressionCodec to set.
+       * @return This builder for chaining.
+       */
+      public Builder setCompressionCodec(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        compressionCodec_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string compression_codec = 3;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearCompressionCodec() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        compressionCodec_ = getDefaultInstance().getCompressionCodec();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string compression_codec = 3;</code>
+       * @param value The bytes for compressionCodec to set.
+       * @return This builder for chaining.
+       */
+      public Builder setCompressionCodecBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        compressionCodec_ = value;
+        onChanged();
+        return this;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -871,6 +1049,34 @@ public final class BitData {
      */
     com.google.protobuf.ByteString
         getAuthenticationMechanismsBytes(int index);
+
+    /**
+     * <code>optional string compression_codec = 3;</code>
+     * @return Whether the compressionCodec field is set.
+     */
+    boolean hasCompressionCodec();
+    /**
+     * <code>optional string compression_codec = 3;</code>
+     * @return The compressionCodec.
+     */
+    java.lang.String getCompressionCodec();
+    /**
+     * <code>optional string compression_codec = 3;</code>
+     * @return The bytes for compressionCodec.
+     */
+    com.google.protobuf.ByteString
+        getCompressionCodecBytes();
+
+    /**
+     * <code>optional bool coalesced_batches = 4;</code>
+     * @return Whether the coalescedBatches field is set.
+     */
+    boolean hasCoalescedBatches();
+    /**
+     * <code>optional bool coalesced_batches = 4;</code>
+     * @return The coalescedBatches.
+     */
+    boolean getCoalescedBatches();
   }
   /**
    * Protobuf type {@code exec.bit.data.BitServerHandshake}
@@ -886,6 +1092,7 @@ public final class BitData {
     }
     private BitServerHandshake() {
       authenticationMechanisms_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      compressionCodec_ = "";
     }
 
     @java.lang.Override
@@ -933,6 +1140,17 @@ public final class BitData {
               authenticationMechanisms_.add(bs);
               break;
             }
+            case 26: {
+              com.google.protobuf.ByteString bs = input.readBytes();
+              bitField0_ |= 0x00000002;
+              compressionCodec_ = bs;
+              break;
+            }
+            case 32: {
+              bitField0_ |= 0x00000004;
+              coalescedBatches_ = input.readBool();
+              break;
+            }
             default: {
               if (!parseUnknownField(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -1021,6 +1239,68 @@ public final class BitData {
       return authenticationMechanisms_.getByteString(index);
     }
 
+    public static final int COMPRESSION_CODEC_FIELD_NUMBER = 3;
+    private volatile java.lang.Object compressionCodec_;
+    /**
+     * <code>optional string compression_codec = 3;</code>
+     * @return Whether the compressionCodec field is set.
+     */
+    public boolean hasCompressionCodec() {
+      return ((bitField0_ & 0x00000002) != 0);
+    }
+    /**
+     * <code>optional string compression_codec = 3;</code>
+     * @return The compressionCodec.
+     */
+    public java.lang.String getCompressionCodec() {
+      java.lang.Object ref = compressionCodec_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          compressionCodec_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>optional string compression_codec = 3;</code>
+     * @return The bytes for compressionCodec.
+     */
+    public com.google.protobuf.ByteString
+        getCompressionCodecBytes() {
+      java.lang.Object ref = compressionCodec_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        compressionCodec_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    public static final int COALESCED_BATCHES_FIELD_NUMBER = 4;
+    private boolean coalescedBatches_;
+    /**
+     * <code>optional bool coalesced_batches = 4;</code>
+     * @return Whether the coalescedBatches field is set.
+     */
+    public boolean hasCoalescedBatches() {
+      return ((bitField0_ & 0x00000004) != 0);
+    }
+    /**
+     * <code>optional bool coalesced_batches = 4;</code>
+     * @return The coalescedBatches.
+     */
+    public boolean getCoalescedBatches() {
+      return coalescedBatches_;
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -1041,6 +1321,12 @@ public final class BitData {
       for (int i = 0; i < authenticationMechanisms_.size(); i++) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 2, authenticationMechanisms_.getRaw(i));
       }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 3, compressionCodec_);
+      }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        output.writeBool(4, coalescedBatches_);
+      }
       unknownFields.writeTo(output);
     }
 
@@ -1062,6 +1348,13 @@ public final class BitData {
         size += dataSize;
         size += 1 * getAuthenticationMechanismsList().size();
       }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(3, compressionCodec_);
+      }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(4, coalescedBatches_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -1084,6 +1377,16 @@ public final class BitData {
       }
       if (!getAuthenticationMechanismsList()
           .equals(other.getAuthenticationMechanismsList())) return false;
+      if (hasCompressionCodec() != other.hasCompressionCodec()) return false;
+      if (hasCompressionCodec()) {
+        if (!getCompressionCodec()
+            .equals(other.getCompressionCodec())) return false;
+      }
+      if (hasCoalescedBatches() != other.hasCoalescedBatches()) return false;
+      if (hasCoalescedBatches()) {
+        if (getCoalescedBatches()
+            != other.getCoalescedBatches()) return false;
+      }
       if (!unknownFields.equals(other.unknownFields)) return false;
       return true;
     }
@@ -1103,6 +1406,15 @@ public final class BitData {
         hash = (37 * hash) + AUTHENTICATIONMECHANISMS_FIELD_NUMBER;
         hash = (53 * hash) + getAuthenticationMechanismsList().hashCode();
       }
+      if (hasCompressionCodec()) {
+        hash = (37 * hash) + COMPRESSION_CODEC_FIELD_NUMBER;
+        hash = (53 * hash) + getCompressionCodec().hashCode();
+      }
+      if (hasCoalescedBatches()) {
+        hash = (37 * hash) + COALESCED_BATCHES_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+            getCoalescedBatches());
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -1240,6 +1552,10 @@ public final class BitData {
         bitField0_ = (bitField0_ & ~0x00000001);
         authenticationMechanisms_ = com.google.protobuf.LazyStringArrayList.EMPTY;
         bitField0_ = (bitField0_ & ~0x00000002);
+        compressionCodec_ = "";
+        bitField0_ = (bitField0_ & ~0x00000004);
+        coalescedBatches_ = false;
+        bitField0_ = (bitField0_ & ~0x00000008);
         return this;
       }
 
@@ -1277,6 +1593,14 @@ public final class BitData {
           bitField0_ = (bitField0_ & ~0x00000002);
         }
         result.authenticationMechanisms_ = authenticationMechanisms_;
+        if (((from_bitField0_ & 0x00000004) != 0)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.compressionCodec_ = compressionCodec_;
+        if (((from_bitField0_ & 0x00000008) != 0)) {
+          result.coalescedBatches_ = coalescedBatches_;
+          to_bitField0_ |= 0x00000004;
+        }
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -1339,6 +1663,14 @@ public final class BitData {
           }
           onChanged();
         }
+        if (other.hasCompressionCodec()) {
+          bitField0_ |= 0x00000004;
+          compressionCodec_ = other.compressionCodec_;
+          onChanged();
+        }
+        if (other.hasCoalescedBatches()) {
+          setCoalescedBatches(other.getCoalescedBatches());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -1514,6 +1846,126 @@ public final class BitData {
         onChanged();
         return this;
       }
+      private java.lang.Object compressionCodec_ = "";
+      /**
+       * <code>optional string compression_codec = 3;</code>
+       * @return Whether the compressionCodec field is set.
+       */
+      public boolean hasCompressionCodec() {
+        return ((bitField0_ & 0x00000004) != 0);
+      }
+      /**
+       * <code>optional string compression_codec = 3;</code>
+       * @return The compressionCodec.
+       */
+      public java.lang.String getCompressionCodec() {
+        java.lang.Object ref = compressionCodec_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          if (bs.isValidUtf8()) {
+            compressionCodec_ = s;
+          }
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string compression_codec = 3;</code>
+       * @return The bytes for compressionCodec.
+       */
+      public com.google.protobuf.ByteString
+          getCompressionCodecBytes() {
+        java.lang.Object ref = compressionCodec_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          compressionCodec_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string compression_codec = 3;</code>
+       * @param value The compressionCodec to set.
+       * @return This builder for chaining.
+       */
+      public Builder setCompressionCodec(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        compressionCodec_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string compression_codec = 3;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearCompressionCodec() {
+        bitField0_ = (bitField0_ & ~0x00000004);
+        compressionCodec_ = getDefaultInstance().getCompressionCodec();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string compression_codec = 3;</code>
+       * @param value The bytes for compressionCodec to set.
+       * @return This builder for chaining.
+       */
+      public Builder setCompressionCodecBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000004;
+        compressionCodec_ = value;
+        onChanged();
+        return this;
+      }
+
+      private boolean coalescedBatches_ ;
+      /**
+       * <code>optional bool coalesced_batches = 4;</code>
+       * @return Whether the coalescedBatches field is set.
+       */
+      public boolean hasCoalescedBatches() {
+        return ((bitField0_ & 0x00000008) != 0);
+      }
+      /**
+       * <code>optional bool coalesced_batches = 4;</code>
+       * @return The coalescedBatches.
+       */
+      public boolean getCoalescedBatches() {
+        return coalescedBatches_;
+      }
+      /**
+       * <code>optional bool coalesced_batches = 4;</code>
+       * @param value The coalescedBatches to set.
+       * @return This builder for chaining.
+       */
+      public Builder setCoalescedBatches(boolean value) {
+        bitField0_ |= 0x00000008;
+        coalescedBatches_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bool coalesced_batches = 4;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearCoalescedBatches() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        coalescedBatches_ = false;
+        onChanged();
+        return this;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -1661,6 +2113,80 @@ public final class BitData {
      * @return The isLastBatch.
      */
     boolean getIsLastBatch();
+
+    /**
+     * <code>optional int32 uncompressed_body_length = 8;</code>
+     * @return Whether the uncompressedBodyLength field is set.
+     */
+    boolean hasUncompressedBodyLength();
+    /**
+     * <code>optional int32 uncompressed_body_length = 8;</code>
+     * @return The uncompressedBodyLength.
+     */
+    int getUncompressedBodyLength();
+
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+     */
+    java.util.List<org.apache.drill.exec.proto.BitData.FragmentRecordBatch> 
+        getCoalescedBatchList();
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+     */
+    org.apache.drill.exec.proto.BitData.FragmentRecordBatch getCoalescedBatch(int index);
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+     */
+    int getCoalescedBatchCount();
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+     */
+    java.util.List<? extends org.apache.drill.exec.proto.BitData.FragmentRecordBatchOrBuilder> 
+        getCoalescedBatchOrBuilderList();
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+     */
+    org.apache.drill.exec.proto.BitData.FragmentRecordBatchOrBuilder getCoalescedBatchOrBuilder(
+        int index);
+
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
+     */
+    java.util.List<org.apache.drill.exec.proto.BitData.FragmentRecordBatch> 
+        getRelayList();
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
+     */
+    org.apache.drill.exec.proto.BitData.FragmentRecordBatch getRelay(int index);
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
+     */
+    int getRelayCount();
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
+     */
+    java.util.List<? extends org.apache.drill.exec.proto.BitData.FragmentRecordBatchOrBuilder> 
+        getRelayOrBuilderList();
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
+     */
+    org.apache.drill.exec.proto.BitData.FragmentRecordBatchOrBuilder getRelayOrBuilder(
+        int index);
+
+    /**
+     * <code>optional .exec.DrillbitEndpoint relay_endpoint = 11;</code>
+     * @return Whether the relayEndpoint field is set.
+     */
+    boolean hasRelayEndpoint();
+    /**
+     * <code>optional .exec.DrillbitEndpoint relay_endpoint = 11;</code>
+     * @return The relayEndpoint.
+     */
+    org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint getRelayEndpoint();
+    /**
+     * <code>optional .exec.DrillbitEndpoint relay_endpoint = 11;</code>
+     */
+    org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpointOrBuilder getRelayEndpointOrBuilder();
   }
   /**
    * Protobuf type {@code exec.bit.data.FragmentRecordBatch}
@@ -1676,6 +2202,8 @@ public final class BitData {
     }
     private FragmentRecordBatch() {
       receivingMinorFragmentId_ = emptyIntList();
+      coalescedBatch_ = java.util.Collections.emptyList();
+      relay_ = java.util.Collections.emptyList();
     }
 
     @java.lang.Override
@@ -1776,8 +2304,44 @@ public final class BitData {
               isLastBatch_ = input.readBool();
               break;
             }
-            default: {
-              if (!parseUnknownField(
+            case 64: {
+              bitField0_ |= 0x00000040;
+              uncompressedBodyLength_ = input.readInt32();
+              break;
+            }
+            case 74: {
+              if (!((mutable_bitField0_ & 0x00000100) != 0)) {
+                coalescedBatch_ = new java.util.ArrayList<org.apache.drill.exec.proto.BitData.FragmentRecordBatch>();
+                mutable_bitField0_ |= 0x00000100;
+              }
+              coalescedBatch_.add(
+                  input.readMessage(org.apache.drill.exec.proto.BitData.FragmentRecordBatch.PARSER, extensionRegistry));
+              break;
+            }
+            case 82: {
+              if (!((mutable_bitField0_ & 0x00000200) != 0)) {
+                relay_ = new java.util.ArrayList<org.apache.drill.exec.proto.BitData.FragmentRecordBatch>();
+                mutable_bitField0_ |= 0x00000200;
+              }
+              relay_.add(
+                  input.readMessage(org.apache.drill.exec.proto.BitData.FragmentRecordBatch.PARSER, extensionRegistry));
+              break;
+            }
+            case 90: {
+              org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint.Builder subBuilder = null;
+              if (((bitField0_ & 0x00000080) != 0)) {
+                subBuilder = relayEndpoint_.toBuilder();
+              }
+              relayEndpoint_ = input.readMessage(org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint.PARSER, extensionRegistry);
+              if (subBuilder != null) {
+                subBuilder.mergeFrom(relayEndpoint_);
+                relayEndpoint_ = subBuilder.buildPartial();
+              }
+              bitField0_ |= 0x00000080;
+              break;
+            }
+            default: {
+              if (!parseUnknownField(
                   input, unknownFields, extensionRegistry, tag)) {
                 done = true;
               }
@@ -1794,6 +2358,12 @@ public final class BitData {
         if (((mutable_bitField0_ & 0x00000004) != 0)) {
           receivingMinorFragmentId_.makeImmutable(); // C
         }
+        if (((mutable_bitField0_ & 0x00000100) != 0)) {
+          coalescedBatch_ = java.util.Collections.unmodifiableList(coalescedBatch_);
+        }
+        if (((mutable_bitField0_ & 0x00000200) != 0)) {
+          relay_ = java.util.Collections.unmodifiableList(relay_);
+        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
@@ -1952,6 +2522,116 @@ public final class BitData {
       return isLastBatch_;
     }
 
+    public static final int UNCOMPRESSED_BODY_LENGTH_FIELD_NUMBER = 8;
+    private int uncompressedBodyLength_;
+    /**
+     * <code>optional int32 uncompressed_body_length = 8;</code>
+     * @return Whether the uncompressedBodyLength field is set.
+     */
+    public boolean hasUncompressedBodyLength() {
+      return ((bitField0_ & 0x00000040) != 0);
+    }
+    /**
+     * <code>optional int32 uncompressed_body_length = 8;</code>
+     * @return The uncompressedBodyLength.
+     */
+    public int getUncompressedBodyLength() {
+      return uncompressedBodyLength_;
+    }
+
+    public static final int COALESCED_BATCH_FIELD_NUMBER = 9;
+    private java.util.List<org.apache.drill.exec.proto.BitData.FragmentRecordBatch> coalescedBatch_;
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+     */
+    public java.util.List<org.apache.drill.exec.proto.BitData.FragmentRecordBatch> getCoalescedBatchList() {
+      return coalescedBatch_;
+    }
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+     */
+    public java.util.List<? extends org.apache.drill.exec.proto.BitData.FragmentRecordBatchOrBuilder> 
+        getCoalescedBatchOrBuilderList() {
+      return coalescedBatch_;
+    }
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+     */
+    public int getCoalescedBatchCount() {
+      return coalescedBatch_.size();
+    }
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+     */
+    public org.apache.drill.exec.proto.BitData.FragmentRecordBatch getCoalescedBatch(int index) {
+      return coalescedBatch_.get(index);
+    }
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+     */
+    public org.apache.drill.exec.proto.BitData.FragmentRecordBatchOrBuilder getCoalescedBatchOrBuilder(
+        int index) {
+      return coalescedBatch_.get(index);
+    }
+
+    public static final int RELAY_FIELD_NUMBER = 10;
+    private java.util.List<org.apache.drill.exec.proto.BitData.FragmentRecordBatch> relay_;
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
+     */
+    public java.util.List<org.apache.drill.exec.proto.BitData.FragmentRecordBatch> getRelayList() {
+      return relay_;
+    }
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
+     */
+    public java.util.List<? extends org.apache.drill.exec.proto.BitData.FragmentRecordBatchOrBuilder> 
+        getRelayOrBuilderList() {
+      return relay_;
+    }
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
+     */
+    public int getRelayCount() {
+      return relay_.size();
+    }
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
+     */
+    public org.apache.drill.exec.proto.BitData.FragmentRecordBatch getRelay(int index) {
+      return relay_.get(index);
+    }
+    /**
+     * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
+     */
+    public org.apache.drill.exec.proto.BitData.FragmentRecordBatchOrBuilder getRelayOrBuilder(
+        int index) {
+      return relay_.get(index);
+    }
+
+    public static final int RELAY_ENDPOINT_FIELD_NUMBER = 11;
+    private org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint relayEndpoint_;
+    /**
+     * <code>optional .exec.DrillbitEndpoint relay_endpoint = 11;</code>
+     * @return Whether the relayEndpoint field is set.
+     */
+    public boolean hasRelayEndpoint() {
+      return ((bitField0_ & 0x00000080) != 0);
+    }
+    /**
+     * <code>optional .exec.DrillbitEndpoint relay_endpoint = 11;</code>
+     * @return The relayEndpoint.
+     */
+    public org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint getRelayEndpoint() {
+      return relayEndpoint_ == null ? org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint.getDefaultInstance() : relayEndpoint_;
+    }
+    /**
+     * <code>optional .exec.DrillbitEndpoint relay_endpoint = 11;</code>
+     */
+    public org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpointOrBuilder getRelayEndpointOrBuilder() {
+      return relayEndpoint_ == null ? org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint.getDefaultInstance() : relayEndpoint_;
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -1987,6 +2667,18 @@ public final class BitData {
       if (((bitField0_ & 0x00000020) != 0)) {
         output.writeBool(7, isLastBatch_);
       }
+      if (((bitField0_ & 0x00000040) != 0)) {
+        output.writeInt32(8, uncompressedBodyLength_);
+      }
+      for (int i = 0; i < coalescedBatch_.size(); i++) {
+        output.writeMessage(9, coalescedBatch_.get(i));
+      }
+      for (int i = 0; i < relay_.size(); i++) {
+        output.writeMessage(10, relay_.get(i));
+      }
+      if (((bitField0_ & 0x00000080) != 0)) {
+        output.writeMessage(11, getRelayEndpoint());
+      }
       unknownFields.writeTo(output);
     }
 
@@ -2029,6 +2721,22 @@ public final class BitData {
         size += com.google.protobuf.CodedOutputStream
           .computeBoolSize(7, isLastBatch_);
       }
+      if (((bitField0_ & 0x00000040) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt32Size(8, uncompressedBodyLength_);
+      }
+      for (int i = 0; i < coalescedBatch_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(9, coalescedBatch_.get(i));
+      }
+      for (int i = 0; i < relay_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(10, relay_.get(i));
+      }
+      if (((bitField0_ & 0x00000080) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(11, getRelayEndpoint());
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -2076,6 +2784,20 @@ public final class BitData {
         if (getIsLastBatch()
             != other.getIsLastBatch()) return false;
       }
+      if (hasUncompressedBodyLength() != other.hasUncompressedBodyLength()) return false;
+      if (hasUncompressedBodyLength()) {
+        if (getUncompressedBodyLength()
+            != other.getUncompressedBodyLength()) return false;
+      }
+      if (!getCoalescedBatchList()
+          .equals(other.getCoalescedBatchList())) return false;
+      if (!getRelayList()
+          .equals(other.getRelayList())) return false;
+      if (hasRelayEndpoint() != other.hasRelayEndpoint()) return false;
+      if (hasRelayEndpoint()) {
+        if (!getRelayEndpoint()
+            .equals(other.getRelayEndpoint())) return false;
+      }
       if (!unknownFields.equals(other.unknownFields)) return false;
       return true;
     }
@@ -2116,6 +2838,22 @@ public final class BitData {
         hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
             getIsLastBatch());
       }
+      if (hasUncompressedBodyLength()) {
+        hash = (37 * hash) + UNCOMPRESSED_BODY_LENGTH_FIELD_NUMBER;
+        hash = (53 * hash) + getUncompressedBodyLength();
+      }
+      if (getCoalescedBatchCount() > 0) {
+        hash = (37 * hash) + COALESCED_BATCH_FIELD_NUMBER;
+        hash = (53 * hash) + getCoalescedBatchList().hashCode();
+      }
+      if (getRelayCount() > 0) {
+        hash = (37 * hash) + RELAY_FIELD_NUMBER;
+        hash = (53 * hash) + getRelayList().hashCode();
+      }
+      if (hasRelayEndpoint()) {
+        hash = (37 * hash) + RELAY_ENDPOINT_FIELD_NUMBER;
+        hash = (53 * hash) + getRelayEndpoint().hashCode();
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -2246,6 +2984,9 @@ public final class BitData {
                 .alwaysUseFieldBuilders) {
           getQueryIdFieldBuilder();
           getDefFieldBuilder();
+          getCoalescedBatchFieldBuilder();
+          getRelayFieldBuilder();
+          getRelayEndpointFieldBuilder();
         }
       }
       @java.lang.Override
@@ -2273,6 +3014,26 @@ public final class BitData {
         bitField0_ = (bitField0_ & ~0x00000020);
         isLastBatch_ = false;
         bitField0_ = (bitField0_ & ~0x00000040);
+        uncompressedBodyLength_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000080);
+        if (coalescedBatchBuilder_ == null) {
+          coalescedBatch_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000100);
+        } else {
+          coalescedBatchBuilder_.clear();
+        }
+        if (relayBuilder_ == null) {
+          relay_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000200);
+        } else {
+          relayBuilder_.clear();
+        }
+        if (relayEndpointBuilder_ == null) {
+          relayEndpoint_ = null;
+        } else {
+          relayEndpointBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000400);
         return this;
       }
 
@@ -2338,6 +3099,36 @@ public final class BitData {
           result.isLastBatch_ = isLastBatch_;
           to_bitField0_ |= 0x00000020;
         }
+        if (((from_bitField0_ & 0x00000080) != 0)) {
+          result.uncompressedBodyLength_ = uncompressedBodyLength_;
+          to_bitField0_ |= 0x00000040;
+        }
+        if (coalescedBatchBuilder_ == null) {
+          if (((bitField0_ & 0x00000100) != 0)) {
+            coalescedBatch_ = java.util.Collections.unmodifiableList(coalescedBatch_);
+            bitField0_ = (bitField0_ & ~0x00000100);
+          }
+          result.coalescedBatch_ = coalescedBatch_;
+        } else {
+          result.coalescedBatch_ = coalescedBatchBuilder_.build();
+        }
+        if (relayBuilder_ == null) {
+          if (((bitField0_ & 0x00000200) != 0)) {
+            relay_ = java.util.Collections.unmodifiableList(relay_);
+            bitField0_ = (bitField0_ & ~0x00000200);
+          }
+          result.relay_ = relay_;
+        } else {
+          result.relay_ = relayBuilder_.build();
+        }
+        if (((from_bitField0_ & 0x00000400) != 0)) {
+          if (relayEndpointBuilder_ == null) {
+            result.relayEndpoint_ = relayEndpoint_;
+          } else {
+            result.relayEndpoint_ = relayEndpointBuilder_.build();
+          }
+          to_bitField0_ |= 0x00000080;
+        }
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -2415,6 +3206,64 @@ public final class BitData {
         if (other.hasIsLastBatch()) {
           setIsLastBatch(other.getIsLastBatch());
         }
+        if (other.hasUncompressedBodyLength()) {
+          setUncompressedBodyLength(other.getUncompressedBodyLength());
+        }
+        if (coalescedBatchBuilder_ == null) {
+          if (!other.coalescedBatch_.isEmpty()) {
+            if (coalescedBatch_.isEmpty()) {
+              coalescedBatch_ = other.coalescedBatch_;
+              bitField0_ = (bitField0_ & ~0x00000100);
+            } else {
+              ensureCoalescedBatchIsMutable();
+              coalescedBatch_.addAll(other.coalescedBatch_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.coalescedBatch_.isEmpty()) {
+            if (coalescedBatchBuilder_.isEmpty()) {
+              coalescedBatchBuilder_.dispose();
+              coalescedBatchBuilder_ = null;
+              coalescedBatch_ = other.coalescedBatch_;
+              bitField0_ = (bitField0_ & ~0x00000100);
+              coalescedBatchBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getCoalescedBatchFieldBuilder() : null;
+            } else {
+              coalescedBatchBuilder_.addAllMessages(other.coalescedBatch_);
+            }
+          }
+        }
+        if (relayBuilder_ == null) {
+          if (!other.relay_.isEmpty()) {
+            if (relay_.isEmpty()) {
+              relay_ = other.relay_;
+              bitField0_ = (bitField0_ & ~0x00000200);
+            } else {
+              ensureRelayIsMutable();
+              relay_.addAll(other.relay_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.relay_.isEmpty()) {
+            if (relayBuilder_.isEmpty()) {
+              relayBuilder_.dispose();
+              relayBuilder_ = null;
+              relay_ = other.relay_;
+              bitField0_ = (bitField0_ & ~0x00000200);
+              relayBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getRelayFieldBuilder() : null;
+            } else {
+              relayBuilder_.addAllMessages(other.relay_);
+            }
+          }
+        }
+        if (other.hasRelayEndpoint()) {
+          mergeRelayEndpoint(other.getRelayEndpoint());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -2671,245 +3520,882 @@ public final class BitData {
         return this;
       }
       /**
-       * <code>repeated int32 receiving_minor_fragment_id = 3;</code>
-       * @return This builder for chaining.
+       * <code>repeated int32 receiving_minor_fragment_id = 3;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearReceivingMinorFragmentId() {
+        receivingMinorFragmentId_ = emptyIntList();
+        bitField0_ = (bitField0_ & ~0x00000004);
+        onChanged();
+        return this;
+      }
+
+      private int sendingMajorFragmentId_ ;
+      /**
+       * <code>optional int32 sending_major_fragment_id = 4;</code>
+       * @return Whether the sendingMajorFragmentId field is set.
+       */
+      public boolean hasSendingMajorFragmentId() {
+        return ((bitField0_ & 0x00000008) != 0);
+      }
+      /**
+       * <code>optional int32 sending_major_fragment_id = 4;</code>
+       * @return The sendingMajorFragmentId.
+       */
+      public int getSendingMajorFragmentId() {
+        return sendingMajorFragmentId_;
+      }
+      /**
+       * <code>optional int32 sending_major_fragment_id = 4;</code>
+       * @param value The sendingMajorFragmentId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setSendingMajorFragmentId(int value) {
+        bitField0_ |= 0x00000008;
+        sendingMajorFragmentId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int32 sending_major_fragment_id = 4;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearSendingMajorFragmentId() {
+        bitField0_ = (bitField0_ & ~0x00000008);
+        sendingMajorFragmentId_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private int sendingMinorFragmentId_ ;
+      /**
+       * <code>optional int32 sending_minor_fragment_id = 5;</code>
+       * @return Whether the sendingMinorFragmentId field is set.
+       */
+      public boolean hasSendingMinorFragmentId() {
+        return ((bitField0_ & 0x00000010) != 0);
+      }
+      /**
+       * <code>optional int32 sending_minor_fragment_id = 5;</code>
+       * @return The sendingMinorFragmentId.
+       */
+      public int getSendingMinorFragmentId() {
+        return sendingMinorFragmentId_;
+      }
+      /**
+       * <code>optional int32 sending_minor_fragment_id = 5;</code>
+       * @param value The sendingMinorFragmentId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setSendingMinorFragmentId(int value) {
+        bitField0_ |= 0x00000010;
+        sendingMinorFragmentId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int32 sending_minor_fragment_id = 5;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearSendingMinorFragmentId() {
+        bitField0_ = (bitField0_ & ~0x00000010);
+        sendingMinorFragmentId_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private org.apache.drill.exec.proto.UserBitShared.RecordBatchDef def_;
+      private com.google.protobuf.SingleFieldBuilderV3<
+          org.apache.drill.exec.proto.UserBitShared.RecordBatchDef, org.apache.drill.exec.proto.UserBitShared.RecordBatchDef.Builder, org.apache.drill.exec.proto.UserBitShared.RecordBatchDefOrBuilder> defBuilder_;
+      /**
+       * <code>optional .exec.shared.RecordBatchDef def = 6;</code>
+       * @return Whether the def field is set.
+       */
+      public boolean hasDef() {
+        return ((bitField0_ & 0x00000020) != 0);
+      }
+      /**
+       * <code>optional .exec.shared.RecordBatchDef def = 6;</code>
+       * @return The def.
+       */
+      public org.apache.drill.exec.proto.UserBitShared.RecordBatchDef getDef() {
+        if (defBuilder_ == null) {
+          return def_ == null ? org.apache.drill.exec.proto.UserBitShared.RecordBatchDef.getDefaultInstance() : def_;
+        } else {
+          return defBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>optional .exec.shared.RecordBatchDef def = 6;</code>
+       */
+      public Builder setDef(org.apache.drill.exec.proto.UserBitShared.RecordBatchDef value) {
+        if (defBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          def_ = value;
+          onChanged();
+        } else {
+          defBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000020;
+        return this;
+      }
+      /**
+       * <code>optional .exec.shared.RecordBatchDef def = 6;</code>
+       */
+      public Builder setDef(
+          org.apache.drill.exec.proto.UserBitShared.RecordBatchDef.Builder builderForValue) {
+        if (defBuilder_ == null) {
+          def_ = builderForValue.build();
+          onChanged();
+        } else {
+          defBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000020;
+        return this;
+      }
+      /**
+       * <code>optional .exec.shared.RecordBatchDef def = 6;</code>
+       */
+      public Builder mergeDef(org.apache.drill.exec.proto.UserBitShared.RecordBatchDef value) {
+        if (defBuilder_ == null) {
+          if (((bitField0_ & 0x00000020) != 0) &&
+              def_ != null &&
+              def_ != org.apache.drill.exec.proto.UserBitShared.RecordBatchDef.getDefaultInstance()) {
+            def_ =
+              org.apache.drill.exec.proto.UserBitShared.RecordBatchDef.newBuilder(def_).mergeFrom(value).buildPartial();
+          } else {
+            def_ = value;
+          }
+          onChanged();
+        } else {
+          defBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000020;
+        return this;
+      }
+      /**
+       * <code>optional .exec.shared.RecordBatchDef def = 6;</code>
+       */
+      public Builder clearDef() {
+        if (defBuilder_ == null) {
+          def_ = null;
+          onChanged();
+        } else {
+          defBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000020);
+        return this;
+      }
+      /**
+       * <code>optional .exec.shared.RecordBatchDef def = 6;</code>
+       */
+      public org.apache.drill.exec.proto.UserBitShared.RecordBatchDef.Builder getDefBuilder() {
+        bitField0_ |= 0x00000020;
+        onChanged();
+        return getDefFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>optional .exec.shared.RecordBatchDef def = 6;</code>
+       */
+      public org.apache.drill.exec.proto.UserBitShared.RecordBatchDefOrBuilder getDefOrBuilder() {
+        if (defBuilder_ != null) {
+          return defBuilder_.getMessageOrBuilder();
+        } else {
+          return def_ == null ?
+              org.apache.drill.exec.proto.UserBitShared.RecordBatchDef.getDefaultInstance() : def_;
+        }
+      }
+      /**
+       * <code>optional .exec.shared.RecordBatchDef def = 6;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          org.apache.drill.exec.proto.UserBitShared.RecordBatchDef, org.apache.drill.exec.proto.UserBitShared.RecordBatchDef.Builder, org.apache.drill.exec.proto.UserBitShared.RecordBatchDefOrBuilder> 
+          getDefFieldBuilder() {
+        if (defBuilder_ == null) {
+          defBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              org.apache.drill.exec.proto.UserBitShared.RecordBatchDef, org.apache.drill.exec.proto.UserBitShared.RecordBatchDef.Builder, org.apache.drill.exec.proto.UserBitShared.RecordBatchDefOrBuilder>(
+                  getDef(),
+                  getParentForChildren(),
+                  isClean());
+          def_ = null;
+        }
+        return defBuilder_;
+      }
+
+      private boolean isLastBatch_ ;
+      /**
+       * <code>optional bool isLastBatch = 7;</code>
+       * @return Whether the isLastBatch field is set.
+       */
+      public boolean hasIsLastBatch() {
+        return ((bitField0_ & 0x00000040) != 0);
+      }
+      /**
+       * <code>optional bool isLastBatch = 7;</code>
+       * @return The isLastBatch.
+       */
+      public boolean getIsLastBatch() {
+        return isLastBatch_;
+      }
+      /**
+       * <code>optional bool isLastBatch = 7;</code>
+       * @param value The isLastBatch to set.
+       * @return This builder for chaining.
+       */
+      public Builder setIsLastBatch(boolean value) {
+        bitField0_ |= 0x00000040;
+        isLastBatch_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional bool isLastBatch = 7;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearIsLastBatch() {
+        bitField0_ = (bitField0_ & ~0x00000040);
+        isLastBatch_ = false;
+        onChanged();
+        return this;
+      }
+
+      private int uncompressedBodyLength_ ;
+      /**
+       * <code>optional int32 uncompressed_body_length = 8;</code>
+       * @return Whether the uncompressedBodyLength field is set.
+       */
+      public boolean hasUncompressedBodyLength() {
+        return ((bitField0_ & 0x00000080) != 0);
+      }
+      /**
+       * <code>optional int32 uncompressed_body_length = 8;</code>
+       * @return The uncompressedBodyLength.
+       */
+      public int getUncompressedBodyLength() {
+        return uncompressedBodyLength_;
+      }
+      /**
+       * <code>optional int32 uncompressed_body_length = 8;</code>
+       * @param value The uncompressedBodyLength to set.
+       * @return This builder for chaining.
+       */
+      public Builder setUncompressedBodyLength(int value) {
+        bitField0_ |= 0x00000080;
+        uncompressedBodyLength_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional int32 uncompressed_body_length = 8;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearUncompressedBodyLength() {
+        bitField0_ = (bitField0_ & ~0x00000080);
+        uncompressedBodyLength_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private java.util.List<org.apache.drill.exec.proto.BitData.FragmentRecordBatch> coalescedBatch_ =
+        java.util.Collections.emptyList();
+      private void ensureCoalescedBatchIsMutable() {
+        if (!((bitField0_ & 0x00000100) != 0)) {
+          coalescedBatch_ = new java.util.ArrayList<org.apache.drill.exec.proto.BitData.FragmentRecordBatch>(coalescedBatch_);
+          bitField0_ |= 0x00000100;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.apache.drill.exec.proto.BitData.FragmentRecordBatch, org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder, org.apache.drill.exec.proto.BitData.FragmentRecordBatchOrBuilder> coalescedBatchBuilder_;
+
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+       */
+      public java.util.List<org.apache.drill.exec.proto.BitData.FragmentRecordBatch> getCoalescedBatchList() {
+        if (coalescedBatchBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(coalescedBatch_);
+        } else {
+          return coalescedBatchBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+       */
+      public int getCoalescedBatchCount() {
+        if (coalescedBatchBuilder_ == null) {
+          return coalescedBatch_.size();
+        } else {
+          return coalescedBatchBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+       */
+      public org.apache.drill.exec.proto.BitData.FragmentRecordBatch getCoalescedBatch(int index) {
+        if (coalescedBatchBuilder_ == null) {
+          return coalescedBatch_.get(index);
+        } else {
+          return coalescedBatchBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+       */
+      public Builder setCoalescedBatch(
+          int index, org.apache.drill.exec.proto.BitData.FragmentRecordBatch value) {
+        if (coalescedBatchBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureCoalescedBatchIsMutable();
+          coalescedBatch_.set(index, value);
+          onChanged();
+        } else {
+          coalescedBatchBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+       */
+      public Builder setCoalescedBatch(
+          int index, org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder builderForValue) {
+        if (coalescedBatchBuilder_ == null) {
+          ensureCoalescedBatchIsMutable();
+          coalescedBatch_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          coalescedBatchBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+       */
+      public Builder addCoalescedBatch(org.apache.drill.exec.proto.BitData.FragmentRecordBatch value) {
+        if (coalescedBatchBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureCoalescedBatchIsMutable();
+          coalescedBatch_.add(value);
+          onChanged();
+        } else {
+          coalescedBatchBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+       */
+      public Builder addCoalescedBatch(
+          int index, org.apache.drill.exec.proto.BitData.FragmentRecordBatch value) {
+        if (coalescedBatchBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureCoalescedBatchIsMutable();
+          coalescedBatch_.add(index, value);
+          onChanged();
+        } else {
+          coalescedBatchBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+       */
+      public Builder addCoalescedBatch(
+          org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder builderForValue) {
+        if (coalescedBatchBuilder_ == null) {
+          ensureCoalescedBatchIsMutable();
+          coalescedBatch_.add(builderForValue.build());
+          onChanged();
+        } else {
+          coalescedBatchBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+       */
+      public Builder addCoalescedBatch(
+          int index, org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder builderForValue) {
+        if (coalescedBatchBuilder_ == null) {
+          ensureCoalescedBatchIsMutable();
+          coalescedBatch_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          coalescedBatchBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+       */
+      public Builder addAllCoalescedBatch(
+          java.lang.Iterable<? extends org.apache.drill.exec.proto.BitData.FragmentRecordBatch> values) {
+        if (coalescedBatchBuilder_ == null) {
+          ensureCoalescedBatchIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, coalescedBatch_);
+          onChanged();
+        } else {
+          coalescedBatchBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+       */
+      public Builder clearCoalescedBatch() {
+        if (coalescedBatchBuilder_ == null) {
+          coalescedBatch_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000100);
+          onChanged();
+        } else {
+          coalescedBatchBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+       */
+      public Builder removeCoalescedBatch(int index) {
+        if (coalescedBatchBuilder_ == null) {
+          ensureCoalescedBatchIsMutable();
+          coalescedBatch_.remove(index);
+          onChanged();
+        } else {
+          coalescedBatchBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+       */
+      public org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder getCoalescedBatchBuilder(
+          int index) {
+        return getCoalescedBatchFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+       */
+      public org.apache.drill.exec.proto.BitData.FragmentRecordBatchOrBuilder getCoalescedBatchOrBuilder(
+          int index) {
+        if (coalescedBatchBuilder_ == null) {
+          return coalescedBatch_.get(index);  } else {
+          return coalescedBatchBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+       */
+      public java.util.List<? extends org.apache.drill.exec.proto.BitData.FragmentRecordBatchOrBuilder> 
+           getCoalescedBatchOrBuilderList() {
+        if (coalescedBatchBuilder_ != null) {
+          return coalescedBatchBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(coalescedBatch_);
+        }
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+       */
+      public org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder addCoalescedBatchBuilder() {
+        return getCoalescedBatchFieldBuilder().addBuilder(
+            org.apache.drill.exec.proto.BitData.FragmentRecordBatch.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+       */
+      public org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder addCoalescedBatchBuilder(
+          int index) {
+        return getCoalescedBatchFieldBuilder().addBuilder(
+            index, org.apache.drill.exec.proto.BitData.FragmentRecordBatch.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch coalesced_batch = 9;</code>
+       */
+      public java.util.List<org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder> 
+           getCoalescedBatchBuilderList() {
+        return getCoalescedBatchFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.apache.drill.exec.proto.BitData.FragmentRecordBatch, org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder, org.apache.drill.exec.proto.BitData.FragmentRecordBatchOrBuilder> 
+          getCoalescedBatchFieldBuilder() {
+        if (coalescedBatchBuilder_ == null) {
+          coalescedBatchBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              org.apache.drill.exec.proto.BitData.FragmentRecordBatch, org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder, org.apache.drill.exec.proto.BitData.FragmentRecordBatchOrBuilder>(
+                  coalescedBatch_,
+                  ((bitField0_ & 0x00000100) != 0),
+                  getParentForChildren(),
+                  isClean());
+          coalescedBatch_ = null;
+        }
+        return coalescedBatchBuilder_;
+      }
+
+      private java.util.List<org.apache.drill.exec.proto.BitData.FragmentRecordBatch> relay_ =
+        java.util.Collections.emptyList();
+      private void ensureRelayIsMutable() {
+        if (!((bitField0_ & 0x00000200) != 0)) {
+          relay_ = new java.util.ArrayList<org.apache.drill.exec.proto.BitData.FragmentRecordBatch>(relay_);
+          bitField0_ |= 0x00000200;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.apache.drill.exec.proto.BitData.FragmentRecordBatch, org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder, org.apache.drill.exec.proto.BitData.FragmentRecordBatchOrBuilder> relayBuilder_;
+
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
+       */
+      public java.util.List<org.apache.drill.exec.proto.BitData.FragmentRecordBatch> getRelayList() {
+        if (relayBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(relay_);
+        } else {
+          return relayBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
+       */
+      public int getRelayCount() {
+        if (relayBuilder_ == null) {
+          return relay_.size();
+        } else {
+          return relayBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
+       */
+      public org.apache.drill.exec.proto.BitData.FragmentRecordBatch getRelay(int index) {
+        if (relayBuilder_ == null) {
+          return relay_.get(index);
+        } else {
+          return relayBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
+       */
+      public Builder setRelay(
+          int index, org.apache.drill.exec.proto.BitData.FragmentRecordBatch value) {
+        if (relayBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureRelayIsMutable();
+          relay_.set(index, value);
+          onChanged();
+        } else {
+          relayBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
+       */
+      public Builder setRelay(
+          int index, org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder builderForValue) {
+        if (relayBuilder_ == null) {
+          ensureRelayIsMutable();
+          relay_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          relayBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
+       */
+      public Builder addRelay(org.apache.drill.exec.proto.BitData.FragmentRecordBatch value) {
+        if (relayBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureRelayIsMutable();
+          relay_.add(value);
+          onChanged();
+        } else {
+          relayBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
+       */
+      public Builder addRelay(
+          int index, org.apache.drill.exec.proto.BitData.FragmentRecordBatch value) {
+        if (relayBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureRelayIsMutable();
+          relay_.add(index, value);
+          onChanged();
+        } else {
+          relayBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
+       */
+      public Builder addRelay(
+          org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder builderForValue) {
+        if (relayBuilder_ == null) {
+          ensureRelayIsMutable();
+          relay_.add(builderForValue.build());
+          onChanged();
+        } else {
+          relayBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
        */
-      public Builder clearReceivingMinorFragmentId() {
-        receivingMinorFragmentId_ = emptyIntList();
-        bitField0_ = (bitField0_ & ~0x00000004);
-        onChanged();
+      public Builder addRelay(
+          int index, org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder builderForValue) {
+        if (relayBuilder_ == null) {
+          ensureRelayIsMutable();
+          relay_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          relayBuilder_.addMessage(index, builderForValue.build());
+        }
         return this;
       }
-
-      private int sendingMajorFragmentId_ ;
       /**
-       * <code>optional int32 sending_major_fragment_id = 4;</code>
-       * @return Whether the sendingMajorFragmentId field is set.
+       * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
        */
-      public boolean hasSendingMajorFragmentId() {
-        return ((bitField0_ & 0x00000008) != 0);
+      public Builder addAllRelay(
+          java.lang.Iterable<? extends org.apache.drill.exec.proto.BitData.FragmentRecordBatch> values) {
+        if (relayBuilder_ == null) {
+          ensureRelayIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, relay_);
+          onChanged();
+        } else {
+          relayBuilder_.addAllMessages(values);
+        }
+        return this;
       }
       /**
-       * <code>optional int32 sending_major_fragment_id = 4;</code>
-       * @return The sendingMajorFragmentId.
+       * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
        */
-      public int getSendingMajorFragmentId() {
-        return sendingMajorFragmentId_;
+      public Builder clearRelay() {
+        if (relayBuilder_ == null) {
+          relay_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000200);
+          onChanged();
+        } else {
+          relayBuilder_.clear();
+        }
+        return this;
       }
       /**
-       * <code>optional int32 sending_major_fragment_id = 4;</code>
-       * @param value The sendingMajorFragmentId to set.
-       * @return This builder for chaining.
+       * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
        */
-      public Builder setSendingMajorFragmentId(int value) {
-        bitField0_ |= 0x00000008;
-        sendingMajorFragmentId_ = value;
-        onChanged();
+      public Builder removeRelay(int index) {
+        if (relayBuilder_ == null) {
+          ensureRelayIsMutable();
+          relay_.remove(index);
+          onChanged();
+        } else {
+          relayBuilder_.remove(index);
+        }
         return this;
       }
       /**
-       * <code>optional int32 sending_major_fragment_id = 4;</code>
-       * @return This builder for chaining.
+       * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
        */
-      public Builder clearSendingMajorFragmentId() {
-        bitField0_ = (bitField0_ & ~0x00000008);
-        sendingMajorFragmentId_ = 0;
-        onChanged();
-        return this;
+      public org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder getRelayBuilder(
+          int index) {
+        return getRelayFieldBuilder().getBuilder(index);
       }
-
-      private int sendingMinorFragmentId_ ;
       /**
-       * <code>optional int32 sending_minor_fragment_id = 5;</code>
-       * @return Whether the sendingMinorFragmentId field is set.
+       * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
        */
-      public boolean hasSendingMinorFragmentId() {
-        return ((bitField0_ & 0x00000010) != 0);
+      public org.apache.drill.exec.proto.BitData.FragmentRecordBatchOrBuilder getRelayOrBuilder(
+          int index) {
+        if (relayBuilder_ == null) {
+          return relay_.get(index);  } else {
+          return relayBuilder_.getMessageOrBuilder(index);
+        }
       }
       /**
-       * <code>optional int32 sending_minor_fragment_id = 5;</code>
-       * @return The sendingMinorFragmentId.
+       * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
        */
-      public int getSendingMinorFragmentId() {
-        return sendingMinorFragmentId_;
+      public java.util.List<? extends org.apache.drill.exec.proto.BitData.FragmentRecordBatchOrBuilder> 
+           getRelayOrBuilderList() {
+        if (relayBuilder_ != null) {
+          return relayBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(relay_);
+        }
       }
       /**
-       * <code>optional int32 sending_minor_fragment_id = 5;</code>
-       * @param value The sendingMinorFragmentId to set.
-       * @return This builder for chaining.
+       * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
        */
-      public Builder setSendingMinorFragmentId(int value) {
-        bitField0_ |= 0x00000010;
-        sendingMinorFragmentId_ = value;
-        onChanged();
-        return this;
+      public org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder addRelayBuilder() {
+        return getRelayFieldBuilder().addBuilder(
+            org.apache.drill.exec.proto.BitData.FragmentRecordBatch.getDefaultInstance());
       }
       /**
-       * <code>optional int32 sending_minor_fragment_id = 5;</code>
-       * @return This builder for chaining.
+       * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
        */
-      public Builder clearSendingMinorFragmentId() {
-        bitField0_ = (bitField0_ & ~0x00000010);
-        sendingMinorFragmentId_ = 0;
-        onChanged();
-        return this;
+      public org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder addRelayBuilder(
+          int index) {
+        return getRelayFieldBuilder().addBuilder(
+            index, org.apache.drill.exec.proto.BitData.FragmentRecordBatch.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .exec.bit.data.FragmentRecordBatch relay = 10;</code>
+       */
+      public java.util.List<org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder> 
+           getRelayBuilderList() {
+        return getRelayFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          org.apache.drill.exec.proto.BitData.FragmentRecordBatch, org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder, org.apache.drill.exec.proto.BitData.FragmentRecordBatchOrBuilder> 
+          getRelayFieldBuilder() {
+        if (relayBuilder_ == null) {
+          relayBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              org.apache.drill.exec.proto.BitData.FragmentRecordBatch, org.apache.drill.exec.proto.BitData.FragmentRecordBatch.Builder, org.apache.drill.exec.proto.BitData.FragmentRecordBatchOrBuilder>(
+                  relay_,
+                  ((bitField0_ & 0x00000200) != 0),
+                  getParentForChildren(),
+                  isClean());
+          relay_ = null;
+        }
+        return relayBuilder_;
       }
 
-      private org.apache.drill.exec.proto.UserBitShared.RecordBatchDef def_;
+      private org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint relayEndpoint_;
       private com.google.protobuf.SingleFieldBuilderV3<
-          org.apache.drill.exec.proto.UserBitShared.RecordBatchDef, org.apache.drill.exec.proto.UserBitShared.RecordBatchDef.Builder, org.apache.drill.exec.proto.UserBitShared.RecordBatchDefOrBuilder> defBuilder_;
+          org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint, org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint.Builder, org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpointOrBuilder> relayEndpointBuilder_;
       /**
-       * <code>optional .exec.shared.RecordBatchDef def = 6;</code>
-       * @return Whether the def field is set.
+       * <code>optional .exec.DrillbitEndpoint relay_endpoint = 11;</code>
+       * @return Whether the relayEndpoint field is set.
        */
-      public boolean hasDef() {
-        return ((bitField0_ & 0x00000020) != 0);
+      public boolean hasRelayEndpoint() {
+        return ((bitField0_ & 0x00000400) != 0);
       }
       /**
-       * <code>optional .exec.shared.RecordBatchDef def = 6;</code>
-       * @return The def.
+       * <code>optional .exec.DrillbitEndpoint relay_endpoint = 11;</code>
+       * @return The relayEndpoint.
        */
-      public org.apache.drill.exec.proto.UserBitShared.RecordBatchDef getDef() {
-        if (defBuilder_ == null) {
-          return def_ == null ? org.apache.drill.exec.proto.UserBitShared.RecordBatchDef.getDefaultInstance() : def_;
+      public org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint getRelayEndpoint() {
+        if (relayEndpointBuilder_ == null) {
+          return relayEndpoint_ == null ? org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint.getDefaultInstance() : relayEndpoint_;
         } else {
-          return defBuilder_.getMessage();
+          return relayEndpointBuilder_.getMessage();
         }
       }
       /**
-       * <code>optional .exec.shared.RecordBatchDef def = 6;</code>
+       * <code>optional .exec.DrillbitEndpoint relay_endpoint = 11;</code>
        */
-      public Builder setDef(org.apache.drill.exec.proto.UserBitShared.RecordBatchDef value) {
-        if (defBuilder_ == null) {
+      public Builder setRelayEndpoint(org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint value) {
+        if (relayEndpointBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
           }
-          def_ = value;
+          relayEndpoint_ = value;
           onChanged();
         } else {
-          defBuilder_.setMessage(value);
+          relayEndpointBuilder_.setMessage(value);
         }
-        bitField0_ |= 0x00000020;
+        bitField0_ |= 0x00000400;
         return this;
       }
       /**
-       * <code>optional .exec.shared.RecordBatchDef def = 6;</code>
+       * <code>optional .exec.DrillbitEndpoint relay_endpoint = 11;</code>
        */
-      public Builder setDef(
-          org.apache.drill.exec.proto.UserBitShared.RecordBatchDef.Builder builderForValue) {
-        if (defBuilder_ == null) {
-          def_ = builderForValue.build();
+      public Builder setRelayEndpoint(
+          org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint.Builder builderForValue) {
+        if (relayEndpointBuilder_ == null) {
+          relayEndpoint_ = builderForValue.build();
           onChanged();
         } else {
-          defBuilder_.setMessage(builderForValue.build());
+          relayEndpointBuilder_.setMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00000020;
+        bitField0_ |= 0x00000400;
         return this;
       }
       /**
-       * <code>optional .exec.shared.RecordBatchDef def = 6;</code>
+       * <code>optional .exec.DrillbitEndpoint relay_endpoint = 11;</code>
        */
-      public Builder mergeDef(org.apache.drill.exec.proto.UserBitShared.RecordBatchDef value) {
-        if (defBuilder_ == null) {
-          if (((bitField0_ & 0x00000020) != 0) &&
-              def_ != null &&
-              def_ != org.apache.drill.exec.proto.UserBitShared.RecordBatchDef.getDefaultInstance()) {
-            def_ =
-              org.apache.drill.exec.proto.UserBitShared.RecordBatchDef.newBuilder(def_).mergeFrom(value).buildPartial();
+      public Builder mergeRelayEndpoint(org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint value) {
+        if (relayEndpointBuilder_ == null) {
+          if (((bitField0_ & 0x00000400) != 0) &&
+              relayEndpoint_ != null &&
+              relayEndpoint_ != org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint.getDefaultInstance()) {
+            relayEndpoint_ =
+              org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint.newBuilder(relayEndpoint_).mergeFrom(value).buildPartial();
           } else {
-            def_ = value;
+            relayEndpoint_ = value;
           }
           onChanged();
         } else {
-          defBuilder_.mergeFrom(value);
+          relayEndpointBuilder_.mergeFrom(value);
         }
-        bitField0_ |= 0x00000020;
+        bitField0_ |= 0x00000400;
         return this;
       }
       /**
-       * <code>optional .exec.shared.RecordBatchDef def = 6;</code>
+       * <code>optional .exec.DrillbitEndpoint relay_endpoint = 11;</code>
        */
-      public Builder clearDef() {
-        if (defBuilder_ == null) {
-          def_ = null;
+      public Builder clearRelayEndpoint() {
+        if (relayEndpointBuilder_ == null) {
+          relayEndpoint_ = null;
           onChanged();
         } else {
-          defBuilder_.clear();
+          relayEndpointBuilder_.clear();
         }
-        bitField0_ = (bitField0_ & ~0x00000020);
+        bitField0_ = (bitField0_ & ~0x00000400);
         return this;
       }
       /**
-       * <code>optional .exec.shared.RecordBatchDef def = 6;</code>
+       * <code>optional .exec.DrillbitEndpoint relay_endpoint = 11;</code>
        */
-      public org.apache.drill.exec.proto.UserBitShared.RecordBatchDef.Builder getDefBuilder() {
-        bitField0_ |= 0x00000020;
+      public org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint.Builder getRelayEndpointBuilder() {
+        bitField0_ |= 0x00000400;
         onChanged();
-        return getDefFieldBuilder().getBuilder();
+        return getRelayEndpointFieldBuilder().getBuilder();
       }
       /**
-       * <code>optional .exec.shared.RecordBatchDef def = 6;</code>
+       * <code>optional .exec.DrillbitEndpoint relay_endpoint = 11;</code>
        */
-      public org.apache.drill.exec.proto.UserBitShared.RecordBatchDefOrBuilder getDefOrBuilder() {
-        if (defBuilder_ != null) {
-          return defBuilder_.getMessageOrBuilder();
+      public org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpointOrBuilder getRelayEndpointOrBuilder() {
+        if (relayEndpointBuilder_ != null) {
+          return relayEndpointBuilder_.getMessageOrBuilder();
         } else {
-          return def_ == null ?
-              org.apache.drill.exec.proto.UserBitShared.RecordBatchDef.getDefaultInstance() : def_;
+          return relayEndpoint_ == null ?
+              org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint.getDefaultInstance() : relayEndpoint_;
         }
       }
       /**
-       * <code>optional .exec.shared.RecordBatchDef def = 6;</code>
+       * <code>optional .exec.DrillbitEndpoint relay_endpoint = 11;</code>
        */
       private com.google.protobuf.SingleFieldBuilderV3<
-          org.apache.drill.exec.proto.UserBitShared.RecordBatchDef, org.apache.drill.exec.proto.UserBitShared.RecordBatchDef.Builder, org.apache.drill.exec.proto.UserBitShared.RecordBatchDefOrBuilder> 
-          getDefFieldBuilder() {
-        if (defBuilder_ == null) {
-          defBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
-              org.apache.drill.exec.proto.UserBitShared.RecordBatchDef, org.apache.drill.exec.proto.UserBitShared.RecordBatchDef.Builder, org.apache.drill.exec.proto.UserBitShared.RecordBatchDefOrBuilder>(
-                  getDef(),
+          org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint, org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint.Builder, org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpointOrBuilder> 
+          getRelayEndpointFieldBuilder() {
+        if (relayEndpointBuilder_ == null) {
+          relayEndpointBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint, org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint.Builder, org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpointOrBuilder>(
+                  getRelayEndpoint(),
                   getParentForChildren(),
                   isClean());
-          def_ = null;
+          relayEndpoint_ = null;
         }
-        return defBuilder_;
-      }
-
-      private boolean isLastBatch_ ;
-      /**
-       * <code>optional bool isLastBatch = 7;</code>
-       * @return Whether the isLastBatch field is set.
-       */
-      public boolean hasIsLastBatch() {
-        return ((bitField0_ & 0x00000040) != 0);
-      }
-      /**
-       * <code>optional bool isLastBatch = 7;</code>
-       * @return The isLastBatch.
-       */
-      public boolean getIsLastBatch() {
-        return isLastBatch_;
-      }
-      /**
-       * <code>optional bool isLastBatch = 7;</code>
-       * @param value The isLastBatch to set.
-       * @return This builder for chaining.
-       */
-      public Builder setIsLastBatch(boolean value) {
-        bitField0_ |= 0x00000040;
-        isLastBatch_ = value;
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>optional bool isLastBatch = 7;</code>
-       * @return This builder for chaining.
-       */
-      public Builder clearIsLastBatch() {
-        bitField0_ = (bitField0_ & ~0x00000040);
-        isLastBatch_ = false;
-        onChanged();
-        return this;
+        return relayEndpointBuilder_;
       }
       @java.lang.Override
       public final Builder setUnknownFields(
@@ -4654,6 +6140,25 @@ public final class BitData {
      * @return The allowedCredit.
      */
     int getAllowedCredit();
+
+    /**
+     * <pre>
+     * the bytes allowed the sender to send ahead of the acks
+     * </pre>
+     *
+     * <code>optional int64 allowed_bytes = 2;</code>
+     * @return Whether the allowedBytes field is set.
+     */
+    boolean hasAllowedBytes();
+    /**
+     * <pre>
+     * the bytes allowed the sender to send ahead of the acks
+     * </pre>
+     *
+     * <code>optional int64 allowed_bytes = 2;</code>
+     * @return The allowedBytes.
+     */
+    long getAllowedBytes();
   }
   /**
    * Protobuf type {@code exec.bit.data.AckWithCredit}
@@ -4706,6 +6211,11 @@ public final class BitData {
               allowedCredit_ = input.readInt32();
               break;
             }
+            case 16: {
+              bitField0_ |= 0x00000002;
+              allowedBytes_ = input.readInt64();
+              break;
+            }
             default: {
               if (!parseUnknownField(
                   input, unknownFields, extensionRegistry, tag)) {
@@ -4764,6 +6274,31 @@ public final class BitData {
       return allowedCredit_;
     }
 
+    public static final int ALLOWED_BYTES_FIELD_NUMBER = 2;
+    private long allowedBytes_;
+    /**
+     * <pre>
+     * the bytes allowed the sender to send ahead of the acks
+     * </pre>
+     *
+     * <code>optional int64 allowed_bytes = 2;</code>
+     * @return Whether the allowedBytes field is set.
+     */
+    public boolean hasAllowedBytes() {
+      return ((bitField0_ & 0x00000002) != 0);
+    }
+    /**
+     * <pre>
+     * the bytes allowed the sender to send ahead of the acks
+     * </pre>
+     *
+     * <code>optional int64 allowed_bytes = 2;</code>
+     * @return The allowedBytes.
+     */
+    public long getAllowedBytes() {
+      return allowedBytes_;
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -4781,6 +6316,9 @@ public final class BitData {
       if (((bitField0_ & 0x00000001) != 0)) {
         output.writeInt32(1, allowedCredit_);
       }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        output.writeInt64(2, allowedBytes_);
+      }
       unknownFields.writeTo(output);
     }
 
@@ -4794,6 +6332,10 @@ public final class BitData {
         size += com.google.protobuf.CodedOutputStream
           .computeInt32Size(1, allowedCredit_);
       }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeInt64Size(2, allowedBytes_);
+      }
       size += unknownFields.getSerializedSize();
       memoizedSize = size;
       return size;
@@ -4814,6 +6356,11 @@ public final class BitData {
         if (getAllowedCredit()
             != other.getAllowedCredit()) return false;
       }
+      if (hasAllowedBytes() != other.hasAllowedBytes()) return false;
+      if (hasAllowedBytes()) {
+        if (getAllowedBytes()
+            != other.getAllowedBytes()) return false;
+      }
       if (!unknownFields.equals(other.unknownFields)) return false;
       return true;
     }
@@ -4829,6 +6376,11 @@ public final class BitData {
         hash = (37 * hash) + ALLOWED_CREDIT_FIELD_NUMBER;
         hash = (53 * hash) + getAllowedCredit();
       }
+      if (hasAllowedBytes()) {
+        hash = (37 * hash) + ALLOWED_BYTES_FIELD_NUMBER;
+        hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+            getAllowedBytes());
+      }
       hash = (29 * hash) + unknownFields.hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -4964,6 +6516,8 @@ public final class BitData {
         super.clear();
         allowedCredit_ = 0;
         bitField0_ = (bitField0_ & ~0x00000001);
+        allowedBytes_ = 0L;
+        bitField0_ = (bitField0_ & ~0x00000002);
         return this;
       }
 
@@ -4996,6 +6550,10 @@ public final class BitData {
           result.allowedCredit_ = allowedCredit_;
           to_bitField0_ |= 0x00000001;
         }
+        if (((from_bitField0_ & 0x00000002) != 0)) {
+          result.allowedBytes_ = allowedBytes_;
+          to_bitField0_ |= 0x00000002;
+        }
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -5048,6 +6606,9 @@ public final class BitData {
         if (other.hasAllowedCredit()) {
           setAllowedCredit(other.getAllowedCredit());
         }
+        if (other.hasAllowedBytes()) {
+          setAllowedBytes(other.getAllowedBytes());
+        }
         this.mergeUnknownFields(other.unknownFields);
         onChanged();
         return this;
@@ -5130,6 +6691,59 @@ public final class BitData {
         onChanged();
         return this;
       }
+
+      private long allowedBytes_ ;
+      /**
+       * <pre>
+       * the bytes allowed the sender to send ahead of the acks
+       * </pre>
+       *
+       * <code>optional int64 allowed_bytes = 2;</code>
+       * @return Whether the allowedBytes field is set.
+       */
+      public boolean hasAllowedBytes() {
+        return ((bitField0_ & 0x00000002) != 0);
+      }
+      /**
+       * <pre>
+       * the bytes allowed the sender to send ahead of the acks
+       * </pre>
+       *
+       * <code>optional int64 allowed_bytes = 2;</code>
+       * @return The allowedBytes.
+       */
+      public long getAllowedBytes() {
+        return allowedBytes_;
+      }
+      /**
+       * <pre>
+       * the bytes allowed the sender to send ahead of the acks
+       * </pre>
+       *
+       * <code>optional int64 allowed_bytes = 2;</code>
+       * @param value The allowedBytes to set.
+       * @return This builder for chaining.
+       */
+      public Builder setAllowedBytes(long value) {
+        bitField0_ |= 0x00000002;
+        allowedBytes_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * the bytes allowed the sender to send ahead of the acks
+       * </pre>
+       *
+       * <code>optional int64 allowed_bytes = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearAllowedBytes() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        allowedBytes_ = 0L;
+        onChanged();
+        return this;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -5219,29 +6833,37 @@ public final class BitData {
     java.lang.String[] descriptorData = {
       "\n\rBitData.proto\022\rexec.bit.data\032\025Executio" +
       "nProtos.proto\032\022Coordination.proto\032\023UserB" +
-      "itShared.proto\"]\n\022BitClientHandshake\022\023\n\013" +
+      "itShared.proto\"x\n\022BitClientHandshake\022\023\n\013" +
       "rpc_version\030\001 \001(\005\0222\n\007channel\030\002 \001(\0162\027.exe" +
-      "c.shared.RpcChannel:\010BIT_DATA\"K\n\022BitServ" +
-      "erHandshake\022\023\n\013rpc_version\030\001 \001(\005\022 \n\030auth" +
-      "enticationMechanisms\030\002 \003(\t\"\214\002\n\023FragmentR" +
-      "ecordBatch\022&\n\010query_id\030\001 \001(\0132\024.exec.shar" +
-      "ed.QueryId\022#\n\033receiving_major_fragment_i" +
-      "d\030\002 \001(\005\022#\n\033receiving_minor_fragment_id\030\003" +
-      " \003(\005\022!\n\031sending_major_fragment_id\030\004 \001(\005\022" +
-      "!\n\031sending_minor_fragment_id\030\005 \001(\005\022(\n\003de" +
-      "f\030\006 \001(\0132\033.exec.shared.RecordBatchDef\022\023\n\013" +
-      "isLastBatch\030\007 \001(\010\"\350\001\n\021RuntimeFilterBDef\022" +
-      "&\n\010query_id\030\001 \001(\0132\024.exec.shared.QueryId\022" +
-      "\031\n\021major_fragment_id\030\002 \001(\005\022\031\n\021minor_frag" +
-      "ment_id\030\003 \001(\005\022\022\n\nto_foreman\030\004 \001(\010\022\"\n\032blo" +
-      "om_filter_size_in_bytes\030\005 \003(\005\022\024\n\014probe_f" +
-      "ields\030\006 \003(\t\022\020\n\010hj_op_id\030\007 \001(\005\022\025\n\rrf_iden" +
-      "tifier\030\010 \001(\003\"\'\n\rAckWithCredit\022\026\n\016allowed" +
-      "_credit\030\001 \001(\005*\210\001\n\007RpcType\022\r\n\tHANDSHAKE\020\000" +
-      "\022\007\n\003ACK\020\001\022\013\n\007GOODBYE\020\002\022\024\n\020REQ_RECORD_BAT" +
-      "CH\020\003\022\020\n\014SASL_MESSAGE\020\004\022\026\n\022REQ_RUNTIME_FI" +
-      "LTER\020\005\022\030\n\024DATA_ACK_WITH_CREDIT\020\006B(\n\033org." +
-      "apache.drill.exec.protoB\007BitDataH\001"
+      "c.shared.RpcChannel:\010BIT_DATA\022\031\n\021compres" +
+      "sion_codec\030\003 \001(\t\"\201\001\n\022BitServerHandshake\022" +
+      "\023\n\013rpc_version\030\001 \001(\005\022 \n\030authenticationMe" +
+      "chanisms\030\002 \003(\t\022\031\n\021compression_codec\030\003 \001(" +
+      "\t\022\031\n\021coalesced_batches\030\004 \001(\010\"\316\003\n\023Fragmen" +
+      "tRecordBatch\022&\n\010query_id\030\001 \001(\0132\024.exec.sh" +
+      "ared.QueryId\022#\n\033receiving_major_fragment" +
+      "_id\030\002 \001(\005\022#\n\033receiving_minor_fragment_id" +
+      "\030\003 \003(\005\022!\n\031sending_major_fragment_id\030\004 \001(" +
+      "\005\022!\n\031sending_minor_fragment_id\030\005 \001(\005\022(\n\003" +
+      "def\030\006 \001(\0132\033.exec.shared.RecordBatchDef\022\023" +
+      "\n\013isLastBatch\030\007 \001(\010\022 \n\030uncompressed_body" +
+      "_length\030\010 \001(\005\022;\n\017coalesced_batch\030\t \003(\0132\"" +
+      ".exec.bit.data.FragmentRecordBatch\0221\n\005re" +
+      "lay\030\n \003(\0132\".exec.bit.data.FragmentRecord" +
+      "Batch\022.\n\016relay_endpoint\030\013 \001(\0132\026.exec.Dri" +
+      "llbitEndpoint\"\350\001\n\021RuntimeFilterBDef\022&\n\010q" +
+      "uery_id\030\001 \001(\0132\024.exec.shared.QueryId\022\031\n\021m" +
+      "ajor_fragment_id\030\002 \001(\005\022\031\n\021minor_fragment" +
+      "_id\030\003 \001(\005\022\022\n\nto_foreman\030\004 \001(\010\022\"\n\032bloom_f" +
+      "ilter_size_in_bytes\030\005 \003(\005\022\024\n\014probe_field" +
+      "s\030\006 \003(\t\022\020\n\010hj_op_id\030\007 \001(\005\022\025\n\rrf_identifi" +
+      "er\030\010 \001(\003\">\n\rAckWithCredit\022\026\n\016allowed_cre" +
+      "dit\030\001 \001(\005\022\025\n\rallowed_bytes\030\002 \001(\003*\210\001\n\007Rpc" +
+      "Type\022\r\n\tHANDSHAKE\020\000\022\007\n\003ACK\020\001\022\013\n\007GOODBYE\020" +
+      "\002\022\024\n\020REQ_RECORD_BATCH\020\003\022\020\n\014SASL_MESSAGE\020" +
+      "\004\022\026\n\022REQ_RUNTIME_FILTER\020\005\022\030\n\024DATA_ACK_WI" +
+      "TH_CREDIT\020\006B(\n\033org.apache.drill.exec.pro" +
+      "toB\007BitDataH\001"
     };
     descriptor = com.google.protobuf.Descriptors.FileDescriptor
       .internalBuildGeneratedFileFrom(descriptorData,
@@ -5255,19 +6877,19 @@ public final class BitData {
     internal_static_exec_bit_data_BitClientHandshake_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_exec_bit_data_BitClientHandshake_descriptor,
-        new java.lang.String[] { "RpcVersion", "Channel", });
+        new java.lang.String[] { "RpcVersion", "Channel", "CompressionCodec", });
     internal_static_exec_bit_data_BitServerHandshake_descriptor =
       getDescriptor().getMessageTypes().get(1);
     internal_static_exec_bit_data_BitServerHandshake_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_exec_bit_data_BitServerHandshake_descriptor,
-        new java.lang.String[] { "RpcVersion", "AuthenticationMechanisms", });
+        new java.lang.String[] { "RpcVersion", "AuthenticationMechanisms", "CompressionCodec", "CoalescedBatches", });
     internal_static_exec_bit_data_FragmentRecordBatch_descriptor =
       getDescriptor().getMessageTypes().get(2);
     internal_static_exec_bit_data_FragmentRecordBatch_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_exec_bit_data_FragmentRecordBatch_descriptor,
-        new java.lang.String[] { "QueryId", "ReceivingMajorFragmentId", "ReceivingMinorFragmentId", "SendingMajorFragmentId", "SendingMinorFragmentId", "Def", "IsLastBatch", });
+        new java.lang.String[] { "QueryId", "ReceivingMajorFragmentId", "ReceivingMinorFragmentId", "SendingMajorFragmentId", "SendingMinorFragmentId", "Def", "IsLastBatch", "UncompressedBodyLength", "CoalescedBatch", "Relay", "RelayEndpoint", });
     internal_static_exec_bit_data_RuntimeFilterBDef_descriptor =
       getDescriptor().getMessageTypes().get(3);
     internal_static_exec_bit_data_RuntimeFilterBDef_fieldAccessorTable = new
@@ -5279,7 +6901,7 @@ public final class BitData {
     internal_static_exec_bit_data_AckWithCredit_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_exec_bit_data_AckWithCredit_descriptor,
-        new java.lang.String[] { "AllowedCredit", });
+        new java.lang.String[] { "AllowedCredit", "AllowedBytes", });
     org.apache.drill.exec.proto.ExecProtos.getDescriptor();
     org.apache.drill.exec.proto.CoordinationProtos.getDescriptor();
     org.apache.drill.exec.proto.UserBitShared.getDescriptor();
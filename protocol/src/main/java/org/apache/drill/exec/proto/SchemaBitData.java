@@ -39,6 +39,8 @@ public final class SchemaBitData
                     output.writeInt32(1, message.getRpcVersion(), false);
                 if(message.hasChannel())
                     output.writeEnum(2, message.getChannel().getNumber(), false);
+                if(message.hasCompressionCodec())
+                    output.writeString(3, message.getCompressionCodec(), false);
             }
             public boolean isInitialized(org.apache.drill.exec.proto.BitData.BitClientHandshake message)
             {
@@ -84,6 +86,9 @@ public final class SchemaBitData
                         case 2:
                             builder.setChannel(org.apache.drill.exec.proto.UserBitShared.RpcChannel.valueOf(input.readEnum()));
                             break;
+                        case 3:
+                            builder.setCompressionCodec(input.readString());
+                            break;
                         default:
                             input.handleUnknownField(number, this);
                     }
@@ -126,6 +131,7 @@ public final class SchemaBitData
             {
                 case 1: return "rpcVersion";
                 case 2: return "channel";
+                case 3: return "compressionCodec";
                 default: return null;
             }
         }
@@ -139,6 +145,7 @@ public final class SchemaBitData
         {
             fieldMap.put("rpcVersion", 1);
             fieldMap.put("channel", 2);
+            fieldMap.put("compressionCodec", 3);
         }
     }
 
@@ -157,6 +164,10 @@ public final class SchemaBitData
                     output.writeInt32(1, message.getRpcVersion(), false);
                 for(String authenticationMechanisms : message.getAuthenticationMechanismsList())
                     output.writeString(2, authenticationMechanisms, true);
+                if(message.hasCompressionCodec())
+                    output.writeString(3, message.getCompressionCodec(), false);
+                if(message.hasCoalescedBatches())
+                    output.writeBool(4, message.getCoalescedBatches(), false);
             }
             public boolean isInitialized(org.apache.drill.exec.proto.BitData.BitServerHandshake message)
             {
@@ -202,6 +213,12 @@ public final class SchemaBitData
                         case 2:
                             builder.addAuthenticationMechanisms(input.readString());
                             break;
+                        case 3:
+                            builder.setCompressionCodec(input.readString());
+                            break;
+                        case 4:
+                            builder.setCoalescedBatches(input.readBool());
+                            break;
                         default:
                             input.handleUnknownField(number, this);
                     }
@@ -244,6 +261,8 @@ public final class SchemaBitData
             {
                 case 1: return "rpcVersion";
                 case 2: return "authenticationMechanisms";
+                case 3: return "compressionCodec";
+                case 4: return "coalescedBatches";
                 default: return null;
             }
         }
@@ -257,6 +276,8 @@ public final class SchemaBitData
         {
             fieldMap.put("rpcVersion", 1);
             fieldMap.put("authenticationMechanisms", 2);
+            fieldMap.put("compressionCodec", 3);
+            fieldMap.put("coalescedBatches", 4);
         }
     }
 
@@ -287,6 +308,17 @@ public final class SchemaBitData
 
                 if(message.hasIsLastBatch())
                     output.writeBool(7, message.getIsLastBatch(), false);
+                if(message.hasUncompressedBodyLength())
+                    output.writeInt32(8, message.getUncompressedBodyLength(), false);
+                for(org.apache.drill.exec.proto.BitData.FragmentRecordBatch coalescedBatch : message.getCoalescedBatchList())
+                    output.writeObject(9, coalescedBatch, org.apache.drill.exec.proto.SchemaBitData.FragmentRecordBatch.WRITE, true);
+
+                for(org.apache.drill.exec.proto.BitData.FragmentRecordBatch relay : message.getRelayList())
+                    output.writeObject(10, relay, org.apache.drill.exec.proto.SchemaBitData.FragmentRecordBatch.WRITE, true);
+
+                if(message.hasRelayEndpoint())
+                    output.writeObject(11, message.getRelayEndpoint(), org.apache.drill.exec.proto.SchemaCoordinationProtos.DrillbitEndpoint.WRITE, false);
+
             }
             public boolean isInitialized(org.apache.drill.exec.proto.BitData.FragmentRecordBatch message)
             {
@@ -348,6 +380,21 @@ public final class SchemaBitData
                             break;
                         case 7:
                             builder.setIsLastBatch(input.readBool());
+                            break;
+                        case 8:
+                            builder.setUncompressedBodyLength(input.readInt32());
+                            break;
+                        case 9:
+                            builder.addCoalescedBatch(input.mergeObject(org.apache.drill.exec.proto.BitData.FragmentRecordBatch.newBuilder(), org.apache.drill.exec.proto.SchemaBitData.FragmentRecordBatch.MERGE));
+
+                            break;
+                        case 10:
+                            builder.addRelay(input.mergeObject(org.apache.drill.exec.proto.BitData.FragmentRecordBatch.newBuilder(), org.apache.drill.exec.proto.SchemaBitData.FragmentRecordBatch.MERGE));
+
+                            break;
+                        case 11:
+                            builder.setRelayEndpoint(input.mergeObject(org.apache.drill.exec.proto.CoordinationProtos.DrillbitEndpoint.newBuilder(), org.apache.drill.exec.proto.SchemaCoordinationProtos.DrillbitEndpoint.MERGE));
+
                             break;
                         default:
                             input.handleUnknownField(number, this);
@@ -396,6 +443,10 @@ public final class SchemaBitData
                 case 5: return "sendingMinorFragmentId";
                 case 6: return "def";
                 case 7: return "isLastBatch";
+                case 8: return "uncompressedBodyLength";
+                case 9: return "coalescedBatch";
+                case 10: return "relay";
+                case 11: return "relayEndpoint";
                 default: return null;
             }
         }
@@ -414,6 +465,10 @@ public final class SchemaBitData
             fieldMap.put("sendingMinorFragmentId", 5);
             fieldMap.put("def", 6);
             fieldMap.put("isLastBatch", 7);
+            fieldMap.put("uncompressedBodyLength", 8);
+            fieldMap.put("coalescedBatch", 9);
+            fieldMap.put("relay", 10);
+            fieldMap.put("relayEndpoint", 11);
         }
     }
 
@@ -592,6 +647,8 @@ public final class SchemaBitData
             {
                 if(message.hasAllowedCredit())
                     output.writeInt32(1, message.getAllowedCredit(), false);
+                if(message.hasAllowedBytes())
+                    output.writeInt64(2, message.getAllowedBytes(), false);
             }
             public boolean isInitialized(org.apache.drill.exec.proto.BitData.AckWithCredit message)
             {
@@ -634,6 +691,9 @@ public final class SchemaBitData
                         case 1:
                             builder.setAllowedCredit(input.readInt32());
                             break;
+                        case 2:
+                            builder.setAllowedBytes(input.readInt64());
+                            break;
                         default:
                             input.handleUnknownField(number, this);
                     }
@@ -675,6 +735,7 @@ public final class SchemaBitData
             switch(number)
             {
                 case 1: return "allowedCredit";
+                case 2: return "allowedBytes";
                 default: return null;
             }
         }
@@ -687,6 +748,7 @@ public final class SchemaBitData
         static
         {
             fieldMap.put("allowedCredit", 1);
+            fieldMap.put("allowedBytes", 2);
         }
     }
 